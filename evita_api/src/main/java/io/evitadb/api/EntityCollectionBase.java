@@ -41,6 +41,9 @@ import io.evitadb.api.utils.Assert;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -84,6 +87,24 @@ public abstract class EntityCollectionBase<REQUEST extends EvitaRequestBase> {
 	@Nullable
 	public abstract SealedEntity getEntity(int primaryKey, @Nonnull REQUEST evitaRequest);
 
+	/**
+	 * Method returns entities by their primary keys in requested form of completeness. Entities are returned in the same
+	 * order as their primary keys in `primaryKeys` argument, primary keys of entities that don't exist are skipped.
+	 * Default implementation fetches entities one by one, implementations are expected to override it with bulk
+	 * variant when the underlying storage allows it.
+	 */
+	@Nonnull
+	public List<SealedEntity> getEntities(@Nonnull int[] primaryKeys, @Nonnull REQUEST evitaRequest) {
+		final List<SealedEntity> result = new ArrayList<>(primaryKeys.length);
+		for (int primaryKey : primaryKeys) {
+			final SealedEntity entity = getEntity(primaryKey, evitaRequest);
+			if (entity != null) {
+				result.add(entity);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Method returns entity with additionally loaded data specified by requirements in second argument. This method
 	 * is particularly useful for implementation of lazy loading when application loads only parts of the entity it
@@ -124,6 +145,24 @@ public abstract class EntityCollectionBase<REQUEST extends EvitaRequestBase> {
 	@Nonnull
 	public abstract EntityReference upsertEntity(@Nonnull EntityMutation entityMutation) throws InvalidMutationException;
 
+	/**
+	 * Method inserts to or updates multiple entities in collection according to passed mutations. Mutations are applied
+	 * in the order of the passed collection. Default implementation simply delegates to {@link #upsertEntity(EntityMutation)},
+	 * implementations are encouraged to override it with more efficient bulk processing.
+	 *
+	 * @param entityMutations mutations of the entities of this collection
+	 * @return references to upserted entities in the order of passed mutations
+	 * @throws InvalidMutationException when any of the mutations cannot be executed - see {@link #upsertEntity(EntityMutation)}
+	 */
+	@Nonnull
+	public List<EntityReference> upsertEntities(@Nonnull Collection<? extends EntityMutation> entityMutations) throws InvalidMutationException {
+		final List<EntityReference> result = new ArrayList<>(entityMutations.size());
+		for (EntityMutation entityMutation : entityMutations) {
+			result.add(upsertEntity(entityMutation));
+		}
+		return result;
+	}
+
 	/**
 	 * Method removes existing entity in collection by its primary key. All entities of other entity types that reference
 	 * removed entity in their {@link SealedEntity#getReference(Serializable, int)} still keep the data untouched.
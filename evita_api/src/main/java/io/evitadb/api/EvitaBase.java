@@ -184,8 +184,10 @@ public abstract class EvitaBase<REQUEST extends EvitaRequestBase, CONFIGURATION
 	 * logic are visible only within update function. Other threads outside the logic function work with non-changed
 	 * data until transaction is committed to the index.
 	 * <p>
-	 * Current version limitation:
-	 * Only single updater can execute in parallel (i.e. updates are expected to be invoked by single thread in serial way).
+	 * Multiple updaters may execute in parallel. When the updater modifies entity collection that was modified by
+	 * another updater committed in the meantime, its changes are replayed on top of the latest committed data.
+	 * The transaction is rolled back only when its changes can't be replayed (for example when both of them created
+	 * the entity with the same primary key).
 	 *
 	 * @param updater application logic that reads and writes data
 	 */
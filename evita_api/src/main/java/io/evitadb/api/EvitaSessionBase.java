@@ -53,6 +53,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -60,6 +62,8 @@ import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.evitadb.api.query.QueryConstraints.entities;
 import static io.evitadb.api.query.QueryConstraints.require;
@@ -237,6 +241,29 @@ public abstract class EvitaSessionBase<REQUEST extends EvitaRequestBase, CONFIGU
 		);
 	}
 
+	/**
+	 * Method returns entities by their type and primary keys in requested form of completeness. This method allows quick
+	 * access to the contents of multiple entities when their primary keys are known (for example contents of the cart
+	 * or recently viewed products) without paying the price of full query planning. Entities are returned in the same
+	 * order as their primary keys in `primaryKeys` argument, primary keys of entities that don't exist are skipped.
+	 */
+	@Nonnull
+	public List<SealedEntity> getEntities(@Nonnull Serializable entityType, @Nonnull int[] primaryKeys, EntityContentRequire... require) {
+		assertActive();
+		final EntityCollectionBase<REQUEST> entityCollection = ofNullable(catalog.getCollectionForEntity(entityType))
+			.orElseThrow(() -> new CollectionNotFoundException(entityType));
+		return entityCollection.getEntities(
+			primaryKeys,
+			createEvitaRequest(
+				Query.query(
+					entities(entityType),
+					require(require)
+				),
+				ZonedDateTime.now()
+			)
+		);
+	}
+
 	/**
 	 * Method returns entity with additionally loaded data specified by requirements in second argument. This method
 	 * is particularly useful for implementation of lazy loading when application loads only parts of the entity it
@@ -367,6 +394,44 @@ public abstract class EvitaSessionBase<REQUEST extends EvitaRequestBase, CONFIGU
 		});
 	}
 
+	/**
+	 * Method inserts to or updates multiple entities according to passed mutations. Mutations are applied in the order
+	 * of the passed collection, consecutive mutations of the same entity type are handed over to
+	 * {@link EntityCollectionBase#upsertEntities(Collection)} at once so that the collection may process them
+	 * in a bulk. This method is the preferred way of loading large amount of data into the catalog in warm-up state.
+	 *
+	 * @param entityMutations list of mutations that alter or form the entities
+	 * @return references to upserted entities in the order of passed mutations
+	 */
+	public List<EntityReference> upsertEntities(@Nonnull Collection<? extends EntityMutation> entityMutations) {
+		assertActive();
+		return executeInTransactionIfPossible(SESSION -> {
+			final List<EntityReference> result = new ArrayList<>(entityMutations.size());
+			final List<EntityMutation> sameTypeMutations = new ArrayList<>();
+			for (EntityMutation entityMutation : entityMutations) {
+				if (!sameTypeMutations.isEmpty() && !sameTypeMutations.get(0).getEntityType().equals(entityMutation.getEntityType())) {
+					result.addAll(upsertEntitiesOfSameType(sameTypeMutations));
+					sameTypeMutations.clear();
+				}
+				sameTypeMutations.add(entityMutation);
+			}
+			if (!sameTypeMutations.isEmpty()) {
+				result.addAll(upsertEntitiesOfSameType(sameTypeMutations));
+			}
+			return result;
+		});
+	}
+
+	/**
+	 * Overloaded method {@link #upsertEntities(Collection)} that accepts stream of mutations. The stream is consumed
+	 * entirely before the mutations are applied.
+	 *
+	 * @see #upsertEntities(Collection)
+	 */
+	public List<EntityReference> upsertEntities(@Nonnull Stream<? extends EntityMutation> entityMutations) {
+		return upsertEntities(entityMutations.collect(Collectors.toList()));
+	}
+
 	/**
 	 * Method removes existing entity in collection by its primary key. All entities of other entity types that reference
 	 * removed entity in their {@link SealedEntity#getReference(Serializable, int)} still keep the data untouched.
@@ -490,6 +555,14 @@ public abstract class EvitaSessionBase<REQUEST extends EvitaRequestBase, CONFIGU
 	 */
 	protected abstract REQUEST createEvitaRequest(@Nonnull Query query, @Nonnull ZonedDateTime alignedNow);
 
+	/**
+	 * Returns transaction opened in this session in current thread or NULL if there is none.
+	 */
+	@Nullable
+	protected TRANSACTION getOpenedTransaction() {
+		return transactionAccessor.get();
+	}
+
 	/**
 	 * Creates new transaction a wraps it into carrier object.
 	 */
@@ -524,6 +597,14 @@ public abstract class EvitaSessionBase<REQUEST extends EvitaRequestBase, CONFIGU
 		}
 	}
 
+	/**
+	 * Upserts all passed mutations targeting the same entity type in single call to the entity collection.
+	 */
+	private List<EntityReference> upsertEntitiesOfSameType(@Nonnull List<EntityMutation> entityMutations) {
+		final COLLECTION collection = catalog.getOrCreateCollectionForEntity(entityMutations.get(0).getEntityType());
+		return collection.upsertEntities(entityMutations);
+	}
+
 	/**
 	 * Method allows to normalize {@link io.evitadb.api.query.require.Require} part of the query and exchange certain
 	 * constraints with another one. It may also perform special validation logic or whatever else.
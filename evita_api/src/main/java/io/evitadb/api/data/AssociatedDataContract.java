@@ -27,15 +27,21 @@ import io.evitadb.api.query.QueryUtils;
 import io.evitadb.api.schema.AssociatedDataSchema;
 import io.evitadb.api.utils.Assert;
 import io.evitadb.api.utils.MemoryMeasuringConstants;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.evitadb.api.utils.ComparatorUtils.compareLocale;
@@ -271,9 +277,25 @@ public interface AssociatedDataContract extends Serializable {
 		 */
 		private final AssociatedDataKey key;
 		/**
-		 * Returns associated data value contents.
+		 * Returns associated data value contents. The value may not be known yet when the associated data value was
+		 * created in serialized form - see {@link #serializedValue}.
 		 */
-		private final Serializable value;
+		@Getter(AccessLevel.NONE)
+		@Setter(AccessLevel.NONE)
+		private volatile Serializable value;
+		/**
+		 * Contains serialized form of the {@link #value} that hasn't been deserialized yet. The bytes are decoded by
+		 * {@link #valueDeserializer} on first access to the {@link #getValue()} and released afterwards.
+		 */
+		@Getter(AccessLevel.NONE)
+		@Setter(AccessLevel.NONE)
+		private transient volatile byte[] serializedValue;
+		/**
+		 * Function that decodes {@link #serializedValue} to the {@link #value}.
+		 */
+		@Getter(AccessLevel.NONE)
+		@Setter(AccessLevel.NONE)
+		private transient Function<byte[], Serializable> valueDeserializer;
 		/**
 		 * Contains TRUE if associatedData was dropped - i.e. removed. Such associated data are not removed (unless tidying process
 		 * does it), but are lying among other associated data with tombstone flag. Dropped associated data can be overwritten by
@@ -302,6 +324,53 @@ public interface AssociatedDataContract extends Serializable {
 			this.dropped = dropped;
 		}
 
+		/**
+		 * Constructor for the associated data value that is kept in serialized form and gets deserialized by passed
+		 * `valueDeserializer` only when the {@link #getValue()} is called for the first time.
+		 */
+		public AssociatedDataValue(int version, AssociatedDataKey key, @Nonnull byte[] serializedValue, @Nonnull Function<byte[], Serializable> valueDeserializer, boolean dropped) {
+			this.version = version;
+			this.key = key;
+			this.serializedValue = serializedValue;
+			this.valueDeserializer = valueDeserializer;
+			this.dropped = dropped;
+		}
+
+		/**
+		 * Returns associated data value contents. The value is deserialized on first access if the associated data
+		 * value was created in serialized form.
+		 */
+		public Serializable getValue() {
+			if (this.serializedValue != null) {
+				synchronized (this) {
+					final byte[] bytes = this.serializedValue;
+					if (bytes != null) {
+						this.value = this.valueDeserializer.apply(bytes);
+						this.serializedValue = null;
+						this.valueDeserializer = null;
+					}
+				}
+			}
+			return this.value;
+		}
+
+		/**
+		 * Returns serialized form of the value if the value hasn't been deserialized yet, otherwise NULL is returned.
+		 * The bytes can be handed over to the transport layer that understands the storage format without paying
+		 * the price for deserialization and serialization of the value. Returned array must not be modified.
+		 */
+		@Nullable
+		public byte[] getSerializedValue() {
+			return this.serializedValue;
+		}
+
+		/**
+		 * Returns true if the value has been already deserialized (or has been never serialized at all).
+		 */
+		public boolean isValueDeserialized() {
+			return this.serializedValue == null;
+		}
+
 		/**
 		 * Method returns gross estimation of the in-memory size of this instance. The estimation is expected not to be
 		 * a precise one. Please use constants from {@link MemoryMeasuringConstants} for size computation.
@@ -315,7 +384,9 @@ public interface AssociatedDataContract extends Serializable {
 				// key
 				+ key.estimateSize()
 				// value size estimate
-				+ MemoryMeasuringConstants.REFERENCE_SIZE + (value == null ? 0 : EvitaDataTypes.estimateSize(value));
+				+ MemoryMeasuringConstants.REFERENCE_SIZE + estimateValueSize()
+				// serialized value and its deserializer
+				+ 2 * MemoryMeasuringConstants.REFERENCE_SIZE;
 		}
 
 		/**
@@ -325,12 +396,13 @@ public interface AssociatedDataContract extends Serializable {
 		public boolean differsFrom(@Nullable AssociatedDataValue otherAssociatedDataValue) {
 			if (otherAssociatedDataValue == null) return true;
 			if (!Objects.equals(key, otherAssociatedDataValue.key)) return true;
-			if (QueryUtils.valueDiffers(value, otherAssociatedDataValue.value)) return true;
+			if (QueryUtils.valueDiffers(getValue(), otherAssociatedDataValue.getValue())) return true;
 			return dropped != otherAssociatedDataValue.dropped;
 		}
 
 		@Override
 		public String toString() {
+			final Serializable value = getValue();
 			return (dropped ? "❌" : "") +
 				"\uD83D\uDD11 " + key.getAssociatedDataName() + " " +
 				(key.getLocale() == null ? "" : "(" + key.getLocale() + ")") +
@@ -341,5 +413,26 @@ public interface AssociatedDataContract extends Serializable {
 						value == null ? "NULL" : value
 				);
 		}
+
+		/**
+		 * Estimates the size of the value - the serialized form is counted if the value hasn't been deserialized yet.
+		 */
+		private int estimateValueSize() {
+			final byte[] bytes = this.serializedValue;
+			if (bytes != null) {
+				return (int) MemoryMeasuringConstants.computeArraySize(bytes.length, MemoryMeasuringConstants.BYTE_SIZE);
+			}
+			final Serializable theValue = this.value;
+			return theValue == null ? 0 : EvitaDataTypes.estimateSize(theValue);
+		}
+
+		/**
+		 * Java serialization doesn't know the deserializer of the serialized form, so the value must be deserialized
+		 * before the instance is written.
+		 */
+		private void writeObject(@Nonnull ObjectOutputStream out) throws IOException {
+			getValue();
+			out.defaultWriteObject();
+		}
 	}
 }
@@ -31,11 +31,14 @@ import io.evitadb.api.query.require.Attributes;
 import io.evitadb.api.utils.Assert;
 import lombok.Data;
 
+import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * This is the definition object for {@link Reference} that is stored along with
@@ -63,7 +66,8 @@ import java.util.Map;
 @ThreadSafe
 @Data
 public class ReferenceSchema implements Serializable {
-	private static final long serialVersionUID = 2018566260261489037L;
+	private static final long serialVersionUID = 8842730951196672114L;
+	private static final int[] EMPTY_LEVELS = new int[0];
 
 	/**
 	 * Reference to {@link Entity#getType()} of the referenced entity. Might be also anything {@link Serializable}
@@ -122,6 +126,40 @@ public class ReferenceSchema implements Serializable {
 	 * requirement is used. Large data that are occasionally used store in {@link AssociatedData}.
 	 */
 	private final Map<String, AttributeSchema> attributes;
+	/**
+	 * Contains levels of the referenced hierarchy (roots are on level 1) whose nodes should maintain special roll-up
+	 * index aggregating data of all entities referencing any node in the node sub-tree. Roll-up index allows to answer
+	 * queries targeting the entire sub-tree from single index instead of combining indexes of all the nodes in
+	 * the sub-tree. Levels are taken into an account only when the reference is {@link #isIndexed() indexed} and
+	 * targets hierarchical entity.
+	 *
+	 * Each roll-up index occupies (memory/disk) space similar to the space occupied by indexes of all the nodes
+	 * of the sub-tree, so configure the levels only for the upper parts of large trees that are frequently queried.
+	 */
+	private final int[] hierarchyRollUpLevels;
+	/**
+	 * Contains names of the entity attributes that are replicated to the reduced indexes maintained for each referenced
+	 * entity (i.e. indexes used for narrowing the queries to a particular brand, category and so on). NULL means that
+	 * all filterable, unique and sortable attributes are replicated, which is the default.
+	 *
+	 * Each replicated attribute multiplies its index footprint and update costs by the number of references
+	 * of the entity. Queries using attributes that are not replicated are answered from the global index instead.
+	 *
+	 * The scope of the reduced indexes (attributes, prices and facets) can be changed only while there is no entity
+	 * in the collection - the existing reduced indexes are not rebuilt when the scope changes.
+	 */
+	private final Set<String> reducedIndexAttributes;
+	/**
+	 * Contains TRUE if entity prices are replicated to the reduced indexes maintained for each referenced entity.
+	 * Queries filtering by price are answered from the global index when prices are not replicated.
+	 */
+	private final boolean reducedIndexPrices;
+	/**
+	 * Contains TRUE if entity facets are replicated to the reduced indexes maintained for each referenced entity.
+	 * Queries filtering by facets or computing {@link FacetStatistics} are answered from the global index when facets
+	 * are not replicated.
+	 */
+	private final boolean reducedIndexFacets;
 
 	public ReferenceSchema(Serializable entityType, boolean entityTypeRelatesToEntity, Serializable groupType, boolean groupTypeRelatesToEntity, boolean indexed, boolean faceted) {
 		this.entityType = entityType;
@@ -136,9 +174,21 @@ public class ReferenceSchema implements Serializable {
 		//we need to wrap even empty map to the unmodifiable wrapper in order to unify type for Kryo serialization
 		//noinspection RedundantUnmodifiable
 		this.attributes = Collections.unmodifiableMap(Collections.emptyMap());
+		this.hierarchyRollUpLevels = EMPTY_LEVELS;
+		this.reducedIndexAttributes = null;
+		this.reducedIndexPrices = true;
+		this.reducedIndexFacets = true;
 	}
 
 	ReferenceSchema(Serializable entityType, boolean entityTypeRelatesToEntity, Serializable groupType, boolean groupTypeRelatesToEntity, boolean indexed, boolean faceted, Map<String, AttributeSchema> attributes) {
+		this(entityType, entityTypeRelatesToEntity, groupType, groupTypeRelatesToEntity, indexed, faceted, attributes, EMPTY_LEVELS);
+	}
+
+	ReferenceSchema(Serializable entityType, boolean entityTypeRelatesToEntity, Serializable groupType, boolean groupTypeRelatesToEntity, boolean indexed, boolean faceted, Map<String, AttributeSchema> attributes, int[] hierarchyRollUpLevels) {
+		this(entityType, entityTypeRelatesToEntity, groupType, groupTypeRelatesToEntity, indexed, faceted, attributes, hierarchyRollUpLevels, null, true, true);
+	}
+
+	ReferenceSchema(Serializable entityType, boolean entityTypeRelatesToEntity, Serializable groupType, boolean groupTypeRelatesToEntity, boolean indexed, boolean faceted, Map<String, AttributeSchema> attributes, int[] hierarchyRollUpLevels, Set<String> reducedIndexAttributes, boolean reducedIndexPrices, boolean reducedIndexFacets) {
 		this.entityType = entityType;
 		this.entityTypeRelatesToEntity = entityTypeRelatesToEntity;
 		this.groupType = groupType;
@@ -149,6 +199,66 @@ public class ReferenceSchema implements Serializable {
 			Assert.isTrue(this.indexed, "When reference is marked as faceted, it needs also to be indexed.");
 		}
 		this.attributes = Collections.unmodifiableMap(attributes);
+		for (int level : hierarchyRollUpLevels) {
+			Assert.isTrue(level > 0, "Hierarchy roll-up level must be positive number (roots are on level 1), but was " + level + ".");
+		}
+		this.hierarchyRollUpLevels = hierarchyRollUpLevels.length == 0 ? EMPTY_LEVELS : hierarchyRollUpLevels.clone();
+		this.reducedIndexAttributes = reducedIndexAttributes == null ? null : Collections.unmodifiableSet(reducedIndexAttributes);
+		this.reducedIndexPrices = reducedIndexPrices;
+		this.reducedIndexFacets = reducedIndexFacets;
+	}
+
+	/**
+	 * Returns levels of the referenced hierarchy whose nodes maintain roll-up indexes. The returned array is a copy
+	 * and its modification doesn't affect the schema.
+	 */
+	public int[] getHierarchyRollUpLevels() {
+		return hierarchyRollUpLevels.length == 0 ? EMPTY_LEVELS : hierarchyRollUpLevels.clone();
+	}
+
+	/**
+	 * Returns true if there is at least one level of the referenced hierarchy whose nodes maintain roll-up indexes.
+	 */
+	public boolean hasHierarchyRollUpLevels() {
+		return hierarchyRollUpLevels.length > 0;
+	}
+
+	/**
+	 * Returns true if the referenced hierarchy should maintain roll-up indexes for nodes on passed `level`.
+	 */
+	public boolean isHierarchyRollUpLevel(int level) {
+		for (int rollUpLevel : hierarchyRollUpLevels) {
+			if (rollUpLevel == level) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the entity attribute of passed `attributeName` is replicated to the reduced indexes maintained
+	 * for each referenced entity.
+	 */
+	public boolean isReducedIndexAttribute(@Nonnull String attributeName) {
+		return reducedIndexAttributes == null || reducedIndexAttributes.contains(attributeName);
+	}
+
+	/**
+	 * Returns true if all entity data (attributes, prices and facets) are replicated to the reduced indexes maintained
+	 * for each referenced entity.
+	 */
+	public boolean isReducedIndexComplete() {
+		return reducedIndexAttributes == null && reducedIndexPrices && reducedIndexFacets;
+	}
+
+	/**
+	 * Returns true if `otherSchema` replicates exactly the same entity data (attributes, prices and facets) to the reduced
+	 * indexes as this schema does.
+	 */
+	public boolean hasSameReducedIndexScope(@Nonnull ReferenceSchema otherSchema) {
+		return Objects.equals(reducedIndexAttributes, otherSchema.reducedIndexAttributes) &&
+			reducedIndexPrices == otherSchema.reducedIndexPrices &&
+			reducedIndexFacets == otherSchema.reducedIndexFacets;
 	}
 
 	/**
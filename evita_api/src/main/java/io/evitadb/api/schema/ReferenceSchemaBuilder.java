@@ -33,8 +33,11 @@ import io.evitadb.api.utils.Assert;
 
 import javax.annotation.Nonnull;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import static java.util.Optional.ofNullable;
@@ -75,6 +78,26 @@ public class ReferenceSchemaBuilder {
 	 * allowing to get {@link FacetStatistics} for this reference or use {@link Facet} filtering constraint.
 	 */
 	private boolean faceted;
+	/**
+	 * May be set by the client - contains levels of the referenced hierarchy whose nodes should maintain roll-up
+	 * indexes.
+	 */
+	private int[] hierarchyRollUpLevels;
+	/**
+	 * May be set by the client - contains names of the entity attributes replicated to the reduced indexes of
+	 * the referenced entities, NULL means all attributes are replicated.
+	 */
+	private Set<String> reducedIndexAttributes;
+	/**
+	 * May be set by the client - contains true if entity prices are replicated to the reduced indexes of the referenced
+	 * entities.
+	 */
+	private boolean reducedIndexPrices;
+	/**
+	 * May be set by the client - contains true if entity facets are replicated to the reduced indexes of the referenced
+	 * entities.
+	 */
+	private boolean reducedIndexFacets;
 
 	ReferenceSchemaBuilder(Serializable entityType, boolean entityTypeRelatesToEntity, ReferenceSchema existingReference) {
 		this.entityType = entityType;
@@ -83,6 +106,10 @@ public class ReferenceSchemaBuilder {
 		this.groupTypeRelatesToEntity = ofNullable(existingReference).map(ReferenceSchema::isGroupTypeRelatesToEntity).orElse(false);
 		this.indexed = ofNullable(existingReference).map(ReferenceSchema::isIndexed).orElse(false);
 		this.faceted = ofNullable(existingReference).map(ReferenceSchema::isFaceted).orElse(false);
+		this.hierarchyRollUpLevels = ofNullable(existingReference).map(ReferenceSchema::getHierarchyRollUpLevels).orElse(new int[0]);
+		this.reducedIndexAttributes = ofNullable(existingReference).map(ReferenceSchema::getReducedIndexAttributes).map(LinkedHashSet::new).orElse(null);
+		this.reducedIndexPrices = ofNullable(existingReference).map(ReferenceSchema::isReducedIndexPrices).orElse(true);
+		this.reducedIndexFacets = ofNullable(existingReference).map(ReferenceSchema::isReducedIndexFacets).orElse(true);
 		this.attributes = ofNullable(existingReference).map(it -> new LinkedHashMap<>(it.getAttributes())).orElseGet(LinkedHashMap::new);
 	}
 
@@ -230,6 +257,68 @@ public class ReferenceSchemaBuilder {
 		return this;
 	}
 
+	/**
+	 * Makes referenced hierarchy nodes on passed `levels` (roots are on level 1) maintain roll-up indexes that aggregate
+	 * data of all entities referencing any node in their sub-tree. Queries targeting entire sub-tree of such node
+	 * may be then answered from single roll-up index instead of combining indexes of all the nodes in the sub-tree.
+	 * Roll-up indexes are maintained only when reference is {@link #indexed()} and targets hierarchical entity.
+	 *
+	 * Each roll-up index occupies (memory/disk) space similar to the space occupied by indexes of all the nodes of
+	 * the sub-tree, so configure the levels only for the upper parts of large trees that are frequently queried.
+	 */
+	public ReferenceSchemaBuilder withHierarchyRollUp(int... levels) {
+		this.hierarchyRollUpLevels = Arrays.stream(levels).distinct().sorted().toArray();
+		return this;
+	}
+
+	/**
+	 * Makes referenced hierarchy nodes maintain no roll-up indexes. This is default setting for the reference.
+	 */
+	public ReferenceSchemaBuilder withoutHierarchyRollUp() {
+		this.hierarchyRollUpLevels = new int[0];
+		return this;
+	}
+
+	/**
+	 * Limits the entity attributes replicated to the reduced indexes maintained for each referenced entity to passed
+	 * `attributeNames`. By default, all filterable, unique and sortable attributes are replicated, which multiplies
+	 * their index footprint and update costs by the number of references of the entity. Queries using attributes
+	 * that are not replicated are answered from the global index instead.
+	 */
+	public ReferenceSchemaBuilder withReducedIndexAttributes(String... attributeNames) {
+		this.reducedIndexAttributes = new LinkedHashSet<>(Arrays.asList(attributeNames));
+		return this;
+	}
+
+	/**
+	 * Stops replicating entity prices to the reduced indexes maintained for each referenced entity. Queries filtering
+	 * by price are answered from the global index instead.
+	 */
+	public ReferenceSchemaBuilder withoutReducedIndexPrices() {
+		this.reducedIndexPrices = false;
+		return this;
+	}
+
+	/**
+	 * Stops replicating entity facets to the reduced indexes maintained for each referenced entity. Queries filtering
+	 * by facets or computing facet summary are answered from the global index instead.
+	 */
+	public ReferenceSchemaBuilder withoutReducedIndexFacets() {
+		this.reducedIndexFacets = false;
+		return this;
+	}
+
+	/**
+	 * Replicates all entity data to the reduced indexes maintained for each referenced entity. This is default setting
+	 * for the reference.
+	 */
+	public ReferenceSchemaBuilder withCompleteReducedIndex() {
+		this.reducedIndexAttributes = null;
+		this.reducedIndexPrices = true;
+		this.reducedIndexFacets = true;
+		return this;
+	}
+
 	/**
 	 * Creates reference schema instance.
 	 */
@@ -237,7 +326,9 @@ public class ReferenceSchemaBuilder {
 		return new ReferenceSchema(
 			entityType, entityTypeRelatesToEntity,
 			groupType, groupTypeRelatesToEntity,
-			indexed, faceted, attributes
+			indexed, faceted, attributes,
+			hierarchyRollUpLevels,
+			reducedIndexAttributes, reducedIndexPrices, reducedIndexFacets
 		);
 	}
 
@@ -117,6 +117,33 @@ class EntitySchemaBuilderTest {
 			.applyChanges();
 	}
 
+	@Test
+	void shouldDefineSlimmedReducedIndexesOfReference() {
+		final EntitySchemaBuilder schemaBuilder = new EntitySchemaBuilder(productSchema, updatedSchema -> {
+			final ReferenceSchema brand = updatedSchema.getReference(Entities.BRAND);
+			assertFalse(brand.isReducedIndexComplete());
+			assertTrue(brand.isReducedIndexAttribute("name"));
+			assertFalse(brand.isReducedIndexAttribute("ean"));
+			assertFalse(brand.isReducedIndexPrices());
+			assertTrue(brand.isReducedIndexFacets());
+
+			final ReferenceSchema category = updatedSchema.getReference(Entities.CATEGORY);
+			assertTrue(category.isReducedIndexComplete());
+			assertTrue(category.isReducedIndexAttribute("ean"));
+			return updatedSchema;
+		});
+
+		schemaBuilder
+			.withAttribute("name", String.class, whichIs -> whichIs.filterable())
+			.withAttribute("ean", String.class, whichIs -> whichIs.filterable())
+			.withReferenceToEntity(Entities.CATEGORY)
+			.withReferenceToEntity(
+				Entities.BRAND,
+				whichIs -> whichIs.faceted().withReducedIndexAttributes("name").withoutReducedIndexPrices()
+			)
+			.applyChanges();
+	}
+
 	private void assertSchemaContents(EntitySchema updatedSchema) {
 		assertTrue(updatedSchema.allows(EvolutionMode.ADDING_ASSOCIATED_DATA));
 		assertTrue(updatedSchema.allows(EvolutionMode.ADDING_REFERENCES));
@@ -0,0 +1,262 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.api.data;
+
+import io.evitadb.api.exception.SerializationFailedException;
+import io.evitadb.api.utils.ReflectionLookup;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * Conversion plan contains all the reflection information {@link DataObjectConverter} needs to (de)serialize instances
+ * of a particular class. Plan is computed only once per class and is kept in {@link ClassValue} cache, that is safe for
+ * concurrent access. The plan references the class strongly via its {@link Method methods} and generated accessors,
+ * so once the class is converted it stays loaded (along with its class loader) as long as this class is loaded. This
+ * is acceptable for the data classes stored in Evita, that are expected to live as long as the application itself.
+ *
+ * Getters and setters are not invoked via {@link Method#invoke(Object, Object...)} but via functional accessors
+ * generated by {@link LambdaMetafactory}, which the JIT is able to inline. When the accessor cannot be generated
+ * (for example because the class lives in a module that is not open to us) plain reflection is used as a fallback.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+final class DataObjectConversionPlan {
+	/**
+	 * Cache of the computed plans. The plan is computed lazily by the first caller using its own {@link ReflectionLookup}.
+	 */
+	private static final ClassValue<PlanHolder> PLANS = new ClassValue<>() {
+		@Override
+		protected PlanHolder computeValue(Class<?> type) {
+			return new PlanHolder(type);
+		}
+	};
+
+	/**
+	 * Getters (not marked as {@link NonSerializedData}) whose values are collected during serialization.
+	 */
+	@Getter private final PropertyGetter[] getters;
+	/**
+	 * Setters (not marked as {@link NonSerializedData}) that are used for populating data during deserialization.
+	 */
+	@Getter private final PropertySetter[] setters;
+	/**
+	 * Names of all properties that have setter method (regardless of {@link NonSerializedData} annotation).
+	 */
+	@Getter private final Set<String> propertyNamesHavingSetters;
+
+	/**
+	 * Returns conversion plan for the passed class. The passed `reflectionLookup` is used for computing the plan when
+	 * it has not been computed yet.
+	 */
+	@Nonnull
+	public static DataObjectConversionPlan forClass(@Nonnull Class<?> type, @Nonnull ReflectionLookup reflectionLookup) {
+		return PLANS.get(type).getPlan(reflectionLookup);
+	}
+
+	private DataObjectConversionPlan(@Nonnull Class<?> type, @Nonnull ReflectionLookup reflectionLookup) {
+		final Collection<Method> allGetters = reflectionLookup.findAllGettersHavingCorrespondingSetterOrConstructorArgument(type);
+		this.getters = allGetters
+			.stream()
+			.filter(it -> reflectionLookup.getAnnotationInstanceForProperty(it, NonSerializedData.class) == null)
+			.map(it -> new PropertyGetter(it, ReflectionLookup.getPropertyNameFromMethodName(it.getName()), createGetterAccessor(it)))
+			.toArray(PropertyGetter[]::new);
+
+		final Collection<Method> allSetters = reflectionLookup.findAllSetters(type);
+		final Set<String> setterPropertyNames = new HashSet<>(allSetters.size());
+		for (Method setter : allSetters) {
+			setterPropertyNames.add(ReflectionLookup.getPropertyNameFromMethodName(setter.getName()));
+		}
+		this.propertyNamesHavingSetters = unmodifiableSet(setterPropertyNames);
+		this.setters = allSetters
+			.stream()
+			.filter(it -> reflectionLookup.getAnnotationInstanceForProperty(it, NonSerializedData.class) == null)
+			.map(it -> new PropertySetter(
+					it,
+					ReflectionLookup.getPropertyNameFromMethodName(it.getName()),
+					it.getParameterTypes()[0],
+					it.getGenericParameterTypes()[0],
+					reflectionLookup.getAnnotationInstanceForProperty(it, RenamedData.class),
+					createSetterAccessor(it)
+				)
+			)
+			.toArray(PropertySetter[]::new);
+	}
+
+	/**
+	 * Creates functional accessor for the getter method. Primitive return values are boxed.
+	 */
+	@Nonnull
+	private static Function<Object, Object> createGetterAccessor(@Nonnull Method getter) {
+		final CallSite callSite;
+		try {
+			final Lookup lookup = MethodHandles.privateLookupIn(getter.getDeclaringClass(), MethodHandles.lookup());
+			final MethodHandle handle = lookup.unreflect(getter);
+			callSite = LambdaMetafactory.metafactory(
+				lookup, "apply",
+				MethodType.methodType(Function.class),
+				MethodType.methodType(Object.class, Object.class),
+				handle,
+				handle.type().wrap()
+			);
+		} catch (ReflectiveOperationException | LambdaConversionException ex) {
+			return container -> {
+				try {
+					return getter.invoke(container);
+				} catch (IllegalAccessException | InvocationTargetException e) {
+					throw new SerializationFailedException("Failed to invoke getter: " + getter.toGenericString(), e);
+				}
+			};
+		}
+		return createAccessor(callSite, getter);
+	}
+
+	/**
+	 * Creates functional accessor for the setter method. Boxed values are unboxed for primitive setter arguments.
+	 */
+	@Nonnull
+	private static BiConsumer<Object, Object> createSetterAccessor(@Nonnull Method setter) {
+		final CallSite callSite;
+		try {
+			final Lookup lookup = MethodHandles.privateLookupIn(setter.getDeclaringClass(), MethodHandles.lookup());
+			final MethodHandle handle = lookup.unreflect(setter);
+			callSite = LambdaMetafactory.metafactory(
+				lookup, "accept",
+				MethodType.methodType(BiConsumer.class),
+				MethodType.methodType(void.class, Object.class, Object.class),
+				handle,
+				handle.type().wrap().changeReturnType(void.class)
+			);
+		} catch (ReflectiveOperationException | LambdaConversionException ex) {
+			return (container, value) -> {
+				try {
+					setter.invoke(container, value);
+				} catch (IllegalAccessException | InvocationTargetException e) {
+					throw new SerializationFailedException("Failed to invoke setter: " + setter.toGenericString(), e);
+				}
+			};
+		}
+		return createAccessor(callSite, setter);
+	}
+
+	/**
+	 * Creates the functional accessor instance from the call site produced by {@link LambdaMetafactory}. The factory
+	 * of non-capturing lambda declares {@link Throwable} but it's not expected to throw anything but unchecked
+	 * exceptions, which are propagated as they are.
+	 */
+	@Nonnull
+	private static <T> T createAccessor(@Nonnull CallSite callSite, @Nonnull Method method) {
+		try {
+			//noinspection unchecked
+			return (T) callSite.getTarget().invoke();
+		} catch (RuntimeException | Error ex) {
+			throw ex;
+		} catch (Throwable ex) {
+			throw new SerializationFailedException("Failed to create accessor for: " + method.toGenericString(), ex);
+		}
+	}
+
+	/**
+	 * Holder of the lazily computed plan for a single class.
+	 */
+	@RequiredArgsConstructor
+	private static final class PlanHolder {
+		private final Class<?> type;
+		private volatile DataObjectConversionPlan plan;
+
+		/**
+		 * Returns the plan, computing it with passed `reflectionLookup` on first access. Concurrent first accesses may
+		 * compute the plan more than once, but the result is always equivalent.
+		 */
+		@Nonnull
+		DataObjectConversionPlan getPlan(@Nonnull ReflectionLookup reflectionLookup) {
+			DataObjectConversionPlan result = this.plan;
+			if (result == null) {
+				result = new DataObjectConversionPlan(type, reflectionLookup);
+				this.plan = result;
+			}
+			return result;
+		}
+
+	}
+
+	/**
+	 * Getter of the single property along with its precomputed accessor.
+	 */
+	@RequiredArgsConstructor
+	static final class PropertyGetter {
+		@Getter private final Method method;
+		@Getter private final String propertyName;
+		private final Function<Object, Object> accessor;
+
+		/**
+		 * Returns value of the property from the passed container.
+		 */
+		@Nullable
+		public Object get(@Nonnull Object container) {
+			return accessor.apply(container);
+		}
+
+	}
+
+	/**
+	 * Setter of the single property along with its precomputed accessor and metadata.
+	 */
+	@RequiredArgsConstructor
+	static final class PropertySetter {
+		@Getter private final Method method;
+		@Getter private final String propertyName;
+		@Getter private final Class<?> propertyType;
+		@Getter private final Type genericPropertyType;
+		@Getter @Nullable private final RenamedData renamed;
+		private final BiConsumer<Object, Object> accessor;
+
+		/**
+		 * Sets the value of the property on the passed container.
+		 */
+		public void set(@Nonnull Object container, @Nullable Object value) {
+			accessor.accept(container, value);
+		}
+
+	}
+
+}
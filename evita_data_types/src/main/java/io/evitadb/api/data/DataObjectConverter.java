@@ -22,6 +22,8 @@
 
 package io.evitadb.api.data;
 
+import io.evitadb.api.data.DataObjectConversionPlan.PropertyGetter;
+import io.evitadb.api.data.DataObjectConversionPlan.PropertySetter;
 import io.evitadb.api.dataType.ComplexDataObject;
 import io.evitadb.api.dataType.ComplexDataObject.*;
 import io.evitadb.api.dataType.EvitaDataTypes;
@@ -146,14 +148,8 @@ public class DataObjectConverter<T extends Serializable> {
 			// we need to take care only of array - other collection types, such as List, Set, Map cannot be used as
 			// top level containers because generics cannot be propagated to the methods due to JVM limitations
 			if (containerClass.isArray()) {
-				try {
-					//noinspection unchecked
-					result = (T) deserializeArray(reflectionLookup, containerClass, complexDataObject, "", extractionCtx);
-				} catch (IllegalAccessException | InvocationTargetException e) {
-					throw new SerializationFailedException(
-						"Failed to deserialize root array.", e
-					);
-				}
+				//noinspection unchecked
+				result = (T) deserializeArray(reflectionLookup, containerClass, complexDataObject, "", extractionCtx);
 			} else {
 				// usually there will by single top level POJO object
 				result = convertFromGenericType(complexDataObject, containerClass, extractionCtx);
@@ -192,69 +188,67 @@ public class DataObjectConverter<T extends Serializable> {
 	}
 
 	private void collectData(Serializable container, ComplexDataObject result, ReflectionLookup reflectionLookup, String propertyPrefix) {
-		final Collection<Method> getters = reflectionLookup.findAllGettersHavingCorrespondingSetterOrConstructorArgument(container.getClass());
-		for (Method getter : getters) {
-			if (reflectionLookup.getAnnotationInstanceForProperty(getter, NonSerializedData.class) != null) {
-				// skip property
-				continue;
-			}
+		for (PropertyGetter getter : DataObjectConversionPlan.forClass(container.getClass(), reflectionLookup).getGetters()) {
 			collectDataForGetter(container, result, reflectionLookup, propertyPrefix, getter);
 		}
 	}
 
-	private void collectDataForGetter(Serializable container, ComplexDataObject result, ReflectionLookup reflectionLookup, String propertyPrefix, Method getter) {
+	private void collectDataForGetter(Serializable container, ComplexDataObject result, ReflectionLookup reflectionLookup, String propertyPrefix, PropertyGetter getter) {
+		final Object propertyValue;
 		try {
-			final Object propertyValue = getter.invoke(container);
-			final String propertyName = propertyPrefix + ReflectionLookup.getPropertyNameFromMethodName(getter.getName());
-			if (propertyValue != null) {
-				if (isSupportedType(propertyValue.getClass())) {
-					result.setProperty(propertyName, (Serializable) propertyValue);
-				} else if (propertyValue instanceof Set) {
-					final Set<?> set = (Set<?>) propertyValue;
-					if (set.isEmpty()) {
-						result.setProperty(propertyName, EmptyValue.INSTANCE);
-					} else {
-						serializeSet(result, reflectionLookup, set, propertyName);
-					}
-				} else if (propertyValue instanceof List) {
-					final List<?> list = (List<?>) propertyValue;
-					if (list.isEmpty()) {
-						result.setProperty(propertyName, EmptyValue.INSTANCE);
-					} else {
-						serializeList(result, reflectionLookup, list, propertyName);
-					}
-				} else if (propertyValue instanceof Object[]) {
-					final Object[] array = (Object[]) propertyValue;
-					if (array.length == 0) {
-						result.setProperty(propertyName, EmptyValue.INSTANCE);
-					} else {
-						serializeArray(result, reflectionLookup, array, propertyName);
-					}
-				} else if (propertyValue.getClass().isArray()) {
-					if (Array.getLength(propertyValue) == 0) {
-						result.setProperty(propertyName, EmptyValue.INSTANCE);
-					} else {
-						serializePrimitiveArray(result, reflectionLookup, propertyValue, propertyName);
-					}
-				} else if (propertyValue instanceof Map) {
-					final Map<?, ?> map = (Map<?, ?>) propertyValue;
-					if (map.isEmpty()) {
-						result.setProperty(propertyName, EmptyValue.INSTANCE);
-					} else {
-						serializeMap(result, reflectionLookup, map, propertyName);
-					}
-				} else if (propertyValue.getClass().getPackageName().startsWith("java.")) {
-					throw new SerializationFailedException("Unsupported data type " + propertyValue.getClass() + ": " + propertyValue);
+			propertyValue = getter.get(container);
+		} catch (SerializationFailedException ex) {
+			throw ex;
+		} catch (RuntimeException ex) {
+			throw new SerializationFailedException(
+				"Failed to retrieve value from getter: " + getter.getMethod().toGenericString(), ex
+			);
+		}
+		final String propertyName = propertyPrefix + getter.getPropertyName();
+		if (propertyValue != null) {
+			if (isSupportedType(propertyValue.getClass())) {
+				result.setProperty(propertyName, (Serializable) propertyValue);
+			} else if (propertyValue instanceof Set) {
+				final Set<?> set = (Set<?>) propertyValue;
+				if (set.isEmpty()) {
+					result.setProperty(propertyName, EmptyValue.INSTANCE);
+				} else {
+					serializeSet(result, reflectionLookup, set, propertyName);
+				}
+			} else if (propertyValue instanceof List) {
+				final List<?> list = (List<?>) propertyValue;
+				if (list.isEmpty()) {
+					result.setProperty(propertyName, EmptyValue.INSTANCE);
+				} else {
+					serializeList(result, reflectionLookup, list, propertyName);
+				}
+			} else if (propertyValue instanceof Object[]) {
+				final Object[] array = (Object[]) propertyValue;
+				if (array.length == 0) {
+					result.setProperty(propertyName, EmptyValue.INSTANCE);
+				} else {
+					serializeArray(result, reflectionLookup, array, propertyName);
+				}
+			} else if (propertyValue.getClass().isArray()) {
+				if (Array.getLength(propertyValue) == 0) {
+					result.setProperty(propertyName, EmptyValue.INSTANCE);
+				} else {
+					serializePrimitiveArray(result, reflectionLookup, propertyValue, propertyName);
+				}
+			} else if (propertyValue instanceof Map) {
+				final Map<?, ?> map = (Map<?, ?>) propertyValue;
+				if (map.isEmpty()) {
+					result.setProperty(propertyName, EmptyValue.INSTANCE);
 				} else {
-					collectData((Serializable) propertyValue, result, reflectionLookup, propertyName + ".");
+					serializeMap(result, reflectionLookup, map, propertyName);
 				}
+			} else if (propertyValue.getClass().getPackageName().startsWith("java.")) {
+				throw new SerializationFailedException("Unsupported data type " + propertyValue.getClass() + ": " + propertyValue);
 			} else {
-				result.setProperty(propertyName, NullValue.INSTANCE);
+				collectData((Serializable) propertyValue, result, reflectionLookup, propertyName + ".");
 			}
-		} catch (IllegalAccessException | InvocationTargetException e) {
-			throw new SerializationFailedException(
-				"Failed to retrieve value from getter: " + getter.toGenericString(), e
-			);
+		} else {
+			result.setProperty(propertyName, NullValue.INSTANCE);
 		}
 	}
 
@@ -342,11 +336,8 @@ public class DataObjectConverter<T extends Serializable> {
 	}
 
 	private <X> X extractData(Class<X> containerClass, ComplexDataObject serializedForm, ReflectionLookup reflectionLookup, String propertyPrefix, ExtractionContext extractionCtx) {
-		final Collection<Method> setters = reflectionLookup.findAllSetters(containerClass);
-		final Set<String> propertyNamesHavingSetters = setters
-			.stream()
-			.map(it -> ReflectionLookup.getPropertyNameFromMethodName(it.getName()))
-			.collect(Collectors.toSet());
+		final DataObjectConversionPlan conversionPlan = DataObjectConversionPlan.forClass(containerClass, reflectionLookup);
+		final Set<String> propertyNamesHavingSetters = conversionPlan.getPropertyNamesHavingSetters();
 		final Set<ArgumentKey> propertyNamesWithoutSetter = serializedForm.getTopPropertyNames(propertyPrefix)
 			.stream()
 			.filter(it -> !propertyNamesHavingSetters.contains(it))
@@ -361,11 +352,7 @@ public class DataObjectConverter<T extends Serializable> {
 			)
 		);
 
-		for (Method setter : setters) {
-			if (reflectionLookup.getAnnotationInstanceForProperty(setter, NonSerializedData.class) != null) {
-				// skip property
-				continue;
-			}
+		for (PropertySetter setter : conversionPlan.getSetters()) {
 			extractDataToSetter((Serializable) resultContainer, serializedForm, reflectionLookup, propertyPrefix, extractionCtx, setter);
 		}
 
@@ -374,33 +361,27 @@ public class DataObjectConverter<T extends Serializable> {
 
 	@Nullable
 	private Object extractValueAndRegisterIt(ComplexDataObject serializedForm, ReflectionLookup reflectionLookup, String propertyPrefix, ExtractionContext extractionCtx, String propertyName, Class<?> requiredType, Type requiredGenericType) {
-		try {
-			final String composedPropertyName = propertyPrefix + propertyName;
-			final Object extractedValue = extractValue(
-				serializedForm, reflectionLookup, composedPropertyName, requiredType, requiredGenericType, extractionCtx
-			);
-			if (extractedValue instanceof Object[]) {
-				for (int i = 0; i < ((Object[]) extractedValue).length; i++) {
-					extractionCtx.addProperty(composedPropertyName + INDEX_CHAR_START + i + INDEX_CHAR_END);
-				}
-			} else if (extractedValue instanceof List) {
-				for (int i = 0; i < ((List) extractedValue).size(); i++) {
-					extractionCtx.addProperty(composedPropertyName + INDEX_CHAR_START + i + INDEX_CHAR_END);
-				}
-			} else if (extractedValue instanceof Map) {
-				for (Object key : ((Map) extractedValue).keySet()) {
-					final int id = serializedForm.getIdForKey((Serializable) key);
-					extractionCtx.addProperty(composedPropertyName + INDEX_CHAR_START + MAP_KEY_PREFIX + id + INDEX_CHAR_END);
-				}
-			} else {
-				extractionCtx.addProperty(composedPropertyName);
+		final String composedPropertyName = propertyPrefix + propertyName;
+		final Object extractedValue = extractValue(
+			serializedForm, reflectionLookup, composedPropertyName, requiredType, requiredGenericType, extractionCtx
+		);
+		if (extractedValue instanceof Object[]) {
+			for (int i = 0; i < ((Object[]) extractedValue).length; i++) {
+				extractionCtx.addProperty(composedPropertyName + INDEX_CHAR_START + i + INDEX_CHAR_END);
 			}
-			return extractedValue;
-		} catch (IllegalAccessException | InvocationTargetException e) {
-			throw new SerializationFailedException(
-				"Failed to deserialize value for constructor parameter: " + requiredGenericType.toString() + " " + propertyName, e
-			);
+		} else if (extractedValue instanceof List) {
+			for (int i = 0; i < ((List) extractedValue).size(); i++) {
+				extractionCtx.addProperty(composedPropertyName + INDEX_CHAR_START + i + INDEX_CHAR_END);
+			}
+		} else if (extractedValue instanceof Map) {
+			for (Object key : ((Map) extractedValue).keySet()) {
+				final int id = serializedForm.getIdForKey((Serializable) key);
+				extractionCtx.addProperty(composedPropertyName + INDEX_CHAR_START + MAP_KEY_PREFIX + id + INDEX_CHAR_END);
+			}
+		} else {
+			extractionCtx.addProperty(composedPropertyName);
 		}
+		return extractedValue;
 	}
 
 	@Nonnull
@@ -513,38 +494,44 @@ public class DataObjectConverter<T extends Serializable> {
 		return renames;
 	}
 
-	private void extractDataToSetter(Serializable container, ComplexDataObject serializedForm, ReflectionLookup reflectionLookup, String propertyPrefix, ExtractionContext extractionCtx, Method setter) {
-		try {
-			final String propertyName = propertyPrefix + ReflectionLookup.getPropertyNameFromMethodName(setter.getName());
-			final Class<?> propertyType = setter.getParameterTypes()[0];
-			final Object propertyValue = extractValue(
-				serializedForm,
-				reflectionLookup, propertyName, propertyType,
-				setter.getGenericParameterTypes()[0],
-				extractionCtx
+	private void extractDataToSetter(Serializable container, ComplexDataObject serializedForm, ReflectionLookup reflectionLookup, String propertyPrefix, ExtractionContext extractionCtx, PropertySetter setter) {
+		final String propertyName = propertyPrefix + setter.getPropertyName();
+		final Class<?> propertyType = setter.getPropertyType();
+		final Object propertyValue = extractValue(
+			serializedForm,
+			reflectionLookup, propertyName, propertyType,
+			setter.getGenericPropertyType(),
+			extractionCtx
+		);
+		final RenamedData renamed = setter.getRenamed();
+		if (propertyValue == null && renamed != null) {
+			final Object fallbackPropertyValue = extractFallbackData(
+				serializedForm, reflectionLookup, setter, propertyType, renamed, extractionCtx
 			);
-			final RenamedData renamed = reflectionLookup.getAnnotationInstanceForProperty(setter, RenamedData.class);
-			if (propertyValue == null && renamed != null) {
-				final Object fallbackPropertyValue = extractFallbackData(
-					serializedForm, reflectionLookup, setter, propertyType, renamed, extractionCtx
-				);
-				setter.invoke(container, fallbackPropertyValue);
-			} else {
-				setter.invoke(container, propertyValue);
-				if (propertyValue == null || isSupportedType(propertyType)) {
-					extractionCtx.addProperty(propertyName);
-				}
+			invokeSetter(setter, container, fallbackPropertyValue);
+		} else {
+			invokeSetter(setter, container, propertyValue);
+			if (propertyValue == null || isSupportedType(propertyType)) {
+				extractionCtx.addProperty(propertyName);
 			}
-		} catch (IllegalAccessException | InvocationTargetException e) {
+		}
+	}
+
+	private void invokeSetter(PropertySetter setter, Serializable container, Object propertyValue) {
+		try {
+			setter.set(container, propertyValue);
+		} catch (SerializationFailedException ex) {
+			throw ex;
+		} catch (RuntimeException ex) {
 			throw new SerializationFailedException(
-				"Failed to set value via setter: " + setter.toGenericString(), e
+				"Failed to set value via setter: " + setter.getMethod().toGenericString(), ex
 			);
 		}
 	}
 
-	private Object extractFallbackData(ComplexDataObject serializedForm, ReflectionLookup reflectionLookup, Method setter, Class<?> propertyType, RenamedData renamed, ExtractionContext extractionCtx) throws IllegalAccessException, InvocationTargetException {
+	private Object extractFallbackData(ComplexDataObject serializedForm, ReflectionLookup reflectionLookup, PropertySetter setter, Class<?> propertyType, RenamedData renamed, ExtractionContext extractionCtx) {
 		for (String aliasPropertyName : renamed.value()) {
-			final Object fallbackPropertyValue = extractValue(serializedForm, reflectionLookup, aliasPropertyName, propertyType, setter.getGenericParameterTypes()[0], extractionCtx);
+			final Object fallbackPropertyValue = extractValue(serializedForm, reflectionLookup, aliasPropertyName, propertyType, setter.getGenericPropertyType(), extractionCtx);
 			if (fallbackPropertyValue != null && isSupportedType(propertyType)) {
 				extractionCtx.addProperty(aliasPropertyName);
 				return fallbackPropertyValue;
@@ -553,7 +540,7 @@ public class DataObjectConverter<T extends Serializable> {
 		return null;
 	}
 
-	private Object extractValue(ComplexDataObject serializedForm, ReflectionLookup reflectionLookup, String propertyName, Class<?> propertyType, Type genericReturnType, ExtractionContext extractionCtx) throws IllegalAccessException, InvocationTargetException {
+	private Object extractValue(ComplexDataObject serializedForm, ReflectionLookup reflectionLookup, String propertyName, Class<?> propertyType, Type genericReturnType, ExtractionContext extractionCtx) {
 		if (serializedForm.hasAnyPropertyFor(propertyName)) {
 			final Object propertyValue;
 			if (isSupportedType(propertyType)) {
@@ -600,7 +587,7 @@ public class DataObjectConverter<T extends Serializable> {
 		}
 	}
 
-	private Set<Serializable> deserializeSet(ReflectionLookup reflectionLookup, Type genericReturnType, ComplexDataObject serializedForm, String propertyName, ExtractionContext extractionCtx) throws InvocationTargetException, IllegalAccessException {
+	private Set<Serializable> deserializeSet(ReflectionLookup reflectionLookup, Type genericReturnType, ComplexDataObject serializedForm, String propertyName, ExtractionContext extractionCtx) {
 		final Class<? extends Serializable> innerClass = reflectionLookup.extractGenericType(genericReturnType, 0);
 		assertSerializable(innerClass);
 
@@ -621,13 +608,13 @@ public class DataObjectConverter<T extends Serializable> {
 		return result.isEmpty() ? null : result;
 	}
 
-	private List<Serializable> deserializeList(ReflectionLookup reflectionLookup, Type genericReturnType, ComplexDataObject serializedForm, String propertyName, ExtractionContext extractionCtx) throws InvocationTargetException, IllegalAccessException {
+	private List<Serializable> deserializeList(ReflectionLookup reflectionLookup, Type genericReturnType, ComplexDataObject serializedForm, String propertyName, ExtractionContext extractionCtx) {
 		final Class<? extends Serializable> innerClass = reflectionLookup.extractGenericType(genericReturnType, 0);
 		assertSerializable(innerClass);
 		return deserializeList(reflectionLookup, genericReturnType, serializedForm, propertyName, innerClass, extractionCtx);
 	}
 
-	private Serializable[] deserializeArray(ReflectionLookup reflectionLookup, Type genericReturnType, ComplexDataObject serializedForm, String propertyName, ExtractionContext extractionCtx) throws InvocationTargetException, IllegalAccessException {
+	private Serializable[] deserializeArray(ReflectionLookup reflectionLookup, Type genericReturnType, ComplexDataObject serializedForm, String propertyName, ExtractionContext extractionCtx) {
 		//noinspection unchecked
 		final Class<? extends Serializable> innerClass = (Class<? extends Serializable>) ((Class<?>) genericReturnType).getComponentType();
 		assertSerializable(innerClass);
@@ -636,7 +623,7 @@ public class DataObjectConverter<T extends Serializable> {
 			.orElse(null);
 	}
 
-	private List<Serializable> deserializeList(ReflectionLookup reflectionLookup, Type genericReturnType, ComplexDataObject serializedForm, String propertyName, Class<? extends Serializable> innerClass, ExtractionContext extractionCtx) throws IllegalAccessException, InvocationTargetException {
+	private List<Serializable> deserializeList(ReflectionLookup reflectionLookup, Type genericReturnType, ComplexDataObject serializedForm, String propertyName, Class<? extends Serializable> innerClass, ExtractionContext extractionCtx) {
 		final List<Serializable> result = new LinkedList<>();
 		final Set<String> indexes = serializedForm.getIndexStrings(propertyName);
 		for (String indexKey : indexes) {
@@ -654,7 +641,7 @@ public class DataObjectConverter<T extends Serializable> {
 		return result.isEmpty() ? null : result;
 	}
 
-	private Map<Serializable, Serializable> deserializeMap(ReflectionLookup reflectionLookup, Type genericReturnType, ComplexDataObject serializedForm, String propertyName, ExtractionContext extractionCtx) throws InvocationTargetException, IllegalAccessException {
+	private Map<Serializable, Serializable> deserializeMap(ReflectionLookup reflectionLookup, Type genericReturnType, ComplexDataObject serializedForm, String propertyName, ExtractionContext extractionCtx) {
 		final Class<? extends Serializable> keyClass = reflectionLookup.extractGenericType(genericReturnType, 0);
 		assertSerializable(keyClass);
 		final Class<? extends Serializable> valueClass = reflectionLookup.extractGenericType(genericReturnType, 1);
@@ -78,6 +78,33 @@ public interface MemoryMeasuringConstants {
 		return 128 + 32 * map.size();
 	}
 
+	/**
+	 * Source: <a href="https://medium.com/metrosystemsro/java-memory-footprint-part-2-8791679178e2">for the base size</a>
+	 * and <a href="https://github.com/DimitrisAndreou/memory-measurer/blob/master/ElementCostInDataStructures.txt">for element size</a>.
+	 * Returned size doesn't contain the size of the keys and values themselves.
+	 */
+	static long computeHashMapSize(int entryCount) {
+		return 128L + 32L * entryCount;
+	}
+
+	/**
+	 * Returns estimated size of the open addressing hash map with primitive int keys (such as `IntObjectHashMap`
+	 * of the HPPC library) with default load factor 0.75. Returned size doesn't contain the size of the values
+	 * themselves.
+	 */
+	static long computeIntObjHashMapSize(int entryCount) {
+		final int capacity = Integer.highestOneBit(Math.max(4, (int) Math.ceil(entryCount / 0.75)) - 1) << 1;
+		return 64L + computeArraySize(capacity + 1, INT_SIZE) + computeArraySize(capacity + 1, REFERENCE_SIZE);
+	}
+
+	/**
+	 * Returns estimated size of the array of passed length with elements of passed size (primitive type size or
+	 * {@link #REFERENCE_SIZE}).
+	 */
+	static long computeArraySize(int length, int elementSize) {
+		return ARRAY_BASE_SIZE + (long) length * elementSize;
+	}
+
 	/**
 	 * Returns estimated size per component.
 	 */
@@ -0,0 +1,138 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.api.data;
+
+import io.evitadb.api.data.DataObjectConversionPlan.PropertyGetter;
+import io.evitadb.api.data.DataObjectConversionPlan.PropertySetter;
+import io.evitadb.api.utils.ReflectionLookup;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test verifies that {@link DataObjectConversionPlan} is computed once per class and that its generated property
+ * accessors read and write the data object properties correctly.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2021
+ */
+class DataObjectConversionPlanTest {
+	private final ReflectionLookup reflectionLookup = new ReflectionLookup(ReflectionCachingBehaviour.NO_CACHE);
+
+	@Test
+	void shouldReturnSamePlanForSameClass() {
+		final DataObjectConversionPlan plan = DataObjectConversionPlan.forClass(PlanTestObject.class, reflectionLookup);
+		assertSame(plan, DataObjectConversionPlan.forClass(PlanTestObject.class, reflectionLookup));
+		assertSame(plan, DataObjectConversionPlan.forClass(PlanTestObject.class, new ReflectionLookup(ReflectionCachingBehaviour.CACHE)));
+	}
+
+	@Test
+	void shouldReturnDifferentPlansForDifferentClasses() {
+		assertNotSame(
+			DataObjectConversionPlan.forClass(PlanTestObject.class, reflectionLookup),
+			DataObjectConversionPlan.forClass(DataObjectConverterTest.OriginalClass.class, reflectionLookup)
+		);
+	}
+
+	@Test
+	void shouldExcludeNonSerializedPropertiesFromAccessors() {
+		final DataObjectConversionPlan plan = DataObjectConversionPlan.forClass(PlanTestObject.class, reflectionLookup);
+
+		assertEquals(
+			Set.of("name", "count", "flag"),
+			Arrays.stream(plan.getGetters()).map(PropertyGetter::getPropertyName).collect(Collectors.toSet())
+		);
+		assertEquals(
+			Set.of("name", "count", "flag"),
+			Arrays.stream(plan.getSetters()).map(PropertySetter::getPropertyName).collect(Collectors.toSet())
+		);
+		assertEquals(Set.of("name", "count", "flag", "url"), plan.getPropertyNamesHavingSetters());
+	}
+
+	@Test
+	void shouldReadPropertiesViaGeneratedGetters() throws MalformedURLException {
+		final PlanTestObject object = new PlanTestObject();
+		object.setName("ABC");
+		object.setCount(42);
+		object.setFlag(true);
+		object.setUrl(new URL("https://www.evitadb.io"));
+
+		final DataObjectConversionPlan plan = DataObjectConversionPlan.forClass(PlanTestObject.class, reflectionLookup);
+		assertEquals("ABC", getter(plan, "name").get(object));
+		assertEquals(42, getter(plan, "count").get(object));
+		assertEquals(true, getter(plan, "flag").get(object));
+	}
+
+	@Test
+	void shouldWritePropertiesViaGeneratedSetters() {
+		final PlanTestObject object = new PlanTestObject();
+
+		final DataObjectConversionPlan plan = DataObjectConversionPlan.forClass(PlanTestObject.class, reflectionLookup);
+		setter(plan, "name").set(object, "DEF");
+		setter(plan, "count").set(object, 7);
+		setter(plan, "flag").set(object, true);
+		setter(plan, "name").set(object, null);
+
+		assertNull(object.getName());
+		assertEquals(7, object.getCount());
+		assertTrue(object.isFlag());
+		assertEquals(int.class, setter(plan, "count").getPropertyType());
+	}
+
+	@Test
+	void shouldFailToSetNullToPrimitiveProperty() {
+		final DataObjectConversionPlan plan = DataObjectConversionPlan.forClass(PlanTestObject.class, reflectionLookup);
+		assertThrows(NullPointerException.class, () -> setter(plan, "count").set(new PlanTestObject(), null));
+	}
+
+	private static PropertyGetter getter(DataObjectConversionPlan plan, String propertyName) {
+		return Arrays.stream(plan.getGetters())
+			.filter(it -> propertyName.equals(it.getPropertyName()))
+			.findFirst()
+			.orElseThrow();
+	}
+
+	private static PropertySetter setter(DataObjectConversionPlan plan, String propertyName) {
+		return Arrays.stream(plan.getSetters())
+			.filter(it -> propertyName.equals(it.getPropertyName()))
+			.findFirst()
+			.orElseThrow();
+	}
+
+	@Data
+	public static class PlanTestObject {
+		private String name;
+		private int count;
+		private boolean flag;
+		@NonSerializedData
+		private URL url;
+	}
+
+}
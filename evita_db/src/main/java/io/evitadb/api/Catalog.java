@@ -23,18 +23,30 @@
 package io.evitadb.api;
 
 import io.evitadb.api.configuration.EvitaCatalogConfiguration;
+import io.evitadb.api.configuration.QueryRecordingOptions;
 import io.evitadb.api.exception.InvalidSchemaMutationException;
 import io.evitadb.api.io.EvitaRequest;
+import io.evitadb.api.query.Query;
 import io.evitadb.api.schema.EntitySchema;
+import io.evitadb.api.schema.ReferenceSchema;
 import io.evitadb.api.utils.Assert;
 import io.evitadb.api.utils.ReflectionLookup;
 import io.evitadb.cache.CacheSupervisor;
 import io.evitadb.cache.HeapMemoryCacheSupervisor;
 import io.evitadb.cache.NoCacheSupervisor;
+import io.evitadb.cache.StoragePartCache;
+import io.evitadb.cache.dto.CacheStatistics;
 import io.evitadb.index.EntityIndex;
 import io.evitadb.index.EntityIndexKey;
+import io.evitadb.index.footprint.IndexFootprint;
+import io.evitadb.index.footprint.IndexFootprintCollector;
 import io.evitadb.index.map.TransactionalMemoryMap;
+import io.evitadb.index.transactionalMemory.TransactionalMemory;
 import io.evitadb.query.algebra.Formula;
+import io.evitadb.query.recording.FileQueryRecorder;
+import io.evitadb.query.recording.NoQueryRecorder;
+import io.evitadb.query.recording.QueryRecorder;
+import io.evitadb.query.response.QueryTelemetry;
 import io.evitadb.scheduling.Scheduler;
 import io.evitadb.sequence.SequenceService;
 import io.evitadb.sequence.SequenceType;
@@ -45,12 +57,14 @@ import io.evitadb.storage.kryo.ObservableOutput;
 import io.evitadb.storage.model.CatalogEntityHeader;
 import io.evitadb.storage.model.CatalogHeader;
 import io.evitadb.storage.model.storageParts.EntityCollectionUpdateInstruction;
+import lombok.Data;
 import lombok.Getter;
 import net.openhft.hashing.LongHashFunction;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -89,6 +103,22 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 	 * multiple clients.
 	 */
 	final AtomicLong txPkSequence;
+	/**
+	 * Commit pipeline orders commits of the transactions targeting this catalog. It's shared among all versions
+	 * of the catalog.
+	 */
+	final CatalogCommitPipeline commitPipeline;
+	/**
+	 * Generation of the entity schemas of this catalog. It's incremented each time any entity schema changes or entity
+	 * collection is created or removed and it's shared among all versions of the catalog (schemas are not isolated
+	 * between transactions).
+	 */
+	final AtomicLong schemaGeneration;
+	/**
+	 * Contains entity types of the hierarchies rolled up by the references of any collection of this catalog memoized
+	 * for particular {@link #schemaGeneration}. See {@link #isHierarchyRolledUp(Serializable)}.
+	 */
+	private volatile RolledUpHierarchies rolledUpHierarchies;
 	/**
 	 * Service containing I/O related methods.
 	 */
@@ -105,6 +135,16 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 	 * memoized result.
 	 */
 	final CacheSupervisor cacheSupervisor;
+	/**
+	 * Query recorder captures the queries executed against this catalog when the recording is enabled in
+	 * {@link QueryRecordingOptions}. It's shared among all versions of the catalog.
+	 */
+	final QueryRecorder queryRecorder;
+	/**
+	 * Storage part cache keeps deserialized entity storage parts of all entity collections of the catalog. It's shared
+	 * among all versions of the catalog.
+	 */
+	final StoragePartCache storagePartCache;
 	/**
 	 * Contains id of the transaction ({@link Transaction#getId()}) that was successfully committed to the disk.
 	 */
@@ -122,8 +162,20 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 		this.readWriteSessionCount = new AtomicInteger(0);
 		this.lastCommittedTransactionId = catalogHeader.getLastTransactionId();
 		this.txPkSequence = SequenceService.getOrCreateSequence(getName(), SequenceType.TRANSACTION, this.lastCommittedTransactionId);
+		this.commitPipeline = new CatalogCommitPipeline();
+		this.schemaGeneration = new AtomicLong();
 		this.cacheSupervisor = configuration.getCacheOptions().isEnableFormulaCache() ?
 			new HeapMemoryCacheSupervisor(configuration.getCacheOptions(), executorService) : NoCacheSupervisor.INSTANCE;
+		this.storagePartCache = configuration.getCacheOptions().getStoragePartCacheSizeInBytes() > 0L ?
+			new StoragePartCache(configuration.getCacheOptions().getStoragePartCacheSizeInBytes()) : StoragePartCache.DISABLED;
+		final QueryRecordingOptions queryRecordingOptions = configuration.getQueryRecordingOptions();
+		this.queryRecorder = queryRecordingOptions != null && queryRecordingOptions.isEnabled() ?
+			new FileQueryRecorder(
+				configuration.getName(),
+				ofNullable(queryRecordingOptions.getRecordingDirectory())
+					.orElseGet(() -> configuration.getStorageDirectory().resolve(configuration.getName() + "_queries")),
+				queryRecordingOptions
+			) : NoQueryRecorder.INSTANCE;
 
 		final Map<Serializable, EntityCollection> collections = createHashMap(catalogHeader.getEntityTypeHeaders().size());
 		for (CatalogEntityHeader entityHeader : catalogHeader.getEntityTypeHeaders()) {
@@ -138,6 +190,7 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 					observableOutputKeeper,
 					ioService,
 					cacheSupervisor,
+					storagePartCache,
 					supportsTransaction()
 				)
 			);
@@ -151,18 +204,26 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 		@Nonnull CatalogState catalogState,
 		@Nonnull IOService ioService,
 		@Nonnull CacheSupervisor cacheSupervisor,
+		@Nonnull QueryRecorder queryRecorder,
+		@Nonnull StoragePartCache storagePartCache,
 		@Nonnull ObservableOutputKeeper observableOutputKeeper,
 		@Nonnull AtomicInteger readWriteSessionCount,
 		@Nonnull AtomicLong txPkSequence,
+		@Nonnull CatalogCommitPipeline commitPipeline,
+		@Nonnull AtomicLong schemaGeneration,
 		long lastCommittedTransactionId,
 		@Nonnull Map<Serializable, EntityCollection> entityCollections
 	) {
 		super(configuration, catalogState);
 		this.ioService = ioService;
 		this.cacheSupervisor = cacheSupervisor;
+		this.queryRecorder = queryRecorder;
+		this.storagePartCache = storagePartCache;
 		this.observableOutputKeeper = observableOutputKeeper;
 		this.readWriteSessionCount = readWriteSessionCount;
 		this.txPkSequence = txPkSequence;
+		this.commitPipeline = commitPipeline;
+		this.schemaGeneration = schemaGeneration;
 		this.lastCommittedTransactionId = lastCommittedTransactionId;
 		this.entityCollections = new TransactionalMemoryMap<>(entityCollections);
 	}
@@ -196,6 +257,104 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 		return txPkSequence.incrementAndGet();
 	}
 
+	/**
+	 * Returns true if any indexed reference of any collection of this catalog rolls up the hierarchy of the passed
+	 * `entityType` (i.e. has {@link io.evitadb.api.schema.ReferenceSchema#getHierarchyRollUpLevels()} configured).
+	 * The answer is memoized for current {@link #schemaGeneration} so that the hot paths don't need to examine all
+	 * the schemas on each call. When the set of collections is changed in current transaction the memoized value is
+	 * not used at all.
+	 */
+	public boolean isHierarchyRolledUp(@Nonnull Serializable entityType) {
+		if (TransactionalMemory.getTransactionalMemoryLayerIfExists(this.entityCollections) != null) {
+			return collectRolledUpHierarchies().contains(entityType);
+		}
+		final long generation = this.schemaGeneration.get();
+		RolledUpHierarchies memoized = this.rolledUpHierarchies;
+		if (memoized == null || memoized.getGeneration() != generation) {
+			memoized = new RolledUpHierarchies(generation, collectRolledUpHierarchies());
+			this.rolledUpHierarchies = memoized;
+		}
+		return memoized.getEntityTypes().contains(entityType);
+	}
+
+	/**
+	 * Method invalidates all the information derived from the entity schemas of the catalog. It must be called
+	 * whenever any of the entity schemas changes.
+	 */
+	void schemaChanged() {
+		this.schemaGeneration.incrementAndGet();
+	}
+
+	/**
+	 * Returns statistics of the commit pipeline of this catalog (shared among all versions of the catalog).
+	 */
+	@Nonnull
+	public CatalogCommitPipeline.CommitStatistics getCommitStatistics() {
+		return commitPipeline.getStatistics();
+	}
+
+	/**
+	 * Returns statistics of the cache of this catalog (shared among all versions of the catalog).
+	 */
+	@Nonnull
+	public CacheStatistics getCacheStatistics() {
+		return cacheSupervisor.getStatistics();
+	}
+
+	/**
+	 * Returns cumulative statistics of the {@link StoragePartCache} of this catalog for each cached storage part type.
+	 */
+	@Nonnull
+	public Map<Class<?>, CacheStatistics> getStoragePartCacheStatistics() {
+		return storagePartCache.getStatistics();
+	}
+
+	/**
+	 * Returns estimated memory footprint of the indexes of this catalog version aggregated per entity collection,
+	 * entity index type, index part and attribute. The list is sorted by the estimated size in descending order.
+	 * The sizes are only rough estimates - use them for comparing index parts and for sizing the heap, not as exact
+	 * numbers.
+	 */
+	@Nonnull
+	public List<IndexFootprint> getIndexFootprint() {
+		final IndexFootprintCollector collector = new IndexFootprintCollector();
+		for (EntityCollection entityCollection : entityCollections.values()) {
+			entityCollection.collectFootprint(collector);
+		}
+		return collector.getFootprints();
+	}
+
+	/**
+	 * Passes the query executed in the session with `sessionId` along with its telemetry to the {@link QueryRecorder}.
+	 * The recorder does nothing unless the query recording is enabled in {@link QueryRecordingOptions}.
+	 */
+	void recordQuery(@Nonnull UUID sessionId, @Nonnull Query query, @Nonnull QueryTelemetry telemetry) {
+		this.queryRecorder.record(sessionId, query, telemetry);
+	}
+
+	/**
+	 * Writes compact image of the latest committed catalog version to the empty `targetDirectory`. The image contains
+	 * only the living records of all entity collections, the entity indexes are placed at the start of each collection
+	 * file so that they can be loaded by large sequential reads, and all records are re-checksummed as part of the
+	 * single transaction. The image is a regular catalog directory - it can be opened by the catalog of the same name
+	 * pointed to the `targetDirectory`. Only the flushed state of the catalog is written - in
+	 * {@link CatalogState#WARMING_UP} state the {@link #flush()} method should be called prior to calling this method.
+	 *
+	 * The records are read from the data files shared by all catalog versions, which always contain the latest flushed
+	 * state. The commits are therefore blocked for the time of the export and the image is written from the latest
+	 * published catalog version (which may be newer than this instance) so that the headers and the records match.
+	 */
+	public void exportImage(@Nonnull Path targetDirectory) {
+		this.ioService.verifyDirectory(targetDirectory, true);
+		this.commitPipeline.executeWithLatestPublishedCatalog(
+			this,
+			latestCatalog -> {
+				latestCatalog.writeImage(targetDirectory);
+				return null;
+			}
+		);
+	}
+
 	/**
 	 * Increases number of read and write sessions that are currently talking with this catalog.
 	 */
@@ -236,6 +395,7 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 					getEntityTypes().stream(),
 					entityType
 				);
+				Transaction.recordReplayableOperation(catalog -> catalog.getOrCreateCollectionForEntity(entityType));
 				return new EntityCollection(
 					this,
 					new CatalogHeader(getName(), getCatalogState()),
@@ -245,6 +405,7 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 					observableOutputKeeper,
 					ioService,
 					cacheSupervisor,
+					storagePartCache,
 					supportsTransaction()
 				);
 			}
@@ -264,6 +425,7 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 			observableOutputKeeper,
 			ioService,
 			cacheSupervisor,
+			storagePartCache,
 			supportsTransaction()
 		);
 		final EntityCollection entityCollection = entityCollections.computeIfAbsent(
@@ -273,12 +435,19 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 		if (newEntityCollection != entityCollection) {
 			throw new InvalidSchemaMutationException("Schema for entity type " + entitySchema.getName() + " already exists!");
 		}
+		schemaChanged();
+		Transaction.recordReplayableOperation(catalog -> catalog.createCollectionForEntity(entitySchema));
 		return entityCollection;
 	}
 
 	@Override
 	public boolean deleteCollectionOfEntity(@Nonnull Serializable entityType) {
-		return entityCollections.remove(entityType) != null;
+		final boolean removed = entityCollections.remove(entityType) != null;
+		if (removed) {
+			schemaChanged();
+			Transaction.recordReplayableOperation(catalog -> catalog.deleteCollectionOfEntity(entityType));
+		}
+		return removed;
 	}
 
 	@Override
@@ -343,6 +512,7 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 			}
 		} finally {
 			observableOutputKeeper.free();
+			queryRecorder.close();
 		}
 
 		// if any change occurred (this may happen only in warm up state)
@@ -384,4 +554,49 @@ public class Catalog extends CatalogBase<EvitaRequest, EvitaCatalogConfiguration
 		}
 	}
 
+	/*
+		PRIVATE METHODS
+	 */
+
+	/**
+	 * Writes compact image of this catalog version to the `targetDirectory` - see {@link #exportImage(Path)}.
+	 */
+	private void writeImage(@Nonnull Path targetDirectory) {
+		final List<CatalogEntityHeader> imageHeaders = new ArrayList<>(this.entityCollections.size());
+		for (EntityCollection entityCollection : entityCollections.values()) {
+			imageHeaders.add(entityCollection.writeImage(targetDirectory, lastCommittedTransactionId));
+		}
+		this.ioService.storeHeader(
+			targetDirectory,
+			getName(), getCatalogState(),
+			lastCommittedTransactionId,
+			imageHeaders
+		);
+	}
+
+	/**
+	 * Returns entity types of all hierarchies rolled up by the indexed references of the collections of this catalog.
+	 */
+	@Nonnull
+	private Set<Serializable> collectRolledUpHierarchies() {
+		final Set<Serializable> result = new HashSet<>();
+		for (EntityCollection entityCollection : this.entityCollections.values()) {
+			for (ReferenceSchema referenceSchema : entityCollection.getSchema().getReferences().values()) {
+				if (referenceSchema.isIndexed() && referenceSchema.hasHierarchyRollUpLevels()) {
+					result.add(referenceSchema.getEntityType());
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Memoized result of {@link #collectRolledUpHierarchies()} valid for particular {@link #schemaGeneration}.
+	 */
+	@Data
+	private static class RolledUpHierarchies {
+		private final long generation;
+		private final Set<Serializable> entityTypes;
+	}
+
 }
@@ -0,0 +1,448 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.api;
+
+import io.evitadb.api.exception.RollbackException;
+import lombok.Data;
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Commit pipeline orders commits of all transactions targeting the same {@link Catalog}. Single instance is created
+ * along with the catalog and is shared among all its versions created by committed transactions.
+ *
+ * The commit is executed in three stages:
+ *
+ * 1. merging transactional memory of the transaction into new copies of the touched {@link EntityCollection} - this
+ *    stage is executed by {@link Transaction} outside the pipeline and thus transactions committing at the same time
+ *    merge their changes in parallel
+ * 2. sequencing - merged collections are rebased on top of the collections of the latest sequenced catalog version,
+ *    the transaction is assigned its id and its place in the commit order; this stage is short and serialized
+ * 3. publishing - new catalog version is created, flushed to the disk and published; the stage runs in the commit
+ *    order, but outside the sequencing stage, so that the next transaction may be sequenced while the previous one
+ *    is being flushed
+ *
+ * When the transaction was opened on older catalog version than the latest sequenced one, its changes are rebased
+ * on top of the latest version. When it touched different entity collections than the transactions sequenced in
+ * the meantime, the merged collections are combined with the latest ones. When the same collection was modified by
+ * both of them, the merged copies can't be combined and the transaction is replayed instead - the pipeline waits
+ * until all previously sequenced transactions are published and the recorded operations of the transaction are
+ * executed once again on top of the latest catalog version. The transaction is rolled back only when the replay
+ * itself fails (for example the entity created by the transaction was created by another transaction as well).
+ *
+ * When the publishing of a transaction fails, transactions sequenced on top of it are rolled back and the next
+ * sequenced transaction starts from the latest published catalog version again.
+ *
+ * Transactions waiting for the pipeline are queued in fair order and wait as long as necessary - the pipeline doesn't
+ * use timeouts. Queue length and waiting times are tracked instead and can be observed via {@link #getStatistics()}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@ThreadSafe
+@Log4j2
+public class CatalogCommitPipeline {
+	/**
+	 * Lock serializing the sequencing stage of the commit - it's fair so that the transactions are sequenced in
+	 * the order they arrived to the pipeline.
+	 */
+	private final ReentrantLock sequencingLock = new ReentrantLock(true);
+	/**
+	 * Lock guarding the publishing stage - the transactions enter the stage strictly in the order of their tickets.
+	 */
+	private final ReentrantLock publishingLock = new ReentrantLock();
+	/**
+	 * Condition signalled each time the transaction leaves the publishing stage.
+	 */
+	private final Condition publishingFinished = publishingLock.newCondition();
+	/**
+	 * Collections of the latest sequenced (but not necessarily published) catalog version. NULL until first commit
+	 * occurs - in such case the collections of the catalog the pipeline was created for are the latest ones. Guarded
+	 * by {@link #sequencingLock}.
+	 */
+	@Nullable private Map<Serializable, EntityCollection> sequencedCollections;
+	/**
+	 * Ticket of the transaction that produced {@link #sequencedCollections}. Guarded by {@link #sequencingLock}.
+	 */
+	private long sequencedCollectionsTicket;
+	/**
+	 * Ticket of the last transaction that entered the publishing stage. Guarded by {@link #sequencingLock}.
+	 */
+	private long lastTicket;
+	/**
+	 * Ticket of the last transaction that left the publishing stage (no matter whether successfully or not). Guarded
+	 * by {@link #publishingLock}.
+	 */
+	private long finishedTicket;
+	/**
+	 * Contains the catalog version produced by the latest successful commit along with the ticket of the transaction
+	 * that produced it. NULL until first commit occurs.
+	 */
+	@Nullable private volatile PublishedCatalog publishedCatalog;
+	/**
+	 * Flag is set when the publishing stage of a transaction sequenced on top of the published version fails - in such
+	 * case the sequenced collections don't represent valid state anymore and next sequencing starts from the published
+	 * catalog version.
+	 */
+	private volatile boolean publishingFailed;
+	/**
+	 * Counters for {@link CommitStatistics}.
+	 */
+	private final AtomicLong committed = new AtomicLong();
+	private final AtomicLong conflicts = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	private final AtomicLong totalCommitNanos = new AtomicLong();
+	private final AtomicLong maxCommitNanos = new AtomicLong();
+
+	/**
+	 * Returns snapshot of the pipeline statistics.
+	 */
+	@Nonnull
+	public CommitStatistics getStatistics() {
+		return new CommitStatistics(
+			committed.get(), conflicts.get(), failed.get(), sequencingLock.getQueueLength(),
+			totalWaitNanos.get(), maxWaitNanos.get(),
+			totalCommitNanos.get(), maxCommitNanos.get()
+		);
+	}
+
+	/**
+	 * Executes sequencing and publishing stage of the commit. The `baseCollections` represent the collections of
+	 * the catalog version the transaction was opened on, `mergedCollections` contain the same collections with merged
+	 * transactional changes. Both maps are rebased on top of the latest sequenced catalog version. When they can't be
+	 * combined, `replay` function is called with the latest published catalog version and is expected to execute
+	 * the transaction once again on top of it and return the collections with merged changes. The transaction id
+	 * assigned by the sequencing stage is passed along with the rebased collections to `publisher` that is expected to
+	 * create, flush and publish new catalog version.
+	 *
+	 * @throws RollbackException when the transaction could not be committed
+	 */
+	@Nonnull
+	Catalog commit(
+		@Nonnull Catalog baseCatalog,
+		@Nonnull Map<Serializable, EntityCollection> baseCollections,
+		@Nonnull Map<Serializable, EntityCollection> mergedCollections,
+		@Nonnull Function<Catalog, Map<Serializable, EntityCollection>> replay,
+		@Nonnull CatalogPublisher publisher
+	) {
+		final long waitStart = System.nanoTime();
+		final CommitTicket ticket;
+		try {
+			sequencingLock.lockInterruptibly();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failed.incrementAndGet();
+			throw new RollbackException("Interrupted while waiting for commit!", e);
+		}
+		final long commitStart = System.nanoTime();
+		recordDuration(totalWaitNanos, maxWaitNanos, commitStart - waitStart);
+		try {
+			ticket = sequence(baseCatalog, baseCollections, mergedCollections, replay);
+		} catch (RuntimeException ex) {
+			failed.incrementAndGet();
+			recordDuration(totalCommitNanos, maxCommitNanos, System.nanoTime() - commitStart);
+			throw ex;
+		} finally {
+			sequencingLock.unlock();
+		}
+
+		try {
+			return publish(baseCatalog, ticket, publisher);
+		} finally {
+			recordDuration(totalCommitNanos, maxCommitNanos, System.nanoTime() - commitStart);
+		}
+	}
+
+	/**
+	 * Executes `lambda` with the latest published catalog version (or `catalog` when no transaction has been
+	 * committed yet) while no other transaction can be published. The data files therefore contain exactly the state
+	 * of the catalog version passed to the lambda for the entire time of its execution.
+	 */
+	<T> T executeWithLatestPublishedCatalog(@Nonnull Catalog catalog, @Nonnull Function<Catalog, T> lambda) {
+		publishingLock.lock();
+		try {
+			final PublishedCatalog published = this.publishedCatalog;
+			return lambda.apply(published == null ? catalog : published.getCatalog());
+		} finally {
+			publishingLock.unlock();
+		}
+	}
+
+	/**
+	 * Rebases the transaction changes on top of the latest sequenced collections (replaying the transaction if
+	 * necessary), assigns the transaction id and the place in the commit order. Must be called with
+	 * {@link #sequencingLock} held.
+	 */
+	@Nonnull
+	private CommitTicket sequence(
+		@Nonnull Catalog baseCatalog,
+		@Nonnull Map<Serializable, EntityCollection> baseCollections,
+		@Nonnull Map<Serializable, EntityCollection> mergedCollections,
+		@Nonnull Function<Catalog, Map<Serializable, EntityCollection>> replay
+	) {
+		if (this.publishingFailed) {
+			// sequenced collections contain changes of the transaction that failed to publish - start over from
+			// the published version, transactions sequenced on top of the failed one will be rolled back
+			this.publishingFailed = false;
+			final PublishedCatalog published = this.publishedCatalog;
+			this.sequencedCollections = published == null ? null : new HashMap<>(published.getCatalog().entityCollections);
+			this.sequencedCollectionsTicket = published == null ? 0L : published.getTicket();
+		}
+		final Map<Serializable, EntityCollection> latestCollections = ofNullable(this.sequencedCollections)
+			.orElse(baseCollections);
+		Map<Serializable, EntityCollection> rebasedCollections = rebase(baseCollections, mergedCollections, latestCollections);
+		long predecessorTicket = this.sequencedCollectionsTicket;
+		if (rebasedCollections == null) {
+			conflicts.incrementAndGet();
+			// the replay reads the data of the latest version and thus all sequenced transactions must be flushed first
+			final PublishedCatalog published = awaitPublishingOf(this.lastTicket);
+			// all sequenced transactions are finished, the published version is the latest one
+			this.publishingFailed = false;
+			predecessorTicket = published == null ? 0L : published.getTicket();
+			rebasedCollections = replay.apply(published == null ? baseCatalog : published.getCatalog());
+		}
+		final CommitTicket ticket = new CommitTicket(
+			++this.lastTicket, predecessorTicket, baseCatalog.getNextTransactionId(), rebasedCollections
+		);
+		this.sequencedCollections = rebasedCollections;
+		this.sequencedCollectionsTicket = ticket.getTicket();
+		return ticket;
+	}
+
+	/**
+	 * Waits for its turn in the commit order and creates, flushes and publishes the new catalog version using
+	 * `publisher`.
+	 */
+	@Nonnull
+	private Catalog publish(@Nonnull Catalog baseCatalog, @Nonnull CommitTicket ticket, @Nonnull CatalogPublisher publisher) {
+		// the wait must not be interrupted - the successors wait for this ticket to finish
+		publishingLock.lock();
+		try {
+			while (this.finishedTicket != ticket.getTicket() - 1) {
+				publishingFinished.awaitUninterruptibly();
+			}
+			final PublishedCatalog published = this.publishedCatalog;
+			final long publishedTicket = published == null ? 0L : published.getTicket();
+			if (publishedTicket != ticket.getPredecessorTicket()) {
+				failed.incrementAndGet();
+				throw new RollbackException(
+					"Transaction was sequenced after transaction that failed to commit, transaction is rolled back!"
+				);
+			}
+			try {
+				final Catalog newCatalog = publisher.publish(
+					published == null ? baseCatalog : published.getCatalog(),
+					ticket.getTransactionId(),
+					ticket.getCollections()
+				);
+				this.publishedCatalog = new PublishedCatalog(ticket.getTicket(), newCatalog);
+				committed.incrementAndGet();
+				return newCatalog;
+			} catch (RuntimeException ex) {
+				this.publishingFailed = true;
+				failed.incrementAndGet();
+				throw ex;
+			}
+		} finally {
+			this.finishedTicket = ticket.getTicket();
+			publishingFinished.signalAll();
+			publishingLock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until the transaction with passed ticket leaves the publishing stage and returns the latest published
+	 * catalog version.
+	 */
+	@Nullable
+	private PublishedCatalog awaitPublishingOf(long ticket) {
+		publishingLock.lock();
+		try {
+			while (this.finishedTicket != ticket) {
+				publishingFinished.awaitUninterruptibly();
+			}
+			return this.publishedCatalog;
+		} finally {
+			publishingLock.unlock();
+		}
+	}
+
+	/**
+	 * Rebases changes made by transaction on top of the `latestCollections`. Collections not touched by
+	 * the transaction are taken from the latest version, collections touched by the transaction and not touched
+	 * by any other transaction are taken from the merged version. Returns NULL when the same collection was modified
+	 * by the transaction and by another transaction in the meantime.
+	 */
+	@Nullable
+	private static Map<Serializable, EntityCollection> rebase(
+		@Nonnull Map<Serializable, EntityCollection> baseCollections,
+		@Nonnull Map<Serializable, EntityCollection> mergedCollections,
+		@Nonnull Map<Serializable, EntityCollection> latestCollections
+	) {
+		if (latestCollections == baseCollections) {
+			return mergedCollections;
+		}
+		final Set<Serializable> entityTypes = new HashSet<>(latestCollections.keySet());
+		entityTypes.addAll(baseCollections.keySet());
+		entityTypes.addAll(mergedCollections.keySet());
+
+		final Map<Serializable, EntityCollection> result = new HashMap<>(entityTypes.size());
+		for (Serializable entityType : entityTypes) {
+			final EntityCollection base = baseCollections.get(entityType);
+			final EntityCollection merged = mergedCollections.get(entityType);
+			final EntityCollection current = latestCollections.get(entityType);
+			final EntityCollection chosen;
+			if (merged == base) {
+				// transaction didn't touch the collection - take the latest state
+				chosen = current;
+			} else if (current == base) {
+				// nobody else touched the collection in the meantime - take our state
+				chosen = merged;
+			} else {
+				return null;
+			}
+			if (chosen != null) {
+				result.put(entityType, chosen);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Adds duration to the total sum and updates the maximum.
+	 */
+	private static void recordDuration(@Nonnull AtomicLong total, @Nonnull AtomicLong max, long duration) {
+		total.addAndGet(duration);
+		max.accumulateAndGet(duration, Math::max);
+	}
+
+	/**
+	 * Publisher creates new catalog version from the rebased collections, flushes it to the disk and publishes it.
+	 */
+	@FunctionalInterface
+	interface CatalogPublisher {
+
+		/**
+		 * Creates, flushes and publishes new catalog version.
+		 *
+		 * @param latestCatalog      latest published catalog version
+		 * @param transactionId      id assigned to the committed transaction
+		 * @param rebasedCollections collections of the new catalog version
+		 * @return new catalog version
+		 */
+		@Nonnull
+		Catalog publish(@Nonnull Catalog latestCatalog, long transactionId, @Nonnull Map<Serializable, EntityCollection> rebasedCollections);
+
+	}
+
+	/**
+	 * Place of the transaction in the commit order assigned by the sequencing stage.
+	 */
+	@Data
+	private static class CommitTicket {
+		/**
+		 * Order of the transaction in the pipeline.
+		 */
+		private final long ticket;
+		/**
+		 * Ticket of the transaction that produced the catalog version this transaction was rebased on.
+		 */
+		private final long predecessorTicket;
+		/**
+		 * Id assigned to the transaction.
+		 */
+		private final long transactionId;
+		/**
+		 * Rebased collections of the new catalog version.
+		 */
+		private final Map<Serializable, EntityCollection> collections;
+
+	}
+
+	/**
+	 * Catalog version published by the transaction with particular ticket.
+	 */
+	@Data
+	private static class PublishedCatalog {
+		private final long ticket;
+		private final Catalog catalog;
+
+	}
+
+	/**
+	 * DTO containing statistics of the {@link CatalogCommitPipeline}. All durations are in nanoseconds.
+	 */
+	@Data
+	public static class CommitStatistics {
+		/**
+		 * Count of successfully committed transactions.
+		 */
+		private final long committed;
+		/**
+		 * Count of transactions that modified the same entity collection as another transaction committed
+		 * in the meantime and had to be replayed on top of the latest catalog version.
+		 */
+		private final long conflicts;
+		/**
+		 * Count of transactions that failed to commit for any reason.
+		 */
+		private final long failed;
+		/**
+		 * Estimated count of transactions currently waiting for the sequencing stage.
+		 */
+		private final int queueLength;
+		/**
+		 * Sum of times the transactions waited in the queue.
+		 */
+		private final long totalWaitNanos;
+		/**
+		 * Longest time single transaction waited in the queue.
+		 */
+		private final long maxWaitNanos;
+		/**
+		 * Sum of times spent in sequencing and publishing stage.
+		 */
+		private final long totalCommitNanos;
+		/**
+		 * Longest time single transaction spent in sequencing and publishing stage.
+		 */
+		private final long maxCommitNanos;
+
+	}
+
+}
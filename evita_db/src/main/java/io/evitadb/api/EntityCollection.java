@@ -26,29 +26,39 @@ import io.evitadb.api.configuration.StorageOptions;
 import io.evitadb.api.data.Droppable;
 import io.evitadb.api.data.SealedEntity;
 import io.evitadb.api.data.mutation.EntityMutation;
+import io.evitadb.api.data.mutation.EntityMutation.EntityExistence;
 import io.evitadb.api.data.mutation.LocalMutation;
 import io.evitadb.api.data.structure.*;
 import io.evitadb.api.dataType.DataChunk;
 import io.evitadb.api.exception.ConcurrentSchemaUpdateException;
 import io.evitadb.api.exception.InvalidMutationException;
+import io.evitadb.api.exception.InvalidSchemaMutationException;
 import io.evitadb.api.exception.SchemaAlteringException;
 import io.evitadb.api.io.EvitaRequest;
 import io.evitadb.api.io.EvitaResponseBase;
 import io.evitadb.api.io.predicate.*;
 import io.evitadb.api.mutation.ContainerizedLocalMutationExecutor;
 import io.evitadb.api.mutation.EntityIndexLocalMutationExecutor;
+import io.evitadb.api.mutation.HierarchyRollUpIndexMutator;
+import io.evitadb.api.mutation.HierarchyRollUpMaintainer;
+import io.evitadb.api.mutation.ReindexingEntityStorageContainerAccessor;
 import io.evitadb.api.mutation.StorageContainerBuffer;
 import io.evitadb.api.query.Query;
 import io.evitadb.api.schema.EntitySchema;
 import io.evitadb.api.schema.EvolutionMode;
+import io.evitadb.api.schema.ReferenceSchema;
+import io.evitadb.api.utils.ArrayUtils;
 import io.evitadb.api.utils.Assert;
 import io.evitadb.cache.CacheSupervisor;
+import io.evitadb.cache.StoragePartCache;
 import io.evitadb.index.*;
+import io.evitadb.index.footprint.IndexFootprintCollector;
 import io.evitadb.index.map.TransactionalMemoryMap;
 import io.evitadb.index.price.PriceRefIndex;
 import io.evitadb.index.price.PriceSuperIndex;
 import io.evitadb.index.transactionalMemory.TransactionalLayerMaintainer;
 import io.evitadb.index.transactionalMemory.TransactionalLayerProducer;
+import io.evitadb.index.transactionalMemory.TransactionalMemory;
 import io.evitadb.index.transactionalMemory.TransactionalObjectVersion;
 import io.evitadb.query.QueryExecutor;
 import io.evitadb.query.QueryPlan;
@@ -79,16 +89,23 @@ import java.io.Serializable;
 import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static io.evitadb.api.query.QueryConstraints.*;
+import static io.evitadb.api.utils.CollectionUtils.createHashMap;
 import static java.util.Optional.ofNullable;
 
 /**
@@ -106,6 +123,10 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 	 * EntityIndex factory implementation.
 	 */
 	protected final EntityIndexMaintainer entityIndexCreator = new EntityIndexMaintainerImpl();
+	/**
+	 * Hierarchy roll-up maintainer implementation.
+	 */
+	private final HierarchyRollUpMaintainer hierarchyRollUpMaintainer = new HierarchyRollUpMaintainerImpl();
 	@Getter private final long id = TransactionalObjectVersion.SEQUENCE.nextId();
 	/**
 	 * This field contains reference to the CURRENT {@link Catalog} instance allowing to access {@link EntityCollection}
@@ -154,6 +175,11 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 	 * memoized result.
 	 */
 	private final CacheSupervisor cacheSupervisor;
+	/**
+	 * Storage part cache keeps deserialized entity storage parts read from the {@link #memTable}. It's shared among
+	 * all entity collections of the catalog.
+	 */
+	private final StoragePartCache storagePartCache;
 	/**
 	 * Contains current version of the catalog entity header which gets updated on flush.
 	 */
@@ -173,10 +199,12 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 		@Nonnull ObservableOutputKeeper observableOutputKeeper,
 		@Nonnull IOService ioService,
 		@Nonnull CacheSupervisor cacheSupervisor,
+		@Nonnull StoragePartCache storagePartCache,
 		boolean supportsTransactions
 	) {
 		this.ioService = ioService;
 		this.cacheSupervisor = cacheSupervisor;
+		this.storagePartCache = storagePartCache;
 		this.pkSequence = SequenceService.getOrCreateSequence(
 			catalogHeader.getCatalogName(), SequenceType.ENTITY, entityHeader.getEntityType(), entityHeader.getLastPrimaryKey()
 		);
@@ -196,14 +224,14 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 			this.ioService.getPathForEntityType(storageDirectory, entityHeader.getEntityType()),
 			new MemTableDescriptor(
 				entityHeader,
-				this.ioService.createTypeKryoInstance(this::getSchema),
+				this.ioService.createTypeKryoInstance(this::getSchema, storageOptions),
 				supportsTransactions
 			),
 			storageOptions,
 			observableOutputKeeper
 		);
 		// initialize container buffer
-		this.storageContainerBuffer = new StorageContainerBuffer(this, this.memTable, this.ioService);
+		this.storageContainerBuffer = new StorageContainerBuffer(this, this.memTable, this.ioService, this.storagePartCache);
 		// initialize schema - still in constructor
 		this.schema.set(entitySchema);
 		// store newly created schema
@@ -221,10 +249,12 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 		@Nonnull ObservableOutputKeeper observableOutputKeeper,
 		@Nonnull IOService ioService,
 		@Nonnull CacheSupervisor cacheSupervisor,
+		@Nonnull StoragePartCache storagePartCache,
 		boolean supportsTransactions
 	) {
 		this.ioService = ioService;
 		this.cacheSupervisor = cacheSupervisor;
+		this.storagePartCache = storagePartCache;
 		this.pkSequence = SequenceService.getOrCreateSequence(
 			catalogHeader.getCatalogName(), SequenceType.ENTITY, entityHeader.getEntityType(), entityHeader.getLastPrimaryKey()
 		);
@@ -240,14 +270,14 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 			this.ioService.getPathForEntityType(storageDirectory, entityHeader.getEntityType()),
 			new MemTableDescriptor(
 				entityHeader,
-				this.ioService.createTypeKryoInstance(this::getSchema),
+				this.ioService.createTypeKryoInstance(this::getSchema, storageOptions),
 				supportsTransactions
 			),
 			storageOptions,
 			observableOutputKeeper
 		);
 		// initialize container buffer
-		this.storageContainerBuffer = new StorageContainerBuffer(this, this.memTable, this.ioService);
+		this.storageContainerBuffer = new StorageContainerBuffer(this, this.memTable, this.ioService, this.storagePartCache);
 		// initialize schema - still in constructor
 		this.schema.set(
 			ofNullable(memTable.get(1, EntitySchemaContainer.class))
@@ -282,7 +312,8 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 		@Nonnull AtomicInteger indexPkSequence,
 		@Nonnull IOService ioService,
 		@Nonnull Map<EntityIndexKey, EntityIndex> indexes,
-		@Nonnull CacheSupervisor cacheSupervisor
+		@Nonnull CacheSupervisor cacheSupervisor,
+		@Nonnull StoragePartCache storagePartCache
 	) {
 		super(entitySchema);
 		this.memTable = memTable;
@@ -291,7 +322,8 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 		this.pkSequence = pkSequence;
 		this.ioService = ioService;
 		this.indexPkSequence = indexPkSequence;
-		this.storageContainerBuffer = new StorageContainerBuffer(this, memTable, ioService);
+		this.storagePartCache = storagePartCache;
+		this.storageContainerBuffer = new StorageContainerBuffer(this, memTable, ioService, storagePartCache);
 		this.indexes = new TransactionalMemoryMap<>(indexes);
 		for (EntityIndex entityIndex : this.indexes.values()) {
 			entityIndex.updateReferencesTo(this);
@@ -322,19 +354,7 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 					getSchema(),
 					storageContainerBuffer
 				);
-				if (internalEntity == null) {
-					return null;
-				} else {
-					return Entity.decorate(
-						internalEntity,
-						getSchema(),
-						new HierarchicalContractSerializablePredicate(),
-						new AttributeValueSerializablePredicate(evitaRequest),
-						new AssociatedDataValueSerializablePredicate(evitaRequest),
-						new ReferenceContractSerializablePredicate(evitaRequest),
-						new PriceContractSerializablePredicate(evitaRequest)
-					);
-				}
+				return internalEntity == null ? null : decorateEntity(internalEntity, evitaRequest);
 			},
 			theEntity -> enrichEntity(theEntity, evitaRequest),
 			theEntity -> limitEntity(theEntity, evitaRequest)
@@ -345,6 +365,41 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 			.orElse(null);
 	}
 
+	@Nonnull
+	@Override
+	public List<SealedEntity> getEntities(@Nonnull int[] primaryKeys, @Nonnull EvitaRequest evitaRequest) {
+		// retrieve current versions of all entities, those missing in cache are read from the storage at once
+		final SealedEntity[] entities = cacheSupervisor.analyse(
+			new EvitaSession(catalogAccessor.get()),
+			primaryKeys,
+			getSchema().getName(),
+			evitaRequest.getRequiredContents(),
+			missingPrimaryKeys -> {
+				final Entity[] internalEntities = ioService.readEntities(
+					missingPrimaryKeys,
+					evitaRequest,
+					getSchema(),
+					storageContainerBuffer
+				);
+				final SealedEntity[] decoratedEntities = new SealedEntity[internalEntities.length];
+				for (int i = 0; i < internalEntities.length; i++) {
+					decoratedEntities[i] = internalEntities[i] == null ? null : decorateEntity(internalEntities[i], evitaRequest);
+				}
+				return decoratedEntities;
+			},
+			theEntity -> enrichEntity(theEntity, evitaRequest),
+			theEntity -> limitEntity(theEntity, evitaRequest)
+		);
+
+		final List<SealedEntity> result = new ArrayList<>(entities.length);
+		for (SealedEntity entity : entities) {
+			if (entity != null && entity.exists()) {
+				result.add(entity);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Method returns entity with limited scope of data visibility that matches the passed `evitaRequest`. This method
 	 * is particularly useful for implementation of cache when the cache might contain fully loaded entities while
@@ -450,12 +505,8 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 			entityMutation.expects(),
 			this::getSchema
 		);
-		final EntityIndexLocalMutationExecutor entityIndexUpdater = new EntityIndexLocalMutationExecutor(
-			changeCollector,
-			entityMutation.getEntityPrimaryKey(),
-			this.entityIndexCreator,
-			this::getSchema,
-			entityType -> this.catalogAccessor.get().getCollectionForEntityOrThrowException(entityType).getSchema()
+		final EntityIndexLocalMutationExecutor entityIndexUpdater = createEntityIndexUpdater(
+			changeCollector, entityMutation.getEntityPrimaryKey()
 		);
 
 		EntitySerializationContext.executeWithSupplier(
@@ -466,12 +517,30 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 		changeCollector.getChangedEntityStorageParts()
 			.forEach(this.storageContainerBuffer::update);
 
+		Transaction.recordReplayableOperation(
+			catalog -> catalog.getOrCreateCollectionForEntity(entityMutation.getEntityType()).upsertEntity(entityMutation)
+		);
 		return new EntityReference(
 			entityMutation.getEntityType(),
 			entityMutation.getEntityPrimaryKey()
 		);
 	}
 
+	/**
+	 * When there is no transaction opened (i.e. catalog is in warm-up state), the mutations are applied within
+	 * {@link IndexBulkUpdateContext} so that the index data structures may postpone the maintenance of their presorted
+	 * arrays to the end of the bulk, where they're built in single pass and in parallel for all indexes at once.
+	 */
+	@Nonnull
+	@Override
+	public List<EntityReference> upsertEntities(@Nonnull Collection<? extends EntityMutation> entityMutations) throws InvalidMutationException {
+		if (TransactionalMemory.isTransactionalMemoryAvailable()) {
+			return super.upsertEntities(entityMutations);
+		} else {
+			return IndexBulkUpdateContext.executeInBulk(() -> super.upsertEntities(entityMutations));
+		}
+	}
+
 	@Override
 	public boolean deleteEntity(int primaryKey) {
 		// fetch entire entity from the data store
@@ -488,6 +557,11 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 		}
 
 		internalDeleteEntity(entityToRemove);
+		final Serializable entityType = getSchema().getName();
+		Transaction.recordReplayableOperation(
+			catalog -> ofNullable(catalog.getCollectionForEntity(entityType))
+				.ifPresent(it -> it.deleteEntity(primaryKey))
+		);
 		return true;
 	}
 
@@ -512,6 +586,11 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 			for (SealedEntity entityToRemove : entitiesToRemove.getRecordData()) {
 				internalDeleteEntity(entityToRemove);
 			}
+			final Serializable entityType = getSchema().getName();
+			Transaction.recordReplayableOperation(
+				catalog -> ofNullable(catalog.getCollectionForEntity(entityType))
+					.ifPresent(it -> it.deleteEntityAndItsHierarchy(primaryKey))
+			);
 			return entitiesToRemove.getTotalRecordCount();
 		}
 		return 0;
@@ -545,16 +624,77 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 	@Override
 	@Nonnull
 	EntitySchema updateSchema(@Nonnull EntitySchema newSchema) throws SchemaAlteringException {
+		final EntitySchema currentSchema = getSchema();
+		if (newSchema != currentSchema && !isEmpty()) {
+			assertReducedIndexScopeUnchanged(currentSchema, newSchema);
+		}
 		final EntitySchema updatedSchema = super.updateSchema(newSchema);
-		this.storageContainerBuffer.update(new EntitySchemaContainer(updatedSchema));
+		if (updatedSchema != currentSchema) {
+			this.storageContainerBuffer.update(new EntitySchemaContainer(updatedSchema));
+			ofNullable(this.catalogAccessor.get()).ifPresent(Catalog::schemaChanged);
+			rebuildHierarchyRollUpsOfChangedReferences(currentSchema, updatedSchema);
+			// schema is not isolated among the versions of the collection (see #25) - when the replay finds the schema
+			// of the same or newer version, the change has already been applied
+			Transaction.recordReplayableOperation(
+				catalog -> {
+					final EntityCollection collection = catalog.getOrCreateCollectionForEntity(updatedSchema.getName());
+					if (collection.getSchema().getVersion() < updatedSchema.getVersion()) {
+						collection.updateSchema(updatedSchema);
+					}
+				}
+			);
+		}
 		return updatedSchema;
 	}
 
+	/**
+	 * Rebuilds roll-up indexes of all references whose {@link ReferenceSchema#getHierarchyRollUpLevels()} differ
+	 * between `formerSchema` and `currentSchema`.
+	 */
+	private void rebuildHierarchyRollUpsOfChangedReferences(@Nonnull EntitySchema formerSchema, @Nonnull EntitySchema currentSchema) {
+		final Set<Serializable> referencedEntityTypes = new HashSet<>(formerSchema.getReferences().keySet());
+		referencedEntityTypes.addAll(currentSchema.getReferences().keySet());
+		for (Serializable referencedEntityType : referencedEntityTypes) {
+			final ReferenceSchema formerReference = ofNullable(formerSchema.getReference(referencedEntityType))
+				.filter(ReferenceSchema::isIndexed)
+				.orElse(null);
+			final ReferenceSchema currentReference = ofNullable(currentSchema.getReference(referencedEntityType))
+				.filter(ReferenceSchema::isIndexed)
+				.orElse(null);
+			final int[] formerLevels = formerReference == null ? HierarchyRollUpIndexMutator.NO_NODES : formerReference.getHierarchyRollUpLevels();
+			final int[] currentLevels = currentReference == null ? HierarchyRollUpIndexMutator.NO_NODES : currentReference.getHierarchyRollUpLevels();
+			if (!Arrays.equals(formerLevels, currentLevels)) {
+				rebuildHierarchyRollUps(referencedEntityType, formerReference, currentReference);
+			}
+		}
+	}
+
+	/**
+	 * Verifies that `newSchema` doesn't change the scope of the reduced indexes of any existing reference. Reduced indexes
+	 * of the existing entities are not rebuilt, so widening the scope would make the query planner use indexes that
+	 * lack the data and narrowing it would leave stale entries behind.
+	 *
+	 * @throws InvalidSchemaMutationException when scope of the existing reference changes
+	 */
+	private static void assertReducedIndexScopeUnchanged(@Nonnull EntitySchema currentSchema, @Nonnull EntitySchema newSchema) throws InvalidSchemaMutationException {
+		for (ReferenceSchema currentReference : currentSchema.getReferences().values()) {
+			final ReferenceSchema newReference = newSchema.getReference(currentReference.getEntityType());
+			if (newReference != null && !currentReference.hasSameReducedIndexScope(newReference)) {
+				throw new InvalidSchemaMutationException(
+					"Scope of the reduced indexes of reference " + currentReference.getEntityType() + " of entity " +
+						currentSchema.getName() + " cannot be changed when the collection already contains entities!"
+				);
+			}
+		}
+	}
+
 	@Nonnull
 	public <S extends Serializable, T extends EvitaResponseBase<S>> T getEntities(@Nonnull EvitaRequest evitaRequest, @Nonnull EvitaSession session) {
 		final QueryTelemetry telemetry = new QueryTelemetry(QueryPhase.OVERALL);
 		final QueryPlan queryPlan = createQueryPlan(evitaRequest, telemetry, session);
-		return queryPlan.execute();
+		final T result = queryPlan.execute();
+		session.recordQuery(evitaRequest, telemetry);
+		return result;
 	}
 
 	/**
@@ -571,12 +711,16 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 	 * returns updated {@link CatalogEntityHeader}.
 	 */
 	public CatalogEntityHeader flush(long transactionId, List<EntityCollectionUpdateInstruction> storageParts) {
+		final Serializable entityType = getName();
 		for (final EntityCollectionUpdateInstruction instruction : storageParts) {
 			if (instruction.isRemoval()) {
 				final PersistedStoragePartKey removalKey = instruction.getRemovalKey();
 				memTable.remove(removalKey.getPrimaryKey(), removalKey.getContainerClass());
+				storagePartCache.invalidate(entityType, removalKey.getPrimaryKey(), removalKey.getContainerClass());
 			} else {
-				memTable.put(transactionId, instruction.getStoragePart());
+				final StoragePart storagePart = instruction.getStoragePart();
+				final long partId = memTable.put(transactionId, storagePart);
+				storagePartCache.invalidate(entityType, partId, storagePart.getClass());
 			}
 		}
 		final long previousMemTableVersion = memTable.getVersion();
@@ -643,6 +787,49 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 		return catalogEntityHeader;
 	}
 
+	/**
+	 * Writes compact image of the last flushed state of this collection to the `targetDirectory` (see
+	 * {@link MemTable#writeImage(Path, MemTableDescriptor, Comparator, long)}) and returns the header of the collection
+	 * pointing to the MemTable in the image file. Changes that haven't been flushed yet are not part of the image.
+	 */
+	@Nonnull
+	public CatalogEntityHeader writeImage(@Nonnull Path targetDirectory, long transactionId) {
+		final CatalogEntityHeader header = this.catalogEntityHeader;
+		final MemTableDescriptor imageDescriptor = this.memTable.writeImage(
+			this.ioService.getPathForEntityType(targetDirectory, header.getEntityType()),
+			new MemTableDescriptor(
+				new CatalogEntityHeader(
+					header.getEntityType(),
+					header.getVersion(),
+					header.getRecordCount(),
+					header.getLastPrimaryKey(),
+					header.getLastEntityIndexPrimaryKey(),
+					null,
+					header.getIdToKeyIndex(),
+					header.getRegisteredClasses(),
+					header.getGlobalEntityIndexId(),
+					header.getUsedEntityIndexIds()
+				),
+				this.ioService.createTypeKryoInstance(this::getSchema, this.memTable.getOptions()),
+				false
+			),
+			IOService.IMAGE_RECORD_ORDER,
+			transactionId
+		);
+		return new CatalogEntityHeader(
+			header.getEntityType(),
+			header.getVersion(),
+			header.getRecordCount(),
+			header.getLastPrimaryKey(),
+			header.getLastEntityIndexPrimaryKey(),
+			imageDescriptor.getFileLocation(),
+			imageDescriptor.getCompressedKeys(),
+			imageDescriptor.getRegisteredClassIds(),
+			header.getGlobalEntityIndexId(),
+			header.getUsedEntityIndexIds()
+		);
+	}
+
 	/**
 	 * Method terminates this instance of the {@link EntityCollection} and marks this instance as unusable to
 	 * any following invocations. In bulk mode ({@link CatalogState#WARMING_UP}) the {@link #flush()} method should
@@ -664,6 +851,17 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 		return this.storageContainerBuffer.getIndexIfExists(entityIndexKey, this.indexes::get);
 	}
 
+	/**
+	 * Registers estimated memory footprint of all entity indexes of this collection to the passed collector.
+	 * Only the committed state of the indexes is taken into account.
+	 */
+	public void collectFootprint(@Nonnull IndexFootprintCollector collector) {
+		final Serializable entityType = getName();
+		for (EntityIndex entityIndex : this.indexes.values()) {
+			entityIndex.collectFootprint(entityType, collector);
+		}
+	}
+
 	/**
 	 * Returns iterator that allows to iterate through all entities in the store.
 	 */
@@ -685,7 +883,7 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 			final Collection<StoragePart> updatedParts = transactionalChanges.getModifiedStoragePartsToPersist();
 			transaction.registerForPersistence(entityName, updatedParts);
 
-			final Collection<PersistedStoragePartKey> removedPartKeys = transactionalChanges.getRemovedStoragePartsToPersist();
+			final Collection<PersistedStoragePartKey> removedPartKeys = transactionalChanges.getRemovedStoragePartsToPersist(this.memTable.getReadOnlyKeyCompressor());
 			transaction.registerForRemoval(entityName, removedPartKeys);
 
 			// when we register all storage parts for persisting we can now release transactional memory
@@ -699,7 +897,8 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 				this.indexPkSequence,
 				this.ioService,
 				transactionalLayer.getStateCopyWithCommittedChanges(this.indexes, transaction),
-				cacheSupervisor
+				cacheSupervisor,
+				storagePartCache
 			);
 		} else {
 			// no changes present we can return self
@@ -796,6 +995,23 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 		PRIVATE METHODS
 	 */
 
+	/**
+	 * Wraps internal entity loaded from the storage into the {@link EntityDecorator} that limits visibility of its data
+	 * to the scope of the `evitaRequest`.
+	 */
+	@Nonnull
+	private SealedEntity decorateEntity(@Nonnull Entity internalEntity, @Nonnull EvitaRequest evitaRequest) {
+		return Entity.decorate(
+			internalEntity,
+			getSchema(),
+			new HierarchicalContractSerializablePredicate(),
+			new AttributeValueSerializablePredicate(evitaRequest),
+			new AssociatedDataValueSerializablePredicate(evitaRequest),
+			new ReferenceContractSerializablePredicate(evitaRequest),
+			new PriceContractSerializablePredicate(evitaRequest)
+		);
+	}
+
 	/**
 	 * This method replaces references in current instance that needs to work with information outside this entity
 	 * collection. When transaction is committed new catalog instance is created after entity collection instances are
@@ -830,6 +1046,8 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 	 * {@link EntityIndex#getEntityIndexKey()}.
 	 */
 	private TransactionalMemoryMap<EntityIndexKey, EntityIndex> loadIndexes(@Nonnull CatalogEntityHeader entityHeader) {
+		// read all index records using large sequential reads first so that they're decoded from the OS page cache
+		this.memTable.prefetch(IOService::isIndexRecordType);
 		// we need to load global index first, this is the only one index containing all data
 		final GlobalEntityIndex globalIndex = (GlobalEntityIndex) this.ioService.readEntityIndex(
 			entityHeader.getGlobalEntityIndexId(), memTable, this::getSchema,
@@ -838,30 +1056,72 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 			},
 			this::getPriceSuperIndex
 		);
-		return new TransactionalMemoryMap<>(
-			// now join global index with all other reduced indexes into single key-value index
-			Stream.concat(
-					Stream.of(globalIndex),
-					entityHeader.getUsedEntityIndexIds()
-						.stream()
-						.map(eid ->
-							this.ioService.readEntityIndex(
-								eid, memTable, this::getSchema,
-								// this method is used just for `readEntityIndex` method to access global index until
-								// it's available by `this::getPriceSuperIndex` (constructor must be finished first)
-								globalIndex::getPriceIndex,
-								// this method needs to be used from now on to access the super index
-								this::getPriceSuperIndex
-							)
-						)
-				)
-				.collect(
-					Collectors.toMap(
-						EntityIndex::getEntityIndexKey,
-						Function.identity()
-					)
-				)
+		// reduced indexes don't depend on each other and are decoded in parallel, but each decoding thread holds one
+		// read handle of the MemTable and the count of the threads must not exceed the limit of opened handles
+		final List<Integer> reducedIndexIds = entityHeader.getUsedEntityIndexIds();
+		final int slices = Math.max(
+			1,
+			Math.min(
+				reducedIndexIds.size(),
+				Math.min(this.memTable.getOptions().getMaxOpenedReadHandles(), Runtime.getRuntime().availableProcessors())
+			)
 		);
+		final Map<EntityIndexKey, EntityIndex> loadedIndexes = createHashMap(reducedIndexIds.size() + 1);
+		loadedIndexes.put(globalIndex.getEntityIndexKey(), globalIndex);
+		final IntFunction<List<EntityIndex>> sliceLoader = slice -> {
+			final List<EntityIndex> sliceIndexes = new ArrayList<>(reducedIndexIds.size() / slices + 1);
+			for (int i = slice; i < reducedIndexIds.size(); i += slices) {
+				sliceIndexes.add(
+					this.ioService.readEntityIndex(
+						reducedIndexIds.get(i), memTable, this::getSchema,
+						// this method is used just for `readEntityIndex` method to access global index until
+						// it's available by `this::getPriceSuperIndex` (constructor must be finished first)
+						globalIndex::getPriceIndex,
+						// this method needs to be used from now on to access the super index
+						this::getPriceSuperIndex
+					)
+				);
+			}
+			return sliceIndexes;
+		};
+		if (slices == 1) {
+			sliceLoader.apply(0).forEach(it -> loadedIndexes.put(it.getEntityIndexKey(), it));
+		} else {
+			// dedicated pool bounded by the slice count so that the shared common pool is neither used nor exhausted
+			final ExecutorService indexLoader = Executors.newFixedThreadPool(slices);
+			try {
+				final List<Future<List<EntityIndex>>> slicedIndexes = new ArrayList<>(slices);
+				for (int i = 0; i < slices; i++) {
+					final int slice = i;
+					slicedIndexes.add(indexLoader.submit(() -> sliceLoader.apply(slice)));
+				}
+				for (Future<List<EntityIndex>> sliceIndexes : slicedIndexes) {
+					getLoadedSlice(sliceIndexes).forEach(it -> loadedIndexes.put(it.getEntityIndexKey(), it));
+				}
+			} finally {
+				indexLoader.shutdownNow();
+			}
+		}
+		// now join global index with all other reduced indexes into single key-value index
+		return new TransactionalMemoryMap<>(loadedIndexes);
+	}
+
+	/**
+	 * Waits for the slice of the reduced indexes loaded in parallel and propagates the failure of its loading.
+	 */
+	@Nonnull
+	private static List<EntityIndex> getLoadedSlice(@Nonnull Future<List<EntityIndex>> sliceIndexes) {
+		try {
+			return sliceIndexes.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while loading entity indexes!", ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			throw new IllegalStateException("Failed to load entity indexes!", ex.getCause());
+		}
 	}
 
 	/**
@@ -924,12 +1184,8 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 			entityMutation.expects(),
 			this::getSchema
 		);
-		final EntityIndexLocalMutationExecutor entityIndexUpdater = new EntityIndexLocalMutationExecutor(
-			changeCollector,
-			entityMutation.getEntityPrimaryKey(),
-			this.entityIndexCreator,
-			this::getSchema,
-			entityType -> this.catalogAccessor.get().getCollectionForEntityOrThrowException(entityType).getSchema()
+		final EntityIndexLocalMutationExecutor entityIndexUpdater = createEntityIndexUpdater(
+			changeCollector, entityMutation.getEntityPrimaryKey()
 		);
 
 		// apply mutations leading to clearing storage containers
@@ -965,6 +1221,150 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 		entityIndexUpdater.removeEntity(entityToRemove.getPrimaryKey());
 	}
 
+	/**
+	 * Creates executor that applies the mutations of the entity with passed primary key to the indexes.
+	 */
+	@Nonnull
+	private EntityIndexLocalMutationExecutor createEntityIndexUpdater(@Nonnull ContainerizedLocalMutationExecutor changeCollector, int entityPrimaryKey) {
+		return new EntityIndexLocalMutationExecutor(
+			changeCollector,
+			entityPrimaryKey,
+			this.entityIndexCreator,
+			this::getSchema,
+			entityType -> this.catalogAccessor.get().getCollectionForEntityOrThrowException(entityType).getSchema(),
+			this.hierarchyRollUpMaintainer
+		);
+	}
+
+	/**
+	 * Method updates {@link HierarchyRollUpEntityIndex} indexes of this collection after placement of the nodes of
+	 * the hierarchical `referencedEntityType` has changed. The map `formerNodePaths` contains paths from the root valid
+	 * before the change for all the nodes that might have been affected. Entities referencing the node are removed from
+	 * the roll-up indexes of the nodes the node no longer rolls up to and are added to the roll-up indexes of the nodes
+	 * it newly rolls up to.
+	 */
+	void updateHierarchyRollUps(
+		@Nonnull Serializable referencedEntityType,
+		@Nonnull EntityIndex hierarchyIndex,
+		@Nonnull Map<Integer, Integer[]> formerNodePaths
+	) {
+		final ReferenceSchema referenceSchema = getSchema().getReference(referencedEntityType);
+		if (referenceSchema == null || !referenceSchema.isIndexed() || !referenceSchema.hasHierarchyRollUpLevels()) {
+			return;
+		}
+		final EntityIndexLocalMutationExecutor entityIndexUpdater = createReindexingEntityIndexUpdater();
+		EntitySerializationContext.executeWithOtherSchema(
+			getSchema(),
+			() -> {
+				for (Entry<Integer, Integer[]> entry : formerNodePaths.entrySet()) {
+					final int nodeId = entry.getKey();
+					final int[] formerRollUpNodes = HierarchyRollUpIndexMutator.getRollUpNodes(referenceSchema, entry.getValue());
+					final int[] currentRollUpNodes = HierarchyRollUpIndexMutator.getRollUpNodes(
+						referenceSchema, hierarchyIndex.listHierarchyNodesFromRootToTheNodeIncludingSelfIfReachable(nodeId)
+					);
+					for (int formerRollUpNode : formerRollUpNodes) {
+						if (!ArrayUtils.contains(currentRollUpNodes, formerRollUpNode)) {
+							HierarchyRollUpIndexMutator.removeNodeEntitiesFromRollUp(
+								entityIndexUpdater, referencedEntityType, formerRollUpNode, nodeId
+							);
+						}
+					}
+					for (int currentRollUpNode : currentRollUpNodes) {
+						if (!ArrayUtils.contains(formerRollUpNodes, currentRollUpNode)) {
+							HierarchyRollUpIndexMutator.addNodeEntitiesToRollUp(
+								entityIndexUpdater, referencedEntityType, currentRollUpNode, nodeId,
+								getReferencedHierarchyNodeEntityIds(referencedEntityType, nodeId)
+							);
+						}
+					}
+				}
+			}
+		);
+	}
+
+	/**
+	 * Method rebuilds {@link HierarchyRollUpEntityIndex} indexes of this collection after the roll-up levels of
+	 * the reference to `referencedEntityType` have changed from `formerReference` to `currentReference` (any of them
+	 * may be NULL when the reference didn't exist or doesn't exist any more). Roll-up indexes of the nodes that no
+	 * longer roll up are dropped and roll-up indexes of the newly rolled up nodes are filled with the data of all
+	 * the existing entities referencing their sub-trees.
+	 */
+	private void rebuildHierarchyRollUps(
+		@Nonnull Serializable referencedEntityType,
+		@Nullable ReferenceSchema formerReference,
+		@Nullable ReferenceSchema currentReference
+	) {
+		final EntityIndex hierarchyIndex = this.hierarchyRollUpMaintainer.getGlobalIndex(referencedEntityType);
+		// drop roll-up indexes of the nodes that are not placed on the roll-up levels anymore
+		for (EntityIndexKey indexKey : new ArrayList<>(this.indexes.keySet())) {
+			if (indexKey.getType() == EntityIndexType.REFERENCED_HIERARCHY_ROLL_UP &&
+				referencedEntityType.equals(((EntityReference) indexKey.getDiscriminator()).getType())) {
+				final int rollUpNode = ((EntityReference) indexKey.getDiscriminator()).getPrimaryKey();
+				final int[] rollUpNodes = currentReference == null || hierarchyIndex == null ?
+					HierarchyRollUpIndexMutator.NO_NODES :
+					HierarchyRollUpIndexMutator.getRollUpNodes(
+						currentReference, hierarchyIndex.listHierarchyNodesFromRootToTheNodeIncludingSelfIfReachable(rollUpNode)
+					);
+				if (!ArrayUtils.contains(rollUpNodes, rollUpNode)) {
+					this.entityIndexCreator.removeIndex(indexKey);
+				}
+			}
+		}
+		if (currentReference == null || hierarchyIndex == null) {
+			return;
+		}
+		// backfill roll-up indexes of the nodes placed on the newly added roll-up levels
+		final EntityIndexLocalMutationExecutor entityIndexUpdater = createReindexingEntityIndexUpdater();
+		EntitySerializationContext.executeWithOtherSchema(
+			getSchema(),
+			() -> {
+				for (EntityIndexKey indexKey : new ArrayList<>(this.indexes.keySet())) {
+					if (indexKey.getType() == EntityIndexType.REFERENCED_HIERARCHY_NODE &&
+						referencedEntityType.equals(((EntityReference) indexKey.getDiscriminator()).getType())) {
+						final int nodeId = ((EntityReference) indexKey.getDiscriminator()).getPrimaryKey();
+						final Integer[] nodePath = hierarchyIndex.listHierarchyNodesFromRootToTheNodeIncludingSelfIfReachable(nodeId);
+						final int[] formerRollUpNodes = formerReference == null ?
+							HierarchyRollUpIndexMutator.NO_NODES : HierarchyRollUpIndexMutator.getRollUpNodes(formerReference, nodePath);
+						for (int rollUpNode : HierarchyRollUpIndexMutator.getRollUpNodes(currentReference, nodePath)) {
+							if (!ArrayUtils.contains(formerRollUpNodes, rollUpNode)) {
+								HierarchyRollUpIndexMutator.addNodeEntitiesToRollUp(
+									entityIndexUpdater, referencedEntityType, rollUpNode, nodeId,
+									getReferencedHierarchyNodeEntityIds(referencedEntityType, nodeId)
+								);
+							}
+						}
+					}
+				}
+			}
+		);
+	}
+
+	/**
+	 * Returns primary keys of all entities of this collection referencing hierarchy node `nodeId`.
+	 */
+	@Nonnull
+	private int[] getReferencedHierarchyNodeEntityIds(@Nonnull Serializable referencedEntityType, int nodeId) {
+		final EntityIndex nodeIndex = getIndexByKeyIfExists(
+			new EntityIndexKey(EntityIndexType.REFERENCED_HIERARCHY_NODE, new EntityReference(referencedEntityType, nodeId))
+		);
+		return nodeIndex == null ? HierarchyRollUpIndexMutator.NO_NODES : nodeIndex.getAllPrimaryKeys().getArray();
+	}
+
+	/**
+	 * Creates executor that is not bound to any particular entity and allows re-indexing data of multiple existing
+	 * entities of this collection.
+	 */
+	@Nonnull
+	private EntityIndexLocalMutationExecutor createReindexingEntityIndexUpdater() {
+		return new EntityIndexLocalMutationExecutor(
+			new ReindexingEntityStorageContainerAccessor(this.storageContainerBuffer, this::getSchema),
+			this.entityIndexCreator,
+			this::getSchema,
+			entityType -> this.catalogAccessor.get().getCollectionForEntityOrThrowException(entityType).getSchema(),
+			this.hierarchyRollUpMaintainer
+		);
+	}
+
 	/**
 	 * This implementation just manipulates with the set of EntityIndex in entity collection.
 	 */
@@ -992,6 +1392,13 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 									globalIndex instanceof GlobalEntityIndex,
 									() -> new IllegalStateException("When reduced index is created global one must already exist!")
 								);
+								if (eikAgain.getType() == EntityIndexType.REFERENCED_HIERARCHY_ROLL_UP) {
+									return new HierarchyRollUpEntityIndex(
+										indexPkSequence.incrementAndGet(), eikAgain,
+										EntityCollection.this::getSchema,
+										((GlobalEntityIndex) globalIndex)::getPriceIndex
+									);
+								}
 								return new ReducedEntityIndex(
 									indexPkSequence.incrementAndGet(), eikAgain,
 									EntityCollection.this::getSchema,
@@ -1030,4 +1437,55 @@ public class EntityCollection extends EntityCollectionBase<EvitaRequest> impleme
 		}
 
 	}
+
+	/**
+	 * This implementation provides access to the hierarchies of the other entity collections of the catalog and
+	 * propagates changes in the hierarchy of this collection to the collections that roll it up.
+	 */
+	private class HierarchyRollUpMaintainerImpl implements HierarchyRollUpMaintainer {
+
+		@Nullable
+		@Override
+		public EntityIndex getGlobalIndex(@Nonnull Serializable entityType) {
+			final EntityCollection collection;
+			if (entityType.equals(getSchema().getName())) {
+				collection = EntityCollection.this;
+			} else {
+				final Catalog catalog = EntityCollection.this.catalogAccessor.get();
+				collection = catalog == null ? null : catalog.getCollectionForEntity(entityType);
+			}
+			return collection == null ? null : collection.getIndexByKeyIfExists(new EntityIndexKey(EntityIndexType.GLOBAL));
+		}
+
+		@Override
+		public boolean isHierarchyRolledUp() {
+			final EntitySchema schema = getSchema();
+			final Catalog catalog = EntityCollection.this.catalogAccessor.get();
+			if (catalog == null) {
+				final ReferenceSchema selfReference = schema.getReference(schema.getName());
+				return selfReference != null && selfReference.isIndexed() && selfReference.hasHierarchyRollUpLevels();
+			} else {
+				return catalog.isHierarchyRolledUp(schema.getName());
+			}
+		}
+
+		@Override
+		public void hierarchyPlacementChanged(@Nonnull Map<Integer, Integer[]> formerNodePaths) {
+			final Serializable entityType = getSchema().getName();
+			final EntityIndex globalIndex = getIndexByKeyIfExists(new EntityIndexKey(EntityIndexType.GLOBAL));
+			Assert.notNull(globalIndex, "Global index of `" + entityType + "` must exist when hierarchy changes!");
+			getCatalogCollections()
+				.forEach(it -> it.updateHierarchyRollUps(entityType, globalIndex, formerNodePaths));
+		}
+
+		/**
+		 * Returns all collections of the catalog this collection is part of.
+		 */
+		@Nonnull
+		private Stream<EntityCollection> getCatalogCollections() {
+			final Catalog catalog = EntityCollection.this.catalogAccessor.get();
+			return catalog == null ? Stream.of(EntityCollection.this) : catalog.entityCollections.values().stream();
+		}
+
+	}
 }
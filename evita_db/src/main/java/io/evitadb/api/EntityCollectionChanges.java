@@ -112,12 +112,18 @@ public class EntityCollectionChanges {
 			.collect(Collectors.toList());
 	}
 
-	public Collection<PersistedStoragePartKey> getRemovedStoragePartsToPersist() {
-		return pendingStorageParts
-			.entrySet()
-			.stream()
-			.filter(it -> it.getValue() instanceof RemovedStoragePart)
-			.map(Entry::getKey)
+	public Collection<PersistedStoragePartKey> getRemovedStoragePartsToPersist(@Nonnull KeyCompressor keyCompressor) {
+		return Stream.concat(
+				pendingStorageParts
+					.entrySet()
+					.stream()
+					.filter(it -> it.getValue() instanceof RemovedStoragePart)
+					.map(Entry::getKey),
+				dirtyEntityIndexes
+					.values()
+					.stream()
+					.flatMap(it -> it.getRemovedStorageParts(keyCompressor).stream())
+			)
 			.collect(Collectors.toList());
 	}
 
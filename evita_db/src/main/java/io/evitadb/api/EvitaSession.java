@@ -31,11 +31,19 @@ import io.evitadb.api.io.EvitaResponseBase;
 import io.evitadb.api.query.Query;
 import io.evitadb.api.query.require.EntityContentRequire;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.cache.dto.CacheStatistics;
 import io.evitadb.index.GlobalEntityIndex;
+import io.evitadb.index.footprint.IndexFootprint;
+import io.evitadb.index.transactionalMemory.TransactionalMemory;
+import io.evitadb.query.recording.QueryRecorder;
+import io.evitadb.query.response.QueryTelemetry;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import static io.evitadb.api.query.QueryConstraints.entities;
@@ -110,6 +118,20 @@ public class EvitaSession extends EvitaSessionBase<EvitaRequest, EvitaCatalogCon
 		return this.updatedCatalogCallback == null;
 	}
 
+	/**
+	 * Returns transactional memory of the transaction opened in this session in current thread. Read-only sessions
+	 * never open transactions and for them the method returns NULL without any lookup.
+	 */
+	@Nullable
+	public TransactionalMemory getTransactionalMemory() {
+		if (isReadOnly()) {
+			return null;
+		}
+		return ofNullable(getOpenedTransaction())
+			.map(Transaction::getTransactionalMemory)
+			.orElse(null);
+	}
+
 	/**
 	 * Returns the last {@link Catalog#getLastCommittedTransactionId() transaction id} that has been fully committed
 	 * to the catalog.
@@ -118,6 +140,48 @@ public class EvitaSession extends EvitaSessionBase<EvitaRequest, EvitaCatalogCon
 		return catalog.getLastCommittedTransactionId();
 	}
 
+	/**
+	 * Returns statistics of the commit pipeline of the catalog this session is bound to.
+	 */
+	@Nonnull
+	public CatalogCommitPipeline.CommitStatistics getCommitStatistics() {
+		return catalog.getCommitStatistics();
+	}
+
+	/**
+	 * Returns statistics of the cache of the catalog this session is bound to.
+	 */
+	@Nonnull
+	public CacheStatistics getCacheStatistics() {
+		return catalog.getCacheStatistics();
+	}
+
+	/**
+	 * Returns statistics of the storage part cache of the catalog this session is bound to for each cached storage
+	 * part type.
+	 */
+	@Nonnull
+	public Map<Class<?>, CacheStatistics> getStoragePartCacheStatistics() {
+		return catalog.getStoragePartCacheStatistics();
+	}
+
+	/**
+	 * Returns estimated memory footprint of the indexes of the catalog this session is bound to.
+	 * See {@link Catalog#getIndexFootprint()}.
+	 */
+	@Nonnull
+	public List<IndexFootprint> getIndexFootprint() {
+		return catalog.getIndexFootprint();
+	}
+
+	/**
+	 * Passes the executed query along with its telemetry to the {@link QueryRecorder} of the catalog. The recorder
+	 * does nothing unless the query recording is enabled in the catalog configuration.
+	 */
+	void recordQuery(@Nonnull EvitaRequest evitaRequest, @Nonnull QueryTelemetry telemetry) {
+		catalog.recordQuery(getId(), evitaRequest.getQuery(), telemetry);
+	}
+
 	/**
 	 * Method returns entity with additionally loaded data specified by requirements in second argument. This method
 	 * is particularly useful for implementation of lazy loading when application loads only parts of the entity it
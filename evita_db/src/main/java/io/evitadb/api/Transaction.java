@@ -24,22 +24,22 @@ package io.evitadb.api;
 
 import io.evitadb.api.exception.RollbackException;
 import io.evitadb.index.transactionalMemory.TransactionalLayerConsumer;
+import io.evitadb.index.transactionalMemory.TransactionalLayerCreator;
 import io.evitadb.index.transactionalMemory.TransactionalLayerMaintainer;
 import io.evitadb.index.transactionalMemory.TransactionalMemory;
 import io.evitadb.storage.model.storageParts.EntityCollectionUpdateInstruction;
 import io.evitadb.storage.model.storageParts.PersistedStoragePartKey;
 import io.evitadb.storage.model.storageParts.StoragePart;
 import lombok.Getter;
-import lombok.extern.log4j.Log4j2;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.Serializable;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 
+import static java.util.Optional.ofNullable;
+
 /**
  * Transaction represents internal object that allows to track all information necessary to keep writes in isolation
  * and finally commits them to the shared data storage or throw them away in case of rollback.
@@ -52,48 +52,63 @@ import java.util.function.Consumer;
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2021
  */
 @NotThreadSafe
-@Log4j2
 public class Transaction extends TransactionBase {
-	private static final ReentrantLock LOCK = new ReentrantLock(true);
-	public static final String ERROR_MESSAGE_TIMEOUT = "Failed to commit transaction within timeout!";
 	/**
-	 * Contains unique transactional id that gets incremented with each transaction opened in the catalog. Latest
+	 * Key of the transactional layer that collects {@link #recordReplayableOperation(Consumer) replayable operations}
+	 * of the transaction bound to the current thread.
+	 */
+	private static final ReplayableOperationLog REPLAYABLE_OPERATION_LOG = new ReplayableOperationLog();
+	/**
+	 * Contains unique transactional id that gets incremented with each transaction committed in the catalog. Latest
 	 * committed transaction id gets printed into the {@link io.evitadb.storage.model.CatalogHeader} and is restored
-	 * when catalog is loaded. Transaction ids are sequential and transaction with higher id is guaranteed to be
-	 * committed later than the transaction with lower id.
-	 *
-	 * TOBEDONE JNO - this should be changed - there should be another id that is connected with the commit phase and
-	 * should be assigned when transaction is accepted and ordered for the commit
+	 * when catalog is loaded. The id is assigned when the transaction is accepted and ordered for the commit by
+	 * {@link CatalogCommitPipeline} - transaction ids are sequential and transaction with higher id is guaranteed to be
+	 * committed later than the transaction with lower id. Until then the id is zero.
 	 */
-	@Getter private final long id;
+	@Getter private long id;
 	/**
 	 * List of {@link StoragePart} items that got modified in transaction and needs to be persisted.
 	 */
 	private final Map<Serializable, List<EntityCollectionUpdateInstruction>> updateInstructions = new HashMap<>();
+	/**
+	 * Contains transactional memory opened for this transaction. The memory may be propagated to other threads that
+	 * need to see the same snapshot of the data - see {@link TransactionalMemory#executeWithin(TransactionalMemory, java.util.function.Supplier)}.
+	 */
+	@Getter private final TransactionalMemory transactionalMemory;
+	/**
+	 * Contains entity collections of the catalog version this transaction was opened on. They're used for detecting
+	 * changes committed by other transactions in the meantime - see {@link CatalogCommitPipeline}.
+	 */
+	private final Map<Serializable, EntityCollection> baseCollections;
 
 	public Transaction(@Nonnull Catalog currentCatalog, @Nonnull Consumer<Catalog> updatedCatalogCallback, @Nonnull Runnable beforeClose) {
-		this.id = currentCatalog.getNextTransactionId();
-		TransactionalMemory.open();
+		this.baseCollections = new HashMap<>(currentCatalog.entityCollections);
+		this.transactionalMemory = TransactionalMemory.open();
 		TransactionalMemory.addTransactionCommitHandler(transactionalLayer -> {
 			final List<? extends TransactionalLayerConsumer> layerConsumers = transactionalLayer.getLayerConsumers();
-			if (!layerConsumers.isEmpty()) {
-				try {
-					if (LOCK.tryLock(5, TimeUnit.SECONDS)) {
-						onCommit(currentCatalog, updatedCatalogCallback, transactionalLayer);
-					} else {
-						log.error(ERROR_MESSAGE_TIMEOUT);
-						throw new RollbackException(ERROR_MESSAGE_TIMEOUT);
-					}
-				} catch (InterruptedException e) {
-					log.error(ERROR_MESSAGE_TIMEOUT);
-					Thread.currentThread().interrupt();
-					throw new RollbackException(ERROR_MESSAGE_TIMEOUT);
+			try {
+				if (!layerConsumers.isEmpty()) {
+					onCommit(currentCatalog, updatedCatalogCallback, transactionalLayer);
 				}
+			} finally {
+				beforeClose.run();
 			}
-			beforeClose.run();
 		});
 	}
 
+	/**
+	 * Records logical write operation executed on the catalog in the transaction bound to the current thread. When
+	 * the transaction modifies the same entity collection as another transaction committed in the meantime, its
+	 * changes can't be combined with the latest catalog version and the recorded operations are executed once again
+	 * on top of it. Operations executed outside the transaction are not recorded.
+	 */
+	public static void recordReplayableOperation(@Nonnull Consumer<Catalog> operation) {
+		final List<Consumer<Catalog>> operationLog = TransactionalMemory.getTransactionalMemoryLayer(REPLAYABLE_OPERATION_LOG);
+		if (operationLog != null) {
+			operationLog.add(operation);
+		}
+	}
+
 	/**
 	 * Registers an object that got modified in this transaction and needs persisting into the memory tables.
 	 */
@@ -126,37 +141,100 @@ public class Transaction extends TransactionBase {
 	}
 
 	/**
-	 * Method is executed when commit is executed.
+	 * Method is executed when commit is executed. Transactional changes are merged into new copies of the touched
+	 * collections first - this doesn't require any synchronization since only the state of this transaction and
+	 * immutable state of the base catalog are read. The merged collections are then handed over to
+	 * the {@link CatalogCommitPipeline} that orders the commits of the catalog, assigns the transaction id and
+	 * publishes the new catalog version.
 	 */
 	private void onCommit(@Nonnull Catalog currentCatalog, @Nonnull Consumer<Catalog> updatedCatalogCallback, @Nonnull TransactionalLayerMaintainer transactionalLayer) {
 		try {
+			final List<Consumer<Catalog>> operationLog = ofNullable(transactionalLayer.removeTransactionalMemoryLayerIfExists(REPLAYABLE_OPERATION_LOG))
+				.orElse(Collections.emptyList());
 			// init new catalog with the same collections as previous one
 			final Map<Serializable, EntityCollection> entityIndexCopy = transactionalLayer.getStateCopyWithCommittedChanges(
 				currentCatalog.entityCollections, this
 			);
-			final Catalog newCatalog = new Catalog(
-				currentCatalog.getConfiguration(),
-				currentCatalog.getCatalogState(),
-				currentCatalog.ioService,
-				currentCatalog.cacheSupervisor,
-				currentCatalog.observableOutputKeeper,
-				currentCatalog.readWriteSessionCount,
-				currentCatalog.txPkSequence,
-				id,
-				entityIndexCopy
+			currentCatalog.commitPipeline.commit(
+				currentCatalog, baseCollections, entityIndexCopy,
+				latestCatalog -> replay(latestCatalog, operationLog),
+				(latestCatalog, transactionId, rebasedCollections) -> {
+					this.id = transactionId;
+					final Catalog newCatalog = new Catalog(
+						latestCatalog.getConfiguration(),
+						latestCatalog.getCatalogState(),
+						latestCatalog.ioService,
+						latestCatalog.cacheSupervisor,
+						latestCatalog.queryRecorder,
+						latestCatalog.storagePartCache,
+						latestCatalog.observableOutputKeeper,
+						latestCatalog.readWriteSessionCount,
+						latestCatalog.txPkSequence,
+						latestCatalog.commitPipeline,
+						latestCatalog.schemaGeneration,
+						transactionId,
+						rebasedCollections
+					);
+					// we need to switch references working with catalog (inter index relations) to new catalog
+					// the collections are not yet used anywhere - we're still safe here
+					rebasedCollections.values().forEach(it -> it.updateReferenceToCatalog(newCatalog));
+					// now let's flush the catalog on the disk
+					newCatalog.flush(transactionId, updateInstructions);
+					// and replace reference to catalog in an atomic way
+					updatedCatalogCallback.accept(newCatalog);
+					return newCatalog;
+				}
 			);
-			// we need to switch references working with catalog (inter index relations) to new catalog
-			// the collections are not yet used anywhere - we're still safe here
-			entityIndexCopy.values().forEach(it -> it.updateReferenceToCatalog(newCatalog));
-			// now let's flush the catalog on the disk
-			newCatalog.flush(id, updateInstructions);
-			// and replace reference to catalog in an atomic way
-			updatedCatalogCallback.accept(newCatalog);
+		} catch (RollbackException ex) {
+			throw ex;
 		} catch (Throwable throwable) {
 			throw new RollbackException("Unexpected exception while committing!", throwable);
+		}
+	}
+
+	/**
+	 * Executes recorded operations of this transaction once again on top of the `latestCatalog` in new transactional
+	 * memory and returns the collections with merged changes. Storage parts registered by the original merge are
+	 * replaced by the storage parts registered by the replay.
+	 */
+	@Nonnull
+	private Map<Serializable, EntityCollection> replay(@Nonnull Catalog latestCatalog, @Nonnull List<Consumer<Catalog>> operationLog) {
+		this.updateInstructions.clear();
+		TransactionalMemory.open();
+		try {
+			for (Consumer<Catalog> operation : operationLog) {
+				operation.accept(latestCatalog);
+			}
+			return TransactionalMemory.getTransactionalMemoryLayer()
+				.getStateCopyWithCommittedChanges(latestCatalog.entityCollections, this);
+		} catch (RuntimeException ex) {
+			throw new RollbackException(
+				"Transaction modified the same entity collection as another transaction committed in the meantime " +
+					"and its changes could not be replayed on top of it, transaction is rolled back!",
+				ex
+			);
 		} finally {
-			LOCK.unlock();
+			TransactionalMemory.rollback();
+		}
+	}
+
+	/**
+	 * Transactional layer creator that maintains the list of {@link #recordReplayableOperation(Consumer) replayable
+	 * operations} of the transaction. There is only single instance - the list lives in the transactional memory
+	 * of each transaction.
+	 */
+	private static class ReplayableOperationLog implements TransactionalLayerCreator<List<Consumer<Catalog>>> {
+
+		@Override
+		public long getId() {
+			return 1L;
+		}
+
+		@Override
+		public List<Consumer<Catalog>> createLayer() {
+			return new ArrayList<>();
 		}
+
 	}
 
 }
@@ -25,6 +25,7 @@ package io.evitadb.api.configuration;
 import io.evitadb.api.data.ReflectionCachingBehaviour;
 import io.evitadb.cache.CacheAnteroom;
 import io.evitadb.cache.CacheEden;
+import io.evitadb.cache.StoragePartCache;
 import io.evitadb.query.algebra.Formula;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -88,4 +89,15 @@ public class CacheOptions {
 	 */
 	private float cacheSizeAsPercentageOfFreeMemory;
 
+	/*
+		THESE SETTINGS ARE INDEPENDENT OF THE FORMULA CACHE
+	 */
+
+	/**
+	 * Contains memory limit in Bytes for the {@link StoragePartCache} that keeps deserialized entity storage parts
+	 * read from the disk. The limit is compared to the serialized size of the parts, so the real heap consumption
+	 * is several times higher. Zero value disables the cache.
+	 */
+	private long storagePartCacheSizeInBytes;
+
 }
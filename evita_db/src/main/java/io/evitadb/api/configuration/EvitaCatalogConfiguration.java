@@ -56,6 +56,10 @@ public class EvitaCatalogConfiguration implements CatalogConfiguration {
 	 * This field contains all options related to underlying key-value store.
 	 */
 	private StorageOptions storageOptions;
+	/**
+	 * This field contains all options related to recording of the executed queries.
+	 */
+	private QueryRecordingOptions queryRecordingOptions = new QueryRecordingOptions();
 
 	public EvitaCatalogConfiguration(@Nonnull String name, @Nonnull Path storageDirectory, @Nonnull StorageOptions storageOptions, @Nonnull CacheOptions cacheOptions) {
 		this.name = name;
@@ -0,0 +1,67 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.api.configuration;
+
+import io.evitadb.query.recording.QueryRecorder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+
+/**
+ * This class is simple DTO object holding all options related to recording of the executed queries. Recorded queries
+ * may be replayed later on against another version of the engine to compare its performance on real traffic.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class QueryRecordingOptions {
+	/**
+	 * Enables recording of all queries executed against the catalog. Recording is disabled by default.
+	 */
+	private boolean enabled;
+	/**
+	 * Directory where the recorded query files are stored. When NULL, the `{catalogName}_queries` sub-folder of
+	 * the catalog storage directory is used.
+	 */
+	private Path recordingDirectory;
+	/**
+	 * Maximal size of the single recording file in Bytes. When the file exceeds this size, new file is started.
+	 */
+	private long maxFileSizeInBytes = 104_857_600L;
+	/**
+	 * Maximal number of recording files kept on the disk. The oldest files are removed when this limit is exceeded.
+	 */
+	private int maxFileCount = 10;
+	/**
+	 * Capacity of the in-memory queue the queries wait in until they're written to the disk by the background thread.
+	 * When the queue is full, the recorded query is dropped so that the {@link QueryRecorder} never slows down
+	 * the query processing.
+	 */
+	private int queueCapacity = 65_536;
+
+}
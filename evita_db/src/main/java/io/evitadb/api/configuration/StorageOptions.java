@@ -69,6 +69,18 @@ public class StorageOptions {
 	 * MemTable starts empty - but it starts and doesn't kill the process.
 	 */
 	@Getter private final boolean bootEmptyOnError;
+	/**
+	 * If set to true bitmaps of the indexes are kept in their serialized form after the MemTable is read and they're
+	 * materialized to the on-heap mutable form only when they're first written to or used in the query computation.
+	 * This speeds up the catalog loading and lowers the heap footprint of rarely used index parts.
+	 */
+	@Getter private final boolean deferredBitmapDeserialization;
+	/**
+	 * If set to true values of the associated data are kept in their serialized form after they're read from
+	 * the MemTable and they're deserialized only when the value is accessed for the first time. This speeds up
+	 * fetching entities with large associated data that are only partially used or just passed to the transport layer.
+	 */
+	@Getter private final boolean lazyAssociatedDataDeserialization;
 
 	/**
 	 * Recommended settings constructor.
@@ -81,5 +93,7 @@ public class StorageOptions {
 		this.maxOpenedReadHandles = maxOpenedReadHandles;
 		this.bootEmpty = false;
 		this.bootEmptyOnError = false;
+		this.deferredBitmapDeserialization = false;
+		this.lazyAssociatedDataDeserialization = false;
 	}
 }
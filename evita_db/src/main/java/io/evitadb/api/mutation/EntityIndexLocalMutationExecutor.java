@@ -60,8 +60,11 @@ import lombok.RequiredArgsConstructor;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.*;
 
@@ -70,6 +73,8 @@ import static io.evitadb.api.mutation.AssociatedDataIndexMutator.executeAssociat
 import static io.evitadb.api.mutation.AttributeIndexMutator.*;
 import static io.evitadb.api.mutation.HierarchyPlacementMutator.removeHierarchyPlacement;
 import static io.evitadb.api.mutation.HierarchyPlacementMutator.setHierarchyPlacement;
+import static io.evitadb.api.mutation.HierarchyRollUpIndexMutator.rollUpReferenceInsert;
+import static io.evitadb.api.mutation.HierarchyRollUpIndexMutator.rollUpReferenceRemoval;
 import static io.evitadb.api.mutation.ReferenceIndexMutator.*;
 import static io.evitadb.api.utils.Assert.isTrue;
 
@@ -86,6 +91,7 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 	private final EntityIndexMaintainer indexCreatingAccessor;
 	private final Supplier<EntitySchema> schemaAccessor;
 	private final Function<Serializable, EntitySchema> otherEntitiesSchemaAccessor;
+	@Nullable private final HierarchyRollUpMaintainer hierarchyRollUpMaintainer;
 
 	public EntityIndexLocalMutationExecutor(
 		@Nonnull WritableEntityStorageContainerAccessor containerAccessor,
@@ -93,12 +99,24 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 		@Nonnull EntityIndexMaintainer indexCreatingAccessor,
 		@Nonnull Supplier<EntitySchema> schemaAccessor,
 		@Nonnull Function<Serializable, EntitySchema> otherEntitiesSchemaAccessor
+	) {
+		this(containerAccessor, entityPrimaryKey, indexCreatingAccessor, schemaAccessor, otherEntitiesSchemaAccessor, null);
+	}
+
+	public EntityIndexLocalMutationExecutor(
+		@Nonnull WritableEntityStorageContainerAccessor containerAccessor,
+		int entityPrimaryKey,
+		@Nonnull EntityIndexMaintainer indexCreatingAccessor,
+		@Nonnull Supplier<EntitySchema> schemaAccessor,
+		@Nonnull Function<Serializable, EntitySchema> otherEntitiesSchemaAccessor,
+		@Nullable HierarchyRollUpMaintainer hierarchyRollUpMaintainer
 	) {
 		this.containerAccessor = containerAccessor;
 		this.entityPrimaryKey.add(anyType -> entityPrimaryKey);
 		this.indexCreatingAccessor = indexCreatingAccessor;
 		this.schemaAccessor = schemaAccessor;
 		this.otherEntitiesSchemaAccessor = otherEntitiesSchemaAccessor;
+		this.hierarchyRollUpMaintainer = hierarchyRollUpMaintainer;
 	}
 
 	/**
@@ -143,14 +161,20 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 		} else if (affectsProperty.equals(PriceContract.class)) {
 			final PriceMutation priceMutation = (PriceMutation) localMutation;
 			final Consumer<EntityIndex> priceUpdateApplicator = theIndex -> updatePriceIndex(priceMutation, theIndex);
+			// reduced indexes may be configured not to contain the prices at all
+			final Consumer<EntityIndex> reducedPriceUpdateApplicator = theIndex -> {
+				if (arePricesReplicated(this, theIndex)) {
+					priceUpdateApplicator.accept(theIndex);
+				}
+			};
 			if (priceMutation instanceof RemovePriceMutation) {
 				// removal must first occur on the reduced indexes, because they consult the super index
-				executeWithReferenceIndexes(this, priceUpdateApplicator);
+				executeWithReferenceIndexes(this, reducedPriceUpdateApplicator);
 				priceUpdateApplicator.accept(index);
 			} else {
 				// upsert must first occur on super index, because reduced indexed rely on information in super index
 				priceUpdateApplicator.accept(index);
-				executeWithReferenceIndexes(this, priceUpdateApplicator);
+				executeWithReferenceIndexes(this, reducedPriceUpdateApplicator);
 			}
 		} else if (affectsProperty.equals(HierarchicalPlacementContract.class)) {
 			//noinspection unchecked
@@ -159,12 +183,14 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 			final ReferenceMutation<?> referenceMutation = (ReferenceMutation<?>) localMutation;
 			final ReferenceSchema referenceSchema = getEntitySchema().getReferenceOrThrowException(referenceMutation.getReferenceKey().getType());
 			if (referenceSchema.isIndexed()) {
-				updateReferences(referenceMutation, index);
+				final Set<EntityIndexKey> updatedRollUpIndexes = updateReferences(referenceMutation, index);
 				executeWithReferenceIndexes(
 					this,
 					referenceIndex -> updateReferencesInReferenceIndex(referenceMutation, referenceIndex),
 					// avoid indexing the referenced index that got updated by updateReferences method
-					referenceContract -> !referenceMutation.getReferenceKey().equals(referenceContract.getReferencedEntity())
+					referenceContract -> !referenceMutation.getReferenceKey().equals(referenceContract.getReferencedEntity()),
+					// avoid indexing the roll-up indexes the entity entered or left in updateReferences method
+					updatedRollUpIndexes
 				);
 			}
 		} else if (affectsProperty.equals(AttributeValue.class)) {
@@ -178,7 +204,17 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 				updateLanguage
 			);
 			attributeUpdateApplicator.accept(true, index);
-			executeWithReferenceIndexes(this, entityIndex -> attributeUpdateApplicator.accept(true, entityIndex), Droppable::exists);
+			final String attributeName = attributeMutation.getAttributeKey().getAttributeName();
+			executeWithReferenceIndexes(
+				this,
+				entityIndex -> {
+					// reduced indexes may be configured to contain only subset of the entity attributes
+					if (isAttributeReplicated(this, entityIndex, attributeName)) {
+						attributeUpdateApplicator.accept(true, entityIndex);
+					}
+				},
+				Droppable::exists
+			);
 		} else if (affectsProperty.equals(AssociatedDataValue.class)) {
 			final AssociatedDataMutation associatedDataMutation = (AssociatedDataMutation) localMutation;
 			updateAssociatedData(associatedDataMutation, index);
@@ -222,6 +258,15 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 		return otherEntitiesSchemaAccessor.apply(entityType);
 	}
 
+	/**
+	 * Returns global index maintaining the hierarchy of the entity collection of passed `entityType` or NULL if it's
+	 * not available.
+	 */
+	@Nullable
+	EntityIndex getReferencedHierarchyIndex(@Nonnull Serializable entityType) {
+		return hierarchyRollUpMaintainer == null ? null : hierarchyRollUpMaintainer.getGlobalIndex(entityType);
+	}
+
 	/**
 	 * Returns primary key that should be indexed by certain {@link IndexType}. Argument of index type is necessary
 	 * because for example for {@link EntityIndexType#REFERENCED_ENTITY_TYPE} we need to index referenced entity id for
@@ -304,9 +349,11 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 	/**
 	 * Method processes all mutations that target entity references - e.g. {@link ReferenceMutation}. This method
 	 * alters contents of the primary indexes - i.e. global index, reference type and referenced entity index for
-	 * the particular referenced entity.
+	 * the particular referenced entity. Method returns keys of the hierarchy roll-up indexes the entity entered or left
+	 * - these indexes were fully updated by this method.
 	 */
-	private void updateReferences(@Nonnull ReferenceMutation<?> referenceMutation, @Nonnull EntityIndex entityIndex) {
+	@Nonnull
+	private Set<EntityIndexKey> updateReferences(@Nonnull ReferenceMutation<?> referenceMutation, @Nonnull EntityIndex entityIndex) {
 		final EntityReferenceContract<?> referenceKey = referenceMutation.getReferenceKey();
 		final int theEntityPrimaryKey = getPrimaryKeyToIndex(IndexType.ENTITY_INDEX);
 
@@ -352,17 +399,21 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 			referenceInsert(
 				this, entityIndex, referenceTypeIndex, referenceIndex, createdReference
 			);
+			return new HashSet<>(rollUpReferenceInsert(this, createdReference));
 		} else if (referenceMutation instanceof RemoveReferenceMutation) {
 			final EntityIndexKey referencedTypeIndexKey = new EntityIndexKey(EntityIndexType.REFERENCED_ENTITY_TYPE, referenceKey.getType());
 			final EntityIndex referenceTypeIndex = getOrCreateIndex(referencedTypeIndexKey);
 			final EntityIndex referenceIndex = getReferencedEntityIndex(this, referenceKey);
+			final Set<EntityIndexKey> leftRollUpIndexes = rollUpReferenceRemoval(this, referenceKey);
 			referenceRemoval(
 				this, entityIndex, referenceTypeIndex, referenceIndex, referenceKey
 			);
+			return new HashSet<>(leftRollUpIndexes);
 		} else {
 			// SHOULD NOT EVER HAPPEN
 			throw new IllegalStateException("Unknown mutation: " + referenceMutation.getClass());
 		}
+		return new HashSet<>();
 	}
 
 	/**
@@ -376,7 +427,7 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 		final int theEntityPrimaryKey;
 		if (targetIndexType == EntityIndexType.REFERENCED_HIERARCHY_NODE) {
 			theEntityPrimaryKey = getPrimaryKeyToIndex(IndexType.HIERARCHY_INDEX);
-		} else if (targetIndexType == EntityIndexType.REFERENCED_ENTITY) {
+		} else if (targetIndexType == EntityIndexType.REFERENCED_ENTITY || targetIndexType == EntityIndexType.REFERENCED_HIERARCHY_ROLL_UP) {
 			theEntityPrimaryKey = getPrimaryKeyToIndex(IndexType.REFERENCE_INDEX);
 		} else {
 			throw new IllegalStateException("Unexpected type of index: " + targetIndexType);
@@ -458,8 +509,12 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 				}
 			};
 
-			// first remove data from reduced indexes
-			executeWithReferenceIndexes(this, pricesRemoval);
+			// first remove data from reduced indexes (those that contain prices)
+			executeWithReferenceIndexes(this, theIndex -> {
+				if (arePricesReplicated(this, theIndex)) {
+					pricesRemoval.accept(theIndex);
+				}
+			});
 
 			// now we can safely remove the data from super index
 			pricesRemoval.accept(index);
@@ -467,8 +522,12 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 			// next we need to add data to super index first
 			pricesInsertion.accept(index);
 
-			// and then we can add data to reduced indexes
-			executeWithReferenceIndexes(this, pricesInsertion);
+			// and then we can add data to reduced indexes (those that contain prices)
+			executeWithReferenceIndexes(this, theIndex -> {
+				if (arePricesReplicated(this, theIndex)) {
+					pricesInsertion.accept(theIndex);
+				}
+			});
 		}
 	}
 
@@ -505,23 +564,57 @@ public class EntityIndexLocalMutationExecutor implements LocalMutationExecutor {
 	 * and {@link RemoveHierarchicalPlacementMutation}.
 	 */
 	private void updateHierarchyPlacement(LocalMutation<HierarchicalPlacementContract, HierarchicalPlacementContract> hierarchyMutation, EntityIndex index) {
+		final int primaryKeyToIndex = getPrimaryKeyToIndex(IndexType.HIERARCHY_INDEX);
+		// when other collections roll up this hierarchy, we need to remember placement of the affected nodes
+		final Map<Integer, Integer[]> formerNodePaths;
+		if (hierarchyRollUpMaintainer != null && hierarchyRollUpMaintainer.isHierarchyRolledUp()) {
+			formerNodePaths = new HashMap<>();
+			collectReachableSubTreePaths(index, primaryKeyToIndex, formerNodePaths);
+		} else {
+			formerNodePaths = null;
+		}
+
 		if (hierarchyMutation instanceof SetHierarchicalPlacementMutation) {
 			final SetHierarchicalPlacementMutation setMutation = (SetHierarchicalPlacementMutation) hierarchyMutation;
 			setHierarchyPlacement(
 				this, index,
-				getPrimaryKeyToIndex(IndexType.HIERARCHY_INDEX),
+				primaryKeyToIndex,
 				setMutation.getParentPrimaryKey(),
 				setMutation.getOrderAmongSiblings()
 			);
 		} else if (hierarchyMutation instanceof RemoveHierarchicalPlacementMutation) {
 			removeHierarchyPlacement(
 				this, index,
-				getPrimaryKeyToIndex(IndexType.HIERARCHY_INDEX)
+				primaryKeyToIndex
 			);
 		} else {
 			// SHOULD NOT EVER HAPPEN
 			throw new IllegalStateException("Unknown mutation: " + hierarchyMutation.getClass());
 		}
+
+		if (formerNodePaths != null) {
+			// nodes that became reachable by the change were not reachable before
+			final Map<Integer, Integer[]> currentNodePaths = new HashMap<>();
+			collectReachableSubTreePaths(index, primaryKeyToIndex, currentNodePaths);
+			for (Integer nodeId : currentNodePaths.keySet()) {
+				if (!formerNodePaths.containsKey(nodeId)) {
+					formerNodePaths.put(nodeId, null);
+				}
+			}
+			hierarchyRollUpMaintainer.hierarchyPlacementChanged(formerNodePaths);
+		}
+	}
+
+	/**
+	 * Method collects paths from the root for the `node` and all its descendants providing the node is reachable from
+	 * the root of the hierarchy.
+	 */
+	private static void collectReachableSubTreePaths(@Nonnull EntityIndex index, int node, @Nonnull Map<Integer, Integer[]> nodePaths) {
+		if (index.listHierarchyNodesFromRootToTheNodeIncludingSelfIfReachable(node) != null) {
+			for (int subTreeNode : index.listHierarchyNodesFromParentIncludingItself(node).getArray()) {
+				nodePaths.put(subTreeNode, index.listHierarchyNodesFromRootToTheNodeIncludingSelfIfReachable(subTreeNode));
+			}
+		}
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,342 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.api.mutation;
+
+import io.evitadb.api.data.Droppable;
+import io.evitadb.api.data.EntityReferenceContract;
+import io.evitadb.api.data.ReferenceContract;
+import io.evitadb.api.data.structure.EntityReference;
+import io.evitadb.api.schema.ReferenceSchema;
+import io.evitadb.index.EntityIndex;
+import io.evitadb.index.EntityIndexKey;
+import io.evitadb.index.EntityIndexType;
+import io.evitadb.index.HierarchyRollUpEntityIndex;
+import io.evitadb.index.IndexType;
+import io.evitadb.index.array.CompositeIntArray;
+import io.evitadb.storage.model.storageParts.entity.ReferencesStoragePart;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static io.evitadb.api.mutation.ReferenceIndexMutator.addFacetToIndex;
+import static io.evitadb.api.mutation.ReferenceIndexMutator.indexAllExistingData;
+import static io.evitadb.api.mutation.ReferenceIndexMutator.isIndexed;
+import static io.evitadb.api.mutation.ReferenceIndexMutator.removeAllExistingData;
+
+/**
+ * This interface is used to co-locate hierarchy roll-up index mutating routines which are rather procedural and long
+ * to avoid excessive amount of code in {@link EntityIndexLocalMutationExecutor}.
+ *
+ * ## Hierarchy roll-up index
+ *
+ * When {@link ReferenceSchema#getHierarchyRollUpLevels()} are configured for the reference to the hierarchical entity,
+ * there is special {@link HierarchyRollUpEntityIndex} for each hierarchy node on those levels. The index contains
+ * the same data as {@link EntityIndexType#REFERENCED_HIERARCHY_NODE} index but for all entities referencing the node
+ * itself or any of its descendants. Queries targeting the upper levels of large hierarchies may then use single
+ * index instead of combining the indexes of all the nodes in the subtree.
+ *
+ * The entity is present in the roll-up index as long as it references at least single node of the subtree - index
+ * keeps track of the nodes the entity is aggregated through in {@link HierarchyRollUpEntityIndex#getNodeEntityIds(int)}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public interface HierarchyRollUpIndexMutator {
+
+	int[] NO_NODES = new int[0];
+
+	/**
+	 * Creates key of the {@link HierarchyRollUpEntityIndex} for the passed hierarchy node.
+	 */
+	@Nonnull
+	static EntityIndexKey createRollUpIndexKey(@Nonnull Serializable referencedEntityType, int rollUpNode) {
+		return new EntityIndexKey(EntityIndexType.REFERENCED_HIERARCHY_ROLL_UP, new EntityReference(referencedEntityType, rollUpNode));
+	}
+
+	/**
+	 * Returns primary keys of the nodes of the `nodePath` (path from the root to the node including the node itself)
+	 * that are placed on levels configured in {@link ReferenceSchema#getHierarchyRollUpLevels()}.
+	 */
+	@Nonnull
+	static int[] getRollUpNodes(@Nonnull ReferenceSchema referenceSchema, @Nullable Integer[] nodePath) {
+		if (nodePath == null || !referenceSchema.isIndexed() || !referenceSchema.hasHierarchyRollUpLevels()) {
+			return NO_NODES;
+		}
+		final CompositeIntArray rollUpNodes = new CompositeIntArray();
+		for (int i = 0; i < nodePath.length; i++) {
+			// roots are placed on the first level
+			if (referenceSchema.isHierarchyRollUpLevel(i + 1)) {
+				rollUpNodes.add(nodePath[i]);
+			}
+		}
+		return rollUpNodes.toArray();
+	}
+
+	/**
+	 * Returns primary keys of the nodes the `referencedEntity` rolls up to. The node itself is part of the result if
+	 * it's placed on the configured level. Empty array is returned when the reference doesn't roll up at all or when
+	 * the referenced node is not reachable from the root of the hierarchy.
+	 */
+	@Nonnull
+	static int[] getRollUpNodes(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull EntityReferenceContract<?> referencedEntity
+	) {
+		final ReferenceSchema referenceSchema = executor.getEntitySchema().getReferenceOrThrowException(referencedEntity.getType());
+		if (!referenceSchema.isIndexed() || !referenceSchema.hasHierarchyRollUpLevels()) {
+			return NO_NODES;
+		}
+		final EntityIndex hierarchyIndex = executor.getReferencedHierarchyIndex(referencedEntity.getType());
+		if (hierarchyIndex == null) {
+			return NO_NODES;
+		}
+		return getRollUpNodes(
+			referenceSchema,
+			hierarchyIndex.listHierarchyNodesFromRootToTheNodeIncludingSelfIfReachable(referencedEntity.getPrimaryKey())
+		);
+	}
+
+	/**
+	 * Method registers the entity in all roll-up indexes of the nodes the `createdReference` rolls up to. Method
+	 * returns keys of the roll-up indexes the entity has newly entered - these indexes got all the entity data indexed
+	 * by this method and must not be updated by the mutation once again.
+	 */
+	@Nonnull
+	static Set<EntityIndexKey> rollUpReferenceInsert(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull ReferenceContract createdReference
+	) {
+		final EntityReference referencedEntity = createdReference.getReferencedEntity();
+		final int[] rollUpNodes = getRollUpNodes(executor, referencedEntity);
+		if (rollUpNodes.length == 0) {
+			return Collections.emptySet();
+		}
+		final int entityPrimaryKey = executor.getPrimaryKeyToIndex(IndexType.REFERENCE_INDEX);
+		final Set<EntityIndexKey> enteredIndexes = new HashSet<>(rollUpNodes.length);
+		for (int rollUpNode : rollUpNodes) {
+			final EntityIndexKey rollUpIndexKey = createRollUpIndexKey(referencedEntity.getType(), rollUpNode);
+			final HierarchyRollUpEntityIndex rollUpIndex = (HierarchyRollUpEntityIndex) executor.getOrCreateIndex(rollUpIndexKey);
+			if (addEntityToRollUp(executor, rollUpIndex, referencedEntity.getPrimaryKey(), entityPrimaryKey, createdReference)) {
+				enteredIndexes.add(rollUpIndexKey);
+			}
+		}
+		return enteredIndexes;
+	}
+
+	/**
+	 * Method unregisters the entity from all roll-up indexes of the nodes the removed `referenceKey` rolls up to.
+	 * Method returns keys of the roll-up indexes the entity has left - all the entity data were removed from these
+	 * indexes by this method and they must not be updated by the mutation once again.
+	 */
+	@Nonnull
+	static Set<EntityIndexKey> rollUpReferenceRemoval(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull EntityReferenceContract<?> referenceKey
+	) {
+		final int[] rollUpNodes = getRollUpNodes(executor, referenceKey);
+		if (rollUpNodes.length == 0) {
+			return Collections.emptySet();
+		}
+		final int entityPrimaryKey = executor.getPrimaryKeyToIndex(IndexType.ENTITY_INDEX);
+		final Set<EntityIndexKey> leftIndexes = new HashSet<>(rollUpNodes.length);
+		int[] remainingNodes = null;
+		for (int rollUpNode : rollUpNodes) {
+			final EntityIndexKey rollUpIndexKey = createRollUpIndexKey(referenceKey.getType(), rollUpNode);
+			if (executor.getIndexIfExists(rollUpIndexKey) != null) {
+				if (remainingNodes == null) {
+					// removed reference is still present in the storage part - it needs to be excluded
+					remainingNodes = Arrays.stream(getReferencedPrimaryKeys(executor, referenceKey.getType(), entityPrimaryKey))
+						.filter(it -> it != referenceKey.getPrimaryKey())
+						.toArray();
+				}
+				final HierarchyRollUpEntityIndex rollUpIndex = (HierarchyRollUpEntityIndex) executor.getOrCreateIndex(rollUpIndexKey);
+				if (removeEntityFromRollUp(executor, rollUpIndex, referenceKey.getPrimaryKey(), entityPrimaryKey, remainingNodes)) {
+					leftIndexes.add(rollUpIndexKey);
+				}
+			}
+		}
+		return leftIndexes;
+	}
+
+	/**
+	 * Method registers entity as aggregated through node `nodeId` in the roll-up index. If the entity is not yet
+	 * present in the index all its data are indexed. The data of the `createdReference` are indexed explicitly since
+	 * the reference is not yet present in the storage part. Method returns true if the entity has newly entered
+	 * the index.
+	 */
+	static boolean addEntityToRollUp(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull HierarchyRollUpEntityIndex rollUpIndex,
+		int nodeId,
+		int entityPrimaryKey,
+		@Nullable ReferenceContract createdReference
+	) {
+		final boolean entering = !rollUpIndex.getAllPrimaryKeys().contains(entityPrimaryKey);
+		rollUpIndex.addNodeEntity(nodeId, entityPrimaryKey);
+		if (entering) {
+			rollUpIndex.insertPrimaryKeyIfMissing(entityPrimaryKey);
+			if (createdReference != null) {
+				addFacetToIndex(rollUpIndex, createdReference.getReferencedEntity(), createdReference.getGroup(), executor, entityPrimaryKey);
+			}
+			// we need to index all previously added global entity attributes, prices and facets
+			indexAllExistingData(executor, rollUpIndex, entityPrimaryKey);
+		}
+		return entering;
+	}
+
+	/**
+	 * Method unregisters entity as aggregated through node `nodeId` from the roll-up index. If the entity is no longer
+	 * aggregated through any of the `remainingNodes` it's referencing, all its data are removed from the index. Method
+	 * returns true if the entity has left the index.
+	 */
+	static boolean removeEntityFromRollUp(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull HierarchyRollUpEntityIndex rollUpIndex,
+		int nodeId,
+		int entityPrimaryKey,
+		@Nonnull int[] remainingNodes
+	) {
+		rollUpIndex.removeNodeEntity(nodeId, entityPrimaryKey);
+		if (rollUpIndex.getAllPrimaryKeys().contains(entityPrimaryKey) && !rollUpIndex.isAggregatedThroughAnyOf(entityPrimaryKey, remainingNodes)) {
+			rollUpIndex.removePrimaryKey(entityPrimaryKey);
+			// remove all global entity attributes, prices and facets
+			removeAllExistingData(executor, rollUpIndex, entityPrimaryKey);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Method registers all entities in `entityPrimaryKeys` as aggregated through node `nodeId` in the roll-up index
+	 * of `rollUpNode`. The `executor` is not bound to any entity and is reused for all of them. The index is
+	 * marked as incomplete until all the entities are added.
+	 */
+	static void addNodeEntitiesToRollUp(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull Serializable referencedEntityType,
+		int rollUpNode,
+		int nodeId,
+		@Nonnull int[] entityPrimaryKeys
+	) {
+		if (entityPrimaryKeys.length == 0) {
+			return;
+		}
+		final EntityIndexKey rollUpIndexKey = createRollUpIndexKey(referencedEntityType, rollUpNode);
+		final HierarchyRollUpEntityIndex rollUpIndex = (HierarchyRollUpEntityIndex) executor.getOrCreateIndex(rollUpIndexKey);
+		rollUpIndex.markIncomplete();
+		for (int entityPrimaryKey : entityPrimaryKeys) {
+			executor.executeWithDifferentPrimaryKeyToIndex(
+				indexType -> entityPrimaryKey,
+				() -> addEntityToRollUp(executor, rollUpIndex, nodeId, entityPrimaryKey, null)
+			);
+		}
+		rollUpIndex.markComplete();
+	}
+
+	/**
+	 * Method unregisters all entities aggregated through node `nodeId` from the roll-up index of `rollUpNode`.
+	 * Entities still referencing other nodes aggregated in the index stay in it. The `executor` is not bound to any
+	 * entity and is reused for all of them. The index is marked as incomplete until all the entities are removed.
+	 */
+	static void removeNodeEntitiesFromRollUp(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull Serializable referencedEntityType,
+		int rollUpNode,
+		int nodeId
+	) {
+		final EntityIndexKey rollUpIndexKey = createRollUpIndexKey(referencedEntityType, rollUpNode);
+		if (executor.getIndexIfExists(rollUpIndexKey) == null) {
+			return;
+		}
+		final HierarchyRollUpEntityIndex rollUpIndex = (HierarchyRollUpEntityIndex) executor.getOrCreateIndex(rollUpIndexKey);
+		rollUpIndex.markIncomplete();
+		for (int entityPrimaryKey : rollUpIndex.getNodeEntityIds(nodeId).getArray()) {
+			executor.executeWithDifferentPrimaryKeyToIndex(
+				indexType -> entityPrimaryKey,
+				() -> {
+					final int[] remainingNodes = Arrays.stream(getReferencedPrimaryKeys(executor, referencedEntityType, entityPrimaryKey))
+						.filter(it -> it != nodeId)
+						.toArray();
+					removeEntityFromRollUp(executor, rollUpIndex, nodeId, entityPrimaryKey, remainingNodes);
+				}
+			);
+		}
+		// the index is dropped when the last entity leaves it
+		if (executor.getIndexIfExists(rollUpIndexKey) != null) {
+			rollUpIndex.markComplete();
+		}
+	}
+
+	/**
+	 * Method executes logic in `rollUpIndexConsumer` in all existing {@link HierarchyRollUpEntityIndex} the entity is
+	 * present in. The indexes are looked up through all currently existing references of the entity and each of them
+	 * is visited only once. Indexes whose keys are present in `visitedIndexes` are skipped.
+	 */
+	static void executeWithHierarchyRollUpIndexes(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull Consumer<EntityIndex> rollUpIndexConsumer,
+		@Nonnull Set<EntityIndexKey> visitedIndexes
+	) {
+		final int entityPrimaryKey = executor.getPrimaryKeyToIndex(IndexType.ENTITY_INDEX);
+		final ReferencesStoragePart referencesStorageContainer = executor.getContainerAccessor().getReferencesStorageContainer(entityPrimaryKey);
+		for (ReferenceContract reference : referencesStorageContainer.getReferences()) {
+			if (reference.exists() && isIndexed(reference)) {
+				final EntityReference referencedEntity = reference.getReferencedEntity();
+				for (int rollUpNode : getRollUpNodes(executor, referencedEntity)) {
+					final EntityIndexKey rollUpIndexKey = createRollUpIndexKey(referencedEntity.getType(), rollUpNode);
+					if (visitedIndexes.add(rollUpIndexKey)) {
+						final EntityIndex rollUpIndex = executor.getIndexIfExists(rollUpIndexKey);
+						// the index may have been created before the roll up levels were configured
+						if (rollUpIndex != null && rollUpIndex.getAllPrimaryKeys().contains(entityPrimaryKey)) {
+							rollUpIndexConsumer.accept(executor.getOrCreateIndex(rollUpIndexKey));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns primary keys of all entities of `referencedEntityType` the entity currently references.
+	 */
+	@Nonnull
+	static int[] getReferencedPrimaryKeys(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull Serializable referencedEntityType,
+		int entityPrimaryKey
+	) {
+		final ReferencesStoragePart referencesStorageContainer = executor.getContainerAccessor().getReferencesStorageContainer(entityPrimaryKey);
+		return Arrays.stream(referencesStorageContainer.getReferences())
+			.filter(Droppable::exists)
+			.map(ReferenceContract::getReferencedEntity)
+			.filter(it -> referencedEntityType.equals(it.getType()))
+			.mapToInt(EntityReference::getPrimaryKey)
+			.toArray();
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.api.mutation;
+
+import io.evitadb.index.EntityIndex;
+import io.evitadb.index.HierarchyRollUpEntityIndex;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Interface provides {@link EntityIndexLocalMutationExecutor} with access to the hierarchies maintained in other
+ * entity collections and allows it to propagate the changes of the hierarchy placement of the entities of its own
+ * collection to the {@link HierarchyRollUpEntityIndex hierarchy roll-up indexes} of the collections that reference
+ * them.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public interface HierarchyRollUpMaintainer {
+
+	/**
+	 * Returns global index (that maintains the hierarchy) of the entity collection of passed `entityType` or NULL if
+	 * there is no such collection.
+	 */
+	@Nullable
+	EntityIndex getGlobalIndex(@Nonnull Serializable entityType);
+
+	/**
+	 * Returns true if there is any entity collection that maintains {@link HierarchyRollUpEntityIndex} for
+	 * the hierarchy of the entity collection the executor works with.
+	 */
+	boolean isHierarchyRolledUp();
+
+	/**
+	 * Updates {@link HierarchyRollUpEntityIndex} of all the entity collections referencing the hierarchy of the entity
+	 * collection the executor works with after the placement of the nodes in the hierarchy has changed. The map
+	 * contains all nodes whose placement might have changed along with the path from the root to the node (including
+	 * the node itself) valid before the change. The path is NULL when the node was not reachable from the root nodes.
+	 */
+	void hierarchyPlacementChanged(@Nonnull Map<Integer, Integer[]> formerNodePaths);
+
+}
@@ -52,8 +52,10 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -222,7 +224,7 @@ public interface ReferenceIndexMutator {
 		final EntityBodyStoragePart entityCnt = containerAccessor.getEntityStorageContainer(entityPrimaryKey, EntityExistence.MUST_EXIST);
 		final AttributesStoragePart attributeCnt = containerAccessor.getAttributeStorageContainer(entityPrimaryKey);
 		for (AttributeValue attribute : attributeCnt.getAttributes()) {
-			if (attribute.exists()) {
+			if (attribute.exists() && isAttributeReplicated(executor, targetIndex, attribute.getKey().getAttributeName())) {
 				AttributeIndexMutator.executeAttributeUpsert(
 					executor,
 					attributeName -> executor.getEntitySchema().getAttribute(attributeName),
@@ -235,7 +237,7 @@ public interface ReferenceIndexMutator {
 		for (Locale locale : entityCnt.getAttributeLocales()) {
 			final AttributesStoragePart localizedAttributeCnt = containerAccessor.getAttributeStorageContainer(entityPrimaryKey, locale);
 			for (AttributeValue attribute : localizedAttributeCnt.getAttributes()) {
-				if (attribute.exists()) {
+				if (attribute.exists() && isAttributeReplicated(executor, targetIndex, attribute.getKey().getAttributeName())) {
 					AttributeIndexMutator.executeAttributeUpsert(
 						executor,
 						attributeName -> executor.getEntitySchema().getAttribute(attributeName),
@@ -246,9 +248,10 @@ public interface ReferenceIndexMutator {
 				}
 			}
 		}
+		final boolean pricesReplicated = arePricesReplicated(executor, targetIndex);
 		final PricesStoragePart priceContainer = containerAccessor.getPriceStorageContainer(entityPrimaryKey);
 		for (PriceWithInternalIds price : priceContainer.getPrices()) {
-			if (price.exists()) {
+			if (price.exists() && pricesReplicated) {
 				PriceIndexMutator.priceUpsert(
 					executor, targetIndex,
 					price.getPriceKey(),
@@ -279,7 +282,7 @@ public interface ReferenceIndexMutator {
 		for (ReferenceContract reference : referencesStorageContainer.getReferences()) {
 			final EntityReference referencedEntity = reference.getReferencedEntity();
 			final GroupEntityReference groupReference = reference.getGroup();
-			if (reference.exists() && isFacetedReference(referencedEntity, executor)) {
+			if (reference.exists() && isFacetedReference(referencedEntity, executor) && areFacetsReplicated(executor, targetIndex)) {
 				targetIndex.addFacet(referencedEntity, groupReference, entityPrimaryKey);
 			}
 		}
@@ -299,7 +302,7 @@ public interface ReferenceIndexMutator {
 		final EntityBodyStoragePart entityCnt = containerAccessor.getEntityStorageContainer(entityPrimaryKey, EntityExistence.MUST_EXIST);
 		final AttributesStoragePart attributeCnt = containerAccessor.getAttributeStorageContainer(entityPrimaryKey);
 		for (AttributeValue attribute : attributeCnt.getAttributes()) {
-			if (attribute.exists()) {
+			if (attribute.exists() && isAttributeReplicated(executor, targetIndex, attribute.getKey().getAttributeName())) {
 				AttributeIndexMutator.executeAttributeRemoval(
 					executor,
 					attributeName -> executor.getEntitySchema().getAttribute(attributeName),
@@ -312,7 +315,7 @@ public interface ReferenceIndexMutator {
 		for (Locale locale : entityCnt.getLocales()) {
 			final AttributesStoragePart localizedAttributeCnt = containerAccessor.getAttributeStorageContainer(entityPrimaryKey, locale);
 			for (AttributeValue attribute : localizedAttributeCnt.getAttributes()) {
-				if (attribute.exists()) {
+				if (attribute.exists() && isAttributeReplicated(executor, targetIndex, attribute.getKey().getAttributeName())) {
 					AttributeIndexMutator.executeAttributeRemoval(
 						executor,
 						attributeName -> executor.getEntitySchema().getAttribute(attributeName),
@@ -323,9 +326,10 @@ public interface ReferenceIndexMutator {
 				}
 			}
 		}
+		final boolean pricesReplicated = arePricesReplicated(executor, targetIndex);
 		final PricesStoragePart priceContainer = containerAccessor.getPriceStorageContainer(entityPrimaryKey);
 		for (PriceContract price : priceContainer.getPrices()) {
-			if (price.exists()) {
+			if (price.exists() && pricesReplicated) {
 				PriceIndexMutator.priceRemove(
 					executor, targetIndex,
 					price.getPriceKey()
@@ -352,7 +356,7 @@ public interface ReferenceIndexMutator {
 
 		for (ReferenceContract reference : referencesStorageContainer.getReferences()) {
 			final EntityReference referencedEntity = reference.getReferencedEntity();
-			if (reference.exists() && isFacetedReference(referencedEntity, executor)) {
+			if (reference.exists() && isFacetedReference(referencedEntity, executor) && areFacetsReplicated(executor, targetIndex)) {
 				final Integer groupId = ofNullable(reference.getGroup()).filter(Droppable::exists).map(EntityReference::getPrimaryKey).orElse(null);
 				targetIndex.removeFacet(referencedEntity, groupId, entityPrimaryKey);
 			}
@@ -407,6 +411,22 @@ public interface ReferenceIndexMutator {
 		@Nonnull EntityIndexLocalMutationExecutor executor,
 		@Nonnull Consumer<EntityIndex> referenceIndexConsumer,
 		@Nonnull Predicate<ReferenceContract> referencePredicate
+	) {
+		executeWithReferenceIndexes(executor, referenceIndexConsumer, referencePredicate, new HashSet<>());
+	}
+
+	/**
+	 * Method executes logic in `referenceIndexConsumer` in new specific type of {@link EntityIndex} of type
+	 * {@link EntityIndexType#REFERENCED_ENTITY} for all entities that are currently referenced. The logic is also
+	 * executed in all {@link EntityIndexType#REFERENCED_HIERARCHY_ROLL_UP} indexes the entity is present in except
+	 * those listed in `skippedRollUpIndexes`. The predicate is not applied on roll-up indexes because the entity might
+	 * be aggregated in them through multiple references.
+	 */
+	static void executeWithReferenceIndexes(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull Consumer<EntityIndex> referenceIndexConsumer,
+		@Nonnull Predicate<ReferenceContract> referencePredicate,
+		@Nonnull Set<EntityIndexKey> skippedRollUpIndexes
 	) {
 		final int entityPrimaryKey = executor.getPrimaryKeyToIndex(IndexType.ENTITY_INDEX);
 		final ReferencesStoragePart referencesStorageContainer = executor.getContainerAccessor().getReferencesStorageContainer(entityPrimaryKey);
@@ -416,6 +436,7 @@ public interface ReferenceIndexMutator {
 				referenceIndexConsumer.accept(targetIndex);
 			}
 		}
+		HierarchyRollUpIndexMutator.executeWithHierarchyRollUpIndexes(executor, referenceIndexConsumer, skippedRollUpIndexes);
 	}
 
 	/**
@@ -437,7 +458,7 @@ public interface ReferenceIndexMutator {
 		@Nonnull EntityIndexLocalMutationExecutor executor,
 		int entityPrimaryKey
 	) {
-		if (isFacetedReference(referencedEntity, executor)) {
+		if (isFacetedReference(referencedEntity, executor) && areFacetsReplicated(executor, index)) {
 			index.addFacet(
 				referencedEntity,
 				groupEntityReference,
@@ -457,7 +478,7 @@ public interface ReferenceIndexMutator {
 		@Nonnull EntityIndexLocalMutationExecutor executor,
 		int entityPrimaryKey
 	) {
-		if (isFacetedReference(referencedEntity, executor)) {
+		if (isFacetedReference(referencedEntity, executor) && areFacetsReplicated(executor, index)) {
 			final ReferenceContract existingReference = executor.getContainerAccessor().getReferencesStorageContainer(entityPrimaryKey)
 				.findReferenceOrThrowException(referencedEntity);
 			index.removeFacet(
@@ -483,7 +504,7 @@ public interface ReferenceIndexMutator {
 		@Nonnull EntityIndexLocalMutationExecutor executor,
 		int entityPrimaryKey
 	) {
-		if (isFacetedReference(referencedEntity, executor)) {
+		if (isFacetedReference(referencedEntity, executor) && areFacetsReplicated(executor, index)) {
 			final ReferenceContract existingReference = executor.getContainerAccessor().getReferencesStorageContainer(entityPrimaryKey)
 				.findReferenceOrThrowException(referencedEntity);
 			index.removeFacet(
@@ -509,7 +530,7 @@ public interface ReferenceIndexMutator {
 		@Nonnull EntityIndexLocalMutationExecutor executor,
 		int entityPrimaryKey
 	) {
-		if (isFacetedReference(referencedEntity, executor)) {
+		if (isFacetedReference(referencedEntity, executor) && areFacetsReplicated(executor, index)) {
 			final ReferenceContract existingReference = executor.getContainerAccessor().getReferencesStorageContainer(entityPrimaryKey)
 				.findReferenceOrThrowException(referencedEntity);
 			isTrue(
@@ -525,6 +546,62 @@ public interface ReferenceIndexMutator {
 		}
 	}
 
+	/**
+	 * Returns reference schema of the reference the passed reduced `targetIndex` is bound to. Returns NULL when
+	 * the index is not a reduced one (i.e. it is global index or the index of the reference type).
+	 */
+	@Nullable
+	static ReferenceSchema getReducedIndexReferenceSchema(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull EntityIndex targetIndex
+	) {
+		final EntityIndexKey entityIndexKey = targetIndex.getEntityIndexKey();
+		final EntityIndexType indexType = entityIndexKey.getType();
+		if (indexType == EntityIndexType.REFERENCED_ENTITY ||
+			indexType == EntityIndexType.REFERENCED_HIERARCHY_NODE ||
+			indexType == EntityIndexType.REFERENCED_HIERARCHY_ROLL_UP) {
+			final EntityReferenceContract<?> referencedEntity = (EntityReferenceContract<?>) entityIndexKey.getDiscriminator();
+			return executor.getEntitySchema().getReference(referencedEntity.getType());
+		}
+		return null;
+	}
+
+	/**
+	 * Returns TRUE if the entity attribute of passed name should be indexed in the `targetIndex`. Reduced indexes
+	 * contain only the attributes listed in {@link ReferenceSchema#getReducedIndexAttributes()}, all other indexes
+	 * contain all of them.
+	 */
+	static boolean isAttributeReplicated(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull EntityIndex targetIndex,
+		@Nonnull String attributeName
+	) {
+		final ReferenceSchema referenceSchema = getReducedIndexReferenceSchema(executor, targetIndex);
+		return referenceSchema == null || referenceSchema.isReducedIndexAttribute(attributeName);
+	}
+
+	/**
+	 * Returns TRUE if the entity prices should be indexed in the `targetIndex`.
+	 */
+	static boolean arePricesReplicated(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull EntityIndex targetIndex
+	) {
+		final ReferenceSchema referenceSchema = getReducedIndexReferenceSchema(executor, targetIndex);
+		return referenceSchema == null || referenceSchema.isReducedIndexPrices();
+	}
+
+	/**
+	 * Returns TRUE if the entity facets should be indexed in the `targetIndex`.
+	 */
+	static boolean areFacetsReplicated(
+		@Nonnull EntityIndexLocalMutationExecutor executor,
+		@Nonnull EntityIndex targetIndex
+	) {
+		final ReferenceSchema referenceSchema = getReducedIndexReferenceSchema(executor, targetIndex);
+		return referenceSchema == null || referenceSchema.isReducedIndexFacets();
+	}
+
 	/**
 	 * Returns TRUE if `referencedEntity` is marked as `faceted` in the entity schema.
 	 */
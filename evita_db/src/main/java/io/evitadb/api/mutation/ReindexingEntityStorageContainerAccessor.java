@@ -0,0 +1,65 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.api.mutation;
+
+import io.evitadb.api.data.structure.Price.PriceKey;
+import io.evitadb.api.data.structure.ReadOnlyEntityStorageContainerAccessor;
+import io.evitadb.api.data.structure.WritableEntityStorageContainerAccessor;
+import io.evitadb.api.schema.EntitySchema;
+import io.evitadb.index.price.model.internalId.MinimalPriceInternalIdContainer;
+import io.evitadb.index.price.model.internalId.PriceInternalIdContainer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.function.Supplier;
+
+/**
+ * This accessor allows re-indexing data of multiple existing entities with single {@link EntityIndexLocalMutationExecutor}
+ * (see {@link EntityIndexLocalMutationExecutor#executeWithDifferentPrimaryKeyToIndex}). Unlike
+ * {@link ContainerizedLocalMutationExecutor} it is not bound to a single entity and keeps the read containers cached
+ * by entity primary key. Re-indexing never assigns new internal price ids - the existing ones are read from
+ * the {@link io.evitadb.storage.model.storageParts.entity.PricesStoragePart}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@NotThreadSafe
+public class ReindexingEntityStorageContainerAccessor extends ReadOnlyEntityStorageContainerAccessor implements WritableEntityStorageContainerAccessor {
+
+	public ReindexingEntityStorageContainerAccessor(@Nonnull StorageContainerBuffer storageContainerBuffer, @Nonnull Supplier<EntitySchema> schemaAccessor) {
+		super(storageContainerBuffer, schemaAccessor);
+	}
+
+	@Override
+	public void registerAssignedPriceId(int entityPrimaryKey, @Nonnull PriceKey priceKey, @Nullable Integer innerRecordId, @Nonnull PriceInternalIdContainer priceId) {
+		throw new UnsupportedOperationException("Re-indexing of existing entities must not assign new price ids!");
+	}
+
+	@Nonnull
+	@Override
+	public PriceInternalIdContainer findExistingInternalIds(int entityPrimaryKey, @Nonnull PriceKey priceKey, @Nullable Integer innerRecordId) {
+		final PriceInternalIdContainer existingInternalIds = getPriceStorageContainer(entityPrimaryKey).findExistingInternalIds(priceKey);
+		return new MinimalPriceInternalIdContainer(existingInternalIds.getInternalPriceId());
+	}
+
+}
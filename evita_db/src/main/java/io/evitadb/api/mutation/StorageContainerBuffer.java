@@ -30,11 +30,14 @@ import io.evitadb.api.query.Query;
 import io.evitadb.api.serialization.KeyCompressor;
 import io.evitadb.api.serialization.exception.CompressionKeyUnknownException;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.cache.StoragePartCache;
 import io.evitadb.index.EntityIndex;
 import io.evitadb.index.EntityIndexKey;
 import io.evitadb.storage.IOService;
 import io.evitadb.storage.MemTable;
+import io.evitadb.storage.model.memTable.FileLocation;
 import io.evitadb.storage.model.memTable.MemTableRecordType;
+import io.evitadb.storage.model.storageParts.PersistedStoragePartKey;
 import io.evitadb.storage.model.storageParts.RecordWithCompressedId;
 import io.evitadb.storage.model.storageParts.StoragePart;
 import io.evitadb.storage.model.storageParts.StoragePartKey;
@@ -43,6 +46,8 @@ import lombok.RequiredArgsConstructor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.NotThreadSafe;
+import java.io.Serializable;
+import java.lang.reflect.Array;
 import java.time.ZonedDateTime;
 import java.util.Iterator;
 import java.util.Map;
@@ -64,6 +69,10 @@ import static java.util.Optional.ofNullable;
  * All reads-writes are primarily targeting transactional memory if it's present for the current thread. If the value
  * is not found there it's located via {@link MemTable#get(long, Class)}.
  *
+ * The `fetch...ReadOnly` methods read the entity parts through the {@link StoragePartCache} and may return instances
+ * shared with other threads. They're meant for the read paths only - the parts that are going to be modified must be
+ * fetched by the other methods that always return fresh instances.
+ *
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2021
  */
 @RequiredArgsConstructor
@@ -71,6 +80,7 @@ public class StorageContainerBuffer {
 	private final EntityCollection entityCollection;
 	private final MemTable memTable;
 	private final IOService ioService;
+	private final StoragePartCache storagePartCache;
 	/**
 	 * DTO contains all trapped changes in this {@link StorageContainerBuffer}.
 	 */
@@ -134,6 +144,112 @@ public class StorageContainerBuffer {
 		}
 	}
 
+	/**
+	 * Reads container primarily from transactional memory and when the container is not present there (or transaction
+	 * is not opened) reads it through the {@link StoragePartCache} from the target {@link MemTable}. Returned container
+	 * may be shared and must not be modified.
+	 */
+	public <T extends StoragePart> T fetchReadOnly(long primaryKey, @Nonnull Class<T> containerType) {
+		final EntityCollectionChanges layer = getTransactionalMemoryLayerIfExists(entityCollection);
+		if (layer == null) {
+			return readThroughCache(primaryKey, containerType);
+		} else if (layer.isRemoved(primaryKey, containerType)) {
+			return null;
+		} else {
+			return ofNullable(layer.getContainer(primaryKey, containerType))
+				.orElseGet(() -> readThroughCache(primaryKey, containerType));
+		}
+	}
+
+	/**
+	 * Reads containers primarily from transactional memory and when the container is not present there (or transaction
+	 * is not opened) reads it through the {@link StoragePartCache} from the target {@link MemTable}. All containers
+	 * missing in the cache are read by single {@link MemTable#getAll(long[], Class)} call. The result array is aligned
+	 * with `primaryKeys`. Returned containers may be shared and must not be modified.
+	 */
+	@Nonnull
+	public <T extends StoragePart> T[] fetchAllReadOnly(@Nonnull long[] primaryKeys, @Nonnull Class<T> containerType) {
+		if (!storagePartCache.isEnabled() || !StoragePartCache.isCacheable(containerType)) {
+			return fetchAll(primaryKeys, containerType);
+		}
+		final EntityCollectionChanges layer = getTransactionalMemoryLayerIfExists(entityCollection);
+		final Serializable entityType = entityCollection.getName();
+		@SuppressWarnings("unchecked") final T[] result = (T[]) Array.newInstance(containerType, primaryKeys.length);
+		final FileLocation[] locations = new FileLocation[primaryKeys.length];
+		final int[] missingIndexes = new int[primaryKeys.length];
+		int missingCount = 0;
+		for (int i = 0; i < primaryKeys.length; i++) {
+			final long primaryKey = primaryKeys[i];
+			if (layer != null) {
+				if (layer.isRemoved(primaryKey, containerType)) {
+					continue;
+				}
+				result[i] = layer.getContainer(primaryKey, containerType);
+				if (result[i] != null) {
+					continue;
+				}
+			}
+			locations[i] = memTable.getFlushedLocation(primaryKey, containerType);
+			if (locations[i] != null) {
+				result[i] = storagePartCache.get(entityType, primaryKey, containerType, locations[i]);
+			}
+			if (result[i] == null) {
+				missingIndexes[missingCount++] = i;
+			}
+		}
+		if (missingCount > 0) {
+			final long[] missingKeys = new long[missingCount];
+			for (int i = 0; i < missingCount; i++) {
+				missingKeys[i] = primaryKeys[missingIndexes[i]];
+			}
+			final T[] fetched = memTable.getAll(missingKeys, containerType);
+			for (int i = 0; i < missingCount; i++) {
+				final int index = missingIndexes[i];
+				result[index] = fetched[i];
+				if (fetched[i] != null && locations[index] != null) {
+					storagePartCache.put(entityType, primaryKeys[index], containerType, locations[index], fetched[i]);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reads containers primarily from transactional memory and when the container is not present there (or transaction
+	 * is not opened) reads it from the target {@link MemTable}. All containers missing in the transactional memory are
+	 * read by single {@link MemTable#getAll(long[], Class)} call. The result array is aligned with `primaryKeys`.
+	 */
+	@Nonnull
+	public <T extends StoragePart> T[] fetchAll(@Nonnull long[] primaryKeys, @Nonnull Class<T> containerType) {
+		final EntityCollectionChanges layer = getTransactionalMemoryLayerIfExists(entityCollection);
+		if (layer == null) {
+			return memTable.getAll(primaryKeys, containerType);
+		} else {
+			@SuppressWarnings("unchecked") final T[] result = (T[]) Array.newInstance(containerType, primaryKeys.length);
+			final int[] missingIndexes = new int[primaryKeys.length];
+			int missingCount = 0;
+			for (int i = 0; i < primaryKeys.length; i++) {
+				if (!layer.isRemoved(primaryKeys[i], containerType)) {
+					result[i] = layer.getContainer(primaryKeys[i], containerType);
+					if (result[i] == null) {
+						missingIndexes[missingCount++] = i;
+					}
+				}
+			}
+			if (missingCount > 0) {
+				final long[] missingKeys = new long[missingCount];
+				for (int i = 0; i < missingCount; i++) {
+					missingKeys[i] = primaryKeys[missingIndexes[i]];
+				}
+				final T[] fetched = memTable.getAll(missingKeys, containerType);
+				for (int i = 0; i < missingCount; i++) {
+					result[missingIndexes[i]] = fetched[i];
+				}
+			}
+			return result;
+		}
+	}
+
 	/**
 	 * Reads container primarily from transactional memory and when the container is not present there (or transaction
 	 * is not opened) reads it from the target {@link MemTable}.
@@ -166,6 +282,29 @@ public class StorageContainerBuffer {
 		}
 	}
 
+	/**
+	 * Reads container primarily from transactional memory and when the container is not present there (or transaction
+	 * is not opened) reads it through the {@link StoragePartCache} from the target {@link MemTable}. Returned container
+	 * may be shared and must not be modified.
+	 */
+	public <T extends StoragePart, U extends Comparable<U>> T fetchReadOnly(@Nonnull U originalKey, @Nonnull Class<T> containerType, @Nonnull BiFunction<KeyCompressor, U, Long> compressedKeyComputer) {
+		final EntityCollectionChanges layer = getTransactionalMemoryLayerIfExists(entityCollection);
+		if (layer != null && layer.isRemoved(originalKey, containerType)) {
+			return null;
+		}
+		return ofNullable(layer == null ? null : layer.getContainer(originalKey, containerType))
+			.orElseGet(() -> {
+				try {
+					final long nonFlushedCompressedId = ofNullable(this.bufferedChangeSet.getNonFlushedCompressedId(originalKey))
+						.orElseGet(() -> compressedKeyComputer.apply(memTable.getReadOnlyKeyCompressor(), originalKey));
+					return readThroughCache(nonFlushedCompressedId, containerType);
+				} catch (CompressionKeyUnknownException ex) {
+					// key wasn't yet assigned
+					return null;
+				}
+			});
+	}
+
 	/**
 	 * Removes container from the target storage. If transaction is open, it just marks the container as removed but
 	 * doesn't really remove it.
@@ -260,6 +399,30 @@ public class StorageContainerBuffer {
 
 	}
 
+	/**
+	 * Reads container from the {@link StoragePartCache} or from the target {@link MemTable} when it's not cached yet.
+	 * Containers that haven't been flushed yet bypass the cache.
+	 */
+	private <T extends StoragePart> T readThroughCache(long primaryKey, @Nonnull Class<T> containerType) {
+		if (!storagePartCache.isEnabled() || !StoragePartCache.isCacheable(containerType)) {
+			return memTable.get(primaryKey, containerType);
+		}
+		final FileLocation location = memTable.getFlushedLocation(primaryKey, containerType);
+		if (location == null) {
+			return memTable.get(primaryKey, containerType);
+		}
+		final Serializable entityType = entityCollection.getName();
+		final T cachedContainer = storagePartCache.get(entityType, primaryKey, containerType, location);
+		if (cachedContainer != null) {
+			return cachedContainer;
+		}
+		final T container = memTable.get(location, containerType);
+		if (container != null) {
+			storagePartCache.put(entityType, primaryKey, containerType, location, container);
+		}
+		return container;
+	}
+
 	/**
 	 * Method returns current buffer with trapped changes and creates new one, that starts fill in.
 	 * This method doesn't take transactional memory into an account but contains only changes for trapped updates.
@@ -320,6 +483,17 @@ public class StorageContainerBuffer {
 				.flatMap(it -> it.getModifiedStorageParts().stream());
 		}
 
+		/**
+		 * Returns keys of the {@link StoragePart storage parts} that belonged to the removed parts of the "dirty"
+		 * entity indexes and needs to be removed from the {@link MemTable}.
+		 */
+		public Stream<PersistedStoragePartKey> getTrappedMemTableRemovals(@Nonnull KeyCompressor keyCompressor) {
+			return dirtyEntityIndexes
+				.values()
+				.stream()
+				.flatMap(it -> it.getRemovedStorageParts(keyCompressor).stream());
+		}
+
 		/**
 		 * Method checks and returns the requested index from the local "dirty" memory. If it isn't there, it's fetched
 		 * using `accessorWhenMissing` lambda and stores into the "dirty" memory before returning.
@@ -48,6 +48,7 @@ import java.util.Collections;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
@@ -196,30 +197,71 @@ public class CacheAnteroom {
 		);
 		if (cachedResult == null) {
 			final SealedEntity entity = entityFetcher.get();
-			final AtomicBoolean enlarged = new AtomicBoolean(false);
-			final ConcurrentHashMap<Long, CacheRecordAdept> currentCacheAdepts = this.cacheAdepts.get();
-			final CacheRecordAdept cacheRecordAdept = currentCacheAdepts.computeIfAbsent(
-				recordHash, fHash -> {
-					enlarged.set(true);
-					return new CacheRecordAdept(
-						fHash,
-						entityWrapper.getCost(),
-						entityWrapper.getCostToPerformanceRatio(),
-						1,
-						entity.estimateSize()
-					);
-				}
-			);
-			if (enlarged.get() && currentCacheAdepts.size() > maxRecordCount) {
-				CacheAnteroom.this.evaluateAssociatesAsynchronously();
+			if (entity == null) {
+				return null;
+			} else {
+				recordEntityUsage(recordHash, entityWrapper, entity);
+				return sealer.apply(entity);
 			}
-			cacheRecordAdept.used();
-			return entity == null ? null : sealer.apply(entity);
 		} else {
 			return sealer.apply(cachedResult);
 		}
 	}
 
+	/**
+	 * Batch variant of {@link #register(EvitaSession, int, Serializable, EntityContentRequire[], Supplier, UnaryOperator, UnaryOperator)}.
+	 * Method checks all `entityPrimaryKeys` in {@link CacheEden} first and fetches all entities that were not found
+	 * there by single call of `entitiesFetcher`. Each fetched entity is registered to {@link #cacheAdepts} the same way
+	 * as in single entity variant. The result array is aligned with `entityPrimaryKeys` and contains NULL for entities
+	 * that don't exist.
+	 */
+	@Nonnull
+	public SealedEntity[] register(@Nonnull EvitaSession evitaSession, @Nonnull int[] entityPrimaryKeys, @Nonnull Serializable entityType, @Nonnull EntityContentRequire[] requirements, @Nonnull Function<int[], SealedEntity[]> entitiesFetcher, @Nonnull UnaryOperator<SealedEntity> enricher, @Nonnull UnaryOperator<SealedEntity> sealer) {
+		final LongHashFunction hashFunction = CacheSupervisor.createHashFunction();
+		final long entityTypeHash = hashFunction.hashChars(entityType.toString());
+		final SealedEntity[] result = new SealedEntity[entityPrimaryKeys.length];
+		final long[] recordHashes = new long[entityPrimaryKeys.length];
+		final EntityComputationalObjectAdapter[] entityWrappers = new EntityComputationalObjectAdapter[entityPrimaryKeys.length];
+		final int[] missingIndexes = new int[entityPrimaryKeys.length];
+		int missingCount = 0;
+		for (int i = 0; i < entityPrimaryKeys.length; i++) {
+			final int entityPrimaryKey = entityPrimaryKeys[i];
+			recordHashes[i] = hashFunction.hashLongs(new long[]{entityPrimaryKey, entityTypeHash});
+			// single entity fetcher is used only when cached record needs to be initialized or enriched
+			entityWrappers[i] = new EntityComputationalObjectAdapter(
+				entityPrimaryKey, () -> entitiesFetcher.apply(new int[]{entityPrimaryKey})[0],
+				enricher, requirements.length, minimalComplexityThreshold
+			);
+			final SealedEntity cachedResult = cacheEden.getCachedRecord(
+				evitaSession, entityType,
+				entityWrappers[i],
+				SealedEntity.class, recordHashes[i]
+			);
+			if (cachedResult == null) {
+				missingIndexes[missingCount++] = i;
+			} else {
+				result[i] = sealer.apply(cachedResult);
+			}
+		}
+		if (missingCount > 0) {
+			// fetch all missing entities at once
+			final int[] missingPrimaryKeys = new int[missingCount];
+			for (int i = 0; i < missingCount; i++) {
+				missingPrimaryKeys[i] = entityPrimaryKeys[missingIndexes[i]];
+			}
+			final SealedEntity[] fetchedEntities = entitiesFetcher.apply(missingPrimaryKeys);
+			for (int i = 0; i < missingCount; i++) {
+				final SealedEntity entity = fetchedEntities[i];
+				if (entity != null) {
+					final int index = missingIndexes[i];
+					recordEntityUsage(recordHashes[index], entityWrappers[index], entity);
+					result[index] = sealer.apply(entity);
+				}
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Method returns {@link CacheRecordAdept} for passed `dataStructure`.
 	 * The key is the {@link TransactionalDataRelatedStructure#computeHash(LongHashFunction)}.
@@ -349,6 +391,32 @@ public class CacheAnteroom {
 		}
 	}
 
+	/**
+	 * Method registers usage of the entity fetched from the persistent datastore to {@link #cacheAdepts}. If new cache
+	 * adept is created it's checked whether the number of adepts exceeds {@link #maxRecordCount} and if so,
+	 * the {@link #evaluateAssociatesAsynchronously()} process is executed.
+	 */
+	private void recordEntityUsage(long recordHash, @Nonnull EntityComputationalObjectAdapter entityWrapper, @Nonnull SealedEntity entity) {
+		final AtomicBoolean enlarged = new AtomicBoolean(false);
+		final ConcurrentHashMap<Long, CacheRecordAdept> currentCacheAdepts = this.cacheAdepts.get();
+		final CacheRecordAdept cacheRecordAdept = currentCacheAdepts.computeIfAbsent(
+			recordHash, fHash -> {
+				enlarged.set(true);
+				return new CacheRecordAdept(
+					fHash,
+					entityWrapper.getCost(),
+					entityWrapper.getCostToPerformanceRatio(),
+					1,
+					entity.estimateSize()
+				);
+			}
+		);
+		if (enlarged.get() && currentCacheAdepts.size() > maxRecordCount) {
+			CacheAnteroom.this.evaluateAssociatesAsynchronously();
+		}
+		cacheRecordAdept.used();
+	}
+
 	/**
 	 * This method is used as computational callback for formulas and extra result computers. When the computation result
 	 * is available it computes the expected size of the cached record (without really caching it) and computes
@@ -28,6 +28,7 @@ import io.evitadb.api.configuration.CacheOptions;
 import io.evitadb.api.data.SealedEntity;
 import io.evitadb.api.utils.StringUtils;
 import io.evitadb.cache.dto.CacheRecordAdept;
+import io.evitadb.cache.dto.CacheStatistics;
 import io.evitadb.cache.dto.CachedRecord;
 import io.evitadb.cache.payload.CachePayloadHeader;
 import io.evitadb.cache.payload.EntityComputationalObjectAdapter;
@@ -104,6 +105,19 @@ public class CacheEden {
 	 * Represents counter of entity enrichments of this cache.
 	 */
 	private final AtomicLong enrichments = new AtomicLong();
+	/**
+	 * Represents counter of hits of this cache since its creation, unlike {@link #hits} it's never reset.
+	 */
+	private final AtomicLong totalHits = new AtomicLong();
+	/**
+	 * Represents counter of misses of this cache since its creation, unlike {@link #misses} it's never reset.
+	 */
+	private final AtomicLong totalMisses = new AtomicLong();
+	/**
+	 * Represents counter of misses caused by the cached record that was found, but was not valid for the transactional
+	 * data of the requested computational object (i.e. it was made obsolete by a committed transaction).
+	 */
+	private final AtomicLong totalInvalidations = new AtomicLong();
 	/**
 	 * Lock used to synchronize {@link #evaluateAssociates()} that is expected to be called in synchronized block.
 	 */
@@ -158,6 +172,7 @@ public class CacheEden {
 				if (cachedRecord.getTransactionalIdHash() == computationalObject.computeTransactionalIdHash(hashFunction)) {
 					// track hit
 					hits.incrementAndGet();
+					totalHits.incrementAndGet();
 					if (computationalObject instanceof EntityComputationalObjectAdapter) {
 						final EntityComputationalObjectAdapter entityWrapper = (EntityComputationalObjectAdapter) computationalObject;
 						return enrichCachedEntityIfNecessary(recordHash, cachedRecord, entityWrapper);
@@ -168,11 +183,14 @@ public class CacheEden {
 				} else {
 					// track - miss, formula found but not valid for current input formula regarding used transactional data
 					misses.incrementAndGet();
+					totalMisses.incrementAndGet();
+					totalInvalidations.incrementAndGet();
 					return null;
 				}
 			} else {
 				// formula found but not yet initialized
 				misses.incrementAndGet();
+				totalMisses.incrementAndGet();
 				// set up initialization lambda to cloned input computational object
 				if (computationalObject instanceof CacheableFormula) {
 					final CacheableFormula inputFormula = (CacheableFormula) computationalObject;
@@ -190,6 +208,7 @@ public class CacheEden {
 		}
 		// formula not found record miss
 		misses.incrementAndGet();
+		totalMisses.incrementAndGet();
 		return null;
 	}
 
@@ -207,6 +226,20 @@ public class CacheEden {
 		return cacheSize.get();
 	}
 
+	/**
+	 * Returns snapshot of cumulative statistics of this cache since its creation.
+	 */
+	@Nonnull
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(
+			totalHits.get(),
+			totalMisses.get(),
+			totalInvalidations.get(),
+			cacheSize.get(),
+			usedByteSize.get()
+		);
+	}
+
 	/**
 	 * Stores collection of {@link CacheRecordAdept} that are required to be evaluated by {@link #evaluateAssociates()}.
 	 * This method can be actually called multiple times within single {@link #evaluateAssociates()} interval, if there
@@ -26,6 +26,7 @@ import io.evitadb.api.EvitaSession;
 import io.evitadb.api.data.SealedEntity;
 import io.evitadb.api.query.require.EntityContentRequire;
 import io.evitadb.cache.dto.CacheRecordAdept;
+import io.evitadb.cache.dto.CacheStatistics;
 import io.evitadb.cache.dto.CachedRecord;
 import io.evitadb.query.algebra.Formula;
 import io.evitadb.query.extraResult.CacheableEvitaResponseExtraResultComputer;
@@ -36,6 +37,7 @@ import net.openhft.hashing.LongHashFunction;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
@@ -123,9 +125,34 @@ public interface CacheSupervisor {
 		@Nonnull UnaryOperator<SealedEntity> sealer
 	);
 
+	/**
+	 * Batch variant of {@link #analyse(EvitaSession, int, Serializable, EntityContentRequire[], Supplier, UnaryOperator, UnaryOperator)}.
+	 * Method looks up all `primaryKeys` in the cache first and then fetches all entities that were not found there
+	 * by single call of `entitiesFetcher` function, so that the persistent datastore may be accessed in bulk.
+	 *
+	 * Both `entitiesFetcher` result and the result of this method are arrays aligned with the input primary keys array
+	 * and contain NULL on positions of entities that don't exist.
+	 */
+	@Nonnull
+	SealedEntity[] analyse(
+		@Nonnull EvitaSession evitaSession,
+		@Nonnull int[] primaryKeys,
+		@Nonnull Serializable entityType,
+		@Nonnull EntityContentRequire[] requirements,
+		@Nonnull Function<int[], SealedEntity[]> entitiesFetcher,
+		@Nonnull UnaryOperator<SealedEntity> enricher,
+		@Nonnull UnaryOperator<SealedEntity> sealer
+	);
+
 	/**
 	 * Temporary function for auto-adjusting memory for performance testing.
 	 */
 	void checkFreeMemory();
 
+	/**
+	 * Returns cumulative statistics of the cache since the supervisor was created.
+	 */
+	@Nonnull
+	CacheStatistics getStatistics();
+
 }
@@ -0,0 +1,123 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.cache;
+
+/**
+ * Frequency sketch is a <a href="https://en.wikipedia.org/wiki/Count%E2%80%93min_sketch">count-min sketch</a> that
+ * estimates how often a key was accessed recently with fixed memory overhead. It's the "TinyLFU" part of
+ * the {@link StoragePartCache} admission policy. Each key increments one counter in each of {@link #DEPTH} rows,
+ * the estimated frequency is the minimum of these counters. Counters saturate at {@link #MAX_FREQUENCY} and all of
+ * them are halved once the count of recorded accesses reaches the sample size, so that the sketch forgets
+ * the history and reflects the recent access pattern.
+ *
+ * The class is intentionally not synchronized - concurrent increments may get lost, which only makes the estimate
+ * a little less precise.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+class FrequencySketch {
+	/**
+	 * Count of counter rows (i.e. hash functions) in the sketch.
+	 */
+	private static final int DEPTH = 4;
+	/**
+	 * Maximal value of the single counter.
+	 */
+	private static final int MAX_FREQUENCY = 15;
+	/**
+	 * Seeds used for deriving the row specific hash from the key hash.
+	 */
+	private static final long[] SEEDS = {
+		0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+	};
+	/**
+	 * Counters of all rows - the row `r` occupies the indexes from `r * width` to `(r + 1) * width`.
+	 */
+	private final byte[] table;
+	/**
+	 * Count of counters in single row - always the power of two.
+	 */
+	private final int width;
+	/**
+	 * Count of recorded accesses after which all the counters are halved.
+	 */
+	private final int sampleSize;
+	/**
+	 * Count of accesses recorded since the last halving.
+	 */
+	private int accesses;
+
+	FrequencySketch(int expectedEntries) {
+		this.width = Integer.highestOneBit(Math.max(16, expectedEntries - 1) << 1);
+		this.table = new byte[DEPTH * this.width];
+		this.sampleSize = 10 * this.width;
+	}
+
+	/**
+	 * Records single access to the key with passed hash.
+	 */
+	void increment(int hash) {
+		boolean incremented = false;
+		for (int row = 0; row < DEPTH; row++) {
+			final int index = indexOf(hash, row);
+			if (this.table[index] < MAX_FREQUENCY) {
+				this.table[index]++;
+				incremented = true;
+			}
+		}
+		if (incremented && ++this.accesses >= this.sampleSize) {
+			reset();
+		}
+	}
+
+	/**
+	 * Returns estimated count of recent accesses to the key with passed hash.
+	 */
+	int frequency(int hash) {
+		int frequency = MAX_FREQUENCY;
+		for (int row = 0; row < DEPTH; row++) {
+			frequency = Math.min(frequency, this.table[indexOf(hash, row)]);
+		}
+		return frequency;
+	}
+
+	/**
+	 * Halves all counters so that the old accesses weigh less than the recent ones.
+	 */
+	private void reset() {
+		for (int i = 0; i < this.table.length; i++) {
+			this.table[i] = (byte) (this.table[i] >>> 1);
+		}
+		this.accesses = this.accesses >>> 1;
+	}
+
+	/**
+	 * Computes index of the counter for the key hash in the passed row.
+	 */
+	private int indexOf(int hash, int row) {
+		long h = (hash + SEEDS[row]) * SEEDS[row];
+		h += h >>> 32;
+		return row * this.width + ((int) h & (this.width - 1));
+	}
+
+}
@@ -28,6 +28,7 @@ import io.evitadb.api.data.SealedEntity;
 import io.evitadb.api.query.require.EntityContentRequire;
 import io.evitadb.api.utils.Assert;
 import io.evitadb.api.utils.StringUtils;
+import io.evitadb.cache.dto.CacheStatistics;
 import io.evitadb.query.algebra.Formula;
 import io.evitadb.query.extraResult.CacheableEvitaResponseExtraResultComputer;
 import io.evitadb.query.extraResult.EvitaResponseExtraResultComputer;
@@ -37,6 +38,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
@@ -137,4 +139,26 @@ public class HeapMemoryCacheSupervisor implements CacheSupervisor {
 		}
 	}
 
+	@Nonnull
+	@Override
+	public SealedEntity[] analyse(@Nonnull EvitaSession evitaSession, @Nonnull int[] primaryKeys, @Nonnull Serializable entityType, @Nonnull EntityContentRequire[] requirements, @Nonnull Function<int[], SealedEntity[]> entitiesFetcher, @Nonnull UnaryOperator<SealedEntity> enricher, @Nonnull UnaryOperator<SealedEntity> sealer) {
+		// we use cache only for Evita read only sessions, write session might already contain client specific modifications
+		// that effectively exclude the formula caches from being used
+		if (evitaSession.isReadOnly()) {
+			return this.cacheAnteroom.register(evitaSession, primaryKeys, entityType, requirements, entitiesFetcher, enricher, sealer);
+		} else {
+			final SealedEntity[] entities = entitiesFetcher.apply(primaryKeys);
+			for (int i = 0; i < entities.length; i++) {
+				entities[i] = ofNullable(entities[i]).map(sealer).orElse(null);
+			}
+			return entities;
+		}
+	}
+
+	@Nonnull
+	@Override
+	public CacheStatistics getStatistics() {
+		return cacheEden.getStatistics();
+	}
+
 }
@@ -25,6 +25,7 @@ package io.evitadb.cache;
 import io.evitadb.api.EvitaSession;
 import io.evitadb.api.data.SealedEntity;
 import io.evitadb.api.query.require.EntityContentRequire;
+import io.evitadb.cache.dto.CacheStatistics;
 import io.evitadb.query.algebra.Formula;
 import io.evitadb.query.extraResult.CacheableEvitaResponseExtraResultComputer;
 import io.evitadb.query.extraResult.EvitaResponseExtraResultComputer;
@@ -34,6 +35,7 @@ import lombok.NoArgsConstructor;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
@@ -69,8 +71,24 @@ public class NoCacheSupervisor implements CacheSupervisor {
 		return ofNullable(entityFetcher.get()).map(sealer).orElse(null);
 	}
 
+	@Nonnull
+	@Override
+	public SealedEntity[] analyse(@Nonnull EvitaSession evitaSession, @Nonnull int[] primaryKeys, @Nonnull Serializable entityType, @Nonnull EntityContentRequire[] requirements, @Nonnull Function<int[], SealedEntity[]> entitiesFetcher, @Nonnull UnaryOperator<SealedEntity> enricher, @Nonnull UnaryOperator<SealedEntity> sealer) {
+		final SealedEntity[] entities = entitiesFetcher.apply(primaryKeys);
+		for (int i = 0; i < entities.length; i++) {
+			entities[i] = ofNullable(entities[i]).map(sealer).orElse(null);
+		}
+		return entities;
+	}
+
 	@Override
 	public void checkFreeMemory() {
 		// do nothing
 	}
+
+	@Nonnull
+	@Override
+	public CacheStatistics getStatistics() {
+		return CacheStatistics.EMPTY;
+	}
 }
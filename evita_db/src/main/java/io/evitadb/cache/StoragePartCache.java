@@ -0,0 +1,394 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.cache;
+
+import io.evitadb.api.configuration.CacheOptions;
+import io.evitadb.cache.dto.CacheStatistics;
+import io.evitadb.storage.model.memTable.FileLocation;
+import io.evitadb.storage.model.storageParts.StoragePart;
+import io.evitadb.storage.model.storageParts.entity.*;
+import lombok.Data;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.evitadb.api.utils.MemoryMeasuringConstants.*;
+
+/**
+ * Storage part cache keeps deserialized entity {@link StoragePart storage parts} read from the
+ * {@link io.evitadb.storage.MemTable} so that the entities requested repeatedly with different requirements don't need
+ * to be deserialized from the disk again and again. The cache is independent of the {@link CacheEden} - it caches
+ * building blocks of the entities, not the results of the computations, and it doesn't require the parts to earn
+ * their place in the {@link CacheAnteroom} first.
+ *
+ * The cache is bounded by {@link CacheOptions#getStoragePartCacheSizeInBytes()}. The size of the part is estimated by
+ * the length of its serialized form - deserialized parts usually occupy several times more heap, so the limit should
+ * be set accordingly. The eviction follows the W-TinyLFU policy in a simplified form:
+ *
+ * - newly read parts enter small LRU window ({@link #WINDOW_PERCENTAGE} of the capacity)
+ * - parts evicted from the window are admitted to the main LRU region only when they're more frequently accessed
+ *   than the least recently used part of the main region (the frequencies are estimated by {@link FrequencySketch})
+ *
+ * This protects the cache from being flushed by the scans of the parts that are read only once.
+ *
+ * The cached part is valid only for the {@link FileLocation} it was read from. Each committed change of the part
+ * writes it to the new location in the MemTable, so the location serves as the version of the part and the cached
+ * part with different location than the current one is invalidated on the first access. Parts touched by
+ * the committed transaction are also proactively {@link #invalidate(Serializable, long, Class) invalidated}.
+ *
+ * The cached parts are shared among all threads and must never be modified - they may be used only for reading.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@ThreadSafe
+public class StoragePartCache {
+	/**
+	 * Types of the storage parts this cache accepts. Must be declared before {@link #DISABLED}, which constructor
+	 * reads it.
+	 */
+	private static final Class<?>[] CACHEABLE_TYPES = {
+		EntityBodyStoragePart.class,
+		AttributesStoragePart.class,
+		AssociatedDataStoragePart.class,
+		PricesStoragePart.class,
+		ReferencesStoragePart.class
+	};
+	/**
+	 * Instance of the cache that caches nothing.
+	 */
+	public static final StoragePartCache DISABLED = new StoragePartCache(0L);
+	/**
+	 * Share of the capacity reserved for the admission window in percents.
+	 */
+	public static final int WINDOW_PERCENTAGE = 1;
+	/**
+	 * Estimated memory overhead of single cached part (key, holder and map entries) besides the part itself.
+	 */
+	private static final int ENTRY_OVERHEAD = 4 * OBJECT_HEADER_SIZE + 8 * REFERENCE_SIZE + 2 * LONG_SIZE + INT_SIZE + BYTE_SIZE;
+	/**
+	 * Estimated average size of the cached part used for sizing the {@link FrequencySketch}.
+	 */
+	private static final int ESTIMATED_AVERAGE_PART_SIZE = 512;
+	/**
+	 * Maximal size of all cached parts in Bytes.
+	 */
+	private final long maximumSizeInBytes;
+	/**
+	 * Maximal size of the parts in the admission window in Bytes.
+	 */
+	private final long windowMaximumSizeInBytes;
+	/**
+	 * Index of all cached parts used for lock-free lookups.
+	 */
+	private final ConcurrentHashMap<StoragePartCacheKey, CachedStoragePart> entries = new ConcurrentHashMap<>();
+	/**
+	 * Admission window in the access order - the least recently used parts go first.
+	 */
+	private final LinkedHashMap<StoragePartCacheKey, CachedStoragePart> window = new LinkedHashMap<>(64, 0.75f, true);
+	/**
+	 * Main region in the access order - the least recently used parts go first.
+	 */
+	private final LinkedHashMap<StoragePartCacheKey, CachedStoragePart> main = new LinkedHashMap<>(1024, 0.75f, true);
+	/**
+	 * Lock guarding {@link #window}, {@link #main} and their sizes.
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+	/**
+	 * Estimates of the access frequencies of the parts used for admission decisions.
+	 */
+	@Nullable private final FrequencySketch sketch;
+	/**
+	 * Statistics per cached storage part type.
+	 */
+	private final Map<Class<?>, PartTypeStatistics> statistics;
+	/**
+	 * Current size of the parts in the {@link #window}.
+	 */
+	private long windowSize;
+	/**
+	 * Current size of the parts in the {@link #main} region.
+	 */
+	private long mainSize;
+
+	/**
+	 * Returns true if the parts of passed type can be stored in this cache.
+	 */
+	public static boolean isCacheable(@Nonnull Class<?> partType) {
+		for (Class<?> cacheableType : CACHEABLE_TYPES) {
+			if (cacheableType.equals(partType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public StoragePartCache(long maximumSizeInBytes) {
+		this.maximumSizeInBytes = maximumSizeInBytes;
+		this.windowMaximumSizeInBytes = Math.max(1L, maximumSizeInBytes * WINDOW_PERCENTAGE / 100);
+		this.sketch = maximumSizeInBytes > 0L ?
+			new FrequencySketch((int) Math.min(1 << 24, Math.max(1024L, maximumSizeInBytes / ESTIMATED_AVERAGE_PART_SIZE))) : null;
+		this.statistics = Stream.of(CACHEABLE_TYPES)
+			.collect(Collectors.toUnmodifiableMap(it -> it, it -> new PartTypeStatistics()));
+	}
+
+	/**
+	 * Returns true if the cache is enabled, i.e. it may contain any parts.
+	 */
+	public boolean isEnabled() {
+		return this.sketch != null;
+	}
+
+	/**
+	 * Returns the cached part of the entity collection of `entityType` if the cache contains the part that was read
+	 * from the `location`. If the cached part was read from different location, it's obsolete and is evicted.
+	 */
+	@Nullable
+	public <T extends StoragePart> T get(@Nonnull Serializable entityType, long primaryKey, @Nonnull Class<T> partType, @Nonnull FileLocation location) {
+		final PartTypeStatistics partTypeStatistics = getStatistics(partType);
+		if (this.sketch == null || partTypeStatistics == null) {
+			return null;
+		}
+		final StoragePartCacheKey key = new StoragePartCacheKey(entityType, partType, primaryKey);
+		this.sketch.increment(key.hashCode());
+		final CachedStoragePart cachedPart = this.entries.get(key);
+		if (cachedPart == null) {
+			partTypeStatistics.misses.increment();
+			return null;
+		} else if (!cachedPart.getLocation().equals(location)) {
+			partTypeStatistics.misses.increment();
+			partTypeStatistics.invalidations.increment();
+			evict(key, cachedPart);
+			return null;
+		} else {
+			partTypeStatistics.hits.increment();
+			// reordering the LRU queues is best-effort - when the lock is busy the access is not reflected
+			if (this.lock.tryLock()) {
+				try {
+					if (this.window.get(key) == null) {
+						this.main.get(key);
+					}
+				} finally {
+					this.lock.unlock();
+				}
+			}
+			return partType.cast(cachedPart.getPart());
+		}
+	}
+
+	/**
+	 * Stores the part of the entity collection of `entityType` read from `location` to the cache. The part enters
+	 * the admission window and may later be admitted to the main region of the cache or thrown away.
+	 */
+	public <T extends StoragePart> void put(@Nonnull Serializable entityType, long primaryKey, @Nonnull Class<T> partType, @Nonnull FileLocation location, @Nonnull T part) {
+		final PartTypeStatistics partTypeStatistics = getStatistics(partType);
+		if (this.sketch == null || partTypeStatistics == null) {
+			return;
+		}
+		final long size = (long) location.getRecordLength() + ENTRY_OVERHEAD;
+		if (size > this.windowMaximumSizeInBytes && size > this.maximumSizeInBytes - this.windowMaximumSizeInBytes) {
+			// the part is too big to be cached
+			return;
+		}
+		final StoragePartCacheKey key = new StoragePartCacheKey(entityType, partType, primaryKey);
+		final CachedStoragePart cachedPart = new CachedStoragePart(key, location, part, size);
+		this.lock.lock();
+		try {
+			final CachedStoragePart previous = this.entries.put(key, cachedPart);
+			if (previous != null) {
+				removeFromRegions(key, previous);
+			}
+			this.window.put(key, cachedPart);
+			this.windowSize += size;
+			partTypeStatistics.register(size);
+			while (this.windowSize > this.windowMaximumSizeInBytes && !this.window.isEmpty()) {
+				final Iterator<Entry<StoragePartCacheKey, CachedStoragePart>> it = this.window.entrySet().iterator();
+				final CachedStoragePart candidate = it.next().getValue();
+				it.remove();
+				this.windowSize -= candidate.getSize();
+				admitToMain(candidate);
+			}
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the part of the entity collection of `entityType` from the cache if it's present there.
+	 */
+	public void invalidate(@Nonnull Serializable entityType, long primaryKey, @Nonnull Class<? extends StoragePart> partType) {
+		final PartTypeStatistics partTypeStatistics = getStatistics(partType);
+		if (this.sketch == null || partTypeStatistics == null) {
+			return;
+		}
+		final StoragePartCacheKey key = new StoragePartCacheKey(entityType, partType, primaryKey);
+		final CachedStoragePart cachedPart = this.entries.get(key);
+		if (cachedPart != null) {
+			partTypeStatistics.invalidations.increment();
+			evict(key, cachedPart);
+		}
+	}
+
+	/**
+	 * Returns cumulative statistics of the cache for each cached storage part type.
+	 */
+	@Nonnull
+	public Map<Class<?>, CacheStatistics> getStatistics() {
+		return this.statistics.entrySet()
+			.stream()
+			.collect(
+				Collectors.toUnmodifiableMap(
+					Entry::getKey,
+					it -> it.getValue().toCacheStatistics()
+				)
+			);
+	}
+
+	/*
+		PRIVATE METHODS
+	 */
+
+	/**
+	 * Returns statistics for passed part type or NULL if the type is not cacheable.
+	 */
+	@Nullable
+	private PartTypeStatistics getStatistics(@Nonnull Class<?> partType) {
+		return this.statistics.get(partType);
+	}
+
+	/**
+	 * Moves the candidate evicted from the window to the main region if there is free space or if the candidate is
+	 * accessed more frequently than the least recently used parts of the main region that would need to be evicted.
+	 * Otherwise, the candidate is thrown away. Must be called with {@link #lock} held.
+	 */
+	private void admitToMain(@Nonnull CachedStoragePart candidate) {
+		final long mainMaximumSize = this.maximumSizeInBytes - this.windowMaximumSizeInBytes;
+		final int candidateFrequency = this.sketch.frequency(candidate.getKey().hashCode());
+		final Iterator<Entry<StoragePartCacheKey, CachedStoragePart>> it = this.main.entrySet().iterator();
+		while (this.mainSize + candidate.getSize() > mainMaximumSize) {
+			final CachedStoragePart victim = it.hasNext() ? it.next().getValue() : null;
+			if (victim == null || candidateFrequency <= this.sketch.frequency(victim.getKey().hashCode())) {
+				// the candidate lost - throw it away
+				this.entries.remove(candidate.getKey(), candidate);
+				getStatistics(candidate.getKey().getPartType()).unregister(candidate.getSize());
+				return;
+			}
+			it.remove();
+			this.mainSize -= victim.getSize();
+			this.entries.remove(victim.getKey(), victim);
+			getStatistics(victim.getKey().getPartType()).unregister(victim.getSize());
+		}
+		this.main.put(candidate.getKey(), candidate);
+		this.mainSize += candidate.getSize();
+	}
+
+	/**
+	 * Removes the cached part from the cache entirely.
+	 */
+	private void evict(@Nonnull StoragePartCacheKey key, @Nonnull CachedStoragePart cachedPart) {
+		this.lock.lock();
+		try {
+			if (this.entries.remove(key, cachedPart)) {
+				removeFromRegions(key, cachedPart);
+			}
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the cached part from the window or the main region and updates the sizes. Must be called with
+	 * {@link #lock} held.
+	 */
+	private void removeFromRegions(@Nonnull StoragePartCacheKey key, @Nonnull CachedStoragePart cachedPart) {
+		if (this.window.remove(key, cachedPart)) {
+			this.windowSize -= cachedPart.getSize();
+		} else if (this.main.remove(key, cachedPart)) {
+			this.mainSize -= cachedPart.getSize();
+		}
+		getStatistics(key.getPartType()).unregister(cachedPart.getSize());
+	}
+
+	/**
+	 * Key of the cached part.
+	 */
+	@Data
+	private static class StoragePartCacheKey {
+		private final Serializable entityType;
+		private final Class<?> partType;
+		private final long primaryKey;
+	}
+
+	/**
+	 * Cached part along with the location it was read from.
+	 */
+	@Data
+	private static class CachedStoragePart {
+		private final StoragePartCacheKey key;
+		private final FileLocation location;
+		private final StoragePart part;
+		private final long size;
+	}
+
+	/**
+	 * Cumulative statistics of single storage part type.
+	 */
+	private static class PartTypeStatistics {
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+		private final LongAdder invalidations = new LongAdder();
+		private final AtomicInteger recordCount = new AtomicInteger();
+		private final AtomicLong usedByteSize = new AtomicLong();
+
+		void register(long size) {
+			this.recordCount.incrementAndGet();
+			this.usedByteSize.addAndGet(size);
+		}
+
+		void unregister(long size) {
+			this.recordCount.decrementAndGet();
+			this.usedByteSize.addAndGet(-size);
+		}
+
+		@Nonnull
+		CacheStatistics toCacheStatistics() {
+			return new CacheStatistics(
+				this.hits.sum(), this.misses.sum(), this.invalidations.sum(),
+				this.recordCount.get(), this.usedByteSize.get()
+			);
+		}
+	}
+
+}
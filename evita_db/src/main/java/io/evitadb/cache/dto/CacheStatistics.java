@@ -0,0 +1,84 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.cache.dto;
+
+import io.evitadb.cache.CacheEden;
+import lombok.Data;
+
+/**
+ * DTO containing cumulative statistics of the {@link CacheEden} since it was created. Statistics of two points in time
+ * may be subtracted by {@link #minus(CacheStatistics)} to get the statistics for the interval between them.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@Data
+public class CacheStatistics {
+	/**
+	 * Statistics of the cache that is disabled.
+	 */
+	public static final CacheStatistics EMPTY = new CacheStatistics(0L, 0L, 0L, 0, 0L);
+	/**
+	 * Count of requests that were served from the cache.
+	 */
+	private final long hits;
+	/**
+	 * Count of requests that were not served from the cache (including {@link #invalidations}).
+	 */
+	private final long misses;
+	/**
+	 * Count of requests that found the cached record, but the record was made obsolete by a committed transaction.
+	 */
+	private final long invalidations;
+	/**
+	 * Count of records present in the cache.
+	 */
+	private final int recordCount;
+	/**
+	 * Estimated size of the cache in Bytes.
+	 */
+	private final long usedByteSize;
+
+	/**
+	 * Returns ratio of the hits to all cache requests in the interval from 0 to 1.
+	 */
+	public double getHitRatio() {
+		final long requests = hits + misses;
+		return requests == 0L ? 0d : (double) hits / (double) requests;
+	}
+
+	/**
+	 * Returns statistics for the interval between `previous` statistics and this one. Record count and size reflect
+	 * the state of this instance.
+	 */
+	public CacheStatistics minus(CacheStatistics previous) {
+		return new CacheStatistics(
+			hits - previous.hits,
+			misses - previous.misses,
+			invalidations - previous.invalidations,
+			recordCount,
+			usedByteSize
+		);
+	}
+
+}
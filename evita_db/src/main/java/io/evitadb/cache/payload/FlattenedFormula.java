@@ -25,6 +25,7 @@ package io.evitadb.cache.payload;
 import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.RoaringBitmapBackedBitmap;
+import io.evitadb.index.iterator.BatchArrayIterator;
 import io.evitadb.query.algebra.Formula;
 import io.evitadb.query.algebra.FormulaVisitor;
 import net.openhft.hashing.LongHashFunction;
@@ -123,6 +124,12 @@ public class FlattenedFormula extends CachePayloadHeader implements Formula {
 		return memoizedResult;
 	}
 
+	@Nonnull
+	@Override
+	public BatchArrayIterator batchIterator() {
+		return memoizedResult.batchIterator();
+	}
+
 	@Override
 	public String toString() {
 		return "FLATTENED: " +  memoizedResult.toString();
@@ -25,7 +25,9 @@ package io.evitadb.index;
 import io.evitadb.api.EntityCollection;
 import io.evitadb.api.data.Versioned;
 import io.evitadb.api.schema.EntitySchema;
+import io.evitadb.api.serialization.KeyCompressor;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.attribute.AttributeIndex;
 import io.evitadb.index.attribute.AttributeIndexContract;
 import io.evitadb.index.bitmap.Bitmap;
@@ -34,6 +36,8 @@ import io.evitadb.index.bitmap.TransactionalBitmap;
 import io.evitadb.index.bool.TransactionalBoolean;
 import io.evitadb.index.facet.FacetIndex;
 import io.evitadb.index.facet.FacetIndexContract;
+import io.evitadb.index.footprint.IndexFootprintCollector;
+import io.evitadb.index.footprint.IndexFootprintPart;
 import io.evitadb.index.hierarchy.HierarchyIndex;
 import io.evitadb.index.hierarchy.HierarchyIndexContract;
 import io.evitadb.index.map.TransactionalMemoryMap;
@@ -45,6 +49,7 @@ import io.evitadb.index.transactionalMemory.TransactionalObjectVersion;
 import io.evitadb.query.algebra.Formula;
 import io.evitadb.query.algebra.base.ConstantFormula;
 import io.evitadb.query.algebra.base.EmptyFormula;
+import io.evitadb.storage.model.storageParts.PersistedStoragePartKey;
 import io.evitadb.storage.model.storageParts.StoragePart;
 import io.evitadb.storage.model.storageParts.index.AttributeIndexStorageKey;
 import io.evitadb.storage.model.storageParts.index.AttributeIndexStoragePart.AttributeIndexType;
@@ -53,6 +58,7 @@ import lombok.Getter;
 import lombok.experimental.Delegate;
 
 import javax.annotation.Nonnull;
+import java.io.Serializable;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.function.Supplier;
@@ -287,6 +293,15 @@ public abstract class EntityIndex implements PriceIndexContract, Versioned, Enti
 		return dirtyList;
 	}
 
+	/**
+	 * Method returns keys of the storage parts that belonged to the removed parts of this index and needs to be removed
+	 * from the persistent storage.
+	 */
+	@Nonnull
+	public Collection<PersistedStoragePartKey> getRemovedStorageParts(@Nonnull KeyCompressor keyCompressor) {
+		return Collections.emptyList();
+	}
+
 	@Override
 	public void resetDirty() {
 		this.dirty.reset();
@@ -305,12 +320,45 @@ public abstract class EntityIndex implements PriceIndexContract, Versioned, Enti
 		this.facetIndex.clearTransactionalMemory();
 	}
 
+	@Override
+	public long estimateSize() {
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			2 * MemoryMeasuringConstants.INT_SIZE + 8 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			estimateEntityIdsSize() +
+			this.attributeIndex.estimateSize() +
+			this.facetIndex.estimateSize() +
+			this.hierarchyIndex.estimateSize();
+	}
+
+	/**
+	 * Registers estimated sizes of all parts of this index to the passed collector.
+	 */
+	public void collectFootprint(@Nonnull Serializable entityType, @Nonnull IndexFootprintCollector collector) {
+		final EntityIndexType indexType = this.entityIndexKey.getType();
+		collector.record(entityType, indexType, IndexFootprintPart.ENTITY_IDS, null, estimateEntityIdsSize());
+		this.attributeIndex.collectFootprint(entityType, indexType, collector);
+		collector.record(entityType, indexType, IndexFootprintPart.FACET, null, this.facetIndex.estimateSize());
+		collector.record(entityType, indexType, IndexFootprintPart.HIERARCHY, null, this.hierarchyIndex.estimateSize());
+	}
+
 	public abstract <S extends PriceIndexContract> S getPriceIndex();
 
 	/*
 		PRIVATE METHODS
 	 */
 
+	/**
+	 * Returns estimated size of the {@link #entityIds} and {@link #entityIdsByLanguage} bitmaps in Bytes.
+	 */
+	private long estimateEntityIdsSize() {
+		long size = this.entityIds.estimateSize() +
+			MemoryMeasuringConstants.computeHashMapSize(this.entityIdsByLanguage.size());
+		for (TransactionalBitmap languageIds : this.entityIdsByLanguage.values()) {
+			size += languageIds.estimateSize();
+		}
+		return size;
+	}
+
 	/**
 	 * Method creates container that is possible to serialize with {@link com.esotericsoftware.kryo.Kryo} and store
 	 * into {@link io.evitadb.storage.MemTable} storage.
@@ -40,4 +40,10 @@ public interface EntityIndexDataStructure {
 	 */
 	void clearTransactionalMemory();
 
+	/**
+	 * Returns estimated size of the data structure (including all nested structures) on Java heap in Bytes. Returned
+	 * size is only rough estimate of the committed state - changes kept in transactional layers are not counted.
+	 */
+	long estimateSize();
+
 }
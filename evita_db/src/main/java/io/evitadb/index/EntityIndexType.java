@@ -54,5 +54,12 @@ public enum EntityIndexType {
 	 * Index that contains the similar data as {@link #GLOBAL} index but only for those entities that are referencing
 	 * entity with {@link io.evitadb.api.data.HierarchicalPlacementContract} defined.
 	 */
-	REFERENCED_HIERARCHY_NODE
+	REFERENCED_HIERARCHY_NODE,
+	/**
+	 * Index that contains the similar data as {@link #REFERENCED_HIERARCHY_NODE} index but for all entities that are
+	 * referencing any node in the sub-tree of the hierarchy node (including the node itself). These indexes are
+	 * maintained only for the levels of the hierarchy configured in
+	 * {@link io.evitadb.api.schema.ReferenceSchema#getHierarchyRollUpLevels()}.
+	 */
+	REFERENCED_HIERARCHY_ROLL_UP
 }
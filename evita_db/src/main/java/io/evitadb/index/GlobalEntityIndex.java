@@ -24,10 +24,13 @@ package io.evitadb.index;
 
 import io.evitadb.api.Transaction;
 import io.evitadb.api.schema.EntitySchema;
+import io.evitadb.api.serialization.KeyCompressor;
 import io.evitadb.index.attribute.AttributeIndex;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.TransactionalBitmap;
 import io.evitadb.index.facet.FacetIndex;
+import io.evitadb.index.footprint.IndexFootprintCollector;
+import io.evitadb.index.footprint.IndexFootprintPart;
 import io.evitadb.index.hierarchy.HierarchyIndex;
 import io.evitadb.index.price.PriceIndexContract;
 import io.evitadb.index.price.PriceSuperIndex;
@@ -35,12 +38,14 @@ import io.evitadb.index.transactionalMemory.TransactionalLayerMaintainer;
 import io.evitadb.index.transactionalMemory.TransactionalMemory;
 import io.evitadb.index.transactionalMemory.VoidTransactionMemoryProducer;
 import io.evitadb.query.algebra.Formula;
+import io.evitadb.storage.model.storageParts.PersistedStoragePartKey;
 import io.evitadb.storage.model.storageParts.StoragePart;
 import lombok.Getter;
 import lombok.experimental.Delegate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Locale;
 import java.util.Map;
@@ -101,12 +106,29 @@ public class GlobalEntityIndex extends EntityIndex implements VoidTransactionMem
 		return dirtyList;
 	}
 
+	@Nonnull
+	@Override
+	public Collection<PersistedStoragePartKey> getRemovedStorageParts(@Nonnull KeyCompressor keyCompressor) {
+		return this.priceIndex.getRemovedStorageParts(this.primaryKey, keyCompressor);
+	}
+
 	@Override
 	public void resetDirty() {
 		super.resetDirty();
 		this.priceIndex.resetDirty();
 	}
 
+	@Override
+	public long estimateSize() {
+		return super.estimateSize() + this.priceIndex.estimateSize();
+	}
+
+	@Override
+	public void collectFootprint(@Nonnull Serializable entityType, @Nonnull IndexFootprintCollector collector) {
+		super.collectFootprint(entityType, collector);
+		collector.record(entityType, this.entityIndexKey.getType(), IndexFootprintPart.PRICE, null, this.priceIndex.estimateSize());
+	}
+
 	@Override
 	public void clearTransactionalMemory() {
 		super.clearTransactionalMemory();
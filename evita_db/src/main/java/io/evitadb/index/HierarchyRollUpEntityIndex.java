@@ -0,0 +1,274 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index;
+
+import io.evitadb.api.Transaction;
+import io.evitadb.api.schema.EntitySchema;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
+import io.evitadb.index.attribute.AttributeIndex;
+import io.evitadb.index.bitmap.Bitmap;
+import io.evitadb.index.bitmap.EmptyBitmap;
+import io.evitadb.index.bitmap.TransactionalBitmap;
+import io.evitadb.index.bool.TransactionalBoolean;
+import io.evitadb.index.facet.FacetIndex;
+import io.evitadb.index.footprint.IndexFootprintCollector;
+import io.evitadb.index.footprint.IndexFootprintPart;
+import io.evitadb.index.hierarchy.HierarchyIndex;
+import io.evitadb.index.map.TransactionalMemoryMap;
+import io.evitadb.index.price.PriceRefIndex;
+import io.evitadb.index.price.PriceSuperIndex;
+import io.evitadb.index.transactionalMemory.TransactionalLayerMaintainer;
+import io.evitadb.index.transactionalMemory.TransactionalMemory;
+import io.evitadb.storage.model.storageParts.StoragePart;
+import io.evitadb.storage.model.storageParts.index.HierarchyRollUpIndexStoragePart;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static io.evitadb.api.utils.CollectionUtils.createHashMap;
+import static java.util.Optional.ofNullable;
+
+/**
+ * Hierarchy roll-up entity index is a {@link ReducedEntityIndex} of the {@link EntityIndexType#REFERENCED_HIERARCHY_ROLL_UP}
+ * type that aggregates data of all entities referencing any node in the sub-tree of particular hierarchy node
+ * (including the node itself). Queries targeting entire sub-tree may be then answered from this single index instead
+ * of combining {@link EntityIndexType#REFERENCED_HIERARCHY_NODE} indexes of all the nodes in the sub-tree.
+ *
+ * Besides the data of the reduced index the roll-up index keeps track of the hierarchy nodes the entities were
+ * aggregated through. The entity stays in the index until it references at least one node it was aggregated through.
+ * The index also carries explicit {@link #isComplete() completeness} flag. The flag is cleared while the index is being
+ * rebuilt in bulk (hierarchy roll-up levels were added or the placement of the nodes in the hierarchy changed) and set
+ * again when the rebuild finishes. The query planner may use only the complete index instead of the node indexes
+ * of the sub-tree - incomplete index may remain only when the rebuild failed in non-transactional mode.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public class HierarchyRollUpEntityIndex extends ReducedEntityIndex {
+	/**
+	 * This is internal flag that tracks whether the {@link #nodeEntityIds} or {@link #complete} became dirty and needs to be persisted.
+	 */
+	private final TransactionalBoolean rollUpDirty;
+	/**
+	 * Map contains entity ids aggregated in this index by the primary key of the referenced hierarchy node they were
+	 * aggregated through.
+	 */
+	private final TransactionalMemoryMap<Integer, TransactionalBitmap> nodeEntityIds;
+	/**
+	 * Contains TRUE if the index aggregates all entities referencing any node of the sub-tree.
+	 */
+	private final TransactionalBoolean complete;
+
+	public HierarchyRollUpEntityIndex(int primaryKey, @Nonnull EntityIndexKey entityIndexKey, @Nonnull Supplier<EntitySchema> schemaAccessor, @Nonnull Supplier<PriceSuperIndex> superIndexAccessor) {
+		super(primaryKey, entityIndexKey, schemaAccessor, superIndexAccessor);
+		this.rollUpDirty = new TransactionalBoolean();
+		this.nodeEntityIds = new TransactionalMemoryMap<>(createHashMap(16));
+		// new index is created by the first entity entering it - all the other ones will enter it the same way
+		this.complete = new TransactionalBoolean(true);
+	}
+
+	public HierarchyRollUpEntityIndex(int primaryKey, @Nonnull EntityIndexKey entityIndexKey, int version, @Nonnull Supplier<EntitySchema> schemaAccessor, @Nonnull Bitmap entityIds, @Nonnull Map<Locale, TransactionalBitmap> entityIdsByLanguage, @Nonnull AttributeIndex attributeIndex, @Nonnull PriceRefIndex priceIndex, @Nonnull HierarchyIndex hierarchyIndex, @Nonnull FacetIndex facetIndex, @Nonnull Map<Integer, ? extends Bitmap> nodeEntityIds, boolean complete) {
+		super(primaryKey, entityIndexKey, version, schemaAccessor, entityIds, entityIdsByLanguage, attributeIndex, priceIndex, hierarchyIndex, facetIndex);
+		this.rollUpDirty = new TransactionalBoolean();
+		this.complete = new TransactionalBoolean(complete);
+		final Map<Integer, TransactionalBitmap> txMap = createHashMap(nodeEntityIds.size());
+		for (Entry<Integer, ? extends Bitmap> entry : nodeEntityIds.entrySet()) {
+			txMap.put(entry.getKey(), new TransactionalBitmap(entry.getValue()));
+		}
+		this.nodeEntityIds = new TransactionalMemoryMap<>(txMap);
+	}
+
+	/**
+	 * Returns true if the index aggregates all entities referencing any node of the sub-tree and may be used instead
+	 * of the indexes of the nodes of the sub-tree.
+	 */
+	public boolean isComplete() {
+		return this.complete.isTrue();
+	}
+
+	/**
+	 * Marks the index as incomplete before its contents are rebuilt in bulk.
+	 */
+	public void markIncomplete() {
+		if (this.complete.isTrue()) {
+			this.complete.reset();
+			this.rollUpDirty.setToTrue();
+		}
+	}
+
+	/**
+	 * Marks the index as complete after its contents were rebuilt in bulk.
+	 */
+	public void markComplete() {
+		if (!this.complete.isTrue()) {
+			this.complete.setToTrue();
+			this.rollUpDirty.setToTrue();
+		}
+	}
+
+	/**
+	 * Registers that entity with `entityPrimaryKey` is aggregated in this index through the referenced hierarchy node
+	 * with `nodeId`. Returns true if the registration was not present before.
+	 */
+	public boolean addNodeEntity(int nodeId, int entityPrimaryKey) {
+		final boolean added = this.nodeEntityIds
+			.computeIfAbsent(nodeId, nid -> new TransactionalBitmap())
+			.add(entityPrimaryKey);
+		if (added) {
+			this.rollUpDirty.setToTrue();
+		}
+		return added;
+	}
+
+	/**
+	 * Removes registration of the entity with `entityPrimaryKey` aggregated in this index through the referenced
+	 * hierarchy node with `nodeId`. Returns true if the registration was present.
+	 */
+	public boolean removeNodeEntity(int nodeId, int entityPrimaryKey) {
+		final TransactionalBitmap entityIds = this.nodeEntityIds.get(nodeId);
+		if (entityIds == null || !entityIds.remove(entityPrimaryKey)) {
+			return false;
+		}
+		if (entityIds.isEmpty()) {
+			this.nodeEntityIds.remove(nodeId);
+			// remove the changes container - the bitmap got removed entirely
+			TransactionalMemory.removeTransactionalMemoryLayerIfExists(entityIds);
+		}
+		this.rollUpDirty.setToTrue();
+		return true;
+	}
+
+	/**
+	 * Returns primary keys of all entities aggregated in this index through the referenced hierarchy node with `nodeId`.
+	 */
+	@Nonnull
+	public Bitmap getNodeEntityIds(int nodeId) {
+		return ofNullable((Bitmap) this.nodeEntityIds.get(nodeId)).orElse(EmptyBitmap.INSTANCE);
+	}
+
+	/**
+	 * Returns primary keys of all referenced hierarchy nodes the entities were aggregated in this index through.
+	 */
+	@Nonnull
+	public Set<Integer> getNodes() {
+		return this.nodeEntityIds.keySet();
+	}
+
+	/**
+	 * Returns true if entity with `entityPrimaryKey` is aggregated in this index through any of the referenced
+	 * hierarchy nodes in `nodeIds`.
+	 */
+	public boolean isAggregatedThroughAnyOf(int entityPrimaryKey, @Nonnull int[] nodeIds) {
+		for (int nodeId : nodeIds) {
+			final TransactionalBitmap entityIds = this.nodeEntityIds.get(nodeId);
+			if (entityIds != null && entityIds.contains(entityPrimaryKey)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return super.isEmpty() && this.nodeEntityIds.isEmpty();
+	}
+
+	@Override
+	public Collection<StoragePart> getModifiedStorageParts() {
+		final Collection<StoragePart> dirtyList = super.getModifiedStorageParts();
+		if (this.rollUpDirty.isTrue()) {
+			final Map<Integer, Bitmap> nodeEntityIdsToStore = createHashMap(this.nodeEntityIds.size());
+			for (Entry<Integer, TransactionalBitmap> entry : this.nodeEntityIds.entrySet()) {
+				nodeEntityIdsToStore.put(entry.getKey(), entry.getValue());
+			}
+			dirtyList.add(new HierarchyRollUpIndexStoragePart(this.primaryKey, nodeEntityIdsToStore, this.complete.isTrue()));
+		}
+		return dirtyList;
+	}
+
+	@Override
+	public void resetDirty() {
+		super.resetDirty();
+		this.rollUpDirty.reset();
+	}
+
+	@Override
+	public long estimateSize() {
+		return super.estimateSize() + estimateNodeEntityIdsSize();
+	}
+
+	@Override
+	public void collectFootprint(@Nonnull Serializable entityType, @Nonnull IndexFootprintCollector collector) {
+		super.collectFootprint(entityType, collector);
+		collector.record(entityType, this.entityIndexKey.getType(), IndexFootprintPart.HIERARCHY_ROLL_UP, null, estimateNodeEntityIdsSize());
+	}
+
+	@Override
+	public void clearTransactionalMemory() {
+		super.clearTransactionalMemory();
+		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this.rollUpDirty);
+		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this.nodeEntityIds);
+		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this.complete);
+	}
+
+	@Override
+	public HierarchyRollUpEntityIndex createCopyWithMergedTransactionalMemory(@Nullable Void layer, @Nonnull TransactionalLayerMaintainer transactionalLayer, Transaction transaction) {
+		// we can safely throw away dirty flags now
+		transactionalLayer.removeTransactionalMemoryLayerIfExists(this.dirty);
+		transactionalLayer.removeTransactionalMemoryLayerIfExists(this.rollUpDirty);
+		return new HierarchyRollUpEntityIndex(
+			primaryKey, entityIndexKey, version + 1, schemaAccessor,
+			transactionalLayer.getStateCopyWithCommittedChanges(this.entityIds, transaction),
+			transactionalLayer.getStateCopyWithCommittedChanges(this.entityIdsByLanguage, transaction),
+			transactionalLayer.getStateCopyWithCommittedChanges(this.attributeIndex, transaction),
+			transactionalLayer.getStateCopyWithCommittedChanges(this.priceIndex, transaction),
+			transactionalLayer.getStateCopyWithCommittedChanges(this.hierarchyIndex, transaction),
+			transactionalLayer.getStateCopyWithCommittedChanges(this.facetIndex, transaction),
+			transactionalLayer.getStateCopyWithCommittedChanges(this.nodeEntityIds, transaction),
+			transactionalLayer.getStateCopyWithCommittedChanges(this.complete, transaction)
+		);
+	}
+
+	/*
+		PRIVATE METHODS
+	 */
+
+	/**
+	 * Returns estimated size of the {@link #nodeEntityIds} bitmaps in Bytes.
+	 */
+	private long estimateNodeEntityIdsSize() {
+		long size = 2L * MemoryMeasuringConstants.REFERENCE_SIZE +
+			MemoryMeasuringConstants.computeHashMapSize(this.nodeEntityIds.size());
+		for (TransactionalBitmap entityIds : this.nodeEntityIds.values()) {
+			size += entityIds.estimateSize();
+		}
+		return size;
+	}
+
+}
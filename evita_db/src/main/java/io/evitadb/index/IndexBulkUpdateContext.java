@@ -0,0 +1,130 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index;
+
+import io.evitadb.index.transactionalMemory.TransactionalMemory;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * This context allows index data structures to defer expensive per-record maintenance (typically binary inserts into
+ * presorted arrays) when large amount of records is inserted at once - i.e. in bulk upsert executed in the catalog
+ * warm-up state where no transactions are used. Data structures register themselves via {@link #defer(DeferredUpdate)}
+ * and their deferred updates are applied at once when the outermost {@link #executeInBulk(Supplier)} block finishes
+ * successfully. Deferred updates of different data structures are independent and are applied in parallel. When
+ * the block fails, the deferred updates are discarded so that they can't mask the original exception.
+ *
+ * Data structure that defers its updates is responsible for applying them on its own before it's read or modified in
+ * a way incompatible with the deferred state.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public class IndexBulkUpdateContext {
+	private static final ThreadLocal<IndexBulkUpdateContext> BULK_UPDATE_CONTEXT = new ThreadLocal<>();
+	/**
+	 * Contains all data structures that deferred their updates in this context.
+	 */
+	private final Set<DeferredUpdate> deferredUpdates = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private IndexBulkUpdateContext() {
+	}
+
+	/**
+	 * Executes `lambda` in the bulk update context. If the context is already active, the lambda simply joins it.
+	 * All deferred updates are applied before this method returns, or discarded when the lambda throws an exception.
+	 */
+	public static <T> T executeInBulk(@Nonnull Supplier<T> lambda) {
+		if (BULK_UPDATE_CONTEXT.get() != null) {
+			return lambda.get();
+		}
+		final IndexBulkUpdateContext context = new IndexBulkUpdateContext();
+		BULK_UPDATE_CONTEXT.set(context);
+		final T result;
+		try {
+			result = lambda.get();
+		} catch (RuntimeException | Error ex) {
+			context.discardDeferredUpdates();
+			throw ex;
+		} finally {
+			BULK_UPDATE_CONTEXT.remove();
+		}
+		context.applyDeferredUpdates();
+		return result;
+	}
+
+	/**
+	 * Registers data structure that wants to defer its updates to the end of the bulk. Returns false when there is
+	 * no bulk context active or when the transactional memory is available - in such case the data structure must
+	 * apply the update immediately.
+	 */
+	public static boolean defer(@Nonnull DeferredUpdate dataStructure) {
+		final IndexBulkUpdateContext context = BULK_UPDATE_CONTEXT.get();
+		if (context == null || TransactionalMemory.isTransactionalMemoryAvailable()) {
+			return false;
+		}
+		context.deferredUpdates.add(dataStructure);
+		return true;
+	}
+
+	/**
+	 * Applies deferred updates of all registered data structures. Each data structure is touched by single thread only.
+	 */
+	private void applyDeferredUpdates() {
+		final List<DeferredUpdate> updates = new ArrayList<>(this.deferredUpdates);
+		this.deferredUpdates.clear();
+		updates.parallelStream().forEach(DeferredUpdate::applyDeferredUpdates);
+	}
+
+	/**
+	 * Drops deferred updates of all registered data structures without applying them.
+	 */
+	private void discardDeferredUpdates() {
+		this.deferredUpdates.forEach(DeferredUpdate::discardDeferredUpdates);
+		this.deferredUpdates.clear();
+	}
+
+	/**
+	 * Contract for data structures that are able to defer their updates within {@link IndexBulkUpdateContext}.
+	 */
+	public interface DeferredUpdate {
+
+		/**
+		 * Applies all deferred updates to the data structure. Method must be idempotent - it may be called multiple
+		 * times and must do nothing when there are no deferred updates.
+		 */
+		void applyDeferredUpdates();
+
+		/**
+		 * Drops all deferred updates without applying them. Called when the bulk the updates were deferred in fails.
+		 */
+		void discardDeferredUpdates();
+
+	}
+
+}
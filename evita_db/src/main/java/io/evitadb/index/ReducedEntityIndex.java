@@ -29,6 +29,8 @@ import io.evitadb.index.attribute.AttributeIndex;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.TransactionalBitmap;
 import io.evitadb.index.facet.FacetIndex;
+import io.evitadb.index.footprint.IndexFootprintCollector;
+import io.evitadb.index.footprint.IndexFootprintPart;
 import io.evitadb.index.hierarchy.HierarchyIndex;
 import io.evitadb.index.price.PriceIndexContract;
 import io.evitadb.index.price.PriceRefIndex;
@@ -43,6 +45,7 @@ import lombok.experimental.Delegate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Locale;
 import java.util.Map;
@@ -65,7 +68,7 @@ public class ReducedEntityIndex extends EntityIndex implements VoidTransactionMe
 	 * constructing {@link Formula} tree for the constraints related to the prices.
 	 */
 	@Delegate(types = PriceIndexContract.class)
-	@Getter private final PriceRefIndex priceIndex;
+	@Getter protected final PriceRefIndex priceIndex;
 
 	public ReducedEntityIndex(int primaryKey, @Nonnull EntityIndexKey entityIndexKey, @Nonnull Supplier<EntitySchema> schemaAccessor, @Nonnull Supplier<PriceSuperIndex> superIndexAccessor) {
 		super(primaryKey, entityIndexKey, schemaAccessor);
@@ -101,6 +104,17 @@ public class ReducedEntityIndex extends EntityIndex implements VoidTransactionMe
 		this.priceIndex.resetDirty();
 	}
 
+	@Override
+	public long estimateSize() {
+		return super.estimateSize() + this.priceIndex.estimateSize();
+	}
+
+	@Override
+	public void collectFootprint(@Nonnull Serializable entityType, @Nonnull IndexFootprintCollector collector) {
+		super.collectFootprint(entityType, collector);
+		collector.record(entityType, this.entityIndexKey.getType(), IndexFootprintPart.PRICE, null, this.priceIndex.estimateSize());
+	}
+
 	@Override
 	public void clearTransactionalMemory() {
 		super.clearTransactionalMemory();
@@ -92,7 +92,7 @@ public class TransactionalComplexObjArray<T extends TransactionalObject<T> & Com
 	 * Method returns record on specified index of the array.
 	 */
 	public T get(int index) {
-		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.delegate[index];
 		} else {
@@ -222,7 +222,7 @@ public class TransactionalComplexObjArray<T extends TransactionalObject<T> & Com
 	 * This operation might be costly because it requires final array computation.
 	 */
 	public int getLength() {
-		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.delegate.length;
 		} else {
@@ -235,7 +235,7 @@ public class TransactionalComplexObjArray<T extends TransactionalObject<T> & Com
 	 * This operation might be costly because it requires final array computation.
 	 */
 	public boolean isEmpty() {
-		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return ArrayUtils.isEmpty(this.delegate);
 		} else {
@@ -249,7 +249,7 @@ public class TransactionalComplexObjArray<T extends TransactionalObject<T> & Com
 	 * @return negative value when record is not found, positive if found
 	 */
 	public int indexOf(T recordId) {
-		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return Arrays.binarySearch(this.delegate, recordId);
 		} else {
@@ -261,7 +261,7 @@ public class TransactionalComplexObjArray<T extends TransactionalObject<T> & Com
 	 * Returns true if record is part of the array.
 	 */
 	public boolean contains(T recordId) {
-		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return Arrays.binarySearch(this.delegate, recordId) >= 0;
 		} else {
@@ -273,7 +273,7 @@ public class TransactionalComplexObjArray<T extends TransactionalObject<T> & Com
 	 * Returns iterator that allows to iterate through all record of the array.
 	 */
 	public Iterator<T> iterator() {
-		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ComplexObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return new ConstantObjIterator<>(this.delegate);
 		} else {
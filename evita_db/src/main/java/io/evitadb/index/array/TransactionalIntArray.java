@@ -71,7 +71,7 @@ public class TransactionalIntArray implements TransactionalLayerProducer<IntArra
 	 * Method returns record id on specified index of the array.
 	 */
 	public int get(int index) {
-		final IntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final IntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.delegate[index];
 		} else {
@@ -154,7 +154,7 @@ public class TransactionalIntArray implements TransactionalLayerProducer<IntArra
 	 * Returns length of the array.
 	 */
 	public int getLength() {
-		final IntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final IntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.delegate.length;
 		} else {
@@ -166,7 +166,7 @@ public class TransactionalIntArray implements TransactionalLayerProducer<IntArra
 	 * Returns true if array contain no record ids.
 	 */
 	public boolean isEmpty() {
-		final IntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final IntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return ArrayUtils.isEmpty(this.delegate);
 		} else {
@@ -180,7 +180,7 @@ public class TransactionalIntArray implements TransactionalLayerProducer<IntArra
 	 * @return negative value when record is not found, positive if found
 	 */
 	public int indexOf(int recordId) {
-		final IntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final IntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return Arrays.binarySearch(this.delegate, recordId);
 		} else {
@@ -192,7 +192,7 @@ public class TransactionalIntArray implements TransactionalLayerProducer<IntArra
 	 * Returns true if record id is part of the array.
 	 */
 	public boolean contains(int recordId) {
-		final IntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final IntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return Arrays.binarySearch(this.delegate, recordId) >= 0;
 		} else {
@@ -204,7 +204,7 @@ public class TransactionalIntArray implements TransactionalLayerProducer<IntArra
 	 * Returns iterator that allows to iterate through all record ids of the array.
 	 */
 	public OfInt iterator() {
-		final IntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final IntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return new ConstantIntIterator(this.delegate);
 		} else {
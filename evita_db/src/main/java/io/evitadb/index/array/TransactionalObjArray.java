@@ -38,7 +38,9 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.function.ToIntBiFunction;
 
+import static io.evitadb.api.utils.Assert.isTrue;
 import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransactionalMemoryLayer;
+import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransactionalMemoryLayerIfExists;
 import static io.evitadb.index.transactionalMemory.TransactionalMemory.isTransactionalMemoryAvailable;
 
 /**
@@ -68,7 +70,7 @@ public class TransactionalObjArray<T extends Comparable<T>> implements Transacti
 	 * Method returns record id on specified index of the array.
 	 */
 	public T get(int index) {
-		final ObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.delegate[index];
 		} else {
@@ -80,7 +82,7 @@ public class TransactionalObjArray<T extends Comparable<T>> implements Transacti
 	 * Method returns the underlying array or record ids.
 	 */
 	public T[] getArray() {
-		final ObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.delegate;
 		} else {
@@ -100,6 +102,15 @@ public class TransactionalObjArray<T extends Comparable<T>> implements Transacti
 		}
 	}
 
+	/**
+	 * Method replaces the whole contents of the array at once. Passed array must be already sorted. Replacing is
+	 * allowed only when no transaction is opened and changes are applied directly to the delegate array.
+	 */
+	public void replaceArray(@Nonnull T[] sortedArray) {
+		isTrue(!isTransactionalMemoryAvailable(), "Array contents can be replaced only outside of transaction!");
+		this.delegate = sortedArray;
+	}
+
 	/**
 	 * Method adds multiple record ids to the array.
 	 */
@@ -134,7 +145,7 @@ public class TransactionalObjArray<T extends Comparable<T>> implements Transacti
 	 * Returns length of the array.
 	 */
 	public int getLength() {
-		final ObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.delegate.length;
 		} else {
@@ -146,7 +157,7 @@ public class TransactionalObjArray<T extends Comparable<T>> implements Transacti
 	 * Returns true if array contain no record ids.
 	 */
 	public boolean isEmpty() {
-		final ObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return ArrayUtils.isEmpty(this.delegate);
 		} else {
@@ -160,7 +171,7 @@ public class TransactionalObjArray<T extends Comparable<T>> implements Transacti
 	 * @return negative value when record is not found, positive if found
 	 */
 	public int indexOf(T recordId) {
-		final ObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return Arrays.binarySearch(this.delegate, recordId, Comparable::compareTo);
 		} else {
@@ -172,7 +183,7 @@ public class TransactionalObjArray<T extends Comparable<T>> implements Transacti
 	 * Returns true if record id is part of the array.
 	 */
 	public boolean contains(T recordId) {
-		final ObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return Arrays.binarySearch(this.delegate, recordId, Comparable::compareTo) >= 0;
 		} else {
@@ -186,7 +197,7 @@ public class TransactionalObjArray<T extends Comparable<T>> implements Transacti
 	 * @return negative value when record is not found, positive if found
 	 */
 	public <U> boolean contains(U recordId, ToIntBiFunction<T, U> idExtractor) {
-		final ObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return ArrayUtils.binarySearch(this.delegate, recordId, idExtractor) >= 0;
 		} else {
@@ -198,7 +209,7 @@ public class TransactionalObjArray<T extends Comparable<T>> implements Transacti
 	 * Returns iterator that allows to iterate through all record ids of the array.
 	 */
 	public Iterator<T> iterator() {
-		final ObjArrayChanges<T> layer = getTransactionalMemoryLayer(this);
+		final ObjArrayChanges<T> layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return new ConstantObjIterator<>(this.delegate);
 		} else {
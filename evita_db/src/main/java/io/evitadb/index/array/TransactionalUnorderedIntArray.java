@@ -39,7 +39,9 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.PrimitiveIterator.OfInt;
 
+import static io.evitadb.api.utils.Assert.isTrue;
 import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransactionalMemoryLayer;
+import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransactionalMemoryLayerIfExists;
 import static io.evitadb.index.transactionalMemory.TransactionalMemory.isTransactionalMemoryAvailable;
 
 /**
@@ -87,7 +89,7 @@ public class TransactionalUnorderedIntArray implements TransactionalLayerProduce
 	 * Method returns record id on specified index of the array.
 	 */
 	public int get(int index) {
-		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.lookup.getRecordAt(index);
 		} else {
@@ -119,6 +121,15 @@ public class TransactionalUnorderedIntArray implements TransactionalLayerProduce
 		}
 	}
 
+	/**
+	 * Method replaces the whole contents of the array at once. Replacing is allowed only when no transaction is opened
+	 * and changes are applied directly to the delegate array.
+	 */
+	public void replaceArray(@Nonnull int[] unorderedArray) {
+		isTrue(!isTransactionalMemoryAvailable(), "Array contents can be replaced only outside of transaction!");
+		this.lookup.replaceArray(unorderedArray);
+	}
+
 	/**
 	 * Method adds new record to the array, just after the record specified as `previousRecordId`.
 	 */
@@ -195,7 +206,7 @@ public class TransactionalUnorderedIntArray implements TransactionalLayerProduce
 	 * Returns length of the array.
 	 */
 	public int getLength() {
-		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.lookup.size();
 		} else {
@@ -207,7 +218,7 @@ public class TransactionalUnorderedIntArray implements TransactionalLayerProduce
 	 * Returns true if array contain no record ids.
 	 */
 	public boolean isEmpty() {
-		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.lookup.size() == 0;
 		} else {
@@ -221,7 +232,7 @@ public class TransactionalUnorderedIntArray implements TransactionalLayerProduce
 	 * @return negative value when record is not found, positive if found
 	 */
 	public int indexOf(int recordId) {
-		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.lookup.findPosition(recordId);
 		} else {
@@ -233,7 +244,7 @@ public class TransactionalUnorderedIntArray implements TransactionalLayerProduce
 	 * Returns true if record id is part of the array.
 	 */
 	public boolean contains(int recordId) {
-		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return this.lookup.findPosition(recordId) != Integer.MIN_VALUE;
 		} else {
@@ -245,7 +256,7 @@ public class TransactionalUnorderedIntArray implements TransactionalLayerProduce
 	 * Returns iterator that allows to iterate through all record ids of the array.
 	 */
 	public OfInt iterator() {
-		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayer(this);
+		final UnorderedIntArrayChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return new ConstantIntIterator(this.lookup.getArray());
 		} else {
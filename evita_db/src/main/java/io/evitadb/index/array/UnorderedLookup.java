@@ -88,18 +88,28 @@ public class UnorderedLookup implements Serializable {
 	 * Creates new instance.
 	 */
 	public UnorderedLookup(int[] unorderedArray) {
+		replaceArray(unorderedArray);
+	}
+
+	/**
+	 * Replaces the whole contents of the lookup with the passed unordered array.
+	 */
+	public void replaceArray(int[] unorderedArray) {
 		this.positions = new int[unorderedArray.length];
 		// init record ids in ascending order
 		this.recordIds = new int[unorderedArray.length];
-		// both arrays fill with recordId and associated position in original array
+		// pack record id (upper bits) and its position in original array (lower bits) into single long, so that
+		// both of them get sorted by record id using primitive sort without boxing
+		final long[] recordIdsWithPositions = new long[unorderedArray.length];
 		for (int i = 0; i < unorderedArray.length; i++) {
-			final int recordId = unorderedArray[i];
-			this.positions[i] = i;
-			this.recordIds[i] = recordId;
+			recordIdsWithPositions[i] = ((long) unorderedArray[i] << 32) | i;
+		}
+		Arrays.sort(recordIdsWithPositions);
+		// now split sorted record ids and their positions - this will change ordered positions to unordered ones
+		for (int i = 0; i < recordIdsWithPositions.length; i++) {
+			this.recordIds[i] = (int) (recordIdsWithPositions[i] >> 32);
+			this.positions[i] = (int) recordIdsWithPositions[i];
 		}
-		Arrays.sort(this.recordIds);
-		// now sort positions according to recordId value - this will change ordered positions to unordered ones
-		new IntArrayWrapper(this.positions).sort(Comparator.comparing(o -> unorderedArray[o]));
 		// we may initialize the cached result
 		this.memoizedUnorderedArray = unorderedArray;
 	}
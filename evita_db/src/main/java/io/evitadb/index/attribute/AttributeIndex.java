@@ -26,8 +26,12 @@ import io.evitadb.api.Transaction;
 import io.evitadb.api.data.AttributesContract.AttributeKey;
 import io.evitadb.api.data.structure.Entity;
 import io.evitadb.api.schema.AttributeSchema;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
+import io.evitadb.index.EntityIndexType;
 import io.evitadb.index.attribute.AttributeIndex.AttributeIndexChanges;
+import io.evitadb.index.footprint.IndexFootprintCollector;
+import io.evitadb.index.footprint.IndexFootprintPart;
 import io.evitadb.index.map.MapChanges;
 import io.evitadb.index.map.TransactionalMemoryMap;
 import io.evitadb.index.transactionalMemory.*;
@@ -277,6 +281,41 @@ public class AttributeIndex implements AttributeIndexContract, TransactionalLaye
 		}
 	}
 
+	@Override
+	public long estimateSize() {
+		long size = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			3 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			MemoryMeasuringConstants.computeHashMapSize(this.uniqueIndex.size()) +
+			MemoryMeasuringConstants.computeHashMapSize(this.filterIndex.size()) +
+			MemoryMeasuringConstants.computeHashMapSize(this.sortIndex.size());
+		for (UniqueIndex theUniqueIndex : this.uniqueIndex.values()) {
+			size += theUniqueIndex.estimateSize();
+		}
+		for (FilterIndex theFilterIndex : this.filterIndex.values()) {
+			size += theFilterIndex.estimateSize();
+		}
+		for (SortIndex theSortIndex : this.sortIndex.values()) {
+			size += theSortIndex.estimateSize();
+		}
+		return size;
+	}
+
+	/**
+	 * Registers estimated sizes of all attribute indexes to the passed collector - each attribute separately.
+	 * Locale specific indexes of the same attribute are aggregated together.
+	 */
+	public void collectFootprint(@Nonnull Serializable entityType, @Nonnull EntityIndexType entityIndexType, @Nonnull IndexFootprintCollector collector) {
+		for (Entry<AttributeKey, UniqueIndex> entry : this.uniqueIndex.entrySet()) {
+			collector.record(entityType, entityIndexType, IndexFootprintPart.ATTRIBUTE_UNIQUE, entry.getKey().getAttributeName(), entry.getValue().estimateSize());
+		}
+		for (Entry<AttributeKey, FilterIndex> entry : this.filterIndex.entrySet()) {
+			collector.record(entityType, entityIndexType, IndexFootprintPart.ATTRIBUTE_FILTER, entry.getKey().getAttributeName(), entry.getValue().estimateSize());
+		}
+		for (Entry<AttributeKey, SortIndex> entry : this.sortIndex.entrySet()) {
+			collector.record(entityType, entityIndexType, IndexFootprintPart.ATTRIBUTE_SORT, entry.getKey().getAttributeName(), entry.getValue().estimateSize());
+		}
+	}
+
 	@Override
 	public void clearTransactionalMemory() {
 		for (UniqueIndex theUniqueIndex : uniqueIndex.values()) {
@@ -26,6 +26,7 @@ import io.evitadb.api.Transaction;
 import io.evitadb.api.data.AttributesContract.AttributeKey;
 import io.evitadb.api.dataType.Range;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.EmptyBitmap;
@@ -42,6 +43,7 @@ import io.evitadb.query.algebra.AbstractFormula;
 import io.evitadb.query.algebra.Formula;
 import io.evitadb.query.algebra.base.ConstantFormula;
 import io.evitadb.query.algebra.base.EmptyFormula;
+import io.evitadb.query.algebra.base.OrFormula;
 import io.evitadb.storage.model.storageParts.StoragePart;
 import io.evitadb.storage.model.storageParts.index.FilterIndexStoragePart;
 import lombok.Getter;
@@ -49,7 +51,10 @@ import lombok.Getter;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import static io.evitadb.api.utils.Assert.isTrue;
@@ -245,6 +250,50 @@ public class FilterIndex implements VoidTransactionMemoryProducer<FilterIndex>,
 			.orElse(EmptyFormula.INSTANCE);
 	}
 
+	/**
+	 * Returns formula that computes all record ids connected with any of the values in the argument. The values are
+	 * sorted once and looked up in the sorted histogram buckets in single forward pass - each lookup searches only
+	 * the buckets after the previously found one. Bitmaps of the found buckets are combined by single {@link OrFormula}
+	 * that joins them in one aggregation pass. This method is much cheaper than combining the results
+	 * of {@link #getRecordsEqualToFormula(Comparable)} for large sets of values.
+	 */
+	public <T extends Comparable<T>> Formula getRecordsEqualToAnyFormula(@Nonnull T[] attributeValues) {
+		@SuppressWarnings("unchecked") final HistogramBucket<T>[] buckets = ((HistogramIndex<T>) this.histogram).getBuckets();
+		final T[] sortedValues = Arrays.copyOf(attributeValues, attributeValues.length);
+		Arrays.sort(sortedValues);
+
+		final List<Bitmap> foundBitmaps = new ArrayList<>(Math.min(sortedValues.length, buckets.length));
+		int fromIndex = 0;
+		T previousValue = null;
+		for (T value : sortedValues) {
+			if (fromIndex >= buckets.length) {
+				// all remaining values are greater than the greatest value in the histogram
+				break;
+			}
+			if (previousValue != null && previousValue.compareTo(value) == 0) {
+				// skip duplicate values
+				continue;
+			}
+			previousValue = value;
+			final int index = Arrays.binarySearch(buckets, fromIndex, buckets.length, new HistogramBucket<>(value));
+			if (index >= 0) {
+				foundBitmaps.add(buckets[index].getRecordIds());
+				fromIndex = index + 1;
+			} else {
+				fromIndex = -(index + 1);
+			}
+		}
+
+		switch (foundBitmaps.size()) {
+			case 0:
+				return EmptyFormula.INSTANCE;
+			case 1:
+				return new ConstantFormula(foundBitmaps.get(0));
+			default:
+				return new OrFormula(new long[]{getId()}, foundBitmaps.toArray(new Bitmap[0]));
+		}
+	}
+
 	/**
 	 * Returns all records present in filter index in the form of {@link HistogramSubSet}.
 	 */
@@ -388,7 +437,7 @@ public class FilterIndex implements VoidTransactionMemoryProducer<FilterIndex>,
 	 */
 	public Bitmap getRecordsValidIn(long thePoint) {
 		Assert.notNull(this.rangeIndex, ERROR_RANGE_TYPE_NOT_SUPPORTED);
-		return getRecordsValidInFormula(thePoint).compute();
+		return this.rangeIndex.getRecordsValidIn(thePoint);
 	}
 
 	/**
@@ -397,7 +446,7 @@ public class FilterIndex implements VoidTransactionMemoryProducer<FilterIndex>,
 	 */
 	public Formula getRecordsValidInFormula(long thePoint) {
 		Assert.notNull(this.rangeIndex, ERROR_RANGE_TYPE_NOT_SUPPORTED);
-		return this.rangeIndex.getRecordsWithRangesOutsideInclusive(thePoint, thePoint);
+		return this.rangeIndex.getRecordsValidInFormula(thePoint);
 	}
 
 	/**
@@ -408,7 +457,7 @@ public class FilterIndex implements VoidTransactionMemoryProducer<FilterIndex>,
 	 */
 	public Bitmap getRecordsOverlapping(long from, long to) {
 		Assert.notNull(this.rangeIndex, ERROR_RANGE_TYPE_NOT_SUPPORTED);
-		return getRecordsOverlappingFormula(from, to).compute();
+		return this.rangeIndex.getRecordsOverlapping(from, to);
 	}
 
 	/**
@@ -441,6 +490,15 @@ public class FilterIndex implements VoidTransactionMemoryProducer<FilterIndex>,
 		this.dirty.reset();
 	}
 
+	@Override
+	public long estimateSize() {
+		// value index and memoized formula are transient caches created on demand - they're not part of the estimate
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			5 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			this.histogram.estimateSize() +
+			(this.rangeIndex == null ? 0L : this.rangeIndex.estimateSize());
+	}
+
 	/*
 		PRIVATE METHODS
 	 */
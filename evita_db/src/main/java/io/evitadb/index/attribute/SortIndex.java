@@ -24,7 +24,11 @@ package io.evitadb.index.attribute;
 
 import io.evitadb.api.Transaction;
 import io.evitadb.api.data.AttributesContract.AttributeKey;
+import io.evitadb.api.dataType.EvitaDataTypes;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
+import io.evitadb.index.IndexBulkUpdateContext;
+import io.evitadb.index.IndexBulkUpdateContext.DeferredUpdate;
 import io.evitadb.index.array.TransactionalObjArray;
 import io.evitadb.index.array.TransactionalUnorderedIntArray;
 import io.evitadb.index.bitmap.Bitmap;
@@ -34,21 +38,28 @@ import io.evitadb.index.transactionalMemory.TransactionalLayerMaintainer;
 import io.evitadb.index.transactionalMemory.TransactionalLayerProducer;
 import io.evitadb.index.transactionalMemory.TransactionalMemory;
 import io.evitadb.index.transactionalMemory.TransactionalObjectVersion;
+import io.evitadb.index.transactionalMemory.exception.ReadOnlyTransactionalMemoryException;
 import io.evitadb.query.sort.SortedRecordsSupplierFactory;
 import io.evitadb.storage.model.storageParts.StoragePart;
 import io.evitadb.storage.model.storageParts.index.SortIndexStoragePart;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
 import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static io.evitadb.api.utils.Assert.isTrue;
 import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransactionalMemoryLayer;
+import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransactionalMemoryLayerIfExists;
 import static java.util.Optional.ofNullable;
 
 /**
@@ -61,12 +72,15 @@ import static java.util.Optional.ofNullable;
  * another threads.
  * <p>
  * If no transaction is opened, changes are applied directly to the delegate data structures. In such case the class is
- * not thread safe for multiple writers!
+ * not thread safe for multiple writers! Within {@link IndexBulkUpdateContext} the added records are only collected
+ * and merged into the presorted arrays at once when the bulk finishes or when the index is read. The same applies to
+ * the records added in the transaction - they're collected in the {@link SortIndexChanges} layer and merged in single
+ * pass when the index is read within the transaction or when the transaction is committed.
  *
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2019
  */
 @ThreadSafe
-public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLayerProducer<SortIndexChanges, SortIndex>, EntityIndexDataStructure, Serializable {
+public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLayerProducer<SortIndexChanges, SortIndex>, EntityIndexDataStructure, DeferredUpdate, Serializable {
 	private static final long serialVersionUID = 5862170244589598450L;
 	@Getter private final long id = TransactionalObjectVersion.SEQUENCE.nextId();
 	/**
@@ -96,6 +110,15 @@ public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLay
 	 * bulk insertion state where transactions are not used.
 	 */
 	private SortIndexChanges valueLocations;
+	/**
+	 * Temporary data structure that should be NULL and should exist only within {@link IndexBulkUpdateContext}. Contains
+	 * records added in bulk that haven't been yet merged into {@link #sortedRecords} and {@link #sortedRecordsValues}.
+	 */
+	private List<PendingRecord> pendingRecords;
+	/**
+	 * Contains ids of all {@link #pendingRecords} for fast duplicity check.
+	 */
+	private RoaringBitmap pendingRecordIds;
 
 	@SuppressWarnings("unchecked")
 	public <T extends Comparable<T>> SortIndex(@Nonnull Class<?> attributeType) {
@@ -136,10 +159,30 @@ public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLay
 	@SuppressWarnings("unchecked")
 	public <T extends Comparable<T>> void addRecord(@Nonnull Object value, int recordId) {
 		assertComparable(value.getClass());
+		final SortIndexChanges layer = getTransactionalMemoryLayer(this);
 		isTrue(
-			this.sortedRecords.indexOf(recordId) < 0,
+			this.sortedRecords.indexOf(recordId) < 0 &&
+				(this.pendingRecordIds == null || !this.pendingRecordIds.contains(recordId)) &&
+				(layer == null || !layer.isPendingRecord(recordId)),
 			() -> new IllegalArgumentException("Record id `" + recordId + "` is already present in the sort index!")
 		);
+		if (IndexBulkUpdateContext.defer(this)) {
+			// postpone the insertion until the end of the bulk
+			if (this.pendingRecords == null) {
+				this.pendingRecords = new ArrayList<>();
+				this.pendingRecordIds = new RoaringBitmap();
+			}
+			this.pendingRecords.add(new PendingRecord((Comparable<?>) value, recordId));
+			this.pendingRecordIds.add(recordId);
+			this.dirty.setToTrue();
+			return;
+		}
+		if (layer != null) {
+			// postpone the insertion until the index is read or the transaction is committed
+			layer.addPendingRecord(new PendingRecord((Comparable<?>) value, recordId));
+			this.dirty.setToTrue();
+			return;
+		}
 		final TransactionalObjArray<T> theSortedRecordsValues = (TransactionalObjArray<T>) this.sortedRecordsValues;
 		final TransactionalMemoryMap<Comparable<?>, Integer> theValueCardinalities = this.valueCardinalities;
 		final SortIndexChanges sortIndexChanges = getOrCreateSortIndexChanges();
@@ -182,6 +225,8 @@ public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLay
 	@SuppressWarnings("unchecked")
 	public <T extends Comparable<T>> void removeRecord(@Nonnull Object value, int recordId) {
 		assertComparable(value.getClass());
+		applyDeferredUpdates();
+		applyPendingTransactionalRecords();
 		final TransactionalObjArray<T> theSortedRecordsValues = (TransactionalObjArray<T>) this.sortedRecordsValues;
 		final TransactionalMemoryMap<Comparable<?>, Integer> theValueCardinalities = this.valueCardinalities;
 		final SortIndexChanges sortIndexChanges = getOrCreateSortIndexChanges();
@@ -225,6 +270,8 @@ public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLay
 	 */
 	@Nonnull
 	public int[] getSortedRecords() {
+		applyDeferredUpdates();
+		applyPendingTransactionalRecords();
 		return this.sortedRecords.getArray();
 	}
 
@@ -234,6 +281,8 @@ public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLay
 	 */
 	@Nonnull
 	public Comparable<?>[] getSortedRecordValues() {
+		applyDeferredUpdates();
+		applyPendingTransactionalRecords();
 		return this.sortedRecordsValues.getArray();
 	}
 
@@ -241,26 +290,33 @@ public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLay
 	 * Returns true if {@link SortIndex} contains no data.
 	 */
 	public boolean isEmpty() {
-		return sortedRecords.isEmpty();
+		final SortIndexChanges layer = getTransactionalMemoryLayerIfExists(this);
+		return sortedRecords.isEmpty() && pendingRecords == null && (layer == null || layer.getPendingRecordCount() == 0);
 	}
 
 	/**
 	 * Returns number of record ids in this {@link SortIndex}.
 	 */
 	public int size() {
-		return sortedRecords.getLength();
+		final SortIndexChanges layer = getTransactionalMemoryLayerIfExists(this);
+		return sortedRecords.getLength() + (pendingRecords == null ? 0 : pendingRecords.size()) +
+			(layer == null ? 0 : layer.getPendingRecordCount());
 	}
 
 	@Nonnull
 	@Override
 	public SortedRecordsSupplier getAscendingOrderRecordsSupplier() {
-		return getOrCreateSortIndexChanges().getAscendingOrderRecordsSupplier();
+		applyDeferredUpdates();
+		applyPendingTransactionalRecords();
+		return getSortIndexChangesForReading().getAscendingOrderRecordsSupplier();
 	}
 
 	@Nonnull
 	@Override
 	public SortedRecordsSupplier getDescendingOrderRecordsSupplier() {
-		return getOrCreateSortIndexChanges().getDescendingOrderRecordsSupplier();
+		applyDeferredUpdates();
+		applyPendingTransactionalRecords();
+		return getSortIndexChangesForReading().getDescendingOrderRecordsSupplier();
 	}
 
 	/**
@@ -268,6 +324,8 @@ public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLay
 	 */
 	@Nullable
 	public StoragePart createStoragePart(int entityIndexPrimaryKey, AttributeKey attribute) {
+		applyDeferredUpdates();
+		applyPendingTransactionalRecords();
 		if (this.dirty.isTrue()) {
 			// all data are persisted to disk - we may get rid of temporary, modification only helper container
 			this.valueLocations = null;
@@ -277,11 +335,62 @@ public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLay
 		}
 	}
 
+	/**
+	 * Merges all records added within {@link IndexBulkUpdateContext} into the presorted arrays in single pass instead
+	 * of inserting them one by one.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	@Override
+	public void applyDeferredUpdates() {
+		if (this.pendingRecords == null) {
+			return;
+		}
+		final List<PendingRecord> pending = this.pendingRecords;
+		this.pendingRecords = null;
+		this.pendingRecordIds = null;
+		pending.sort(null);
+
+		final MergedRecords merged = mergeRecords(
+			this.sortedRecordsValues.getArray(), this.sortedRecords.getArray(), this.valueCardinalities, pending
+		);
+		this.sortedRecords.replaceArray(merged.getRecords());
+		((TransactionalObjArray) this.sortedRecordsValues).replaceArray(merged.getValues());
+		// helper data structure needs to be recomputed
+		this.valueLocations = null;
+	}
+
+	/**
+	 * Drops all records added within {@link IndexBulkUpdateContext} that haven't been merged yet.
+	 */
+	@Override
+	public void discardDeferredUpdates() {
+		this.pendingRecords = null;
+		this.pendingRecordIds = null;
+	}
+
 	@Override
 	public void resetDirty() {
 		this.dirty.reset();
 	}
 
+	@Override
+	public long estimateSize() {
+		final int recordCount = this.sortedRecords.getLength();
+		final Comparable<?>[] values = this.sortedRecordsValues.getArray();
+		long size = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			8 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			// unordered lookup keeps both the record ids and their positions
+			2 * MemoryMeasuringConstants.computeArraySize(recordCount, MemoryMeasuringConstants.INT_SIZE) +
+			MemoryMeasuringConstants.computeArraySize(values.length, MemoryMeasuringConstants.REFERENCE_SIZE) +
+			// cardinality keys are shared with the sorted values, only the entries and boxed counts are counted
+			MemoryMeasuringConstants.computeHashMapSize(this.valueCardinalities.size()) +
+			(long) this.valueCardinalities.size() * (MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.INT_SIZE);
+		for (Comparable<?> value : values) {
+			size += EvitaDataTypes.estimateSize((Serializable) value);
+		}
+		return size;
+	}
+
 	@Override
 	public void clearTransactionalMemory() {
 		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this);
@@ -311,12 +420,18 @@ public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLay
 	public SortIndex createCopyWithMergedTransactionalMemory(@Nullable SortIndexChanges layer, @Nonnull TransactionalLayerMaintainer transactionalLayer, Transaction transaction) {
 		// we can safely throw away dirty flag now
 		transactionalLayer.removeTransactionalMemoryLayerIfExists(this.dirty);
-		return new SortIndex(
-			this.type,
-			transactionalLayer.getStateCopyWithCommittedChanges(this.sortedRecords, transaction),
-			transactionalLayer.getStateCopyWithCommittedChanges(this.sortedRecordsValues, transaction),
-			transactionalLayer.getStateCopyWithCommittedChanges(this.valueCardinalities, transaction)
-		);
+		final int[] records = transactionalLayer.getStateCopyWithCommittedChanges(this.sortedRecords, transaction);
+		final Comparable<?>[] values = transactionalLayer.getStateCopyWithCommittedChanges(this.sortedRecordsValues, transaction);
+		final Map<Comparable<?>, Integer> cardinalities = transactionalLayer.getStateCopyWithCommittedChanges(this.valueCardinalities, transaction);
+		if (layer == null || layer.getPendingRecordCount() == 0) {
+			return new SortIndex(this.type, records, values, cardinalities);
+		} else {
+			// records added in the transaction and not read since then are merged into the committed arrays in single pass
+			final List<PendingRecord> pending = layer.removePendingRecords();
+			pending.sort(null);
+			final MergedRecords merged = mergeRecords(values, records, cardinalities, pending);
+			return new SortIndex(this.type, merged.getRecords(), merged.getValues(), cardinalities);
+		}
 	}
 
 	/*
@@ -340,6 +455,178 @@ public class SortIndex implements SortedRecordsSupplierFactory, TransactionalLay
 		}
 	}
 
+	/**
+	 * Retrieves temporary data structure for read operations. In read-only view of the transactional memory (propagated
+	 * from another thread) no transactional layer can be created and the shared helper container must not be computed
+	 * from the transactional data, so the structure is created only for the single use when the layer doesn't exist.
+	 */
+	@Nonnull
+	private SortIndexChanges getSortIndexChangesForReading() {
+		if (TransactionalMemory.isTransactionalMemoryReadOnly()) {
+			final SortIndexChanges layer = getTransactionalMemoryLayerIfExists(this);
+			return layer == null ? new SortIndexChanges(this) : layer;
+		} else {
+			return getOrCreateSortIndexChanges();
+		}
+	}
+
+	/**
+	 * Merges all records added within current transaction into the transactional presorted arrays. The target positions
+	 * of all pending records are resolved in single merge pass and the consecutive pending records are inserted as
+	 * a single run instead of computing the position of each record separately.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private void applyPendingTransactionalRecords() {
+		final SortIndexChanges layer = getTransactionalMemoryLayerIfExists(this);
+		if (layer == null || layer.getPendingRecordCount() == 0) {
+			return;
+		}
+		if (TransactionalMemory.isTransactionalMemoryReadOnly()) {
+			// pending records must be merged by the thread owning the transaction before it propagates the memory
+			throw new ReadOnlyTransactionalMemoryException(this);
+		}
+		final RoaringBitmap pendingIds = layer.getPendingRecordIds();
+		final List<PendingRecord> pending = layer.removePendingRecords();
+		pending.sort(null);
+
+		// cardinalities of the merged value blocks are updated directly in the transactional map
+		final MergedRecords merged = mergeRecords(
+			this.sortedRecordsValues.getArray(), this.sortedRecords.getArray(), this.valueCardinalities, pending
+		);
+
+		// insert the runs of pending records after the existing record that precedes them in the merged order
+		final int[] run = new int[pending.size()];
+		int runLength = 0;
+		int runPreviousRecordId = Integer.MIN_VALUE;
+		for (int recordId : merged.getRecords()) {
+			if (pendingIds.contains(recordId)) {
+				run[runLength++] = recordId;
+			} else {
+				if (runLength > 0) {
+					this.sortedRecords.addAll(runPreviousRecordId, Arrays.copyOf(run, runLength));
+					runLength = 0;
+				}
+				runPreviousRecordId = recordId;
+			}
+		}
+		if (runLength > 0) {
+			this.sortedRecords.addAll(runPreviousRecordId, Arrays.copyOf(run, runLength));
+		}
+		((TransactionalObjArray) this.sortedRecordsValues).addAll(merged.getNewValues());
+
+		// helper data structures need to be recomputed
+		layer.resetValueIndex();
+	}
+
+	/**
+	 * Merges sorted pending records into the presorted arrays in single pass. Existing records and values are not
+	 * modified - new arrays are returned, but the `cardinalities` are updated in place for all value blocks the pending
+	 * records were added to.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	@Nonnull
+	private MergedRecords mergeRecords(
+		@Nonnull Comparable<?>[] existingValues,
+		@Nonnull int[] existingRecords,
+		@Nonnull Map<Comparable<?>, Integer> cardinalities,
+		@Nonnull List<PendingRecord> pending
+	) {
+		final int[] mergedRecords = new int[existingRecords.length + pending.size()];
+		final List<Comparable<?>> mergedValues = new ArrayList<>(existingValues.length + pending.size());
+		final List<Comparable<?>> newValues = new ArrayList<>();
+		int valueIndex = 0;
+		int recordIndex = 0;
+		int pendingIndex = 0;
+		int resultIndex = 0;
+		while (valueIndex < existingValues.length || pendingIndex < pending.size()) {
+			final int comparison;
+			if (valueIndex == existingValues.length) {
+				comparison = 1;
+			} else if (pendingIndex == pending.size()) {
+				comparison = -1;
+			} else {
+				comparison = ((Comparable) existingValues[valueIndex]).compareTo(pending.get(pendingIndex).getValue());
+			}
+
+			final Comparable<?> value = comparison <= 0 ? existingValues[valueIndex] : pending.get(pendingIndex).getValue();
+			final int blockStart = resultIndex;
+			if (comparison < 0) {
+				// copy existing block of records untouched
+				final int cardinality = ofNullable(cardinalities.get(value)).orElse(1);
+				System.arraycopy(existingRecords, recordIndex, mergedRecords, resultIndex, cardinality);
+				recordIndex += cardinality;
+				resultIndex += cardinality;
+				valueIndex++;
+			} else {
+				// merge existing block (if any) with pending records of the same value - both are sorted by record id
+				final int existingBlockEnd = comparison == 0 ?
+					recordIndex + ofNullable(cardinalities.get(value)).orElse(1) : recordIndex;
+				while (recordIndex < existingBlockEnd || (pendingIndex < pending.size() && ((Comparable) value).compareTo(pending.get(pendingIndex).getValue()) == 0)) {
+					final boolean takeExisting = recordIndex < existingBlockEnd &&
+						(pendingIndex == pending.size() ||
+							((Comparable) value).compareTo(pending.get(pendingIndex).getValue()) != 0 ||
+							existingRecords[recordIndex] < pending.get(pendingIndex).getRecordId());
+					mergedRecords[resultIndex++] = takeExisting ? existingRecords[recordIndex++] : pending.get(pendingIndex++).getRecordId();
+				}
+				if (comparison == 0) {
+					valueIndex++;
+				} else {
+					newValues.add(value);
+				}
+				final int cardinality = resultIndex - blockStart;
+				if (cardinality > 1) {
+					cardinalities.put(value, cardinality);
+				}
+			}
+			mergedValues.add(value);
+		}
+
+		return new MergedRecords(
+			mergedRecords,
+			mergedValues.toArray((Comparable[]) Array.newInstance(this.type, mergedValues.size())),
+			newValues.toArray((Comparable[]) Array.newInstance(this.type, newValues.size()))
+		);
+	}
+
+	/**
+	 * Record added within {@link IndexBulkUpdateContext} or within the transaction waiting for the merge into
+	 * the presorted arrays. Pending records are ordered by value first and by record id second, which is the order of
+	 * records in {@link #sortedRecords}.
+	 */
+	@RequiredArgsConstructor
+	static class PendingRecord implements Comparable<PendingRecord>, Serializable {
+		private static final long serialVersionUID = -2476542637385941237L;
+		@Getter private final Comparable<?> value;
+		@Getter private final int recordId;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		@Override
+		public int compareTo(PendingRecord o) {
+			final int result = ((Comparable) this.value).compareTo(o.value);
+			return result == 0 ? Integer.compare(this.recordId, o.recordId) : result;
+		}
+
+	}
+
+	/**
+	 * Result of the {@link #mergeRecords(Comparable[], int[], Map, List)} method.
+	 */
+	@RequiredArgsConstructor
+	private static class MergedRecords {
+		/**
+		 * Merged record ids in the order of {@link #sortedRecords}.
+		 */
+		@Getter private final int[] records;
+		/**
+		 * Merged values in the order of {@link #sortedRecordsValues}.
+		 */
+		@Getter private final Comparable<?>[] values;
+		/**
+		 * Values that were introduced by the pending records and were not present in the existing values.
+		 */
+		@Getter private final Comparable<?>[] newValues;
+	}
+
 	/**
 	 * Presorted array supplier. Allows really quickly provide information about record id at certain "presorted" position
 	 * and relatively quickly (much faster than binary search O(log n)) compute position of record with passed id.
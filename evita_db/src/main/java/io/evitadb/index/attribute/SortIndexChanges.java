@@ -27,16 +27,20 @@ import io.evitadb.api.utils.ArrayUtils.InsertionPosition;
 import io.evitadb.api.utils.Assert;
 import io.evitadb.api.utils.StringUtils;
 import io.evitadb.index.array.TransactionalObjArray;
+import io.evitadb.index.attribute.SortIndex.PendingRecord;
 import io.evitadb.index.attribute.SortIndex.SortedRecordsSupplier;
 import io.evitadb.index.map.TransactionalMemoryMap;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.roaringbitmap.RoaringBitmap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 
 import static io.evitadb.index.attribute.SortIndex.invert;
@@ -45,7 +49,8 @@ import static java.util.Optional.ofNullable;
 /**
  * Class contains intermediate computation data structures that speed up access to the {@link SortedRecordsSupplier}
  * implementations and also allow to modify contents of the {@link SortIndex} data. All data inside this class can be
- * safely thrown out and recreated from {@link SortIndex} internal data again.
+ * safely thrown out and recreated from {@link SortIndex} internal data again - with the exception of the pending
+ * records added in the transaction, that are not yet merged into the {@link SortIndex} data structures.
  *
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2021
  */
@@ -75,6 +80,16 @@ public class SortIndexChanges implements Serializable {
 	 * in the histogram from right to left.
 	 */
 	private SortedRecordsSupplier recordIdToPositionsReversed;
+	/**
+	 * Records added in the transaction that haven't been yet merged into {@link SortIndex#sortedRecords} and
+	 * {@link SortIndex#sortedRecordsValues}. They're merged at once when the sort index is read or when
+	 * the transaction is committed.
+	 */
+	private List<PendingRecord> pendingRecords;
+	/**
+	 * Contains ids of all {@link #pendingRecords} for fast duplicity check.
+	 */
+	private RoaringBitmap pendingRecordIds;
 
 	public SortIndexChanges(@Nonnull SortIndex sortIndex) {
 		this.sortIndex = sortIndex;
@@ -110,6 +125,61 @@ public class SortIndexChanges implements Serializable {
 		});
 	}
 
+	/**
+	 * Registers record added in the transaction whose merge into the {@link SortIndex} is postponed.
+	 */
+	public void addPendingRecord(@Nonnull PendingRecord pendingRecord) {
+		if (this.pendingRecords == null) {
+			this.pendingRecords = new ArrayList<>();
+			this.pendingRecordIds = new RoaringBitmap();
+		}
+		this.pendingRecords.add(pendingRecord);
+		this.pendingRecordIds.add(pendingRecord.getRecordId());
+	}
+
+	/**
+	 * Returns true if the record id is among the pending records that haven't been merged yet.
+	 */
+	public boolean isPendingRecord(int recordId) {
+		return this.pendingRecordIds != null && this.pendingRecordIds.contains(recordId);
+	}
+
+	/**
+	 * Returns count of the pending records that haven't been merged yet.
+	 */
+	public int getPendingRecordCount() {
+		return this.pendingRecords == null ? 0 : this.pendingRecords.size();
+	}
+
+	/**
+	 * Returns ids of the pending records that haven't been merged yet.
+	 */
+	@Nonnull
+	public RoaringBitmap getPendingRecordIds() {
+		return this.pendingRecordIds == null ? new RoaringBitmap() : this.pendingRecordIds;
+	}
+
+	/**
+	 * Returns all pending records and clears them - the caller is responsible for merging them into the {@link SortIndex}.
+	 */
+	@Nonnull
+	public List<PendingRecord> removePendingRecords() {
+		final List<PendingRecord> result = this.pendingRecords == null ? new ArrayList<>() : this.pendingRecords;
+		this.pendingRecords = null;
+		this.pendingRecordIds = null;
+		return result;
+	}
+
+	/**
+	 * Discards all intermediate data structures computed from the {@link SortIndex} data. They'll be lazily recomputed
+	 * on next access.
+	 */
+	public void resetValueIndex() {
+		this.valueLocationIndex = null;
+		this.recordIdToPositions = null;
+		this.recordIdToPositionsReversed = null;
+	}
+
 	/**
 	 * Computes record id of the record id that should precede currently inserted record that is associated with passed
 	 * `value`. When record id should be placed on the first index {@link Integer#MIN_VALUE} is returned. This aligns
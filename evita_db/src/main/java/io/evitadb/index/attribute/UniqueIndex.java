@@ -24,7 +24,9 @@ package io.evitadb.index.attribute;
 
 import io.evitadb.api.Transaction;
 import io.evitadb.api.data.AttributesContract.AttributeKey;
+import io.evitadb.api.dataType.EvitaDataTypes;
 import io.evitadb.api.exception.UniqueValueViolationException;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.TransactionalBitmap;
@@ -175,6 +177,19 @@ public class UniqueIndex implements TransactionalLayerProducer<TransactionalCont
 		this.dirty.reset();
 	}
 
+	@Override
+	public long estimateSize() {
+		long size = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			5 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			MemoryMeasuringConstants.computeHashMapSize(this.uniqueValueToRecordId.size()) +
+			this.recordIds.estimateSize();
+		for (Serializable uniqueValue : this.uniqueValueToRecordId.keySet()) {
+			size += EvitaDataTypes.estimateSize(uniqueValue) +
+				MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.INT_SIZE;
+		}
+		return size;
+	}
+
 	@Override
 	public void clearTransactionalMemory() {
 		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this);
@@ -22,9 +22,14 @@
 
 package io.evitadb.index.bitmap;
 
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.array.CompositeIntArray;
+import io.evitadb.index.iterator.BatchArrayIterator;
+import io.evitadb.index.iterator.RoaringBitmapBatchArrayIterator;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
 
+import javax.annotation.Nonnull;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.PrimitiveIterator.OfInt;
@@ -120,6 +125,28 @@ public class ArrayBitmap implements Bitmap {
 		return intArray.iterator();
 	}
 
+	/**
+	 * Array keeps the record ids in the order of their insertion - when they're not ordered the iterator is created
+	 * over ordered copy of them so that the contract of {@link Bitmap#batchIterator()} is honored.
+	 */
+	@Nonnull
+	@Override
+	public BatchArrayIterator batchIterator() {
+		if (intArray.isMonotonic()) {
+			return intArray.batchIterator();
+		} else {
+			return new RoaringBitmapBatchArrayIterator(
+				RoaringBitmap.bitmapOf(intArray.toArray()).getBatchIterator()
+			);
+		}
+	}
+
+	@Override
+	public long estimateSize() {
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.REFERENCE_SIZE +
+			intArray.getSizeInBytes();
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return intArray.isEmpty();
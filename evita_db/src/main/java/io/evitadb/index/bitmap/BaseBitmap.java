@@ -22,9 +22,13 @@
 
 package io.evitadb.index.bitmap;
 
+import io.evitadb.api.utils.MemoryMeasuringConstants;
+import io.evitadb.index.iterator.BatchArrayIterator;
+import io.evitadb.index.iterator.RoaringBitmapBatchArrayIterator;
 import org.roaringbitmap.PeekableIntIterator;
 import org.roaringbitmap.RoaringBitmap;
 
+import javax.annotation.Nonnull;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -192,6 +196,19 @@ public class BaseBitmap implements RoaringBitmapBackedBitmap {
 		return roaringBitmap.stream().iterator();
 	}
 
+	@Nonnull
+	@Override
+	public BatchArrayIterator batchIterator() {
+		return new RoaringBitmapBatchArrayIterator(roaringBitmap.getBatchIterator());
+	}
+
+	@Override
+	public long estimateSize() {
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE +
+			MemoryMeasuringConstants.REFERENCE_SIZE + MemoryMeasuringConstants.INT_SIZE +
+			roaringBitmap.getLongSizeInBytes();
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return roaringBitmap.isEmpty();
@@ -22,6 +22,9 @@
 
 package io.evitadb.index.bitmap;
 
+import io.evitadb.index.iterator.BatchArrayIterator;
+
+import javax.annotation.Nonnull;
 import java.io.Serializable;
 import java.util.PrimitiveIterator.OfInt;
 
@@ -131,4 +134,18 @@ public interface Bitmap extends Iterable<Integer>, Serializable {
 	 */
 	OfInt iterator();
 
+	/**
+	 * Produces iterator over all record ids in ascending order that provides them in batches of plain integer arrays.
+	 * The batch array is reused among {@link BatchArrayIterator#nextBatch()} calls and the consumers are expected to
+	 * process it in a tight loop up to {@link BatchArrayIterator#getPeek()} - prefer this method to {@link #iterator()}
+	 * whenever large bitmaps are traversed.
+	 */
+	@Nonnull
+	BatchArrayIterator batchIterator();
+
+	/**
+	 * Returns estimated size of the bitmap on Java heap in Bytes. Returned size is only rough estimate.
+	 */
+	long estimateSize();
+
 }
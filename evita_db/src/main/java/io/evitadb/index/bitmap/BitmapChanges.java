@@ -24,11 +24,19 @@ package io.evitadb.index.bitmap;
 
 import org.roaringbitmap.RoaringBitmap;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * This class/objects holds transactional changes upon read-only bitmap implementation.
  *
+ * Changes - both single record ones and the bulk ones - are not applied immediately but are collected in
+ * the {@link #pendingRecordIds} buffer first. The buffer is applied at once using bulk bitmap operations when the state
+ * of the bitmap is read, or when the opposite kind of change is requested. Single record presence checks are answered
+ * from the applied state and the buffer without applying it. The merged view of the bitmap is kept up to date with
+ * each applied buffer instead of being recomputed from scratch, so that the transactions interleaving reads and writes
+ * don't pay the price of full merge with each read.
+ *
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2021
  */
 @NotThreadSafe
@@ -46,10 +54,25 @@ public class BitmapChanges {
 	 */
 	private final RoaringBitmap removals = new RoaringBitmap();
 	/**
-	 * Temporary intermediate result of the last {@link #getMergedBitmap()} operation. Nullified immediately with next
-	 * change.
+	 * Buffer of record ids whose insertion (or removal - see {@link #pendingInsertions}) was requested but not yet
+	 * applied to {@link #insertions} and {@link #removals}. The buffer contains only single kind of changes at a time
+	 * and it's created lazily with the first change.
+	 */
+	private RoaringBitmap pendingRecordIds;
+	/**
+	 * True if {@link #pendingRecordIds} contains insertions, false if it contains removals.
+	 */
+	private boolean pendingInsertions;
+	/**
+	 * Result of the {@link #getMergedBitmap()} operation. It's kept in sync with each applied change so that it
+	 * doesn't need to be computed again from the original bitmap.
 	 */
 	private RoaringBitmap memoizedMergedBitmap;
+	/**
+	 * True if the {@link #memoizedMergedBitmap} was handed out by {@link #getMergedBitmap()} and must not be modified
+	 * in place any more.
+	 */
+	private boolean memoizedMergedBitmapShared;
 
 	BitmapChanges(RoaringBitmap original) {
 		this.originalBitmap = original;
@@ -59,6 +82,7 @@ public class BitmapChanges {
 	 * Returns true if bitmap with applied changes is empty.
 	 */
 	public boolean isEmpty() {
+		applyPendingChanges();
 		return (originalBitmap.isEmpty() || RoaringBitmap.andNot(originalBitmap, removals).isEmpty()) && insertions.isEmpty();
 	}
 
@@ -67,54 +91,72 @@ public class BitmapChanges {
 	 * contained in original bitmap and not removed so far.
 	 */
 	boolean contains(int recordId) {
-		final boolean originalContainsRecord = originalBitmap.contains(recordId);
-		if (originalContainsRecord) {
-			return !removals.contains(recordId);
+		if (hasPendingChanges()) {
+			return pendingInsertions ?
+				containsAppliedRecordId(recordId) || pendingRecordIds.contains(recordId) :
+				containsAppliedRecordId(recordId) && !pendingRecordIds.contains(recordId);
 		} else {
-			return insertions.contains(recordId);
+			return containsAppliedRecordId(recordId);
 		}
 	}
 
 	/**
-	 * Adds new recordId to the bitmap (only when not already present).
-	 * This operation also nullifies previous record id removal (if any).
+	 * Adds new recordId to the bitmap (only when not already present). The change is buffered and applied lazily
+	 * in bulk. This operation also nullifies previous record id removal (if any).
 	 */
 	boolean addRecordId(int recordId) {
-		// remove removal order for the record id if exists
-		final boolean removalRemoved = removals.checkedRemove(recordId);
-		// add insertion order for the record id
-		if (!originalBitmap.contains(recordId) && insertions.checkedAdd(recordId)) {
-			// nullify memoized result that becomes obsolete by this operation
-			this.memoizedMergedBitmap = null;
-			return true;
-		} else {
-			// nullify memoized result that becomes obsolete by this operation
-			this.memoizedMergedBitmap = null;
-			return removalRemoved;
+		final RoaringBitmap buffer = getPendingRecordIds(true);
+		return !containsAppliedRecordId(recordId) && buffer.checkedAdd(recordId);
+	}
+
+	/**
+	 * Adds all passed record ids to the bitmap. The change is buffered and applied lazily in bulk.
+	 * This operation also nullifies previous removals of the record ids (if any).
+	 */
+	void addRecordIds(int[] recordIds) {
+		if (recordIds.length > 0) {
+			getPendingRecordIds(true).add(recordIds);
 		}
 	}
 
 	/**
-	 * Removes recordId from the bitmap (only when present).
+	 * Removes recordId from the bitmap (only when present). The change is buffered and applied lazily in bulk.
 	 * This operation also nullifies previous record id insertion (if any).
 	 */
 	boolean removeRecordId(int recordId) {
-		final boolean addedRemovalOrder = originalBitmap.contains(recordId) && removals.checkedAdd(recordId);
-		final boolean removedInsertionOrder = insertions.checkedRemove(recordId);
-		if (addedRemovalOrder || removedInsertionOrder) {
-			// nullify memoized result that becomes obsolete by this operation
-			this.memoizedMergedBitmap = null;
-			return true;
-		} else {
-			return false;
+		final RoaringBitmap buffer = getPendingRecordIds(false);
+		return containsAppliedRecordId(recordId) && buffer.checkedAdd(recordId);
+	}
+
+	/**
+	 * Removes all passed record ids from the bitmap. The change is buffered and applied lazily in bulk.
+	 * This operation also nullifies previous insertions of the record ids (if any).
+	 */
+	void removeRecordIds(int[] recordIds) {
+		if (recordIds.length > 0) {
+			getPendingRecordIds(false).add(recordIds);
 		}
 	}
 
 	/**
 	 * This method computes new bitmap from the immutable original bitmap and the set of insertions / removals made upon
-	 * it.
+	 * it. The returned bitmap may be kept by the caller - it's not modified by the subsequent changes.
 	 */
 	RoaringBitmap getMergedBitmap() {
+		final RoaringBitmap mergedBitmap = getCurrentMergedBitmap();
+		if (mergedBitmap == memoizedMergedBitmap) {
+			this.memoizedMergedBitmapShared = true;
+		}
+		return mergedBitmap;
+	}
+
+	/**
+	 * This method returns bitmap with all changes applied the same way as {@link #getMergedBitmap()} does, but
+	 * the result is meant only for immediate reading and must not be kept by the caller - it might be modified by
+	 * the subsequent changes.
+	 */
+	RoaringBitmap getCurrentMergedBitmap() {
+		applyPendingChanges();
 		if (insertions.isEmpty() && removals.isEmpty()) {
 			// if there are no insertions / removals - return the original
 			return originalBitmap;
@@ -126,6 +168,7 @@ public class BitmapChanges {
 					RoaringBitmap.or(originalBitmap, insertions),
 					removals
 				);
+				this.memoizedMergedBitmapShared = false;
 			}
 
 			return memoizedMergedBitmap;
@@ -136,7 +179,90 @@ public class BitmapChanges {
 	 * Computes length of the bitmap with all requested changes applied.
 	 */
 	int getMergedLength() {
+		applyPendingChanges();
 		return originalBitmap.getCardinality() - removals.getCardinality() + insertions.getCardinality();
 	}
 
+	/*
+		PRIVATE METHODS
+	 */
+
+	/**
+	 * Returns true if passed recordId is part of the bitmap with all changes except the {@link #pendingRecordIds}
+	 * applied.
+	 */
+	private boolean containsAppliedRecordId(int recordId) {
+		if (originalBitmap.contains(recordId)) {
+			return !removals.contains(recordId);
+		} else {
+			return insertions.contains(recordId);
+		}
+	}
+
+	/**
+	 * Returns true if {@link #pendingRecordIds} buffer contains any change.
+	 */
+	private boolean hasPendingChanges() {
+		return pendingRecordIds != null && !pendingRecordIds.isEmpty();
+	}
+
+	/**
+	 * Returns the {@link #pendingRecordIds} buffer prepared for the changes of the requested kind. If the buffer contains
+	 * the opposite kind of changes they're applied first so that the order of the operations is retained.
+	 */
+	private RoaringBitmap getPendingRecordIds(boolean insertion) {
+		if (pendingRecordIds == null) {
+			pendingRecordIds = new RoaringBitmap();
+		} else if (pendingInsertions != insertion) {
+			applyPendingChanges();
+		}
+		pendingInsertions = insertion;
+		return pendingRecordIds;
+	}
+
+	/**
+	 * Applies all changes collected in {@link #pendingRecordIds} buffer using bulk bitmap operations and updates
+	 * the {@link #memoizedMergedBitmap} accordingly.
+	 */
+	private void applyPendingChanges() {
+		if (!hasPendingChanges()) {
+			return;
+		}
+		final RoaringBitmap batch = pendingRecordIds;
+		if (pendingInsertions) {
+			// insertion nullifies previous removal
+			removals.andNot(batch);
+			// only the record ids missing in the original bitmap are registered as insertions
+			insertions.or(RoaringBitmap.andNot(batch, originalBitmap));
+			final RoaringBitmap mergedBitmap = getMutableMemoizedMergedBitmap();
+			if (mergedBitmap != null) {
+				mergedBitmap.or(batch);
+			}
+		} else {
+			// removal nullifies previous insertion
+			insertions.andNot(batch);
+			// only the record ids present in the original bitmap are registered as removals
+			removals.or(RoaringBitmap.and(batch, originalBitmap));
+			final RoaringBitmap mergedBitmap = getMutableMemoizedMergedBitmap();
+			if (mergedBitmap != null) {
+				mergedBitmap.andNot(batch);
+			}
+		}
+		// bitmap operations above copy the containers of the batch, so the buffer may be reused
+		batch.clear();
+	}
+
+	/**
+	 * Returns {@link #memoizedMergedBitmap} that can be safely modified in place. If the bitmap was already handed out
+	 * to the outside world, it's cloned first. Returns NULL if there is no memoized bitmap.
+	 */
+	@Nullable
+	private RoaringBitmap getMutableMemoizedMergedBitmap() {
+		if (memoizedMergedBitmap != null && memoizedMergedBitmapShared) {
+			this.memoizedMergedBitmap = memoizedMergedBitmap.clone();
+			this.memoizedMergedBitmapShared = false;
+		}
+		return memoizedMergedBitmap;
+	}
+
 }
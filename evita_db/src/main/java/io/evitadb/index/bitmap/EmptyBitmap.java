@@ -22,8 +22,11 @@
 
 package io.evitadb.index.bitmap;
 
+import io.evitadb.index.iterator.BatchArrayIterator;
+import io.evitadb.index.iterator.EmptyBatchArrayIterator;
 import io.evitadb.index.iterator.EmptyIntIterator;
 
+import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.PrimitiveIterator.OfInt;
 
@@ -114,6 +117,18 @@ public class EmptyBitmap implements Bitmap {
 		return EmptyIntIterator.INSTANCE;
 	}
 
+	@Nonnull
+	@Override
+	public BatchArrayIterator batchIterator() {
+		return EmptyBatchArrayIterator.INSTANCE;
+	}
+
+	@Override
+	public long estimateSize() {
+		// there is only single shared instance
+		return 0L;
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return true;
@@ -23,18 +23,22 @@
 package io.evitadb.index.bitmap;
 
 import io.evitadb.api.Transaction;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
+import io.evitadb.index.iterator.BatchArrayIterator;
+import io.evitadb.index.iterator.RoaringBitmapBatchArrayIterator;
 import io.evitadb.index.transactionalMemory.TransactionalLayerMaintainer;
 import io.evitadb.index.transactionalMemory.TransactionalLayerProducer;
 import io.evitadb.index.transactionalMemory.TransactionalObjectVersion;
 import lombok.Getter;
+import org.roaringbitmap.ImmutableBitmapDataProvider;
 import org.roaringbitmap.PeekableIntIterator;
 import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.Objects;
 import java.util.PrimitiveIterator.OfInt;
 
 import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransactionalMemoryLayer;
@@ -49,13 +53,27 @@ import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransa
  * If no transaction is opened, changes are applied directly to the delegate array. In such case the class is not thread
  * safe for multiple writers!
  *
+ * The bitmap may be created from its {@link ImmutableRoaringBitmap serialized form} - in such case all read operations
+ * are served directly from the serialized bytes and the mutable {@link RoaringBitmap} is materialized only when it's
+ * really needed - i.e. on first write, on creating transactional {@link BitmapChanges} or when the formula computation
+ * requests the {@link RoaringBitmap} via {@link #getRoaringBitmap()}. The materialized bitmap is kept in this instance
+ * so that the conversion happens only once.
+ *
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2021
  */
 @ThreadSafe
 public class TransactionalBitmap implements RoaringBitmapBackedBitmap, TransactionalLayerProducer<BitmapChanges, RoaringBitmapBackedBitmap>, Serializable {
-	private static final long serialVersionUID = -6212206620911046989L;
+	private static final long serialVersionUID = -4915734218207402811L;
 	@Getter private final long id = TransactionalObjectVersion.SEQUENCE.nextId();
-	private final RoaringBitmap roaringBitmap;
+	/**
+	 * Mutable form of the bitmap - NULL until the {@link #serializedBitmap} is materialized.
+	 */
+	private volatile RoaringBitmap roaringBitmap;
+	/**
+	 * Read-only view over the serialized bitmap - NULL when the bitmap was created in mutable form or it has been
+	 * already materialized to {@link #roaringBitmap}.
+	 */
+	private volatile ImmutableRoaringBitmap serializedBitmap;
 	private int memoizedCardinality;
 
 	public TransactionalBitmap() {
@@ -80,15 +98,20 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 		this.memoizedCardinality = bitmap.size();
 	}
 
+	public TransactionalBitmap(@Nonnull ImmutableRoaringBitmap serializedBitmap) {
+		this.serializedBitmap = serializedBitmap;
+		this.memoizedCardinality = -1;
+	}
+
 	@Override
 	public BitmapChanges createLayer() {
-		return new BitmapChanges(roaringBitmap);
+		return new BitmapChanges(getMutableBitmap());
 	}
 
 	@Override
 	public RoaringBitmapBackedBitmap createCopyWithMergedTransactionalMemory(BitmapChanges layer, @Nonnull TransactionalLayerMaintainer transactionalLayer, Transaction transaction) {
 		if (layer == null) {
-			return new BaseBitmap(roaringBitmap);
+			return new BaseBitmap(getMutableBitmap());
 		} else {
 			return new BaseBitmap(layer.getMergedBitmap());
 		}
@@ -98,17 +121,25 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 	public RoaringBitmap getRoaringBitmap() {
 		final BitmapChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
-			return this.roaringBitmap;
+			return getMutableBitmap();
 		} else {
 			return layer.getMergedBitmap();
 		}
 	}
 
+	/**
+	 * Returns true if the bitmap still lives in its serialized form and hasn't been materialized to the mutable
+	 * {@link RoaringBitmap} yet.
+	 */
+	public boolean isSerialized() {
+		return this.roaringBitmap == null;
+	}
+
 	@Override
 	public boolean add(int recordId) {
 		final BitmapChanges layer = getTransactionalMemoryLayer(this);
 		if (layer == null) {
-			final boolean added = this.roaringBitmap.checkedAdd(recordId);
+			final boolean added = getMutableBitmap().checkedAdd(recordId);
 			this.memoizedCardinality = added ? -1 : this.memoizedCardinality;
 			return added;
 		} else {
@@ -120,12 +151,10 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 	public void addAll(int... recordId) {
 		final BitmapChanges layer = getTransactionalMemoryLayer(this);
 		if (layer == null) {
-			this.roaringBitmap.add(recordId);
+			getMutableBitmap().add(recordId);
 			this.memoizedCardinality = -1;
 		} else {
-			for (int recId : recordId) {
-				layer.addRecordId(recId);
-			}
+			layer.addRecordIds(recordId);
 		}
 	}
 
@@ -133,12 +162,10 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 	public void addAll(Bitmap recordIds) {
 		final BitmapChanges layer = getTransactionalMemoryLayer(this);
 		if (layer == null) {
-			this.roaringBitmap.add(recordIds.getArray());
+			getMutableBitmap().add(recordIds.getArray());
 			this.memoizedCardinality = -1;
 		} else {
-			for (Integer recordId : recordIds) {
-				layer.addRecordId(recordId);
-			}
+			layer.addRecordIds(recordIds.getArray());
 		}
 	}
 
@@ -146,7 +173,7 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 	public boolean remove(int recordId) {
 		final BitmapChanges layer = getTransactionalMemoryLayer(this);
 		if (layer == null) {
-			final boolean removed = this.roaringBitmap.checkedRemove(recordId);
+			final boolean removed = getMutableBitmap().checkedRemove(recordId);
 			this.memoizedCardinality = removed ? -1 : this.memoizedCardinality;
 			return removed;
 		} else {
@@ -158,14 +185,13 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 	public void removeAll(int... recordId) {
 		final BitmapChanges layer = getTransactionalMemoryLayer(this);
 		if (layer == null) {
+			final RoaringBitmap theBitmap = getMutableBitmap();
 			for (int recId : recordId) {
-				this.roaringBitmap.remove(recId);
+				theBitmap.remove(recId);
 			}
 			this.memoizedCardinality = -1;
 		} else {
-			for (int recId : recordId) {
-				layer.removeRecordId(recId);
-			}
+			layer.removeRecordIds(recordId);
 		}
 	}
 
@@ -173,18 +199,17 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 	public void removeAll(Bitmap recordIds) {
 		final BitmapChanges layer = getTransactionalMemoryLayer(this);
 		if (layer == null) {
+			final RoaringBitmap theBitmap = getMutableBitmap();
 			if (recordIds instanceof RoaringBitmapBackedBitmap) {
-				this.roaringBitmap.andNot(((RoaringBitmapBackedBitmap) recordIds).getRoaringBitmap());
+				theBitmap.andNot(((RoaringBitmapBackedBitmap) recordIds).getRoaringBitmap());
 			} else {
 				for (Integer recordId : recordIds) {
-					this.roaringBitmap.remove(recordId);
+					theBitmap.remove(recordId);
 				}
 			}
 			this.memoizedCardinality = -1;
 		} else {
-			for (Integer recordId : recordIds) {
-				layer.removeRecordId(recordId);
-			}
+			layer.removeRecordIds(recordIds.getArray());
 		}
 	}
 
@@ -192,7 +217,7 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 	public boolean contains(int recordId) {
 		final BitmapChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
-			return this.roaringBitmap.contains(recordId);
+			return getReadOnlyBitmap().contains(recordId);
 		} else {
 			return layer.contains(recordId);
 		}
@@ -202,9 +227,9 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 	public int indexOf(int recordId) {
 		final BitmapChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
-			return RoaringBitmapBackedBitmap.indexOf(this.roaringBitmap, recordId);
+			return RoaringBitmapBackedBitmap.indexOf(getReadOnlyBitmap(), recordId);
 		} else {
-			return RoaringBitmapBackedBitmap.indexOf(layer.getMergedBitmap(), recordId);
+			return RoaringBitmapBackedBitmap.indexOf(layer.getCurrentMergedBitmap(), recordId);
 		}
 	}
 
@@ -212,15 +237,15 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 	public int get(int index) {
 		final BitmapChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
-			return roaringBitmap.select(index);
+			return getReadOnlyBitmap().select(index);
 		} else {
-			return layer.getMergedBitmap().select(index);
+			return layer.getCurrentMergedBitmap().select(index);
 		}
 	}
 
 	@Override
 	public int[] getRange(int start, int end) {
-		final RoaringBitmap theBitmap = getTheCurrentBitmap();
+		final ImmutableBitmapDataProvider theBitmap = getTheCurrentBitmap();
 		try {
 			final int length = end - start;
 			final int[] result = new int[length];
@@ -246,33 +271,55 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 
 	@Override
 	public int getFirst() {
-		final RoaringBitmap theBitmap = getTheCurrentBitmap();
+		final ImmutableBitmapDataProvider theBitmap = getTheCurrentBitmap();
 		return theBitmap.first();
 	}
 
 	@Override
 	public int getLast() {
-		final RoaringBitmap theBitmap = getTheCurrentBitmap();
+		final ImmutableBitmapDataProvider theBitmap = getTheCurrentBitmap();
 		return theBitmap.last();
 	}
 
 	@Override
 	public int[] getArray() {
-		final RoaringBitmap theBitmap = getTheCurrentBitmap();
+		final ImmutableBitmapDataProvider theBitmap = getTheCurrentBitmap();
 		return theBitmap.toArray();
 	}
 
 	@Override
 	public OfInt iterator() {
-		final RoaringBitmap theBitmap = getTheCurrentBitmap();
+		// iterator is lazy - it must not see the changes made after it has been created
+		final BitmapChanges layer = getTransactionalMemoryLayerIfExists(this);
+		final ImmutableBitmapDataProvider theBitmap = layer == null ? getReadOnlyBitmap() : layer.getMergedBitmap();
 		return theBitmap.stream().iterator();
 	}
 
+	@Nonnull
+	@Override
+	public BatchArrayIterator batchIterator() {
+		// iterator is lazy - it must not see the changes made after it has been created
+		final BitmapChanges layer = getTransactionalMemoryLayerIfExists(this);
+		final ImmutableBitmapDataProvider theBitmap = layer == null ? getReadOnlyBitmap() : layer.getMergedBitmap();
+		return new RoaringBitmapBatchArrayIterator(theBitmap.getBatchIterator());
+	}
+
+	/**
+	 * Returns estimated size of the committed state of the bitmap - the transactional layer is not taken into account.
+	 * Bitmap that was not yet materialized from its serialized form occupies only the size of the serialized form.
+	 */
+	@Override
+	public long estimateSize() {
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			2 * MemoryMeasuringConstants.REFERENCE_SIZE + MemoryMeasuringConstants.INT_SIZE +
+			getReadOnlyBitmap().getLongSizeInBytes();
+	}
+
 	@Override
 	public boolean isEmpty() {
 		final BitmapChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
-			return this.roaringBitmap.isEmpty();
+			return getReadOnlyBitmap().isEmpty();
 		} else {
 			return layer.isEmpty();
 		}
@@ -283,7 +330,7 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 		final BitmapChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			if (this.memoizedCardinality == -1) {
-				this.memoizedCardinality = roaringBitmap.getCardinality();
+				this.memoizedCardinality = getReadOnlyBitmap().getCardinality();
 			}
 			return this.memoizedCardinality;
 		} else {
@@ -293,7 +340,13 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.roaringBitmap);
+		// the hash must not depend on whether the bitmap is materialized or not
+		int result = 1;
+		final PeekableIntIterator it = getReadOnlyBitmap().getIntIterator();
+		while (it.hasNext()) {
+			result = 31 * result + it.next();
+		}
+		return result;
 	}
 
 	@Override
@@ -301,23 +354,68 @@ public class TransactionalBitmap implements RoaringBitmapBackedBitmap, Transacti
 		if (this == o) return true;
 		if (o == null || getClass() != o.getClass()) return false;
 		TransactionalBitmap that = (TransactionalBitmap) o;
-		return roaringBitmap.equals(that.roaringBitmap);
+		final ImmutableBitmapDataProvider thisBitmap = getReadOnlyBitmap();
+		final ImmutableBitmapDataProvider thatBitmap = that.getReadOnlyBitmap();
+		if (thisBitmap instanceof RoaringBitmap && thatBitmap instanceof RoaringBitmap) {
+			return thisBitmap.equals(thatBitmap);
+		}
+		if (thisBitmap.getLongCardinality() != thatBitmap.getLongCardinality()) {
+			return false;
+		}
+		final PeekableIntIterator thisIt = thisBitmap.getIntIterator();
+		final PeekableIntIterator thatIt = thatBitmap.getIntIterator();
+		while (thisIt.hasNext()) {
+			if (thisIt.next() != thatIt.next()) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
 	public String toString() {
-		final RoaringBitmap theBitmap = getTheCurrentBitmap();
+		final ImmutableBitmapDataProvider theBitmap = getTheCurrentBitmap();
 		return Arrays.toString(theBitmap.toArray());
 	}
 
-	private RoaringBitmap getTheCurrentBitmap() {
+	private ImmutableBitmapDataProvider getTheCurrentBitmap() {
 		final BitmapChanges layer = getTransactionalMemoryLayerIfExists(this);
-		final RoaringBitmap theBitmap;
+		final ImmutableBitmapDataProvider theBitmap;
 		if (layer == null) {
-			theBitmap = this.roaringBitmap;
+			theBitmap = getReadOnlyBitmap();
 		} else {
-			theBitmap = layer.getMergedBitmap();
+			theBitmap = layer.getCurrentMergedBitmap();
 		}
 		return theBitmap;
 	}
+
+	/**
+	 * Returns the bitmap suitable for reading - either the mutable one or the view over the serialized form if it
+	 * hasn't been materialized yet. The serialized view must be read first - see {@link #getMutableBitmap()}.
+	 */
+	private ImmutableBitmapDataProvider getReadOnlyBitmap() {
+		final ImmutableRoaringBitmap theSerializedBitmap = this.serializedBitmap;
+		final RoaringBitmap theRoaringBitmap = this.roaringBitmap;
+		return theRoaringBitmap == null ? theSerializedBitmap : theRoaringBitmap;
+	}
+
+	/**
+	 * Returns the mutable bitmap and materializes it from the serialized form when it's requested for the first time.
+	 * The mutable bitmap is published before the serialized view is released, so that concurrent readers always see
+	 * at least one of them.
+	 */
+	private RoaringBitmap getMutableBitmap() {
+		RoaringBitmap theRoaringBitmap = this.roaringBitmap;
+		if (theRoaringBitmap == null) {
+			synchronized (this) {
+				theRoaringBitmap = this.roaringBitmap;
+				if (theRoaringBitmap == null) {
+					theRoaringBitmap = this.serializedBitmap.toRoaringBitmap();
+					this.roaringBitmap = theRoaringBitmap;
+					this.serializedBitmap = null;
+				}
+			}
+		}
+		return theRoaringBitmap;
+	}
 }
@@ -34,6 +34,7 @@ import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
 
 import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransactionalMemoryLayer;
+import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransactionalMemoryLayerIfExists;
 
 /**
  * This class envelopes simple primitive boolean and makes it transactional. This means, that the boolean can be updated
@@ -52,6 +53,14 @@ public class TransactionalBoolean implements TransactionalLayerProducer<BooleanC
 	@Getter private final long id = TransactionalObjectVersion.SEQUENCE.nextId();
 	private boolean value;
 
+	public TransactionalBoolean() {
+		this(false);
+	}
+
+	public TransactionalBoolean(boolean value) {
+		this.value = value;
+	}
+
 	@Override
 	public BooleanChanges createLayer() {
 		return new BooleanChanges();
@@ -73,7 +82,7 @@ public class TransactionalBoolean implements TransactionalLayerProducer<BooleanC
 	 * Sets the value to FALSE in a transactional safe way (if transaction is available).
 	 */
 	public boolean isTrue() {
-		final BooleanChanges layer = getTransactionalMemoryLayer(this);
+		final BooleanChanges layer = getTransactionalMemoryLayerIfExists(this);
 		if (layer == null) {
 			return value;
 		} else {
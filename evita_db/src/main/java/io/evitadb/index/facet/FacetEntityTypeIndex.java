@@ -22,17 +22,20 @@
 
 package io.evitadb.index.facet;
 
+import com.carrotsearch.hppc.IntObjectHashMap;
+import com.carrotsearch.hppc.cursors.IntObjectCursor;
 import io.evitadb.api.Transaction;
 import io.evitadb.api.data.structure.EntityReference;
 import io.evitadb.api.function.TriFunction;
 import io.evitadb.api.utils.ArrayUtils;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.facet.FacetEntityTypeIndex.FacetEntityTypeIndexChanges;
 import io.evitadb.index.facet.FacetEntityTypeIndex.NonTransactionalCopy;
 import io.evitadb.index.facet.FacetGroupIndex.FacetGroupIndexChanges;
-import io.evitadb.index.map.TransactionalMemoryMap;
+import io.evitadb.index.map.TransactionalIntObjMap;
 import io.evitadb.index.transactionalMemory.*;
 import io.evitadb.query.algebra.facet.FacetGroupFormula;
 import lombok.Data;
@@ -42,7 +45,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.util.*;
-import java.util.Map.Entry;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -66,11 +68,11 @@ public class FacetEntityTypeIndex implements TransactionalLayerProducer<FacetEnt
 	 * Represents index of facet to group relation - if none exists facet is either unknown or not assigned to any group.
 	 * TOBEDONE JNO - add consistency check that at the end of transaction, there is simple 1:1 relation in this sub index
 	 */
-	private final TransactionalMemoryMap<Integer, int[]> facetToGroupIndex;
+	private final TransactionalIntObjMap<int[]> facetToGroupIndex;
 	/**
 	 * Represents index of {@link FacetGroupIndex}, the key is {@link FacetGroupIndex#getGroupId()}.
 	 */
-	private final TransactionalMemoryMap<Integer, FacetGroupIndex> groupedFacets;
+	private final TransactionalIntObjMap<FacetGroupIndex> groupedFacets;
 	/**
 	 * Represents index for all facets that are not organized in any group (has no relation to group).
 	 */
@@ -79,15 +81,15 @@ public class FacetEntityTypeIndex implements TransactionalLayerProducer<FacetEnt
 	public FacetEntityTypeIndex(@Nonnull Serializable entityType) {
 		this.entityType = entityType;
 		this.notGroupedFacets = null;
-		this.groupedFacets = new TransactionalMemoryMap<>(new HashMap<>());
-		this.facetToGroupIndex = new TransactionalMemoryMap<>(new HashMap<>());
+		this.groupedFacets = new TransactionalIntObjMap<>();
+		this.facetToGroupIndex = new TransactionalIntObjMap<>();
 	}
 
 	public FacetEntityTypeIndex(@Nonnull Serializable entityType, @Nonnull Collection<FacetGroupIndex> groupIndexes) {
 		this.entityType = entityType;
 		FacetGroupIndex noGroup = null;
-		final Map<Integer, FacetGroupIndex> internalMap = new HashMap<>();
-		final Map<Integer, int[]> facetToGroup = new HashMap<>();
+		final IntObjectHashMap<FacetGroupIndex> internalMap = new IntObjectHashMap<>();
+		final IntObjectHashMap<int[]> facetToGroup = new IntObjectHashMap<>();
 		for (FacetGroupIndex groupIndex : groupIndexes) {
 			final Integer groupId = groupIndex.getGroupId();
 			if (groupId == null) {
@@ -96,20 +98,20 @@ public class FacetEntityTypeIndex implements TransactionalLayerProducer<FacetEnt
 			} else {
 				internalMap.put(groupId, groupIndex);
 				for (FacetIdIndex facetIdIndex : groupIndex.getFacetIdIndexes().values()) {
-					facetToGroup.merge(
+					final int[] existingGroups = facetToGroup.get(facetIdIndex.getFacetId());
+					facetToGroup.put(
 						facetIdIndex.getFacetId(),
-						new int[]{groupId},
-						(oldValues, newValues) -> ArrayUtils.insertIntIntoOrderedArray(newValues[0], oldValues)
+						existingGroups == null ? new int[]{groupId} : ArrayUtils.insertIntIntoOrderedArray(groupId, existingGroups)
 					);
 				}
 			}
 		}
 		this.notGroupedFacets = noGroup;
-		this.groupedFacets = new TransactionalMemoryMap<>(internalMap);
-		this.facetToGroupIndex = new TransactionalMemoryMap<>(facetToGroup);
+		this.groupedFacets = new TransactionalIntObjMap<>(internalMap);
+		this.facetToGroupIndex = new TransactionalIntObjMap<>(facetToGroup);
 	}
 
-	FacetEntityTypeIndex(Serializable entityType, Map<Integer, Bitmap> noGroup, Map<Integer, Map<Integer, Bitmap>> groups, Map<Integer, int[]> facetToGroupIndex) {
+	FacetEntityTypeIndex(Serializable entityType, Map<Integer, Bitmap> noGroup, IntObjectHashMap<Map<Integer, Bitmap>> groups, IntObjectHashMap<int[]> facetToGroupIndex) {
 		this.entityType = entityType;
 		final Function<Map<Integer, Bitmap>, Map<Integer, FacetIdIndex>> facetIdIndexFct = map -> map.entrySet()
 			.stream()
@@ -121,16 +123,16 @@ public class FacetEntityTypeIndex implements TransactionalLayerProducer<FacetEnt
 		this.notGroupedFacets = ofNullable(noGroup)
 			.map(it -> new FacetGroupIndex(null, facetIdIndexFct.apply(it)))
 			.orElse(null);
-		final Map<Integer, FacetGroupIndex> baseGroupMap = new HashMap<>();
-		for (Entry<Integer, Map<Integer, Bitmap>> entry : groups.entrySet()) {
-			final Map<Integer, FacetIdIndex> facetIndexes = facetIdIndexFct.apply(entry.getValue());
+		final IntObjectHashMap<FacetGroupIndex> baseGroupMap = new IntObjectHashMap<>(groups.size());
+		for (IntObjectCursor<Map<Integer, Bitmap>> entry : groups) {
+			final Map<Integer, FacetIdIndex> facetIndexes = facetIdIndexFct.apply(entry.value);
 			baseGroupMap.put(
-				entry.getKey(),
-				new FacetGroupIndex(entry.getKey(), facetIndexes)
+				entry.key,
+				new FacetGroupIndex(entry.key, facetIndexes)
 			);
 		}
-		this.groupedFacets = new TransactionalMemoryMap<>(baseGroupMap);
-		this.facetToGroupIndex = new TransactionalMemoryMap<>(facetToGroupIndex);
+		this.groupedFacets = new TransactionalIntObjMap<>(baseGroupMap);
+		this.facetToGroupIndex = new TransactionalIntObjMap<>(facetToGroupIndex);
 	}
 
 	/**
@@ -157,10 +159,10 @@ public class FacetEntityTypeIndex implements TransactionalLayerProducer<FacetEnt
 			}
 			facetGroupIndex = this.notGroupedFacets;
 		} else {
-			facetToGroupIndex.merge(
+			final int[] existingGroups = facetToGroupIndex.get(facetPrimaryKey);
+			facetToGroupIndex.put(
 				facetPrimaryKey,
-				new int[]{groupId},
-				(oldValues, newValues) -> ArrayUtils.insertIntIntoOrderedArray(newValues[0], oldValues)
+				existingGroups == null ? new int[]{groupId} : ArrayUtils.insertIntIntoOrderedArray(groupId, existingGroups)
 			);
 			// fetch or create index for referenced entity id (inside correct type)
 			facetGroupIndex = this.groupedFacets.computeIfAbsent(groupId, gPK -> {
@@ -331,9 +333,7 @@ public class FacetEntityTypeIndex implements TransactionalLayerProducer<FacetEnt
 	@Nonnull
 	public Map<Integer, Map<Integer, Bitmap>> getGroupsAsMap() {
 		final Map<Integer, Map<Integer, Bitmap>> result = createHashMap(this.groupedFacets.size());
-		for (Entry<Integer, FacetGroupIndex> entry : this.groupedFacets.entrySet()) {
-			result.put(entry.getKey(), entry.getValue().getAsMap());
-		}
+		this.groupedFacets.forEach((groupId, groupIndex) -> result.put(groupId, groupIndex.getAsMap()));
 		return result;
 	}
 
@@ -343,9 +343,7 @@ public class FacetEntityTypeIndex implements TransactionalLayerProducer<FacetEnt
 		if (this.notGroupedFacets != null) {
 			sb.append("\t").append(this.notGroupedFacets).append("\n");
 		}
-		this.groupedFacets
-			.keySet()
-			.stream()
+		Arrays.stream(this.groupedFacets.keys())
 			.sorted()
 			.forEach(group -> sb.append("\t").append(this.groupedFacets.get(group)));
 		return sb.toString();
@@ -356,6 +354,22 @@ public class FacetEntityTypeIndex implements TransactionalLayerProducer<FacetEnt
 		// do nothing here
 	}
 
+	@Override
+	public long estimateSize() {
+		long size = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			4 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			MemoryMeasuringConstants.computeIntObjHashMapSize(this.facetToGroupIndex.size()) +
+			MemoryMeasuringConstants.computeIntObjHashMapSize(this.groupedFacets.size()) +
+			ofNullable(this.notGroupedFacets).map(FacetGroupIndex::estimateSize).orElse(0L);
+		for (int[] groupIds : this.facetToGroupIndex.values()) {
+			size += MemoryMeasuringConstants.computeArraySize(groupIds.length, MemoryMeasuringConstants.INT_SIZE);
+		}
+		for (FacetGroupIndex facetGroupIndex : this.groupedFacets.values()) {
+			size += facetGroupIndex.estimateSize();
+		}
+		return size;
+	}
+
 	@Override
 	public void clearTransactionalMemory() {
 		ofNullable(this.notGroupedFacets).ifPresent(EntityIndexDataStructure::clearTransactionalMemory);
@@ -384,8 +398,8 @@ public class FacetEntityTypeIndex implements TransactionalLayerProducer<FacetEnt
 	public NonTransactionalCopy createCopyWithMergedTransactionalMemory(@Nullable FacetEntityTypeIndexChanges layer, @Nonnull TransactionalLayerMaintainer transactionalLayer, @Nullable Transaction transaction) {
 		final Map<Integer, Bitmap> noGroupCopy = this.notGroupedFacets == null ? null : transactionalLayer.getStateCopyWithCommittedChanges(this.notGroupedFacets, transaction);
 		// this is a HACK - facet id indexes produce IntegerBitmap instead of type than generics would suggest
-		final Map<Integer, Map<Integer, Bitmap>> groupCopy = (Map) transactionalLayer.getStateCopyWithCommittedChanges(this.groupedFacets, transaction);
-		final Map<Integer, int[]> facetToGroupCopy = transactionalLayer.getStateCopyWithCommittedChanges(this.facetToGroupIndex, transaction);
+		final IntObjectHashMap<Map<Integer, Bitmap>> groupCopy = (IntObjectHashMap) transactionalLayer.getStateCopyWithCommittedChanges(this.groupedFacets, transaction);
+		final IntObjectHashMap<int[]> facetToGroupCopy = transactionalLayer.getStateCopyWithCommittedChanges(this.facetToGroupIndex, transaction);
 		ofNullable(layer).ifPresent(it -> it.clean(transactionalLayer));
 		return new NonTransactionalCopy(noGroupCopy, groupCopy, facetToGroupCopy);
 	}
@@ -393,10 +407,10 @@ public class FacetEntityTypeIndex implements TransactionalLayerProducer<FacetEnt
 	@Data
 	public static class NonTransactionalCopy {
 		private Map<Integer, Bitmap> noGroup;
-		private Map<Integer, Map<Integer, Bitmap>> groups;
-		private Map<Integer, int[]> facetToGroupIndex;
+		private IntObjectHashMap<Map<Integer, Bitmap>> groups;
+		private IntObjectHashMap<int[]> facetToGroupIndex;
 
-		public NonTransactionalCopy(Map<Integer, Bitmap> noGroupCopy, Map<Integer, Map<Integer, Bitmap>> groupCopy, Map<Integer, int[]> facetToGroupCopy) {
+		public NonTransactionalCopy(Map<Integer, Bitmap> noGroupCopy, IntObjectHashMap<Map<Integer, Bitmap>> groupCopy, IntObjectHashMap<int[]> facetToGroupCopy) {
 			this.noGroup = noGroupCopy;
 			this.groups = groupCopy;
 			this.facetToGroupIndex = facetToGroupCopy;
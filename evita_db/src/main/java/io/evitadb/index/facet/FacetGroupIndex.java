@@ -24,6 +24,7 @@ package io.evitadb.index.facet;
 
 import io.evitadb.api.Transaction;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.facet.FacetGroupIndex.FacetGroupIndexChanges;
@@ -202,6 +203,18 @@ public class FacetGroupIndex implements TransactionalLayerProducer<FacetGroupInd
 		// do nothing here
 	}
 
+	@Override
+	public long estimateSize() {
+		long size = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			2 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			MemoryMeasuringConstants.computeHashMapSize(this.facetIdIndexes.size());
+		for (FacetIdIndex facetIdIndex : this.facetIdIndexes.values()) {
+			size += MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.INT_SIZE +
+				facetIdIndex.estimateSize();
+		}
+		return size;
+	}
+
 	@Override
 	public void clearTransactionalMemory() {
 		for (FacetIdIndex facetIdIndex : facetIdIndexes.values()) {
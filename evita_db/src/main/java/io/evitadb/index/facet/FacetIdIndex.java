@@ -24,6 +24,7 @@ package io.evitadb.index.facet;
 
 import io.evitadb.api.Transaction;
 import io.evitadb.api.data.structure.EntityReference;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.TransactionalBitmap;
@@ -108,6 +109,13 @@ public class FacetIdIndex implements VoidTransactionMemoryProducer<Bitmap>, Enti
 		// do nothing here
 	}
 
+	@Override
+	public long estimateSize() {
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			MemoryMeasuringConstants.INT_SIZE + MemoryMeasuringConstants.REFERENCE_SIZE +
+			this.records.estimateSize();
+	}
+
 	@Override
 	public void clearTransactionalMemory() {
 		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this);
@@ -22,6 +22,7 @@
 
 package io.evitadb.index.facet;
 
+import com.carrotsearch.hppc.IntObjectHashMap;
 import io.evitadb.api.Transaction;
 import io.evitadb.api.data.Droppable;
 import io.evitadb.api.data.EntityReferenceContract;
@@ -30,6 +31,7 @@ import io.evitadb.api.data.structure.Entity;
 import io.evitadb.api.data.structure.EntityReference;
 import io.evitadb.api.function.TriFunction;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.facet.FacetEntityTypeIndex.FacetEntityTypeIndexChanges;
@@ -128,8 +130,8 @@ public class FacetIndex implements FacetIndexContract, TransactionalLayerProduce
 		for (Entry<Serializable, NonTransactionalCopy> facetingEntitiesIndexEntry : sourceFacetingEntities.entrySet()) {
 			final NonTransactionalCopy nonTransactionalCopy = facetingEntitiesIndexEntry.getValue();
 			final Map<Integer, Bitmap> noGroup = nonTransactionalCopy.getNoGroup();
-			final Map<Integer, Map<Integer, Bitmap>> groups = nonTransactionalCopy.getGroups();
-			final Map<Integer, int[]> facetToGroupIndex = nonTransactionalCopy.getFacetToGroupIndex();
+			final IntObjectHashMap<Map<Integer, Bitmap>> groups = nonTransactionalCopy.getGroups();
+			final IntObjectHashMap<int[]> facetToGroupIndex = nonTransactionalCopy.getFacetToGroupIndex();
 			final Serializable entityType = facetingEntitiesIndexEntry.getKey();
 			theFacetingEntities.put(
 				entityType,
@@ -249,6 +251,19 @@ public class FacetIndex implements FacetIndexContract, TransactionalLayerProduce
 		this.dirtyIndexes.clear();
 	}
 
+	@Override
+	public long estimateSize() {
+		long size = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			2 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			MemoryMeasuringConstants.computeHashMapSize(this.facetingEntities.size()) +
+			MemoryMeasuringConstants.computeHashMapSize(this.dirtyIndexes.size());
+		for (FacetEntityTypeIndex entityTypeIndex : this.facetingEntities.values()) {
+			// entity type key is shared with the nested index
+			size += entityTypeIndex.estimateSize();
+		}
+		return size;
+	}
+
 	@Override
 	public void clearTransactionalMemory() {
 		for (FacetEntityTypeIndex entityTypeIndex : facetingEntities.values()) {
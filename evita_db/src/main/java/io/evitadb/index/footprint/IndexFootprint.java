@@ -0,0 +1,65 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index.footprint;
+
+import io.evitadb.index.EntityIndexType;
+import lombok.Data;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+/**
+ * DTO containing estimated memory footprint of single {@link IndexFootprintPart} aggregated across all entity indexes
+ * of the same {@link EntityIndexType} in single entity collection. Attribute related parts are further split by
+ * the attribute name.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@Data
+public class IndexFootprint {
+	/**
+	 * Type of the entity collection the indexes belong to.
+	 */
+	private final Serializable entityType;
+	/**
+	 * Type of the entity indexes the footprint was aggregated from.
+	 */
+	private final EntityIndexType entityIndexType;
+	/**
+	 * Part of the entity index the footprint relates to.
+	 */
+	private final IndexFootprintPart part;
+	/**
+	 * Name of the attribute for attribute related parts, NULL otherwise.
+	 */
+	@Nullable private final String attributeName;
+	/**
+	 * Count of the data structures that were aggregated into this footprint.
+	 */
+	private final int indexCount;
+	/**
+	 * Estimated size of all aggregated data structures on Java heap in Bytes.
+	 */
+	private final long sizeInBytes;
+
+}
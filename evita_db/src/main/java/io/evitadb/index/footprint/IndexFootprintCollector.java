@@ -0,0 +1,100 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index.footprint;
+
+import io.evitadb.index.EntityIndexDataStructure;
+import io.evitadb.index.EntityIndexType;
+import lombok.Data;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Collector is passed through all entity indexes of the catalog and aggregates {@link EntityIndexDataStructure#estimateSize()
+ * estimated sizes} of their parts into {@link IndexFootprint} records. Sizes of the same part in indexes of the same
+ * {@link EntityIndexType} (and the same attribute) are summed together.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@NotThreadSafe
+public class IndexFootprintCollector {
+	private final Map<FootprintKey, long[]> footprints = new LinkedHashMap<>();
+
+	/**
+	 * Registers estimated size of single data structure.
+	 */
+	public void record(@Nonnull Serializable entityType, @Nonnull EntityIndexType entityIndexType, @Nonnull IndexFootprintPart part, @Nullable String attributeName, long sizeInBytes) {
+		final long[] aggregate = this.footprints.computeIfAbsent(
+			new FootprintKey(entityType, entityIndexType, part, attributeName),
+			key -> new long[2]
+		);
+		aggregate[0]++;
+		aggregate[1] += sizeInBytes;
+	}
+
+	/**
+	 * Returns aggregated footprints sorted by their size in descending order.
+	 */
+	@Nonnull
+	public List<IndexFootprint> getFootprints() {
+		return this.footprints.entrySet()
+			.stream()
+			.map(it -> new IndexFootprint(
+				it.getKey().getEntityType(),
+				it.getKey().getEntityIndexType(),
+				it.getKey().getPart(),
+				it.getKey().getAttributeName(),
+				(int) it.getValue()[0],
+				it.getValue()[1]
+			))
+			.sorted(Comparator.comparingLong(IndexFootprint::getSizeInBytes).reversed())
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns estimated size of all recorded data structures in Bytes.
+	 */
+	public long getTotalSize() {
+		long total = 0L;
+		for (long[] aggregate : this.footprints.values()) {
+			total += aggregate[1];
+		}
+		return total;
+	}
+
+	@Data
+	private static class FootprintKey {
+		private final Serializable entityType;
+		private final EntityIndexType entityIndexType;
+		private final IndexFootprintPart part;
+		@Nullable private final String attributeName;
+	}
+
+}
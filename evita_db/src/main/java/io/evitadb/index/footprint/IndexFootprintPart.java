@@ -0,0 +1,67 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index.footprint;
+
+import io.evitadb.index.EntityIndex;
+
+/**
+ * Enumeration of the parts of the {@link EntityIndex} the estimated memory footprint is reported for.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public enum IndexFootprintPart {
+	/**
+	 * Bitmaps of all entity primary keys in the index and their language specific variants.
+	 */
+	ENTITY_IDS,
+	/**
+	 * {@link io.evitadb.index.attribute.UniqueIndex} of the particular attribute.
+	 */
+	ATTRIBUTE_UNIQUE,
+	/**
+	 * {@link io.evitadb.index.attribute.FilterIndex} of the particular attribute including its histogram and range index.
+	 */
+	ATTRIBUTE_FILTER,
+	/**
+	 * {@link io.evitadb.index.attribute.SortIndex} of the particular attribute.
+	 */
+	ATTRIBUTE_SORT,
+	/**
+	 * {@link io.evitadb.index.facet.FacetIndex} with all its nested facet indexes.
+	 */
+	FACET,
+	/**
+	 * {@link io.evitadb.index.hierarchy.HierarchyIndex} of the hierarchical entities.
+	 */
+	HIERARCHY,
+	/**
+	 * Bitmaps of entity primary keys aggregated in {@link io.evitadb.index.HierarchyRollUpEntityIndex} by the referenced
+	 * hierarchy nodes.
+	 */
+	HIERARCHY_ROLL_UP,
+	/**
+	 * Price index with all its price list and currency specific indexes.
+	 */
+	PRICE
+
+}
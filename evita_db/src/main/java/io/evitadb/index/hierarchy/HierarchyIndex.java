@@ -23,11 +23,13 @@
 package io.evitadb.index.hierarchy;
 
 import com.carrotsearch.hppc.IntHashSet;
+import com.carrotsearch.hppc.IntObjectHashMap;
 import com.carrotsearch.hppc.IntSet;
 import io.evitadb.api.Transaction;
 import io.evitadb.api.data.HierarchicalPlacementContract;
 import io.evitadb.api.utils.ArrayUtils;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
 import io.evitadb.index.array.CompositeIntArray;
 import io.evitadb.index.array.CompositeObjectArray;
@@ -38,7 +40,7 @@ import io.evitadb.index.bitmap.EmptyBitmap;
 import io.evitadb.index.bool.TransactionalBoolean;
 import io.evitadb.index.hierarchy.suppliers.*;
 import io.evitadb.index.list.TransactionalMemoryList;
-import io.evitadb.index.map.TransactionalMemoryMap;
+import io.evitadb.index.map.TransactionalIntObjMap;
 import io.evitadb.index.transactionalMemory.TransactionalLayerMaintainer;
 import io.evitadb.index.transactionalMemory.TransactionalMemory;
 import io.evitadb.index.transactionalMemory.TransactionalObjectVersion;
@@ -88,7 +90,7 @@ public class HierarchyIndex implements HierarchyIndexContract, VoidTransactionMe
 	 * whether it's part of the tree reachable from the {@link #roots} or {@link #orphans}. Key of the index is
 	 * {@link HierarchyNode#getEntityPrimaryKey()}.
 	 */
-	private final TransactionalMemoryMap<Integer, HierarchyNode> itemIndex;
+	private final TransactionalIntObjMap<HierarchyNode> itemIndex;
 	/**
 	 * List contains entity primary keys of all entities that have hierarchy placement set to root level (i.e. without
 	 * any parent). List contains ids sorted by {@link HierarchicalPlacementContract#getOrderAmongSiblings()}.
@@ -101,7 +103,7 @@ public class HierarchyIndex implements HierarchyIndexContract, VoidTransactionMe
 	 * {@link HierarchicalPlacementContract#getOrderAmongSiblings()}. If the entity is not reachable from any root
 	 * entity it's places into {@link #orphans} and is not present in this index.
 	 */
-	private final TransactionalMemoryMap<Integer, int[]> levelIndex;
+	private final TransactionalIntObjMap<int[]> levelIndex;
 	/**
 	 * Array contains entity primary keys of all entities that are not reachable from {@link #roots}. This simple list
 	 * contains also children of orphan parents - i.e. primary keys of all unreachable entities that have
@@ -117,8 +119,8 @@ public class HierarchyIndex implements HierarchyIndexContract, VoidTransactionMe
 	public HierarchyIndex() {
 		this.dirty = new TransactionalBoolean();
 		this.roots = new TransactionalMemoryList<>(new LinkedList<>());
-		this.levelIndex = new TransactionalMemoryMap<>(new HashMap<>());
-		this.itemIndex = new TransactionalMemoryMap<>(new HashMap<>());
+		this.levelIndex = new TransactionalIntObjMap<>();
+		this.itemIndex = new TransactionalIntObjMap<>();
 		this.orphans = new TransactionalIntArray();
 		this.intComparator = createIntComparator();
 	}
@@ -126,8 +128,17 @@ public class HierarchyIndex implements HierarchyIndexContract, VoidTransactionMe
 	public HierarchyIndex(List<Integer> roots, Map<Integer, int[]> levelIndex, Map<Integer, HierarchyNode> itemIndex, int[] orphans) {
 		this.dirty = new TransactionalBoolean();
 		this.roots = new TransactionalMemoryList<>(roots);
-		this.levelIndex = new TransactionalMemoryMap<>(levelIndex);
-		this.itemIndex = new TransactionalMemoryMap<>(itemIndex);
+		this.levelIndex = new TransactionalIntObjMap<>(levelIndex);
+		this.itemIndex = new TransactionalIntObjMap<>(itemIndex);
+		this.orphans = new TransactionalIntArray(orphans);
+		this.intComparator = createIntComparator();
+	}
+
+	private HierarchyIndex(List<Integer> roots, IntObjectHashMap<int[]> levelIndex, IntObjectHashMap<HierarchyNode> itemIndex, int[] orphans) {
+		this.dirty = new TransactionalBoolean();
+		this.roots = new TransactionalMemoryList<>(roots);
+		this.levelIndex = new TransactionalIntObjMap<>(levelIndex);
+		this.itemIndex = new TransactionalIntObjMap<>(itemIndex);
 		this.orphans = new TransactionalIntArray(orphans);
 		this.intComparator = createIntComparator();
 	}
@@ -156,7 +167,7 @@ public class HierarchyIndex implements HierarchyIndexContract, VoidTransactionMe
 		} else {
 			final boolean parentFound = levelIndex.computeIfPresent(
 				parentPrimaryKey,
-				(ppk, oldValue) -> ArrayUtils.insertIntIntoOrderedArray(entityPrimaryKey, oldValue, theIntComparator)
+				oldValue -> ArrayUtils.insertIntIntoOrderedArray(entityPrimaryKey, oldValue, theIntComparator)
 			) != null;
 			if (parentFound) {
 				// create the children set
@@ -416,6 +427,15 @@ public class HierarchyIndex implements HierarchyIndexContract, VoidTransactionMe
 		return theResult;
 	}
 
+	@Nullable
+	@Override
+	public Integer[] listHierarchyNodesFromRootToTheNodeIncludingSelfIfReachable(int theNode) {
+		if (!this.itemIndex.containsKey(theNode) || this.orphans.contains(theNode)) {
+			return null;
+		}
+		return listHierarchyNodesFromRootToTheNodeIncludingSelf(theNode);
+	}
+
 	@Override
 	@Nonnull
 	public Formula getRootHierarchyNodesFormula() {
@@ -515,7 +535,7 @@ public class HierarchyIndex implements HierarchyIndexContract, VoidTransactionMe
 	public StoragePart createStoragePart(int entityIndexPrimaryKey) {
 		if (this.dirty.isTrue()) {
 			return new HierarchyIndexStoragePart(
-				entityIndexPrimaryKey, this.itemIndex, this.roots, this.levelIndex, this.orphans.getArray()
+				entityIndexPrimaryKey, this.itemIndex.toMap(), this.roots, this.levelIndex.toMap(), this.orphans.getArray()
 			);
 		} else {
 			return null;
@@ -527,6 +547,26 @@ public class HierarchyIndex implements HierarchyIndexContract, VoidTransactionMe
 		this.dirty.reset();
 	}
 
+	@Override
+	public long estimateSize() {
+		final int boxedIntegerSize = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.INT_SIZE;
+		final int nodeSize = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + 2 * MemoryMeasuringConstants.INT_SIZE +
+			MemoryMeasuringConstants.REFERENCE_SIZE + boxedIntegerSize;
+		final int itemCount = this.itemIndex.size();
+		final int rootCount = this.roots.size();
+		long size = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			6 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			MemoryMeasuringConstants.computeIntObjHashMapSize(itemCount) + (long) itemCount * nodeSize +
+			// roots are kept in linked list
+			48L + (long) rootCount * (24 + boxedIntegerSize) +
+			MemoryMeasuringConstants.computeIntObjHashMapSize(this.levelIndex.size()) +
+			MemoryMeasuringConstants.computeArraySize(this.orphans.getLength(), MemoryMeasuringConstants.INT_SIZE);
+		for (int[] children : this.levelIndex.values()) {
+			size += MemoryMeasuringConstants.computeArraySize(children.length, MemoryMeasuringConstants.INT_SIZE);
+		}
+		return size;
+	}
+
 	/*
 		TransactionalLayerCreator implementation
 	 */
@@ -590,7 +630,7 @@ public class HierarchyIndex implements HierarchyIndexContract, VoidTransactionMe
 				} else {
 					final int[] recomputedValue = levelIndex.computeIfPresent(
 						previousLocation.getParentEntityPrimaryKey(),
-						(epk, parentNodeChildren) -> {
+						parentNodeChildren -> {
 							final int index = ArrayUtils.binarySearch(
 								parentNodeChildren, entityPrimaryKey, (o1, o2) -> {
 									final HierarchyNode o1Node = o1 == entityPrimaryKey ? previousLocation : this.itemIndex.get(o1);
@@ -157,6 +157,14 @@ public interface HierarchyIndexContract {
 	@Nonnull
 	Integer[] listHierarchyNodesFromRootToTheNodeIncludingSelf(int theNode);
 
+	/**
+	 * Method returns the same result as {@link #listHierarchyNodesFromRootToTheNodeIncludingSelf(int)} but instead of
+	 * throwing an exception it returns NULL when `theNode` is not present in the index or when it is not reachable from
+	 * any of the root nodes (i.e. it's one of the {@link #getOrphanHierarchyNodes()}).
+	 */
+	@Nullable
+	Integer[] listHierarchyNodesFromRootToTheNodeIncludingSelfIfReachable(int theNode);
+
 	/**
 	 * Method returns result of {@link #getRootHierarchyNodes()} wrapped as lazy lambda in {@link DeferredFormula}.
 	 */
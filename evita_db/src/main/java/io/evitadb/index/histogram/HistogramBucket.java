@@ -23,7 +23,9 @@
 package io.evitadb.index.histogram;
 
 import io.evitadb.api.Transaction;
+import io.evitadb.api.dataType.EvitaDataTypes;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.array.TransactionalObject;
 import io.evitadb.index.bitmap.BaseBitmap;
 import io.evitadb.index.bitmap.Bitmap;
@@ -121,6 +123,15 @@ public class HistogramBucket<T extends Comparable<T>> implements TransactionalOb
 		return this.recordIds;
 	}
 
+	/**
+	 * Returns estimated size of the bucket on Java heap in Bytes including the value and record ids.
+	 */
+	public long estimateSize() {
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE + 2 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			EvitaDataTypes.estimateSize((Serializable) this.value) +
+			this.recordIds.estimateSize();
+	}
+
 	/**
 	 * Returns true if this histogram point contains no record ids.
 	 */
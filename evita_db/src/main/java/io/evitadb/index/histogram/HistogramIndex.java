@@ -25,6 +25,7 @@ package io.evitadb.index.histogram;
 import io.evitadb.api.Transaction;
 import io.evitadb.api.utils.ArrayUtils;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.array.TransactionalComplexObjArray;
 import io.evitadb.index.bitmap.BaseBitmap;
 import io.evitadb.index.bitmap.Bitmap;
@@ -37,17 +38,20 @@ import io.evitadb.query.algebra.base.ConstantFormula;
 import io.evitadb.query.algebra.base.EmptyFormula;
 import io.evitadb.query.algebra.base.OrFormula;
 import io.evitadb.query.algebra.deferred.DeferredFormula;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.List;
 import java.util.function.BiFunction;
 
+import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransactionalMemoryLayerIfExists;
+import static io.evitadb.index.transactionalMemory.TransactionalMemory.isTransactionalMemoryAvailable;
+
 /**
  * Histogram index is based on <a href="https://en.wikipedia.org/wiki/Histogram">Histogram data structure</a>. It's
  * organized as a set of "buckets" ordered from minimal to maximal {@link Comparable} value. Each bucket has assigned
@@ -57,6 +61,11 @@ import java.util.function.BiFunction;
  * are easily available as the set assigned to that value. Range look-ups are also available as boolean OR of all bitmaps
  * from / to looked up value threshold.
  * <p>
+ * Buckets are not kept in single array but split into ordered {@link BucketChunk chunks} of limited size (similar to
+ * the leaves of the B+ tree). Inserting a bucket with new value copies only the buckets of the single chunk and
+ * the transactional diff is maintained for the touched chunks only. Chunks that were not touched by the transaction
+ * are reused in the committed copy without any copying.
+ * <p>
  * Histogram MUST NOT contain same record id in multiple buckets. This prerequisite is not checked internally by this
  * data structure and client code must this ensure by its internal logic! If this prerequisite is not met, histogram
  * may return confusing results.
@@ -73,7 +82,6 @@ import java.util.function.BiFunction;
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2019
  */
 @ThreadSafe
-@EqualsAndHashCode
 public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionMemoryProducer<HistogramIndex<T>>, Serializable {
 	private static final long serialVersionUID = 3019703951858227807L;
 
@@ -103,7 +111,26 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 		}
 	};
 
-	private final TransactionalComplexObjArray<HistogramBucket<T>> buckets;
+	/**
+	 * Maximal count of buckets in single chunk. Chunks exceeding this size are split to chunks of {@link #CHUNK_SIZE}.
+	 */
+	static final int MAX_CHUNK_SIZE = 256;
+	/**
+	 * Target count of buckets in chunks created by splitting the larger bucket arrays.
+	 */
+	static final int CHUNK_SIZE = 128;
+
+	/**
+	 * Ordered chunks of the buckets. The chunk directory is never modified within the transaction - the chunks may
+	 * temporarily exceed {@link #MAX_CHUNK_SIZE} or become empty and they're normalized when the transaction is
+	 * committed. When no transaction is opened the chunks are normalized immediately.
+	 */
+	private BucketChunk<T>[] chunks;
+	/**
+	 * Memoized result of {@link #getBuckets()} reflecting the state without transactional changes. The array is
+	 * written by the readers, so it must be volatile in order to be safely published to other threads.
+	 */
+	private transient volatile HistogramBucket<T>[] memoizedBuckets;
 
 	/**
 	 * Method verifies that {@link HistogramBucket#getValue()}s in passed set are monotonically increasing and contain
@@ -120,39 +147,67 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 		}
 	}
 
+	/**
+	 * Adds passed buckets to the `target` list as a single chunk or splits them to multiple chunks of {@link #CHUNK_SIZE}
+	 * when they exceed {@link #MAX_CHUNK_SIZE}. Empty bucket arrays are skipped.
+	 */
+	private static <T extends Comparable<T>> void addAsChunks(@Nonnull HistogramBucket<T>[] buckets, @Nonnull List<BucketChunk<T>> target) {
+		if (buckets.length == 0) {
+			return;
+		}
+		if (buckets.length <= MAX_CHUNK_SIZE) {
+			target.add(new BucketChunk<>(buckets));
+		} else {
+			// distribute the buckets evenly so that there is no tiny chunk at the end
+			final int chunkCount = (buckets.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+			int start = 0;
+			for (int i = 1; i <= chunkCount; i++) {
+				final int end = (int) ((long) buckets.length * i / chunkCount);
+				target.add(new BucketChunk<>(Arrays.copyOfRange(buckets, start, end)));
+				start = end;
+			}
+		}
+	}
+
+	/**
+	 * Converts list of chunks to the chunk directory. The directory always contains at least one (possibly empty) chunk.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nonnull
+	private static <T extends Comparable<T>> BucketChunk<T>[] toChunkDirectory(@Nonnull List<BucketChunk<T>> chunks) {
+		if (chunks.isEmpty()) {
+			final HistogramBucket<T>[] noBuckets = new HistogramBucket[0];
+			chunks.add(new BucketChunk<>(noBuckets));
+		}
+		return chunks.toArray(new BucketChunk[0]);
+	}
+
 	public HistogramIndex() {
-		//noinspection unchecked, rawtypes
-		buckets = new TransactionalComplexObjArray<>(
-			new HistogramBucket[0],
-			HistogramBucket::add,
-			HistogramBucket::remove,
-			HistogramBucket::isEmpty,
-			HistogramBucket::deepEquals
-		);
+		this.chunks = toChunkDirectory(new ArrayList<>(1));
 	}
 
 	public HistogramIndex(HistogramBucket<T>[] buckets) {
 		// contract check
 		assertValueIsMonotonic(buckets);
-		this.buckets = new TransactionalComplexObjArray<>(
-			buckets,
-			HistogramBucket::add,
-			HistogramBucket::remove,
-			HistogramBucket::isEmpty,
-			HistogramBucket::deepEquals
-		);
+		final List<BucketChunk<T>> theChunks = new ArrayList<>(buckets.length / CHUNK_SIZE + 1);
+		addAsChunks(buckets, theChunks);
+		this.chunks = toChunkDirectory(theChunks);
+	}
+
+	private HistogramIndex(@Nonnull List<BucketChunk<T>> chunks) {
+		this.chunks = toChunkDirectory(chunks);
 	}
 
 	/**
 	 * Adds single record id into the bucket with specified `value`. If no bucket with this value exists, it is automatically
 	 * created and first record id is assigned to it.
-	 *
-	 * @return position where insertion happened
 	 */
-	public int addRecord(@Nonnull T value, int recordId) {
+	public void addRecord(@Nonnull T value, int recordId) {
 		final HistogramBucket<T> bucket = new HistogramBucket<>(value, EmptyBitmap.INSTANCE);
 		bucket.addRecord(recordId);
-		return buckets.addReturningIndex(bucket);
+		final int chunkIndex = getChunkIndex(value);
+		this.chunks[chunkIndex].getBuckets().add(bucket);
+		normalizeChunk(chunkIndex);
 	}
 
 	/**
@@ -163,7 +218,9 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 		Assert.isTrue(!ArrayUtils.isEmpty(recordId), "Record ids must be not null and non empty!");
 		final HistogramBucket<T> bucket = new HistogramBucket<>(value, EmptyBitmap.INSTANCE);
 		bucket.addRecord(recordId);
-		buckets.add(bucket);
+		final int chunkIndex = getChunkIndex(value);
+		this.chunks[chunkIndex].getBuckets().add(bucket);
+		normalizeChunk(chunkIndex);
 	}
 
 	/**
@@ -175,18 +232,25 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 	 */
 	public int removeRecord(@Nonnull T value, int... recordId) {
 		Assert.isTrue(!ArrayUtils.isEmpty(recordId), "Record ids must be not null and non-empty!");
-		return buckets.remove(new HistogramBucket<>(value, new BaseBitmap(recordId)));
+		final int chunkIndex = getChunkIndex(value);
+		final int position = this.chunks[chunkIndex].getBuckets().remove(new HistogramBucket<>(value, new BaseBitmap(recordId)));
+		if (position < 0) {
+			return -1;
+		}
+		final int bucketCountBefore = getBucketCountBefore(chunkIndex);
+		normalizeChunk(chunkIndex);
+		return bucketCountBefore + position;
 	}
 
 	/**
 	 * Method returns ture if histogram contains no records (i.e. no, or empty buckets).
 	 */
 	public boolean isEmpty() {
-		final Iterator<HistogramBucket<T>> it = buckets.iterator();
-		while (it.hasNext()) {
-			final HistogramBucket<T> bucket = it.next();
-			if (!bucket.isEmpty()) {
-				return false;
+		for (BucketChunk<T> chunk : this.chunks) {
+			for (HistogramBucket<T> bucket : chunk.getBuckets().getArray()) {
+				if (!bucket.isEmpty()) {
+					return false;
+				}
 			}
 		}
 		return true;
@@ -196,7 +260,7 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 	 * Returns true if there is a bucket related to passed `value`.
 	 */
 	public boolean contains(@Nullable T value) {
-		final HistogramBucket<T>[] pointsArray = buckets.getArray();
+		final HistogramBucket<T>[] pointsArray = this.chunks[getChunkIndex(value)].getBuckets().getArray();
 		final int index = Arrays.binarySearch(pointsArray, new HistogramBucket<>(value));
 		return index >= 0;
 	}
@@ -208,7 +272,7 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 	 */
 	@Nonnull
 	public Bitmap getRecordsAt(@Nullable T value) {
-		final HistogramBucket<T>[] pointsArray = buckets.getArray();
+		final HistogramBucket<T>[] pointsArray = this.chunks[getChunkIndex(value)].getBuckets().getArray();
 		final int index = Arrays.binarySearch(pointsArray, new HistogramBucket<>(value));
 		if (index >= 0) {
 			return pointsArray[index].getRecordIds();
@@ -222,9 +286,17 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 	 */
 	@Nonnull
 	public Bitmap getRecordsAtIndex(int index) {
-		final HistogramBucket<T>[] pointsArray = buckets.getArray();
 		if (index >= 0) {
-			return pointsArray[index].getRecordIds();
+			// resolve the chunk the index falls into and read the bucket directly without concatenating the chunks
+			int chunkStart = 0;
+			for (BucketChunk<T> chunk : this.chunks) {
+				final HistogramBucket<T>[] pointsArray = chunk.getBuckets().getArray();
+				if (index < chunkStart + pointsArray.length) {
+					return pointsArray[index - chunkStart].getRecordIds();
+				}
+				chunkStart += pointsArray.length;
+			}
+			throw new ArrayIndexOutOfBoundsException(index);
 		} else {
 			return EmptyBitmap.INSTANCE;
 		}
@@ -232,10 +304,28 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 
 	/**
 	 * Returns array of "buckets" ordered by {@link HistogramBucket#getValue()} that contain record ids assigned in them.
+	 * Returned array must not be modified by the caller.
 	 */
 	@Nonnull
 	public HistogramBucket<T>[] getBuckets() {
-		return this.buckets.getArray();
+		final BucketChunk<T>[] theChunks = this.chunks;
+		if (theChunks.length == 1) {
+			return theChunks[0].getBuckets().getArray();
+		}
+		if (isTransactionalMemoryAvailable()) {
+			for (BucketChunk<T> chunk : theChunks) {
+				if (getTransactionalMemoryLayerIfExists(chunk.getBuckets()) != null) {
+					// the chunks contain changes visible only in this transaction
+					return concatenateBuckets(theChunks);
+				}
+			}
+		}
+		HistogramBucket<T>[] buckets = this.memoizedBuckets;
+		if (buckets == null) {
+			buckets = concatenateBuckets(theChunks);
+			this.memoizedBuckets = buckets;
+		}
+		return buckets;
 	}
 
 	/**
@@ -349,7 +439,7 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 	 */
 	public int findRecordIndex(int recordId) {
 		int missedCounts = 0;
-		final HistogramBucket<T>[] histogramBuckets = this.buckets.getArray();
+		final HistogramBucket<T>[] histogramBuckets = getBuckets();
 		for (final HistogramBucket<T> bucket : histogramBuckets) {
 			final Bitmap recordIds = bucket.getRecordIds();
 			if (recordId < recordIds.getFirst() || recordId > recordIds.getLast()) {
@@ -384,7 +474,7 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 	 */
 	public int findRecordIndexReversed(int recordId) {
 		int missedCounts = 0;
-		final HistogramBucket<T>[] histogramBuckets = this.buckets.getArray();
+		final HistogramBucket<T>[] histogramBuckets = getBuckets();
 		for (int i = histogramBuckets.length - 1; i >= 0; i--) {
 			final HistogramBucket<T> bucket = histogramBuckets[i];
 			final Bitmap recordIds = bucket.getRecordIds();
@@ -408,7 +498,11 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 	 * Returns count of the buckets in the histogram.
 	 */
 	public int getBucketCount() {
-		return buckets.getLength();
+		int count = 0;
+		for (BucketChunk<T> chunk : this.chunks) {
+			count += chunk.getBuckets().getArray().length;
+		}
+		return count;
 	}
 
 	/**
@@ -416,30 +510,150 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 	 */
 	public int getLength() {
 		int count = 0;
-		for (HistogramBucket<T> bucket : this.buckets.getArray()) {
-			count += bucket.getRecordIds().size();
+		for (BucketChunk<T> chunk : this.chunks) {
+			for (HistogramBucket<T> bucket : chunk.getBuckets().getArray()) {
+				count += bucket.getRecordIds().size();
+			}
 		}
 		return count;
 	}
 
-	/*
-		Implementation of TransactionalLayerProducer
+	/**
+	 * Returns estimated size of the histogram on Java heap in Bytes including all its buckets.
 	 */
+	public long estimateSize() {
+		final BucketChunk<T>[] theChunks = this.chunks;
+		long size = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + 2 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			MemoryMeasuringConstants.computeArraySize(theChunks.length, MemoryMeasuringConstants.REFERENCE_SIZE);
+		for (BucketChunk<T> chunk : theChunks) {
+			final HistogramBucket<T>[] theBuckets = chunk.getBuckets().getArray();
+			size += MemoryMeasuringConstants.OBJECT_HEADER_SIZE + 2 * MemoryMeasuringConstants.REFERENCE_SIZE +
+				MemoryMeasuringConstants.computeArraySize(theBuckets.length, MemoryMeasuringConstants.REFERENCE_SIZE);
+			for (HistogramBucket<T> bucket : theBuckets) {
+				size += bucket.estimateSize();
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		@SuppressWarnings("unchecked") final HistogramIndex<T> that = (HistogramIndex<T>) o;
+		final HistogramBucket<T>[] thisBuckets = getBuckets();
+		final HistogramBucket<T>[] thatBuckets = that.getBuckets();
+		if (thisBuckets.length != thatBuckets.length) return false;
+		for (int i = 0; i < thisBuckets.length; i++) {
+			if (!thisBuckets[i].deepEquals(thatBuckets[i])) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(getBuckets());
+	}
 
 	@Override
 	public String toString() {
 		return "HistogramIndex{" +
-			"points=" + buckets +
+			"points=" + Arrays.toString(getBuckets()) +
 			'}';
 	}
 
 	/*
-		PRIVATE METHODS
+		Implementation of TransactionalLayerProducer
 	 */
 
 	@Override
 	public HistogramIndex<T> createCopyWithMergedTransactionalMemory(Void layer, @Nonnull TransactionalLayerMaintainer transactionalLayer, Transaction transaction) {
-		return new HistogramIndex<>(transactionalLayer.getStateCopyWithCommittedChanges(buckets, transaction));
+		final List<BucketChunk<T>> committedChunks = new ArrayList<>(this.chunks.length);
+		for (BucketChunk<T> chunk : this.chunks) {
+			final TransactionalComplexObjArray<HistogramBucket<T>> chunkBuckets = chunk.getBuckets();
+			if (transactionalLayer.getTransactionalMemoryLayerIfExists(chunkBuckets) == null) {
+				// chunk was not touched in the transaction - its buckets are reused without copying
+				final HistogramBucket<T>[] buckets = chunkBuckets.getArray();
+				if (buckets.length > 0) {
+					committedChunks.add(new BucketChunk<>(buckets));
+				}
+			} else {
+				addAsChunks(transactionalLayer.getStateCopyWithCommittedChanges(chunkBuckets, transaction), committedChunks);
+			}
+		}
+		return new HistogramIndex<>(committedChunks);
+	}
+
+	/*
+		PRIVATE METHODS
+	 */
+
+	/**
+	 * Returns index of the chunk that contains (or should contain) bucket with passed `value`. The first chunk has no
+	 * lower bound, other chunks contain values greater or equal to their {@link BucketChunk#getLowerBound()}.
+	 */
+	private int getChunkIndex(@Nullable T value) {
+		final BucketChunk<T>[] theChunks = this.chunks;
+		int low = 1;
+		int high = theChunks.length - 1;
+		int result = 0;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (theChunks[mid].getLowerBound().compareTo(value) <= 0) {
+				result = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns count of buckets in all chunks preceding the chunk with passed index.
+	 */
+	private int getBucketCountBefore(int chunkIndex) {
+		int count = 0;
+		for (int i = 0; i < chunkIndex; i++) {
+			count += this.chunks[i].getBuckets().getArray().length;
+		}
+		return count;
+	}
+
+	/**
+	 * Method splits the chunk exceeding {@link #MAX_CHUNK_SIZE} or removes the chunk that became empty. The chunk
+	 * directory is left intact when the transaction is opened - the chunks are normalized on commit in such case.
+	 */
+	@SuppressWarnings("unchecked")
+	private void normalizeChunk(int chunkIndex) {
+		if (isTransactionalMemoryAvailable()) {
+			return;
+		}
+		this.memoizedBuckets = null;
+		final BucketChunk<T>[] theChunks = this.chunks;
+		final HistogramBucket<T>[] buckets = theChunks[chunkIndex].getBuckets().getArray();
+		if (buckets.length == 0 && theChunks.length > 1) {
+			this.chunks = ArrayUtils.removeRecordFromArrayOnIndex(theChunks, chunkIndex);
+		} else if (buckets.length > MAX_CHUNK_SIZE) {
+			final List<BucketChunk<T>> newChunks = new ArrayList<>(theChunks.length + 1);
+			newChunks.addAll(Arrays.asList(theChunks).subList(0, chunkIndex));
+			addAsChunks(buckets, newChunks);
+			newChunks.addAll(Arrays.asList(theChunks).subList(chunkIndex + 1, theChunks.length));
+			this.chunks = newChunks.toArray(new BucketChunk[0]);
+		}
+	}
+
+	/**
+	 * Returns single array with buckets of all passed chunks.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nonnull
+	private static <T extends Comparable<T>> HistogramBucket<T>[] concatenateBuckets(@Nonnull BucketChunk<T>[] chunks) {
+		final HistogramBucket<T>[][] buckets = new HistogramBucket[chunks.length][];
+		for (int i = 0; i < chunks.length; i++) {
+			buckets[i] = chunks[i].getBuckets().getArray();
+		}
+		return ArrayUtils.mergeArrays(buckets);
 	}
 
 	/**
@@ -473,20 +687,35 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 	 * Searches histogram and select all buckets that fulfill the between `moreThanEq` and `lessThanEq` constraints.
 	 * Returns array of all {@link HistogramBucket} in the range.
 	 */
+	@SuppressWarnings("unchecked")
 	@Nonnull
 	private HistogramBucket<T>[] getRecordsInternal(@Nullable T moreThanEq, @Nullable T lessThanEq, @Nonnull BoundsHandling boundsHandling) {
-		final HistogramBounds<T> histogramBounds = new HistogramBounds<>(buckets.getArray(), moreThanEq, lessThanEq, boundsHandling);
-		@SuppressWarnings("unchecked") final HistogramBucket<T>[] result = new HistogramBucket[histogramBounds.getNormalizedEndIndex() - histogramBounds.getNormalizedStartIndex()];
-		int index = -1;
-		final Iterator<HistogramBucket<T>> it = buckets.iterator();
-		while (it.hasNext()) {
-			final HistogramBucket<T> bucket = it.next();
-			index++;
-			if (index >= histogramBounds.getNormalizedStartIndex() && index < histogramBounds.getNormalizedEndIndex()) {
-				result[index - histogramBounds.getNormalizedStartIndex()] = bucket;
-			}
-			if (index >= histogramBounds.getNormalizedEndIndex()) {
-				break;
+		Assert.isTrue(
+			moreThanEq == null || lessThanEq == null || moreThanEq.compareTo(lessThanEq) <= 0,
+			"From must be lower than to: " + moreThanEq + " vs. " + lessThanEq
+		);
+		final BucketChunk<T>[] theChunks = this.chunks;
+		final int firstChunk = moreThanEq == null ? 0 : getChunkIndex(moreThanEq);
+		final int lastChunk = lessThanEq == null ? theChunks.length - 1 : getChunkIndex(lessThanEq);
+
+		// first locate the bounds in all chunks that may contain the buckets in range
+		final HistogramBucket<T>[][] chunkBuckets = new HistogramBucket[lastChunk - firstChunk + 1][];
+		final HistogramBounds<T>[] chunkBounds = new HistogramBounds[chunkBuckets.length];
+		int resultLength = 0;
+		for (int i = 0; i < chunkBuckets.length; i++) {
+			chunkBuckets[i] = theChunks[firstChunk + i].getBuckets().getArray();
+			chunkBounds[i] = new HistogramBounds<>(chunkBuckets[i], moreThanEq, lessThanEq, boundsHandling);
+			resultLength += Math.max(0, chunkBounds[i].getNormalizedEndIndex() - chunkBounds[i].getNormalizedStartIndex());
+		}
+
+		// then copy the buckets sequentially to the result
+		final HistogramBucket<T>[] result = new HistogramBucket[resultLength];
+		int index = 0;
+		for (int i = 0; i < chunkBuckets.length; i++) {
+			final int length = chunkBounds[i].getNormalizedEndIndex() - chunkBounds[i].getNormalizedStartIndex();
+			if (length > 0) {
+				System.arraycopy(chunkBuckets[i], chunkBounds[i].getNormalizedStartIndex(), result, index, length);
+				index += length;
 			}
 		}
 		return result;
@@ -515,11 +744,6 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 		@Getter private final int normalizedEndIndex;
 
 		HistogramBounds(@Nonnull HistogramBucket<T>[] points, @Nullable T moreThanEq, @Nullable T lessThanEq, @Nonnull BoundsHandling boundsHandling) {
-			Assert.isTrue(
-				moreThanEq == null || lessThanEq == null || moreThanEq.compareTo(lessThanEq) <= 0,
-				"From must be lower than to: " + moreThanEq + " vs. " + lessThanEq
-			);
-
 			if (moreThanEq != null) {
 				final int startIndex = Arrays.binarySearch(points, new HistogramBucket<>(moreThanEq));
 				if (boundsHandling == BoundsHandling.EXCLUSIVE) {
@@ -544,4 +768,32 @@ public class HistogramIndex<T extends Comparable<T>> implements VoidTransactionM
 		}
 
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Chunk represents ordered part of the histogram buckets. All buckets of the chunk have values lower than
+	 * the buckets of the next chunk in the chunk directory.
+	 */
+	private static class BucketChunk<T extends Comparable<T>> {
+		/**
+		 * Value of the first bucket at the moment the chunk was created. Values lower than this bound belong
+		 * to the preceding chunks.
+		 */
+		@Getter private final T lowerBound;
+		/**
+		 * Buckets of the chunk.
+		 */
+		@Getter private final TransactionalComplexObjArray<HistogramBucket<T>> buckets;
+
+		BucketChunk(@Nonnull HistogramBucket<T>[] buckets) {
+			this.lowerBound = buckets.length == 0 ? null : buckets[0].getValue();
+			this.buckets = new TransactionalComplexObjArray<>(
+				buckets,
+				HistogramBucket::add,
+				HistogramBucket::remove,
+				HistogramBucket::isEmpty,
+				HistogramBucket::deepEquals
+			);
+		}
+
+	}
+}
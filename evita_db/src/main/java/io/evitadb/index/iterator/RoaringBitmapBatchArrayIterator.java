@@ -30,13 +30,26 @@ import org.roaringbitmap.BatchIterator;
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
  */
 public class RoaringBitmapBatchArrayIterator implements BatchArrayIterator {
+	/**
+	 * Default size of the buffer the batches are read into. The size is a trade-off between the cost of the batch
+	 * fetch and the length of the tight loops the consumers run over the batch.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 512;
 	private final int[] buffer;
 	private final BatchIterator delegate;
 	private int peek;
 
 	public RoaringBitmapBatchArrayIterator(BatchIterator delegate) {
+		this(delegate, new int[DEFAULT_BATCH_SIZE]);
+	}
+
+	/**
+	 * Creates iterator that reads the batches into the passed buffer. The buffer may be reused by the caller among
+	 * multiple iterators as long as the iterators are not traversed simultaneously.
+	 */
+	public RoaringBitmapBatchArrayIterator(BatchIterator delegate, int[] buffer) {
 		this.delegate = delegate;
-		this.buffer = new int[512];
+		this.buffer = buffer;
 	}
 
 	@Override
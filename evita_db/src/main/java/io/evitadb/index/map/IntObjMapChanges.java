@@ -0,0 +1,100 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index.map;
+
+import com.carrotsearch.hppc.IntHashSet;
+import com.carrotsearch.hppc.IntObjectHashMap;
+import com.carrotsearch.hppc.cursors.IntObjectCursor;
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Contains combination of changes in a {@link TransactionalIntObjMap} and removals made upon it. This is a primitive
+ * key specialization of {@link MapChanges} - keys are neither boxed nor wrapped in entry objects.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@NotThreadSafe
+public class IntObjMapChanges<V> {
+	private final IntHashSet removedKeys = new IntHashSet(8);
+	private final IntObjectHashMap<V> modifiedKeys = new IntObjectHashMap<>(8);
+	@Getter private int createdKeyCount;
+
+	@Nonnull
+	Iterable<IntObjectCursor<V>> getCreatedOrModifiedEntries() {
+		return modifiedKeys;
+	}
+
+	boolean containsRemoved(int key) {
+		return removedKeys.contains(key);
+	}
+
+	boolean containsCreatedOrModified(int key) {
+		return modifiedKeys.containsKey(key);
+	}
+
+	int getRemovedKeyCount() {
+		return removedKeys.size();
+	}
+
+	V getCreatedOrModifiedValue(int key) {
+		return modifiedKeys.get(key);
+	}
+
+	boolean removeRemovedKey(int key) {
+		return removedKeys.remove(key);
+	}
+
+	void clearAll(@Nonnull IntObjectHashMap<V> originalMap) {
+		this.createdKeyCount = 0;
+		this.modifiedKeys.clear();
+		this.removedKeys.addAll(originalMap.keys());
+	}
+
+	V registerModifiedKey(int key, V value) {
+		return this.modifiedKeys.put(key, value);
+	}
+
+	V registerCreatedKey(int key, V value) {
+		final V previous = this.modifiedKeys.put(key, value);
+		this.createdKeyCount++;
+		return previous;
+	}
+
+	void registerRemovedKey(int key) {
+		this.removedKeys.add(key);
+	}
+
+	V removeModifiedKey(int key) {
+		return this.modifiedKeys.remove(key);
+	}
+
+	V removeCreatedKey(int key) {
+		final V previous = this.modifiedKeys.remove(key);
+		this.createdKeyCount--;
+		return previous;
+	}
+
+}
@@ -0,0 +1,368 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index.map;
+
+import com.carrotsearch.hppc.IntObjectHashMap;
+import com.carrotsearch.hppc.cursors.IntObjectCursor;
+import com.carrotsearch.hppc.procedures.IntObjectProcedure;
+import io.evitadb.api.Transaction;
+import io.evitadb.index.transactionalMemory.TransactionalLayerCreator;
+import io.evitadb.index.transactionalMemory.TransactionalLayerMaintainer;
+import io.evitadb.index.transactionalMemory.TransactionalLayerProducer;
+import io.evitadb.index.transactionalMemory.TransactionalMemory;
+import io.evitadb.index.transactionalMemory.TransactionalObjectVersion;
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+import static io.evitadb.api.utils.CollectionUtils.createHashMap;
+
+/**
+ * This class envelopes map with primitive int keys and makes it transactional the same way as
+ * {@link TransactionalMemoryMap} does. The map is backed by {@link IntObjectHashMap} that avoids boxing the keys and
+ * creating entry object for each key-value pair, which saves considerable amount of memory in the large indexes keyed
+ * by primary keys and also makes the lookups faster.
+ *
+ * If no transaction is opened, changes are applied directly to the delegate map. In such case the class is not thread
+ * safe for multiple writers!
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@ThreadSafe
+public class TransactionalIntObjMap<V> implements Serializable, TransactionalLayerCreator<IntObjMapChanges<V>>, TransactionalLayerProducer<IntObjMapChanges<V>, IntObjectHashMap<V>> {
+	private static final long serialVersionUID = -2925416938519437446L;
+	@Getter private final long id = TransactionalObjectVersion.SEQUENCE.nextId();
+	private final IntObjectHashMap<V> mapDelegate;
+
+	public TransactionalIntObjMap() {
+		this.mapDelegate = new IntObjectHashMap<>();
+	}
+
+	public TransactionalIntObjMap(@Nonnull IntObjectHashMap<V> mapDelegate) {
+		this.mapDelegate = mapDelegate;
+	}
+
+	public TransactionalIntObjMap(@Nonnull Map<Integer, V> map) {
+		this.mapDelegate = new IntObjectHashMap<>(map.size());
+		for (Entry<Integer, V> entry : map.entrySet()) {
+			this.mapDelegate.put(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/*
+		TransactionalLayerCreator IMPLEMENTATION
+	 */
+
+	@Override
+	public IntObjMapChanges<V> createLayer() {
+		return new IntObjMapChanges<>();
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	@Override
+	public IntObjectHashMap<V> createCopyWithMergedTransactionalMemory(@Nullable IntObjMapChanges<V> layer, @Nonnull TransactionalLayerMaintainer transactionalLayer, @Nullable Transaction transaction) {
+		// create new hash map of requested size
+		final IntObjectHashMap<V> copy = new IntObjectHashMap<>(mapDelegate.size());
+		// iterate original map and copy all values from it
+		for (IntObjectCursor<V> entry : mapDelegate) {
+			// we need to always create copy - something in the referenced object might have changed
+			// even the removed values need to be evaluated (in order to discard them from transactional memory set)
+			V value = entry.value;
+			if (value instanceof TransactionalLayerProducer) {
+				value = (V) transactionalLayer.getStateCopyWithCommittedChanges((TransactionalLayerProducer) value, transaction);
+			}
+			// except those that were removed
+			if (layer == null || !layer.containsRemoved(entry.key)) {
+				copy.put(entry.key, value);
+			}
+		}
+
+		// iterate over inserted or updated keys
+		if (layer != null) {
+			for (IntObjectCursor<V> entry : layer.getCreatedOrModifiedEntries()) {
+				// we need to always create copy - something in the referenced object might have changed
+				V value = entry.value;
+				if (value instanceof TransactionalLayerProducer) {
+					value = (V) transactionalLayer.getStateCopyWithCommittedChanges((TransactionalLayerProducer) value, transaction);
+				}
+				// update the value
+				copy.put(entry.key, value);
+			}
+		}
+
+		return copy;
+	}
+
+	/*
+		MAP CONTRACT IMPLEMENTATION
+	 */
+
+	/**
+	 * Returns number of keys in the map.
+	 */
+	public int size() {
+		final IntObjMapChanges<V> layer = TransactionalMemory.getTransactionalMemoryLayerIfExists(this);
+		if (layer == null) {
+			return this.mapDelegate.size();
+		} else {
+			return this.mapDelegate.size() - layer.getRemovedKeyCount() + layer.getCreatedKeyCount();
+		}
+	}
+
+	/**
+	 * Returns true if the map contains no key.
+	 */
+	public boolean isEmpty() {
+		final IntObjMapChanges<V> layer = TransactionalMemory.getTransactionalMemoryLayerIfExists(this);
+		if (layer == null) {
+			return this.mapDelegate.isEmpty();
+		} else {
+			if (layer.getRemovedKeyCount() == 0 && layer.getCreatedKeyCount() == 0) {
+				return mapDelegate.isEmpty();
+			} else {
+				return size() == 0;
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the map contains passed key.
+	 */
+	public boolean containsKey(int key) {
+		final IntObjMapChanges<V> layer = TransactionalMemory.getTransactionalMemoryLayerIfExists(this);
+		if (layer == null) {
+			return this.mapDelegate.containsKey(key);
+		} else {
+			if (layer.containsCreatedOrModified(key)) {
+				return true;
+			} else if (layer.containsRemoved(key)) {
+				return false;
+			} else {
+				return this.mapDelegate.containsKey(key);
+			}
+		}
+	}
+
+	/**
+	 * Returns value assigned to the passed key or NULL if there is no such key.
+	 */
+	@Nullable
+	public V get(int key) {
+		final IntObjMapChanges<V> layer = TransactionalMemory.getTransactionalMemoryLayerIfExists(this);
+		if (layer == null) {
+			return this.mapDelegate.get(key);
+		} else {
+			if (layer.containsRemoved(key)) {
+				return null;
+			} else if (layer.containsCreatedOrModified(key)) {
+				return layer.getCreatedOrModifiedValue(key);
+			} else {
+				return this.mapDelegate.get(key);
+			}
+		}
+	}
+
+	/**
+	 * Associates the value with the key and returns previously associated value (or NULL).
+	 */
+	@Nullable
+	public V put(int key, @Nonnull V value) {
+		final IntObjMapChanges<V> layer = TransactionalMemory.getTransactionalMemoryLayer(this);
+		if (layer == null) {
+			return this.mapDelegate.put(key, value);
+		} else {
+			return putInternal(key, value, layer);
+		}
+	}
+
+	/**
+	 * Removes the key from the map and returns previously associated value (or NULL).
+	 */
+	@Nullable
+	public V remove(int key) {
+		final IntObjMapChanges<V> layer = TransactionalMemory.getTransactionalMemoryLayer(this);
+		if (layer == null) {
+			return this.mapDelegate.remove(key);
+		} else {
+			final V originalValue;
+			final boolean existing = this.mapDelegate.containsKey(key);
+			if (existing && layer.containsRemoved(key)) {
+				// value has been already removed - report null and do nothing
+				return null;
+			}
+			if (layer.containsCreatedOrModified(key)) {
+				originalValue = existing ? layer.removeModifiedKey(key) : layer.removeCreatedKey(key);
+			} else {
+				originalValue = this.mapDelegate.get(key);
+			}
+			if (existing) {
+				layer.registerRemovedKey(key);
+			}
+			return originalValue;
+		}
+	}
+
+	/**
+	 * Removes all keys from the map.
+	 */
+	public void clear() {
+		final IntObjMapChanges<V> layer = TransactionalMemory.getTransactionalMemoryLayer(this);
+		if (layer == null) {
+			this.mapDelegate.clear();
+		} else {
+			layer.clearAll(this.mapDelegate);
+		}
+	}
+
+	/**
+	 * Returns the value associated with the key. If there is none, the value is created by `mappingFunction`,
+	 * associated with the key and returned.
+	 */
+	@Nonnull
+	public V computeIfAbsent(int key, @Nonnull IntFunction<V> mappingFunction) {
+		final V existingValue = get(key);
+		if (existingValue == null) {
+			final V newValue = mappingFunction.apply(key);
+			put(key, newValue);
+			return newValue;
+		} else {
+			return existingValue;
+		}
+	}
+
+	/**
+	 * Replaces the value associated with the key by the result of `remappingFunction`. If the function returns NULL,
+	 * the key is removed. Nothing happens if there is no value associated with the key.
+	 */
+	@Nullable
+	public V computeIfPresent(int key, @Nonnull UnaryOperator<V> remappingFunction) {
+		final V existingValue = get(key);
+		if (existingValue == null) {
+			return null;
+		}
+		final V newValue = remappingFunction.apply(existingValue);
+		if (newValue == null) {
+			remove(key);
+		} else {
+			put(key, newValue);
+		}
+		return newValue;
+	}
+
+	/**
+	 * Passes all key-value pairs to the `procedure`.
+	 */
+	public void forEach(@Nonnull IntObjectProcedure<? super V> procedure) {
+		final IntObjMapChanges<V> layer = TransactionalMemory.getTransactionalMemoryLayerIfExists(this);
+		if (layer == null) {
+			for (IntObjectCursor<V> entry : this.mapDelegate) {
+				procedure.apply(entry.key, entry.value);
+			}
+		} else {
+			for (IntObjectCursor<V> entry : layer.getCreatedOrModifiedEntries()) {
+				procedure.apply(entry.key, entry.value);
+			}
+			for (IntObjectCursor<V> entry : this.mapDelegate) {
+				if (!layer.containsRemoved(entry.key) && !layer.containsCreatedOrModified(entry.key)) {
+					procedure.apply(entry.key, entry.value);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns all keys of the map in no particular order.
+	 */
+	@Nonnull
+	public int[] keys() {
+		final int[] result = new int[size()];
+		final int[] index = new int[1];
+		forEach((key, value) -> result[index[0]++] = key);
+		return result;
+	}
+
+	/**
+	 * Returns all values of the map in no particular order. The list is a copy, that doesn't reflect future changes
+	 * in the map.
+	 */
+	@Nonnull
+	public List<V> values() {
+		final List<V> result = new ArrayList<>(size());
+		forEach((key, value) -> result.add(value));
+		return result;
+	}
+
+	/**
+	 * Returns copy of the map contents as plain {@link Map}. The method is meant to be used for serialization purposes
+	 * only - it boxes all the keys.
+	 */
+	@Nonnull
+	public Map<Integer, V> toMap() {
+		final HashMap<Integer, V> result = createHashMap(size());
+		forEach(result::put);
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("{");
+		forEach((key, value) -> {
+			if (sb.length() > 1) {
+				sb.append(", ");
+			}
+			sb.append(key).append('=').append(value);
+		});
+		return sb.append('}').toString();
+	}
+
+	/*
+		INTERNALS
+	 */
+
+	private V putInternal(int key, V value, IntObjMapChanges<V> layer) {
+		final V originalValue;
+		if (layer.containsCreatedOrModified(key)) {
+			originalValue = layer.registerModifiedKey(key, value);
+		} else {
+			originalValue = this.mapDelegate.get(key);
+			if (this.mapDelegate.containsKey(key)) {
+				layer.registerModifiedKey(key, value);
+			} else {
+				layer.registerCreatedKey(key, value);
+			}
+		}
+		layer.removeRemovedKey(key);
+		return originalValue;
+	}
+
+}
@@ -26,6 +26,7 @@ import io.evitadb.api.data.PriceContract;
 import io.evitadb.api.data.PriceInnerRecordHandling;
 import io.evitadb.api.data.structure.Price.PriceKey;
 import io.evitadb.api.dataType.DateTimeRange;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
 import io.evitadb.index.price.model.PriceIndexKey;
 import io.evitadb.index.price.model.internalId.PriceInternalIdContainer;
@@ -39,7 +40,6 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Currency;
 import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -162,8 +162,10 @@ abstract class AbstractPriceIndex<T extends PriceListAndCurrencyPriceIndex> impl
 		return this.getPriceIndexes()
 			.values()
 			.stream()
-			.map(it -> it.createStoragePart(entityIndexPrimaryKey))
-			.filter(Objects::nonNull)
+			.flatMap(it -> Stream.concat(
+				Stream.ofNullable(it.createStoragePart(entityIndexPrimaryKey)),
+				it.createChunkStorageParts(entityIndexPrimaryKey).stream()
+			))
 			.collect(Collectors.toList());
 	}
 
@@ -174,6 +176,19 @@ abstract class AbstractPriceIndex<T extends PriceListAndCurrencyPriceIndex> impl
 		}
 	}
 
+	@Override
+	public long estimateSize() {
+		final Map<PriceIndexKey, T> priceIndexes = getPriceIndexes();
+		long size = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			MemoryMeasuringConstants.REFERENCE_SIZE +
+			MemoryMeasuringConstants.computeHashMapSize(priceIndexes.size());
+		for (T priceIndex : priceIndexes.values()) {
+			// price index key is shared with the nested index
+			size += priceIndex.estimateSize();
+		}
+		return size;
+	}
+
 	/*
 		PROTECTED METHODS
 	 */
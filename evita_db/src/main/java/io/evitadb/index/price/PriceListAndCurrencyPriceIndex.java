@@ -25,9 +25,7 @@ package io.evitadb.index.price;
 import io.evitadb.index.EntityIndexDataStructure;
 import io.evitadb.index.array.CompositeObjectArray;
 import io.evitadb.index.bitmap.Bitmap;
-import io.evitadb.index.bitmap.RoaringBitmapBackedBitmap;
 import io.evitadb.index.iterator.BatchArrayIterator;
-import io.evitadb.index.iterator.RoaringBitmapBatchArrayIterator;
 import io.evitadb.index.price.model.PriceIndexKey;
 import io.evitadb.index.price.model.priceRecord.PriceRecord;
 import io.evitadb.index.price.model.priceRecord.PriceRecordContract;
@@ -40,6 +38,8 @@ import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
 
@@ -90,7 +90,7 @@ public interface PriceListAndCurrencyPriceIndex extends EntityIndexDataStructure
 	@Nonnull
 	default PriceRecordContract[] getPriceRecords(@Nonnull Bitmap priceIds, @Nonnull Consumer<PriceRecordContract> priceFoundCallback, @Nonnull IntConsumer priceIdNotFoundCallback) {
 		// TOBEDONE JNO - there is also an issue https://github.com/RoaringBitmap/RoaringBitmap/issues/562 that could make this algorithm faster
-		final BatchArrayIterator filteredPriceIdsIterator = new RoaringBitmapBatchArrayIterator(RoaringBitmapBackedBitmap.getRoaringBitmap(priceIds).getBatchIterator());
+		final BatchArrayIterator filteredPriceIdsIterator = priceIds.batchIterator();
 		final int[] supersetPriceIds = getIndexedPriceIds();
 		final PriceRecordContract[] priceRecords = getPriceRecords();
 
@@ -103,8 +103,9 @@ public interface PriceListAndCurrencyPriceIndex extends EntityIndexDataStructure
 
 		while (filteredPriceIdsIterator.hasNext()) {
 			final int[] filteredBatch = filteredPriceIdsIterator.nextBatch();
+			final int peek = filteredPriceIdsIterator.getPeek();
 			// get the last price id from the batch
-			final int lastExpectedPriceId = filteredPriceIdsIterator.getPeek() > 0 ? filteredBatch[filteredPriceIdsIterator.getPeek() - 1] : -1;
+			final int lastExpectedPriceId = peek > 0 ? filteredBatch[peek - 1] : -1;
 			// compute the index of the last price in a batch
 			lastExpectedPriceIndex = Arrays.binarySearch(
 				supersetPriceIds,
@@ -117,13 +118,13 @@ public interface PriceListAndCurrencyPriceIndex extends EntityIndexDataStructure
 			searchEndIndex = lastExpectedPriceIndex >= 0 ? lastExpectedPriceIndex + 1 : -1 * (lastExpectedPriceIndex) - 2 + 1;
 
 			// iterate over all prices in filter batch
-			for (int i = 0; i < filteredPriceIdsIterator.getPeek(); i++) {
+			for (int i = 0; i < peek; i++) {
 				int filteredPriceId = filteredBatch[i];
 
 				// if we reached the end of our price records
 				if (lastPriceIndex >= priceRecords.length) {
 					// iterate over rest of the filtered prices and report they were not found and finish
-					for (int j = i; j < filteredPriceIdsIterator.getPeek(); j++) {
+					for (int j = i; j < peek; j++) {
 						priceIdNotFoundCallback.accept(filteredBatch[j]);
 					}
 					break;
@@ -218,4 +219,13 @@ public interface PriceListAndCurrencyPriceIndex extends EntityIndexDataStructure
 	@Nullable
 	StoragePart createStoragePart(int entityIndexPrimaryKey);
 
+	/**
+	 * Method creates containers for the parts of the index that are persisted separately from the container returned
+	 * by {@link #createStoragePart(int)}. Only the parts that were modified are returned.
+	 */
+	@Nonnull
+	default Collection<StoragePart> createChunkStorageParts(int entityIndexPrimaryKey) {
+		return Collections.emptyList();
+	}
+
 }
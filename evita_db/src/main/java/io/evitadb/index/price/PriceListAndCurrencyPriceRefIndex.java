@@ -26,6 +26,7 @@ import io.evitadb.api.Transaction;
 import io.evitadb.api.data.PriceContract;
 import io.evitadb.api.data.structure.Entity;
 import io.evitadb.api.dataType.DateTimeRange;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
 import io.evitadb.index.array.TransactionalObjArray;
 import io.evitadb.index.bitmap.Bitmap;
@@ -254,7 +255,7 @@ public class PriceListAndCurrencyPriceRefIndex implements VoidTransactionMemoryP
 	public PriceIdContainerFormula getIndexedRecordIdsValidInFormula(ZonedDateTime theMoment) {
 		final long thePoint = DateTimeRange.toComparableLong(theMoment);
 		return new PriceIdContainerFormula(
-			this, this.validityIndex.getRecordsWithRangesOutsideInclusive(thePoint, thePoint)
+			this, this.validityIndex.getRecordsValidInFormula(thePoint)
 		);
 	}
 
@@ -326,6 +327,19 @@ public class PriceListAndCurrencyPriceRefIndex implements VoidTransactionMemoryP
 		this.dirty.reset();
 	}
 
+	@Override
+	public long estimateSize() {
+		final int[] theMemoizedIndexedPriceIds = this.memoizedIndexedPriceIds;
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			8 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			this.indexedPriceEntityIds.estimateSize() +
+			this.indexedPriceIds.estimateSize() +
+			this.validityIndex.estimateSize() +
+			// price records are shared with the super index, only the references are counted
+			MemoryMeasuringConstants.computeArraySize(this.priceTriples.getLength(), MemoryMeasuringConstants.REFERENCE_SIZE) +
+			(theMemoizedIndexedPriceIds == null ? 0L : MemoryMeasuringConstants.computeArraySize(theMemoizedIndexedPriceIds.length, MemoryMeasuringConstants.INT_SIZE));
+	}
+
 	@Override
 	public void clearTransactionalMemory() {
 		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this);
@@ -22,18 +22,22 @@
 
 package io.evitadb.index.price;
 
+import com.carrotsearch.hppc.IntObjectHashMap;
 import io.evitadb.api.Transaction;
 import io.evitadb.api.data.PriceContract;
 import io.evitadb.api.data.structure.Entity;
 import io.evitadb.api.dataType.DateTimeRange;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.EntityIndexDataStructure;
+import io.evitadb.index.array.CompositeIntArray;
 import io.evitadb.index.array.TransactionalObjArray;
+import io.evitadb.index.bitmap.BaseBitmap;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.TransactionalBitmap;
 import io.evitadb.index.bool.TransactionalBoolean;
 import io.evitadb.index.exception.PriceAlreadyAssignedToEntityException;
-import io.evitadb.index.map.TransactionalMemoryMap;
+import io.evitadb.index.map.TransactionalIntObjMap;
 import io.evitadb.index.price.model.PriceIndexKey;
 import io.evitadb.index.price.model.entityPrices.EntityPrices;
 import io.evitadb.index.price.model.priceRecord.PriceRecord;
@@ -49,6 +53,7 @@ import io.evitadb.query.algebra.base.EmptyFormula;
 import io.evitadb.query.algebra.price.priceIndex.PriceIdContainerFormula;
 import io.evitadb.query.algebra.price.priceIndex.PriceIndexContainerFormula;
 import io.evitadb.storage.model.storageParts.StoragePart;
+import io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexChunkStoragePart;
 import io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexStoragePart;
 import lombok.Getter;
 
@@ -56,10 +61,16 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.time.ZonedDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
-import static io.evitadb.api.utils.CollectionUtils.createHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.PrimitiveIterator.OfInt;
+
+import static io.evitadb.api.utils.ArrayUtils.computeInsertPositionOfIntInOrderedArray;
+import static io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexChunkStoragePart.CHUNK_SIZE;
+import static io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexChunkStoragePart.getChunkId;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 
@@ -80,6 +91,11 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 	 * This is internal flag that tracks whether the index contents became dirty and needs to be persisted.
 	 */
 	private final TransactionalBoolean dirty;
+	/**
+	 * Contains ids of {@link PriceListAndCurrencySuperIndexChunkStoragePart chunks} that were touched by the changes
+	 * and needs to be persisted.
+	 */
+	private final TransactionalBitmap dirtyChunks;
 	/**
 	 * Unique identification of this index - contains price list name and currency combination.
 	 */
@@ -96,7 +112,7 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 	/**
 	 * Contains the same information as in {@link #priceTriples}, but indexed by entityId.
 	 */
-	private final TransactionalMemoryMap<Integer, EntityPrices> entityPrices;
+	private final TransactionalIntObjMap<EntityPrices> entityPrices;
 	/**
 	 * Range index contains date-time validity information for each indexed price id. This index is used to process
 	 * the {@link io.evitadb.api.query.filter.PriceValidIn} filtering constraint.
@@ -111,15 +127,22 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 	 * Contains cached result of {@link TransactionalBitmap#getArray()} call.
 	 */
 	private int[] memoizedIndexedPriceIds;
+	/**
+	 * Flag is set when the index was loaded from the storage part that carried the price records inline (the format
+	 * preceding the {@link PriceListAndCurrencySuperIndexChunkStoragePart chunks}). No chunks of this index exist in
+	 * the storage yet, and so all of them must be written along with the first persisted change of the index.
+	 */
+	private boolean chunksMissingInStorage;
 
 	public PriceListAndCurrencyPriceSuperIndex(@Nonnull PriceIndexKey priceIndexKey) {
 		this.dirty = new TransactionalBoolean();
+		this.dirtyChunks = new TransactionalBitmap();
 		this.indexedPriceEntityIds = new TransactionalBitmap();
 		this.indexedPriceIds = new TransactionalBitmap();
 		this.priceIndexKey = priceIndexKey;
 		this.validityIndex = new RangeIndex();
 		this.priceTriples = new TransactionalObjArray<>(new PriceRecordContract[0]);
-		this.entityPrices = new TransactionalMemoryMap<>(new HashMap<>());
+		this.entityPrices = new TransactionalIntObjMap<>();
 	}
 
 	public PriceListAndCurrencyPriceSuperIndex(
@@ -127,11 +150,22 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 		@Nonnull RangeIndex validityIndex,
 		@Nonnull PriceRecordContract[] priceRecords
 	) {
+		this(priceIndexKey, validityIndex, priceRecords, false);
+	}
+
+	public PriceListAndCurrencyPriceSuperIndex(
+		@Nonnull PriceIndexKey priceIndexKey,
+		@Nonnull RangeIndex validityIndex,
+		@Nonnull PriceRecordContract[] priceRecords,
+		boolean chunksMissingInStorage
+	) {
+		this.chunksMissingInStorage = chunksMissingInStorage;
 		this.dirty = new TransactionalBoolean();
+		this.dirtyChunks = new TransactionalBitmap();
 		this.priceIndexKey = priceIndexKey;
 		this.validityIndex = validityIndex;
 		this.priceTriples = new TransactionalObjArray<>(priceRecords);
-		this.entityPrices = new TransactionalMemoryMap<>(createHashMap(priceRecords.length));
+		this.entityPrices = new TransactionalIntObjMap<>(new IntObjectHashMap<>(priceRecords.length));
 
 		final int[] priceIds = new int[priceRecords.length];
 		final int[] entityIds = new int[priceRecords.length];
@@ -151,15 +185,18 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 		@Nonnull PriceIndexKey priceIndexKey,
 		@Nonnull Bitmap indexedPriceEntityIds,
 		@Nonnull Bitmap priceIds,
-		@Nonnull Map<Integer, EntityPrices> entityPrices,
+		@Nonnull IntObjectHashMap<EntityPrices> entityPrices,
 		@Nonnull RangeIndex validityIndex,
-		@Nonnull PriceRecordContract[] priceRecords
+		@Nonnull PriceRecordContract[] priceRecords,
+		boolean chunksMissingInStorage
 	) {
+		this.chunksMissingInStorage = chunksMissingInStorage;
 		this.dirty = new TransactionalBoolean();
+		this.dirtyChunks = new TransactionalBitmap();
 		this.priceIndexKey = priceIndexKey;
 		this.indexedPriceEntityIds = new TransactionalBitmap(indexedPriceEntityIds);
 		this.indexedPriceIds = new TransactionalBitmap(priceIds);
-		this.entityPrices = new TransactionalMemoryMap<>(entityPrices);
+		this.entityPrices = new TransactionalIntObjMap<>(entityPrices);
 		this.validityIndex = validityIndex;
 		this.priceTriples = new TransactionalObjArray<>(priceRecords);
 	}
@@ -190,6 +227,7 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 		this.priceTriples.add(priceRecord);
 		// make index dirty
 		this.dirty.setToTrue();
+		this.dirtyChunks.add(getChunkId(priceRecord.getInternalPriceId()));
 		this.memoizedIndexedPriceIds = null;
 	}
 
@@ -221,6 +259,7 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 		}
 		// make index dirty
 		this.dirty.setToTrue();
+		this.dirtyChunks.add(getChunkId(priceRecord.getInternalPriceId()));
 		this.memoizedIndexedPriceIds = null;
 	}
 
@@ -262,7 +301,7 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 	public PriceIdContainerFormula getIndexedRecordIdsValidInFormula(ZonedDateTime theMoment) {
 		final long thePoint = DateTimeRange.toComparableLong(theMoment);
 		return new PriceIdContainerFormula(
-			this, this.validityIndex.getRecordsWithRangesOutsideInclusive(thePoint, thePoint)
+			this, this.validityIndex.getRecordsValidInFormula(thePoint)
 		);
 	}
 
@@ -300,13 +339,56 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 	public StoragePart createStoragePart(int entityIndexPrimaryKey) {
 		if (this.dirty.isTrue()) {
 			return new PriceListAndCurrencySuperIndexStoragePart(
-				entityIndexPrimaryKey, priceIndexKey, validityIndex, priceTriples.getArray()
+				entityIndexPrimaryKey, priceIndexKey, validityIndex, getChunkIds()
 			);
 		} else {
 			return null;
 		}
 	}
 
+	/**
+	 * Method creates {@link PriceListAndCurrencySuperIndexChunkStoragePart} for each chunk touched by the changes.
+	 * Chunks that became empty are returned as well so that their stale contents get overwritten. All chunks are
+	 * returned when the index was loaded from the format without chunks - see {@link #chunksMissingInStorage}.
+	 */
+	@Nonnull
+	@Override
+	public Collection<StoragePart> createChunkStorageParts(int entityIndexPrimaryKey) {
+		if (this.dirtyChunks.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final int[] priceIds = getIndexedPriceIds();
+		final PriceRecordContract[] priceRecords = this.priceTriples.getArray();
+		final Bitmap chunkIdsToWrite;
+		if (this.chunksMissingInStorage) {
+			chunkIdsToWrite = new BaseBitmap(getChunkIds());
+			chunkIdsToWrite.addAll(this.dirtyChunks);
+		} else {
+			chunkIdsToWrite = this.dirtyChunks;
+		}
+		final List<StoragePart> chunks = new ArrayList<>(chunkIdsToWrite.size());
+		final OfInt it = chunkIdsToWrite.iterator();
+		while (it.hasNext()) {
+			final int chunkId = it.nextInt();
+			final int from = computeInsertPositionOfIntInOrderedArray(chunkId * CHUNK_SIZE, priceIds).getPosition();
+			final int to = computeInsertPositionOfIntInOrderedArray((chunkId + 1) * CHUNK_SIZE, priceIds).getPosition();
+			chunks.add(
+				new PriceListAndCurrencySuperIndexChunkStoragePart(
+					entityIndexPrimaryKey, priceIndexKey, chunkId, Arrays.copyOfRange(priceRecords, from, to)
+				)
+			);
+		}
+		return chunks;
+	}
+
+	/**
+	 * Returns true if the chunk with passed id was touched by the changes and is going to be written by
+	 * {@link #createChunkStorageParts(int)}.
+	 */
+	public boolean isChunkDirty(int chunkId) {
+		return this.dirtyChunks.contains(chunkId);
+	}
+
 	/**
 	 * Method returns single {@link PriceRecord} reference that match passed price id.
 	 */
@@ -336,12 +418,37 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 	@Override
 	public void resetDirty() {
 		this.dirty.reset();
+		this.dirtyChunks.removeAll(this.dirtyChunks.getArray());
+		this.chunksMissingInStorage = false;
+	}
+
+	@Override
+	public long estimateSize() {
+		final PriceRecordContract[] thePriceTriples = this.priceTriples.getArray();
+		final int[] theMemoizedIndexedPriceIds = this.memoizedIndexedPriceIds;
+		long size = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			9 * MemoryMeasuringConstants.REFERENCE_SIZE + MemoryMeasuringConstants.BYTE_SIZE +
+			this.dirtyChunks.estimateSize() +
+			this.indexedPriceEntityIds.estimateSize() +
+			this.indexedPriceIds.estimateSize() +
+			this.validityIndex.estimateSize() +
+			MemoryMeasuringConstants.computeArraySize(thePriceTriples.length, MemoryMeasuringConstants.REFERENCE_SIZE) +
+			MemoryMeasuringConstants.computeIntObjHashMapSize(this.entityPrices.size()) +
+			(theMemoizedIndexedPriceIds == null ? 0L : MemoryMeasuringConstants.computeArraySize(theMemoizedIndexedPriceIds.length, MemoryMeasuringConstants.INT_SIZE));
+		for (PriceRecordContract priceRecord : thePriceTriples) {
+			size += priceRecord.estimateSize();
+		}
+		for (EntityPrices prices : this.entityPrices.values()) {
+			size += prices.estimateSize();
+		}
+		return size;
 	}
 
 	@Override
 	public void clearTransactionalMemory() {
 		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this);
 		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this.dirty);
+		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this.dirtyChunks);
 		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this.indexedPriceEntityIds);
 		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this.indexedPriceIds);
 		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this.entityPrices);
@@ -363,8 +470,11 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 
 	@Override
 	public PriceListAndCurrencyPriceSuperIndex createCopyWithMergedTransactionalMemory(@Nullable Void layer, @Nonnull TransactionalLayerMaintainer transactionalLayer, @Nullable Transaction transaction) {
+		// when the index was persisted in this transaction, all its chunks were written
+		final boolean persisted = transactionalLayer.getStateCopyWithCommittedChanges(this.dirty, transaction);
 		// we can safely throw away dirty flag now
 		transactionalLayer.removeTransactionalMemoryLayerIfExists(this.dirty);
+		transactionalLayer.removeTransactionalMemoryLayerIfExists(this.dirtyChunks);
 		final PriceRecordContract[] newTriples = transactionalLayer.getStateCopyWithCommittedChanges(this.priceTriples, transaction);
 		return new PriceListAndCurrencyPriceSuperIndex(
 			priceIndexKey,
@@ -372,7 +482,8 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 			transactionalLayer.getStateCopyWithCommittedChanges(this.indexedPriceIds, transaction),
 			transactionalLayer.getStateCopyWithCommittedChanges(this.entityPrices, transaction),
 			transactionalLayer.getStateCopyWithCommittedChanges(this.validityIndex, transaction),
-			newTriples
+			newTriples,
+			this.chunksMissingInStorage && !persisted
 		);
 	}
 
@@ -380,23 +491,38 @@ public class PriceListAndCurrencyPriceSuperIndex implements VoidTransactionMemor
 		PRIVATE METHODS
 	*/
 
-	private void addEntityPrice(PriceRecordContract priceRecord) {
-		this.entityPrices.compute(
-			priceRecord.getEntityPrimaryKey(),
-			(entityId, existingPriceRecords) -> {
-				if (existingPriceRecords == null) {
-					return EntityPrices.create(priceRecord);
-				} else {
-					return EntityPrices.addPriceRecord(existingPriceRecords, priceRecord);
-				}
+	/**
+	 * Returns ordered ids of all chunks that contain at least one indexed price.
+	 */
+	@Nonnull
+	private int[] getChunkIds() {
+		final int[] priceIds = getIndexedPriceIds();
+		final CompositeIntArray chunkIds = new CompositeIntArray();
+		int lastChunkId = -1;
+		for (int priceId : priceIds) {
+			final int chunkId = getChunkId(priceId);
+			if (chunkId != lastChunkId) {
+				chunkIds.add(chunkId);
+				lastChunkId = chunkId;
 			}
+		}
+		return chunkIds.toArray();
+	}
+
+	private void addEntityPrice(PriceRecordContract priceRecord) {
+		final int entityPrimaryKey = priceRecord.getEntityPrimaryKey();
+		final EntityPrices existingPriceRecords = this.entityPrices.get(entityPrimaryKey);
+		this.entityPrices.put(
+			entityPrimaryKey,
+			existingPriceRecords == null ?
+				EntityPrices.create(priceRecord) : EntityPrices.addPriceRecord(existingPriceRecords, priceRecord)
 		);
 	}
 
 	private EntityPrices removeEntityPrice(PriceRecordContract priceRecord) {
 		return this.entityPrices.computeIfPresent(
 			priceRecord.getEntityPrimaryKey(),
-			(entityId, existingPriceRecords) -> EntityPrices.removePrice(existingPriceRecords, priceRecord)
+			existingPriceRecords -> EntityPrices.removePrice(existingPriceRecords, priceRecord)
 		);
 	}
 
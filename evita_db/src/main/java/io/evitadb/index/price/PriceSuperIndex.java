@@ -25,6 +25,8 @@ package io.evitadb.index.price;
 import io.evitadb.api.Transaction;
 import io.evitadb.api.data.PriceContract;
 import io.evitadb.api.dataType.DateTimeRange;
+import io.evitadb.api.serialization.KeyCompressor;
+import io.evitadb.api.serialization.exception.CompressionKeyUnknownException;
 import io.evitadb.index.map.TransactionalMemoryMap;
 import io.evitadb.index.price.PriceSuperIndex.PriceIndexChanges;
 import io.evitadb.index.price.model.PriceIndexKey;
@@ -33,17 +35,27 @@ import io.evitadb.index.price.model.internalId.PriceInternalIdContainer;
 import io.evitadb.index.price.model.priceRecord.PriceRecord;
 import io.evitadb.index.price.model.priceRecord.PriceRecordContract;
 import io.evitadb.index.price.model.priceRecord.PriceRecordInnerRecordSpecific;
+import io.evitadb.index.set.TransactionalMemorySet;
 import io.evitadb.index.transactionalMemory.TransactionalContainerChanges;
 import io.evitadb.index.transactionalMemory.TransactionalLayerMaintainer;
 import io.evitadb.index.transactionalMemory.TransactionalLayerProducer;
 import io.evitadb.index.transactionalMemory.TransactionalMemory;
+import io.evitadb.storage.model.storageParts.PersistedStoragePartKey;
+import io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexChunkStoragePart;
+import io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexStoragePart;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexChunkStoragePart.getChunkId;
 import static java.util.Optional.ofNullable;
 
 /**
@@ -68,6 +80,11 @@ public class PriceSuperIndex extends AbstractPriceIndex<PriceListAndCurrencyPric
 	 * and currency combination.
 	 */
 	protected final TransactionalMemoryMap<PriceIndexKey, PriceListAndCurrencyPriceSuperIndex> priceIndexes;
+	/**
+	 * Contains keys of the {@link PriceListAndCurrencyPriceSuperIndex indexes} removed from {@link #priceIndexes} whose
+	 * storage parts were not yet removed from the persistent storage.
+	 */
+	private final TransactionalMemorySet<PriceIndexKey> removedPriceIndexKeys;
 	/**
 	 * Contains the sequence for assigning {@link PriceInternalIdContainer#getInternalPriceId()} to a newly encountered
 	 * prices in the input data. See {@link PriceInternalIdContainer} to see the reasons behind it.
@@ -77,16 +94,19 @@ public class PriceSuperIndex extends AbstractPriceIndex<PriceListAndCurrencyPric
 	public PriceSuperIndex() {
 		this.internalPriceIdSequence = new AtomicInteger(0);
 		this.priceIndexes = new TransactionalMemoryMap<>(new HashMap<>());
+		this.removedPriceIndexKeys = new TransactionalMemorySet<>(new HashSet<>());
 	}
 
 	public PriceSuperIndex(int internalPriceIdSequenceSeed, @Nonnull Map<PriceIndexKey, PriceListAndCurrencyPriceSuperIndex> priceIndexes) {
 		this.internalPriceIdSequence = new AtomicInteger(internalPriceIdSequenceSeed);
 		this.priceIndexes = new TransactionalMemoryMap<>(priceIndexes);
+		this.removedPriceIndexKeys = new TransactionalMemorySet<>(new HashSet<>());
 	}
 
 	private PriceSuperIndex(AtomicInteger internalPriceIdSequenceSeed, @Nonnull Map<PriceIndexKey, PriceListAndCurrencyPriceSuperIndex> priceIndexes) {
 		this.internalPriceIdSequence = internalPriceIdSequenceSeed;
 		this.priceIndexes = new TransactionalMemoryMap<>(priceIndexes);
+		this.removedPriceIndexKeys = new TransactionalMemorySet<>(new HashSet<>());
 	}
 
 	/**
@@ -105,6 +125,54 @@ public class PriceSuperIndex extends AbstractPriceIndex<PriceListAndCurrencyPric
 		return internalPriceIdSequence.incrementAndGet();
 	}
 
+	/**
+	 * Method returns keys of the storage parts of the {@link PriceListAndCurrencyPriceSuperIndex indexes} removed from
+	 * this index that needs to be removed from the persistent storage. The main storage part of each removed index is
+	 * returned along with all its {@link PriceListAndCurrencySuperIndexChunkStoragePart chunks}. Parts that are going to
+	 * be rewritten by the index with the same key created again after the removal are left out.
+	 */
+	@Nonnull
+	public Collection<PersistedStoragePartKey> getRemovedStorageParts(int entityIndexPrimaryKey, @Nonnull KeyCompressor keyCompressor) {
+		if (this.removedPriceIndexKeys.isEmpty()) {
+			return Collections.emptyList();
+		}
+		// chunk ids of the removed index are not known any more - all chunks the assigned price ids fall into are used
+		final int lastChunkId = getChunkId(getLastAssignedInternalPriceId());
+		final List<PersistedStoragePartKey> removedParts = new LinkedList<>();
+		for (PriceIndexKey priceIndexKey : this.removedPriceIndexKeys) {
+			final PriceListAndCurrencyPriceSuperIndex recreatedIndex = this.priceIndexes.get(priceIndexKey);
+			try {
+				if (recreatedIndex == null) {
+					removedParts.add(
+						new PersistedStoragePartKey(
+							PriceListAndCurrencySuperIndexStoragePart.computeUniquePartId(entityIndexPrimaryKey, priceIndexKey, keyCompressor),
+							PriceListAndCurrencySuperIndexStoragePart.class
+						)
+					);
+				}
+				for (int chunkId = 0; chunkId <= lastChunkId; chunkId++) {
+					if (recreatedIndex == null || !recreatedIndex.isChunkDirty(chunkId)) {
+						removedParts.add(
+							new PersistedStoragePartKey(
+								PriceListAndCurrencySuperIndexChunkStoragePart.computeUniquePartId(entityIndexPrimaryKey, priceIndexKey, chunkId, keyCompressor),
+								PriceListAndCurrencySuperIndexChunkStoragePart.class
+							)
+						);
+					}
+				}
+			} catch (CompressionKeyUnknownException ex) {
+				// the index has never been persisted - there is nothing to remove
+			}
+		}
+		return removedParts;
+	}
+
+	@Override
+	public void resetDirty() {
+		super.resetDirty();
+		this.removedPriceIndexKeys.clear();
+	}
+
 	@Override
 	public void clearTransactionalMemory() {
 		for (PriceListAndCurrencyPriceIndex priceListAndCurrencyPriceIndex : priceIndexes.values()) {
@@ -115,6 +183,7 @@ public class PriceSuperIndex extends AbstractPriceIndex<PriceListAndCurrencyPric
 		ofNullable(changes).ifPresent(it -> it.cleanAll(TransactionalMemory.getTransactionalMemoryLayer()));
 		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this);
 		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this.priceIndexes);
+		TransactionalMemory.removeTransactionalMemoryLayerIfExists(this.removedPriceIndexKeys);
 	}
 
 	@Override
@@ -130,6 +199,8 @@ public class PriceSuperIndex extends AbstractPriceIndex<PriceListAndCurrencyPric
 			internalPriceIdSequence,
 			transactionalLayer.getStateCopyWithCommittedChanges(this.priceIndexes, transaction)
 		);
+		// storage parts of the removed indexes were registered for removal along with this transaction
+		transactionalLayer.removeTransactionalMemoryLayerIfExists(this.removedPriceIndexKeys);
 		ofNullable(layer).ifPresent(it -> it.clean(transactionalLayer));
 		return priceIndex;
 	}
@@ -150,6 +221,7 @@ public class PriceSuperIndex extends AbstractPriceIndex<PriceListAndCurrencyPric
 	@Override
 	protected void removeExistingIndex(@Nonnull PriceIndexKey lookupKey, @Nonnull PriceListAndCurrencyPriceSuperIndex priceListIndex) {
 		super.removeExistingIndex(lookupKey, priceListIndex);
+		this.removedPriceIndexKeys.add(lookupKey);
 		ofNullable(TransactionalMemory.getTransactionalMemoryLayer(this))
 			.ifPresent(it -> it.addRemovedItem(priceListIndex));
 	}
@@ -23,6 +23,7 @@
 package io.evitadb.index.price.model.entityPrices;
 
 import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.price.model.priceRecord.PriceRecord;
 import io.evitadb.index.price.model.priceRecord.PriceRecordContract;
 
@@ -108,6 +109,18 @@ public abstract class EntityPrices {
 		return getSize() == 0;
 	}
 
+	/**
+	 * Returns estimated size of the object on Java heap in Bytes. Price records are shared with the owning price index
+	 * and are not counted here.
+	 */
+	public long estimateSize() {
+		final PriceRecordContract[] lowestPriceRecords = getLowestPriceRecords();
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE + 3 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			MemoryMeasuringConstants.computeArraySize(getAllPrices().length, MemoryMeasuringConstants.REFERENCE_SIZE) +
+			(lowestPriceRecords == null ? 0L : MemoryMeasuringConstants.computeArraySize(lowestPriceRecords.length, MemoryMeasuringConstants.REFERENCE_SIZE)) +
+			MemoryMeasuringConstants.computeArraySize(getInternalPriceIds().length, MemoryMeasuringConstants.INT_SIZE);
+	}
+
 	/**
 	 * Returns true if there is no single price for the entity.
 	 */
@@ -23,6 +23,7 @@
 package io.evitadb.index.price.model.priceRecord;
 
 import io.evitadb.api.query.require.QueryPriceMode;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -78,6 +79,12 @@ public class CumulatedVirtualPriceRecord implements PriceRecordContract {
 		return false;
 	}
 
+	@Override
+	public int estimateSize() {
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE + 2 * MemoryMeasuringConstants.INT_SIZE +
+			MemoryMeasuringConstants.REFERENCE_SIZE;
+	}
+
 	@Override
 	public int compareTo(PriceRecordContract o) {
 		return FULL_COMPARATOR.compare(this, o);
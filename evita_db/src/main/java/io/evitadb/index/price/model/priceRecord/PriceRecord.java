@@ -25,6 +25,7 @@ package io.evitadb.index.price.model.priceRecord;
 import io.evitadb.api.data.PriceContract;
 import io.evitadb.api.data.structure.Entity;
 import io.evitadb.api.data.structure.Price.PriceKey;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import lombok.Getter;
 import lombok.ToString;
 
@@ -83,6 +84,11 @@ public class PriceRecord implements PriceRecordContract {
 		return 0;
 	}
 
+	@Override
+	public int estimateSize() {
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE + 5 * MemoryMeasuringConstants.INT_SIZE;
+	}
+
 	@Override
 	public int compareTo(@Nonnull PriceRecordContract other) {
 		return PRICE_RECORD_COMPARATOR.compare(this, other);
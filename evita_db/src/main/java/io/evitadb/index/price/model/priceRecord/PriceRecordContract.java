@@ -85,4 +85,9 @@ public interface PriceRecordContract extends Serializable, Comparable<PriceRecor
 	 */
 	boolean isInnerRecordSpecific();
 
+	/**
+	 * Returns estimated size of the price record on Java heap in Bytes.
+	 */
+	int estimateSize();
+
 }
@@ -24,26 +24,40 @@ package io.evitadb.index.range;
 
 import io.evitadb.api.Transaction;
 import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.array.TransactionalComplexObjArray;
 import io.evitadb.index.bitmap.BaseBitmap;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.EmptyBitmap;
+import io.evitadb.index.bitmap.RoaringBitmapBackedBitmap;
+import io.evitadb.index.range.suppliers.RangeOverlappingBitmapSupplier;
 import io.evitadb.index.transactionalMemory.TransactionalLayerMaintainer;
 import io.evitadb.index.transactionalMemory.VoidTransactionMemoryProducer;
 import io.evitadb.query.algebra.Formula;
 import io.evitadb.query.algebra.base.*;
+import io.evitadb.query.algebra.deferred.DeferredFormula;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.roaringbitmap.RoaringBitmap;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.util.*;
+import java.util.Map.Entry;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static io.evitadb.index.transactionalMemory.TransactionalMemory.getTransactionalMemoryLayerIfExists;
+import static io.evitadb.index.transactionalMemory.TransactionalMemory.isTransactionalMemoryAvailable;
+
 /**
  * RangeIndex has following structure:
  * <p>
@@ -66,6 +80,10 @@ import java.util.stream.Collectors;
  * <p>
  * This situation will lead to problems when such record is removed because on removal it removes the shared border
  * information for all ranges.
+ * <p>
+ * Point and overlap look-ups ({@link #getRecordsValidIn(long)}, {@link #getRecordsOverlapping(long, long)}) are
+ * computed as the "active set" of the records in single ordered pass over the range points - starting from the closer
+ * end of the index or from the cached active set of recently looked up interval between neighbouring range points.
  *
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2019
  */
@@ -102,12 +120,36 @@ public class RangeIndex implements VoidTransactionMemoryProducer<RangeIndex>, Se
 	 */
 	private static final BiPredicate<TransactionalRangePoint, TransactionalRangePoint> INT_RANGE_POINT_DEEP_COMPARATOR =
 		TransactionalRangePoint::deepEquals;
+	/**
+	 * Maximal count of the intervals which active sets are kept in {@link #validInCache}.
+	 */
+	private static final int VALID_IN_CACHE_SIZE = 32;
 
 	/**
 	 * Contains range information sorted by {@link RangePoint#getThreshold()} in ascending order.
 	 * At least two points are always present for MIN and MAX point of the range.
 	 */
 	final TransactionalComplexObjArray<TransactionalRangePoint> ranges;
+	/**
+	 * Contains active sets (see {@link #getRecordsValidIn(long)}) of recently looked up intervals between neighbouring
+	 * range points keyed by the index of the range point closing the interval. All points within the same interval
+	 * share the same active set, so that look-ups of the slightly different points (such as the current time) hit
+	 * the same entry. The map is kept in the access order and the least recently used entry is evicted when it exceeds
+	 * {@link #VALID_IN_CACHE_SIZE} entries. The cache reflects the state of the index without transactional changes
+	 * and it's discarded when the index is modified outside the transaction.
+	 */
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	final LinkedHashMap<Integer, Bitmap> validInCache = new LinkedHashMap<>(VALID_IN_CACHE_SIZE * 2, 0.75f, true);
+	/**
+	 * Contains cumulative counts of starts and ends of the range points used for {@link #estimateRecordsOverlappingCount(long, long)}.
+	 * The same rules as for {@link #validInCache} apply - it's lazily computed and discarded on modification.
+	 */
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private volatile CumulativeCounts memoizedCumulativeCounts;
 
 	public RangeIndex(TransactionalRangePoint[] ranges) {
 		Assert.isTrue(ranges.length >= 2, "At least two ranges are expected!");
@@ -166,6 +208,7 @@ public class RangeIndex implements VoidTransactionMemoryProducer<RangeIndex>, Se
 		final Bitmap recArray = new BaseBitmap(recordId);
 		this.ranges.add(new TransactionalRangePoint(from, recArray, EmptyBitmap.INSTANCE));
 		this.ranges.add(new TransactionalRangePoint(to, EmptyBitmap.INSTANCE, recArray));
+		discardValidInCache();
 	}
 
 	/**
@@ -175,6 +218,7 @@ public class RangeIndex implements VoidTransactionMemoryProducer<RangeIndex>, Se
 		final Bitmap recArray = new BaseBitmap(recordId);
 		this.ranges.remove(new TransactionalRangePoint(start, recArray, EmptyBitmap.INSTANCE));
 		this.ranges.remove(new TransactionalRangePoint(end, EmptyBitmap.INSTANCE, recArray));
+		discardValidInCache();
 	}
 
 	/**
@@ -357,30 +401,111 @@ public class RangeIndex implements VoidTransactionMemoryProducer<RangeIndex>, Se
 	 * `from` and `to` bounds.
 	 *
 	 * Method finds all records which start range is before `from` and ends after or equal to `from` or
-	 * which ends after `from` but before or equal to `to`.
+	 * which ends after `from` but before or equal to `to`. The result is computed lazily by
+	 * {@link #getRecordsOverlapping(long, long)}.
 	 */
 	public Formula getRecordsWithRangesOverlapping(long from, long to) {
-		final RangeLookup rangeLookup = new RangeLookup(ranges, from, to);
-		final StartsEndsDTO between = collectsStartsAndEnds(rangeLookup.getStartIndex(), rangeLookup.getEndIndex(), ranges);
-		final StartsEndsDTO before = collectsStartsAndEnds(0, Math.min(rangeLookup.getStartIndex(), rangeLookup.getEndIndex()), ranges);
-		final StartsEndsDTO after = collectsStartsAndEnds(Math.max(rangeLookup.getStartIndex(), rangeLookup.getEndIndex()), ranges.getLength() - 1, ranges);
-
-		return new OrFormula(
-			between.getRangeStarts(),
-			between.getRangeEnds(),
-			new AndFormula(
-				new DisentangleFormula(
-					new JoinFormula(getId(), before.getRangeStartsAsBitmapArray()),
-					new JoinFormula(getId(), before.getRangeEndsAsBitmapArray())
-				),
-				new DisentangleFormula(
-					new JoinFormula(getId(), after.getRangeEndsAsBitmapArray()),
-					new JoinFormula(getId(), after.getRangeStartsAsBitmapArray())
-				)
-			)
+		return new DeferredFormula(
+			new RangeOverlappingBitmapSupplier(this, from, to, new long[]{this.ranges.getId()})
 		);
 	}
 
+	/**
+	 * Method returns formula that computes all records which range contains passed point (inclusive). The result is
+	 * the same as of {@link #getRecordsWithRangesOutsideInclusive(long, long)} with both bounds equal to `thePoint`,
+	 * but it's computed lazily by {@link #getRecordsValidIn(long)}.
+	 */
+	public Formula getRecordsValidInFormula(long thePoint) {
+		return getRecordsWithRangesOverlapping(thePoint, thePoint);
+	}
+
+	/**
+	 * Returns bitmap of all records which range contains passed point (inclusive) - i.e. the "active set" of the point.
+	 * The active set is computed in single ordered pass over the range points producing single bitmap:
+	 * <p>
+	 * - when passing the points from the start of the index, starts of the ranges before the point are added and their
+	 *   ends are removed, finally the starts exactly at the point are added
+	 * - when passing the points from the end of the index, ends of the ranges after the point are added and their
+	 *   starts are removed, finally the ends exactly at the point are added
+	 * <p>
+	 * All points strictly between two neighbouring range points share the same active set. The active set of the point
+	 * equal to the range point threshold is the active set of the interval preceding it extended by the starts of that
+	 * range point. The pass starts at the closer end of the index or at the cached active set of the closest recently
+	 * looked up interval. The computation relies on the contract of this index - the ranges of the same record must not
+	 * overlap.
+	 * <p>
+	 * Returned bitmap is always a new instance owned by the caller - the cached active sets are shared among
+	 * the look-ups and are never exposed.
+	 */
+	@Nonnull
+	public Bitmap getRecordsValidIn(long thePoint) {
+		final TransactionalRangePoint[] points = this.ranges.getArray();
+		final int index = Arrays.binarySearch(points, new TransactionalRangePoint(thePoint));
+		final int intervalIndex = index >= 0 ? index : -1 * index - 1;
+		final RoaringBitmap result;
+		// the cache may be used only when there are no changes visible only in current transaction
+		if (getTransactionalMemoryLayerIfExists(this.ranges) == null) {
+			result = RoaringBitmapBackedBitmap.getRoaringBitmap(getCachedActiveSet(points, intervalIndex)).clone();
+		} else {
+			result = computeActiveSet(points, intervalIndex, 0, null, points.length, null);
+		}
+		if (index >= 0) {
+			result.or(RoaringBitmapBackedBitmap.getRoaringBitmap(points[index].getStarts()));
+		}
+		return new BaseBitmap(result);
+	}
+
+	/**
+	 * Returns bitmap of all records which range overlap (have points in common) passed range with `from` and `to`
+	 * bounds. The result is computed as the {@link #getRecordsValidIn(long) active set} of the `from` point combined
+	 * with the starts of all ranges between `from` (exclusive) and `to` (inclusive).
+	 */
+	@Nonnull
+	public Bitmap getRecordsOverlapping(long from, long to) {
+		final Bitmap activeSet = getRecordsValidIn(from);
+		if (to <= from) {
+			return activeSet;
+		}
+		final TransactionalRangePoint[] points = this.ranges.getArray();
+		final int fromIndex = Arrays.binarySearch(points, new TransactionalRangePoint(from));
+		final int toIndex = Arrays.binarySearch(points, new TransactionalRangePoint(to));
+		final int firstAfterFrom = fromIndex >= 0 ? fromIndex + 1 : -1 * fromIndex - 1;
+		final int lastBeforeOrAtTo = toIndex >= 0 ? toIndex : -1 * toIndex - 2;
+		if (firstAfterFrom > lastBeforeOrAtTo) {
+			return activeSet;
+		}
+		// active set is a private copy of this look-up and can be extended in place
+		final RoaringBitmap result = RoaringBitmapBackedBitmap.getRoaringBitmap(activeSet);
+		for (int i = firstAfterFrom; i <= lastBeforeOrAtTo; i++) {
+			result.or(RoaringBitmapBackedBitmap.getRoaringBitmap(points[i].getStarts()));
+		}
+		return new BaseBitmap(result);
+	}
+
+	/**
+	 * Returns estimated count of records returned by {@link #getRecordsOverlapping(long, long)} without computing
+	 * the result. The estimate is computed as count of starts before or at `to` minus count of ends before `from`,
+	 * which is precise unless the record has multiple ranges overlapping the interval - such record is counted once
+	 * for each of these ranges. Both counts are looked up
+	 * in the memoized cumulative counts of the range points, so that the estimate doesn't need to pass the points.
+	 */
+	public int estimateRecordsOverlappingCount(long from, long to) {
+		final CumulativeCounts counts;
+		// the memoized counts may be used only when there are no changes visible only in current transaction
+		if (getTransactionalMemoryLayerIfExists(this.ranges) == null) {
+			final CumulativeCounts memoizedCounts = this.memoizedCumulativeCounts;
+			if (memoizedCounts == null) {
+				counts = new CumulativeCounts(this.ranges.getArray());
+				this.memoizedCumulativeCounts = counts;
+			} else {
+				counts = memoizedCounts;
+			}
+		} else {
+			counts = new CumulativeCounts(this.ranges.getArray());
+		}
+		return Math.max(0, counts.getStartsUntil(to) - counts.getEndsBefore(from));
+	}
+
 	/**
 	 * Returns record ids of all records in this index.
 	 */
@@ -396,6 +521,19 @@ public class RangeIndex implements VoidTransactionMemoryProducer<RangeIndex>, Se
 		return getAllRecords().size();
 	}
 
+	/**
+	 * Returns estimated size of the range index on Java heap in Bytes including all its range points.
+	 */
+	public long estimateSize() {
+		final TransactionalRangePoint[] points = this.ranges.getArray();
+		long size = MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.REFERENCE_SIZE +
+			MemoryMeasuringConstants.computeArraySize(points.length, MemoryMeasuringConstants.REFERENCE_SIZE);
+		for (TransactionalRangePoint point : points) {
+			size += point.estimateSize();
+		}
+		return size;
+	}
+
 	/*
 		TRANSACTIONAL MEMORY implementation
 	 */
@@ -409,6 +547,95 @@ public class RangeIndex implements VoidTransactionMemoryProducer<RangeIndex>, Se
 		PRIVATE METHODS
 	 */
 
+	/**
+	 * Returns active set of the interval preceding range point on `intervalIndex` from {@link #validInCache} or computes
+	 * and caches it. The returned bitmap is shared with other look-ups and must not be modified or leaked outside
+	 * this index.
+	 */
+	@Nonnull
+	private Bitmap getCachedActiveSet(@Nonnull TransactionalRangePoint[] points, int intervalIndex) {
+		int forwardFrom = 0;
+		Bitmap forwardSeed = null;
+		int backwardTo = points.length;
+		Bitmap backwardSeed = null;
+		synchronized (this.validInCache) {
+			final Bitmap cachedResult = this.validInCache.get(intervalIndex);
+			if (cachedResult != null) {
+				return cachedResult;
+			}
+			// find the closest cached intervals on both sides
+			for (Entry<Integer, Bitmap> entry : this.validInCache.entrySet()) {
+				final int cachedIndex = entry.getKey();
+				if (cachedIndex < intervalIndex && cachedIndex >= forwardFrom) {
+					forwardFrom = cachedIndex;
+					forwardSeed = entry.getValue();
+				} else if (cachedIndex > intervalIndex && cachedIndex <= backwardTo) {
+					backwardTo = cachedIndex;
+					backwardSeed = entry.getValue();
+				}
+			}
+		}
+		final Bitmap result = new BaseBitmap(
+			computeActiveSet(points, intervalIndex, forwardFrom, forwardSeed, backwardTo, backwardSeed)
+		);
+		synchronized (this.validInCache) {
+			this.validInCache.put(intervalIndex, result);
+			if (this.validInCache.size() > VALID_IN_CACHE_SIZE) {
+				// evict the least recently used interval
+				final Iterator<Integer> it = this.validInCache.keySet().iterator();
+				it.next();
+				it.remove();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes active set of the interval preceding range point on `intervalIndex` (see {@link #getRecordsValidIn(long)})
+	 * from passed sorted range `points`. The computation passes the points from the `forwardSeed` (active set
+	 * of the interval preceding point on `forwardFrom` index) forwards or from the `backwardSeed` (active set
+	 * of the interval preceding point on `backwardTo` index) backwards, whichever is closer. Missing seeds represent
+	 * empty active sets before the first point and after the last point.
+	 */
+	@Nonnull
+	private static RoaringBitmap computeActiveSet(
+		@Nonnull TransactionalRangePoint[] points,
+		int intervalIndex,
+		int forwardFrom,
+		@Nullable Bitmap forwardSeed,
+		int backwardTo,
+		@Nullable Bitmap backwardSeed
+	) {
+		final RoaringBitmap result;
+		if (intervalIndex - forwardFrom <= backwardTo - intervalIndex) {
+			result = forwardSeed == null ? new RoaringBitmap() : RoaringBitmapBackedBitmap.getRoaringBitmap(forwardSeed).clone();
+			for (int i = forwardFrom; i < intervalIndex; i++) {
+				result.or(RoaringBitmapBackedBitmap.getRoaringBitmap(points[i].getStarts()));
+				result.andNot(RoaringBitmapBackedBitmap.getRoaringBitmap(points[i].getEnds()));
+			}
+		} else {
+			result = backwardSeed == null ? new RoaringBitmap() : RoaringBitmapBackedBitmap.getRoaringBitmap(backwardSeed).clone();
+			for (int i = backwardTo - 1; i >= intervalIndex; i--) {
+				result.or(RoaringBitmapBackedBitmap.getRoaringBitmap(points[i].getEnds()));
+				result.andNot(RoaringBitmapBackedBitmap.getRoaringBitmap(points[i].getStarts()));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Discards the cached active sets when the index is modified outside the transaction. Transactional changes are
+	 * never visible in the cache.
+	 */
+	private void discardValidInCache() {
+		if (!isTransactionalMemoryAvailable()) {
+			synchronized (this.validInCache) {
+				this.validInCache.clear();
+			}
+			this.memoizedCumulativeCounts = null;
+		}
+	}
+
 	/**
 	 * Method collects all starts and ends from ranges between fromIndex and toIndex (inclusive) and returns them collected
 	 * in simple DTO.
@@ -765,4 +992,48 @@ public class RangeIndex implements VoidTransactionMemoryProducer<RangeIndex>, Se
 		}
 	}
 
+	/**
+	 * Cumulative counts of the starts and ends of the range points - i.e. the count of all starts / ends registered
+	 * in the range points up to (and including) the point on the same index. The counts of all the points up to
+	 * the arbitrary threshold are then looked up by single binary search.
+	 */
+	static class CumulativeCounts {
+		private final long[] thresholds;
+		private final int[] starts;
+		private final int[] ends;
+
+		CumulativeCounts(@Nonnull TransactionalRangePoint[] points) {
+			this.thresholds = new long[points.length];
+			this.starts = new int[points.length];
+			this.ends = new int[points.length];
+			int startCount = 0;
+			int endCount = 0;
+			for (int i = 0; i < points.length; i++) {
+				startCount += points[i].getStarts().size();
+				endCount += points[i].getEnds().size();
+				this.thresholds[i] = points[i].getThreshold();
+				this.starts[i] = startCount;
+				this.ends[i] = endCount;
+			}
+		}
+
+		/**
+		 * Returns count of starts of all range points with threshold lesser than or equal to `threshold`.
+		 */
+		int getStartsUntil(long threshold) {
+			final int index = Arrays.binarySearch(this.thresholds, threshold);
+			final int lastIndex = index >= 0 ? index : -1 * index - 2;
+			return lastIndex >= 0 ? this.starts[lastIndex] : 0;
+		}
+
+		/**
+		 * Returns count of ends of all range points with threshold lesser than `threshold`.
+		 */
+		int getEndsBefore(long threshold) {
+			final int index = Arrays.binarySearch(this.thresholds, threshold);
+			final int lastIndex = index >= 0 ? index - 1 : -1 * index - 2;
+			return lastIndex >= 0 ? this.ends[lastIndex] : 0;
+		}
+	}
+
 }
@@ -23,6 +23,7 @@
 package io.evitadb.index.range;
 
 import io.evitadb.api.Transaction;
+import io.evitadb.api.utils.MemoryMeasuringConstants;
 import io.evitadb.index.array.TransactionalObject;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.TransactionalBitmap;
@@ -115,6 +116,15 @@ public class TransactionalRangePoint implements TransactionalObject<Transactiona
 		this.ends.removeAll(recordIds);
 	}
 
+	/**
+	 * Returns estimated size of the range point on Java heap in Bytes including its start and end bitmaps.
+	 */
+	public long estimateSize() {
+		return MemoryMeasuringConstants.OBJECT_HEADER_SIZE + MemoryMeasuringConstants.LONG_SIZE +
+			2 * MemoryMeasuringConstants.REFERENCE_SIZE +
+			this.starts.estimateSize() + this.ends.estimateSize();
+	}
+
 	/**
 	 * Compares this range point for all values (not only threshold but also both bitmaps).
 	 */
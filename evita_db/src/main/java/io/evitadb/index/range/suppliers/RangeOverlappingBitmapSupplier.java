@@ -0,0 +1,139 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index.range.suppliers;
+
+import io.evitadb.index.bitmap.Bitmap;
+import io.evitadb.index.range.RangeIndex;
+import io.evitadb.query.algebra.deferred.BitmapSupplier;
+import io.evitadb.query.algebra.deferred.DeferredFormula;
+import lombok.RequiredArgsConstructor;
+import net.openhft.hashing.LongHashFunction;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link BitmapSupplier} that provides access to the records of {@link RangeIndex} which ranges
+ * overlap the `from` / `to` range (or contain the single point when both bounds are equal) in a lazy fashion.
+ * The expensive computation happens in {@link #get()} method and its result is memoized. This class is meant to be
+ * used in combination with {@link DeferredFormula}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@RequiredArgsConstructor
+public class RangeOverlappingBitmapSupplier implements BitmapSupplier {
+	private static final long CLASS_ID = -3254920155738208371L;
+	/**
+	 * Reference to the {@link RangeIndex} that will be used for gathering the data.
+	 */
+	private final RangeIndex rangeIndex;
+	/**
+	 * Lower bound of the looked up range (inclusive).
+	 */
+	private final long from;
+	/**
+	 * Upper bound of the looked up range (inclusive).
+	 */
+	private final long to;
+	/**
+	 * Set of transactional ids of the data structures that are involved in data computation.
+	 */
+	private final long[] transactionalId;
+	/**
+	 * Memoized result of {@link #get()}.
+	 */
+	private Bitmap memoizedResult;
+	/**
+	 * Memoized result of {@link #getEstimatedCardinality()}.
+	 */
+	private Integer memoizedEstimatedCardinality;
+
+	@Override
+	public long getEstimatedCost() {
+		return getEstimatedCardinality() * getOperationCost();
+	}
+
+	@Override
+	public long getCost() {
+		return getEstimatedCost();
+	}
+
+	@Override
+	public long getOperationCost() {
+		return 12;
+	}
+
+	@Override
+	public int getEstimatedCardinality() {
+		if (this.memoizedEstimatedCardinality == null) {
+			this.memoizedEstimatedCardinality = this.memoizedResult == null ?
+				this.rangeIndex.estimateRecordsOverlappingCount(this.from, this.to) : this.memoizedResult.size();
+		}
+		return this.memoizedEstimatedCardinality;
+	}
+
+	@Override
+	public long getCostToPerformanceRatio() {
+		return getCost() / Math.max(1, get().size());
+	}
+
+	@Override
+	public long computeHash(@Nonnull LongHashFunction hashFunction) {
+		// ids of the data structures identify the range index - the same range in different index yields different result
+		return hashFunction.hashLongs(
+			Stream.of(
+					LongStream.of(CLASS_ID, this.from, this.to),
+					Arrays.stream(this.transactionalId).sorted()
+				)
+				.flatMapToLong(it -> it)
+				.toArray()
+		);
+	}
+
+	@Override
+	public long computeTransactionalIdHash(@Nonnull LongHashFunction hashFunction) {
+		return hashFunction.hashLongs(
+			Arrays.stream(gatherTransactionalIds())
+				.distinct()
+				.sorted()
+				.toArray()
+		);
+	}
+
+	@Nonnull
+	@Override
+	public long[] gatherTransactionalIds() {
+		return this.transactionalId;
+	}
+
+	@Override
+	public Bitmap get() {
+		if (this.memoizedResult == null) {
+			this.memoizedResult = this.rangeIndex.getRecordsOverlapping(this.from, this.to);
+		}
+		return this.memoizedResult;
+	}
+
+}
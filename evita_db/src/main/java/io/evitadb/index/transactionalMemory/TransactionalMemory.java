@@ -23,12 +23,14 @@
 package io.evitadb.index.transactionalMemory;
 
 import io.evitadb.api.utils.Assert;
+import io.evitadb.index.transactionalMemory.exception.ReadOnlyTransactionalMemoryException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static java.util.Optional.ofNullable;
 
@@ -61,35 +63,60 @@ import static java.util.Optional.ofNullable;
  * Transactional memory is bound to current thread. Single thread may open multiple simultaneous transactions, but accessible
  * is only the last one created. Changes made in one transaction are not visible in other transactions (currently).
  *
+ * Transactional memory may be explicitly propagated to other threads by {@link #propagate(Supplier)} or
+ * {@link #executeWithin(TransactionalMemory, Supplier)} methods. Propagated memory is read-only - the other threads see
+ * the same snapshot as the thread that opened the transaction, but they never create new transactional layers and any
+ * attempt to modify the transactional state object ends with {@link ReadOnlyTransactionalMemoryException}. The state
+ * objects must therefore use {@link #getTransactionalMemoryLayerIfExists(TransactionalLayerCreator)} for all their read
+ * operations and {@link #getTransactionalMemoryLayer(TransactionalLayerCreator)} only for the modifications.
+ *
+ * The binding itself stays thread-local - the state objects look up the layer implicitly and the explicit handle
+ * ({@link TransactionalMemory} instance) is only used for propagating the snapshot across thread boundaries.
+ *
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2017
  */
 public class TransactionalMemory {
 	private static final ThreadLocal<Deque<TransactionalMemory>> TRANSACTIONAL_MEMORY = new ThreadLocal<>();
 	private static final ThreadLocal<Deque<Set<TransactionalLayerCreator<?>>>> SUPPRESSED_CREATORS = new ThreadLocal<>();
 	private final TransactionalLayerMaintainer transactionalLayer;
+	/**
+	 * True when this instance represents read-only view of the transactional memory propagated to another thread.
+	 */
+	private final boolean readOnly;
 
 	private TransactionalMemory() {
 		this.transactionalLayer = new TransactionalLayerMaintainer();
+		this.readOnly = false;
 	}
 
 	private TransactionalMemory(TransactionalMemory existingLayer) {
 		this.transactionalLayer = new TransactionalLayerMaintainer(existingLayer.transactionalLayer);
+		this.readOnly = false;
+	}
+
+	private TransactionalMemory(TransactionalLayerMaintainer transactionalLayer, boolean readOnly) {
+		this.transactionalLayer = transactionalLayer;
+		this.readOnly = readOnly;
 	}
 
 	/**
 	 * Opens a new layer of transactional states upon {@link TransactionalLayerCreator} object.
+	 * Returns the opened transactional memory so that it could be propagated to other threads.
 	 */
-	public static void open() {
-		open(null);
+	@Nonnull
+	public static TransactionalMemory open() {
+		return open(null);
 	}
 
 	/**
 	 * Opens a new layer of transactional states upon {@link TransactionalLayerCreator} object.
 	 * Allows to pass initial data of transactional memory.
 	 */
-	public static void open(@Nullable TransactionalMemory transactionalMemory) {
-		final Deque<TransactionalMemory> threadStack = getTransactionalMemoryStack();
-		threadStack.push(transactionalMemory == null ? new TransactionalMemory() : transactionalMemory);
+	@Nonnull
+	public static TransactionalMemory open(@Nullable TransactionalMemory transactionalMemory) {
+		final TransactionalMemory openedMemory = transactionalMemory == null ? new TransactionalMemory() : transactionalMemory;
+		bind(openedMemory);
+		return openedMemory;
 	}
 
 	/**
@@ -108,6 +135,61 @@ public class TransactionalMemory {
 		threadStack.push(threadStack.isEmpty() ? new TransactionalMemory() : new TransactionalMemory(threadStack.peek()));
 	}
 
+	/**
+	 * Returns transactional memory that is active for current thread or NULL if there is none.
+	 */
+	@Nullable
+	public static TransactionalMemory getCurrentTransactionalMemory() {
+		final Deque<TransactionalMemory> stack = getTransactionalMemoryStackIfExists();
+		return stack == null ? null : stack.peek();
+	}
+
+	/**
+	 * Executes `lambda` in current thread with passed transactional memory bound to it. Transactional memory is bound
+	 * in read-only mode - no new transactional layers are created within the lambda scope and the memory is neither
+	 * committed nor rolled back when the lambda finishes. This method is expected to be used for propagating
+	 * the transactional snapshot to the worker threads that perform read-only work on behalf of the transaction
+	 * owner. The owner thread must not modify the transactional memory until the worker finishes.
+	 *
+	 * When NULL memory is passed, the lambda is executed without any transactional memory bound.
+	 */
+	public static <T> T executeWithin(@Nullable TransactionalMemory transactionalMemory, @Nonnull Supplier<T> lambda) {
+		if (transactionalMemory == null) {
+			return lambda.get();
+		}
+		final TransactionalMemory readOnlyMemory = transactionalMemory.readOnly ?
+			transactionalMemory : new TransactionalMemory(transactionalMemory.transactionalLayer, true);
+		bind(readOnlyMemory);
+		try {
+			return lambda.get();
+		} finally {
+			unbind(readOnlyMemory);
+		}
+	}
+
+	/**
+	 * Wraps `lambda` so that it sees the transactional memory active in current thread (at the moment of this method
+	 * call) even if executed in different thread. See {@link #executeWithin(TransactionalMemory, Supplier)}.
+	 */
+	@Nonnull
+	public static <T> Supplier<T> propagate(@Nonnull Supplier<T> lambda) {
+		final TransactionalMemory currentMemory = getCurrentTransactionalMemory();
+		return currentMemory == null ? lambda : () -> executeWithin(currentMemory, lambda);
+	}
+
+	/**
+	 * Wraps `lambda` so that it sees the transactional memory active in current thread (at the moment of this method
+	 * call) even if executed in different thread. See {@link #executeWithin(TransactionalMemory, Supplier)}.
+	 */
+	@Nonnull
+	public static Runnable propagate(@Nonnull Runnable lambda) {
+		final TransactionalMemory currentMemory = getCurrentTransactionalMemory();
+		return currentMemory == null ? lambda : () -> executeWithin(currentMemory, () -> {
+			lambda.run();
+			return null;
+		});
+	}
+
 	/**
 	 * Propagates changes in states made in transactional layer down to real "state" in {@link TransactionalLayerCreator}
 	 * which may be stored in longer living state object.
@@ -196,11 +278,20 @@ public class TransactionalMemory {
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Returns true if the transactional memory bound to current thread is read-only view propagated from another thread.
+	 */
+	public static boolean isTransactionalMemoryReadOnly() {
+		final Deque<TransactionalMemory> stack = getTransactionalMemoryStackIfExists();
+		return stack != null && !stack.isEmpty() && stack.peek().readOnly;
+	}
+
 	/**
 	 * Returns true if transactional memory is present and usable.
 	 */
 	public static boolean isTransactionalMemoryAvailable() {
-		return TRANSACTIONAL_MEMORY.get() != null && !TRANSACTIONAL_MEMORY.get().isEmpty();
+		final Deque<TransactionalMemory> stack = TRANSACTIONAL_MEMORY.get();
+		return stack != null && !stack.isEmpty();
 	}
 
 	/**
@@ -220,7 +311,9 @@ public class TransactionalMemory {
 	}
 
 	/**
-	 * Returns transactional states for passed layer creator object, that is isolated for this thread.
+	 * Returns transactional states for passed layer creator object, that is isolated for this thread. The layer is created
+	 * when it doesn't exist yet, so the method must be used only for modifications of the state object. Fails with
+	 * {@link ReadOnlyTransactionalMemoryException} when the memory bound to current thread is read-only.
 	 */
 	@Nullable
 	public static <T> T getTransactionalMemoryLayer(@Nonnull TransactionalLayerCreator<T> layerCreator) {
@@ -230,6 +323,11 @@ public class TransactionalMemory {
 		final Deque<Set<TransactionalLayerCreator<?>>> suppressedObjects = getSuppressedCreatorStackIfExists();
 		if (stack != null && !stack.isEmpty() && (suppressedObjects == null || suppressedObjects.isEmpty() || !suppressedObjects.peek().contains(layerCreator))) {
 			final TransactionalMemory transactionalMemory = stack.peek();
+			// propagated read-only memory may be shared among multiple threads - returning NULL would make the caller
+			// write through to the committed state and returning existing layer would modify the shared layer
+			if (transactionalMemory.readOnly) {
+				throw new ReadOnlyTransactionalMemoryException(layerCreator);
+			}
 			return transactionalMemory.transactionalLayer.getTransactionalMemoryLayer(layerCreator);
 		} else {
 			return null;
@@ -304,12 +402,38 @@ public class TransactionalMemory {
 		final Deque<TransactionalMemory> stack = getTransactionalMemoryStackIfExists();
 		if (stack != null && !stack.isEmpty()) {
 			final TransactionalMemory transactionalMemory = stack.peek();
+			if (transactionalMemory.readOnly) {
+				throw new ReadOnlyTransactionalMemoryException(layerCreator);
+			}
 			return transactionalMemory.transactionalLayer.removeTransactionalMemoryLayerIfExists(layerCreator);
 		} else {
 			return null;
 		}
 	}
 
+	/**
+	 * Binds passed transactional memory to the current thread.
+	 */
+	private static void bind(@Nonnull TransactionalMemory transactionalMemory) {
+		final Deque<TransactionalMemory> threadStack = getTransactionalMemoryStack();
+		threadStack.push(transactionalMemory);
+	}
+
+	/**
+	 * Unbinds passed transactional memory from the current thread.
+	 */
+	private static void unbind(@Nonnull TransactionalMemory transactionalMemory) {
+		final Deque<TransactionalMemory> stack = getTransactionalMemoryStackIfExists();
+		Assert.isTrue(
+			stack != null && stack.peek() == transactionalMemory,
+			"Transactional memory is not bound to the current thread!"
+		);
+		stack.pop();
+		if (stack.isEmpty()) {
+			TRANSACTIONAL_MEMORY.remove();
+		}
+	}
+
 	@Nullable
 	private static Deque<TransactionalMemory> getTransactionalMemoryStackIfExists() {
 		return TRANSACTIONAL_MEMORY.get();
@@ -0,0 +1,46 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index.transactionalMemory.exception;
+
+import io.evitadb.index.transactionalMemory.TransactionalLayerCreator;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Exception is thrown when the transactional state object is about to be modified in a thread that has only read-only
+ * view of the transactional memory propagated from another thread (or from read-only session). Such modification would
+ * either write through to the shared committed state or to the transactional layer that is shared among threads.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public class ReadOnlyTransactionalMemoryException extends IllegalStateException {
+	private static final long serialVersionUID = -3166226893862164235L;
+
+	public ReadOnlyTransactionalMemoryException(@Nonnull TransactionalLayerCreator<?> layerCreator) {
+		super(
+			"Transactional memory is read-only in this context, object @" + layerCreator.getId() +
+				" (" + layerCreator.getClass().getSimpleName() + ") cannot be modified!"
+		);
+	}
+
+}
@@ -123,10 +123,10 @@ public class QueryExecutor {
 
 	/**
 	 * Method analyzes the input query and picks multiple {@link EntityIndex} sets that can be interchangeably used to
-	 * construct response to the query. Currently, the logic is quite stupid - it searches the filter for all constraints
-	 * within AND relation and when relation or hierarchy constraint is encountered, it adds specific
-	 * {@link EntityIndexType#REFERENCED_ENTITY} or {@link EntityIndexType#REFERENCED_HIERARCHY_NODE} that contains
-	 * limited subset of the entities related to that placement/relation.
+	 * construct response to the query. It searches the filter for all constraints within AND relation and when relation
+	 * or hierarchy constraint is encountered, it adds specific {@link EntityIndexType#REFERENCED_ENTITY} or
+	 * {@link EntityIndexType#REFERENCED_HIERARCHY_NODE} that contains limited subset of the entities related to that
+	 * placement/relation. Disjunctions of such constraints are represented by unions of these indexes.
 	 */
 	private static IndexSelectionResult selectIndexes(
 		@Nonnull QueryContext queryContext,
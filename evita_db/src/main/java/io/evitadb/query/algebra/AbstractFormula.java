@@ -24,6 +24,7 @@ package io.evitadb.query.algebra;
 
 import io.evitadb.cache.CacheSupervisor;
 import io.evitadb.index.bitmap.Bitmap;
+import io.evitadb.index.iterator.BatchArrayIterator;
 import io.evitadb.query.response.TransactionalDataRelatedStructure;
 import lombok.Getter;
 import net.openhft.hashing.LongHashFunction;
@@ -227,6 +228,12 @@ public abstract class AbstractFormula implements Formula {
 		return this.memoizedResult;
 	}
 
+	@Nonnull
+	@Override
+	public BatchArrayIterator batchIterator() {
+		return compute().batchIterator();
+	}
+
 	/**
 	 * Returns cost to performance ratio. Default implementation is sums cost to performance ratio of all inner formulas
 	 * and adds ratio of this operation that is computed as ration of its cost to output bitmap size. I.e. when large
@@ -23,6 +23,7 @@
 package io.evitadb.query.algebra;
 
 import io.evitadb.index.bitmap.Bitmap;
+import io.evitadb.index.iterator.BatchArrayIterator;
 import io.evitadb.query.response.TransactionalDataRelatedStructure;
 
 import javax.annotation.Nonnull;
@@ -56,6 +57,14 @@ public interface Formula extends TransactionalDataRelatedStructure {
 	@Nonnull
 	Bitmap compute();
 
+	/**
+	 * Returns {@link Bitmap#batchIterator() batch iterator} over the product of this formula. The product is computed
+	 * (or taken from the memoized result) by the {@link #compute()} method. The consumers that just traverse the result
+	 * should prefer this method to per-element iteration.
+	 */
+	@Nonnull
+	BatchArrayIterator batchIterator();
+
 	/**
 	 * Returns copy of this formula with replaced inner formulas.
 	 */
@@ -27,7 +27,6 @@ import io.evitadb.api.utils.Assert;
 import io.evitadb.index.array.CompositeIntArray;
 import io.evitadb.index.array.CompositeObjectArray;
 import io.evitadb.index.bitmap.Bitmap;
-import io.evitadb.index.bitmap.RoaringBitmapBackedBitmap;
 import io.evitadb.index.iterator.BatchArrayIterator;
 import io.evitadb.index.iterator.RoaringBitmapBatchArrayIterator;
 import io.evitadb.index.price.PriceListAndCurrencyPriceIndex;
@@ -118,17 +117,19 @@ public interface FilteredPriceRecords extends Serializable {
 				);
 			} else {
 				// limited entity ids are known - we need to include only the prices that link to those entities
-				final BatchArrayIterator filteredPriceIdsIterator = new RoaringBitmapBatchArrayIterator(RoaringBitmapBackedBitmap.getRoaringBitmap(narrowToEntityIds).getBatchIterator());
+				final BatchArrayIterator filteredPriceIdsIterator = narrowToEntityIds.batchIterator();
 				final PriceRecordLookup[] priceRecordIterators = filteredPriceRecords.stream().map(FilteredPriceRecords::getPriceRecordsLookup).toArray(PriceRecordLookup[]::new);
 				final CompositeObjectArray<PriceRecordContract> narrowedPrices = new CompositeObjectArray<>(PriceRecordContract.class, false);
+				final Consumer<PriceRecordContract> narrowedPriceCollector = narrowedPrices::add;
 				while (filteredPriceIdsIterator.hasNext()) {
 					final int[] batch = filteredPriceIdsIterator.nextBatch();
-					final int lastExpectedEntity = filteredPriceIdsIterator.getPeek() > 0 ? batch[filteredPriceIdsIterator.getPeek() - 1] : -1;
-					for (int i = 0; i < filteredPriceIdsIterator.getPeek(); i++) {
+					final int peek = filteredPriceIdsIterator.getPeek();
+					final int lastExpectedEntity = peek > 0 ? batch[peek - 1] : -1;
+					for (int i = 0; i < peek; i++) {
 						int narrowedPriceId = batch[i];
 						boolean anyPriceFound = false;
 						for (PriceRecordLookup it : priceRecordIterators) {
-							anyPriceFound = it.forEachPriceOfEntity(narrowedPriceId, lastExpectedEntity, narrowedPrices::add);
+							anyPriceFound = it.forEachPriceOfEntity(narrowedPriceId, lastExpectedEntity, narrowedPriceCollector);
 							if (anyPriceFound) {
 								break;
 							}
@@ -178,20 +179,19 @@ public interface FilteredPriceRecords extends Serializable {
 		// prepare writer for sorted output entity ids
 		final BatchArrayIterator entityIdIterator = new RoaringBitmapBatchArrayIterator(filterTo.getBatchIterator());
 		final CompositeIntArray notFound = new CompositeIntArray();
+		final Consumer<PriceRecordContract> priceRecordCollector = collectedPriceRecords::add;
 
 		// iterate through all entity ids
 		while (entityIdIterator.hasNext()) {
 			final int[] batch = entityIdIterator.nextBatch();
-			final int lastExpectedEntity = entityIdIterator.getPeek() > 0 ? batch[entityIdIterator.getPeek() - 1] : -1;
-			for (int i = 0; i < entityIdIterator.getPeek(); i++) {
+			final int peek = entityIdIterator.getPeek();
+			final int lastExpectedEntity = peek > 0 ? batch[peek - 1] : -1;
+			for (int i = 0; i < peek; i++) {
 				final int entityId = batch[i];
 
 				boolean noPriceFoundAtAll = true;
 				for (PriceRecordLookup priceRecordIt : priceRecordIterators) {
-					final boolean anyPriceFound = priceRecordIt.forEachPriceOfEntity(
-						entityId, lastExpectedEntity,
-						collectedPriceRecords::add
-					);
+					final boolean anyPriceFound = priceRecordIt.forEachPriceOfEntity(entityId, lastExpectedEntity, priceRecordCollector);
 					if (anyPriceFound) {
 						noPriceFoundAtAll = false;
 						break;
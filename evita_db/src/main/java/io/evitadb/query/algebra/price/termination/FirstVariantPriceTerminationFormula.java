@@ -36,7 +36,6 @@ import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.EmptyBitmap;
 import io.evitadb.index.bitmap.RoaringBitmapBackedBitmap;
 import io.evitadb.index.iterator.BatchArrayIterator;
-import io.evitadb.index.iterator.RoaringBitmapBatchArrayIterator;
 import io.evitadb.index.price.model.priceRecord.PriceRecord;
 import io.evitadb.index.price.model.priceRecord.PriceRecordContract;
 import io.evitadb.query.algebra.AbstractCacheableFormula;
@@ -224,8 +223,7 @@ public class FirstVariantPriceTerminationFormula extends AbstractCacheableFormul
 	@Override
 	protected Bitmap computeInternal() {
 		// retrieve filtered entity ids from the delegate formula
-		final RoaringBitmap computedRoaringBitmap = RoaringBitmapBackedBitmap.getRoaringBitmap(getDelegate().compute());
-		final BatchArrayIterator entityIdIterator = new RoaringBitmapBatchArrayIterator(computedRoaringBitmap.getBatchIterator());
+		final BatchArrayIterator entityIdIterator = getDelegate().batchIterator();
 
 		// if there are any entities found
 		if (entityIdIterator.hasNext()) {
@@ -247,30 +245,29 @@ public class FirstVariantPriceTerminationFormula extends AbstractCacheableFormul
 			final RoaringBitmapWriter<RoaringBitmap> writer = RoaringBitmapBackedBitmap.buildWriter();
 			// create new roaring bitmap builder for records excluded by predicate
 			final RoaringBitmapWriter<RoaringBitmap> predicateExcludedWriter = RoaringBitmapBackedBitmap.buildWriter();
+			// create single consumer for all entities so that no lambda is allocated in the tight loop
+			final Consumer<PriceRecordContract> innerRecordPriceCollector = foundPrice -> {
+				// record price found for this inner entity id - but only if not already present
+				// if it's present it means the price was already found in more prioritized price list
+				final int innerRecordId = foundPrice.getInnerRecordId();
+				final PriceRecordContract innerRecordPrice = entityInnerRecordPrice.get(innerRecordId);
+				if (innerRecordPrice == null) {
+					entityInnerRecordPrice.put(innerRecordId, foundPrice);
+				}
+			};
 			// go through all entity primary keys
 			while (entityIdIterator.hasNext()) {
 				final int[] batch = entityIdIterator.nextBatch();
-				final int lastExpectedEntity = entityIdIterator.getPeek() > 0 ? batch[entityIdIterator.getPeek() - 1] : -1;
-				for (int i = 0; i < entityIdIterator.getPeek(); i++) {
+				final int peek = entityIdIterator.getPeek();
+				final int lastExpectedEntity = peek > 0 ? batch[peek - 1] : -1;
+				for (int i = 0; i < peek; i++) {
 					final int entityId = batch[i];
 					// clear working inner record identity map
 					entityInnerRecordPrice.clear();
 
 					// now iterate over price sets in price list priority
 					for (final PriceRecordLookup priceRecords : priceRecordIterators) {
-						priceRecords.forEachPriceOfEntity(
-							entityId,
-							lastExpectedEntity,
-							foundPrice -> {
-								// record price found for this inner entity id - but only if not already present
-								// if it's present it means the price was already found in more prioritized price list
-								final int innerRecordId = foundPrice.getInnerRecordId();
-								final PriceRecordContract innerRecordPrice = entityInnerRecordPrice.get(innerRecordId);
-								if (innerRecordPrice == null) {
-									entityInnerRecordPrice.put(innerRecordId, foundPrice);
-								}
-							}
-						);
+						priceRecords.forEachPriceOfEntity(entityId, lastExpectedEntity, innerRecordPriceCollector);
 					}
 
 					Assert.isTrue(
@@ -31,7 +31,6 @@ import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.EmptyBitmap;
 import io.evitadb.index.bitmap.RoaringBitmapBackedBitmap;
 import io.evitadb.index.iterator.BatchArrayIterator;
-import io.evitadb.index.iterator.RoaringBitmapBatchArrayIterator;
 import io.evitadb.index.price.model.priceRecord.PriceRecord;
 import io.evitadb.index.price.model.priceRecord.PriceRecordContract;
 import io.evitadb.query.algebra.AbstractCacheableFormula;
@@ -198,8 +197,7 @@ public class PlainPriceTerminationFormulaWithPriceFilter extends AbstractCacheab
 	@Override
 	protected Bitmap computeInternal() {
 		// retrieve filtered entity ids from the delegate formula
-		final RoaringBitmap computedRoaringBitmap = RoaringBitmapBackedBitmap.getRoaringBitmap(getDelegate().compute());
-		final BatchArrayIterator entityIdIterator = new RoaringBitmapBatchArrayIterator(computedRoaringBitmap.getBatchIterator());
+		final BatchArrayIterator entityIdIterator = getDelegate().batchIterator();
 
 		// if there are any entities found
 		if (entityIdIterator.hasNext()) {
@@ -221,28 +219,27 @@ public class PlainPriceTerminationFormulaWithPriceFilter extends AbstractCacheab
 			final RoaringBitmapWriter<RoaringBitmap> writer = RoaringBitmapBackedBitmap.buildWriter();
 			// create new roaring bitmap builder for records excluded by predicate
 			final RoaringBitmapWriter<RoaringBitmap> predicateExcludedWriter = RoaringBitmapBackedBitmap.buildWriter();
+			// price consumer is created once and shared by all the entities in the batch loop
+			final Consumer<PriceRecordContract> priceCollector = foundPrice -> {
+				// write entity primary key for the price located on found index if it passes predicate
+				if (priceFilter.test(foundPrice)) {
+					writer.add(foundPrice.getEntityPrimaryKey());
+					priceRecordsFunnel.add(foundPrice);
+				} else {
+					predicateExcludedWriter.add(foundPrice.getEntityPrimaryKey());
+				}
+			};
 			// iterate through all entity ids
 			while (entityIdIterator.hasNext()) {
 				final int[] batch = entityIdIterator.nextBatch();
-				final int lastExpectedEntity = entityIdIterator.getPeek() > 0 ? batch[entityIdIterator.getPeek() - 1] : -1;
-				for (int i = 0; i < entityIdIterator.getPeek(); i++) {
+				final int peek = entityIdIterator.getPeek();
+				final int lastExpectedEntity = peek > 0 ? batch[peek - 1] : -1;
+				for (int i = 0; i < peek; i++) {
 					final int entityId = batch[i];
 
 					boolean noPriceFoundAtAll = true;
 					for (PriceRecordLookup priceRecordIt : priceRecordIterators) {
-						final boolean anyPriceFound = priceRecordIt.forEachPriceOfEntity(
-							entityId,
-							lastExpectedEntity,
-							foundPrice -> {
-								// write entity primary key for the price located on found index if it passes predicate
-								if (priceFilter.test(foundPrice)) {
-									writer.add(entityId);
-									priceRecordsFunnel.add(foundPrice);
-								} else {
-									predicateExcludedWriter.add(entityId);
-								}
-							}
-						);
+						final boolean anyPriceFound = priceRecordIt.forEachPriceOfEntity(entityId, lastExpectedEntity, priceCollector);
 						if (anyPriceFound) {
 							noPriceFoundAtAll = false;
 							break;
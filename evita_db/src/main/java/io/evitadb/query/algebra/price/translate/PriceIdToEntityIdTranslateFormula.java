@@ -68,6 +68,8 @@ import java.util.function.Consumer;
  */
 public class PriceIdToEntityIdTranslateFormula extends AbstractCacheableFormula implements FilteredPriceRecordAccessor, CacheablePriceFormula, Formula {
 	private static final long CLASS_ID = -8575853054010280485L;
+	private static final Consumer<PriceRecordContract> NO_OP_CALLBACK = priceRecordContract -> {
+	};
 
 	/**
 	 * Contains array of price records that links to the price ids produced by {@link #compute()} method. This array
@@ -188,12 +190,17 @@ public class PriceIdToEntityIdTranslateFormula extends AbstractCacheableFormula
 				final PriceListAndCurrencyPriceIndex priceIndex = priceIdFormula.getPriceIndex();
 				final RoaringBitmapWriter<RoaringBitmap> notFound = RoaringBitmapBackedBitmap.buildWriter();
 				final PriceRecordContract[] foundPrices = priceIndex.getPriceRecords(
-					priceIdBitmap,
-					priceRecordContract -> entityIdWriter.add(priceRecordContract.getEntityPrimaryKey()),
-					notFound::add
+					priceIdBitmap, NO_OP_CALLBACK, notFound::add
 				);
 				theFilteredPriceRecords.addAll(foundPrices, 0, foundPrices.length);
 
+				// translate found prices to entity ids in a tight loop and write them in bulk
+				final int[] entityIds = new int[foundPrices.length];
+				for (int i = 0; i < foundPrices.length; i++) {
+					entityIds[i] = foundPrices[i].getEntityPrimaryKey();
+				}
+				entityIdWriter.addMany(entityIds);
+
 				// otherwise, initialize new iterator from the leftovers
 				priceIdBitmap = new BaseBitmap(notFound.get());
 
@@ -74,11 +74,13 @@ public class InSetTranslator implements FilteringConstraintTranslator<InSet> {
 				)
 			);
 		} else {
+			// all values are looked up in single pass over the sorted histogram
+			final Comparable[] values = valueStream.toArray(new Comparable[0]);
 			return new AttributeFormula(
 				attributeName,
-				filterByVisitor.applyStreamOnFilterIndexes(
+				filterByVisitor.applyOnFilterIndexes(
 					attributeDefinition,
-					index -> valueStream.stream().map(it -> index.getRecordsEqualToFormula((Comparable) it))
+					index -> index.getRecordsEqualToAnyFormula(values)
 				)
 			);
 		}
@@ -32,6 +32,7 @@ import io.evitadb.query.context.QueryContext;
 import lombok.RequiredArgsConstructor;
 
 import javax.annotation.Nonnull;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -65,15 +66,20 @@ public class AttributeBitmapFilter implements EntityToBitmapFilter {
 	@Nonnull
 	@Override
 	public Bitmap filter(@Nonnull QueryContext queryContext, @Nonnull List<SealedEntity> entities) {
-		final BaseBitmap result = new BaseBitmap();
+		// collect matching primary keys into plain array and build the bitmap in single bulk operation
+		final int[] matchingPrimaryKeys = new int[entities.size()];
+		int matchingCount = 0;
 		// iterate over all entities
 		for (SealedEntity entity : entities) {
 			// and filter by predicate
 			if (filter.test(entity.getAttribute(attributeName))) {
-				result.add(entity.getPrimaryKey());
+				matchingPrimaryKeys[matchingCount++] = entity.getPrimaryKey();
 			}
 		}
-		return result;
+		return new BaseBitmap(
+			matchingCount == matchingPrimaryKeys.length ?
+				matchingPrimaryKeys : Arrays.copyOf(matchingPrimaryKeys, matchingCount)
+		);
 	}
 
 }
@@ -44,8 +44,8 @@ import io.evitadb.query.algebra.price.filteredPriceRecords.ResolvedFilteredPrice
 import io.evitadb.query.context.QueryContext;
 
 import javax.annotation.Nonnull;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 import java.util.function.Predicate;
 
 /**
@@ -108,22 +108,24 @@ public class SellingPriceAvailableBitmapFilter implements EntityToBitmapFilter,
 	public Bitmap filter(@Nonnull QueryContext queryContext, @Nonnull List<SealedEntity> entities) {
 		final CompositeObjectArray<PriceRecordContract> theFilteredPriceRecords = new CompositeObjectArray<>(PriceRecordContract.class);
 		final QueryPriceMode queryPriceMode = queryContext.getQueryPriceMode();
-		final BaseBitmap result = new BaseBitmap();
+		// collect matching primary keys into plain array and build the bitmap in single bulk operation
+		final int[] matchingPrimaryKeys = new int[entities.size()];
+		int matchingCount = 0;
 		// iterate over all entities
 		for (SealedEntity entity : entities) {
 			final EntityDecorator entityDecorator = (EntityDecorator) entity;
 			final Integer primaryKey = entity.getPrimaryKey();
 			if (entityDecorator.isContextAvailable()) {
 				// check whether they have valid selling price (applying filter on price lists and currency)
-				Optional.ofNullable(entityDecorator.getSellingPrice(filter))
-					// and if there is still selling price add it to the output result
-					.ifPresent(it -> {
-						theFilteredPriceRecords.add(converter.apply(primaryKey, queryPriceMode, it));
-						result.add(primaryKey);
-					});
+				final PriceContract sellingPrice = entityDecorator.getSellingPrice(filter);
+				// and if there is still selling price add it to the output result
+				if (sellingPrice != null) {
+					theFilteredPriceRecords.add(converter.apply(primaryKey, queryPriceMode, sellingPrice));
+					matchingPrimaryKeys[matchingCount++] = primaryKey;
+				}
 			} else {
 				if (entity.getAllSellingPrices().stream().anyMatch(filter)) {
-					result.add(primaryKey);
+					matchingPrimaryKeys[matchingCount++] = primaryKey;
 				}
 			}
 
@@ -131,7 +133,10 @@ public class SellingPriceAvailableBitmapFilter implements EntityToBitmapFilter,
 		// memoize valid selling prices for sorting purposes
 		this.filteredPriceRecords = new ResolvedFilteredPriceRecords(theFilteredPriceRecords.toArray(), SortingForm.NOT_SORTED);
 		// return entity ids having selling prices
-		return result;
+		return new BaseBitmap(
+			matchingCount == matchingPrimaryKeys.length ?
+				matchingPrimaryKeys : Arrays.copyOf(matchingPrimaryKeys, matchingCount)
+		);
 	}
 
 }
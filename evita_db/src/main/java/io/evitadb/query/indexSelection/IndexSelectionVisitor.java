@@ -28,9 +28,11 @@ import io.evitadb.api.query.ConstraintVisitor;
 import io.evitadb.api.query.FilterConstraint;
 import io.evitadb.api.query.Query;
 import io.evitadb.api.query.filter.*;
+import io.evitadb.api.schema.ReferenceSchema;
 import io.evitadb.index.EntityIndex;
 import io.evitadb.index.EntityIndexKey;
 import io.evitadb.index.EntityIndexType;
+import io.evitadb.index.HierarchyRollUpEntityIndex;
 import io.evitadb.query.context.QueryContext;
 import io.evitadb.query.filter.FilterByVisitor;
 import io.evitadb.query.filter.translator.attribute.ReferenceHavingAttributeTranslator;
@@ -39,11 +41,18 @@ import io.evitadb.query.filter.translator.hierarchy.WithinRootHierarchyTranslato
 import lombok.Getter;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static java.util.Optional.ofNullable;
 
@@ -52,23 +61,31 @@ import static java.util.Optional.ofNullable;
  * alternative that can be used to fully interpret the filtering constraint. These alternative index sets will compete
  * one with another to produce filtering constraint with minimal execution costs.
  *
- * Currently, the logic is quite stupid - it searches the filter for all constraints within AND relation and when
- * relation or hierarchy constraint is encountered, it adds specific {@link EntityIndexType#REFERENCED_ENTITY} or
+ * The visitor searches the filter for all constraints within AND relation and when relation or hierarchy constraint
+ * is encountered, it adds specific {@link EntityIndexType#REFERENCED_ENTITY} or
  * {@link EntityIndexType#REFERENCED_HIERARCHY_NODE} that contains limited subset of the entities related to that
- * placement/relation.
+ * placement/relation. When {@link Or} constraint is encountered, the options of all its branches are combined to
+ * the unions of the reduced indexes that contain all entities matching the disjunction.
  *
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2021
  */
 public class IndexSelectionVisitor implements ConstraintVisitor<FilterConstraint> {
+	/**
+	 * Maximal number of combinations of the index options of the {@link Or} branches that are offered as the target
+	 * indexes. When there are more combinations, only the smallest option of each branch is used.
+	 */
+	private static final int MAX_DISJUNCTION_COMBINATIONS = 16;
 	private final QueryContext queryContext;
+	private final EntityIndex globalIndex;
 	@Getter private final List<TargetIndexes> targetIndexes = new LinkedList<>();
 	@Getter private boolean targetIndexQueriedByOtherConstraints;
 	private FilterByVisitor filterByVisitor;
 	private Serializable requestedEntityType;
+	private ReducedIndexRequirements reducedIndexRequirements;
 
 	public IndexSelectionVisitor(@Nonnull QueryContext queryContext) {
 		this.queryContext = queryContext;
-		final EntityIndex globalIndex = queryContext.getEntityIndex(new EntityIndexKey(EntityIndexType.GLOBAL));
+		this.globalIndex = queryContext.getEntityIndex(new EntityIndexKey(EntityIndexType.GLOBAL));
 		if (globalIndex != null) {
 			this.targetIndexes.add(
 				new TargetIndexes(
@@ -89,13 +106,16 @@ public class IndexSelectionVisitor implements ConstraintVisitor<FilterConstraint
 			for (FilterConstraint subConstraint : subConstraints) {
 				subConstraint.accept(this);
 			}
+		} else if (constraint instanceof Or) {
+			// if constraint is OR constraint, all its branches must be covered by reduced indexes
+			this.targetIndexes.addAll(getDisjunctionIndexOptions((Or) constraint));
 		} else if (constraint instanceof HierarchyFilterConstraint) {
 			// if constraint is hierarchy filtering constraint targeting different entity
-			addHierarchyIndexOption(((HierarchyFilterConstraint) constraint));
+			this.targetIndexes.addAll(getHierarchyIndexOptions((HierarchyFilterConstraint) constraint));
 		} else if (constraint instanceof ReferenceHavingAttribute) {
 			// if constraint is hierarchy filtering constraint targeting different entity
 			final ReferenceHavingAttribute referenceHavingAttribute = (ReferenceHavingAttribute) constraint;
-			addReferenceIndexOption(referenceHavingAttribute);
+			this.targetIndexes.addAll(getReferenceIndexOptions(referenceHavingAttribute));
 			for (FilterConstraint subConstraint : referenceHavingAttribute.getConstraints()) {
 				subConstraint.accept(this);
 			}
@@ -104,12 +124,131 @@ public class IndexSelectionVisitor implements ConstraintVisitor<FilterConstraint
 		}
 	}
 
+	/**
+	 * Returns all {@link TargetIndexes} options whose indexes contain all the entities matching the passed constraint.
+	 * Returns empty list when the constraint can be evaluated only on the global index.
+	 */
+	@Nonnull
+	private List<TargetIndexes> getIndexOptions(@Nonnull FilterConstraint constraint) {
+		if (constraint instanceof And) {
+			// each option of any conjunction part is also the superset of the whole conjunction
+			final List<TargetIndexes> options = new LinkedList<>();
+			for (FilterConstraint subConstraint : ((And) constraint).getConstraints()) {
+				options.addAll(getIndexOptions(subConstraint));
+			}
+			return options;
+		} else if (constraint instanceof Or) {
+			return getDisjunctionIndexOptions((Or) constraint);
+		} else if (constraint instanceof HierarchyFilterConstraint) {
+			return getHierarchyIndexOptions((HierarchyFilterConstraint) constraint);
+		} else if (constraint instanceof ReferenceHavingAttribute) {
+			return getReferenceIndexOptions((ReferenceHavingAttribute) constraint);
+		} else {
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * Returns {@link TargetIndexes} options for the {@link Or} constraint. Disjunction can be evaluated on the reduced
+	 * indexes only if each of its branches can be - the option then consists of the union of the indexes of the options
+	 * of all branches. All combinations of the branch options are enumerated (up to {@link #MAX_DISJUNCTION_COMBINATIONS})
+	 * and only those that are estimated to be smaller than the global index are returned. The final choice is made
+	 * by comparing the estimated costs of the formulas computed on each of the options.
+	 */
+	@Nonnull
+	private List<TargetIndexes> getDisjunctionIndexOptions(@Nonnull Or constraint) {
+		final FilterConstraint[] branches = constraint.getConstraints();
+		final List<List<TargetIndexes>> branchOptions = new ArrayList<>(branches.length);
+		long combinationCount = 1;
+		for (FilterConstraint branch : branches) {
+			final List<TargetIndexes> options = getIndexOptions(branch);
+			if (options.isEmpty()) {
+				// the branch can be evaluated only on the global index - so the whole disjunction can
+				return Collections.emptyList();
+			}
+			branchOptions.add(options);
+			combinationCount *= options.size();
+		}
+		if (branchOptions.isEmpty()) {
+			return Collections.emptyList();
+		}
+		if (combinationCount > MAX_DISJUNCTION_COMBINATIONS) {
+			// there are too many combinations - use only the smallest option of each branch
+			branchOptions.replaceAll(
+				options -> Collections.singletonList(
+					options.stream()
+						.min(Comparator.comparingLong(it -> getEstimatedCardinality(it.getIndexes())))
+						.orElseThrow()
+				)
+			);
+		}
+
+		final long globalIndexCardinality = globalIndex == null ? Long.MAX_VALUE : globalIndex.getAllPrimaryKeys().size();
+		final List<TargetIndexes> result = new LinkedList<>();
+		combineDisjunctionOptions(
+			branchOptions, 0, new ArrayList<>(branchOptions.size()),
+			combination -> {
+				final Set<EntityIndex> unionIndexes = new LinkedHashSet<>();
+				for (TargetIndexes option : combination) {
+					unionIndexes.addAll(option.getIndexes());
+				}
+				// union is worth examining only when it's expected to be smaller than the global index
+				if (getEstimatedCardinality(unionIndexes) < globalIndexCardinality) {
+					result.add(
+						new TargetIndexes(
+							"union of " + combination.stream()
+								.map(TargetIndexes::getIndexDescription)
+								.collect(Collectors.joining(" | ", "[", "]")),
+							new ArrayList<>(unionIndexes)
+						)
+					);
+				}
+			}
+		);
+		return result;
+	}
+
+	/**
+	 * Recursively enumerates all combinations picking single option from each of the `branchOptions` and passes them
+	 * to the `combinationConsumer`.
+	 */
+	private static void combineDisjunctionOptions(
+		@Nonnull List<List<TargetIndexes>> branchOptions,
+		int branchIndex,
+		@Nonnull List<TargetIndexes> combination,
+		@Nonnull Consumer<List<TargetIndexes>> combinationConsumer
+	) {
+		if (branchIndex == branchOptions.size()) {
+			combinationConsumer.accept(combination);
+		} else {
+			for (TargetIndexes option : branchOptions.get(branchIndex)) {
+				combination.add(option);
+				combineDisjunctionOptions(branchOptions, branchIndex + 1, combination, combinationConsumer);
+				combination.remove(combination.size() - 1);
+			}
+		}
+	}
+
+	/**
+	 * Returns upper estimate of the number of distinct entities in the passed indexes.
+	 */
+	private static long getEstimatedCardinality(@Nonnull Collection<EntityIndex> indexes) {
+		long cardinality = 0;
+		for (EntityIndex index : indexes) {
+			cardinality += index.getAllPrimaryKeys().size();
+		}
+		return cardinality;
+	}
+
 	/**
 	 * Registers {@link TargetIndexes} that represents hierarchy placement. It finds collection of
 	 * {@link EntityIndexType#REFERENCED_HIERARCHY_NODE} indexes that contains all relevant data for entities that
-	 * are part of the requested tree. This significantly limits the scope that needs to be examined.
+	 * are part of the requested tree. This significantly limits the scope that needs to be examined. When there is
+	 * complete {@link EntityIndexType#REFERENCED_HIERARCHY_ROLL_UP} index for the requested parent node, it's used
+	 * instead of the collection without the need to resolve the nodes of the requested tree.
 	 */
-	private void addHierarchyIndexOption(@Nonnull HierarchyFilterConstraint constraint) {
+	@Nonnull
+	private List<TargetIndexes> getHierarchyIndexOptions(@Nonnull HierarchyFilterConstraint constraint) {
 		final Serializable requestedEntity = getRequestedEntityType();
 		final Serializable filteredHierarchyEntity = constraint.getEntityType();
 		if (filteredHierarchyEntity != null && !requestedEntity.equals(filteredHierarchyEntity)) {
@@ -119,8 +258,28 @@ public class IndexSelectionVisitor implements ConstraintVisitor<FilterConstraint
 			if (targetHierarchyIndex == null) {
 				// if target entity has no global index present, it means that the constraint cannot be fulfilled
 				// we may quickly return empty result
-				targetIndexes.add(TargetIndexes.EMPTY);
-			} else {
+				return Collections.singletonList(TargetIndexes.EMPTY);
+			} else if (isReducedIndexUsable(filteredHierarchyEntity)) {
+				final List<TargetIndexes> options = new ArrayList<>(2);
+				// complete roll-up index of the parent node may replace the whole set of hierarchy indexes
+				final HierarchyRollUpEntityIndex rollUpIndex = getHierarchyRollUpIndex(filteredHierarchyEntity, constraint);
+				if (rollUpIndex != null) {
+					final WithinHierarchy withinHierarchy = (WithinHierarchy) constraint;
+					final String rollUpIndexDescription = EntityIndexType.REFERENCED_HIERARCHY_ROLL_UP.name() +
+						" of node " + withinHierarchy.getParentId();
+					if (withinHierarchy.getExcludedChildrenIds().length == 0 && !withinHierarchy.isExcludingRoot()) {
+						// roll-up index aggregates exactly the requested nodes and represents the constraint
+						return Collections.singletonList(
+							new TargetIndexes(rollUpIndexDescription, constraint, Collections.singletonList(rollUpIndex))
+						);
+					} else {
+						// roll-up index aggregates also nodes that were not requested (excluded ones) - it's a superset
+						// of the requested entities and still may be cheaper to use than the global index
+						options.add(
+							new TargetIndexes(rollUpIndexDescription, Collections.singletonList(rollUpIndex))
+						);
+					}
+				}
 				final int[] requestedHierarchyNodes;
 				if (constraint instanceof WithinRootHierarchy) {
 					final WithinRootHierarchy withinRootHierarchy = (WithinRootHierarchy) constraint;
@@ -155,7 +314,7 @@ public class IndexSelectionVisitor implements ConstraintVisitor<FilterConstraint
 					).ifPresent(theTargetIndexes::add);
 				}
 				// add indexes as potential target indexes
-				this.targetIndexes.add(
+				options.add(
 					new TargetIndexes(
 						EntityIndexType.REFERENCED_HIERARCHY_NODE.name() +
 							" composed of " + requestedHierarchyNodes.length + " indexes",
@@ -163,8 +322,30 @@ public class IndexSelectionVisitor implements ConstraintVisitor<FilterConstraint
 						theTargetIndexes
 					)
 				);
+				return options;
 			}
 		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Returns {@link EntityIndexType#REFERENCED_HIERARCHY_ROLL_UP} index of the parent node of the {@link WithinHierarchy}
+	 * constraint if it exists and is {@link HierarchyRollUpEntityIndex#isComplete() complete}. Roll-up index can't be
+	 * used for direct relation queries and for the other hierarchy constraints NULL is returned as well.
+	 */
+	@Nullable
+	private HierarchyRollUpEntityIndex getHierarchyRollUpIndex(@Nonnull Serializable filteredHierarchyEntity, @Nonnull HierarchyFilterConstraint constraint) {
+		if (constraint instanceof WithinHierarchy && !((WithinHierarchy) constraint).isDirectRelation()) {
+			final EntityIndex rollUpIndex = queryContext.getEntityIndex(
+				new EntityIndexKey(
+					EntityIndexType.REFERENCED_HIERARCHY_ROLL_UP,
+					new EntityReference(filteredHierarchyEntity, ((WithinHierarchy) constraint).getParentId())
+				)
+			);
+			return rollUpIndex instanceof HierarchyRollUpEntityIndex && ((HierarchyRollUpEntityIndex) rollUpIndex).isComplete() ?
+				(HierarchyRollUpEntityIndex) rollUpIndex : null;
+		}
+		return null;
 	}
 
 	/**
@@ -172,13 +353,17 @@ public class IndexSelectionVisitor implements ConstraintVisitor<FilterConstraint
 	 * {@link EntityIndexType#REFERENCED_ENTITY} indexes that contains all relevant data for entities that
 	 * are related to respective entity type and id. This may significantly limit the scope that needs to be examined.
 	 */
-	private void addReferenceIndexOption(@Nonnull ReferenceHavingAttribute constraint) {
+	@Nonnull
+	private List<TargetIndexes> getReferenceIndexOptions(@Nonnull ReferenceHavingAttribute constraint) {
+		if (!isReducedIndexUsable(constraint.getEntityType())) {
+			return Collections.emptyList();
+		}
 		final List<EntityIndex> theTargetIndexes = ReferenceHavingAttributeTranslator.computeReferencedRecordIds(
 			getFilterByVisitor(), constraint
 		);
 
 		// add indexes as potential target indexes
-		this.targetIndexes.add(
+		return Collections.singletonList(
 			new TargetIndexes(
 				EntityIndexType.REFERENCED_ENTITY.name() +
 					" composed of " + theTargetIndexes.size() + " indexes",
@@ -188,6 +373,18 @@ public class IndexSelectionVisitor implements ConstraintVisitor<FilterConstraint
 		);
 	}
 
+	/**
+	 * Returns TRUE if the reduced indexes of the reference to `referencedEntityType` contain all the data the query
+	 * requires. The reduced indexes may be slimmed down by the {@link ReferenceSchema} and the query must be evaluated
+	 * on the global index in such case.
+	 */
+	private boolean isReducedIndexUsable(@Nonnull Serializable referencedEntityType) {
+		if (reducedIndexRequirements == null) {
+			reducedIndexRequirements = new ReducedIndexRequirements(queryContext.getFilterBy(), queryContext.getRequire());
+		}
+		return reducedIndexRequirements.isCoveredBy(queryContext.getSchema().getReference(referencedEntityType));
+	}
+
 	private Serializable getRequestedEntityType() {
 		if (requestedEntityType == null) {
 			requestedEntityType = queryContext.getSchema().getName();
@@ -0,0 +1,127 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.query.indexSelection;
+
+import io.evitadb.api.query.FilterConstraint;
+import io.evitadb.api.query.RequireConstraint;
+import io.evitadb.api.query.filter.AbstractAttributeFilterConstraintLeaf;
+import io.evitadb.api.query.filter.Facet;
+import io.evitadb.api.query.filter.Language;
+import io.evitadb.api.query.filter.PriceBetween;
+import io.evitadb.api.query.filter.PriceInCurrency;
+import io.evitadb.api.query.filter.PriceInPriceLists;
+import io.evitadb.api.query.filter.PriceValidIn;
+import io.evitadb.api.query.filter.ReferenceHavingAttribute;
+import io.evitadb.api.query.require.AttributeHistogram;
+import io.evitadb.api.query.require.FacetSummary;
+import io.evitadb.api.query.visitor.FinderVisitor;
+import io.evitadb.api.schema.ReferenceSchema;
+import io.evitadb.index.EntityIndexType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * This class collects the entity data the query needs to read from the index it's evaluated on. The reduced indexes
+ * ({@link EntityIndexType#REFERENCED_ENTITY}, {@link EntityIndexType#REFERENCED_HIERARCHY_NODE} and
+ * {@link EntityIndexType#REFERENCED_HIERARCHY_ROLL_UP}) may be configured by {@link ReferenceSchema} to contain only
+ * subset of the entity data and such indexes must not be offered as the target indexes for the query that requires
+ * data which are not present in them.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+class ReducedIndexRequirements {
+	/**
+	 * Contains names of the entity attributes used in filter (outside {@link ReferenceHavingAttribute}, which targets
+	 * reference attributes) or in {@link AttributeHistogram} requirement.
+	 */
+	private final Set<String> attributeNames = new LinkedHashSet<>();
+	/**
+	 * Contains TRUE if query filters by the prices.
+	 */
+	private final boolean pricesRequired;
+	/**
+	 * Contains TRUE if query filters by the facets or requires {@link FacetSummary}.
+	 */
+	private final boolean facetsRequired;
+	/**
+	 * Contains TRUE if query filters by the {@link Language}.
+	 */
+	private final boolean languageRequired;
+
+	ReducedIndexRequirements(@Nullable FilterConstraint filterBy, @Nullable RequireConstraint require) {
+		boolean prices = false;
+		boolean facets = false;
+		boolean language = false;
+		if (filterBy != null) {
+			for (FilterConstraint attributeConstraint : FinderVisitor.findConstraints(
+				filterBy,
+				AbstractAttributeFilterConstraintLeaf.class::isInstance,
+				ReferenceHavingAttribute.class::isInstance
+			)) {
+				this.attributeNames.add(((AbstractAttributeFilterConstraintLeaf) attributeConstraint).getAttributeName());
+			}
+			prices = !FinderVisitor.findConstraints(
+				filterBy,
+				it -> it instanceof PriceBetween || it instanceof PriceInCurrency ||
+					it instanceof PriceInPriceLists || it instanceof PriceValidIn
+			).isEmpty();
+			facets = !FinderVisitor.findConstraints(filterBy, Facet.class::isInstance).isEmpty();
+			language = !FinderVisitor.findConstraints(filterBy, Language.class::isInstance).isEmpty();
+		}
+		if (require != null) {
+			for (RequireConstraint histogram : FinderVisitor.findConstraints(require, AttributeHistogram.class::isInstance)) {
+				this.attributeNames.addAll(Arrays.asList(((AttributeHistogram) histogram).getAttributeNames()));
+			}
+			facets = facets || !FinderVisitor.findConstraints(require, FacetSummary.class::isInstance).isEmpty();
+		}
+		this.pricesRequired = prices;
+		this.facetsRequired = facets;
+		this.languageRequired = language;
+	}
+
+	/**
+	 * Returns TRUE if the reduced indexes maintained for the reference described by `referenceSchema` contain all
+	 * the data the query requires. When there is no schema for the reference, the indexes are considered complete.
+	 */
+	boolean isCoveredBy(@Nullable ReferenceSchema referenceSchema) {
+		if (referenceSchema == null || referenceSchema.isReducedIndexComplete()) {
+			return true;
+		}
+		if (this.pricesRequired && !referenceSchema.isReducedIndexPrices()) {
+			return false;
+		}
+		if (this.facetsRequired && !referenceSchema.isReducedIndexFacets()) {
+			return false;
+		}
+		// languages are tracked in the reduced index along with the attributes - only complete set guarantees them
+		if (this.languageRequired && referenceSchema.getReducedIndexAttributes() != null) {
+			return false;
+		}
+		return this.attributeNames.stream().allMatch(referenceSchema::isReducedIndexAttribute);
+	}
+
+}
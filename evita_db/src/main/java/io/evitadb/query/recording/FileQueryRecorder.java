@@ -0,0 +1,244 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.query.recording;
+
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Output;
+import io.evitadb.api.configuration.QueryRecordingOptions;
+import io.evitadb.api.query.Query;
+import io.evitadb.query.response.QueryTelemetry;
+import io.evitadb.storage.serialization.RecordedQuerySerializationService;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This implementation of {@link QueryRecorder} appends recorded queries to the binary files in
+ * {@link QueryRecordingOptions#getRecordingDirectory()}. The calling thread only creates the {@link RecordedQuery}
+ * and offers it to the bounded queue - the serialization and disk I/O is handled by the dedicated background thread.
+ * When the queue is full the query is dropped and only the counter of dropped queries is incremented.
+ *
+ * Files are rotated when they exceed {@link QueryRecordingOptions#getMaxFileSizeInBytes()} and the oldest files
+ * are removed when there is more than {@link QueryRecordingOptions#getMaxFileCount()} of them. The file names are
+ * composed so that their alphabetical order matches the order they were written in - see
+ * {@link #listRecordingFiles(Path)}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@Slf4j
+public class FileQueryRecorder implements QueryRecorder {
+	public static final String RECORDING_FILE_PREFIX = "queries_";
+	public static final String RECORDING_FILE_SUFFIX = ".kryo";
+	private static final int OUTPUT_BUFFER_SIZE = 65_536;
+	private static final long CLOSE_TIMEOUT_MILLIS = 5_000L;
+
+	/**
+	 * Directory where the recording files are written.
+	 */
+	private final Path recordingDirectory;
+	/**
+	 * Recording configuration.
+	 */
+	private final QueryRecordingOptions options;
+	/**
+	 * Queue of the recorded queries waiting to be written to the disk.
+	 */
+	private final ArrayBlockingQueue<RecordedQuery> queue;
+	/**
+	 * Counter of the queries that were dropped because the {@link #queue} was full.
+	 */
+	private final AtomicLong droppedQueryCount = new AtomicLong();
+	/**
+	 * Flag signalizing that the recorder was closed and accepts no more queries.
+	 */
+	private final AtomicBoolean closed = new AtomicBoolean();
+	/**
+	 * Background thread writing the queries to the disk.
+	 */
+	private final Thread writerThread;
+	/**
+	 * Serialization service - accessed only from {@link #writerThread}.
+	 */
+	private final RecordedQuerySerializationService serializationService = new RecordedQuerySerializationService();
+	/**
+	 * Output of the currently written file or NULL when no file is opened - accessed only from {@link #writerThread}.
+	 */
+	private Output output;
+	/**
+	 * Sequence number of the last opened file - accessed only from {@link #writerThread}.
+	 */
+	private int fileSequence;
+
+	public FileQueryRecorder(@Nonnull String catalogName, @Nonnull Path recordingDirectory, @Nonnull QueryRecordingOptions options) {
+		this.recordingDirectory = recordingDirectory;
+		this.options = options;
+		this.queue = new ArrayBlockingQueue<>(options.getQueueCapacity());
+		try {
+			Files.createDirectories(recordingDirectory);
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot create query recording directory " + recordingDirectory + "!", e);
+		}
+		this.writerThread = new Thread(this::writeRecordedQueries, "Evita-QueryRecorder-" + catalogName);
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Returns all recording files in the `recordingDirectory` in the order they were written.
+	 */
+	@Nonnull
+	public static List<Path> listRecordingFiles(@Nonnull Path recordingDirectory) {
+		try (final Stream<Path> files = Files.list(recordingDirectory)) {
+			return files
+				.filter(it -> {
+					final String fileName = it.getFileName().toString();
+					return fileName.startsWith(RECORDING_FILE_PREFIX) && fileName.endsWith(RECORDING_FILE_SUFFIX);
+				})
+				.sorted()
+				.collect(Collectors.toList());
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot list query recording directory " + recordingDirectory + "!", e);
+		}
+	}
+
+	@Override
+	public void record(@Nonnull UUID sessionId, @Nonnull Query query, @Nonnull QueryTelemetry telemetry) {
+		if (!closed.get() && !queue.offer(RecordedQuery.of(sessionId, query, telemetry))) {
+			droppedQueryCount.incrementAndGet();
+		}
+	}
+
+	@Override
+	public void close() {
+		if (closed.compareAndSet(false, true)) {
+			try {
+				writerThread.join(CLOSE_TIMEOUT_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (droppedQueryCount.get() > 0) {
+				log.warn(
+					"Query recorder dropped " + droppedQueryCount.get() + " queries because its queue was full. " +
+						"Increase `queueCapacity` in query recording options to avoid such situation."
+				);
+			}
+		}
+	}
+
+	/**
+	 * Returns count of the queries that were dropped because the queue was full.
+	 */
+	public long getDroppedQueryCount() {
+		return droppedQueryCount.get();
+	}
+
+	/**
+	 * Main loop of the {@link #writerThread}. Loop ends when the recorder is closed and all queued queries are written.
+	 */
+	private void writeRecordedQueries() {
+		try {
+			while (!closed.get() || !queue.isEmpty()) {
+				final RecordedQuery recordedQuery = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (recordedQuery == null) {
+					// no traffic - make the data written so far visible on disk
+					if (output != null) {
+						output.flush();
+					}
+				} else {
+					write(recordedQuery);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (KryoException e) {
+			log.error("Failed to write recorded query, query recording stops.", e);
+			closed.set(true);
+		} finally {
+			closeCurrentFile();
+		}
+	}
+
+	/**
+	 * Writes single recorded query to the current file and rotates the file if it exceeds the configured size.
+	 */
+	private void write(@Nonnull RecordedQuery recordedQuery) {
+		if (output == null) {
+			try {
+				openNextFile();
+			} catch (FileNotFoundException e) {
+				log.error("Cannot open query recording file, query is dropped.", e);
+				droppedQueryCount.incrementAndGet();
+				return;
+			}
+		}
+		serializationService.serialize(recordedQuery, output);
+		if (output.total() >= options.getMaxFileSizeInBytes()) {
+			closeCurrentFile();
+		}
+	}
+
+	/**
+	 * Opens new recording file and removes the oldest ones over the {@link QueryRecordingOptions#getMaxFileCount()}.
+	 */
+	private void openNextFile() throws FileNotFoundException {
+		final List<Path> existingFiles = listRecordingFiles(recordingDirectory);
+		for (int i = 0; i <= existingFiles.size() - options.getMaxFileCount(); i++) {
+			try {
+				Files.deleteIfExists(existingFiles.get(i));
+			} catch (IOException e) {
+				log.error("Cannot remove obsolete query recording file " + existingFiles.get(i) + ".", e);
+			}
+		}
+		final String fileName = RECORDING_FILE_PREFIX + System.currentTimeMillis() + "_" +
+			String.format("%06d", ++fileSequence) + RECORDING_FILE_SUFFIX;
+		this.output = new Output(
+			new FileOutputStream(recordingDirectory.resolve(fileName).toFile()),
+			OUTPUT_BUFFER_SIZE
+		);
+	}
+
+	/**
+	 * Flushes and closes currently opened recording file.
+	 */
+	private void closeCurrentFile() {
+		if (output != null) {
+			output.close();
+			output = null;
+		}
+	}
+
+}
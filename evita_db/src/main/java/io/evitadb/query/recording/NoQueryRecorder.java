@@ -0,0 +1,54 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.query.recording;
+
+import io.evitadb.api.query.Query;
+import io.evitadb.query.response.QueryTelemetry;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * This implementation of {@link QueryRecorder} is used when query recording is disabled. It fulfills the interface
+ * by doing nothing.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class NoQueryRecorder implements QueryRecorder {
+	public static final NoQueryRecorder INSTANCE = new NoQueryRecorder();
+
+	@Override
+	public void record(@Nonnull UUID sessionId, @Nonnull Query query, @Nonnull QueryTelemetry telemetry) {
+		// do nothing
+	}
+
+	@Override
+	public void close() {
+		// do nothing
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.query.recording;
+
+import io.evitadb.api.query.Query;
+import io.evitadb.query.response.QueryTelemetry;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * Query recorder captures the queries executed against the catalog so that they could be replayed later on. Recording
+ * must never slow down the query processing considerably - implementations are expected to pass the recorded queries
+ * to a background thread and drop them rather than block the caller.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public interface QueryRecorder {
+
+	/**
+	 * Records the finished `query` executed in session with `sessionId` along with its `telemetry`.
+	 */
+	void record(@Nonnull UUID sessionId, @Nonnull Query query, @Nonnull QueryTelemetry telemetry);
+
+	/**
+	 * Writes all pending records and releases all resources held by the recorder.
+	 */
+	void close();
+
+}
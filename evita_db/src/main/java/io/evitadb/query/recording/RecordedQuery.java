@@ -0,0 +1,94 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.query.recording;
+
+import io.evitadb.api.query.Query;
+import io.evitadb.query.response.QueryTelemetry;
+import io.evitadb.query.response.QueryTelemetry.QueryPhase;
+import lombok.Data;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * This DTO represents single query recorded by the {@link QueryRecorder}. It contains the query itself along with
+ * the information when and in which session it was executed and how long its processing took.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@Data
+public class RecordedQuery implements Serializable {
+	private static final long serialVersionUID = 2754103925317612283L;
+
+	/**
+	 * Time of the query start in milliseconds since the epoch.
+	 */
+	private final long startedAt;
+	/**
+	 * Id of the session the query was executed in.
+	 */
+	private final UUID sessionId;
+	/**
+	 * The recorded query.
+	 */
+	private final Query query;
+	/**
+	 * Overall time of the query processing in nanoseconds.
+	 */
+	private final long durationInNanos;
+	/**
+	 * Time spent in the particular {@link QueryPhase query phases} in nanoseconds. The array is indexed by
+	 * {@link QueryPhase#ordinal()} and contains summed up durations of all the steps of the same phase.
+	 */
+	private final long[] phaseDurationsInNanos;
+
+	/**
+	 * Creates recorded query from the {@link QueryTelemetry} of the finished query.
+	 */
+	@Nonnull
+	public static RecordedQuery of(@Nonnull UUID sessionId, @Nonnull Query query, @Nonnull QueryTelemetry telemetry) {
+		final long[] phaseDurations = new long[QueryPhase.values().length];
+		sumUpPhaseDurations(telemetry, phaseDurations);
+		return new RecordedQuery(
+			System.currentTimeMillis() - telemetry.getSpentTime() / 1_000_000L,
+			sessionId, query, telemetry.getSpentTime(), phaseDurations
+		);
+	}
+
+	/**
+	 * Returns time spent in the particular query phase in nanoseconds.
+	 */
+	public long getPhaseDurationInNanos(@Nonnull QueryPhase phase) {
+		return phaseDurationsInNanos[phase.ordinal()];
+	}
+
+	private static void sumUpPhaseDurations(@Nonnull QueryTelemetry telemetry, @Nonnull long[] phaseDurations) {
+		phaseDurations[telemetry.getOperation().ordinal()] += telemetry.getSpentTime();
+		for (QueryTelemetry step : telemetry.getSteps()) {
+			sumUpPhaseDurations(step, phaseDurations);
+		}
+	}
+
+}
@@ -27,6 +27,7 @@ import com.esotericsoftware.kryo.util.Pool;
 import io.evitadb.api.CatalogState;
 import io.evitadb.api.EntityCollection;
 import io.evitadb.api.configuration.EvitaCatalogConfiguration;
+import io.evitadb.api.configuration.StorageOptions;
 import io.evitadb.api.data.AssociatedDataContract.AssociatedDataKey;
 import io.evitadb.api.data.AttributesContract.AttributeKey;
 import io.evitadb.api.data.structure.Entity;
@@ -56,6 +57,7 @@ import io.evitadb.api.utils.*;
 import io.evitadb.index.EntityIndex;
 import io.evitadb.index.EntityIndexType;
 import io.evitadb.index.GlobalEntityIndex;
+import io.evitadb.index.HierarchyRollUpEntityIndex;
 import io.evitadb.index.ReducedEntityIndex;
 import io.evitadb.index.attribute.AttributeIndex;
 import io.evitadb.index.attribute.FilterIndex;
@@ -68,16 +70,20 @@ import io.evitadb.index.price.PriceListAndCurrencyPriceSuperIndex;
 import io.evitadb.index.price.PriceRefIndex;
 import io.evitadb.index.price.PriceSuperIndex;
 import io.evitadb.index.price.model.PriceIndexKey;
+import io.evitadb.index.price.model.priceRecord.PriceRecordContract;
 import io.evitadb.storage.kryo.VersionedKryo;
 import io.evitadb.storage.kryo.VersionedKryoFactory;
 import io.evitadb.storage.model.CatalogEntityHeader;
 import io.evitadb.storage.model.CatalogHeader;
+import io.evitadb.storage.model.memTable.MemTableRecordType;
+import io.evitadb.storage.model.memTable.RecordKey;
 import io.evitadb.storage.model.memTable.VersionedKryoKeyInputs;
 import io.evitadb.storage.model.storageParts.entity.*;
 import io.evitadb.storage.model.storageParts.entity.AssociatedDataStoragePart.EntityAssociatedDataKey;
 import io.evitadb.storage.model.storageParts.entity.AttributesStoragePart.EntityAttributesSetKey;
 import io.evitadb.storage.model.storageParts.index.*;
 import io.evitadb.storage.model.storageParts.index.AttributeIndexStoragePart.AttributeIndexType;
+import io.evitadb.storage.model.storageParts.schema.EntitySchemaContainer;
 import io.evitadb.storage.serialization.CatalogHeaderSerializationService;
 import io.evitadb.storage.serialization.ExtendedCatalogHeaderConfigurer;
 import io.evitadb.storage.serialization.StoragePartConfigurer;
@@ -111,6 +117,15 @@ import static java.util.Optional.ofNullable;
 public class IOService {
 	public static final String DATA_FILE_SUFFIX = ".dat";
 	public static final String HEADER_FILE_NAME = "header" + DATA_FILE_SUFFIX;
+	/**
+	 * Order of the records in the catalog image written by {@link io.evitadb.api.Catalog#exportImage(Path)}. The entity
+	 * schema goes first, entity indexes and their parts follow and the entity parts are placed at the end, so that
+	 * everything that needs to be read when the catalog is loaded occupies single continuous region at the start
+	 * of the file. Records of the same type are ordered by their primary key.
+	 */
+	public static final Comparator<RecordKey> IMAGE_RECORD_ORDER = Comparator
+		.comparingInt((RecordKey it) -> getImageOrder(it.getRecordType()))
+		.thenComparing(Comparator.naturalOrder());
 	private final ReflectionLookup reflectionLookup;
 	private final Pool<CatalogHeaderSerializationService> headerSerializationServicePool = new Pool<>(true, false, 8) {
 		@Override
@@ -158,13 +173,13 @@ public class IOService {
 	/**
 	 * Creates {@link Kryo} instance that is usable for deserializing entity instances.
 	 */
-	public Function<VersionedKryoKeyInputs, VersionedKryo> createTypeKryoInstance(@Nonnull Supplier<EntitySchema> currentSchemaSupplier) {
+	public Function<VersionedKryoKeyInputs, VersionedKryo> createTypeKryoInstance(@Nonnull Supplier<EntitySchema> currentSchemaSupplier, @Nonnull StorageOptions storageOptions) {
 		return kryoKeyInputs -> VersionedKryoFactory.createKryo(
 			kryoKeyInputs.getVersion(),
 			kryoKeyInputs.getClassResolver(),
 			SchemaKryoConfigurer.INSTANCE
 				.andThen(new EntityKryoConfigurer(currentSchemaSupplier, reflectionLookup, kryoKeyInputs.getKeyCompressor()))
-				.andThen(new StoragePartConfigurer(DefaultKryoSerializationHelper.INSTANCE, kryoKeyInputs.getKeyCompressor()))
+				.andThen(new StoragePartConfigurer(DefaultKryoSerializationHelper.INSTANCE, kryoKeyInputs.getKeyCompressor(), storageOptions.isDeferredBitmapDeserialization(), storageOptions.isLazyAssociatedDataDeserialization()))
 				.andThen(ExtendedCatalogHeaderConfigurer.INSTANCE)
 		);
 	}
@@ -269,7 +284,7 @@ public class IOService {
 		// provide passed schema during deserialization from binary form
 		return EntitySerializationContext.executeWithSupplier(entitySchema, () -> {
 			// fetch the main entity container
-			final EntityBodyStoragePart entityStorageContainer = storageContainerBuffer.fetch(
+			final EntityBodyStoragePart entityStorageContainer = storageContainerBuffer.fetchReadOnly(
 				entityPrimaryKey, EntityBodyStoragePart.class
 			);
 			if (entityStorageContainer == null) {
@@ -281,6 +296,34 @@ public class IOService {
 		});
 	}
 
+	/**
+	 * Reads entities from persistent storage by their primary keys. The main entity containers are read at once using
+	 * {@link StorageContainerBuffer#fetchAllReadOnly(long[], Class)} so that the storage is accessed in the order of the file
+	 * positions. The result array is aligned with `entityPrimaryKeys` and contains NULL for entities that were not found.
+	 * Requirements of type {@link EntityContentRequire} in `evitaRequest` are taken into an account.
+	 */
+	@Nonnull
+	public Entity[] readEntities(@Nonnull int[] entityPrimaryKeys, @Nonnull EvitaRequest evitaRequest, @Nonnull EntitySchema entitySchema, @Nonnull StorageContainerBuffer storageContainerBuffer) {
+		// provide passed schema during deserialization from binary form
+		return EntitySerializationContext.executeWithSupplier(entitySchema, () -> {
+			final long[] primaryKeys = new long[entityPrimaryKeys.length];
+			for (int i = 0; i < entityPrimaryKeys.length; i++) {
+				primaryKeys[i] = entityPrimaryKeys[i];
+			}
+			// fetch all main entity containers at once
+			final EntityBodyStoragePart[] entityStorageContainers = storageContainerBuffer.fetchAllReadOnly(
+				primaryKeys, EntityBodyStoragePart.class
+			);
+			final Entity[] result = new Entity[entityPrimaryKeys.length];
+			for (int i = 0; i < entityStorageContainers.length; i++) {
+				if (entityStorageContainers[i] != null) {
+					result[i] = toEntity(evitaRequest, entitySchema, entityStorageContainers[i], storageContainerBuffer);
+				}
+			}
+			return result;
+		});
+	}
+
 	/**
 	 * Converts {@link EntityBodyStoragePart} into the full blown entity.
 	 */
@@ -434,6 +477,26 @@ public class IOService {
 			final Map<PriceIndexKey, PriceListAndCurrencyPriceRefIndex> priceIndexes = fetchPriceRefIndexes(
 				entityIndexId, entityIndexCnt.getPriceIndexes(), memTable, temporalIndexAccessor
 			);
+			if (entityIndexType == EntityIndexType.REFERENCED_HIERARCHY_ROLL_UP) {
+				final HierarchyRollUpIndexStoragePart rollUpIndexCnt = memTable.get(entityIndexId, HierarchyRollUpIndexStoragePart.class);
+				return new HierarchyRollUpEntityIndex(
+					entityIndexCnt.getPrimaryKey(),
+					entityIndexCnt.getEntityIndexKey(),
+					entityIndexCnt.getVersion(),
+					schemaSupplier,
+					entityIndexCnt.getEntityIds(),
+					entityIndexCnt.getEntitiesIdsByLanguage(),
+					new AttributeIndex(
+						uniqueIndexes, filterIndexes, sortIndexes
+					),
+					new PriceRefIndex(priceIndexes, superIndexAccessor),
+					hierarchyIndex,
+					facetIndex,
+					rollUpIndexCnt == null ? Collections.emptyMap() : rollUpIndexCnt.getNodeEntityIds(),
+					// without the roll-up part we cannot be sure the index aggregates whole sub-tree
+					rollUpIndexCnt != null && rollUpIndexCnt.isComplete()
+				);
+			}
 			return new ReducedEntityIndex(
 				entityIndexCnt.getPrimaryKey(),
 				entityIndexCnt.getEntityIndexKey(),
@@ -459,12 +522,39 @@ public class IOService {
 		// now store all entity trapped updates
 		bufferedChangeSet.getTrappedMemTableUpdates()
 			.forEach(it -> memTable.put(0L, it));
+		// and remove the parts of the removed indexes
+		bufferedChangeSet.getTrappedMemTableRemovals(memTable.getReadOnlyKeyCompressor())
+			.forEach(it -> memTable.remove(it.getPrimaryKey(), it.getContainerClass()));
+	}
+
+	/**
+	 * Returns true if the `recordType` represents {@link EntityIndex} or any of its parts that are loaded eagerly when
+	 * the entity collection is loaded.
+	 */
+	public static boolean isIndexRecordType(@Nonnull Class<? extends Serializable> recordType) {
+		return recordType.getPackage().equals(EntityIndexStoragePart.class.getPackage());
 	}
 
 	/*
 		PRIVATE METHODS
 	 */
 
+	/**
+	 * Returns order of the record type group in the catalog image - see {@link #IMAGE_RECORD_ORDER}.
+	 */
+	private static int getImageOrder(byte recordType) {
+		final Class<? extends Serializable> type = MemTableRecordType.typeFor(recordType);
+		if (EntitySchemaContainer.class.equals(type)) {
+			return 0;
+		} else if (EntityIndexStoragePart.class.equals(type)) {
+			return 1;
+		} else if (isIndexRecordType(type)) {
+			return 2;
+		} else {
+			return 3;
+		}
+	}
+
 	/**
 	 * Fetches {@link io.evitadb.index.facet.FacetIndex} from the {@link MemTable} and returns it.
 	 */
@@ -571,18 +661,51 @@ public class IOService {
 			final long primaryKey = computeUniquePartId(entityIndexId, priceIndexKey, memTable.getReadOnlyKeyCompressor());
 			final PriceListAndCurrencySuperIndexStoragePart priceIndexCnt = memTable.get(primaryKey, PriceListAndCurrencySuperIndexStoragePart.class);
 			Assert.isTrue(priceIndexCnt != null, () -> new IllegalStateException("Price index with id " + entityIndexId + " with key " + priceIndexKey + " was not found in mem table!"));
+			final PriceRecordContract[] legacyPriceRecords = priceIndexCnt.getLegacyPriceRecords();
 			priceSuperIndexes.put(
 				priceIndexKey,
-				new PriceListAndCurrencyPriceSuperIndex(
-					priceIndexKey,
-					priceIndexCnt.getValidityIndex(),
-					priceIndexCnt.getPriceRecords()
-				)
+				legacyPriceRecords == null ?
+					new PriceListAndCurrencyPriceSuperIndex(
+						priceIndexKey,
+						priceIndexCnt.getValidityIndex(),
+						fetchPriceSuperIndexRecords(entityIndexId, priceIndexKey, priceIndexCnt.getChunkIds(), memTable)
+					) :
+					// the index was stored in the format without chunks - they will be written with the first change
+					new PriceListAndCurrencyPriceSuperIndex(
+						priceIndexKey,
+						priceIndexCnt.getValidityIndex(),
+						legacyPriceRecords,
+						true
+					)
 			);
 		}
 		return priceSuperIndexes;
 	}
 
+	/**
+	 * Fetches all {@link PriceListAndCurrencySuperIndexChunkStoragePart chunks} of the price super index at once and
+	 * concatenates their price records. Chunk ids are ordered and so are the records inside the chunks, so the result
+	 * is ordered by internal price id as {@link PriceListAndCurrencyPriceSuperIndex} expects.
+	 */
+	@Nonnull
+	private PriceRecordContract[] fetchPriceSuperIndexRecords(int entityIndexId, @Nonnull PriceIndexKey priceIndexKey, @Nonnull int[] chunkIds, @Nonnull MemTable memTable) {
+		final long[] chunkPrimaryKeys = new long[chunkIds.length];
+		for (int i = 0; i < chunkIds.length; i++) {
+			chunkPrimaryKeys[i] = PriceListAndCurrencySuperIndexChunkStoragePart.computeUniquePartId(
+				entityIndexId, priceIndexKey, chunkIds[i], memTable.getReadOnlyKeyCompressor()
+			);
+		}
+		final PriceListAndCurrencySuperIndexChunkStoragePart[] chunks = memTable.getAll(chunkPrimaryKeys, PriceListAndCurrencySuperIndexChunkStoragePart.class);
+		final PriceRecordContract[][] chunkRecords = new PriceRecordContract[chunks.length][];
+		for (int i = 0; i < chunks.length; i++) {
+			final PriceListAndCurrencySuperIndexChunkStoragePart chunk = chunks[i];
+			final int chunkId = chunkIds[i];
+			Assert.isTrue(chunk != null, () -> new IllegalStateException("Price index chunk " + chunkId + " with key " + priceIndexKey + " was not found in mem table!"));
+			chunkRecords[i] = chunk.getPriceRecords();
+		}
+		return chunkRecords.length == 0 ? new PriceRecordContract[0] : ArrayUtils.mergeArrays(chunkRecords);
+	}
+
 	/**
 	 * Fetches {@link PriceListAndCurrencyPriceRefIndex price indexes} from the {@link MemTable} and returns key-value
 	 * index of them.
@@ -621,7 +744,7 @@ public class IOService {
 	) {
 		final ReferencesStoragePart referencesStorageContainer;
 		if ((previousReferenceContractPredicate == null || !previousReferenceContractPredicate.isRequiresEntityReferences()) && newReferenceContractPredicate.isRequiresEntityReferences()) {
-			referencesStorageContainer = storageContainerBuffer.fetch(entityPrimaryKey, ReferencesStoragePart.class);
+			referencesStorageContainer = storageContainerBuffer.fetchReadOnly(entityPrimaryKey, ReferencesStoragePart.class);
 		} else {
 			referencesStorageContainer = null;
 		}
@@ -635,7 +758,7 @@ public class IOService {
 	private PricesStoragePart fetchPrices(int entityPrimaryKey, @Nullable PriceContractSerializablePredicate previousPricePredicate, @Nonnull PriceContractSerializablePredicate newPricePredicate, StorageContainerBuffer storageContainerBuffer) {
 		final PricesStoragePart priceStorageContainer;
 		if ((previousPricePredicate == null || previousPricePredicate.getPriceFetchMode() == PriceFetchMode.NONE) && newPricePredicate.getPriceFetchMode() != PriceFetchMode.NONE) {
-			priceStorageContainer = storageContainerBuffer.fetch(entityPrimaryKey, PricesStoragePart.class);
+			priceStorageContainer = storageContainerBuffer.fetchReadOnly(entityPrimaryKey, PricesStoragePart.class);
 		} else {
 			priceStorageContainer = null;
 		}
@@ -659,7 +782,7 @@ public class IOService {
 			final boolean firstRequest = previousAttributePredicate == null || !previousAttributePredicate.isRequiresEntityAttributes();
 			if (firstRequest) {
 				final EntityAttributesSetKey globalAttributeSetKey = new EntityAttributesSetKey(entityPrimaryKey, null);
-				ofNullable(storageContainerBuffer.fetch(globalAttributeSetKey, AttributesStoragePart.class, AttributesStoragePart::computeUniquePartId))
+				ofNullable(storageContainerBuffer.fetchReadOnly(globalAttributeSetKey, AttributesStoragePart.class, AttributesStoragePart::computeUniquePartId))
 					.ifPresent(attributesStorageContainers::add);
 			}
 			// go through all alreadyFetchedLocales entity is known to have
@@ -677,7 +800,7 @@ public class IOService {
 				.map(it -> {
 					final EntityAttributesSetKey localeSpecificAttributeSetKey = new EntityAttributesSetKey(entityPrimaryKey, it);
 					// there may be no attributes in specified language
-					return storageContainerBuffer.fetch(localeSpecificAttributeSetKey, AttributesStoragePart.class, AttributesStoragePart::computeUniquePartId);
+					return storageContainerBuffer.fetchReadOnly(localeSpecificAttributeSetKey, AttributesStoragePart.class, AttributesStoragePart::computeUniquePartId);
 				})
 				// filter out null values (of non-existent containers)
 				.filter(Objects::nonNull)
@@ -734,7 +857,7 @@ public class IOService {
 				.stream()
 				.map(it -> {
 					// fetch missing associated data from underlying storage
-					final AssociatedDataStoragePart associatedData = storageContainerBuffer.fetch(
+					final AssociatedDataStoragePart associatedData = storageContainerBuffer.fetchReadOnly(
 						new EntityAssociatedDataKey(entityPrimaryKey, it.getAssociatedDataName(), it.getLocale()),
 						AssociatedDataStoragePart.class, AssociatedDataStoragePart::computeUniquePartId
 					);
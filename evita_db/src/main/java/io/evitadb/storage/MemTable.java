@@ -38,7 +38,6 @@ import io.evitadb.storage.kryo.VersionedKryo;
 import io.evitadb.storage.model.memTable.*;
 import io.evitadb.storage.model.storageParts.StoragePart;
 import io.evitadb.storage.serialization.MemTableSerializationService;
-import io.evitadb.storage.stream.RandomAccessFileInputStream;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -48,8 +47,12 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.*;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
@@ -58,6 +61,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.zip.CRC32C;
 
 import static io.evitadb.api.utils.Assert.isTrue;
@@ -115,6 +120,15 @@ public class MemTable {
 	 * Initial size of the central {@link #histogram} index.
 	 */
 	public static final int HISTOGRAM_INITIAL_CAPACITY = 16;
+	/**
+	 * Size of the buffer used for sequential reads in {@link #prefetch(Predicate)}.
+	 */
+	public static final int PREFETCH_BUFFER_SIZE = 1_048_576;
+	/**
+	 * Maximal gap between two prefetched records that is still read in a single sweep in {@link #prefetch(Predicate)}.
+	 * It's cheaper to read a few dead bytes in between than to seek over them.
+	 */
+	public static final int PREFETCH_MAX_GAP = 262_144;
 	/**
 	 * Contains path to the file mapped by the MemTable. No other processes / threads should write to this file except
 	 * this MemTable instance.
@@ -279,6 +293,21 @@ public class MemTable {
 		return ofNullable(histogram.get(recordTypeId)).orElse(0) + nonFlushedValues.count(recordTypeId);
 	}
 
+	/**
+	 * Returns location of the record assigned to the primary key if the record has been already flushed. Returns NULL
+	 * if there is no such record or if the record has been modified or removed and the change hasn't been flushed yet.
+	 * Flushed records are never overwritten, so the location identifies particular version of the record.
+	 */
+	@Nullable
+	public FileLocation getFlushedLocation(long primaryKey, @Nonnull Class<? extends Serializable> recordType) {
+		assertOperative();
+		final RecordKey key = new RecordKey(
+			MemTableRecordType.idFor(recordType),
+			primaryKey
+		);
+		return this.nonFlushedValues.get(key) == null ? this.keyToLocations.get(key) : null;
+	}
+
 	/**
 	 * Returns value assigned to the primary key.
 	 *
@@ -321,6 +350,61 @@ public class MemTable {
 		}
 	}
 
+	/**
+	 * Returns values assigned to the passed primary keys. The result array is aligned with `primaryKeys` - i.e. value
+	 * on index `i` belongs to the primary key on index `i` or is NULL when there is no such record.
+	 *
+	 * Flushed records are read in the order of their position in the file using single read handle and single
+	 * {@link Kryo} instance, which is considerably cheaper than calling {@link #get(long, Class)} for each key
+	 * separately. Records that were not yet flushed are read one by one via. {@link #get(long, Class)}.
+	 */
+	@Nonnull
+	public <T extends Serializable> T[] getAll(@Nonnull long[] primaryKeys, @Nonnull Class<T> recordType) throws RecordNotYetWrittenException {
+		assertOperative();
+		final byte recordTypeId = MemTableRecordType.idFor(recordType);
+		@SuppressWarnings("unchecked") final T[] result = (T[]) Array.newInstance(recordType, primaryKeys.length);
+		final FileLocation[] locations = new FileLocation[primaryKeys.length];
+		final List<Integer> flushedIndexes = new ArrayList<>(primaryKeys.length);
+		for (int i = 0; i < primaryKeys.length; i++) {
+			final RecordKey key = new RecordKey(recordTypeId, primaryKeys[i]);
+			if (this.nonFlushedValues.get(key) == null) {
+				locations[i] = keyToLocations.get(key);
+				if (locations[i] != null) {
+					flushedIndexes.add(i);
+				}
+			} else {
+				result[i] = get(primaryKeys[i], recordType);
+			}
+		}
+		if (!flushedIndexes.isEmpty()) {
+			// sort reads by their position in the file so that the input buffer is reused as much as possible
+			flushedIndexes.sort(Comparator.comparingLong(it -> locations[it].getStartingPosition()));
+			readOnlyHandlePool.borrowAndExecute(
+				readOnlyFileHandle -> readOnlyFileHandle.execute(
+					exclusiveReadAccess -> this.readKryoPool.borrowAndExecute(
+						kryo -> {
+							for (Integer index : flushedIndexes) {
+								try {
+									result[index] = new StorageRecord<>(
+										exclusiveReadAccess.getReadOnlyStream(),
+										locations[index],
+										(stream, length) -> kryo.readObject(stream, recordType)
+									).getPayload();
+								} catch (CorruptedRecordException ex) {
+									throw new CorruptedKeyValueRecordException(
+										"Record " + primaryKeys[index] + " of type " + recordType.getName() + " is corrupted after reading!",
+										recordType, primaryKeys[index], ex
+									);
+								}
+							}
+							return null;
+						})
+				)
+			);
+		}
+		return result;
+	}
+
 	/**
 	 * Returns value assigned to the particular location in MemTable. This method is optimized for sequential access
 	 * by {@link #getEntries()} or {@link #getFileLocations()} avoiding unnecessary index lookup.
@@ -404,105 +488,38 @@ public class MemTable {
 	 * - whether all the records has CRC-32C checksum valid (when CRC32-C checksums are enabled)
 	 */
 	public MemTableFileStatistics verifyContents() {
-		return readOnlyHandlePool.borrowAndExecute(
-			readOnlyFileHandle -> readOnlyFileHandle.execute(
-				exclusiveReadAccess -> this.readKryoPool.borrowAndExecute(
-					kryo -> {
-						final MemTableFileStatistics result = new MemTableFileStatistics(this.keyToLocations.size(), this.totalSize.get());
-						final ObservableInput<RandomAccessFileInputStream> stream = exclusiveReadAccess.getReadOnlyStream();
-						final RandomAccessFileInputStream is = stream.getInputStream();
-						is.seek(0);
-						final CRC32C crc32C = options.isComputeCRC32C() ? new CRC32C() : null;
-						byte[] buffer = new byte[stream.getBuffer().length];
-						int recCount = 0;
-						long startPosition = 0;
-						long prevTransactionId = 0;
-						boolean firstTransaction = true;
-						boolean transactionCleared = true;
-						final long fileLength;
-						try {
-							fileLength = is.getRandomAccessFile().length();
-						} catch (IOException ex) {
-							throw new CorruptedRecordException(
-								"Cannot read file length of the file: " + stream.getInputStream().getRandomAccessFile().toString(), ex
-							);
-						}
-						do {
-							recCount++;
-							final int finalRecCount = recCount;
-
-							try {
-								stream.resetToPosition(startPosition);
-								// computed record length without CRC32 checksum
-								int recordLength = stream.readInt();
-								final byte control = stream.readByte();
-								final byte nodeId = stream.readByte();
-								final long transactionId = stream.readLong();
-								final long finalStartPosition = startPosition;
-
-								// verify that transactional id is monotonically increasing
-								if (!firstTransaction && !(transactionCleared ? transactionId > prevTransactionId : transactionId >= prevTransactionId)) {
-									throw new CorruptedRecordException(
-										"Transaction id record monotonic row is violated in record no. " + finalRecCount + " file position: [" + finalStartPosition + ", length " + recordLength + "B], previous transaction id is " + prevTransactionId + ", current is " + transactionId,
-										prevTransactionId + 1, transactionId
-									);
-								}
-								// verify that transaction id stays the same within transaction block
-								if (!transactionCleared && transactionId != prevTransactionId) {
-									throw new CorruptedRecordException(
-										"Transaction id was not cleared with control bit record id in record no. " + finalRecCount + " file position: [" + finalStartPosition + ", length " + recordLength + "B], previous transaction id is " + prevTransactionId + ", current is " + transactionId,
-										prevTransactionId, transactionId
-									);
-								}
-
-								ofNullable(crc32C).ifPresent(CRC32C::reset);
-								// first 4 bytes of length are not part of the CRC check
-								int processedRecordLength = StorageRecord.CRC_NOT_COVERED_HEAD;
-								is.seek(startPosition + processedRecordLength);
-								// we have to avoid reading last 8 bytes of CRC check value
-								while (processedRecordLength < recordLength - ObservableOutput.TAIL_MANDATORY_SPACE) {
-									final int read = is.read(buffer, 0, Math.min(recordLength - processedRecordLength - ObservableOutput.TAIL_MANDATORY_SPACE, buffer.length));
-									ofNullable(crc32C).ifPresent(it -> it.update(buffer, 0, read));
-									processedRecordLength += read;
-								}
-								// verify CRC32-C checksum
-								if (crc32C != null) {
-									final long computedChecksum = crc32C.getValue();
-									stream.resetToPosition(startPosition + recordLength - ObservableOutput.TAIL_MANDATORY_SPACE);
-									final long storedChecksum = stream.readLong();
-									processedRecordLength += ObservableOutput.TAIL_MANDATORY_SPACE;
-									if (computedChecksum != storedChecksum) {
-										throw new CorruptedRecordException(
-											"Invalid checksum for record no. " + finalRecCount + " file position: [" + finalStartPosition + ", length " + recordLength + "B]", computedChecksum, storedChecksum
-										);
-									}
-								}
-
-								if (processedRecordLength != recordLength) {
-									throw new CorruptedRecordException(
-										"Record no. " + finalRecCount + " prematurely ended -  file position: [" + finalStartPosition + ", length " + recordLength + "B]", processedRecordLength, recordLength
-									);
-								}
-
-								startPosition += recordLength;
-								prevTransactionId = transactionId;
-								transactionCleared = StorageRecord.isBitSet(control, StorageRecord.TRANSACTION_CLOSING_BIT);
-								if (transactionCleared && transactionId > 0L) {
-									firstTransaction = false;
-								}
-								result.registerRecord(recordLength);
-
-							} catch (KryoException ex) {
-								throw new CorruptedRecordException(
-									"Record no. " + finalRecCount + " cannot be read!", ex
-								);
-							}
-						} while (fileLength > result.getTotalSize());
+		return new MemTableFileVerifier(targetFile, options.isComputeCRC32C())
+			.verifyFailingFast(new MemTableFileStatistics(this.keyToLocations.size(), this.totalSize.get()));
+	}
 
-						return result;
-					})
-			)
-		);
+	/**
+	 * This method checks the same rules as {@link #verifyContents()} but the file is split to `parallelism` segments
+	 * at the record boundaries known from {@link #keyToLocations} and the segments are verified in parallel, each of
+	 * them using its own file handle (these handles are not limited by {@link StorageOptions#getMaxOpenedReadHandles()}).
+	 * Corrupted records don't stop the verification - they're reported in the result, and the verification continues
+	 * with the next known record.
+	 *
+	 * When `fastStart` is true, CRC-32C checksums are verified only for the records written after the end of the last
+	 * flushed MemTable fragment. The fragment location is kept in the header (see {@link MemTableDescriptor#getFileLocation()})
+	 * and all the records preceding it were synced to the disk before the fragment was referenced, so the data file
+	 * itself doesn't need to carry any additional marker.
+	 */
+	@Nonnull
+	public MemTableVerificationResult verifyContents(int parallelism, boolean fastStart) {
+		assertOperative();
+		isTrue(parallelism > 0, "Parallelism must be positive number!");
+		final long[] recordBoundaries = this.keyToLocations.values()
+			.stream()
+			.mapToLong(FileLocation::getStartingPosition)
+			.sorted()
+			.distinct()
+			.toArray();
+		return new MemTableFileVerifier(targetFile, options.isComputeCRC32C())
+			.verify(
+				recordBoundaries, parallelism,
+				fastStart ? ofNullable(this.memTableDescriptor.getFileLocation()).map(FileLocation::getEndPosition).orElse(-1L) : -1L,
+				new MemTableFileStatistics(this.keyToLocations.size(), this.totalSize.get())
+			);
 	}
 
 	/**
@@ -572,6 +589,115 @@ public class MemTable {
 		}
 	}
 
+	/**
+	 * Reads the file regions occupied by the records of the types matching `recordTypePredicate` using large sequential
+	 * reads so that the following random reads of these records are served from the OS page cache. Records that are
+	 * at most {@link #PREFETCH_MAX_GAP} bytes apart are read in a single sweep - for files written by
+	 * {@link #writeImage(Path, MemTableDescriptor, Comparator, long)} that keep the records of the same type together
+	 * this usually means a single sequential read of the entire region.
+	 *
+	 * @return count of bytes read from the file
+	 */
+	public long prefetch(@Nonnull Predicate<Class<? extends Serializable>> recordTypePredicate) {
+		assertOperative();
+		final Set<Byte> recordTypes = Arrays.stream(MemTableRecordType.values())
+			.filter(it -> recordTypePredicate.test(it.getRecordType()))
+			.map(it -> MemTableRecordType.idFor(it.getRecordType()))
+			.collect(Collectors.toSet());
+		final List<FileLocation> locations = this.keyToLocations.entrySet()
+			.stream()
+			.filter(it -> recordTypes.contains(it.getKey().getRecordType()))
+			.map(Entry::getValue)
+			.sorted(Comparator.comparingLong(FileLocation::getStartingPosition))
+			.collect(Collectors.toList());
+		if (locations.isEmpty()) {
+			return 0L;
+		}
+
+		try (final FileChannel channel = FileChannel.open(this.targetFile, StandardOpenOption.READ)) {
+			final ByteBuffer buffer = ByteBuffer.allocateDirect(PREFETCH_BUFFER_SIZE);
+			long bytesRead = 0L;
+			long rangeStart = locations.get(0).getStartingPosition();
+			long rangeEnd = rangeStart;
+			for (FileLocation location : locations) {
+				if (location.getStartingPosition() - rangeEnd > PREFETCH_MAX_GAP) {
+					bytesRead += readRange(channel, buffer, rangeStart, rangeEnd);
+					rangeStart = location.getStartingPosition();
+				}
+				rangeEnd = Math.max(rangeEnd, location.getStartingPosition() + location.getRecordLength());
+			}
+			bytesRead += readRange(channel, buffer, rangeStart, rangeEnd);
+			return bytesRead;
+		} catch (IOException ex) {
+			throw new StorageException("Target file " + targetFile + " cannot be prefetched!", ex);
+		}
+	}
+
+	/**
+	 * Writes compact image of the flushed contents of this MemTable to the `imageFile` that must not exist yet. Only
+	 * the living records are copied and they're written in the order defined by `recordOrder` so that the records
+	 * which are read together lie next to each other. The records are copied in their serialized form - they're not
+	 * deserialized and serialized again, only their transaction id is rewritten to `transactionId` (and their
+	 * checksums recomputed) so that the image forms single transaction. The MemTable fragments are written after
+	 * the records and the image is finished with clean shutdown marker.
+	 *
+	 * Passed `imageDescriptor` must not point to any file location and must share the key compressor and class
+	 * resolver state with the descriptor of this MemTable so that the copied records can be read from the image.
+	 *
+	 * @return descriptor of the MemTable written in the image file
+	 */
+	@Nonnull
+	public MemTableDescriptor writeImage(@Nonnull Path imageFile, @Nonnull MemTableDescriptor imageDescriptor, @Nonnull Comparator<RecordKey> recordOrder, long transactionId) {
+		assertOperative();
+		isTrue(!imageFile.toFile().exists(), "Image file " + imageFile + " already exists!");
+		isTrue(imageDescriptor.getFileLocation() == null, "Image descriptor must not point to any existing MemTable fragment!");
+
+		final List<Entry<RecordKey, FileLocation>> records = new ArrayList<>(this.keyToLocations.entrySet());
+		records.sort(Entry.comparingByKey(recordOrder));
+
+		final ObservableOutputKeeper imageOutputKeeper = new ObservableOutputKeeper(this.options);
+		imageOutputKeeper.prepare();
+		try {
+			// this creates the empty image file
+			final MemTable image = new MemTable(imageFile, imageDescriptor, this.options, imageOutputKeeper);
+			try (
+				final FileChannel source = FileChannel.open(this.targetFile, StandardOpenOption.READ);
+				final FileChannel target = FileChannel.open(imageFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+			) {
+				final CRC32C crc32C = this.options.isComputeCRC32C() ? new CRC32C() : null;
+				byte[] buffer = new byte[Math.max(this.maxRecordSize.get(), StorageRecord.OVERHEAD_SIZE)];
+				long position = 0L;
+				for (Entry<RecordKey, FileLocation> record : records) {
+					final FileLocation location = record.getValue();
+					final int recordLength = location.getRecordLength();
+					if (buffer.length < recordLength) {
+						buffer = new byte[recordLength];
+					}
+					final ByteBuffer wrappedBuffer = ByteBuffer.wrap(buffer, 0, recordLength);
+					while (wrappedBuffer.hasRemaining()) {
+						if (source.read(wrappedBuffer, location.getStartingPosition() + wrappedBuffer.position()) < 0) {
+							throw new StorageException("Unexpected end of file " + targetFile + " when reading record at " + location + "!");
+						}
+					}
+					StorageRecord.rewriteTransactionId(buffer, recordLength, transactionId, crc32C);
+					wrappedBuffer.flip();
+					while (wrappedBuffer.hasRemaining()) {
+						target.write(wrappedBuffer);
+					}
+					image.registerImageRecord(record.getKey(), new FileLocation(position, recordLength));
+					position += recordLength;
+				}
+			} catch (IOException ex) {
+				throw new StorageException("Image file " + imageFile + " cannot be written!", ex);
+			}
+			final MemTableDescriptor writtenDescriptor = image.flush(transactionId);
+			image.close();
+			return writtenDescriptor;
+		} finally {
+			imageOutputKeeper.free();
+		}
+	}
+
 	/**
 	 * Returns position of last fragment of the current {@link MemTable} in the tracked file.
 	 */
@@ -639,6 +765,35 @@ public class MemTable {
 		return null;
 	}
 
+	/**
+	 * Registers record that has been already written to the file by {@link #writeImage(Path, MemTableDescriptor, Comparator, long)}
+	 * as the non-flushed value, so that it becomes part of the next MemTable fragment.
+	 */
+	private void registerImageRecord(@Nonnull RecordKey key, @Nonnull FileLocation location) {
+		this.nonFlushedValues.put(
+			key,
+			new NonFlushedValue(key.getPrimaryKey(), key.getRecordType(), location),
+			true
+		);
+	}
+
+	/**
+	 * Reads the file contents in the range from `start` (inclusive) to `end` (exclusive) and throws them away.
+	 */
+	private static long readRange(@Nonnull FileChannel channel, @Nonnull ByteBuffer buffer, long start, long end) throws IOException {
+		long position = start;
+		while (position < end) {
+			buffer.clear();
+			buffer.limit((int) Math.min(buffer.capacity(), end - position));
+			final int read = channel.read(buffer, position);
+			if (read < 0) {
+				break;
+			}
+			position += read;
+		}
+		return position - start;
+	}
+
 	/**
 	 * Checks whether the MemTable is still opened and operative.
 	 */
@@ -859,6 +1014,14 @@ public class MemTable {
 			}
 		}
 
+		void merge(@Nonnull MemTableFileStatistics other) {
+			this.recordCount += other.recordCount;
+			this.totalSize += other.totalSize;
+			if (other.maxRecordSize > maxRecordSize) {
+				this.maxRecordSize = other.maxRecordSize;
+			}
+		}
+
 	}
 
 	/**
@@ -1008,7 +1171,9 @@ public class MemTable {
 		 */
 		@Override
 		protected VersionedKryo create() {
-			return supplier.apply(version);
+			final VersionedKryo kryo = supplier.apply(version);
+			kryo.setPool(this);
+			return kryo;
 		}
 
 		/**
@@ -0,0 +1,450 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.storage;
+
+import com.esotericsoftware.kryo.KryoException;
+import io.evitadb.storage.MemTable.MemTableFileStatistics;
+import io.evitadb.storage.exception.CorruptedRecordException;
+import io.evitadb.storage.exception.StorageException;
+import io.evitadb.storage.kryo.ObservableInput;
+import io.evitadb.storage.kryo.ObservableOutput;
+import io.evitadb.storage.model.memTable.CorruptedFileRange;
+import io.evitadb.storage.model.memTable.MemTableVerificationResult;
+import io.evitadb.storage.model.memTable.StorageRecord;
+import io.evitadb.storage.stream.RandomAccessFileInputStream;
+import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.FileNotFoundException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+
+import static io.evitadb.storage.model.memTable.StorageRecord.isBitSet;
+
+/**
+ * This class verifies the consistency of the {@link MemTable} file. It checks the rules described in
+ * {@link MemTable#verifyContents()} and it can do so in two modes:
+ *
+ * - fail-fast mode reads the whole file sequentially and throws {@link CorruptedRecordException} on first problem
+ * - parallel mode splits the file into segments at the record boundaries known from the MemTable index, each segment
+ *   is read by its own file handle and all segments are verified in parallel; problems don't stop the verification -
+ *   the verifier skips to the next known record boundary and reports the corrupted range
+ *
+ * Transaction id row can be verified only partially within the segment - the segments don't know the state of
+ * the transaction row at their start. Therefore, they report the state at their edges and the violations that depend
+ * on the state of preceding segments and the row is stitched together once all segments are verified.
+ *
+ * In fast-start mode the CRC-32C checksums are not verified for records preceding the end of the last flushed MemTable
+ * fragment - the position referenced from the header that was synced to the disk before the header was written. Only
+ * records appended after the last flush are verified.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@ThreadSafe
+@RequiredArgsConstructor
+class MemTableFileVerifier {
+	/**
+	 * Size of the buffer used for reading the record payload when CRC-32C checksum is verified.
+	 */
+	private static final int PAYLOAD_BUFFER_SIZE = 16_384;
+	/**
+	 * Path to the verified MemTable file.
+	 */
+	private final Path targetFile;
+	/**
+	 * Contains TRUE when the CRC-32C checksums are written to the file and should be verified.
+	 */
+	private final boolean computeCRC32C;
+
+	/**
+	 * Verifies the whole file sequentially and throws {@link CorruptedRecordException} on the first problem found.
+	 * Statistics of the file are registered to the passed `statistics` object.
+	 */
+	@Nonnull
+	MemTableFileStatistics verifyFailingFast(@Nonnull MemTableFileStatistics statistics) {
+		final SegmentResult result = verifySegment(
+			new Segment(0L, getFileLength()), 0L, new long[0], true, PAYLOAD_BUFFER_SIZE
+		);
+		statistics.merge(result.getStatistics());
+		return statistics;
+	}
+
+	/**
+	 * Verifies the file split into `segmentCount` segments in parallel. Segments are split at `recordBoundaries`
+	 * (sorted distinct starting positions of known records), that are also used for skipping the corrupted parts
+	 * of the file. CRC-32C checksums of the records preceding `syncedPosition` are not verified, pass -1 to verify
+	 * all of them. Statistics of the file are registered to the passed `statistics` object.
+	 */
+	@Nonnull
+	MemTableVerificationResult verify(@Nonnull long[] recordBoundaries, int segmentCount, long syncedPosition, @Nonnull MemTableFileStatistics statistics) {
+		final Segment[] segments = split(getFileLength(), recordBoundaries, segmentCount);
+		final long verifyChecksumsFrom = Math.max(0L, syncedPosition);
+		final List<SegmentResult> segmentResults = Arrays.stream(segments)
+			.parallel()
+			.map(it -> verifySegment(it, verifyChecksumsFrom, recordBoundaries, false, PAYLOAD_BUFFER_SIZE))
+			.collect(Collectors.toList());
+
+		// stitch the transaction row of the segments together
+		final List<CorruptedFileRange> corruptedRanges = new LinkedList<>();
+		boolean transactionClosed = false;
+		boolean previousRowKnown = true;
+		long previousTransactionId = 0L;
+		boolean previousTransactionCleared = true;
+		for (SegmentResult segmentResult : segmentResults) {
+			final TransactionRowEdge firstRecord = segmentResult.getFirstRecord();
+			if (firstRecord != null && previousRowKnown) {
+				final String violation = verifyTransactionRow(
+					transactionClosed, previousTransactionId, previousTransactionCleared, firstRecord.getTransactionId()
+				);
+				if (violation != null) {
+					corruptedRanges.add(
+						new CorruptedFileRange(firstRecord.getStartPosition(), firstRecord.getEndPosition(), violation)
+					);
+				}
+			}
+			if (transactionClosed) {
+				corruptedRanges.addAll(segmentResult.getConditionalViolations());
+			}
+			corruptedRanges.addAll(segmentResult.getCorruptedRanges());
+			transactionClosed |= segmentResult.isTransactionClosed();
+			final TransactionRowEdge lastRecord = segmentResult.getLastRecord();
+			if (lastRecord != null) {
+				previousTransactionId = lastRecord.getTransactionId();
+				previousTransactionCleared = lastRecord.isTransactionCleared();
+			}
+			previousRowKnown = segmentResult.isLastRecordRowKnown() && (lastRecord != null || previousRowKnown);
+			statistics.merge(segmentResult.getStatistics());
+		}
+
+		corruptedRanges.sort(Comparator.comparingLong(CorruptedFileRange::getStartPosition));
+		return new MemTableVerificationResult(
+			statistics, new ArrayList<>(corruptedRanges), syncedPosition, segments.length
+		);
+	}
+
+	/*
+		PRIVATE METHODS
+	 */
+
+	/**
+	 * Splits the file to the `segmentCount` segments of roughly the same size. Segments start at the first known
+	 * record boundary following the ideal split position, or at the last known boundary preceding it when there is
+	 * none following (the tail of the file is usually occupied by the MemTable descriptor which start is not known),
+	 * so they may be fewer than requested.
+	 */
+	@Nonnull
+	static Segment[] split(long fileLength, @Nonnull long[] recordBoundaries, int segmentCount) {
+		final List<Segment> segments = new ArrayList<>(segmentCount);
+		long segmentStart = 0L;
+		for (int i = 1; i < segmentCount && segmentStart < fileLength; i++) {
+			final long idealSplitPosition = fileLength / segmentCount * i;
+			long segmentEnd = findNextBoundary(recordBoundaries, Math.max(segmentStart, idealSplitPosition - 1), fileLength);
+			if (segmentEnd >= fileLength) {
+				segmentEnd = findPreviousBoundary(recordBoundaries, idealSplitPosition, segmentStart, fileLength);
+			}
+			if (segmentEnd < fileLength) {
+				segments.add(new Segment(segmentStart, segmentEnd));
+				segmentStart = segmentEnd;
+			}
+		}
+		if (segmentStart < fileLength || segments.isEmpty()) {
+			segments.add(new Segment(segmentStart, fileLength));
+		}
+		return segments.toArray(Segment[]::new);
+	}
+
+	/**
+	 * Returns the first record boundary greater than `position` or `limit` if there is no such boundary before it.
+	 */
+	static long findNextBoundary(@Nonnull long[] recordBoundaries, long position, long limit) {
+		final int index = Arrays.binarySearch(recordBoundaries, position + 1);
+		final int insertionIndex = index >= 0 ? index : -(index + 1);
+		return insertionIndex < recordBoundaries.length ? Math.min(recordBoundaries[insertionIndex], limit) : limit;
+	}
+
+	/**
+	 * Returns the last record boundary lesser than or equal to `position` and greater than `lowerBound` or `limit`
+	 * if there is no such boundary.
+	 */
+	static long findPreviousBoundary(@Nonnull long[] recordBoundaries, long position, long lowerBound, long limit) {
+		final int index = Arrays.binarySearch(recordBoundaries, position);
+		final int lastIndex = index >= 0 ? index : -(index + 1) - 1;
+		return lastIndex >= 0 && recordBoundaries[lastIndex] > lowerBound && recordBoundaries[lastIndex] < limit ?
+			recordBoundaries[lastIndex] : limit;
+	}
+
+	/**
+	 * Verifies transaction id of the record against the previous record in the transaction row. Returns description
+	 * of the violation or NULL if the row is not violated. Monotonic row is verified only after the first transaction
+	 * has been closed in the file - records written before (in the warm-up state) share the same transaction id.
+	 */
+	@Nullable
+	private static String verifyTransactionRow(boolean transactionClosed, long previousTransactionId, boolean previousTransactionCleared, long transactionId) {
+		if (transactionClosed && !(previousTransactionCleared ? transactionId > previousTransactionId : transactionId >= previousTransactionId)) {
+			return "Transaction id record monotonic row is violated, previous transaction id is " + previousTransactionId + ", current is " + transactionId;
+		} else if (!previousTransactionCleared && transactionId != previousTransactionId) {
+			return "Transaction id was not cleared with control bit record id, previous transaction id is " + previousTransactionId + ", current is " + transactionId;
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the length of the verified file.
+	 */
+	private long getFileLength() {
+		return targetFile.toFile().length();
+	}
+
+	/**
+	 * Verifies single segment of the file using its own file handle. CRC-32C checksums are verified only for records
+	 * starting at or after `verifyChecksumsFrom` position. In `failFast` mode the first problem found is thrown
+	 * as {@link CorruptedRecordException}, otherwise it's registered in the result and the verification continues
+	 * with the next record boundary.
+	 */
+	@Nonnull
+	private SegmentResult verifySegment(@Nonnull Segment segment, long verifyChecksumsFrom, @Nonnull long[] recordBoundaries, boolean failFast, int bufferSize) {
+		final SegmentResult result = new SegmentResult();
+		try (final ObservableInput<RandomAccessFileInputStream> stream = openInput(bufferSize)) {
+			final RandomAccessFileInputStream is = stream.getInputStream();
+			final CRC32C crc32C = computeCRC32C ? new CRC32C() : null;
+			final byte[] buffer = new byte[bufferSize];
+			int recCount = 0;
+			long startPosition = segment.getStartPosition();
+			long prevTransactionId = 0L;
+			boolean transactionCleared = true;
+			// the first record of the segment is verified against the preceding segment when the segments are stitched
+			boolean rowInterrupted = true;
+			while (startPosition < segment.getEndPosition()) {
+				recCount++;
+				final long recordStartPosition = startPosition;
+				long recordEndPosition = -1L;
+				try {
+					stream.resetToPosition(recordStartPosition);
+					// computed record length without CRC32 checksum
+					final int recordLength = stream.readInt();
+					final byte control = stream.readByte();
+					// node id is not verified
+					stream.readByte();
+					final long transactionId = stream.readLong();
+
+					if (recordLength < StorageRecord.OVERHEAD_SIZE || recordStartPosition + recordLength > segment.getEndPosition()) {
+						throw new CorruptedRecordException(
+							"Record no. " + recCount + " has invalid length - file position: [" + recordStartPosition + ", length " + recordLength + "B]",
+							segment.getEndPosition() - recordStartPosition, recordLength
+						);
+					}
+					recordEndPosition = recordStartPosition + recordLength;
+
+					// verify CRC32-C checksum
+					if (crc32C != null && recordStartPosition >= verifyChecksumsFrom) {
+						crc32C.reset();
+						// first 5 bytes of length and control byte are not part of the CRC check
+						int processedRecordLength = StorageRecord.CRC_NOT_COVERED_HEAD;
+						is.seek(recordStartPosition + processedRecordLength);
+						// we have to avoid reading last 8 bytes of CRC check value
+						while (processedRecordLength < recordLength - ObservableOutput.TAIL_MANDATORY_SPACE) {
+							final int read = is.read(buffer, 0, Math.min(recordLength - processedRecordLength - ObservableOutput.TAIL_MANDATORY_SPACE, buffer.length));
+							if (read < 0) {
+								throw new CorruptedRecordException(
+									"Record no. " + recCount + " prematurely ended -  file position: [" + recordStartPosition + ", length " + recordLength + "B]", processedRecordLength, recordLength
+								);
+							}
+							crc32C.update(buffer, 0, read);
+							processedRecordLength += read;
+						}
+						final long computedChecksum = crc32C.getValue();
+						stream.resetToPosition(recordEndPosition - ObservableOutput.TAIL_MANDATORY_SPACE);
+						final long storedChecksum = stream.readLong();
+						if (computedChecksum != storedChecksum) {
+							throw new CorruptedRecordException(
+								"Invalid checksum for record no. " + recCount + " file position: [" + recordStartPosition + ", length " + recordLength + "B]", computedChecksum, storedChecksum
+							);
+						}
+					}
+
+					if (rowInterrupted) {
+						result.registerFirstRecord(
+							new TransactionRowEdge(recordStartPosition, recordEndPosition, transactionId, false)
+						);
+					} else {
+						final boolean monotonicRowViolated = transactionCleared ? transactionId <= prevTransactionId : transactionId < prevTransactionId;
+						if (monotonicRowViolated) {
+							final CorruptedRecordException violation = new CorruptedRecordException(
+								"Transaction id record monotonic row is violated in record no. " + recCount + " file position: [" + recordStartPosition + ", length " + recordLength + "B], previous transaction id is " + prevTransactionId + ", current is " + transactionId,
+								prevTransactionId + 1, transactionId
+							);
+							if (result.isTransactionClosed()) {
+								reportCorruption(result, violation, failFast, recordStartPosition, recordEndPosition);
+							} else {
+								// violation is real only if any transaction was closed in the preceding segments
+								result.registerConditionalViolation(
+									new CorruptedFileRange(recordStartPosition, recordEndPosition, violation.getMessage())
+								);
+							}
+						}
+						if (!transactionCleared && transactionId != prevTransactionId) {
+							reportCorruption(
+								result,
+								new CorruptedRecordException(
+									"Transaction id was not cleared with control bit record id in record no. " + recCount + " file position: [" + recordStartPosition + ", length " + recordLength + "B], previous transaction id is " + prevTransactionId + ", current is " + transactionId,
+									prevTransactionId, transactionId
+								),
+								failFast, recordStartPosition, recordEndPosition
+							);
+						}
+					}
+					prevTransactionId = transactionId;
+					transactionCleared = isBitSet(control, StorageRecord.TRANSACTION_CLOSING_BIT);
+					rowInterrupted = false;
+					result.registerRecord(
+						new TransactionRowEdge(recordStartPosition, recordEndPosition, transactionId, transactionCleared),
+						recordLength
+					);
+					startPosition = recordEndPosition;
+
+				} catch (CorruptedRecordException | KryoException ex) {
+					final CorruptedRecordException corruption = ex instanceof CorruptedRecordException ?
+						(CorruptedRecordException) ex :
+						new CorruptedRecordException("Record no. " + recCount + " cannot be read!", ex);
+					if (failFast) {
+						throw corruption;
+					}
+					// when the record length is trustworthy continue with the next record, otherwise skip to the next known record
+					final long resumePosition = recordEndPosition > 0L ?
+						recordEndPosition : findNextBoundary(recordBoundaries, recordStartPosition, segment.getEndPosition());
+					result.registerCorruptedRange(
+						new CorruptedFileRange(recordStartPosition, resumePosition, corruption.getMessage()),
+						recordEndPosition > 0L
+					);
+					startPosition = resumePosition;
+					rowInterrupted = recordEndPosition <= 0L;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Throws the corruption in `failFast` mode or registers the corrupted record to the result otherwise. The record
+	 * itself is readable and the verification may continue with the next record.
+	 */
+	private static void reportCorruption(@Nonnull SegmentResult result, @Nonnull CorruptedRecordException corruption, boolean failFast, long recordStartPosition, long recordEndPosition) {
+		if (failFast) {
+			throw corruption;
+		}
+		result.registerCorruptedRange(
+			new CorruptedFileRange(recordStartPosition, recordEndPosition, corruption.getMessage()),
+			true
+		);
+	}
+
+	/**
+	 * Opens new read handle to the verified file.
+	 */
+	@Nonnull
+	private ObservableInput<RandomAccessFileInputStream> openInput(int bufferSize) {
+		try {
+			return new ObservableInput<>(
+				new RandomAccessFileInputStream(
+					new RandomAccessFile(targetFile.toFile(), "r"),
+					true
+				),
+				bufferSize
+			);
+		} catch (FileNotFoundException ex) {
+			throw new StorageException("Target file " + targetFile + " cannot be opened!", ex);
+		}
+	}
+
+	/**
+	 * Part of the file between two record boundaries.
+	 */
+	@Data
+	static class Segment {
+		private final long startPosition;
+		private final long endPosition;
+	}
+
+	/**
+	 * Record at the edge of the segment that is needed for stitching the transaction row of the segments together.
+	 */
+	@Data
+	private static class TransactionRowEdge {
+		private final long startPosition;
+		private final long endPosition;
+		private final long transactionId;
+		private final boolean transactionCleared;
+	}
+
+	/**
+	 * Result of the single segment verification.
+	 */
+	private static class SegmentResult {
+		@Getter private final MemTableFileStatistics statistics = new MemTableFileStatistics(0L, 0L);
+		@Getter private final List<CorruptedFileRange> corruptedRanges = new LinkedList<>();
+		@Getter private final List<CorruptedFileRange> conditionalViolations = new LinkedList<>();
+		@Getter private TransactionRowEdge firstRecord;
+		@Getter private TransactionRowEdge lastRecord;
+		@Getter private boolean lastRecordRowKnown = true;
+		@Getter private boolean transactionClosed;
+
+		void registerFirstRecord(@Nonnull TransactionRowEdge record) {
+			// only the record at the very start of the segment (not following the corrupted range) can be stitched
+			if (this.firstRecord == null && this.lastRecord == null && this.corruptedRanges.isEmpty()) {
+				this.firstRecord = record;
+			}
+		}
+
+		void registerRecord(@Nonnull TransactionRowEdge record, int recordLength) {
+			this.lastRecord = record;
+			this.lastRecordRowKnown = true;
+			if (record.isTransactionCleared() && record.getTransactionId() > 0L) {
+				this.transactionClosed = true;
+			}
+			this.statistics.registerRecord(recordLength);
+		}
+
+		void registerConditionalViolation(@Nonnull CorruptedFileRange range) {
+			this.conditionalViolations.add(range);
+		}
+
+		void registerCorruptedRange(@Nonnull CorruptedFileRange range, boolean rowKnown) {
+			this.corruptedRanges.add(range);
+			this.lastRecordRowKnown = rowKnown && this.lastRecordRowKnown;
+		}
+
+	}
+
+}
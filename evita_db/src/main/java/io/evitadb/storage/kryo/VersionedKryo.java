@@ -25,7 +25,9 @@ package io.evitadb.storage.kryo;
 import com.esotericsoftware.kryo.ClassResolver;
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.ReferenceResolver;
+import io.evitadb.storage.MemTable.MemTableKryoPool;
 import lombok.Getter;
+import lombok.Setter;
 
 /**
  * This class overrides basic {@link Kryo} implementation and adds information about the version
@@ -36,6 +38,11 @@ import lombok.Getter;
  */
 public class VersionedKryo extends Kryo {
 	@Getter private final long version;
+	/**
+	 * Contains the pool this instance was created by (if any). Serializers may use it to borrow another instance
+	 * of the same configuration later - for example for deferred deserialization of the data they've read.
+	 */
+	@Getter @Setter private MemTableKryoPool pool;
 
 	static {
 		System.setProperty("kryo.unsafe", "false");
@@ -0,0 +1,58 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.storage.model.memTable;
+
+import lombok.Data;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This DTO describes part of the {@link io.evitadb.storage.MemTable} file that was found to be corrupted during
+ * the file verification. The range starts at the first byte of the corrupted record and ends either at the end of this
+ * record, or at the next record boundary known from the MemTable index when the record length cannot be trusted.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@Data
+public class CorruptedFileRange {
+	/**
+	 * Position of the first corrupted byte from the file beginning.
+	 */
+	private final long startPosition;
+	/**
+	 * Position of the first byte following the corrupted range.
+	 */
+	private final long endPosition;
+	/**
+	 * Description of the problem found in the range.
+	 */
+	@Nonnull private final String reason;
+
+	/**
+	 * Returns length of the corrupted range in Bytes.
+	 */
+	public long getLength() {
+		return endPosition - startPosition;
+	}
+
+}
@@ -57,7 +57,9 @@ public enum MemTableRecordType {
 	PRICE_LIST_CURRENCY_SUPER_INDEX(PriceListAndCurrencySuperIndexStoragePart.class),
 	PRICE_LIST_CURRENCY_REF_INDEX(PriceListAndCurrencyRefIndexStoragePart.class),
 	HIERARCHY_INDEX(HierarchyIndexStoragePart.class),
-	FACET_INDEX(FacetIndexStoragePart.class);
+	FACET_INDEX(FacetIndexStoragePart.class),
+	PRICE_LIST_CURRENCY_SUPER_INDEX_CHUNK(PriceListAndCurrencySuperIndexChunkStoragePart.class),
+	HIERARCHY_ROLL_UP_INDEX(HierarchyRollUpIndexStoragePart.class);
 
 	private static final Map<Class<? extends Serializable>, Byte> LOOKUP_INDEX;
 
@@ -0,0 +1,64 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.storage.model.memTable;
+
+import io.evitadb.storage.MemTable.MemTableFileStatistics;
+import lombok.Data;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * This DTO contains result of the {@link io.evitadb.storage.MemTable} file verification that doesn't stop on first
+ * problem found. It contains statistics of the file and all ranges of the file that were found corrupted.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@Data
+public class MemTableVerificationResult {
+	/**
+	 * Statistics of the records that were successfully verified.
+	 */
+	@Nonnull private final MemTableFileStatistics statistics;
+	/**
+	 * Ranges of the file found corrupted ordered by their position in the file.
+	 */
+	@Nonnull private final List<CorruptedFileRange> corruptedRanges;
+	/**
+	 * End position of the last flushed MemTable fragment. CRC-32C checksums of the records preceding this position
+	 * were not verified. Contains -1 when fast-start mode was not requested or no fragment was flushed yet.
+	 */
+	private final long syncedPosition;
+	/**
+	 * Number of segments the file was split into and which were verified in parallel.
+	 */
+	private final int segmentCount;
+
+	/**
+	 * Returns true if no corrupted range was found in the file.
+	 */
+	public boolean isValid() {
+		return corruptedRanges.isEmpty();
+	}
+
+}
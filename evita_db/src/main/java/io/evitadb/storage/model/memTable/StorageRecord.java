@@ -23,6 +23,8 @@
 package io.evitadb.storage.model.memTable;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
 import io.evitadb.api.utils.Assert;
 import io.evitadb.storage.exception.CorruptedRecordException;
 import io.evitadb.storage.kryo.ObservableInput;
@@ -32,7 +34,9 @@ import lombok.Data;
 import lombok.Getter;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32C;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -294,6 +298,42 @@ public class StorageRecord<T> {
 		return OVERHEAD_SIZE;
 	}
 
+	/**
+	 * Rewrites transaction id of the serialized record (possibly spanning several continuation parts) held in the passed
+	 * buffer and clears its transaction closing flag. When `crc32C` is passed the checksums of all the parts are
+	 * recomputed, otherwise they're left untouched. Method is used when the records are copied to another file in their
+	 * serialized form and need to become part of the different transaction there.
+	 */
+	public static void rewriteTransactionId(@Nonnull byte[] record, int recordLength, long transactionId, @Nullable CRC32C crc32C) {
+		final Input reader = new Input(record, 0, recordLength);
+		final Output writer = new Output(record);
+		int partStart = 0;
+		while (partStart < recordLength) {
+			reader.setPosition(partStart);
+			final int partLength = reader.readInt();
+			final byte control = reader.readByte();
+			final int partEnd = partStart + partLength;
+			Assert.isTrue(
+				partLength >= OVERHEAD_SIZE && partEnd <= recordLength,
+				() -> new CorruptedRecordException(
+					"Record part length " + partLength + " exceeds the record boundaries!",
+					recordLength, partEnd
+				)
+			);
+			writer.setPosition(partStart + 4);
+			writer.writeByte(setBit(control, TRANSACTION_CLOSING_BIT, false));
+			writer.setPosition(partStart + CRC_NOT_COVERED_HEAD + 1);
+			writer.writeLong(transactionId);
+			if (crc32C != null) {
+				crc32C.reset();
+				crc32C.update(record, partStart + CRC_NOT_COVERED_HEAD, partLength - CRC_NOT_COVERED_HEAD - ObservableOutput.TAIL_MANDATORY_SPACE);
+				writer.setPosition(partEnd - ObservableOutput.TAIL_MANDATORY_SPACE);
+				writer.writeLong(crc32C.getValue());
+			}
+			partStart = partEnd;
+		}
+	}
+
 	/**
 	 * Sets bit at specified position to 1 in an arbitrary byte value. Only bit at specified index is changed, other
 	 * bits stay the same.
@@ -52,7 +52,7 @@ import static io.evitadb.api.utils.ComparatorUtils.compareLocale;
 @NotThreadSafe
 @ToString(of = "associatedDataKey")
 public class AssociatedDataStoragePart implements EntityStoragePart, RecordWithCompressedId<EntityAssociatedDataKey> {
-	private static final long serialVersionUID = -1368845012702768956L;
+	private static final long serialVersionUID = 4187396427412245120L;
 
 	/**
 	 * Entity id that is necessary to compute unique part id on new container creation.
@@ -0,0 +1,80 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.storage.model.storageParts.index;
+
+import io.evitadb.api.serialization.KeyCompressor;
+import io.evitadb.index.bitmap.Bitmap;
+import io.evitadb.storage.model.storageParts.StoragePart;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Map;
+
+/**
+ * Hierarchy roll-up index collocates information about entities aggregated in the
+ * {@link io.evitadb.index.HierarchyRollUpEntityIndex} by the hierarchy nodes they reference. This container object
+ * serves only as a storage carrier for the live memory representation of the data in the roll-up index. The rest of
+ * the roll-up index data is stored in the same containers as for any other {@link io.evitadb.index.EntityIndex}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@NotThreadSafe
+@ToString(of = "entityIndexPrimaryKey")
+public class HierarchyRollUpIndexStoragePart implements StoragePart {
+	private static final long serialVersionUID = -2208916306632432431L;
+
+	/**
+	 * Unique id that identifies {@link io.evitadb.index.EntityIndex}.
+	 */
+	@Getter private final int entityIndexPrimaryKey;
+	/**
+	 * Index contains primary keys of the entities aggregated in the roll-up index, key of the index is the primary key
+	 * of the referenced hierarchy node the entities were aggregated through.
+	 */
+	@Getter private final Map<Integer, Bitmap> nodeEntityIds;
+	/**
+	 * Contains TRUE if the roll-up index aggregates all entities referencing any node of its sub-tree.
+	 */
+	@Getter private final boolean complete;
+
+	public HierarchyRollUpIndexStoragePart(int entityIndexPrimaryKey, @Nonnull Map<Integer, Bitmap> nodeEntityIds, boolean complete) {
+		this.entityIndexPrimaryKey = entityIndexPrimaryKey;
+		this.nodeEntityIds = nodeEntityIds;
+		this.complete = complete;
+	}
+
+	@Nullable
+	@Override
+	public Long getUniquePartId() {
+		return (long) entityIndexPrimaryKey;
+	}
+
+	@Override
+	public long computeUniquePartIdAndSet(@Nonnull KeyCompressor keyCompressor) {
+		return entityIndexPrimaryKey;
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.storage.model.storageParts.index;
+
+import io.evitadb.index.price.model.PriceIndexKey;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+
+/**
+ * This DTO distinguishes {@link PriceListAndCurrencySuperIndexChunkStoragePart chunks} of different price indexes. It
+ * uniquely identifies the price index by primary key of the {@link io.evitadb.index.EntityIndex} it belongs to and by
+ * its {@link PriceIndexKey}. The compressed id of this key is combined with the chunk id to form the unique part id of
+ * the chunk.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor
+public class PriceIndexKeyWithEntityIndex implements Comparable<PriceIndexKeyWithEntityIndex>, Serializable {
+	private static final long serialVersionUID = -5786420683613349427L;
+
+	/**
+	 * Unique id that identifies {@link io.evitadb.index.EntityIndex}.
+	 */
+	@Getter private final int entityIndexPrimaryKey;
+	/**
+	 * Contains price list name and currency of the price index.
+	 */
+	@Getter @Nonnull private final PriceIndexKey priceIndexKey;
+
+	@Override
+	public int compareTo(PriceIndexKeyWithEntityIndex o) {
+		final int result = Integer.compare(entityIndexPrimaryKey, o.entityIndexPrimaryKey);
+		return result == 0 ? priceIndexKey.compareTo(o.priceIndexKey) : result;
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.storage.model.storageParts.index;
+
+import io.evitadb.api.serialization.KeyCompressor;
+import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.NumberUtils;
+import io.evitadb.index.EntityIndex;
+import io.evitadb.index.price.PriceListAndCurrencyPriceSuperIndex;
+import io.evitadb.index.price.model.PriceIndexKey;
+import io.evitadb.index.price.model.priceRecord.PriceRecordContract;
+import io.evitadb.storage.model.storageParts.StoragePart;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Chunk container carries the slice of {@link PriceListAndCurrencyPriceSuperIndex} price records whose
+ * {@link PriceRecordContract#getInternalPriceId() internal price ids} fall into the same range of {@link #CHUNK_SIZE}
+ * consecutive ids. Splitting the price records into chunks allows to persist only the chunks touched by the price
+ * changes instead of rewriting all prices of the price list and currency combination on each change.
+ *
+ * The list of chunks belonging to the index is kept in {@link PriceListAndCurrencySuperIndexStoragePart#getChunkIds()}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@NotThreadSafe
+@ToString(of = {"priceIndexKey", "entityIndexPrimaryKey", "chunkId"})
+public class PriceListAndCurrencySuperIndexChunkStoragePart implements StoragePart {
+	private static final long serialVersionUID = 4460218931268093563L;
+	/**
+	 * Count of consecutive internal price ids covered by single chunk.
+	 */
+	public static final int CHUNK_SIZE = 4096;
+
+	/**
+	 * Unique id that identifies {@link EntityIndex}.
+	 */
+	@Getter private final int entityIndexPrimaryKey;
+	/**
+	 * Contains price list name and currency of the {@link PriceListAndCurrencyPriceSuperIndex} this chunk belongs to.
+	 */
+	@Getter private final PriceIndexKey priceIndexKey;
+	/**
+	 * Id of the chunk - see {@link #getChunkId(int)}.
+	 */
+	@Getter private final int chunkId;
+	/**
+	 * Contains data of the indexed prices in this chunk sorted by internal price id.
+	 */
+	@Getter private final PriceRecordContract[] priceRecords;
+	/**
+	 * Id used for lookups in {@link io.evitadb.storage.MemTable} for this particular container.
+	 */
+	@Getter @Setter private Long uniquePartId;
+
+	public PriceListAndCurrencySuperIndexChunkStoragePart(int entityIndexPrimaryKey, @Nonnull PriceIndexKey priceIndexKey, int chunkId, @Nonnull PriceRecordContract[] priceRecords) {
+		this.entityIndexPrimaryKey = entityIndexPrimaryKey;
+		this.priceIndexKey = priceIndexKey;
+		this.chunkId = chunkId;
+		this.priceRecords = priceRecords;
+	}
+
+	public PriceListAndCurrencySuperIndexChunkStoragePart(int entityIndexPrimaryKey, @Nonnull PriceIndexKey priceIndexKey, int chunkId, @Nonnull PriceRecordContract[] priceRecords, @Nonnull Long uniquePartId) {
+		this.entityIndexPrimaryKey = entityIndexPrimaryKey;
+		this.priceIndexKey = priceIndexKey;
+		this.chunkId = chunkId;
+		this.priceRecords = priceRecords;
+		this.uniquePartId = uniquePartId;
+	}
+
+	/**
+	 * Returns id of the chunk the price with passed internal price id belongs to.
+	 */
+	public static int getChunkId(int internalPriceId) {
+		return internalPriceId / CHUNK_SIZE;
+	}
+
+	/**
+	 * Method computes unique part id as long, that composes of compressed integer of the {@link EntityIndex} primary
+	 * key combined with the price index key and the chunk id.
+	 */
+	public static long computeUniquePartId(int entityIndexPrimaryKey, @Nonnull PriceIndexKey priceIndexKey, int chunkId, @Nonnull KeyCompressor keyCompressor) {
+		return NumberUtils.join(keyCompressor.getId(new PriceIndexKeyWithEntityIndex(entityIndexPrimaryKey, priceIndexKey)), chunkId);
+	}
+
+	@Override
+	public long computeUniquePartIdAndSet(@Nonnull KeyCompressor keyCompressor) {
+		final long computedUniquePartId = computeUniquePartId(entityIndexPrimaryKey, priceIndexKey, chunkId, keyCompressor);
+		final Long theUniquePartId = getUniquePartId();
+		if (theUniquePartId == null) {
+			setUniquePartId(computedUniquePartId);
+		} else {
+			Assert.isTrue(theUniquePartId == computedUniquePartId, "Unique part ids must never differ!");
+		}
+		return computedUniquePartId;
+	}
+
+}
@@ -29,6 +29,7 @@ import io.evitadb.index.range.RangeIndex;
 import lombok.Getter;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -38,24 +39,54 @@ import javax.annotation.concurrent.NotThreadSafe;
  * {@link PriceListAndCurrencyPriceSuperIndex} which is a live memory representation of the data
  * stored in this container.
  *
+ * The price records themselves are not part of this container - they're stored in separate
+ * {@link PriceListAndCurrencySuperIndexChunkStoragePart chunks} so that single price change rewrites only the chunk
+ * the price belongs to. Only containers read from the format preceding the chunking carry the price records inline
+ * - see {@link #getLegacyPriceRecords()}.
+ *
+ * The validity {@link RangeIndex} is not chunked and stays in this container. Its points are ordered by validity
+ * thresholds and each price is present in it (prices without validity at the unbounded point), so there is no split
+ * key that would limit the change of single price to single chunk of the range index. Chunking it by internal price id
+ * would require keeping the validity of each price in memory so that the chunk could be written without the rest of
+ * the range index, which would cost more than the write amplification it saves.
+ *
+ * The chunks are loaded eagerly along with this container. The super index serves all price queries of the price
+ * list and currency and it needs all price records ordered by internal price id for the very first one of them, so
+ * loading the chunks lazily would only move the cost of loading to the first query.
+ *
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2021
  */
 @NotThreadSafe
 public class PriceListAndCurrencySuperIndexStoragePart extends PriceListAndCurrencyIndexStoragePart {
-	private static final long serialVersionUID = -7553613939380658772L;
+	private static final long serialVersionUID = -1403516276391856519L;
+	/**
+	 * Contains ordered ids of all non-empty {@link PriceListAndCurrencySuperIndexChunkStoragePart chunks} holding
+	 * the indexed prices.
+	 */
+	@Getter private final int[] chunkIds;
 	/**
-	 * Contains data of all indexed prices in this container.
+	 * Contains data of all indexed prices when the container was read from the format that stored the price records
+	 * inline (before they were split into chunks). No chunks exist for such container in the storage. The field is
+	 * NULL for the containers in current format.
 	 */
-	@Getter private final PriceRecordContract[] priceRecords;
+	@Getter @Nullable private final PriceRecordContract[] legacyPriceRecords;
 
-	public PriceListAndCurrencySuperIndexStoragePart(int entityIndexPrimaryKey, @Nonnull PriceIndexKey priceIndexKey, @Nonnull RangeIndex validityIndex, @Nonnull PriceRecordContract[] priceRecords) {
+	public PriceListAndCurrencySuperIndexStoragePart(int entityIndexPrimaryKey, @Nonnull PriceIndexKey priceIndexKey, @Nonnull RangeIndex validityIndex, @Nonnull int[] chunkIds) {
 		super(entityIndexPrimaryKey, priceIndexKey, validityIndex);
-		this.priceRecords = priceRecords;
+		this.chunkIds = chunkIds;
+		this.legacyPriceRecords = null;
+	}
+
+	public PriceListAndCurrencySuperIndexStoragePart(int entityIndexPrimaryKey, @Nonnull PriceIndexKey priceIndexKey, @Nonnull RangeIndex validityIndex, @Nonnull int[] chunkIds, @Nonnull Long uniquePartId) {
+		super(entityIndexPrimaryKey, priceIndexKey, validityIndex, uniquePartId);
+		this.chunkIds = chunkIds;
+		this.legacyPriceRecords = null;
 	}
 
-	public PriceListAndCurrencySuperIndexStoragePart(int entityIndexPrimaryKey, @Nonnull PriceIndexKey priceIndexKey, @Nonnull RangeIndex validityIndex, @Nonnull PriceRecordContract[] priceRecords, @Nonnull Long uniquePartId) {
+	public PriceListAndCurrencySuperIndexStoragePart(int entityIndexPrimaryKey, @Nonnull PriceIndexKey priceIndexKey, @Nonnull RangeIndex validityIndex, @Nonnull PriceRecordContract[] legacyPriceRecords, @Nonnull Long uniquePartId) {
 		super(entityIndexPrimaryKey, priceIndexKey, validityIndex, uniquePartId);
-		this.priceRecords = priceRecords;
+		this.chunkIds = new int[0];
+		this.legacyPriceRecords = legacyPriceRecords;
 	}
 
 }
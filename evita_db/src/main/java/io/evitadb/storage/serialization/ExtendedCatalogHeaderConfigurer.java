@@ -30,9 +30,11 @@ import io.evitadb.index.price.model.PriceIndexKey;
 import io.evitadb.storage.model.storageParts.ComparableReferencedType;
 import io.evitadb.storage.model.storageParts.entity.AttributesStoragePart.AttributesSetKey;
 import io.evitadb.storage.model.storageParts.index.AttributeKeyWithIndexType;
+import io.evitadb.storage.model.storageParts.index.PriceIndexKeyWithEntityIndex;
 import io.evitadb.storage.serialization.index.internal.AttributeKeyWithIndexTypeSerializer;
 import io.evitadb.storage.serialization.index.internal.AttributesSetKeySerializer;
 import io.evitadb.storage.serialization.index.internal.ComparableReferencedTypeSerializer;
+import io.evitadb.storage.serialization.index.internal.PriceIndexKeyWithEntityIndexSerializer;
 import io.evitadb.storage.serialization.index.internal.PriceListAndCurrencyKeySerializer;
 
 import java.util.function.Consumer;
@@ -61,6 +63,7 @@ public class ExtendedCatalogHeaderConfigurer implements Consumer<Kryo> {
 		kryo.register(PriceIndexKey.class, new SerialVersionBasedSerializer<>(new PriceListAndCurrencyKeySerializer(kryoSerializationHelper), PriceIndexKey.class), 601);
 		kryo.register(ComparableReferencedType.class, new SerialVersionBasedSerializer<>(new ComparableReferencedTypeSerializer(kryoSerializationHelper), ComparableReferencedType.class), 602);
 		kryo.register(AttributeKeyWithIndexType.class, new SerialVersionBasedSerializer<>(new AttributeKeyWithIndexTypeSerializer(), AttributeKeyWithIndexType.class), 603);
+		kryo.register(PriceIndexKeyWithEntityIndex.class, new SerialVersionBasedSerializer<>(new PriceIndexKeyWithEntityIndexSerializer(), PriceIndexKeyWithEntityIndex.class), 604);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.storage.serialization;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.util.DefaultClassResolver;
+import io.evitadb.api.serialization.KryoFactory;
+import io.evitadb.api.serialization.KryoFactory.QuerySerializationKryoConfigurer;
+import io.evitadb.api.serialization.common.SerialVersionBasedSerializer;
+import io.evitadb.api.serialization.io.SerializationService;
+import io.evitadb.query.recording.RecordedQuery;
+import io.evitadb.storage.serialization.recording.RecordedQuerySerializer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.function.Consumer;
+
+/**
+ * This class takes care of (de)serialization {@link RecordedQuery} from and to binary format. Single kryo instance
+ * with all necessary classes registered is kept. Implementation is not thread safe.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@NotThreadSafe
+public class RecordedQuerySerializationService implements SerializationService<RecordedQuery> {
+	private final Kryo kryo;
+
+	public RecordedQuerySerializationService() {
+		this.kryo = KryoFactory.createKryo(
+			new DefaultClassResolver(),
+			QuerySerializationKryoConfigurer.INSTANCE.andThen(RecordedQueryKryoConfigurer.INSTANCE)
+		);
+	}
+
+	@Override
+	public void serialize(@Nonnull RecordedQuery theObject, @Nonnull Output output) {
+		this.kryo.writeObject(output, theObject);
+	}
+
+	@Override
+	public RecordedQuery deserialize(@Nonnull Input input) {
+		return this.kryo.readObject(input, RecordedQuery.class);
+	}
+
+	/**
+	 * This {@link Consumer} implementation takes default Kryo instance and registers additional serializers that are
+	 * required to (de)serialize {@link RecordedQuery}.
+	 */
+	public static class RecordedQueryKryoConfigurer implements Consumer<Kryo> {
+		public static final RecordedQueryKryoConfigurer INSTANCE = new RecordedQueryKryoConfigurer();
+
+		@Override
+		public void accept(Kryo kryo) {
+			kryo.register(RecordedQuery.class, new SerialVersionBasedSerializer<>(new RecordedQuerySerializer(), RecordedQuery.class), 3000);
+		}
+
+	}
+}
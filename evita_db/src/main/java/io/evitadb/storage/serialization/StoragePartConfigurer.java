@@ -43,8 +43,11 @@ import io.evitadb.storage.model.storageParts.index.AttributeIndexStoragePart.Att
 import io.evitadb.storage.model.storageParts.index.*;
 import io.evitadb.storage.model.storageParts.schema.EntitySchemaContainer;
 import io.evitadb.storage.serialization.entity.*;
+import io.evitadb.storage.serialization.entity.AssociatedDataStoragePartSerializer.AssociatedDataStoragePartWithoutValueSizeDeserializer;
 import io.evitadb.storage.serialization.index.*;
+import io.evitadb.storage.serialization.index.PriceListAndCurrencySuperIndexStoragePartSerializer.PriceListAndCurrencySuperIndexStoragePartWithInlineRecordsDeserializer;
 import io.evitadb.storage.serialization.index.internal.*;
+import io.evitadb.storage.serialization.index.internal.TransactionalIntegerBitmapSerializer.TransactionalBitmapWithoutSizeDeserializer;
 import lombok.RequiredArgsConstructor;
 
 import java.util.function.Consumer;
@@ -59,6 +62,8 @@ import java.util.function.Consumer;
 public class StoragePartConfigurer implements Consumer<Kryo> {
 	private final KryoSerializationHelper kryoSerializationHelper;
 	private final KeyCompressor keyCompressor;
+	private final boolean deferredBitmapDeserialization;
+	private final boolean lazyAssociatedDataDeserialization;
 
 	@Override
 	public void accept(Kryo kryo) {
@@ -69,7 +74,13 @@ public class StoragePartConfigurer implements Consumer<Kryo> {
 		kryo.register(ReferencesStoragePart.class, new SerialVersionBasedSerializer<>(new ReferencesStoragePartSerializer(), ReferencesStoragePart.class), 503);
 		kryo.register(AttributesStoragePart.class, new SerialVersionBasedSerializer<>(new AttributesStoragePartSerializer(keyCompressor), AttributesStoragePart.class), 504);
 		kryo.register(AttributesSetKey.class, new SerialVersionBasedSerializer<>(new AttributesSetKeySerializer(), AttributesSetKey.class), 505);
-		kryo.register(AssociatedDataStoragePart.class, new SerialVersionBasedSerializer<>(new AssociatedDataStoragePartSerializer(keyCompressor), AssociatedDataStoragePart.class), 506);
+		final SerialVersionBasedSerializer<AssociatedDataStoragePart> associatedDataStoragePartSerializer = new SerialVersionBasedSerializer<>(
+			new AssociatedDataStoragePartSerializer(kryoSerializationHelper, keyCompressor, lazyAssociatedDataDeserialization), AssociatedDataStoragePart.class
+		);
+		associatedDataStoragePartSerializer.addBackwardCompatibleSerializer(
+			AssociatedDataStoragePartWithoutValueSizeDeserializer.SERIAL_VERSION_UID, new AssociatedDataStoragePartWithoutValueSizeDeserializer()
+		);
+		kryo.register(AssociatedDataStoragePart.class, associatedDataStoragePartSerializer, 506);
 
 		kryo.register(EntityIndexStoragePart.class, new SerialVersionBasedSerializer<>(new EntityIndexStoragePartSerializer(kryoSerializationHelper, keyCompressor), EntityIndexStoragePart.class), 520);
 		kryo.register(UniqueIndexStoragePart.class, new SerialVersionBasedSerializer<>(new UniqueIndexStoragePartSerializer(keyCompressor), UniqueIndexStoragePart.class), 521);
@@ -81,14 +92,28 @@ public class StoragePartConfigurer implements Consumer<Kryo> {
 		kryo.register(TransactionalRangePoint.class, new SerialVersionBasedSerializer<>(new TransactionalIntRangePointSerializer(), TransactionalRangePoint.class), 527);
 		kryo.register(EntityIndexType.class, new EnumNameSerializer<>(kryoSerializationHelper), 528);
 		kryo.register(AttributeIndexType.class, new EnumNameSerializer<>(kryoSerializationHelper), 529);
-		kryo.register(TransactionalBitmap.class, new SerialVersionBasedSerializer<>(new TransactionalIntegerBitmapSerializer(), TransactionalBitmap.class), 530);
+		final SerialVersionBasedSerializer<TransactionalBitmap> transactionalBitmapSerializer = new SerialVersionBasedSerializer<>(
+			new TransactionalIntegerBitmapSerializer(deferredBitmapDeserialization), TransactionalBitmap.class
+		);
+		transactionalBitmapSerializer.addBackwardCompatibleSerializer(
+			TransactionalBitmapWithoutSizeDeserializer.SERIAL_VERSION_UID, new TransactionalBitmapWithoutSizeDeserializer()
+		);
+		kryo.register(TransactionalBitmap.class, transactionalBitmapSerializer, 530);
 		kryo.register(CompressiblePriceKey.class, new CompressiblePriceKeySerializer(kryoSerializationHelper), 531);
 		kryo.register(PriceIndexKey.class, new SerialVersionBasedSerializer<>(new PriceIndexKeySerializer(kryoSerializationHelper), PriceIndexKey.class), 532);
-		kryo.register(PriceListAndCurrencySuperIndexStoragePart.class, new SerialVersionBasedSerializer<>(new PriceListAndCurrencySuperIndexStoragePartSerializer(keyCompressor), PriceListAndCurrencySuperIndexStoragePart.class), 533);
+		final SerialVersionBasedSerializer<PriceListAndCurrencySuperIndexStoragePart> priceSuperIndexStoragePartSerializer = new SerialVersionBasedSerializer<>(
+			new PriceListAndCurrencySuperIndexStoragePartSerializer(keyCompressor), PriceListAndCurrencySuperIndexStoragePart.class
+		);
+		priceSuperIndexStoragePartSerializer.addBackwardCompatibleSerializer(
+			PriceListAndCurrencySuperIndexStoragePartWithInlineRecordsDeserializer.SERIAL_VERSION_UID, new PriceListAndCurrencySuperIndexStoragePartWithInlineRecordsDeserializer(keyCompressor)
+		);
+		kryo.register(PriceListAndCurrencySuperIndexStoragePart.class, priceSuperIndexStoragePartSerializer, 533);
 		kryo.register(PriceListAndCurrencyRefIndexStoragePart.class, new SerialVersionBasedSerializer<>(new PriceListAndCurrencyRefIndexStoragePartSerializer(keyCompressor), PriceListAndCurrencyRefIndexStoragePart.class), 534);
 		kryo.register(HierarchyIndexStoragePart.class, new SerialVersionBasedSerializer<>(new HierarchyIndexStorgePartSerializer(), HierarchyIndexStoragePart.class), 535);
 		kryo.register(FacetIndexStoragePart.class, new SerialVersionBasedSerializer<>(new FacetIndexStoragePartSerializer(keyCompressor), FacetIndexStoragePart.class), 536);
 		kryo.register(PriceWithInternalIds.class, new SerialVersionBasedSerializer<>(new PriceWithInternalIdsSerializer(keyCompressor), PriceWithInternalIds.class), 537);
+		kryo.register(PriceListAndCurrencySuperIndexChunkStoragePart.class, new SerialVersionBasedSerializer<>(new PriceListAndCurrencySuperIndexChunkStoragePartSerializer(keyCompressor), PriceListAndCurrencySuperIndexChunkStoragePart.class), 538);
+		kryo.register(HierarchyRollUpIndexStoragePart.class, new SerialVersionBasedSerializer<>(new HierarchyRollUpIndexStoragePartSerializer(), HierarchyRollUpIndexStoragePart.class), 539);
 	}
 
 }
\ No newline at end of file
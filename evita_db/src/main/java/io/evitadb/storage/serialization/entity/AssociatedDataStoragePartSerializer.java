@@ -26,38 +26,123 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import io.evitadb.api.data.AssociatedDataContract.AssociatedDataKey;
 import io.evitadb.api.data.AssociatedDataContract.AssociatedDataValue;
 import io.evitadb.api.serialization.KeyCompressor;
+import io.evitadb.api.serialization.utils.KryoSerializationHelper;
+import io.evitadb.storage.MemTable.MemTableKryoPool;
+import io.evitadb.storage.kryo.VersionedKryo;
 import io.evitadb.storage.model.storageParts.entity.AssociatedDataStoragePart;
 import lombok.RequiredArgsConstructor;
 
+import java.io.Serializable;
+
 import static java.util.Optional.ofNullable;
 
 /**
  * This {@link Serializer} implementation reads/writes {@link AssociatedDataStoragePart} from/to binary format.
  *
+ * The value of the associated data is stored prefixed by its size in bytes. When the {@link #lazyDeserialization}
+ * is enabled the value is kept in its serialized form (see {@link AssociatedDataValue#getSerializedValue()}) and it's
+ * deserialized only when the value is really accessed.
+ *
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2021
  */
 @RequiredArgsConstructor
 public class AssociatedDataStoragePartSerializer extends Serializer<AssociatedDataStoragePart> {
+	/**
+	 * Initial size of the buffer the value is serialized to before it's written to the output.
+	 */
+	private static final int VALUE_BUFFER_SIZE = 512;
+	private final KryoSerializationHelper kryoSerializationHelper;
 	private final KeyCompressor keyCompressor;
+	/**
+	 * Controls whether the read values are kept in serialized form until they're accessed.
+	 */
+	private final boolean lazyDeserialization;
 
 	@Override
 	public void write(Kryo kryo, Output output, AssociatedDataStoragePart object) {
 		final long uniqueId = ofNullable(object.getUniquePartId()).orElseGet(() -> object.computeUniquePartIdAndSet(keyCompressor));
 		output.writeLong(uniqueId);
 		output.writeInt(object.getEntityPrimaryKey());
-		kryo.writeObject(output, object.getValue());
+
+		final AssociatedDataValue associatedDataValue = object.getValue();
+		output.writeVarInt(associatedDataValue.getVersion(), true);
+		output.writeVarInt(keyCompressor.getId(associatedDataValue.getKey()), true);
+		output.writeBoolean(associatedDataValue.isDropped());
+		// value that hasn't been deserialized yet is written as it is
+		final byte[] serializedValue = ofNullable(associatedDataValue.getSerializedValue())
+			.orElseGet(() -> serializeValue(kryo, associatedDataValue.getValue()));
+		output.writeVarInt(serializedValue.length, true);
+		output.writeBytes(serializedValue);
 	}
 
 	@Override
 	public AssociatedDataStoragePart read(Kryo kryo, Input input, Class<? extends AssociatedDataStoragePart> type) {
 		final long uniquePartId = input.readLong();
 		final int entityPrimaryKey = input.readInt();
-		final AssociatedDataValue associatedDataValue = kryo.readObject(input, AssociatedDataValue.class);
+
+		final int version = input.readVarInt(true);
+		final AssociatedDataKey key = keyCompressor.getKeyForId(input.readVarInt(true));
+		final boolean dropped = input.readBoolean();
+		final int serializedSize = input.readVarInt(true);
+		// deferred deserialization requires the pool to borrow Kryo instance from when the value is accessed
+		final MemTableKryoPool kryoPool = lazyDeserialization && kryo instanceof VersionedKryo ?
+			((VersionedKryo) kryo).getPool() : null;
+		final AssociatedDataValue associatedDataValue;
+		if (kryoPool == null) {
+			associatedDataValue = new AssociatedDataValue(
+				version, key, kryoSerializationHelper.readSerializable(kryo, input), dropped
+			);
+		} else {
+			associatedDataValue = new AssociatedDataValue(
+				version, key, input.readBytes(serializedSize),
+				serializedValue -> kryoPool.borrowAndExecute(
+					theKryo -> kryoSerializationHelper.readSerializable(theKryo, new Input(serializedValue))
+				),
+				dropped
+			);
+		}
 		return new AssociatedDataStoragePart(
 			uniquePartId, entityPrimaryKey, associatedDataValue
 		);
 	}
 
+	/**
+	 * Serializes the value of the associated data to the separate byte array.
+	 */
+	private byte[] serializeValue(Kryo kryo, Serializable value) {
+		final Output valueOutput = new Output(VALUE_BUFFER_SIZE, -1);
+		kryoSerializationHelper.writeSerializable(kryo, valueOutput, value);
+		return valueOutput.toBytes();
+	}
+
+	/**
+	 * This {@link Serializer} implementation reads {@link AssociatedDataStoragePart} stored in the format used before
+	 * the value of the associated data was prefixed with its size.
+	 */
+	public static class AssociatedDataStoragePartWithoutValueSizeDeserializer extends Serializer<AssociatedDataStoragePart> {
+		/**
+		 * The `serialVersionUID` of the {@link AssociatedDataStoragePart} stored in this format.
+		 */
+		public static final long SERIAL_VERSION_UID = -1368845012702768956L;
+
+		@Override
+		public void write(Kryo kryo, Output output, AssociatedDataStoragePart object) {
+			throw new UnsupportedOperationException("Old format is not supported for writing!");
+		}
+
+		@Override
+		public AssociatedDataStoragePart read(Kryo kryo, Input input, Class<? extends AssociatedDataStoragePart> type) {
+			final long uniquePartId = input.readLong();
+			final int entityPrimaryKey = input.readInt();
+			final AssociatedDataValue associatedDataValue = kryo.readObject(input, AssociatedDataValue.class);
+			return new AssociatedDataStoragePart(
+				uniquePartId, entityPrimaryKey, associatedDataValue
+			);
+		}
+
+	}
+
 }
@@ -0,0 +1,77 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.storage.serialization.index;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import io.evitadb.index.bitmap.BaseBitmap;
+import io.evitadb.index.bitmap.Bitmap;
+import io.evitadb.storage.model.storageParts.index.HierarchyRollUpIndexStoragePart;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static io.evitadb.api.utils.CollectionUtils.createHashMap;
+
+/**
+ * This {@link Serializer} implementation reads/writes {@link HierarchyRollUpIndexStoragePart} from/to binary format.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public class HierarchyRollUpIndexStoragePartSerializer extends Serializer<HierarchyRollUpIndexStoragePart> {
+
+	@Override
+	public void write(Kryo kryo, Output output, HierarchyRollUpIndexStoragePart storagePart) {
+		output.writeVarInt(storagePart.getEntityIndexPrimaryKey(), true);
+		output.writeBoolean(storagePart.isComplete());
+
+		final Map<Integer, Bitmap> nodeEntityIds = storagePart.getNodeEntityIds();
+		output.writeVarInt(nodeEntityIds.size(), true);
+		for (Entry<Integer, Bitmap> entry : nodeEntityIds.entrySet()) {
+			output.writeInt(entry.getKey());
+			final int[] entityIds = entry.getValue().getArray();
+			output.writeVarInt(entityIds.length, true);
+			output.writeInts(entityIds, 0, entityIds.length);
+		}
+	}
+
+	@Override
+	public HierarchyRollUpIndexStoragePart read(Kryo kryo, Input input, Class<? extends HierarchyRollUpIndexStoragePart> type) {
+		final int entityIndexPrimaryKey = input.readVarInt(true);
+		final boolean complete = input.readBoolean();
+
+		final int nodeCount = input.readVarInt(true);
+		final Map<Integer, Bitmap> nodeEntityIds = createHashMap(nodeCount);
+		for (int i = 0; i < nodeCount; i++) {
+			final int nodeId = input.readInt();
+			final int entityIdsCount = input.readVarInt(true);
+			final int[] entityIds = input.readInts(entityIdsCount);
+			nodeEntityIds.put(nodeId, new BaseBitmap(entityIds));
+		}
+
+		return new HierarchyRollUpIndexStoragePart(entityIndexPrimaryKey, nodeEntityIds, complete);
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.storage.serialization.index;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import io.evitadb.api.serialization.KeyCompressor;
+import io.evitadb.api.utils.Assert;
+import io.evitadb.index.price.model.PriceIndexKey;
+import io.evitadb.index.price.model.priceRecord.PriceRecord;
+import io.evitadb.index.price.model.priceRecord.PriceRecordContract;
+import io.evitadb.index.price.model.priceRecord.PriceRecordInnerRecordSpecific;
+import io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexChunkStoragePart;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * This {@link Serializer} implementation reads/writes {@link PriceListAndCurrencySuperIndexChunkStoragePart} from/to binary format.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@RequiredArgsConstructor
+public class PriceListAndCurrencySuperIndexChunkStoragePartSerializer extends Serializer<PriceListAndCurrencySuperIndexChunkStoragePart> {
+	private final KeyCompressor keyCompressor;
+
+	@Override
+	public void write(Kryo kryo, Output output, PriceListAndCurrencySuperIndexChunkStoragePart priceIndex) {
+		output.writeInt(priceIndex.getEntityIndexPrimaryKey());
+		final Long uniquePartId = priceIndex.getUniquePartId();
+		Assert.notNull(uniquePartId, "Unique part id should have been computed by now!");
+		output.writeVarLong(uniquePartId, true);
+		output.writeVarInt(keyCompressor.getId(priceIndex.getPriceIndexKey()), true);
+
+		output.writeVarInt(priceIndex.getChunkId(), true);
+
+		final PriceRecordContract[] triples = priceIndex.getPriceRecords();
+		final int tripleCount = triples.length;
+		output.writeInt(tripleCount, true);
+		for (PriceRecordContract priceRecord : triples) {
+			if (priceRecord instanceof PriceRecord) {
+				output.writeBoolean(true);
+				output.writeInt(priceRecord.getInternalPriceId());
+				output.writeInt(priceRecord.getPriceId());
+				output.writeInt(priceRecord.getEntityPrimaryKey());
+				output.writeInt(priceRecord.getPriceWithVat(), true);
+				output.writeInt(priceRecord.getPriceWithoutVat(), true);
+			} else if (priceRecord instanceof PriceRecordInnerRecordSpecific) {
+				output.writeBoolean(false);
+				output.writeInt(priceRecord.getInternalPriceId());
+				output.writeInt(priceRecord.getPriceId());
+				output.writeInt(priceRecord.getEntityPrimaryKey());
+				output.writeInt(priceRecord.getInnerRecordId());
+				output.writeInt(priceRecord.getPriceWithVat(), true);
+				output.writeInt(priceRecord.getPriceWithoutVat(), true);
+			} else {
+				throw new IllegalStateException("Unknown implementation `" + priceRecord.getClass() + "` of PriceRecordContract!");
+			}
+		}
+	}
+
+	@Override
+	public PriceListAndCurrencySuperIndexChunkStoragePart read(Kryo kryo, Input input, Class<? extends PriceListAndCurrencySuperIndexChunkStoragePart> type) {
+		final int entityIndexPrimaryKey = input.readInt();
+		final long uniquePartId = input.readVarLong(true);
+		final PriceIndexKey priceIndexKey = keyCompressor.getKeyForId(input.readVarInt(true));
+
+		final int chunkId = input.readVarInt(true);
+
+		final int tripleCount = input.readInt(true);
+		final PriceRecordContract[] priceRecords = new PriceRecordContract[tripleCount];
+		for (int i = 0; i < tripleCount; i++) {
+			final boolean thinPriceRecord = input.readBoolean();
+			if (thinPriceRecord) {
+				priceRecords[i] = new PriceRecord(
+					input.readInt(),
+					input.readInt(),
+					input.readInt(),
+					input.readInt(true),
+					input.readInt(true)
+				);
+			} else {
+				priceRecords[i] = new PriceRecordInnerRecordSpecific(
+					input.readInt(),
+					input.readInt(),
+					input.readInt(),
+					input.readInt(),
+					input.readInt(true),
+					input.readInt(true)
+				);
+			}
+		}
+
+		return new PriceListAndCurrencySuperIndexChunkStoragePart(
+			entityIndexPrimaryKey, priceIndexKey, chunkId, priceRecords, uniquePartId
+		);
+	}
+
+}
@@ -55,29 +55,9 @@ public class PriceListAndCurrencySuperIndexStoragePartSerializer extends Seriali
 
 		kryo.writeObject(output, priceIndex.getValidityIndex());
 
-		final PriceRecordContract[] triples = priceIndex.getPriceRecords();
-		final int tripleCount = triples.length;
-		output.writeInt(tripleCount, true);
-		for (PriceRecordContract priceRecord : triples) {
-			if (priceRecord instanceof PriceRecord) {
-				output.writeBoolean(true);
-				output.writeInt(priceRecord.getInternalPriceId());
-				output.writeInt(priceRecord.getPriceId());
-				output.writeInt(priceRecord.getEntityPrimaryKey());
-				output.writeInt(priceRecord.getPriceWithVat(), true);
-				output.writeInt(priceRecord.getPriceWithoutVat(), true);
-			} else if (priceRecord instanceof PriceRecordInnerRecordSpecific) {
-				output.writeBoolean(false);
-				output.writeInt(priceRecord.getInternalPriceId());
-				output.writeInt(priceRecord.getPriceId());
-				output.writeInt(priceRecord.getEntityPrimaryKey());
-				output.writeInt(priceRecord.getInnerRecordId());
-				output.writeInt(priceRecord.getPriceWithVat(), true);
-				output.writeInt(priceRecord.getPriceWithoutVat(), true);
-			} else {
-				throw new IllegalStateException("Unknown implementation `" + priceRecord.getClass() + "` of PriceRecordContract!");
-			}
-		}
+		final int[] chunkIds = priceIndex.getChunkIds();
+		output.writeVarInt(chunkIds.length, true);
+		output.writeInts(chunkIds, 0, chunkIds.length, true);
 	}
 
 	@Override
@@ -88,33 +68,69 @@ public class PriceListAndCurrencySuperIndexStoragePartSerializer extends Seriali
 
 		final RangeIndex validityIndex = kryo.readObject(input, RangeIndex.class);
 
-		final int tripleCount = input.readInt(true);
-		final PriceRecordContract[] priceRecords = new PriceRecordContract[tripleCount];
-		for (int i = 0; i < tripleCount; i++) {
-			final boolean thinPriceRecord = input.readBoolean();
-			if (thinPriceRecord) {
-				priceRecords[i] = new PriceRecord(
-					input.readInt(),
-					input.readInt(),
-					input.readInt(),
-					input.readInt(true),
-					input.readInt(true)
-				);
-			} else {
-				priceRecords[i] = new PriceRecordInnerRecordSpecific(
-					input.readInt(),
-					input.readInt(),
-					input.readInt(),
-					input.readInt(),
-					input.readInt(true),
-					input.readInt(true)
-				);
-			}
-		}
+		final int chunkCount = input.readVarInt(true);
+		final int[] chunkIds = input.readInts(chunkCount, true);
 
 		return new PriceListAndCurrencySuperIndexStoragePart(
-			entityIndexPrimaryKey, priceIndexKey, validityIndex, priceRecords, uniquePartId
+			entityIndexPrimaryKey, priceIndexKey, validityIndex, chunkIds, uniquePartId
 		);
 	}
 
+	/**
+	 * This {@link Serializer} implementation reads {@link PriceListAndCurrencySuperIndexStoragePart} stored in the format
+	 * used before the price records were split into separate
+	 * {@link io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexChunkStoragePart chunks}.
+	 */
+	@RequiredArgsConstructor
+	public static class PriceListAndCurrencySuperIndexStoragePartWithInlineRecordsDeserializer extends Serializer<PriceListAndCurrencySuperIndexStoragePart> {
+		/**
+		 * The `serialVersionUID` of the {@link PriceListAndCurrencySuperIndexStoragePart} stored in this format.
+		 */
+		public static final long SERIAL_VERSION_UID = -7553613939380658772L;
+		private final KeyCompressor keyCompressor;
+
+		@Override
+		public void write(Kryo kryo, Output output, PriceListAndCurrencySuperIndexStoragePart object) {
+			throw new UnsupportedOperationException("Old format is not supported for writing!");
+		}
+
+		@Override
+		public PriceListAndCurrencySuperIndexStoragePart read(Kryo kryo, Input input, Class<? extends PriceListAndCurrencySuperIndexStoragePart> type) {
+			final int entityIndexPrimaryKey = input.readInt();
+			final long uniquePartId = input.readVarLong(true);
+			final PriceIndexKey priceIndexKey = keyCompressor.getKeyForId(input.readVarInt(true));
+
+			final RangeIndex validityIndex = kryo.readObject(input, RangeIndex.class);
+
+			final int tripleCount = input.readInt(true);
+			final PriceRecordContract[] priceRecords = new PriceRecordContract[tripleCount];
+			for (int i = 0; i < tripleCount; i++) {
+				final boolean thinPriceRecord = input.readBoolean();
+				if (thinPriceRecord) {
+					priceRecords[i] = new PriceRecord(
+						input.readInt(),
+						input.readInt(),
+						input.readInt(),
+						input.readInt(true),
+						input.readInt(true)
+					);
+				} else {
+					priceRecords[i] = new PriceRecordInnerRecordSpecific(
+						input.readInt(),
+						input.readInt(),
+						input.readInt(),
+						input.readInt(),
+						input.readInt(true),
+						input.readInt(true)
+					);
+				}
+			}
+
+			return new PriceListAndCurrencySuperIndexStoragePart(
+				entityIndexPrimaryKey, priceIndexKey, validityIndex, priceRecords, uniquePartId
+			);
+		}
+
+	}
+
 }
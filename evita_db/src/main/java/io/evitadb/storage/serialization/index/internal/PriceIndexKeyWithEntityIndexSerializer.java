@@ -0,0 +1,52 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.storage.serialization.index.internal;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import io.evitadb.index.price.model.PriceIndexKey;
+import io.evitadb.storage.model.storageParts.index.PriceIndexKeyWithEntityIndex;
+
+/**
+ * This {@link Serializer} implementation reads/writes {@link PriceIndexKeyWithEntityIndex} from/to binary format.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public class PriceIndexKeyWithEntityIndexSerializer extends Serializer<PriceIndexKeyWithEntityIndex> {
+
+	@Override
+	public void write(Kryo kryo, Output output, PriceIndexKeyWithEntityIndex priceIndexKeyWithEntityIndex) {
+		output.writeVarInt(priceIndexKeyWithEntityIndex.getEntityIndexPrimaryKey(), true);
+		kryo.writeObject(output, priceIndexKeyWithEntityIndex.getPriceIndexKey());
+	}
+
+	@Override
+	public PriceIndexKeyWithEntityIndex read(Kryo kryo, Input input, Class<? extends PriceIndexKeyWithEntityIndex> type) {
+		final int entityIndexPrimaryKey = input.readVarInt(true);
+		final PriceIndexKey priceIndexKey = kryo.readObject(input, PriceIndexKey.class);
+		return new PriceIndexKeyWithEntityIndex(entityIndexPrimaryKey, priceIndexKey);
+	}
+
+}
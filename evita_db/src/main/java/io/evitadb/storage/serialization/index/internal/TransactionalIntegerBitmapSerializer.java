@@ -26,42 +26,98 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.KryoDataInput;
-import com.esotericsoftware.kryo.io.KryoDataOutput;
 import com.esotericsoftware.kryo.io.Output;
 import io.evitadb.index.bitmap.BaseBitmap;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.RoaringBitmapBackedBitmap;
 import io.evitadb.index.bitmap.TransactionalBitmap;
 import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Class handles Kryo (de)serialization of {@link Bitmap} instances.
  *
+ * Bitmap is stored in the portable RoaringBitmap format prefixed by its size in bytes. When the
+ * {@link #deferredDeserialization} is enabled the read bitmap is kept in its serialized form (see
+ * {@link TransactionalBitmap#TransactionalBitmap(ImmutableRoaringBitmap)}) and the on-heap {@link RoaringBitmap}
+ * is materialized only when it's really needed. The serialized form is copied to the heap, because the records are
+ * read through the buffered {@link io.evitadb.storage.kryo.ObservableInput} that verifies their checksums - there is
+ * no memory-mapped file region the bitmap could point to.
+ *
+ * Bitmaps stored before the size prefix was introduced are read by {@link TransactionalBitmapWithoutSizeDeserializer}.
+ *
  * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2021
  */
 public class TransactionalIntegerBitmapSerializer extends Serializer<TransactionalBitmap> {
+	/**
+	 * Controls whether the read bitmaps are kept in serialized form until they're materialized on demand.
+	 */
+	private final boolean deferredDeserialization;
+
+	public TransactionalIntegerBitmapSerializer() {
+		this.deferredDeserialization = false;
+	}
+
+	public TransactionalIntegerBitmapSerializer(boolean deferredDeserialization) {
+		this.deferredDeserialization = deferredDeserialization;
+	}
 
 	@Override
 	public void write(Kryo kryo, Output output, TransactionalBitmap bitmap) {
 		final RoaringBitmap roaringBitmap = RoaringBitmapBackedBitmap.getRoaringBitmap(bitmap);
-		try {
-			roaringBitmap.serialize(new KryoDataOutput(output));
-		} catch (IOException e) {
-			throw new IllegalStateException("Cannot store bitmap!", e);
-		}
+		// the bytes must be in the portable format so that they can be read by ImmutableRoaringBitmap directly
+		final byte[] serializedBitmap = new byte[roaringBitmap.serializedSizeInBytes()];
+		roaringBitmap.serialize(ByteBuffer.wrap(serializedBitmap));
+		output.writeVarInt(serializedBitmap.length, true);
+		output.writeBytes(serializedBitmap);
 	}
 
 	@Override
 	public TransactionalBitmap read(Kryo kryo, Input input, Class<? extends TransactionalBitmap> type) {
-		final RoaringBitmap bitmap = new RoaringBitmap();
-		try {
-			bitmap.deserialize(new KryoDataInput(input));
-		} catch (IOException e) {
-			throw new IllegalStateException("Cannot store bitmap!", e);
+		final int serializedSize = input.readVarInt(true);
+		final ByteBuffer serializedBitmap = ByteBuffer.wrap(input.readBytes(serializedSize));
+		if (deferredDeserialization) {
+			return new TransactionalBitmap(new ImmutableRoaringBitmap(serializedBitmap));
+		} else {
+			final RoaringBitmap bitmap = new RoaringBitmap();
+			try {
+				bitmap.deserialize(serializedBitmap);
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot store bitmap!", e);
+			}
+			return new TransactionalBitmap(new BaseBitmap(bitmap));
 		}
-		return new TransactionalBitmap(new BaseBitmap(bitmap));
+	}
+
+	/**
+	 * This {@link Serializer} implementation reads {@link TransactionalBitmap} stored in the format used before
+	 * the bitmap was prefixed with its size in bytes. Such bitmap is always deserialized eagerly.
+	 */
+	public static class TransactionalBitmapWithoutSizeDeserializer extends Serializer<TransactionalBitmap> {
+		/**
+		 * The `serialVersionUID` of the {@link TransactionalBitmap} stored in this format.
+		 */
+		public static final long SERIAL_VERSION_UID = -6212206620911046989L;
+
+		@Override
+		public void write(Kryo kryo, Output output, TransactionalBitmap object) {
+			throw new UnsupportedOperationException("Old format is not supported for writing!");
+		}
+
+		@Override
+		public TransactionalBitmap read(Kryo kryo, Input input, Class<? extends TransactionalBitmap> type) {
+			final RoaringBitmap bitmap = new RoaringBitmap();
+			try {
+				bitmap.deserialize(new KryoDataInput(input));
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot store bitmap!", e);
+			}
+			return new TransactionalBitmap(new BaseBitmap(bitmap));
+		}
+
 	}
 
 }
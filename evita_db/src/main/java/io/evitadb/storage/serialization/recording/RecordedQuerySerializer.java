@@ -0,0 +1,70 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.storage.serialization.recording;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import io.evitadb.api.query.Query;
+import io.evitadb.query.recording.RecordedQuery;
+
+import java.util.UUID;
+
+/**
+ * This {@link Serializer} implementation reads/writes {@link RecordedQuery} from/to binary format.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public class RecordedQuerySerializer extends Serializer<RecordedQuery> {
+
+	@Override
+	public void write(Kryo kryo, Output output, RecordedQuery object) {
+		output.writeLong(object.getStartedAt());
+		output.writeLong(object.getSessionId().getMostSignificantBits());
+		output.writeLong(object.getSessionId().getLeastSignificantBits());
+		kryo.writeObject(output, object.getQuery());
+		output.writeVarLong(object.getDurationInNanos(), true);
+		final long[] phaseDurations = object.getPhaseDurationsInNanos();
+		output.writeVarInt(phaseDurations.length, true);
+		for (long phaseDuration : phaseDurations) {
+			output.writeVarLong(phaseDuration, true);
+		}
+	}
+
+	@Override
+	public RecordedQuery read(Kryo kryo, Input input, Class<? extends RecordedQuery> type) {
+		final long startedAt = input.readLong();
+		final UUID sessionId = new UUID(input.readLong(), input.readLong());
+		final Query query = kryo.readObject(input, Query.class);
+		final long durationInNanos = input.readVarLong(true);
+		final int phaseCount = input.readVarInt(true);
+		final long[] phaseDurations = new long[phaseCount];
+		for (int i = 0; i < phaseCount; i++) {
+			phaseDurations[i] = input.readVarLong(true);
+		}
+		return new RecordedQuery(startedAt, sessionId, query, durationInNanos, phaseDurations);
+	}
+
+}
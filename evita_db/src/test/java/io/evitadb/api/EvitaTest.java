@@ -31,14 +31,21 @@ import io.evitadb.api.data.EntityEditor.EntityBuilder;
 import io.evitadb.api.data.EntityReferenceContract;
 import io.evitadb.api.data.PriceInnerRecordHandling;
 import io.evitadb.api.data.SealedEntity;
+import io.evitadb.api.data.mutation.EntityMutation;
 import io.evitadb.api.data.structure.EntityReference;
+import io.evitadb.api.exception.InvalidSchemaMutationException;
+import io.evitadb.api.exception.RollbackException;
+import io.evitadb.api.exception.TransactionException;
 import io.evitadb.api.io.EvitaResponseBase;
+import io.evitadb.api.query.FilterConstraint;
 import io.evitadb.api.query.Query;
 import io.evitadb.api.schema.ReferenceSchemaBuilder;
 import io.evitadb.api.utils.ArrayUtils;
 import io.evitadb.index.EntityIndex;
 import io.evitadb.index.EntityIndexKey;
 import io.evitadb.index.EntityIndexType;
+import io.evitadb.index.HierarchyRollUpEntityIndex;
+import io.evitadb.query.response.QueryTelemetry;
 import io.evitadb.sequence.SequenceService;
 import io.evitadb.test.Entities;
 import io.evitadb.test.TestFileSupport;
@@ -48,7 +55,15 @@ import org.junit.jupiter.api.Test;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 
 import static io.evitadb.api.query.QueryConstraints.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -61,6 +76,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class EvitaTest implements TestFileSupport {
 	public static final String ATTRIBUTE_EAN = "ean";
 	public static final String ATTRIBUTE_CATEGORY_PRIORITY = "categoryPriority";
+	public static final String ATTRIBUTE_BRAND_PRIORITY = "brandPriority";
 	private static final String TEST_CATALOG = "testCatalog";
 	private static final Currency CURRENCY_CZK = Currency.getInstance("CZK");
 	private static final Currency CURRENCY_EUR = Currency.getInstance("EUR");
@@ -416,6 +432,214 @@ class EvitaTest implements TestFileSupport {
 		);
 	}
 
+	@Test
+	void shouldRejectChangingReducedIndexScopeOfNonEmptyCollection() {
+		evita.updateCatalog(
+			TEST_CATALOG,
+			session -> {
+				session
+					.defineSchema(Entities.BRAND)
+					.applyChanges();
+
+				session.upsertEntity(session.createNewEntity(Entities.BRAND, 1));
+
+				session
+					.defineSchema(Entities.PRODUCT)
+					.withAttribute(ATTRIBUTE_EAN, String.class, thatIs -> thatIs.filterable())
+					.withReferenceToEntity(Entities.BRAND, ReferenceSchemaBuilder::indexed)
+					.applyChanges();
+
+				session.upsertEntity(session.createNewEntity(Entities.PRODUCT, 1).setReference(Entities.BRAND, 1));
+
+				assertThrows(
+					InvalidSchemaMutationException.class,
+					() -> session
+						.defineSchema(Entities.PRODUCT)
+						.withReferenceToEntity(Entities.BRAND, thatIs -> thatIs.withReducedIndexAttributes(ATTRIBUTE_EAN))
+						.applyChanges()
+				);
+
+				// other changes of the reference are still allowed
+				session
+					.defineSchema(Entities.PRODUCT)
+					.withReferenceToEntity(Entities.BRAND, thatIs -> thatIs.withAttribute(ATTRIBUTE_BRAND_PRIORITY, Long.class))
+					.applyChanges();
+
+				assertTrue(session.getEntitySchema(Entities.PRODUCT).getReference(Entities.BRAND).isReducedIndexComplete());
+			}
+		);
+	}
+
+	@Test
+	void shouldReturnSameResultsWithCompleteReducedIndex() {
+		assertQueriesTargetingReducedIndexes(UnaryOperator.identity());
+	}
+
+	@Test
+	void shouldReturnSameResultsWithReducedIndexWithoutAttributes() {
+		assertQueriesTargetingReducedIndexes(ReferenceSchemaBuilder::withReducedIndexAttributes);
+	}
+
+	@Test
+	void shouldReturnSameResultsWithReducedIndexWithoutPrices() {
+		assertQueriesTargetingReducedIndexes(ReferenceSchemaBuilder::withoutReducedIndexPrices);
+	}
+
+	@Test
+	void shouldReturnSameResultsWithReducedIndexWithoutFacets() {
+		assertQueriesTargetingReducedIndexes(ReferenceSchemaBuilder::withoutReducedIndexFacets);
+	}
+
+	@Test
+	void shouldMaintainHierarchyRollUpIndexWhenReferencesAreInsertedAndRemoved() {
+		evita.updateCatalog(
+			TEST_CATALOG,
+			session -> {
+				setUpProductsInRolledUpCategories(session, 1);
+
+				final EntityCollection productCollection = session.catalog.getCollectionForEntity(Entities.PRODUCT);
+				final HierarchyRollUpEntityIndex firstRollUp = getHierarchyRollUpIndex(productCollection, 1);
+				assertNotNull(firstRollUp);
+				assertTrue(firstRollUp.isComplete());
+				assertArrayEquals(new int[]{1, 2, 4}, firstRollUp.getAllPrimaryKeys().getArray());
+				assertArrayEquals(new int[]{4}, firstRollUp.getNodeEntityIds(1).getArray());
+				assertArrayEquals(new int[]{1}, firstRollUp.getNodeEntityIds(3).getArray());
+				assertArrayEquals(new int[]{2, 4}, firstRollUp.getNodeEntityIds(4).getArray());
+				assertTrue(firstRollUp.getFilterIndex(new AttributeKey(ATTRIBUTE_EAN)).getAllRecords().contains(2));
+				assertArrayEquals(new int[]{3}, getHierarchyRollUpIndex(productCollection, 2).getAllPrimaryKeys().getArray());
+				// nodes on other levels don't maintain roll-up indexes
+				assertNull(getHierarchyRollUpIndex(productCollection, 3));
+
+				// product still references other node of the sub-tree
+				session.upsertEntity(
+					session.getEntity(Entities.PRODUCT, 4, fullEntity()).open().removeReference(Entities.CATEGORY, 4)
+				);
+				assertArrayEquals(new int[]{1, 2, 4}, getHierarchyRollUpIndex(productCollection, 1).getAllPrimaryKeys().getArray());
+				assertArrayEquals(new int[]{2}, getHierarchyRollUpIndex(productCollection, 1).getNodeEntityIds(4).getArray());
+
+				// product leaves the sub-tree completely
+				session.upsertEntity(
+					session.getEntity(Entities.PRODUCT, 4, fullEntity()).open().removeReference(Entities.CATEGORY, 1)
+				);
+				assertArrayEquals(new int[]{1, 2}, getHierarchyRollUpIndex(productCollection, 1).getAllPrimaryKeys().getArray());
+				assertFalse(getHierarchyRollUpIndex(productCollection, 1).getFilterIndex(new AttributeKey(ATTRIBUTE_EAN)).getAllRecords().contains(4));
+
+				// last product leaves the sub-tree and the roll-up index is dropped
+				session.upsertEntity(
+					session.getEntity(Entities.PRODUCT, 3, fullEntity()).open().removeReference(Entities.CATEGORY, 5)
+				);
+				assertNull(getHierarchyRollUpIndex(productCollection, 2));
+
+				// product enters the sub-tree again
+				session.upsertEntity(
+					session.getEntity(Entities.PRODUCT, 3, fullEntity()).open().setReference(Entities.CATEGORY, 4)
+				);
+				assertArrayEquals(new int[]{1, 2, 3}, getHierarchyRollUpIndex(productCollection, 1).getAllPrimaryKeys().getArray());
+				assertTrue(getHierarchyRollUpIndex(productCollection, 1).getFilterIndex(new AttributeKey(ATTRIBUTE_EAN)).getAllRecords().contains(3));
+			}
+		);
+	}
+
+	@Test
+	void shouldMoveEntitiesBetweenHierarchyRollUpIndexesWhenHierarchyChanges() {
+		evita.updateCatalog(
+			TEST_CATALOG,
+			session -> {
+				setUpProductsInRolledUpCategories(session, 1);
+
+				// move the sub-tree of category 3 under category 2
+				session.upsertEntity(
+					session.getEntity(Entities.CATEGORY, 3, fullEntity()).open().setHierarchicalPlacement(2, 2)
+				);
+
+				final EntityCollection productCollection = session.catalog.getCollectionForEntity(Entities.PRODUCT);
+				assertArrayEquals(new int[]{4}, getHierarchyRollUpIndex(productCollection, 1).getAllPrimaryKeys().getArray());
+				assertTrue(getHierarchyRollUpIndex(productCollection, 1).getNodes().contains(1));
+				assertArrayEquals(new int[]{1, 2, 3, 4}, getHierarchyRollUpIndex(productCollection, 2).getAllPrimaryKeys().getArray());
+				assertArrayEquals(new int[]{2, 4}, getHierarchyRollUpIndex(productCollection, 2).getNodeEntityIds(4).getArray());
+				assertTrue(getHierarchyRollUpIndex(productCollection, 1).isComplete());
+				assertTrue(getHierarchyRollUpIndex(productCollection, 2).isComplete());
+
+				assertArrayEquals(new int[]{4}, queryProducts(session, withinHierarchy(Entities.CATEGORY, 1)));
+				assertArrayEquals(new int[]{1, 2, 3, 4}, queryProducts(session, withinHierarchy(Entities.CATEGORY, 2)));
+				assertArrayEquals(new int[]{2, 4}, queryProducts(session, and(withinHierarchy(Entities.CATEGORY, 2), eq(ATTRIBUTE_EAN, "B"))));
+			}
+		);
+	}
+
+	@Test
+	void shouldSelectHierarchyRollUpIndexForQueriesTargetingWholeSubTree() {
+		evita.updateCatalog(
+			TEST_CATALOG,
+			session -> {
+				setUpProductsInRolledUpCategories(session, 1);
+
+				assertArrayEquals(new int[]{1, 2, 4}, queryProducts(session, withinHierarchy(Entities.CATEGORY, 1)));
+				assertTrue(getSelectedIndex(session, withinHierarchy(Entities.CATEGORY, 1)).contains("REFERENCED_HIERARCHY_ROLL_UP of node 1"));
+
+				// roll-up index contains superset of the requested entities - the result must be the same with any index
+				assertArrayEquals(new int[]{1, 4}, queryProducts(session, withinHierarchy(Entities.CATEGORY, 1, excluding(4))));
+				// product 4 references both the root and the node of its sub-tree
+				assertArrayEquals(new int[]{1, 2, 4}, queryProducts(session, withinHierarchy(Entities.CATEGORY, 1, excludingRoot())));
+
+				// roll-up index can't be used for direct relation and for the nodes on the other levels
+				assertArrayEquals(new int[]{4}, queryProducts(session, withinHierarchy(Entities.CATEGORY, 1, directRelation())));
+				assertFalse(getSelectedIndex(session, withinHierarchy(Entities.CATEGORY, 1, directRelation())).contains("REFERENCED_HIERARCHY_ROLL_UP"));
+				assertArrayEquals(new int[]{1, 2, 4}, queryProducts(session, withinHierarchy(Entities.CATEGORY, 3)));
+				assertFalse(getSelectedIndex(session, withinHierarchy(Entities.CATEGORY, 3)).contains("REFERENCED_HIERARCHY_ROLL_UP"));
+
+				// incomplete roll-up index must not be used
+				getHierarchyRollUpIndex(session.catalog.getCollectionForEntity(Entities.PRODUCT), 1).markIncomplete();
+				assertArrayEquals(new int[]{1, 2, 4}, queryProducts(session, withinHierarchy(Entities.CATEGORY, 1)));
+				assertFalse(getSelectedIndex(session, withinHierarchy(Entities.CATEGORY, 1)).contains("REFERENCED_HIERARCHY_ROLL_UP"));
+			}
+		);
+	}
+
+	@Test
+	void shouldBackfillHierarchyRollUpIndexesWhenLevelsChange() {
+		evita.updateCatalog(
+			TEST_CATALOG,
+			session -> {
+				setUpProductsInRolledUpCategories(session);
+
+				final EntityCollection productCollection = session.catalog.getCollectionForEntity(Entities.PRODUCT);
+				assertNull(getHierarchyRollUpIndex(productCollection, 1));
+
+				session
+					.defineSchema(Entities.PRODUCT)
+					.withReferenceToEntity(Entities.CATEGORY, thatIs -> thatIs.withHierarchyRollUp(1, 2))
+					.applyChanges();
+
+				assertArrayEquals(new int[]{1, 2, 4}, getHierarchyRollUpIndex(productCollection, 1).getAllPrimaryKeys().getArray());
+				assertArrayEquals(new int[]{3}, getHierarchyRollUpIndex(productCollection, 2).getAllPrimaryKeys().getArray());
+				assertArrayEquals(new int[]{1, 2, 4}, getHierarchyRollUpIndex(productCollection, 3).getAllPrimaryKeys().getArray());
+				assertArrayEquals(new int[]{3}, getHierarchyRollUpIndex(productCollection, 5).getAllPrimaryKeys().getArray());
+				assertTrue(getHierarchyRollUpIndex(productCollection, 1).isComplete());
+				assertTrue(getHierarchyRollUpIndex(productCollection, 1).getFilterIndex(new AttributeKey(ATTRIBUTE_EAN)).getAllRecords().contains(1));
+				assertArrayEquals(new int[]{1, 2, 4}, queryProducts(session, withinHierarchy(Entities.CATEGORY, 1)));
+				assertTrue(getSelectedIndex(session, withinHierarchy(Entities.CATEGORY, 1)).contains("REFERENCED_HIERARCHY_ROLL_UP of node 1"));
+
+				// removing the level drops the roll-up indexes of its nodes
+				session
+					.defineSchema(Entities.PRODUCT)
+					.withReferenceToEntity(Entities.CATEGORY, thatIs -> thatIs.withHierarchyRollUp(1))
+					.applyChanges();
+
+				assertNotNull(getHierarchyRollUpIndex(productCollection, 1));
+				assertNull(getHierarchyRollUpIndex(productCollection, 3));
+				assertNull(getHierarchyRollUpIndex(productCollection, 5));
+
+				// removed roll-up index is no longer maintained
+				session.upsertEntity(
+					session.getEntity(Entities.PRODUCT, 3, fullEntity()).open().setReference(Entities.CATEGORY, 4)
+				);
+				assertNull(getHierarchyRollUpIndex(productCollection, 3));
+				assertArrayEquals(new int[]{1, 2, 3, 4}, getHierarchyRollUpIndex(productCollection, 1).getAllPrimaryKeys().getArray());
+			}
+		);
+	}
+
 	@Test
 	void shouldHandleQueryingEmptyCollection() {
 		evita.updateCatalog(
@@ -439,6 +663,462 @@ class EvitaTest implements TestFileSupport {
 		);
 	}
 
+	@Test
+	void shouldUpsertEntitiesInBulk() {
+		evita.updateCatalog(
+			TEST_CATALOG,
+			session -> {
+				session
+					.defineSchema(Entities.BRAND)
+					.applyChanges();
+				session
+					.defineSchema(Entities.PRODUCT)
+					.withAttribute(ATTRIBUTE_EAN, String.class, thatIs -> thatIs.unique().sortable())
+					.applyChanges();
+
+				final List<EntityMutation> mutations = new ArrayList<>();
+				for (int i = 1; i <= 20; i++) {
+					mutations.add(session.createNewEntity(Entities.BRAND, i).toMutation());
+					mutations.add(
+						session.createNewEntity(Entities.PRODUCT, i)
+							.setAttribute(ATTRIBUTE_EAN, "EAN-" + (char) ('a' + (i * 7) % 20))
+							.toMutation()
+					);
+				}
+
+				final List<EntityReference> references = session.upsertEntities(mutations);
+				assertEquals(40, references.size());
+				assertEquals(new EntityReference(Entities.BRAND, 1), references.get(0));
+				assertEquals(new EntityReference(Entities.PRODUCT, 20), references.get(39));
+
+				final int[] productsByEan = session.query(
+						Query.query(
+							entities(Entities.PRODUCT),
+							orderBy(ascending(ATTRIBUTE_EAN)),
+							require(page(1, 20))
+						),
+						EntityReferenceContract.class
+					)
+					.getRecordData()
+					.stream()
+					.mapToInt(EntityReferenceContract::getPrimaryKey)
+					.toArray();
+				assertArrayEquals(
+					IntStream.rangeClosed(1, 20)
+						.boxed()
+						.sorted(Comparator.comparing(it -> (it * 7) % 20))
+						.mapToInt(it -> it)
+						.toArray(),
+					productsByEan
+				);
+			}
+		);
+	}
+
+	@Test
+	void shouldReturnEntitiesByPrimaryKeysInRequestedOrder() {
+		evita.updateCatalog(
+			TEST_CATALOG,
+			session -> {
+				session
+					.defineSchema(Entities.PRODUCT)
+					.withAttribute(ATTRIBUTE_EAN, String.class)
+					.applyChanges();
+
+				for (int i = 1; i <= 10; i++) {
+					session.upsertEntity(
+						session.createNewEntity(Entities.PRODUCT, i)
+							.setAttribute(ATTRIBUTE_EAN, "EAN-" + i)
+					);
+				}
+				session.catalog.flush();
+			}
+		);
+
+		evita.queryCatalog(
+			TEST_CATALOG,
+			session -> {
+				final List<SealedEntity> products = session.getEntities(
+					Entities.PRODUCT, new int[]{7, 2, 99, 5}, attributes()
+				);
+				assertArrayEquals(
+					new int[]{7, 2, 5},
+					products.stream().mapToInt(SealedEntity::getPrimaryKey).toArray()
+				);
+				assertEquals("EAN-7", products.get(0).getAttribute(ATTRIBUTE_EAN));
+				assertEquals("EAN-5", products.get(2).getAttribute(ATTRIBUTE_EAN));
+				return null;
+			}
+		);
+	}
+
+	@Test
+	void shouldCommitConcurrentTransactionsModifyingDifferentCollections() throws Exception {
+		defineSchemasAndGoLive(Entities.BRAND, Entities.CATEGORY);
+
+		final CyclicBarrier barrier = new CyclicBarrier(2);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<?> brandUpdate = executor.submit(() -> upsertEntityConcurrently(Entities.BRAND, 1, barrier));
+			final Future<?> categoryUpdate = executor.submit(() -> upsertEntityConcurrently(Entities.CATEGORY, 1, barrier));
+			brandUpdate.get();
+			categoryUpdate.get();
+		} finally {
+			executor.shutdown();
+		}
+
+		evita.queryCatalog(
+			TEST_CATALOG,
+			session -> {
+				assertNotNull(session.getEntity(Entities.BRAND, 1, fullEntity()));
+				assertNotNull(session.getEntity(Entities.CATEGORY, 1, fullEntity()));
+				final CatalogCommitPipeline.CommitStatistics statistics = session.catalog.getCommitStatistics();
+				assertEquals(2, statistics.getCommitted());
+				assertEquals(0, statistics.getConflicts());
+				return null;
+			}
+		);
+	}
+
+	@Test
+	void shouldReplayConcurrentTransactionModifyingSameCollection() throws Exception {
+		defineSchemasAndGoLive(Entities.BRAND);
+
+		final CyclicBarrier barrier = new CyclicBarrier(2);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<?> firstUpdate = executor.submit(() -> upsertEntityConcurrently(Entities.BRAND, 1, barrier));
+			final Future<?> secondUpdate = executor.submit(() -> upsertEntityConcurrently(Entities.BRAND, 2, barrier));
+			firstUpdate.get();
+			secondUpdate.get();
+		} finally {
+			executor.shutdown();
+		}
+
+		evita.queryCatalog(
+			TEST_CATALOG,
+			session -> {
+				assertNotNull(session.getEntity(Entities.BRAND, 1, fullEntity()));
+				assertNotNull(session.getEntity(Entities.BRAND, 2, fullEntity()));
+				assertEquals(2, session.getEntityCollectionSize(Entities.BRAND));
+				final CatalogCommitPipeline.CommitStatistics statistics = session.catalog.getCommitStatistics();
+				assertEquals(2, statistics.getCommitted());
+				assertEquals(1, statistics.getConflicts());
+				assertEquals(0, statistics.getFailed());
+				return null;
+			}
+		);
+	}
+
+	@Test
+	void shouldRollbackReplayedTransactionWhenItsChangesCannotBeApplied() throws Exception {
+		defineSchemasAndGoLive(Entities.BRAND);
+
+		final CyclicBarrier barrier = new CyclicBarrier(2);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		int failures = 0;
+		try {
+			// both transactions create the same entity - the replay of the later one fails
+			final Future<?> firstUpdate = executor.submit(() -> upsertEntityConcurrently(Entities.BRAND, 1, barrier));
+			final Future<?> secondUpdate = executor.submit(() -> upsertEntityConcurrently(Entities.BRAND, 1, barrier));
+			for (Future<?> update : Arrays.asList(firstUpdate, secondUpdate)) {
+				try {
+					update.get();
+				} catch (ExecutionException ex) {
+					assertTrue(ex.getCause() instanceof TransactionException);
+					assertTrue(ex.getCause().getCause() instanceof RollbackException);
+					failures++;
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(1, failures);
+		evita.queryCatalog(
+			TEST_CATALOG,
+			session -> {
+				assertNotNull(session.getEntity(Entities.BRAND, 1, fullEntity()));
+				final CatalogCommitPipeline.CommitStatistics statistics = session.catalog.getCommitStatistics();
+				assertEquals(1, statistics.getCommitted());
+				assertEquals(1, statistics.getConflicts());
+				assertEquals(1, statistics.getFailed());
+				return null;
+			}
+		);
+	}
+
+	@Test
+	void shouldAssignTransactionIdsInCommitOrder() throws Exception {
+		defineSchemasAndGoLive(Entities.BRAND);
+
+		final long[] transactionIds = new long[2];
+		final EvitaSession first = evita.createReadWriteSession(TEST_CATALOG);
+		final EvitaSession second = evita.createReadWriteSession(TEST_CATALOG);
+		try {
+			first.openTransaction();
+			second.openTransaction();
+			// the second transaction is committed first even if it was opened later
+			second.upsertEntity(second.createNewEntity(Entities.BRAND, 2));
+			second.closeTransaction();
+			transactionIds[1] = second.getCatalogLastCommittedTransactionId();
+			first.upsertEntity(first.createNewEntity(Entities.BRAND, 1));
+			first.closeTransaction();
+			transactionIds[0] = first.getCatalogLastCommittedTransactionId();
+		} finally {
+			first.close();
+			second.close();
+		}
+
+		assertTrue(transactionIds[0] > transactionIds[1]);
+		evita.queryCatalog(
+			TEST_CATALOG,
+			session -> {
+				assertNotNull(session.getEntity(Entities.BRAND, 1, fullEntity()));
+				assertNotNull(session.getEntity(Entities.BRAND, 2, fullEntity()));
+				assertEquals(transactionIds[0], session.getCatalogLastCommittedTransactionId());
+				return null;
+			}
+		);
+	}
+
+	@Test
+	void shouldExportImageOfLatestCommittedVersionEvenFromOlderCatalogInstance() {
+		evita.updateCatalog(
+			TEST_CATALOG,
+			session -> {
+				session.defineSchema(Entities.BRAND).applyChanges();
+				session.upsertEntity(session.createNewEntity(Entities.BRAND, 1));
+				session.goLiveAndClose();
+			}
+		);
+		final Catalog olderCatalog = evita.queryCatalog(TEST_CATALOG, session -> session.catalog);
+		evita.updateCatalog(TEST_CATALOG, session -> {
+			session.upsertEntity(session.createNewEntity(Entities.BRAND, 2));
+		});
+		final long lastCommittedTransactionId = evita.queryCatalog(TEST_CATALOG, EvitaSession::getCatalogLastCommittedTransactionId);
+		assertNotEquals(olderCatalog.getLastCommittedTransactionId(), lastCommittedTransactionId);
+
+		final Path imageDirectory = getTestDirectory().resolve("image");
+		olderCatalog.exportImage(imageDirectory);
+
+		final Evita imageEvita = new Evita(
+			new EvitaConfiguration(),
+			new EvitaCatalogConfiguration(
+				TEST_CATALOG, imageDirectory,
+				new StorageOptions(1),
+				new CacheOptions()
+			)
+		);
+		try {
+			imageEvita.queryCatalog(
+				TEST_CATALOG,
+				session -> {
+					// the header of the image matches the records written from the latest committed version
+					assertEquals(lastCommittedTransactionId, session.getCatalogLastCommittedTransactionId());
+					assertNotNull(session.getEntity(Entities.BRAND, 1, fullEntity()));
+					assertNotNull(session.getEntity(Entities.BRAND, 2, fullEntity()));
+					return null;
+				}
+			);
+		} finally {
+			imageEvita.close();
+		}
+	}
+
+	private void defineSchemasAndGoLive(Entities... entityTypes) {
+		evita.updateCatalog(
+			TEST_CATALOG,
+			session -> {
+				for (Entities entityType : entityTypes) {
+					session.defineSchema(entityType).applyChanges();
+				}
+				session.goLiveAndClose();
+			}
+		);
+	}
+
+	private void upsertEntityConcurrently(Entities entityType, int primaryKey, CyclicBarrier barrier) {
+		evita.updateCatalog(
+			TEST_CATALOG,
+			session -> {
+				session.upsertEntity(session.createNewEntity(entityType, primaryKey));
+				// wait for the other transaction so that both of them are opened on the same catalog version
+				try {
+					barrier.await();
+				} catch (InterruptedException | BrokenBarrierException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Sets up brand reference with the reduced index scope altered by `scope` and verifies that the queries narrowed
+	 * to the brand by {@link io.evitadb.api.query.filter.ReferenceHavingAttribute} return the same results regardless
+	 * of whether they're answered from the reduced or the global index.
+	 */
+	private void assertQueriesTargetingReducedIndexes(UnaryOperator<ReferenceSchemaBuilder> scope) {
+		evita.updateCatalog(
+			TEST_CATALOG,
+			session -> {
+				session
+					.defineSchema(Entities.BRAND)
+					.applyChanges();
+
+				session.upsertEntity(session.createNewEntity(Entities.BRAND, 1));
+				session.upsertEntity(session.createNewEntity(Entities.BRAND, 2));
+
+				session
+					.defineSchema(Entities.PRODUCT)
+					.withAttribute(ATTRIBUTE_EAN, String.class, thatIs -> thatIs.filterable())
+					.withPrice()
+					.withReferenceToEntity(
+						Entities.BRAND,
+						thatIs -> scope.apply(
+							thatIs.faceted().withAttribute(ATTRIBUTE_BRAND_PRIORITY, Long.class, whichIs -> whichIs.filterable())
+						)
+					)
+					.applyChanges();
+
+				session.upsertEntity(
+					session.createNewEntity(Entities.PRODUCT, 1)
+						.setAttribute(ATTRIBUTE_EAN, "A")
+						.setPriceInnerRecordHandling(PriceInnerRecordHandling.NONE)
+						.setPrice(1, PRICE_LIST_BASIC, CURRENCY_CZK, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ONE, true)
+						.setReference(Entities.BRAND, 1, thatIs -> thatIs.setAttribute(ATTRIBUTE_BRAND_PRIORITY, 1L))
+				);
+				session.upsertEntity(
+					session.createNewEntity(Entities.PRODUCT, 2)
+						.setAttribute(ATTRIBUTE_EAN, "B")
+						.setReference(Entities.BRAND, 1, thatIs -> thatIs.setAttribute(ATTRIBUTE_BRAND_PRIORITY, 1L))
+				);
+				session.upsertEntity(
+					session.createNewEntity(Entities.PRODUCT, 3)
+						.setAttribute(ATTRIBUTE_EAN, "A")
+						.setPriceInnerRecordHandling(PriceInnerRecordHandling.NONE)
+						.setPrice(1, PRICE_LIST_BASIC, CURRENCY_CZK, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ONE, true)
+						.setReference(Entities.BRAND, 2, thatIs -> thatIs.setAttribute(ATTRIBUTE_BRAND_PRIORITY, 2L))
+				);
+
+				assertArrayEquals(
+					new int[]{1, 2},
+					queryProducts(session, referenceHavingAttribute(Entities.BRAND, eq(ATTRIBUTE_BRAND_PRIORITY, 1L)))
+				);
+				assertArrayEquals(
+					new int[]{1},
+					queryProducts(
+						session,
+						and(
+							referenceHavingAttribute(Entities.BRAND, eq(ATTRIBUTE_BRAND_PRIORITY, 1L)),
+							eq(ATTRIBUTE_EAN, "A")
+						)
+					)
+				);
+				assertArrayEquals(
+					new int[]{1},
+					queryProducts(
+						session,
+						and(
+							referenceHavingAttribute(Entities.BRAND, eq(ATTRIBUTE_BRAND_PRIORITY, 1L)),
+							priceInPriceLists(PRICE_LIST_BASIC),
+							priceInCurrency(CURRENCY_CZK)
+						)
+					)
+				);
+				assertArrayEquals(
+					new int[]{1, 2},
+					queryProducts(
+						session,
+						and(
+							referenceHavingAttribute(Entities.BRAND, eq(ATTRIBUTE_BRAND_PRIORITY, 1L)),
+							facet(Entities.BRAND, 1)
+						)
+					)
+				);
+				assertArrayEquals(
+					new int[0],
+					queryProducts(
+						session,
+						and(
+							referenceHavingAttribute(Entities.BRAND, eq(ATTRIBUTE_BRAND_PRIORITY, 1L)),
+							facet(Entities.BRAND, 2)
+						)
+					)
+				);
+			}
+		);
+	}
+
+	/**
+	 * Sets up category hierarchy (1 → 3 → 4, 2 → 5) and products referencing it with roll-up indexes maintained
+	 * on passed `rollUpLevels`:
+	 *
+	 * - product 1 references category 3
+	 * - product 2 references category 4
+	 * - product 3 references category 5
+	 * - product 4 references categories 1 and 4
+	 */
+	private void setUpProductsInRolledUpCategories(EvitaSession session, int... rollUpLevels) {
+		session
+			.defineSchema(Entities.CATEGORY)
+			.withHierarchy()
+			.applyChanges();
+
+		session.upsertEntity(session.createNewEntity(Entities.CATEGORY, 1).setHierarchicalPlacement(1));
+		session.upsertEntity(session.createNewEntity(Entities.CATEGORY, 2).setHierarchicalPlacement(2));
+		session.upsertEntity(session.createNewEntity(Entities.CATEGORY, 3).setHierarchicalPlacement(1, 1));
+		session.upsertEntity(session.createNewEntity(Entities.CATEGORY, 4).setHierarchicalPlacement(3, 1));
+		session.upsertEntity(session.createNewEntity(Entities.CATEGORY, 5).setHierarchicalPlacement(2, 1));
+
+		session
+			.defineSchema(Entities.PRODUCT)
+			.withAttribute(ATTRIBUTE_EAN, String.class, thatIs -> thatIs.filterable())
+			.withReferenceToEntity(Entities.CATEGORY, thatIs -> thatIs.indexed().withHierarchyRollUp(rollUpLevels))
+			.applyChanges();
+
+		session.upsertEntity(session.createNewEntity(Entities.PRODUCT, 1).setAttribute(ATTRIBUTE_EAN, "A").setReference(Entities.CATEGORY, 3));
+		session.upsertEntity(session.createNewEntity(Entities.PRODUCT, 2).setAttribute(ATTRIBUTE_EAN, "B").setReference(Entities.CATEGORY, 4));
+		session.upsertEntity(session.createNewEntity(Entities.PRODUCT, 3).setAttribute(ATTRIBUTE_EAN, "A").setReference(Entities.CATEGORY, 5));
+		session.upsertEntity(
+			session.createNewEntity(Entities.PRODUCT, 4)
+				.setAttribute(ATTRIBUTE_EAN, "B")
+				.setReference(Entities.CATEGORY, 1)
+				.setReference(Entities.CATEGORY, 4)
+		);
+	}
+
+	/**
+	 * Returns description of the index selected by the query planner for the query filtering products by `filterConstraint`.
+	 */
+	private String getSelectedIndex(EvitaSession session, FilterConstraint filterConstraint) {
+		final QueryTelemetry telemetry = session.query(
+				Query.query(
+					entities(Entities.PRODUCT),
+					filterBy(filterConstraint)
+				),
+				EntityReferenceContract.class
+			)
+			.getAdditionalResults(QueryTelemetry.class);
+		assertNotNull(telemetry);
+		return telemetry.toString();
+	}
+
+	private int[] queryProducts(EvitaSession session, FilterConstraint filterConstraint) {
+		return session.query(
+				Query.query(
+					entities(Entities.PRODUCT),
+					filterBy(filterConstraint)
+				),
+				EntityReferenceContract.class
+			)
+			.getRecordData()
+			.stream()
+			.mapToInt(EntityReferenceContract::getPrimaryKey)
+			.sorted()
+			.toArray();
+	}
+
 	private static void assertDataWasPropagated(EntityIndex categoryIndex, int recordId) {
 		assertNotNull(categoryIndex);
 		assertTrue(categoryIndex.getUniqueIndex(new AttributeKey(ATTRIBUTE_EAN)).getRecordIds().contains(recordId));
@@ -459,6 +1139,16 @@ class EvitaTest implements TestFileSupport {
 		);
 	}
 
+	@Nullable
+	private HierarchyRollUpEntityIndex getHierarchyRollUpIndex(EntityCollection productCollection, int categoryId) {
+		return (HierarchyRollUpEntityIndex) productCollection.entityIndexCreator.getIndexIfExists(
+			new EntityIndexKey(
+				EntityIndexType.REFERENCED_HIERARCHY_ROLL_UP,
+				new EntityReference(Entities.CATEGORY, categoryId)
+			)
+		);
+	}
+
 	@Nullable
 	private EntityIndex getReferencedEntityIndex(EntityCollection productCollection, Entities entityType, int recordId) {
 		return productCollection.entityIndexCreator.getIndexIfExists(
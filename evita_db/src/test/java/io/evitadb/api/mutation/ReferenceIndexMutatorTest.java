@@ -23,6 +23,8 @@
 package io.evitadb.api.mutation;
 
 import io.evitadb.api.data.AttributesContract.AttributeKey;
+import io.evitadb.api.data.AttributesContract.AttributeValue;
+import io.evitadb.api.data.ReferenceContract;
 import io.evitadb.api.data.mutation.attribute.UpsertAttributeMutation;
 import io.evitadb.api.data.mutation.reference.InsertReferenceMutation;
 import io.evitadb.api.data.mutation.reference.ReferenceAttributesUpdateMutation;
@@ -36,10 +38,14 @@ import io.evitadb.index.GlobalEntityIndex;
 import io.evitadb.test.Entities;
 import org.junit.jupiter.api.Test;
 
+import java.io.Serializable;
+
 import static io.evitadb.api.mutation.ReferenceIndexMutator.attributeUpdate;
 import static io.evitadb.api.mutation.ReferenceIndexMutator.referenceInsert;
-import static org.junit.jupiter.api.Assertions.assertArrayEquals;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static io.evitadb.api.mutation.ReferenceIndexMutator.removeAllExistingData;
+import static io.evitadb.test.generator.DataGenerator.ATTRIBUTE_ALIAS;
+import static io.evitadb.test.generator.DataGenerator.ATTRIBUTE_EAN;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * This test verifies contract of {@link ReferenceIndexMutator} class.
@@ -53,7 +59,9 @@ class ReferenceIndexMutatorTest extends AbstractMutatorTestBase {
 	private static final String ATTRIBUTE_CHAR_ARRAY = "charArray";
 	private final EntityIndex entityIndex = new GlobalEntityIndex(1, new EntityIndexKey(EntityIndexType.GLOBAL), () -> schema);
 	private final EntityIndex referenceTypesIndex = new GlobalEntityIndex(1, new EntityIndexKey(EntityIndexType.REFERENCED_ENTITY_TYPE, Entities.BRAND), () -> schema);
-	private final EntityIndex referenceIndex = new GlobalEntityIndex(2, new EntityIndexKey(EntityIndexType.REFERENCED_ENTITY, 1), () -> schema);
+	private final EntityIndex referenceIndex = new GlobalEntityIndex(2, new EntityIndexKey(EntityIndexType.REFERENCED_ENTITY, new EntityReference(Entities.BRAND, 10)), () -> schema);
+	private final EntityIndex storeTypesIndex = new GlobalEntityIndex(3, new EntityIndexKey(EntityIndexType.REFERENCED_ENTITY_TYPE, Entities.STORE), () -> schema);
+	private final EntityIndex storeIndex = new GlobalEntityIndex(4, new EntityIndexKey(EntityIndexType.REFERENCED_ENTITY, new EntityReference(Entities.STORE, 5)), () -> schema);
 
 	@Override
 	protected void alterProductSchema(EntitySchemaBuilder schema) {
@@ -63,6 +71,7 @@ class ReferenceIndexMutatorTest extends AbstractMutatorTestBase {
 			thatIs.withAttribute(ATTRIBUTE_VARIANT_COUNT, Integer.class, whichIs -> whichIs.sortable().filterable());
 			thatIs.withAttribute(ATTRIBUTE_CHAR_ARRAY, Character[].class, whichIs -> whichIs.filterable());
 		});
+		schema.withReferenceTo(Entities.STORE, thatIs -> thatIs.withReducedIndexAttributes(ATTRIBUTE_EAN).withoutReducedIndexFacets());
 	}
 
 	@Test
@@ -103,4 +112,54 @@ class ReferenceIndexMutatorTest extends AbstractMutatorTestBase {
 		assertArrayEquals(new int[]{1}, referenceIndex.getFilterIndex(ATTRIBUTE_BRAND_EAN, null).getRecordsEqualTo("EAN-001").getArray());
 	}
 
-}
\ No newline at end of file
+	@Test
+	void shouldReplicateAllEntityDataToCompleteReducedIndex() {
+		upsertEntityAttribute(ATTRIBUTE_EAN, "EAN-001");
+		upsertEntityAttribute(ATTRIBUTE_ALIAS, true);
+
+		referenceInsert(executor, entityIndex, referenceTypesIndex, referenceIndex, createReference(Entities.BRAND, 10));
+
+		assertArrayEquals(new int[]{1}, referenceIndex.getFilterIndex(ATTRIBUTE_EAN, null).getRecordsEqualTo("EAN-001").getArray());
+		assertArrayEquals(new int[]{1}, referenceIndex.getFilterIndex(ATTRIBUTE_ALIAS, null).getRecordsEqualTo(true).getArray());
+		assertTrue(referenceIndex.getReferencedEntities().contains(Entities.BRAND));
+	}
+
+	@Test
+	void shouldReplicateOnlyScopedEntityDataToReducedIndex() {
+		upsertEntityAttribute(ATTRIBUTE_EAN, "EAN-001");
+		upsertEntityAttribute(ATTRIBUTE_ALIAS, true);
+
+		referenceInsert(executor, entityIndex, storeTypesIndex, storeIndex, createReference(Entities.STORE, 5));
+
+		assertArrayEquals(new int[]{1}, storeIndex.getAllPrimaryKeys().getArray());
+		assertArrayEquals(new int[]{1}, storeIndex.getFilterIndex(ATTRIBUTE_EAN, null).getRecordsEqualTo("EAN-001").getArray());
+		assertNull(storeIndex.getFilterIndex(ATTRIBUTE_ALIAS, null));
+		assertFalse(storeIndex.getReferencedEntities().contains(Entities.STORE));
+		// global index is never slimmed
+		assertTrue(entityIndex.getReferencedEntities().contains(Entities.STORE));
+	}
+
+	@Test
+	void shouldRemoveOnlyScopedEntityDataFromReducedIndex() {
+		upsertEntityAttribute(ATTRIBUTE_EAN, "EAN-001");
+		upsertEntityAttribute(ATTRIBUTE_ALIAS, true);
+		referenceInsert(executor, entityIndex, storeTypesIndex, storeIndex, createReference(Entities.STORE, 5));
+
+		removeAllExistingData(executor, storeIndex, 1);
+
+		assertNull(storeIndex.getFilterIndex(ATTRIBUTE_EAN, null));
+		assertNull(storeIndex.getFilterIndex(ATTRIBUTE_ALIAS, null));
+	}
+
+	private ReferenceContract createReference(Serializable entityType, int primaryKey) {
+		return new InsertReferenceMutation(new Reference(schema, new EntityReference(entityType, primaryKey), null), schema)
+			.getCreatedReference();
+	}
+
+	private void upsertEntityAttribute(String attributeName, Serializable value) {
+		final AttributeKey attributeKey = new AttributeKey(attributeName);
+		containerAccessor.getAttributeStorageContainer(1)
+			.upsertAttribute(attributeKey, schema.getAttribute(attributeName), existing -> new AttributeValue(attributeKey, value));
+	}
+
+}
@@ -37,6 +37,7 @@ import io.evitadb.api.storage.exception.DuplicateFileNameException;
 import io.evitadb.api.storage.exception.UnexpectedCatalogContentsException;
 import io.evitadb.api.utils.ReflectionLookup;
 import io.evitadb.cache.NoCacheSupervisor;
+import io.evitadb.cache.StoragePartCache;
 import io.evitadb.index.EntityIndexKey;
 import io.evitadb.storage.IOService;
 import io.evitadb.storage.ObservableOutputKeeper;
@@ -202,6 +203,7 @@ class IOServiceTest implements TestFileSupport {
 			outputKeeper,
 			ioService,
 			NoCacheSupervisor.INSTANCE,
+			StoragePartCache.DISABLED,
 			false
 		);
 
@@ -230,7 +232,7 @@ class IOServiceTest implements TestFileSupport {
 		final EntityCollection collection = new EntityCollection(
 			getMockCatalog(schema),
 			catalogHeader, collectionHeader, getTestDirectory(), getStorageOptions(),
-			outputKeeper, ioService, NoCacheSupervisor.INSTANCE, false
+			outputKeeper, ioService, NoCacheSupervisor.INSTANCE, new StoragePartCache(1_048_576), false
 		);
 
 		final Iterator<Entity> it = entityCollection.entityIterator();
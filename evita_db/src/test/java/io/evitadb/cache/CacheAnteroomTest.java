@@ -24,6 +24,7 @@ package io.evitadb.cache;
 
 import io.evitadb.api.EvitaSession;
 import io.evitadb.api.configuration.EvitaConfiguration;
+import io.evitadb.cache.dto.CacheStatistics;
 import io.evitadb.cache.payload.FlattenedFormula;
 import io.evitadb.query.algebra.CacheableFormula;
 import io.evitadb.query.algebra.Formula;
@@ -52,13 +53,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 class CacheAnteroomTest {
 	public static final String SOME_ENTITY = "SomeEntity";
 	private static final int MAX_RECORD_COUNT = 10;
-	private static final Random RANDOM = new Random(52);
+	/**
+	 * Each test starts with the same sequence regardless of the order the tests are executed in.
+	 */
+	private final Random random = new Random(52);
 	private CacheAnteroom cacheAnteroom;
 	private CacheEden cacheEden;
 	private CacheableFormula[] inputFormulas;
 
-	public static int[] generateRandomNumbers(int recsToGenerate, int maxRecordId) {
-		return IntStream.generate(() -> RANDOM.nextInt(maxRecordId) + 1)
+	private int[] generateRandomNumbers(int recsToGenerate, int maxRecordId) {
+		return IntStream.generate(() -> random.nextInt(maxRecordId) + 1)
 			.distinct()
 			.limit(recsToGenerate)
 			.sorted()
@@ -94,7 +98,7 @@ class CacheAnteroomTest {
 
 		final Map<Integer, Integer> cacheHits = new HashMap<>();
 		for (int i = 0; i < 1000; i++) {
-			final int formulaIndex = RANDOM.nextInt(inputFormulas.length);
+			final int formulaIndex = random.nextInt(inputFormulas.length);
 			final CacheableFormula inputFormula = inputFormulas[formulaIndex];
 			final Formula theFormula = FormulaCacheVisitor.analyse(evitaSession, SOME_ENTITY, inputFormula, cacheAnteroom);
 			assertEquals(inputFormula.compute(), theFormula.compute());
@@ -112,7 +116,7 @@ class CacheAnteroomTest {
 
 		for (int j = 0; j < COOL_ENOUGH; j++) {
 			for (int i = 0; i < 1000; i++) {
-				final int formulaIndex = RANDOM.nextInt(inputFormulas.length / 2);
+				final int formulaIndex = random.nextInt(inputFormulas.length / 2);
 				final CacheableFormula inputFormula = inputFormulas[formulaIndex];
 				final Formula theFormula = FormulaCacheVisitor.analyse(evitaSession, SOME_ENTITY, inputFormula, cacheAnteroom);
 				assertEquals(inputFormula.compute(), theFormula.compute());
@@ -133,4 +137,30 @@ class CacheAnteroomTest {
 		assertTrue(cacheEden.getByteSizeUsedByCache() > 1200);
 		assertTrue(cacheEden.getByteSizeUsedByCache() < firstFullCacheSize);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void shouldKeepCumulativeStatisticsAcrossReevaluations() {
+		final EvitaSession evitaSession = Mockito.mock(EvitaSession.class);
+
+		int flattenedFormulaCount = 0;
+		for (int j = 0; j < 3; j++) {
+			for (int i = 0; i < 1000; i++) {
+				final CacheableFormula inputFormula = inputFormulas[random.nextInt(inputFormulas.length)];
+				final Formula theFormula = FormulaCacheVisitor.analyse(evitaSession, SOME_ENTITY, inputFormula, cacheAnteroom);
+				assertEquals(inputFormula.compute(), theFormula.compute());
+				if (theFormula instanceof FlattenedFormula) {
+					flattenedFormulaCount++;
+				}
+			}
+			cacheAnteroom.evaluateAssociatesSynchronously();
+		}
+
+		final CacheStatistics statistics = cacheEden.getStatistics();
+		assertTrue(flattenedFormulaCount > 0);
+		assertTrue(statistics.getHits() >= flattenedFormulaCount);
+		assertTrue(statistics.getMisses() > 0);
+		assertEquals(0L, statistics.getInvalidations());
+		assertEquals(cacheEden.getCacheRecordCount(), statistics.getRecordCount());
+		assertTrue(statistics.getHitRatio() > 0d && statistics.getHitRatio() < 1d);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.cache;
+
+import io.evitadb.cache.dto.CacheStatistics;
+import io.evitadb.storage.model.memTable.FileLocation;
+import io.evitadb.storage.model.storageParts.entity.EntityBodyStoragePart;
+import io.evitadb.storage.model.storageParts.entity.PricesStoragePart;
+import io.evitadb.storage.model.storageParts.index.EntityIndexStoragePart;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test verifies behaviour of {@link StoragePartCache}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+class StoragePartCacheTest {
+	private static final String ENTITY_TYPE = "product";
+	private static final int RECORD_LENGTH = 100;
+	private final StoragePartCache cache = new StoragePartCache(25_000);
+
+	@Test
+	void shouldReturnCachedPartReadFromTheSameLocation() {
+		final EntityBodyStoragePart part = new EntityBodyStoragePart(1);
+		assertNull(cache.get(ENTITY_TYPE, 1, EntityBodyStoragePart.class, locationOf(1)));
+		cache.put(ENTITY_TYPE, 1, EntityBodyStoragePart.class, locationOf(1), part);
+
+		assertSame(part, cache.get(ENTITY_TYPE, 1, EntityBodyStoragePart.class, locationOf(1)));
+		assertNull(cache.get("category", 1, EntityBodyStoragePart.class, locationOf(1)));
+		assertNull(cache.get(ENTITY_TYPE, 1, PricesStoragePart.class, locationOf(1)));
+
+		final CacheStatistics statistics = cache.getStatistics().get(EntityBodyStoragePart.class);
+		assertEquals(1L, statistics.getHits());
+		assertEquals(2L, statistics.getMisses());
+		assertEquals(1, statistics.getRecordCount());
+		assertEquals(1L, cache.getStatistics().get(PricesStoragePart.class).getMisses());
+	}
+
+	@Test
+	void shouldInvalidatePartReadFromDifferentLocation() {
+		cache.put(ENTITY_TYPE, 1, EntityBodyStoragePart.class, locationOf(1), new EntityBodyStoragePart(1));
+
+		assertNull(cache.get(ENTITY_TYPE, 1, EntityBodyStoragePart.class, locationOf(2)));
+		assertNull(cache.get(ENTITY_TYPE, 1, EntityBodyStoragePart.class, locationOf(1)));
+
+		final CacheStatistics statistics = cache.getStatistics().get(EntityBodyStoragePart.class);
+		assertEquals(0L, statistics.getHits());
+		assertEquals(1L, statistics.getInvalidations());
+		assertEquals(0, statistics.getRecordCount());
+		assertEquals(0L, statistics.getUsedByteSize());
+	}
+
+	@Test
+	void shouldInvalidatePartExplicitly() {
+		cache.put(ENTITY_TYPE, 1, EntityBodyStoragePart.class, locationOf(1), new EntityBodyStoragePart(1));
+		cache.invalidate(ENTITY_TYPE, 1, EntityBodyStoragePart.class);
+
+		assertNull(cache.get(ENTITY_TYPE, 1, EntityBodyStoragePart.class, locationOf(1)));
+		assertEquals(1L, cache.getStatistics().get(EntityBodyStoragePart.class).getInvalidations());
+	}
+
+	@Test
+	void shouldNotCacheIndexParts() {
+		assertFalse(StoragePartCache.isCacheable(EntityIndexStoragePart.class));
+		assertTrue(StoragePartCache.isCacheable(PricesStoragePart.class));
+		assertFalse(StoragePartCache.DISABLED.isEnabled());
+
+		StoragePartCache.DISABLED.put(ENTITY_TYPE, 1, EntityBodyStoragePart.class, locationOf(1), new EntityBodyStoragePart(1));
+		assertNull(StoragePartCache.DISABLED.get(ENTITY_TYPE, 1, EntityBodyStoragePart.class, locationOf(1)));
+	}
+
+	@Test
+	void shouldKeepFrequentlyAccessedPartsWhenScanned() {
+		final int hotCount = 50;
+		for (int round = 0; round < 5; round++) {
+			for (int i = 1; i <= hotCount; i++) {
+				readThrough(i);
+			}
+		}
+		// scan a lot of parts that are read only once
+		for (int i = hotCount + 1; i <= hotCount + 2_000; i++) {
+			readThrough(i);
+		}
+
+		for (int i = 1; i <= hotCount; i++) {
+			assertNotNull(cache.get(ENTITY_TYPE, i, EntityBodyStoragePart.class, locationOf(i)), "Hot part " + i + " was evicted!");
+		}
+		final CacheStatistics statistics = cache.getStatistics().get(EntityBodyStoragePart.class);
+		assertTrue(statistics.getUsedByteSize() <= 25_000L);
+		assertTrue(statistics.getRecordCount() < 2_000);
+	}
+
+	private void readThrough(int primaryKey) {
+		if (cache.get(ENTITY_TYPE, primaryKey, EntityBodyStoragePart.class, locationOf(primaryKey)) == null) {
+			cache.put(ENTITY_TYPE, primaryKey, EntityBodyStoragePart.class, locationOf(primaryKey), new EntityBodyStoragePart(primaryKey));
+		}
+	}
+
+	private static FileLocation locationOf(int primaryKey) {
+		return new FileLocation((long) primaryKey * RECORD_LENGTH, RECORD_LENGTH);
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index;
+
+import io.evitadb.api.data.structure.EntityReference;
+import io.evitadb.storage.model.storageParts.StoragePart;
+import io.evitadb.storage.model.storageParts.index.HierarchyRollUpIndexStoragePart;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This test verifies tracking of the aggregated nodes in {@link HierarchyRollUpEntityIndex}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+class HierarchyRollUpEntityIndexTest {
+	private final HierarchyRollUpEntityIndex tested = new HierarchyRollUpEntityIndex(
+		1,
+		new EntityIndexKey(EntityIndexType.REFERENCED_HIERARCHY_ROLL_UP, new EntityReference("category", 1)),
+		() -> null,
+		() -> null
+	);
+
+	@Test
+	void shouldTrackEntitiesAggregatedThroughNodes() {
+		assertTrue(tested.addNodeEntity(5, 100));
+		assertTrue(tested.addNodeEntity(6, 100));
+		assertTrue(tested.addNodeEntity(6, 101));
+		assertFalse(tested.addNodeEntity(6, 101));
+
+		assertArrayEquals(new int[]{100}, tested.getNodeEntityIds(5).getArray());
+		assertArrayEquals(new int[]{100, 101}, tested.getNodeEntityIds(6).getArray());
+		assertEquals(0, tested.getNodeEntityIds(7).size());
+		assertTrue(tested.isAggregatedThroughAnyOf(100, new int[]{6}));
+		assertFalse(tested.isAggregatedThroughAnyOf(101, new int[]{5, 7}));
+	}
+
+	@Test
+	void shouldForgetNodeWhenLastEntityIsRemoved() {
+		tested.addNodeEntity(5, 100);
+		tested.addNodeEntity(6, 101);
+
+		assertTrue(tested.removeNodeEntity(5, 100));
+		assertFalse(tested.removeNodeEntity(5, 100));
+
+		assertEquals(1, tested.getNodes().size());
+		assertTrue(tested.getNodes().contains(6));
+		assertFalse(tested.isEmpty());
+
+		tested.removeNodeEntity(6, 101);
+		assertTrue(tested.isEmpty());
+	}
+
+	@Test
+	void shouldCreateStoragePartWhenNodesChange() {
+		tested.addNodeEntity(5, 100);
+
+		final Collection<StoragePart> modifiedParts = tested.getModifiedStorageParts();
+		assertTrue(modifiedParts.stream().anyMatch(HierarchyRollUpIndexStoragePart.class::isInstance));
+
+		tested.resetDirty();
+		assertTrue(tested.getModifiedStorageParts().stream().noneMatch(HierarchyRollUpIndexStoragePart.class::isInstance));
+	}
+
+	@Test
+	void shouldPersistCompletenessOfTheIndex() {
+		assertTrue(tested.isComplete());
+
+		tested.markIncomplete();
+		assertFalse(tested.isComplete());
+		assertTrue(
+			tested.getModifiedStorageParts().stream()
+				.filter(HierarchyRollUpIndexStoragePart.class::isInstance)
+				.map(HierarchyRollUpIndexStoragePart.class::cast)
+				.noneMatch(HierarchyRollUpIndexStoragePart::isComplete)
+		);
+
+		tested.resetDirty();
+		tested.markComplete();
+		assertTrue(tested.isComplete());
+		assertTrue(
+			tested.getModifiedStorageParts().stream()
+				.filter(HierarchyRollUpIndexStoragePart.class::isInstance)
+				.map(HierarchyRollUpIndexStoragePart.class::cast)
+				.anyMatch(HierarchyRollUpIndexStoragePart::isComplete)
+		);
+	}
+
+}
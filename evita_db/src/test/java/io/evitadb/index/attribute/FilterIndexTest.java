@@ -32,6 +32,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static io.evitadb.utils.AssertionUtils.assertStateAfterCommit;
+import static io.evitadb.utils.AssertionUtils.assertStateAfterRollback;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -164,6 +165,83 @@ class FilterIndexTest {
 		assertArrayEquals(new int[] {1, 2, 3, 4}, stringAttribute.getAllRecords().getArray());
 	}
 
+	@Test
+	void shouldReturnRecordsEqualToAnyValue() {
+		fillStringAttribute();
+		assertArrayEquals(new int[] {1, 3, 4}, stringAttribute.getRecordsEqualToAnyFormula(new String[] {"D", "X", "C", "D"}).compute().getArray());
+		assertArrayEquals(new int[] {1, 2, 4}, stringAttribute.getRecordsEqualToAnyFormula(new String[] {"0", "D", "A"}).compute().getArray());
+		assertArrayEquals(new int[] {4}, stringAttribute.getRecordsEqualToAnyFormula(new String[] {"D"}).compute().getArray());
+		assertTrue(stringAttribute.getRecordsEqualToAnyFormula(new String[] {"0", "X"}).compute().isEmpty());
+	}
+
+	@Test
+	void shouldReturnRecordsEqualToAnyOfManyValues() {
+		final FilterIndex intAttribute = new FilterIndex(Integer.class);
+		for (int i = 1; i <= 100; i++) {
+			intAttribute.addRecord(i, i % 20);
+		}
+		final Integer[] requestedValues = {19, 0, 7, 3, 12, 7, 15};
+		final int[] expected = Arrays.stream(new int[] {0, 3, 7, 12, 15, 19})
+			.flatMap(value -> Arrays.stream(intAttribute.getRecordsEqualTo(value).getArray()))
+			.sorted()
+			.toArray();
+		assertEquals(30, expected.length);
+		assertArrayEquals(expected, intAttribute.getRecordsEqualToAnyFormula(requestedValues).compute().getArray());
+		assertArrayEquals(
+			intAttribute.getAllRecords().getArray(),
+			intAttribute.getRecordsEqualToAnyFormula(new Integer[] {-1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20}).compute().getArray()
+		);
+	}
+
+	@Test
+	void shouldReturnRecordsEqualToAnyValueSkippingMissingValues() {
+		fillStringAttribute();
+		// missing values before, between and after the existing buckets
+		assertArrayEquals(new int[] {1, 3}, stringAttribute.getRecordsEqualToAnyFormula(new String[] {"0", "AA", "BB", "C"}).compute().getArray());
+		assertArrayEquals(new int[] {1, 2}, stringAttribute.getRecordsEqualToAnyFormula(new String[] {"B", "X", "Y", "Z"}).compute().getArray());
+		assertArrayEquals(new int[] {4}, stringAttribute.getRecordsEqualToAnyFormula(new String[] {"0", "CC", "D", "E"}).compute().getArray());
+		assertTrue(stringAttribute.getRecordsEqualToAnyFormula(new String[0]).compute().isEmpty());
+		assertTrue(new FilterIndex(String.class).getRecordsEqualToAnyFormula(new String[] {"A", "B"}).compute().isEmpty());
+	}
+
+	@Test
+	void shouldReturnRecordsEqualToAnyValueInTransaction() {
+		fillStringAttribute();
+		assertStateAfterCommit(
+			stringAttribute,
+			original -> {
+				original.addRecord(5, "E");
+				original.addRecord(6, "B");
+				original.removeRecord(4, "D");
+
+				assertArrayEquals(new int[] {1, 2, 5, 6}, original.getRecordsEqualToAnyFormula(new String[] {"E", "D", "B"}).compute().getArray());
+				assertTrue(original.getRecordsEqualToAnyFormula(new String[] {"D"}).compute().isEmpty());
+			},
+			(original, committed) -> {
+				assertArrayEquals(new int[] {1, 2, 5, 6}, committed.getRecordsEqualToAnyFormula(new String[] {"E", "D", "B"}).compute().getArray());
+				assertArrayEquals(new int[] {1, 2, 4}, original.getRecordsEqualToAnyFormula(new String[] {"E", "D", "B"}).compute().getArray());
+			}
+		);
+	}
+
+	@Test
+	void shouldNotReturnRecordsEqualToAnyValueAddedInRolledBackTransaction() {
+		fillStringAttribute();
+		assertStateAfterRollback(
+			stringAttribute,
+			original -> {
+				original.addRecord(5, "E");
+				original.removeRecord(3, "C");
+
+				assertArrayEquals(new int[] {1, 5}, original.getRecordsEqualToAnyFormula(new String[] {"C", "E"}).compute().getArray());
+			},
+			(original, committed) -> {
+				assertNull(committed);
+				assertArrayEquals(new int[] {1, 3}, original.getRecordsEqualToAnyFormula(new String[] {"C", "E"}).compute().getArray());
+			}
+		);
+	}
+
 	@Test
 	void shouldReturnRecordsGreaterThan() {
 		fillStringAttribute();
@@ -292,6 +370,25 @@ class FilterIndexTest {
 		} while (true);
 	}
 
+	@Test
+	void shouldEstimateSizeGrowingWithIndexedRecords() {
+		final long emptySize = stringAttribute.estimateSize();
+		fillStringAttribute();
+		final long filledSize = stringAttribute.estimateSize();
+		assertTrue(filledSize > emptySize);
+		stringAttribute.addRecord(5, "E");
+		assertTrue(stringAttribute.estimateSize() > filledSize);
+	}
+
+	@Test
+	void shouldIncludeRangeIndexInEstimatedSize() {
+		final long emptyRangeIndexSize = rangeAttribute.getRangeIndex().estimateSize();
+		fillRangeAttribute();
+		final long rangeIndexSize = rangeAttribute.getRangeIndex().estimateSize();
+		assertTrue(rangeIndexSize > emptyRangeIndexSize);
+		assertTrue(rangeAttribute.estimateSize() > rangeAttribute.getHistogram().estimateSize() + rangeIndexSize);
+	}
+
 	private void fillStringAttribute() {
 		stringAttribute.addRecord(1, new String[]{"A", "B", "C"});
 		stringAttribute.addRecord(2, new String[]{"A", "B"});
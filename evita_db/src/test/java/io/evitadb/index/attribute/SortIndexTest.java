@@ -22,6 +22,7 @@
 
 package io.evitadb.index.attribute;
 
+import io.evitadb.index.IndexBulkUpdateContext;
 import io.evitadb.query.sort.SortedRecordsSupplierFactory.SortedRecordsSupplier;
 import lombok.Data;
 import org.junit.jupiter.api.Disabled;
@@ -117,6 +118,205 @@ class SortIndexTest {
 		);
 	}
 
+	@Test
+	void shouldMergeRecordsAddedInBulk() {
+		final SortIndex sortIndex = createIndexWithBaseCardinalities();
+		IndexBulkUpdateContext.executeInBulk(() -> {
+			sortIndex.addRecord("C", 8);
+			sortIndex.addRecord("D", 9);
+			sortIndex.addRecord("A", 0);
+			sortIndex.addRecord("0", 7);
+			sortIndex.addRecord("B", 10);
+			// records are not merged yet
+			assertArrayEquals(new String[] {"A", "B", "C"}, sortIndex.sortedRecordsValues.getArray());
+			assertEquals(11, sortIndex.size());
+			return null;
+		});
+
+		assertArrayEquals(new String[] {"0", "A", "B", "C", "D"}, sortIndex.sortedRecordsValues.getArray());
+		assertArrayEquals(new int[] {7, 0, 6, 4, 5, 10, 1, 2, 3, 8, 9}, sortIndex.sortedRecords.getArray());
+		assertNull(sortIndex.valueCardinalities.get("0"));
+		assertEquals(2, sortIndex.valueCardinalities.get("A"));
+		assertEquals(3, sortIndex.valueCardinalities.get("B"));
+		assertEquals(4, sortIndex.valueCardinalities.get("C"));
+		assertNull(sortIndex.valueCardinalities.get("D"));
+	}
+
+	@Test
+	void shouldMergeRecordsAddedInBulkBeforeReadingOrRemoval() {
+		final SortIndex sortIndex = createIndexWithBaseCardinalities();
+		IndexBulkUpdateContext.executeInBulk(() -> {
+			sortIndex.addRecord("B", 8);
+			sortIndex.removeRecord("B", 4);
+			sortIndex.addRecord("A", 9);
+			assertArrayEquals(
+				new int[] {6, 9, 5, 8, 1, 2, 3},
+				sortIndex.getAscendingOrderRecordsSupplier().getSortedRecordIds()
+			);
+			return null;
+		});
+	}
+
+	@Test
+	void shouldRefuseDuplicateRecordAddedInBulk() {
+		final SortIndex sortIndex = createIndexWithBaseCardinalities();
+		IndexBulkUpdateContext.executeInBulk(() -> {
+			sortIndex.addRecord("D", 8);
+			assertThrows(IllegalArgumentException.class, () -> sortIndex.addRecord("E", 8));
+			assertThrows(IllegalArgumentException.class, () -> sortIndex.addRecord("E", 1));
+			return null;
+		});
+	}
+
+	@Test
+	void shouldDiscardRecordsAddedInFailedBulk() {
+		final SortIndex sortIndex = createIndexWithBaseCardinalities();
+		final int[] originalRecords = sortIndex.getSortedRecords();
+		final IllegalStateException failure = new IllegalStateException("Bulk failed!");
+		final IllegalStateException thrown = assertThrows(
+			IllegalStateException.class,
+			() -> IndexBulkUpdateContext.executeInBulk(() -> {
+				sortIndex.addRecord("D", 8);
+				sortIndex.addRecord("A", 9);
+				throw failure;
+			})
+		);
+
+		assertSame(failure, thrown);
+		assertEquals(6, sortIndex.size());
+		assertArrayEquals(new String[] {"A", "B", "C"}, sortIndex.getSortedRecordValues());
+		assertArrayEquals(originalRecords, sortIndex.getSortedRecords());
+
+		// discarded records may be added again
+		sortIndex.addRecord("D", 8);
+		assertArrayEquals(new String[] {"A", "B", "C", "D"}, sortIndex.getSortedRecordValues());
+	}
+
+	@Test
+	void shouldProduceSameIndexWhenRecordsAreAddedInBulk() {
+		final Random rnd = new Random(42);
+		final SortIndex incrementalIndex = new SortIndex(Integer.class);
+		final SortIndex bulkIndex = new SortIndex(Integer.class);
+		int recordId = 0;
+		for (int bulk = 0; bulk < 5; bulk++) {
+			final int[] values = new int[200];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = rnd.nextInt(150);
+			}
+			final int firstRecordId = recordId;
+			recordId += values.length;
+			for (int i = 0; i < values.length; i++) {
+				incrementalIndex.addRecord(values[i], firstRecordId + i);
+			}
+			IndexBulkUpdateContext.executeInBulk(() -> {
+				for (int i = 0; i < values.length; i++) {
+					bulkIndex.addRecord(values[i], firstRecordId + i);
+				}
+				return null;
+			});
+
+			assertArrayEquals(incrementalIndex.getSortedRecordValues(), bulkIndex.getSortedRecordValues());
+			assertArrayEquals(incrementalIndex.getSortedRecords(), bulkIndex.getSortedRecords());
+			assertEquals(new HashMap<>(incrementalIndex.valueCardinalities), new HashMap<>(bulkIndex.valueCardinalities));
+			assertArrayEquals(
+				incrementalIndex.getDescendingOrderRecordsSupplier().getSortedRecordIds(),
+				bulkIndex.getDescendingOrderRecordsSupplier().getSortedRecordIds()
+			);
+		}
+	}
+
+	@Test
+	void shouldMergeRecordsAddedInTransactionOnCommit() {
+		final SortIndex sortIndex = createIndexWithBaseCardinalities();
+		assertStateAfterCommit(
+			sortIndex,
+			original -> {
+				original.addRecord("C", 8);
+				original.addRecord("D", 9);
+				original.addRecord("A", 0);
+				original.addRecord("0", 7);
+				original.addRecord("B", 10);
+				assertEquals(11, original.size());
+				assertThrows(IllegalArgumentException.class, () -> original.addRecord("E", 8));
+			},
+			(original, committed) -> {
+				assertArrayEquals(new String[] {"A", "B", "C"}, original.getSortedRecordValues());
+				assertArrayEquals(new int[] {6, 4, 5, 1, 2, 3}, original.getSortedRecords());
+
+				assertArrayEquals(new String[] {"0", "A", "B", "C", "D"}, committed.getSortedRecordValues());
+				assertArrayEquals(new int[] {7, 0, 6, 4, 5, 10, 1, 2, 3, 8, 9}, committed.getSortedRecords());
+				assertNull(committed.valueCardinalities.get("0"));
+				assertEquals(2, committed.valueCardinalities.get("A"));
+				assertEquals(3, committed.valueCardinalities.get("B"));
+				assertEquals(4, committed.valueCardinalities.get("C"));
+				assertNull(committed.valueCardinalities.get("D"));
+			}
+		);
+	}
+
+	@Test
+	void shouldMergeRecordsAddedInTransactionBeforeReadingOrRemoval() {
+		final SortIndex sortIndex = createIndexWithBaseCardinalities();
+		assertStateAfterCommit(
+			sortIndex,
+			original -> {
+				original.addRecord("B", 8);
+				original.removeRecord("B", 4);
+				original.addRecord("A", 9);
+				original.addRecord("0", 7);
+				assertArrayEquals(
+					new int[] {7, 6, 9, 5, 8, 1, 2, 3},
+					original.getAscendingOrderRecordsSupplier().getSortedRecordIds()
+				);
+				assertArrayEquals(new String[] {"0", "A", "B", "C"}, original.getSortedRecordValues());
+			},
+			(original, committed) -> {
+				assertArrayEquals(new int[] {6, 4, 5, 1, 2, 3}, original.getSortedRecords());
+				assertArrayEquals(
+					new int[] {7, 6, 9, 5, 8, 1, 2, 3},
+					committed.getAscendingOrderRecordsSupplier().getSortedRecordIds()
+				);
+			}
+		);
+	}
+
+	@Test
+	void shouldProduceSameIndexWhenRecordsAreAddedInTransaction() {
+		final Random rnd = new Random(42);
+		final SortIndex incrementalIndex = new SortIndex(Integer.class);
+		final AtomicReference<SortIndex> transactionalIndex = new AtomicReference<>(new SortIndex(Integer.class));
+		int recordId = 0;
+		for (int transaction = 0; transaction < 5; transaction++) {
+			final int[] values = new int[200];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = rnd.nextInt(150);
+			}
+			final int firstRecordId = recordId;
+			recordId += values.length;
+			for (int i = 0; i < values.length; i++) {
+				incrementalIndex.addRecord(values[i], firstRecordId + i);
+			}
+			assertStateAfterCommit(
+				transactionalIndex.get(),
+				original -> {
+					for (int i = 0; i < values.length; i++) {
+						original.addRecord(values[i], firstRecordId + i);
+						if (i == values.length / 2) {
+							// force merge of the pending records in the middle of the transaction
+							assertEquals(firstRecordId + i + 1, original.getSortedRecords().length);
+						}
+					}
+				},
+				(original, committed) -> {
+					assertArrayEquals(incrementalIndex.getSortedRecordValues(), committed.getSortedRecordValues());
+					assertArrayEquals(incrementalIndex.getSortedRecords(), committed.getSortedRecords());
+					assertEquals(new HashMap<>(incrementalIndex.valueCardinalities), new HashMap<>(committed.valueCardinalities));
+					transactionalIndex.set(committed);
+				}
+			);
+		}
+	}
+
 	@Disabled("This infinite test performs random operations sort index and verifies consistency")
 	@Test
 	void generationalProofTest() {
@@ -203,6 +403,18 @@ class SortIndexTest {
 	}
 
 	@Nonnull
+	@Test
+	void shouldEstimateSizeGrowingWithIndexedRecords() {
+		final long emptySize = new SortIndex(String.class).estimateSize();
+		final SortIndex sortIndex = createIndexWithBaseCardinalities();
+		final long filledSize = sortIndex.estimateSize();
+		assertTrue(filledSize > emptySize);
+		sortIndex.addRecord("D", 7);
+		assertTrue(sortIndex.estimateSize() > filledSize);
+		sortIndex.removeRecord("D", 7);
+		assertEquals(filledSize, sortIndex.estimateSize());
+	}
+
 	private SortIndex createIndexWithBaseCardinalities() {
 		final SortIndex sortIndex = new SortIndex(String.class);
 		sortIndex.addRecord("B", 5);
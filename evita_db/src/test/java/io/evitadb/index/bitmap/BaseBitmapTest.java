@@ -22,6 +22,7 @@
 
 package io.evitadb.index.bitmap;
 
+import io.evitadb.index.iterator.BatchArrayIterator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -61,6 +62,19 @@ class BaseBitmapTest {
 		assertArrayEquals(new int[] {3, 5, 8, 10}, toArray(it, tested.size()));
 	}
 
+	@Test
+	void shouldIterateOverAllDataInBatches() {
+		final BaseBitmap largeBitmap = new BaseBitmap();
+		final int[] expected = new int[1500];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = i * 3;
+			largeBitmap.add(expected[i]);
+		}
+		assertArrayEquals(expected, toArray(largeBitmap.batchIterator(), largeBitmap.size()));
+		assertArrayEquals(new int[] {3, 5, 8, 10}, toArray(tested.batchIterator(), tested.size()));
+		assertFalse(new BaseBitmap().batchIterator().hasNext());
+	}
+
 	@Test
 	void shouldAddAndSeeData() {
 		tested.addAll(1, 15);
@@ -102,4 +116,18 @@ class BaseBitmapTest {
 		return result;
 	}
 
+	private static int[] toArray(BatchArrayIterator iterator, int size) {
+		final int[] result = new int[size];
+		int index = 0;
+		while (iterator.hasNext()) {
+			final int[] batch = iterator.nextBatch();
+			final int peek = iterator.getPeek();
+			assertTrue(index + peek <= size);
+			System.arraycopy(batch, 0, result, index, peek);
+			index += peek;
+		}
+		assertEquals(size, index);
+		return result;
+	}
+
 }
\ No newline at end of file
@@ -23,9 +23,13 @@
 package io.evitadb.index.bitmap;
 
 import io.evitadb.api.utils.ArrayUtils;
+import io.evitadb.index.iterator.BatchArrayIterator;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.PrimitiveIterator.OfInt;
@@ -366,6 +370,95 @@ class TransactionalBitmapTest {
 		);
 	}
 
+	@Test
+	void shouldCorrectlyApplyInterleavedBulkChangesAndCommit() {
+		final TransactionalBitmap bitmap = new TransactionalBitmap(1, 5, 10);
+
+		assertStateAfterCommit(
+			bitmap,
+			original -> {
+				original.addAll(7, 3, 12);
+				original.removeAll(5, 12);
+				original.addAll(new BaseBitmap(5, 20));
+				assertTrue(original.contains(5));
+				assertFalse(original.contains(12));
+				original.removeAll(new BaseBitmap(1, 3));
+				original.add(12);
+				original.remove(20);
+
+				assertTransactionalBitmapIs(new int[]{5, 7, 10, 12}, original);
+			},
+			(original, committed) -> {
+				assertTransactionalBitmapIs(new int[]{1, 5, 10}, original);
+				assertArrayEquals(new int[]{5, 7, 10, 12}, committed.getArray());
+			}
+		);
+	}
+
+	@Test
+	void shouldReportEffectiveChangesOfBufferedSingleRecordOperations() {
+		final TransactionalBitmap bitmap = new TransactionalBitmap(1, 5, 10);
+
+		assertStateAfterCommit(
+			bitmap,
+			original -> {
+				assertTrue(original.add(3));
+				assertFalse(original.add(3));
+				assertFalse(original.add(5));
+				assertTrue(original.contains(3));
+				assertTrue(original.add(7));
+				original.addAll(8, 9);
+				assertFalse(original.add(8));
+
+				assertTrue(original.remove(3));
+				assertFalse(original.remove(3));
+				assertFalse(original.remove(4));
+				assertTrue(original.remove(1));
+				assertFalse(original.contains(1));
+				assertTrue(original.contains(7));
+				assertFalse(original.remove(1));
+
+				assertTrue(original.add(1));
+				assertTrue(original.contains(1));
+
+				assertTransactionalBitmapIs(new int[]{1, 5, 7, 8, 9, 10}, original);
+			},
+			(original, committed) -> {
+				assertTransactionalBitmapIs(new int[]{1, 5, 10}, original);
+				assertArrayEquals(new int[]{1, 5, 7, 8, 9, 10}, committed.getArray());
+			}
+		);
+	}
+
+	@Test
+	void shouldNotModifyPreviouslyReturnedBitmapWithSubsequentChanges() {
+		final TransactionalBitmap bitmap = new TransactionalBitmap(1, 5, 10);
+
+		assertStateAfterCommit(
+			bitmap,
+			original -> {
+				original.add(3);
+				final RoaringBitmap firstSnapshot = original.getRoaringBitmap();
+				final OfInt it = original.iterator();
+				original.addAll(4, 6);
+				original.remove(1);
+
+				assertArrayEquals(new int[]{1, 3, 5, 10}, firstSnapshot.toArray());
+				final int[] iteratedIds = new int[4];
+				for (int i = 0; i < iteratedIds.length; i++) {
+					iteratedIds[i] = it.nextInt();
+				}
+				assertFalse(it.hasNext());
+				assertArrayEquals(new int[]{1, 3, 5, 10}, iteratedIds);
+				assertArrayEquals(new int[]{3, 4, 5, 6, 10}, original.getRoaringBitmap().toArray());
+			},
+			(original, committed) -> {
+				assertTransactionalBitmapIs(new int[]{1, 5, 10}, original);
+				assertArrayEquals(new int[]{3, 4, 5, 6, 10}, committed.getArray());
+			}
+		);
+	}
+
 	@Test
 	void shouldCorrectlyWipeAll() {
 		final TransactionalBitmap bitmap = new TransactionalBitmap(36, 59, 179);
@@ -390,6 +483,53 @@ class TransactionalBitmapTest {
 		);
 	}
 
+	@Test
+	void shouldReadFromSerializedFormAndMaterializeOnTransactionalWrite() {
+		final TransactionalBitmap bitmap = new TransactionalBitmap(toSerializedForm(1, 5, 10));
+
+		assertTransactionalBitmapIs(new int[] {1, 5, 10}, bitmap);
+		assertEquals(1, bitmap.indexOf(5));
+		assertEquals(10, bitmap.get(2));
+		assertTrue(bitmap.isSerialized());
+
+		assertStateAfterCommit(
+			bitmap,
+			original -> {
+				original.add(6);
+				original.remove(1);
+				assertTransactionalBitmapIs(new int[] {5, 6, 10}, bitmap);
+			},
+			(original, committed) -> {
+				assertTransactionalBitmapIs(new int[] {1, 5, 10}, original);
+				assertArrayEquals(new int[] {5, 6, 10}, committed.getArray());
+			}
+		);
+		assertFalse(bitmap.isSerialized());
+	}
+
+	@Test
+	void shouldServeEqualsAndHashCodeFromSerializedForm() {
+		final TransactionalBitmap bitmap = new TransactionalBitmap(toSerializedForm(1, 5, 10));
+		final TransactionalBitmap materializedBitmap = new TransactionalBitmap(1, 5, 10);
+
+		assertEquals(materializedBitmap, bitmap);
+		assertEquals(bitmap, materializedBitmap);
+		assertEquals(materializedBitmap.hashCode(), bitmap.hashCode());
+		assertNotEquals(new TransactionalBitmap(toSerializedForm(1, 5, 11)), bitmap);
+		assertTrue(bitmap.isSerialized());
+	}
+
+	@Test
+	void shouldMaterializeSerializedFormOnlyOnceWhenRoaringBitmapIsRequested() {
+		final TransactionalBitmap bitmap = new TransactionalBitmap(toSerializedForm(1, 5, 10));
+
+		final RoaringBitmap roaringBitmap = bitmap.getRoaringBitmap();
+		assertEquals(RoaringBitmap.bitmapOf(1, 5, 10), roaringBitmap);
+		assertFalse(bitmap.isSerialized());
+		assertSame(roaringBitmap, bitmap.getRoaringBitmap());
+		assertTransactionalBitmapIs(new int[] {1, 5, 10}, bitmap);
+	}
+
 	@Disabled("This infinite test performs random operations on trans. list and normal list and verifies consistency")
 	@Test
 	void generationalProofTest() {
@@ -456,6 +596,14 @@ class TransactionalBitmapTest {
 		return initialBitmap;
 	}
 
+	private static ImmutableRoaringBitmap toSerializedForm(int... recordIds) {
+		final RoaringBitmap roaringBitmap = RoaringBitmap.bitmapOf(recordIds);
+		final ByteBuffer buffer = ByteBuffer.allocate(roaringBitmap.serializedSizeInBytes());
+		roaringBitmap.serialize(buffer);
+		buffer.flip();
+		return new ImmutableRoaringBitmap(buffer);
+	}
+
 	private static void assertTransactionalBitmapIs(int[] expectedResult, TransactionalBitmap bitmap) {
 		if (ArrayUtils.isEmpty(expectedResult)) {
 			assertTrue(bitmap.isEmpty());
@@ -481,6 +629,20 @@ class TransactionalBitmapTest {
 			expectedResult.length, index + 1,
 			"There are more expected ints than int bitmap produced by iterator!"
 		);
+
+		final BatchArrayIterator batchIt = bitmap.batchIterator();
+		index = -1;
+		while (batchIt.hasNext()) {
+			final int[] batch = batchIt.nextBatch();
+			for (int i = 0; i < batchIt.getPeek(); i++) {
+				assertTrue(expectedResult.length > index + 1);
+				assertEquals(expectedResult[++index], batch[i]);
+			}
+		}
+		assertEquals(
+			expectedResult.length, index + 1,
+			"There are more expected ints than int bitmap produced by batch iterator!"
+		);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index.footprint;
+
+import io.evitadb.index.EntityIndexType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * This test verifies aggregation logic of {@link IndexFootprintCollector}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+class IndexFootprintCollectorTest {
+
+	@Test
+	void shouldAggregateFootprintsOfTheSameIndexPart() {
+		final IndexFootprintCollector collector = new IndexFootprintCollector();
+		collector.record("product", EntityIndexType.REFERENCED_ENTITY, IndexFootprintPart.ATTRIBUTE_FILTER, "code", 100L);
+		collector.record("product", EntityIndexType.REFERENCED_ENTITY, IndexFootprintPart.ATTRIBUTE_FILTER, "code", 50L);
+		collector.record("product", EntityIndexType.REFERENCED_ENTITY, IndexFootprintPart.ATTRIBUTE_FILTER, "name", 20L);
+		collector.record("product", EntityIndexType.GLOBAL, IndexFootprintPart.ATTRIBUTE_FILTER, "code", 400L);
+		collector.record("category", EntityIndexType.GLOBAL, IndexFootprintPart.HIERARCHY, null, 10L);
+
+		final List<IndexFootprint> footprints = collector.getFootprints();
+		assertEquals(4, footprints.size());
+		assertEquals(580L, collector.getTotalSize());
+
+		assertEquals(new IndexFootprint("product", EntityIndexType.GLOBAL, IndexFootprintPart.ATTRIBUTE_FILTER, "code", 1, 400L), footprints.get(0));
+		assertEquals(new IndexFootprint("product", EntityIndexType.REFERENCED_ENTITY, IndexFootprintPart.ATTRIBUTE_FILTER, "code", 2, 150L), footprints.get(1));
+		assertEquals(new IndexFootprint("product", EntityIndexType.REFERENCED_ENTITY, IndexFootprintPart.ATTRIBUTE_FILTER, "name", 1, 20L), footprints.get(2));
+		assertEquals("category", footprints.get(3).getEntityType());
+		assertNull(footprints.get(3).getAttributeName());
+	}
+
+	@Test
+	void shouldReturnNoFootprintsWhenNothingIsRecorded() {
+		final IndexFootprintCollector collector = new IndexFootprintCollector();
+		assertEquals(0, collector.getFootprints().size());
+		assertEquals(0L, collector.getTotalSize());
+	}
+
+}
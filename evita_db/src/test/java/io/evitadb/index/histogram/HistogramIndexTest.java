@@ -381,6 +381,112 @@ class HistogramIndexTest {
 		assertTrue(tested.isEmpty());
 	}
 
+	@Test
+	void shouldKeepBucketsOrderedInLargeHistogram() {
+		final HistogramIndex<Integer> histogram = new HistogramIndex<>();
+		final List<Integer> values = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			values.add(i);
+		}
+		Collections.shuffle(values, new Random(42));
+		for (Integer value : values) {
+			histogram.addRecord(value * 2, value);
+		}
+
+		assertEquals(1000, histogram.getBucketCount());
+		assertEquals(1000, histogram.getLength());
+		final HistogramBucket<Integer>[] buckets = histogram.getBuckets();
+		for (int i = 0; i < buckets.length; i++) {
+			assertEquals(i * 2, buckets[i].getValue());
+		}
+		assertArrayEquals(new int[]{300}, histogram.getRecordsAt(600).getArray());
+		assertArrayEquals(new int[]{300}, histogram.getRecordsAtIndex(300).getArray());
+		assertArrayEquals(new int[0], histogram.getRecordsAt(601).getArray());
+		assertTrue(histogram.contains(1998));
+		assertFalse(histogram.contains(2000));
+		assertEquals(201, histogram.getRecords(200, 600).getRecordIds().size());
+		assertEquals(199, histogram.getSortedRecordsExclusive(200, 600).getRecordIds().size());
+
+		assertEquals(700, histogram.removeRecord(1400, 700));
+		assertEquals(-1, histogram.removeRecord(1400, 700));
+		for (int i = 0; i < 1000; i++) {
+			if (i != 700) {
+				histogram.removeRecord(i * 2, i);
+			}
+		}
+		assertTrue(histogram.isEmpty());
+		assertEquals(0, histogram.getBucketCount());
+	}
+
+	@Test
+	void shouldReturnRecordsAtIndexOfChunkModifiedInTransaction() {
+		final HistogramIndex<Integer> histogram = new HistogramIndex<>();
+		for (int i = 0; i < 1000; i++) {
+			histogram.addRecord(i * 2, i);
+		}
+
+		assertStateAfterRollback(
+			histogram,
+			original -> {
+				original.addRecord(601, 5000);
+				original.addRecord(1997, 5001);
+				assertArrayEquals(new int[]{300}, original.getRecordsAtIndex(300).getArray());
+				assertArrayEquals(new int[]{5000}, original.getRecordsAtIndex(301).getArray());
+				assertArrayEquals(new int[]{301}, original.getRecordsAtIndex(302).getArray());
+				assertArrayEquals(new int[]{5001}, original.getRecordsAtIndex(1000).getArray());
+				assertArrayEquals(new int[]{999}, original.getRecordsAtIndex(1001).getArray());
+				final HistogramBucket<Integer>[] buckets = original.getBuckets();
+				for (int i = 0; i < buckets.length; i++) {
+					assertArrayEquals(buckets[i].getRecordIds().getArray(), original.getRecordsAtIndex(i).getArray());
+				}
+			},
+			(original, committed) -> {
+				assertNull(committed);
+				assertArrayEquals(new int[]{301}, original.getRecordsAtIndex(301).getArray());
+				assertArrayEquals(new int[]{999}, original.getRecordsAtIndex(999).getArray());
+			}
+		);
+	}
+
+	@Test
+	void shouldReuseUntouchedBucketsOnCommit() {
+		final HistogramIndex<Integer> histogram = new HistogramIndex<>();
+		for (int i = 0; i < 1000; i++) {
+			histogram.addRecord(i * 2, i);
+		}
+
+		assertStateAfterCommit(
+			histogram,
+			original -> {
+				// insert more buckets into single chunk than it may hold
+				for (int i = 0; i < 300; i++) {
+					original.addRecord(-1 - i, 1000 + i);
+				}
+				original.removeRecord(998, 499);
+
+				assertEquals(1299, original.getBucketCount());
+				assertEquals(-300, original.getBuckets()[0].getValue());
+				assertArrayEquals(new int[0], original.getRecordsAt(998).getArray());
+			},
+			(original, committed) -> {
+				assertEquals(1000, original.getBucketCount());
+				assertEquals(0, original.getBuckets()[0].getValue());
+				assertArrayEquals(new int[]{499}, original.getRecordsAt(998).getArray());
+
+				assertEquals(1299, committed.getBucketCount());
+				final HistogramBucket<Integer>[] buckets = committed.getBuckets();
+				for (int i = 1; i < buckets.length; i++) {
+					assertTrue(buckets[i - 1].getValue() < buckets[i].getValue());
+				}
+				assertArrayEquals(new int[]{1000}, committed.getRecordsAt(-1).getArray());
+				assertArrayEquals(new int[0], committed.getRecordsAt(998).getArray());
+				assertEquals(1299, committed.getRecords().getRecordIds().size());
+				// the last bucket lies in the chunk that was not touched by the transaction
+				assertSame(original.getBuckets()[999], buckets[1298]);
+			}
+		);
+	}
+
 	@Test
 	void shouldReturnSortedAllValues() {
 		assertIteratorContains(tested.getSortedRecords().getRecordIds().iterator(), new int[]{1, 2, 3, 4, 5, 20});
@@ -0,0 +1,198 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.index.map;
+
+import com.carrotsearch.hppc.IntObjectHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static io.evitadb.utils.AssertionUtils.assertStateAfterCommit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test verifies contract of {@link TransactionalIntObjMap} implementation.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+class TransactionalIntObjMapTest {
+	private TransactionalIntObjMap<String> tested;
+
+	@BeforeEach
+	void setUp() {
+		final IntObjectHashMap<String> underlyingData = new IntObjectHashMap<>();
+		underlyingData.put(1, "a");
+		underlyingData.put(2, "b");
+		tested = new TransactionalIntObjMap<>(underlyingData);
+	}
+
+	@Test
+	void shouldNotModifyOriginalStateButCreateModifiedCopy() {
+		assertStateAfterCommit(
+			tested,
+			original -> {
+				original.put(1, "c");
+				original.put(3, "c");
+				assertMapContains(original, 1, "c", 2, "b", 3, "c");
+			},
+			(original, committedVersion) -> {
+				assertMapContains(original, 1, "a", 2, "b");
+				assertMapContains(committedVersion, 1, "c", 2, "b", 3, "c");
+			}
+		);
+	}
+
+	@Test
+	void shouldMergeRemovalsAndUpdatesAndInsertionsOnTransactionCommit() {
+		assertStateAfterCommit(
+			tested,
+			original -> {
+				original.remove(1);
+				original.put(2, "c");
+				original.put(3, "c");
+				assertNull(original.get(1));
+				assertFalse(original.containsKey(1));
+				assertMapContains(original, 2, "c", 3, "c");
+			},
+			(original, committedVersion) -> {
+				assertMapContains(original, 1, "a", 2, "b");
+				assertMapContains(committedVersion, 2, "c", 3, "c");
+			}
+		);
+	}
+
+	@Test
+	void shouldReinsertRemovedKey() {
+		assertStateAfterCommit(
+			tested,
+			original -> {
+				original.remove(1);
+				original.put(1, "d");
+				assertMapContains(original, 1, "d", 2, "b");
+			},
+			(original, committedVersion) -> {
+				assertMapContains(original, 1, "a", 2, "b");
+				assertMapContains(committedVersion, 1, "d", 2, "b");
+			}
+		);
+	}
+
+	@Test
+	void shouldInterpretIsEmptyCorrectly() {
+		assertStateAfterCommit(
+			tested,
+			original -> {
+				assertFalse(original.isEmpty());
+
+				original.put(3, "c");
+				assertFalse(original.isEmpty());
+
+				original.remove(1);
+				original.remove(3);
+				assertFalse(original.isEmpty());
+
+				original.remove(2);
+				assertTrue(original.isEmpty());
+
+				original.put(4, "d");
+				assertFalse(original.isEmpty());
+
+				original.remove(4);
+				assertTrue(original.isEmpty());
+			},
+			(original, committedVersion) -> {
+				assertMapContains(original, 1, "a", 2, "b");
+				assertTrue(committedVersion.isEmpty());
+			}
+		);
+	}
+
+	@Test
+	void shouldComputeValues() {
+		assertStateAfterCommit(
+			tested,
+			original -> {
+				assertEquals("a", original.computeIfAbsent(1, key -> "x"));
+				assertEquals("x", original.computeIfAbsent(3, key -> "x"));
+				assertEquals("bb", original.computeIfPresent(2, value -> value + value));
+				assertNull(original.computeIfPresent(4, value -> value + value));
+				assertNull(original.computeIfPresent(1, value -> null));
+				assertMapContains(original, 2, "bb", 3, "x");
+			},
+			(original, committedVersion) -> {
+				assertMapContains(original, 1, "a", 2, "b");
+				assertMapContains(committedVersion, 2, "bb", 3, "x");
+			}
+		);
+	}
+
+	@Test
+	void shouldProduceValidKeysAndValues() {
+		assertStateAfterCommit(
+			tested,
+			original -> {
+				original.put(3, "c");
+				original.remove(2);
+
+				final int[] keys = original.keys();
+				Arrays.sort(keys);
+				assertArrayEquals(new int[]{1, 3}, keys);
+				assertEquals(new HashSet<>(Arrays.asList("a", "c")), new HashSet<>(original.values()));
+
+				final Map<Integer, String> plainMap = original.toMap();
+				assertEquals(2, plainMap.size());
+				assertEquals("a", plainMap.get(1));
+				assertEquals("c", plainMap.get(3));
+			},
+			(original, committedVersion) -> assertMapContains(committedVersion, 1, "a", 3, "c")
+		);
+	}
+
+	private static void assertMapContains(TransactionalIntObjMap<String> map, Object... keysAndValues) {
+		assertEquals(keysAndValues.length / 2, map.size());
+		final Set<Integer> keys = new HashSet<>();
+		for (int key : map.keys()) {
+			keys.add(key);
+		}
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			final int key = (Integer) keysAndValues[i];
+			assertTrue(keys.contains(key), "Key " + key + " is missing!");
+			assertTrue(map.containsKey(key));
+			assertEquals(keysAndValues[i + 1], map.get(key));
+		}
+	}
+
+	private static void assertMapContains(IntObjectHashMap<String> map, Object... keysAndValues) {
+		assertEquals(keysAndValues.length / 2, map.size());
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			final int key = (Integer) keysAndValues[i];
+			assertTrue(map.containsKey(key), "Key " + key + " is missing!");
+			assertEquals(keysAndValues[i + 1], map.get(key));
+		}
+	}
+
+}
@@ -24,6 +24,8 @@ package io.evitadb.index.price;
 
 import io.evitadb.api.data.PriceInnerRecordHandling;
 import io.evitadb.api.utils.ArrayUtils;
+import io.evitadb.index.array.CompositeIntArray;
+import io.evitadb.index.bitmap.ArrayBitmap;
 import io.evitadb.index.bitmap.BaseBitmap;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.RoaringBitmapBackedBitmap;
@@ -33,6 +35,9 @@ import io.evitadb.index.price.model.priceRecord.PriceRecordContract;
 import io.evitadb.index.range.RangeIndex;
 import io.evitadb.query.algebra.base.ConstantFormula;
 import io.evitadb.query.algebra.base.OrFormula;
+import io.evitadb.storage.model.storageParts.StoragePart;
+import io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexChunkStoragePart;
+import io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexStoragePart;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -40,6 +45,8 @@ import org.roaringbitmap.RoaringBitmap;
 import org.roaringbitmap.RoaringBitmapWriter;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Currency;
 import java.util.Random;
 import java.util.function.Consumer;
@@ -48,6 +55,9 @@ import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * This class verifies contract of {@link PriceListAndCurrencyPriceSuperIndex}.
@@ -136,6 +146,103 @@ class PriceListAndCurrencyPriceSuperIndexTest {
 		}
 	}
 
+	@Test
+	void shouldFindPricesByIdsInUnorderedArrayBitmap() {
+		final PriceListAndCurrencyPriceSuperIndex tested = new PriceListAndCurrencyPriceSuperIndex(PRICE_INDEX_KEY, new RangeIndex(), PRICE_RECORDS);
+		final PriceRecordContract[] pickedRecords = new PriceRecordContract[] {
+			PRICE_RECORDS[10], PRICE_RECORDS[600], PRICE_RECORDS[1200], PRICE_RECORDS[4000]
+		};
+		// array bitmap keeps the ids in the order of insertion
+		final ArrayBitmap unorderedPriceIds = new ArrayBitmap(
+			new CompositeIntArray(
+				pickedRecords[2].getInternalPriceId(), pickedRecords[0].getInternalPriceId(),
+				pickedRecords[3].getInternalPriceId(), pickedRecords[1].getInternalPriceId()
+			)
+		);
+
+		assertArrayEquals(pickedRecords, tested.getPriceRecords(unorderedPriceIds));
+	}
+
+	@Test
+	void shouldPersistAllChunksOfNewIndex() {
+		final PriceListAndCurrencyPriceSuperIndex tested = new PriceListAndCurrencyPriceSuperIndex(PRICE_INDEX_KEY);
+		for (PriceRecordContract priceRecord : PRICE_RECORDS) {
+			tested.addPrice(priceRecord, null);
+		}
+
+		final PriceListAndCurrencySuperIndexStoragePart mainPart = (PriceListAndCurrencySuperIndexStoragePart) tested.createStoragePart(1);
+		assertNotNull(mainPart);
+		final PriceRecordContract[] persistedRecords = tested.createChunkStorageParts(1)
+			.stream()
+			.map(PriceListAndCurrencySuperIndexChunkStoragePart.class::cast)
+			.sorted(Comparator.comparingInt(PriceListAndCurrencySuperIndexChunkStoragePart::getChunkId))
+			.flatMap(it -> Arrays.stream(it.getPriceRecords()))
+			.toArray(PriceRecordContract[]::new);
+		assertArrayEquals(PRICE_RECORDS, persistedRecords);
+		assertEquals(
+			Arrays.stream(PRICE_RECORDS).mapToInt(it -> PriceListAndCurrencySuperIndexChunkStoragePart.getChunkId(it.getInternalPriceId())).distinct().count(),
+			mainPart.getChunkIds().length
+		);
+	}
+
+	@Test
+	void shouldPersistOnlyChunkTouchedByThePriceChange() {
+		final PriceListAndCurrencyPriceSuperIndex tested = new PriceListAndCurrencyPriceSuperIndex(PRICE_INDEX_KEY, new RangeIndex(), PRICE_RECORDS);
+		assertNull(tested.createStoragePart(1));
+		assertTrue(tested.createChunkStorageParts(1).isEmpty());
+
+		final int newPriceId = PRICE_RECORDS[PRICE_RECORDS.length / 2].getInternalPriceId() + 1;
+		final PriceRecord newPrice = new PriceRecord(newPriceId, newPriceId, 1, 121, 100);
+		tested.addPrice(newPrice, null);
+
+		assertNotNull(tested.createStoragePart(1));
+		final Collection<StoragePart> chunks = tested.createChunkStorageParts(1);
+		assertEquals(1, chunks.size());
+		final PriceListAndCurrencySuperIndexChunkStoragePart chunk = (PriceListAndCurrencySuperIndexChunkStoragePart) chunks.iterator().next();
+		final int chunkId = PriceListAndCurrencySuperIndexChunkStoragePart.getChunkId(newPriceId);
+		assertEquals(chunkId, chunk.getChunkId());
+		assertArrayEquals(
+			Arrays.stream(tested.getPriceRecords())
+				.filter(it -> PriceListAndCurrencySuperIndexChunkStoragePart.getChunkId(it.getInternalPriceId()) == chunkId)
+				.toArray(PriceRecordContract[]::new),
+			chunk.getPriceRecords()
+		);
+
+		tested.resetDirty();
+		assertNull(tested.createStoragePart(1));
+		assertTrue(tested.createChunkStorageParts(1).isEmpty());
+	}
+
+	@Test
+	void shouldPersistAllChunksOfIndexLoadedWithoutChunks() {
+		final PriceListAndCurrencyPriceSuperIndex tested = new PriceListAndCurrencyPriceSuperIndex(PRICE_INDEX_KEY, new RangeIndex(), PRICE_RECORDS, true);
+		assertNull(tested.createStoragePart(1));
+		assertTrue(tested.createChunkStorageParts(1).isEmpty());
+
+		final int newPriceId = PRICE_RECORDS[PRICE_RECORDS.length / 2].getInternalPriceId() + 1;
+		tested.addPrice(new PriceRecord(newPriceId, newPriceId, 1, 121, 100), null);
+
+		final PriceListAndCurrencySuperIndexStoragePart mainPart = (PriceListAndCurrencySuperIndexStoragePart) tested.createStoragePart(1);
+		assertNotNull(mainPart);
+		final PriceListAndCurrencySuperIndexChunkStoragePart[] chunks = tested.createChunkStorageParts(1)
+			.stream()
+			.map(PriceListAndCurrencySuperIndexChunkStoragePart.class::cast)
+			.sorted(Comparator.comparingInt(PriceListAndCurrencySuperIndexChunkStoragePart::getChunkId))
+			.toArray(PriceListAndCurrencySuperIndexChunkStoragePart[]::new);
+		assertArrayEquals(
+			mainPart.getChunkIds(),
+			Arrays.stream(chunks).mapToInt(PriceListAndCurrencySuperIndexChunkStoragePart::getChunkId).toArray()
+		);
+		assertArrayEquals(
+			tested.getPriceRecords(),
+			Arrays.stream(chunks).flatMap(it -> Arrays.stream(it.getPriceRecords())).toArray(PriceRecordContract[]::new)
+		);
+
+		tested.resetDirty();
+		tested.addPrice(new PriceRecord(newPriceId + 1, newPriceId + 1, 1, 121, 100), null);
+		assertEquals(1, tested.createChunkStorageParts(1).size());
+	}
+
 	private static PriceRecordContract[] generateRandomPriceRecords(int number) {
 		final Random random = new Random(42);
 		final PriceRecordContract[] result = new PriceRecordContract[number];
@@ -27,12 +27,17 @@ import com.carrotsearch.hppc.IntIntMap;
 import io.evitadb.api.data.PriceInnerRecordHandling;
 import io.evitadb.api.data.structure.Price.PriceKey;
 import io.evitadb.api.dataType.DateTimeRange;
+import io.evitadb.api.serialization.KeyCompressor;
 import io.evitadb.api.utils.ArrayUtils;
 import io.evitadb.index.price.model.PriceIndexKey;
 import io.evitadb.index.price.model.priceRecord.PriceRecord;
 import io.evitadb.index.price.model.priceRecord.PriceRecordContract;
 import io.evitadb.index.price.model.priceRecord.PriceRecordInnerRecordSpecific;
 import io.evitadb.index.range.RangeIndex;
+import io.evitadb.storage.model.ReadWriteKeyCompressor;
+import io.evitadb.storage.model.storageParts.PersistedStoragePartKey;
+import io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexChunkStoragePart;
+import io.evitadb.storage.model.storageParts.index.PriceListAndCurrencySuperIndexStoragePart;
 import lombok.Data;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -178,6 +183,51 @@ class PriceSuperIndexTest {
 		assertNull(priceIndex.getPriceIndex(PRICE_LIST, CURRENCY_CZK, PriceInnerRecordHandling.NONE));
 	}
 
+	@Test
+	void shouldReturnAllStoragePartsOfRemovedIndexForRemoval() {
+		final PriceIndexKey priceIndexKey = new PriceIndexKey(PRICE_LIST, CURRENCY_CZK, PriceInnerRecordHandling.NONE);
+		final KeyCompressor keyCompressor = new ReadWriteKeyCompressor(new HashMap<>());
+		keyCompressor.getId(priceIndexKey);
+		final PriceSuperIndex priceIndex = new PriceSuperIndex(2 * PriceListAndCurrencySuperIndexChunkStoragePart.CHUNK_SIZE, new HashMap<>());
+		priceIndex.addPrice(1, 1, new PriceKey(10, PRICE_LIST, CURRENCY_CZK), PriceInnerRecordHandling.NONE, null, null, 1000, 1210);
+		priceIndex.addPrice(2, 2 * PriceListAndCurrencySuperIndexChunkStoragePart.CHUNK_SIZE, new PriceKey(11, PRICE_LIST, CURRENCY_CZK), PriceInnerRecordHandling.NONE, null, null, 999, 2000);
+		assertTrue(priceIndex.getRemovedStorageParts(1, keyCompressor).isEmpty());
+
+		priceIndex.priceRemove(1, 1, new PriceKey(10, PRICE_LIST, CURRENCY_CZK), PriceInnerRecordHandling.NONE, null, null, 1000, 1210);
+		priceIndex.priceRemove(2, 2 * PriceListAndCurrencySuperIndexChunkStoragePart.CHUNK_SIZE, new PriceKey(11, PRICE_LIST, CURRENCY_CZK), PriceInnerRecordHandling.NONE, null, null, 999, 2000);
+		assertNull(priceIndex.getPriceIndex(priceIndexKey));
+
+		final Collection<PersistedStoragePartKey> removedParts = priceIndex.getRemovedStorageParts(1, keyCompressor);
+		assertTrue(removedParts.contains(new PersistedStoragePartKey(PriceListAndCurrencySuperIndexStoragePart.computeUniquePartId(1, priceIndexKey, keyCompressor), PriceListAndCurrencySuperIndexStoragePart.class)));
+		for (int chunkId = 0; chunkId <= 2; chunkId++) {
+			assertTrue(removedParts.contains(new PersistedStoragePartKey(PriceListAndCurrencySuperIndexChunkStoragePart.computeUniquePartId(1, priceIndexKey, chunkId, keyCompressor), PriceListAndCurrencySuperIndexChunkStoragePart.class)));
+		}
+
+		// the index is created again - only the chunk that is not rewritten by the new index is removed
+		priceIndex.addPrice(3, null, new PriceKey(12, PRICE_LIST, CURRENCY_CZK), PriceInnerRecordHandling.NONE, null, null, 1000, 1210);
+		assertEquals(
+			Set.of(
+				new PersistedStoragePartKey(PriceListAndCurrencySuperIndexChunkStoragePart.computeUniquePartId(1, priceIndexKey, 0, keyCompressor), PriceListAndCurrencySuperIndexChunkStoragePart.class),
+				new PersistedStoragePartKey(PriceListAndCurrencySuperIndexChunkStoragePart.computeUniquePartId(1, priceIndexKey, 1, keyCompressor), PriceListAndCurrencySuperIndexChunkStoragePart.class)
+			),
+			new HashSet<>(priceIndex.getRemovedStorageParts(1, keyCompressor))
+		);
+
+		priceIndex.resetDirty();
+		assertTrue(priceIndex.getRemovedStorageParts(1, keyCompressor).isEmpty());
+	}
+
+	@Test
+	void shouldDistinguishChunksOfPriceIndexesInDifferentEntityIndexes() {
+		final PriceIndexKey priceIndexKey = new PriceIndexKey(PRICE_LIST, CURRENCY_CZK, PriceInnerRecordHandling.NONE);
+		final KeyCompressor keyCompressor = new ReadWriteKeyCompressor(new HashMap<>());
+		final long firstIndexChunk = PriceListAndCurrencySuperIndexChunkStoragePart.computeUniquePartId(1, priceIndexKey, 0, keyCompressor);
+		final long secondIndexChunk = PriceListAndCurrencySuperIndexChunkStoragePart.computeUniquePartId(2, priceIndexKey, 0, keyCompressor);
+		assertNotEquals(firstIndexChunk, secondIndexChunk);
+		assertEquals(firstIndexChunk, PriceListAndCurrencySuperIndexChunkStoragePart.computeUniquePartId(1, priceIndexKey, 0, keyCompressor));
+		assertNotEquals(firstIndexChunk, PriceListAndCurrencySuperIndexChunkStoragePart.computeUniquePartId(1, priceIndexKey, 1, keyCompressor));
+	}
+
 	@Test
 	void shouldRemoveFirstOccurrencePrice() {
 		shouldAddFirstOccurrencePrice();
@@ -26,6 +26,7 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import io.evitadb.api.dataType.NumberRange;
+import io.evitadb.cache.CacheSupervisor;
 import io.evitadb.index.bitmap.BaseBitmap;
 import io.evitadb.index.bitmap.Bitmap;
 import io.evitadb.index.bitmap.RoaringBitmapBackedBitmap;
@@ -34,6 +35,7 @@ import io.evitadb.index.range.RangeIndex.StartsEndsDTO;
 import io.evitadb.storage.serialization.index.internal.IntRangeIndexSerializer;
 import io.evitadb.storage.serialization.index.internal.TransactionalIntRangePointSerializer;
 import io.evitadb.storage.serialization.index.internal.TransactionalIntegerBitmapSerializer;
+import net.openhft.hashing.LongHashFunction;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
@@ -403,6 +405,178 @@ class RangeIndexTest {
 		assertFormulaResultsIn(tested.getRecordsWithRangesOverlapping(7, 7), new int[]{2, 3, 5});
 	}
 
+	@Test
+	void shouldReturnRecordsValidIn() {
+		tested.addRecord(1, 4, 1);
+		tested.addRecord(4, 7, 2);
+		tested.addRecord(7, 10, 3);
+		tested.addRecord(3, 5, 4);
+		tested.addRecord(6, 9, 5);
+		tested.addRecord(12, 15, 1);
+		tested.addRecord(Long.MIN_VALUE, 2, 6);
+
+		// the order of the points exercises both forward and backward passes from cached active sets
+		final long[] points = {8, 1, 12, 4, 11, 7, 2, 16, 5, 15, 6, 10, Long.MIN_VALUE, 3, 9, Long.MAX_VALUE};
+		final int[][] expectedRecords = {
+			{3, 5}, {1, 6}, {1}, {1, 2, 4}, {}, {2, 3, 5}, {1, 6}, {}, {2, 4}, {1}, {2, 5}, {3}, {6}, {1, 4}, {3, 5}, {}
+		};
+		for (int i = 0; i < points.length; i++) {
+			assertArrayEquals(expectedRecords[i], tested.getRecordsValidIn(points[i]).getArray(), "Point " + points[i]);
+		}
+		for (int i = 0; i < points.length; i++) {
+			assertFormulaResultsIn(tested.getRecordsValidInFormula(points[i]), expectedRecords[i]);
+		}
+
+		assertArrayEquals(new int[]{1}, tested.getRecordsValidIn(13).getArray());
+		assertArrayEquals(new int[]{1, 2, 3, 4, 5}, tested.getRecordsOverlapping(4, 12).getArray());
+		assertArrayEquals(new int[]{1, 3}, tested.getRecordsOverlapping(10, 13).getArray());
+
+		assertEquals(2, tested.estimateRecordsOverlappingCount(10, 13));
+
+		tested.removeRecord(12, 15, 1);
+		assertArrayEquals(new int[0], tested.getRecordsValidIn(13).getArray());
+		assertArrayEquals(new int[]{3}, tested.getRecordsOverlapping(10, 13).getArray());
+		assertEquals(1, tested.estimateRecordsOverlappingCount(10, 13));
+	}
+
+	@Test
+	void shouldShareCachedRecordsValidInForAllPointsBetweenNeighbouringRangePoints() {
+		tested.addRecord(1, 10, 1);
+		tested.addRecord(5, 20, 2);
+
+		for (long point = 6; point < 10; point++) {
+			assertArrayEquals(new int[]{1, 2}, tested.getRecordsValidIn(point).getArray());
+		}
+		assertEquals(1, tested.validInCache.size());
+
+		// the exact range point is derived from the interval preceding it
+		assertArrayEquals(new int[]{1, 2}, tested.getRecordsValidIn(5).getArray());
+		assertArrayEquals(new int[]{1}, tested.getRecordsValidIn(4).getArray());
+		assertEquals(2, tested.validInCache.size());
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedRecordsValidIn() {
+		// range points are MIN, 1, 2, 11, 12, 21, 22 ... - point 10 * i + 5 lies in the interval closed by index 2 * i + 3
+		for (int i = 0; i < 50; i++) {
+			tested.addRecord(10 * i + 1, 10 * i + 2, i);
+		}
+
+		assertArrayEquals(new int[0], tested.getRecordsValidIn(5).getArray());
+		for (int i = 1; i <= 40; i++) {
+			assertArrayEquals(new int[0], tested.getRecordsValidIn(10 * i + 5).getArray());
+			// keep the first interval recently used
+			assertArrayEquals(new int[0], tested.getRecordsValidIn(6).getArray());
+			assertTrue(tested.validInCache.size() <= 32);
+		}
+
+		assertEquals(32, tested.validInCache.size());
+		assertTrue(tested.validInCache.containsKey(3));
+		assertTrue(tested.validInCache.containsKey(2 * 40 + 3));
+		assertFalse(tested.validInCache.containsKey(2 * 9 + 3));
+		assertArrayEquals(new int[]{12}, tested.getRecordsValidIn(121).getArray());
+	}
+
+	@Test
+	void shouldComputeRecordsValidInConsistentlyWithRanges() {
+		final Random rnd = new Random(42);
+		final Map<Integer, List<NumberRange>> recordRanges = new HashMap<>();
+		for (int recordId = 0; recordId < 200; recordId++) {
+			// each record has one or two non-overlapping ranges with unique borders
+			final int from = rnd.nextInt(500) * 4;
+			final int to = from + 1 + rnd.nextInt(100) * 4;
+			tested.addRecord(from, to, recordId);
+			final List<NumberRange> ranges = new ArrayList<>(2);
+			ranges.add(NumberRange.between(from, to));
+			if (rnd.nextBoolean()) {
+				final int secondFrom = to + 1 + rnd.nextInt(50) * 4;
+				final int secondTo = secondFrom + 1 + rnd.nextInt(50) * 4;
+				tested.addRecord(secondFrom, secondTo, recordId);
+				ranges.add(NumberRange.between(secondFrom, secondTo));
+			}
+			recordRanges.put(recordId, ranges);
+		}
+
+		for (int i = 0; i < 500; i++) {
+			final long from = rnd.nextInt(2400);
+			final long to = from + (rnd.nextBoolean() ? 0 : rnd.nextInt(100));
+			final int[] expected = recordRanges.entrySet()
+				.stream()
+				.filter(it -> it.getValue().stream().anyMatch(range -> range.getFrom() <= to && range.getTo() >= from))
+				.mapToInt(Entry::getKey)
+				.sorted()
+				.toArray();
+			assertArrayEquals(expected, tested.getRecordsOverlapping(from, to).getArray(), "Range " + from + " - " + to);
+			final int estimate = tested.estimateRecordsOverlappingCount(from, to);
+			assertTrue(estimate >= expected.length, "Range " + from + " - " + to);
+			if (from == to) {
+				assertEquals(expected.length, estimate, "Point " + from);
+			}
+			if (from == to) {
+				assertArrayEquals(expected, tested.getRecordsValidIn(from).getArray(), "Point " + from);
+			}
+		}
+	}
+
+	@Test
+	void shouldNotReturnCachedRecordsValidInWhenChangedInTransaction() {
+		tested.addRecord(1, 10, 1);
+		tested.addRecord(5, 20, 2);
+		assertArrayEquals(new int[]{1, 2}, tested.getRecordsValidIn(7).getArray());
+
+		assertStateAfterCommit(
+			tested,
+			original -> {
+				original.addRecord(6, 8, 3);
+				original.removeRecord(1, 10, 1);
+
+				assertArrayEquals(new int[]{2, 3}, original.getRecordsValidIn(7).getArray());
+				assertArrayEquals(new int[]{2}, original.getRecordsValidIn(9).getArray());
+				assertEquals(2, original.estimateRecordsOverlappingCount(7, 7));
+				assertEquals(1, original.estimateRecordsOverlappingCount(9, 9));
+			},
+			(original, committed) -> {
+				assertArrayEquals(new int[]{1, 2}, original.getRecordsValidIn(7).getArray());
+				assertArrayEquals(new int[]{2, 3}, committed.getRecordsValidIn(7).getArray());
+				assertArrayEquals(new int[]{1, 2}, original.getRecordsValidIn(9).getArray());
+				assertArrayEquals(new int[]{2}, committed.getRecordsValidIn(9).getArray());
+				assertEquals(2, original.estimateRecordsOverlappingCount(9, 9));
+				assertEquals(1, committed.estimateRecordsOverlappingCount(9, 9));
+			}
+		);
+	}
+
+	@Test
+	void shouldNotExposeCachedRecordsValidIn() {
+		tested.addRecord(1, 10, 1);
+		tested.addRecord(5, 20, 2);
+
+		// modification of the returned bitmap must affect neither the cached active set nor the sets seeded from it
+		RoaringBitmapBackedBitmap.getRoaringBitmap(tested.getRecordsValidIn(7)).add(99);
+		RoaringBitmapBackedBitmap.getRoaringBitmap(tested.getRecordsOverlapping(7, 7)).add(98);
+
+		assertArrayEquals(new int[]{1, 2}, tested.getRecordsValidIn(7).getArray());
+		assertArrayEquals(new int[]{1, 2}, tested.getRecordsValidIn(8).getArray());
+		assertArrayEquals(new int[]{2}, tested.getRecordsValidIn(15).getArray());
+	}
+
+	@Test
+	void shouldDistinguishOverlappingFormulasOfDifferentIndexes() {
+		final LongHashFunction hashFunction = CacheSupervisor.createHashFunction();
+		final RangeIndex anotherIndex = new RangeIndex();
+		tested.addRecord(1, 10, 1);
+		anotherIndex.addRecord(1, 10, 2);
+
+		assertEquals(
+			tested.getRecordsWithRangesOverlapping(3, 5).computeHash(hashFunction),
+			tested.getRecordsWithRangesOverlapping(3, 5).computeHash(hashFunction)
+		);
+		assertNotEquals(
+			tested.getRecordsWithRangesOverlapping(3, 5).computeHash(hashFunction),
+			anotherIndex.getRecordsWithRangesOverlapping(3, 5).computeHash(hashFunction)
+		);
+	}
+
 	@Test
 	void shouldSerializeAndDeserialize() {
 		tested.addRecord(5, 10, 1);
@@ -427,6 +601,31 @@ class RangeIndexTest {
 		assertEquals(tested, deserializedTested);
 	}
 
+	@Test
+	void shouldSerializeAndDeserializeWithDeferredBitmapDeserialization() {
+		tested.addRecord(5, 10, 1);
+		tested.addRecord(5, 10, 2);
+		tested.addRecord(7, 10, 3);
+		tested.addRecord(1, 5, 4);
+
+		final Kryo kryo = new Kryo();
+
+		kryo.register(RangeIndex.class, new IntRangeIndexSerializer());
+		kryo.register(TransactionalRangePoint.class, new TransactionalIntRangePointSerializer());
+		kryo.register(TransactionalBitmap.class, new TransactionalIntegerBitmapSerializer(true));
+		kryo.register(int[].class);
+
+		final Output output = new Output(1024, -1);
+		kryo.writeObject(output, tested);
+		output.flush();
+
+		byte[] bytes = output.getBuffer();
+
+		final RangeIndex deserializedTested = kryo.readObject(new Input(bytes), RangeIndex.class);
+		assertFormulaResultsIn(deserializedTested.getRecordsWithRangesOverlapping(7, 7), new int[]{1, 2, 3});
+		assertEquals(tested, deserializedTested);
+	}
+
 	@Disabled("This infinite test performs random operations sort index and verifies consistency")
 	@Test
 	void generationalProofTest() {
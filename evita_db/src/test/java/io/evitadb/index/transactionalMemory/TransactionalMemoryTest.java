@@ -24,6 +24,7 @@ package io.evitadb.index.transactionalMemory;
 
 import io.evitadb.api.Transaction;
 import io.evitadb.index.map.TransactionalMemoryMap;
+import io.evitadb.index.transactionalMemory.exception.ReadOnlyTransactionalMemoryException;
 import lombok.Getter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,10 +35,15 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * This class verifies {@link TransactionalMemory} contract.
@@ -107,6 +113,52 @@ class TransactionalMemoryTest {
 		assertEquals(Integer.valueOf(4), consumer.getCommited2().get("c"));
 	}
 
+	@Test
+	void shouldPropagateTransactionalMemoryToAnotherThread() throws Exception {
+		tested1.put("c", 3);
+
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			assertNull(executor.submit(() -> tested1.get("c")).get());
+			assertEquals(Integer.valueOf(3), executor.submit(TransactionalMemory.propagate(() -> tested1.get("c"))::get).get());
+			// propagated memory is unbound when the lambda finishes
+			assertNull(executor.submit(() -> tested1.get("c")).get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldRefuseModificationsInPropagatedTransactionalMemory() throws Exception {
+		tested1.put("c", 3);
+
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final ExecutionException ex = assertThrows(
+				ExecutionException.class,
+				() -> executor.submit(TransactionalMemory.propagate(() -> tested2.put("c", 4))::get).get()
+			);
+			assertTrue(ex.getCause() instanceof ReadOnlyTransactionalMemoryException);
+			// neither the committed state nor the transactional layer was modified
+			assertNull(underlyingData2.get("c"));
+			assertNull(tested2.get("c"));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldRefuseModificationsInReadOnlyTransactionalMemory() {
+		final TransactionalMemory transactionalMemory = TransactionalMemory.getCurrentTransactionalMemory();
+		tested1.put("b", 3);
+		assertThrows(
+			ReadOnlyTransactionalMemoryException.class,
+			() -> TransactionalMemory.executeWithin(transactionalMemory, () -> tested1.put("c", 3))
+		);
+		assertNull(tested1.get("c"));
+		assertEquals(Integer.valueOf(3), TransactionalMemory.executeWithin(transactionalMemory, () -> tested1.get("b")));
+	}
+
 	@Test
 	void shouldControlCommitAtomicityDeepWise() {
 		TransactionalMemory.open();
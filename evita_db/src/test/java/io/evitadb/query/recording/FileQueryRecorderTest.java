@@ -0,0 +1,131 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.query.recording;
+
+import com.esotericsoftware.kryo.io.Input;
+import io.evitadb.api.configuration.QueryRecordingOptions;
+import io.evitadb.api.query.Query;
+import io.evitadb.query.response.QueryTelemetry;
+import io.evitadb.query.response.QueryTelemetry.QueryPhase;
+import io.evitadb.storage.serialization.RecordedQuerySerializationService;
+import io.evitadb.test.TestFileSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static io.evitadb.api.query.Query.query;
+import static io.evitadb.api.query.QueryConstraints.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test verifies contract of {@link FileQueryRecorder}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+class FileQueryRecorderTest implements TestFileSupport {
+
+	@BeforeEach
+	void setUp() throws IOException {
+		prepareEmptyTestDirectory();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		cleanTestDirectory();
+	}
+
+	@Test
+	void shouldRecordQueriesAndReadThemBack() throws IOException {
+		final UUID sessionId = UUID.randomUUID();
+		final FileQueryRecorder recorder = new FileQueryRecorder(
+			"test", getTestDirectory(), new QueryRecordingOptions(true, getTestDirectory(), 1_048_576, 10, 100)
+		);
+		for (int i = 0; i < 10; i++) {
+			recorder.record(sessionId, createQuery(i), createTelemetry());
+		}
+		recorder.close();
+
+		final List<RecordedQuery> recordedQueries = readAll(getTestDirectory());
+		assertEquals(10, recordedQueries.size());
+		for (int i = 0; i < 10; i++) {
+			final RecordedQuery recordedQuery = recordedQueries.get(i);
+			assertEquals(createQuery(i), recordedQuery.getQuery());
+			assertEquals(sessionId, recordedQuery.getSessionId());
+			assertTrue(recordedQuery.getDurationInNanos() > 0);
+			assertEquals(recordedQuery.getDurationInNanos(), recordedQuery.getPhaseDurationInNanos(QueryPhase.OVERALL));
+			assertTrue(recordedQuery.getPhaseDurationInNanos(QueryPhase.PLANNING) > 0);
+		}
+		assertEquals(0, recorder.getDroppedQueryCount());
+	}
+
+	@Test
+	void shouldRotateFilesAndRemoveTheOldestOnes() throws IOException {
+		final FileQueryRecorder recorder = new FileQueryRecorder(
+			"test", getTestDirectory(), new QueryRecordingOptions(true, getTestDirectory(), 1, 3, 100)
+		);
+		for (int i = 0; i < 10; i++) {
+			recorder.record(UUID.randomUUID(), createQuery(i), createTelemetry());
+		}
+		recorder.close();
+
+		assertEquals(3, FileQueryRecorder.listRecordingFiles(getTestDirectory()).size());
+		final List<RecordedQuery> recordedQueries = readAll(getTestDirectory());
+		assertEquals(3, recordedQueries.size());
+		assertEquals(createQuery(9), recordedQueries.get(2).getQuery());
+	}
+
+	private static Query createQuery(int index) {
+		return query(
+			entities("product"),
+			filterBy(eq("code", "product-" + index))
+		);
+	}
+
+	private static QueryTelemetry createTelemetry() {
+		final QueryTelemetry telemetry = new QueryTelemetry(QueryPhase.OVERALL);
+		telemetry.addStep(QueryPhase.PLANNING).finish();
+		return telemetry.finish();
+	}
+
+	private static List<RecordedQuery> readAll(Path directory) throws IOException {
+		final RecordedQuerySerializationService serializationService = new RecordedQuerySerializationService();
+		final List<RecordedQuery> result = new ArrayList<>();
+		for (Path file : FileQueryRecorder.listRecordingFiles(directory)) {
+			try (final Input input = new Input(new FileInputStream(file.toFile()))) {
+				while (!input.end()) {
+					result.add(serializationService.deserialize(input));
+				}
+			}
+		}
+		return result;
+	}
+
+}
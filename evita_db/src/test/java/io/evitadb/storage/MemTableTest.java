@@ -23,6 +23,8 @@
 package io.evitadb.storage;
 
 import io.evitadb.api.configuration.StorageOptions;
+import io.evitadb.api.data.AssociatedDataContract.AssociatedDataKey;
+import io.evitadb.api.data.AssociatedDataContract.AssociatedDataValue;
 import io.evitadb.api.data.ReflectionCachingBehaviour;
 import io.evitadb.api.schema.EntitySchema;
 import io.evitadb.api.serialization.KryoFactory.EntityKryoConfigurer;
@@ -32,12 +34,20 @@ import io.evitadb.api.utils.Assert;
 import io.evitadb.api.utils.ReflectionLookup;
 import io.evitadb.api.utils.StringUtils;
 import io.evitadb.storage.MemTable.MemTableFileStatistics;
+import io.evitadb.storage.exception.CorruptedRecordException;
 import io.evitadb.storage.kryo.VersionedKryo;
 import io.evitadb.storage.kryo.VersionedKryoFactory;
 import io.evitadb.storage.model.CatalogEntityHeader;
+import io.evitadb.storage.model.memTable.CorruptedFileRange;
+import io.evitadb.storage.model.memTable.FileLocation;
 import io.evitadb.storage.model.memTable.MemTableDescriptor;
+import io.evitadb.storage.model.memTable.MemTableVerificationResult;
+import io.evitadb.storage.model.memTable.RecordKey;
+import io.evitadb.storage.model.memTable.StorageRecord;
 import io.evitadb.storage.model.memTable.VersionedKryoKeyInputs;
+import io.evitadb.storage.model.storageParts.entity.AssociatedDataStoragePart;
 import io.evitadb.storage.model.storageParts.entity.EntityBodyStoragePart;
+import io.evitadb.storage.model.storageParts.schema.EntitySchemaContainer;
 import io.evitadb.storage.serialization.StoragePartConfigurer;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -45,8 +55,11 @@ import org.junit.jupiter.api.*;
 
 import javax.annotation.Nonnull;
 import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.Map.Entry;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -60,15 +73,18 @@ import static org.junit.jupiter.api.Assertions.*;
 class MemTableTest {
 	public static final String ENTITY_TYPE = "whatever";
 	private final Path targetFile = Path.of(System.getProperty("java.io.tmpdir") + File.separator + "memtable.kryo");
+	private final Path imageFile = Path.of(System.getProperty("java.io.tmpdir") + File.separator + "memtable_image.kryo");
 
 	@BeforeEach
 	void setUp() {
 		targetFile.toFile().delete();
+		imageFile.toFile().delete();
 	}
 
 	@AfterEach
 	void tearDown() {
 		targetFile.toFile().delete();
+		imageFile.toFile().delete();
 	}
 
 	@DisplayName("Hundreds entities should be stored in MemTable and retrieved intact.")
@@ -126,6 +142,45 @@ class MemTableTest {
 		log.info("Average reads: " + StringUtils.formatRequestsPerSec(recordCount, duration));
 	}
 
+	@DisplayName("Multiple records should be retrieved at once in the order of requested keys")
+	@Test
+	void shouldRetrieveMultipleRecordsAtOnce() {
+		final StorageOptions options = new StorageOptions(1);
+		final ObservableOutputKeeper observableOutputKeeper = new ObservableOutputKeeper(options);
+		observableOutputKeeper.prepare();
+
+		final MemTable memTable = new MemTable(
+			targetFile,
+			new MemTableDescriptor(
+				new CatalogEntityHeader(ENTITY_TYPE),
+				createKryo(),
+				false
+			),
+			options,
+			observableOutputKeeper
+		);
+
+		for (int i = 1; i <= 100; i++) {
+			memTable.put(1L, new EntityBodyStoragePart(i));
+		}
+		memTable.flush(1L);
+		// this record is not flushed yet
+		memTable.put(2L, new EntityBodyStoragePart(101));
+
+		final long[] requestedKeys = {87, 3, 101, 500, 42, 3};
+		final EntityBodyStoragePart[] actual = memTable.getAll(requestedKeys, EntityBodyStoragePart.class);
+
+		assertEquals(requestedKeys.length, actual.length);
+		assertEquals(new EntityBodyStoragePart(87), actual[0]);
+		assertEquals(new EntityBodyStoragePart(3), actual[1]);
+		assertEquals(new EntityBodyStoragePart(101), actual[2]);
+		assertNull(actual[3]);
+		assertEquals(new EntityBodyStoragePart(42), actual[4]);
+		assertEquals(new EntityBodyStoragePart(3), actual[5]);
+
+		observableOutputKeeper.free();
+	}
+
 	@DisplayName("Existing record can be removed")
 	@Test
 	void shouldRemoveRecord() {
@@ -230,6 +285,230 @@ class MemTableTest {
 		assertThrows(IllegalStateException.class, () -> memTable.flush(0L));
 	}
 
+	@DisplayName("MemTable file should be verified in parallel with the same results as sequential verification")
+	@Test
+	void shouldVerifyContentsInParallel() {
+		final StorageOptions options = new StorageOptions(1);
+		final ObservableOutputKeeper observableOutputKeeper = new ObservableOutputKeeper(options);
+		observableOutputKeeper.prepare();
+
+		final MemTable memTable = createMemTableWithRecords(options, observableOutputKeeper, 600);
+		final MemTableFileStatistics sequentialStats = memTable.verifyContents();
+		final MemTableVerificationResult parallelResult = memTable.verifyContents(4, false);
+
+		observableOutputKeeper.free();
+
+		assertTrue(parallelResult.isValid());
+		assertEquals(4, parallelResult.getSegmentCount());
+		/* 600 records +1 record for th MemTable itself */
+		assertEquals(601, parallelResult.getStatistics().getRecordCount());
+		assertEquals(sequentialStats.getRecordCount(), parallelResult.getStatistics().getRecordCount());
+		assertEquals(sequentialStats.getTotalSize(), parallelResult.getStatistics().getTotalSize());
+		assertEquals(sequentialStats.getMaxRecordSize(), parallelResult.getStatistics().getMaxRecordSize());
+	}
+
+	@DisplayName("Parallel verification should report corrupted record and verify the rest of the file")
+	@Test
+	void shouldReportCorruptedRangeInParallelVerification() throws IOException {
+		final StorageOptions options = new StorageOptions(1);
+		final ObservableOutputKeeper observableOutputKeeper = new ObservableOutputKeeper(options);
+		observableOutputKeeper.prepare();
+
+		final MemTable memTable = createMemTableWithRecords(options, observableOutputKeeper, 600);
+		final FileLocation corruptedLocation = corruptRecordInTheMiddle(memTable);
+
+		final MemTableVerificationResult result = memTable.verifyContents(4, false);
+
+		observableOutputKeeper.free();
+
+		assertFalse(result.isValid());
+		assertEquals(1, result.getCorruptedRanges().size());
+		final CorruptedFileRange corruptedRange = result.getCorruptedRanges().get(0);
+		assertEquals(corruptedLocation.getStartingPosition(), corruptedRange.getStartPosition());
+		assertEquals(corruptedLocation.getEndPosition(), corruptedRange.getEndPosition());
+		assertEquals(600, result.getStatistics().getRecordCount());
+		assertThrows(CorruptedRecordException.class, memTable::verifyContents);
+	}
+
+	@DisplayName("Fast-start verification should skip checksums of the records written before the last flush")
+	@Test
+	void shouldSkipChecksumsBeforeLastFlushInFastStartVerification() throws IOException {
+		final StorageOptions options = new StorageOptions(1);
+		final ObservableOutputKeeper observableOutputKeeper = new ObservableOutputKeeper(options);
+		observableOutputKeeper.prepare();
+
+		final MemTable memTable = createMemTableWithRecords(options, observableOutputKeeper, 600);
+		final MemTableDescriptor memTableInfo = memTable.flush(1L);
+		memTable.close();
+
+		final MemTable loadedMemTable = new MemTable(
+			targetFile,
+			new MemTableDescriptor(
+				memTableInfo.getFileLocation(),
+				memTableInfo
+			),
+			options,
+			observableOutputKeeper
+		);
+		corruptRecordInTheMiddle(loadedMemTable);
+
+		final MemTableVerificationResult fastStartResult = loadedMemTable.verifyContents(2, true);
+		final MemTableVerificationResult fullResult = loadedMemTable.verifyContents(2, false);
+
+		observableOutputKeeper.free();
+
+		assertTrue(fastStartResult.isValid());
+		assertEquals(targetFile.toFile().length(), fastStartResult.getSyncedPosition());
+		assertEquals(601, fastStartResult.getStatistics().getRecordCount());
+		assertFalse(fullResult.isValid());
+		assertEquals(-1L, fullResult.getSyncedPosition());
+	}
+
+	@DisplayName("Closing and reopening the MemTable without changes should not change the file or its statistics")
+	@Test
+	void shouldKeepFileStatisticsStableAcrossRestarts() {
+		final StorageOptions options = new StorageOptions(1);
+		final ObservableOutputKeeper observableOutputKeeper = new ObservableOutputKeeper(options);
+		observableOutputKeeper.prepare();
+
+		final MemTable memTable = createMemTableWithRecords(options, observableOutputKeeper, 600);
+		final MemTableDescriptor memTableInfo = memTable.flush(1L);
+		final MemTableFileStatistics statistics = memTable.verifyContents();
+		memTable.close();
+		final long fileLength = targetFile.toFile().length();
+
+		MemTable loadedMemTable = null;
+		for (int i = 0; i < 3; i++) {
+			loadedMemTable = new MemTable(
+				targetFile,
+				new MemTableDescriptor(
+					memTableInfo.getFileLocation(),
+					memTableInfo
+				),
+				options,
+				observableOutputKeeper
+			);
+			if (i < 2) {
+				loadedMemTable.close();
+			}
+		}
+
+		final MemTableFileStatistics reloadedStatistics = loadedMemTable.verifyContents();
+		observableOutputKeeper.free();
+
+		assertEquals(fileLength, targetFile.toFile().length());
+		assertEquals(statistics.getTotalSize(), reloadedStatistics.getTotalSize());
+		assertEquals(statistics.getLivingRecordSize(), reloadedStatistics.getLivingRecordSize());
+		assertEquals(statistics.getLivingObjectShare(), reloadedStatistics.getLivingObjectShare());
+	}
+
+	@DisplayName("Image of the MemTable should contain only living records in requested order and should be readable")
+	@Test
+	void shouldWriteCompactImageOfLivingRecords() {
+		final StorageOptions options = new StorageOptions(1);
+		final ObservableOutputKeeper observableOutputKeeper = new ObservableOutputKeeper(options);
+		observableOutputKeeper.prepare();
+
+		final MemTable memTable = createMemTableWithRecords(options, observableOutputKeeper, 600);
+		for (int i = 2; i <= 600; i += 2) {
+			memTable.remove(i, EntityBodyStoragePart.class);
+		}
+		memTable.flush(2L);
+
+		final MemTableDescriptor imageInfo = memTable.writeImage(
+			imageFile,
+			new MemTableDescriptor(
+				new CatalogEntityHeader(ENTITY_TYPE),
+				createKryo(),
+				false
+			),
+			Comparator.reverseOrder(),
+			5L
+		);
+		final MemTable image = new MemTable(
+			imageFile,
+			new MemTableDescriptor(
+				imageInfo.getFileLocation(),
+				imageInfo
+			),
+			options,
+			observableOutputKeeper
+		);
+
+		assertEquals(300, image.count());
+		for (int i = 1; i <= 600; i++) {
+			if (i % 2 == 0) {
+				assertNull(image.get(i, EntityBodyStoragePart.class));
+			} else {
+				assertEquals(new EntityBodyStoragePart(i), image.get(i, EntityBodyStoragePart.class));
+			}
+		}
+		// records are written in the requested order
+		final List<Entry<RecordKey, FileLocation>> entries = new ArrayList<>(image.getEntries());
+		entries.sort(Comparator.comparingLong(it -> it.getValue().getStartingPosition()));
+		assertEquals(599L, entries.get(0).getKey().getPrimaryKey());
+		assertEquals(1L, entries.get(entries.size() - 1).getKey().getPrimaryKey());
+		// image is smaller than the original file and passes the verification including transaction row checks
+		assertTrue(imageFile.toFile().length() < targetFile.toFile().length());
+		final MemTableVerificationResult verificationResult = image.verifyContents(2, false);
+		assertTrue(verificationResult.isValid());
+		/* 300 records + 1 record for the MemTable itself */
+		assertEquals(301, verificationResult.getStatistics().getRecordCount());
+		// prefetch reads the whole region with the records
+		assertEquals(
+			entries.get(entries.size() - 1).getValue().getEndPosition(),
+			image.prefetch(EntityBodyStoragePart.class::equals)
+		);
+		assertEquals(0L, image.prefetch(EntitySchemaContainer.class::equals));
+
+		observableOutputKeeper.free();
+	}
+
+	@DisplayName("Associated data value should be kept serialized until it's accessed for the first time")
+	@Test
+	void shouldDeserializeAssociatedDataValueLazily() {
+		final StorageOptions options = new StorageOptions(1);
+		final ObservableOutputKeeper observableOutputKeeper = new ObservableOutputKeeper(options);
+		observableOutputKeeper.prepare();
+
+		final MemTable memTable = new MemTable(
+			targetFile,
+			new MemTableDescriptor(
+				new CatalogEntityHeader(ENTITY_TYPE),
+				createKryo(true),
+				false
+			),
+			options,
+			observableOutputKeeper
+		);
+		final AssociatedDataKey key = new AssociatedDataKey("description", Locale.ENGLISH);
+		final AssociatedDataStoragePart storagePart = new AssociatedDataStoragePart(1, key);
+		storagePart.replaceAssociatedData(new AssociatedDataValue(key, "Long description of the product."));
+		final long partId = memTable.put(1L, storagePart);
+
+		final MemTableDescriptor memTableInfo = memTable.flush(1L);
+		final MemTable loadedMemTable = new MemTable(
+			targetFile,
+			new MemTableDescriptor(
+				memTableInfo.getFileLocation(),
+				memTableInfo
+			),
+			options,
+			observableOutputKeeper
+		);
+
+		final AssociatedDataValue value = loadedMemTable.get(partId, AssociatedDataStoragePart.class).getValue();
+		assertEquals(key, value.getKey());
+		assertFalse(value.isValueDeserialized());
+		assertNotNull(value.getSerializedValue());
+
+		assertEquals("Long description of the product.", value.getValue());
+		assertTrue(value.isValueDeserialized());
+		assertNull(value.getSerializedValue());
+
+		observableOutputKeeper.free();
+	}
+
 	@Disabled("This infinite test performs random operations on MemTable verifying its consistency")
 	@Test
 	void generationalProofTest() {
@@ -333,6 +612,41 @@ class MemTableTest {
 		} while (true);
 	}
 
+	@Nonnull
+	private MemTable createMemTableWithRecords(@Nonnull StorageOptions options, @Nonnull ObservableOutputKeeper observableOutputKeeper, int recordCount) {
+		final MemTable memTable = new MemTable(
+			targetFile,
+			new MemTableDescriptor(
+				new CatalogEntityHeader(ENTITY_TYPE),
+				createKryo(),
+				false
+			),
+			options,
+			observableOutputKeeper
+		);
+		for (int i = 1; i <= recordCount; i++) {
+			memTable.put(1L, new EntityBodyStoragePart(i));
+		}
+		memTable.flush(1L);
+		return memTable;
+	}
+
+	@Nonnull
+	private FileLocation corruptRecordInTheMiddle(@Nonnull MemTable memTable) throws IOException {
+		final List<FileLocation> locations = new ArrayList<>(memTable.getFileLocations());
+		locations.sort(Comparator.comparingLong(FileLocation::getStartingPosition));
+		final FileLocation corruptedLocation = locations.get(locations.size() / 2);
+		try (final RandomAccessFile file = new RandomAccessFile(targetFile.toFile(), "rw")) {
+			// rewrite first byte of the payload following the record header
+			final long payloadPosition = corruptedLocation.getStartingPosition() + StorageRecord.CRC_NOT_COVERED_HEAD + 1 + 8;
+			file.seek(payloadPosition);
+			final int originalByte = file.read();
+			file.seek(payloadPosition);
+			file.write(~originalByte);
+		}
+		return corruptedLocation;
+	}
+
 	private int getNonExisting(Set<Integer> recordIds, Set<Integer> touchedInThisRound, Random random) {
 		int recPrimaryKey;
 		do {
@@ -357,6 +671,11 @@ class MemTableTest {
 
 	@Nonnull
 	private Function<VersionedKryoKeyInputs, VersionedKryo> createKryo() {
+		return createKryo(false);
+	}
+
+	@Nonnull
+	private Function<VersionedKryoKeyInputs, VersionedKryo> createKryo(boolean lazyAssociatedDataDeserialization) {
 		return (keyInputs) -> VersionedKryoFactory.createKryo(
 			keyInputs.getVersion(),
 			keyInputs.getClassResolver(),
@@ -371,7 +690,9 @@ class MemTableTest {
 				.andThen(
 					new StoragePartConfigurer(
 						DefaultKryoSerializationHelper.INSTANCE,
-						keyInputs.getKeyCompressor()
+						keyInputs.getKeyCompressor(),
+						false,
+						lazyAssociatedDataDeserialization
 					)
 				)
 		);
@@ -36,7 +36,7 @@ class MemTableSerializationServiceTest {
 
 	@Test
 	void shouldComputeExpectedRecordCountProperly() {
-		final StorageOptions testOptions = new StorageOptions(1, 0, 55, 1, false, false, false);
+		final StorageOptions testOptions = new StorageOptions(1, 0, 55, 1, false, false, false, false, false);
 		assertEquals(new MemTableSerializationService.ExpectedCounts(0, 1), MemTableSerializationService.INSTANCE.computeExpectedRecordCount(testOptions, 0));
 		assertEquals(new MemTableSerializationService.ExpectedCounts(1, 1), MemTableSerializationService.INSTANCE.computeExpectedRecordCount(testOptions, 1));
 		assertEquals(new MemTableSerializationService.ExpectedCounts(2, 1), MemTableSerializationService.INSTANCE.computeExpectedRecordCount(testOptions, 2));
@@ -23,6 +23,7 @@
 package io.evitadb.storage.serialization.mixins;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.evitadb.api.data.AssociatedDataContract.AssociatedDataKey;
@@ -123,6 +124,7 @@ public interface EvitaMixins {
     /**
      * @see AssociatedDataValue
      */
+    @JsonIgnoreProperties({"serializedValue", "valueDeserialized"})
     public abstract static class AssociatedDataValueMixin {
 
         AssociatedDataValueMixin(@JsonProperty("version") int version, @JsonProperty("key") AssociatedDataKey key, @JsonProperty("value") Serializable value, @JsonProperty("dropped") boolean dropped) {
@@ -325,4 +325,62 @@ public class CombinedEntityFilteringFunctionalTest<REQUEST extends EvitaRequestB
 		);
 	}
 
+	@DisplayName("Should return products having price in currency and either hierarchy location or referenced entity")
+	@UseDataSet(THREE_HUNDRED_PRODUCTS_WITH_ALL_DATA)
+	@Test
+	void shouldReturnProductsHavingPriceAndEitherHierarchyLocationOrReferencedEntity(EVITA evita, List<SealedEntity> originalProductEntities, Hierarchy categoryHierarchy) {
+		final BigDecimal from = new BigDecimal("80");
+		final BigDecimal to = new BigDecimal("150");
+
+		evita.queryCatalog(
+			TEST_CATALOG,
+			session -> {
+				final EvitaResponseBase<EntityReference> result = session.query(
+					query(
+						entities(Entities.PRODUCT),
+						filterBy(
+							and(
+								priceInCurrency(CURRENCY_CZK),
+								priceInPriceLists(PRICE_LIST_BASIC),
+								priceBetween(from, to),
+								or(
+									withinHierarchy(Entities.CATEGORY, 4),
+									referenceHavingAttribute(Entities.BRAND, primaryKey(4))
+								)
+							)
+						),
+						require(
+							page(1, Integer.MAX_VALUE)
+						)
+					),
+					EntityReference.class
+				);
+
+				AssertionUtils.assertResultIs(
+					originalProductEntities,
+					sealedEntity -> {
+						final boolean hasPrice = sealedEntity.hasPriceInInterval(from, to, QueryPriceMode.WITH_VAT, CURRENCY_CZK, null, PRICE_LIST_BASIC);
+						final boolean isReferencingBrand = sealedEntity.getReference(Entities.BRAND, 4) != null;
+						final boolean isWithinCategory = sealedEntity
+							.getReferences(Entities.CATEGORY)
+							.stream()
+							.anyMatch(category -> {
+								final String categoryId = String.valueOf(category.getReferencedEntity().getPrimaryKey());
+								// is either category 4
+								return Objects.equals(categoryId, String.valueOf(4)) ||
+									// or has parent category 4
+									categoryHierarchy.getParentItems(categoryId)
+										.stream()
+										.anyMatch(it -> Objects.equals(it.getCode(), String.valueOf(4)));
+							});
+						return hasPrice && (isReferencingBrand || isWithinCategory);
+					},
+					result.getRecordData()
+				);
+
+				return null;
+			}
+		);
+	}
+
 }
@@ -34,6 +34,7 @@ import io.evitadb.artificial.attributeHistogram.ElasticsearchAttributeHistogramA
 import io.evitadb.artificial.attributeHistogram.InMemoryAttributeHistogramArtificialState;
 import io.evitadb.artificial.attributeHistogram.SqlAttributeHistogramArtificialState;
 import io.evitadb.artificial.bulkWrite.ElasticsearchBulkWriteArtificialState;
+import io.evitadb.artificial.bulkWrite.InMemoryBulkBatchWriteArtificialState;
 import io.evitadb.artificial.bulkWrite.InMemoryBulkWriteArtificialState;
 import io.evitadb.artificial.bulkWrite.SqlBulkWriteArtificialState;
 import io.evitadb.artificial.facetAndHierarchyFiltering.ElasticsearchFacetAndHierarchyFilteringArtificialState;
@@ -66,6 +67,7 @@ import io.evitadb.artificial.priceFiltering.SqlPriceFilteringArtificialState;
 import io.evitadb.artificial.priceHistogram.ElasticsearchPriceHistogramArtificialState;
 import io.evitadb.artificial.priceHistogram.InMemoryPriceHistogramArtificialState;
 import io.evitadb.artificial.priceHistogram.SqlPriceHistogramArtificialState;
+import io.evitadb.artificial.randomMultiRead.InMemoryMultiReadArtificialState;
 import io.evitadb.artificial.randomPageRead.ElasticsearchPageReadArtificialState;
 import io.evitadb.artificial.randomPageRead.InMemoryPageReadArtificialState;
 import io.evitadb.artificial.randomPageRead.SqlPageReadArtificialState;
@@ -75,6 +77,7 @@ import io.evitadb.artificial.randomSingleRead.SqlSingleReadArtificialState;
 import io.evitadb.artificial.transactionalWrite.ElasticsearchTransactionalWriteArtificialState;
 import io.evitadb.artificial.transactionalWrite.InMemoryTransactionalWriteArtificialState;
 import io.evitadb.artificial.transactionalWrite.SqlTransactionalWriteArtificialState;
+import io.evitadb.test.Entities;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Threads;
@@ -109,6 +112,21 @@ public abstract class ArtificialEntitiesBenchmark {
 		state.getSession().upsertEntity(state.getProduct());
 	}
 
+	/**
+	 * This test spins an empty DB and starts inserting batches of new products into it using bulk upsert API. During
+	 * setup bunch of brands, categories, price lists and stores are created so that they could be referenced in products.
+	 *
+	 * Test measures bulk write speed on random data - single operation represents upsert of
+	 * {@link InMemoryBulkBatchWriteArtificialState#PRODUCT_BATCH_SIZE} products.
+	 * Each iteration starts with empty data
+	 */
+	@Benchmark
+	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
+	@Threads(1)
+	public void bulkInsertBatchThroughput_InMemory(InMemoryBulkBatchWriteArtificialState state) {
+		state.getSession().upsertEntities(state.getProductBatch());
+	}
+
 	@Benchmark
 	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
 	@Threads(1)
@@ -194,6 +212,26 @@ public abstract class ArtificialEntitiesBenchmark {
 		);
 	}
 
+	/*
+		RANDOM MULTIPLE ENTITY READ
+	 */
+
+	/**
+	 * This test spins an empty DB inserts there a one hundred thousands products, switches it to the transactional mode
+	 * and starts to randomly read {@link InMemoryMultiReadArtificialState#PRODUCTS_PER_READ} products by their primary keys at once with
+	 * different requirements. This simulates fetching contents of the cart, wishlist or recommendation results.
+	 *
+	 * Test measures random read on multiple entities data when their primary keys are known.
+	 */
+	@Benchmark
+	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
+	@Threads(Threads.MAX)
+	public void multiEntityRead_InMemory(InMemoryMultiReadArtificialState state, Blackhole blackhole) {
+		blackhole.consume(
+			state.getSession().getEntities(Entities.PRODUCT, state.getPrimaryKeys(), state.getRequirements())
+		);
+	}
+
 	/*
 		RANDOM PAGE ENTITY READ
 	 */
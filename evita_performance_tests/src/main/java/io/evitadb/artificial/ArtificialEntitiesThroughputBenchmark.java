@@ -32,6 +32,7 @@ import io.evitadb.artificial.attributeHistogram.ElasticsearchAttributeHistogramA
 import io.evitadb.artificial.attributeHistogram.InMemoryAttributeHistogramArtificialState;
 import io.evitadb.artificial.attributeHistogram.SqlAttributeHistogramArtificialState;
 import io.evitadb.artificial.bulkWrite.ElasticsearchBulkWriteArtificialState;
+import io.evitadb.artificial.bulkWrite.InMemoryBulkBatchWriteArtificialState;
 import io.evitadb.artificial.bulkWrite.InMemoryBulkWriteArtificialState;
 import io.evitadb.artificial.bulkWrite.SqlBulkWriteArtificialState;
 import io.evitadb.artificial.facetAndHierarchyFiltering.ElasticsearchFacetAndHierarchyFilteringArtificialState;
@@ -64,6 +65,7 @@ import io.evitadb.artificial.priceFiltering.SqlPriceFilteringArtificialState;
 import io.evitadb.artificial.priceHistogram.ElasticsearchPriceHistogramArtificialState;
 import io.evitadb.artificial.priceHistogram.InMemoryPriceHistogramArtificialState;
 import io.evitadb.artificial.priceHistogram.SqlPriceHistogramArtificialState;
+import io.evitadb.artificial.randomMultiRead.InMemoryMultiReadArtificialState;
 import io.evitadb.artificial.randomPageRead.ElasticsearchPageReadArtificialState;
 import io.evitadb.artificial.randomPageRead.InMemoryPageReadArtificialState;
 import io.evitadb.artificial.randomPageRead.SqlPageReadArtificialState;
@@ -90,6 +92,11 @@ public class ArtificialEntitiesThroughputBenchmark extends ArtificialEntitiesBen
 		super.bulkInsertThroughput_InMemory(state);
 	}
 
+	@Override
+	public void bulkInsertBatchThroughput_InMemory(InMemoryBulkBatchWriteArtificialState state) {
+		super.bulkInsertBatchThroughput_InMemory(state);
+	}
+
 	@Override
 	public void bulkInsertThroughput_Elasticsearch(ElasticsearchBulkWriteArtificialState state) {
 		super.bulkInsertThroughput_Elasticsearch(state);
@@ -120,6 +127,11 @@ public class ArtificialEntitiesThroughputBenchmark extends ArtificialEntitiesBen
 		super.singleEntityRead_InMemory(state, blackhole);
 	}
 
+	@Override
+	public void multiEntityRead_InMemory(InMemoryMultiReadArtificialState state, Blackhole blackhole) {
+		super.multiEntityRead_InMemory(state, blackhole);
+	}
+
 	@Override
 	public void singleEntityRead_Elasticsearch(ElasticsearchSingleReadArtificialState state, Blackhole blackhole) {
 		super.singleEntityRead_Elasticsearch(state, blackhole);
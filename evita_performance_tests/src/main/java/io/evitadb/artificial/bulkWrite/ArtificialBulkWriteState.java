@@ -27,12 +27,17 @@ import io.evitadb.api.EntityCollectionBase;
 import io.evitadb.api.EvitaSessionBase;
 import io.evitadb.api.TransactionBase;
 import io.evitadb.api.configuration.CatalogConfiguration;
+import io.evitadb.api.data.mutation.EntityMutation;
 import io.evitadb.api.io.EvitaRequestBase;
 import io.evitadb.artificial.ArtificialState;
+import lombok.Getter;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.TearDown;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Base state class for {@link io.evitadb.artificial.ArtificialEntitiesBenchmark#bulkInsertThroughput_InMemory(InMemoryBulkWriteArtificialState)}.
  * See benchmark description on the method.
@@ -44,6 +49,10 @@ public abstract class ArtificialBulkWriteState<REQUEST extends EvitaRequestBase,
 	 * Simple counter for measuring total product count inserted into the database.
 	 */
 	private int counter;
+	/**
+	 * Prepared batch of products with randomized content ready to be upserted to DB at once.
+	 */
+	@Getter private List<EntityMutation> productBatch;
 
 	/**
 	 * Method is invoked before each benchmark iteration.
@@ -127,12 +136,29 @@ public abstract class ArtificialBulkWriteState<REQUEST extends EvitaRequestBase,
 	}
 
 	/**
-	 * Prepares artificial product for the next operation that is measured in the benchmark.
+	 * Prepares artificial product (or batch of them) for the next operation that is measured in the benchmark.
 	 */
 	@Setup(Level.Invocation)
 	public void prepareCall() {
 		this.product = productIterator.next();
 		counter++;
+		final int batchSize = getProductBatchSize();
+		if (batchSize > 1) {
+			this.productBatch = new ArrayList<>(batchSize);
+			this.productBatch.add(this.product.toMutation());
+			while (this.productBatch.size() < batchSize) {
+				this.productBatch.add(productIterator.next().toMutation());
+				counter++;
+			}
+		}
+	}
+
+	/**
+	 * Returns count of products prepared for single invocation in {@link #getProductBatch()}. When count is one, only
+	 * {@link #getProduct()} is prepared.
+	 */
+	protected int getProductBatchSize() {
+		return 1;
 	}
 
 }
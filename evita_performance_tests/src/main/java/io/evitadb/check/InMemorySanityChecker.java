@@ -62,7 +62,8 @@ public class InMemorySanityChecker extends SanityChecker<EvitaRequest, EvitaCata
 					100_000,
 					2,
 					0,
-					0.75f
+					0.75f,
+					0L
 				)
 			)
 		);
@@ -28,6 +28,7 @@ import io.evitadb.api.EvitaSessionBase;
 import io.evitadb.api.TransactionBase;
 import io.evitadb.api.configuration.CatalogConfiguration;
 import io.evitadb.api.data.EntityEditor.EntityBuilder;
+import io.evitadb.api.data.mutation.EntityMutation;
 import io.evitadb.api.data.structure.CopyExistingEntityBuilder;
 import io.evitadb.api.data.structure.Entity;
 import io.evitadb.api.io.EvitaRequestBase;
@@ -37,10 +38,13 @@ import io.evitadb.client.ClientDataState;
 import io.evitadb.senesi.bulkWrite.InMemoryBulkWriteSenesiState;
 import io.evitadb.test.snapshot.EntityConsumer;
 import io.evitadb.test.snapshot.GenericSerializedCatalogReader;
+import lombok.Getter;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.TearDown;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.Function;
@@ -67,6 +71,10 @@ public abstract class ClientBulkWriteState<REQUEST extends EvitaRequestBase, CON
 	 * Highest observed product primary key.
 	 */
 	private int pkPeek;
+	/**
+	 * Prepared batch of products with randomized content ready to be upserted to DB at once.
+	 */
+	@Getter private List<EntityMutation> productBatch;
 
 	/**
 	 * Method is invoked before each benchmark iteration.
@@ -127,23 +135,48 @@ public abstract class ClientBulkWriteState<REQUEST extends EvitaRequestBase, CON
 	}
 
 	/**
-	 * Prepares artificial product for the next operation that is measured in the benchmark.
+	 * Prepares artificial product (or batch of them) for the next operation that is measured in the benchmark.
 	 */
 	@Setup(Level.Invocation)
 	public void prepareCall() {
+		this.product = nextProduct();
+		final int batchSize = getProductBatchSize();
+		if (batchSize > 1) {
+			this.productBatch = new ArrayList<>(batchSize);
+			this.productBatch.add(this.product.toMutation());
+			while (this.productBatch.size() < batchSize) {
+				this.productBatch.add(nextProduct().toMutation());
+			}
+		}
+	}
+
+	/**
+	 * Returns count of products prepared for single invocation in {@link #getProductBatch()}. When count is one, only
+	 * {@link #getProduct()} is prepared.
+	 */
+	protected int getProductBatchSize() {
+		return 1;
+	}
+
+	/**
+	 * Returns next product builder.
+	 */
+	private EntityBuilder nextProduct() {
+		final EntityBuilder nextProduct;
 		if (productIterator.hasNext()) {
-			this.product = productIterator.next();
+			nextProduct = productIterator.next();
 			// keep track of already assigned primary keys (may have gaps, may be in random order)
-			if (this.product.getPrimaryKey() > this.pkPeek) {
-				this.pkPeek = this.product.getPrimaryKey();
+			if (nextProduct.getPrimaryKey() > this.pkPeek) {
+				this.pkPeek = nextProduct.getPrimaryKey();
 			}
 		} else {
 			// when products are exhausted - start again from scratch
 			initProductIterator(it -> new CopyExistingEntityBuilder(it, ++pkPeek));
 			// initialize first product from the new round
-			this.product = productIterator.next();
+			nextProduct = productIterator.next();
 		}
 		counter++;
+		return nextProduct;
 	}
 
 	/**
@@ -0,0 +1,90 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.client.mixedReadWrite;
+
+import io.evitadb.api.CatalogBase;
+import io.evitadb.api.EntityCollectionBase;
+import io.evitadb.api.EvitaSessionBase;
+import io.evitadb.api.TransactionBase;
+import io.evitadb.api.configuration.CatalogConfiguration;
+import io.evitadb.api.io.EvitaRequestBase;
+import io.evitadb.api.query.Query;
+import io.evitadb.generators.RandomQueryGenerator;
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import java.util.Random;
+
+/**
+ * Base state class for reader threads of {@link io.evitadb.senesi.SenesiMixedReadWriteBenchmark}. Each reader thread
+ * has its own instance. Reader opens new read only session for each query so that it sees the catalog version
+ * produced by the latest commit of the writers - the same way as the storefront request would.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public abstract class ClientMixedReadState<REQUEST extends EvitaRequestBase, CONFIGURATION extends CatalogConfiguration, COLLECTION extends EntityCollectionBase<REQUEST>, CATALOG extends CatalogBase<REQUEST, CONFIGURATION, COLLECTION>, TRANSACTION extends TransactionBase, SESSION extends EvitaSessionBase<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION>>
+	implements RandomQueryGenerator {
+
+	/**
+	 * Pseudo-randomizer for generating random queries.
+	 */
+	private final Random random = new Random(ClientMixedReadWriteState.SEED);
+	/**
+	 * Read only session opened for the measured invocation.
+	 */
+	@Getter private EvitaSessionBase<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION> session;
+	/**
+	 * Query prepared for the measured invocation.
+	 */
+	@Getter private Query query;
+
+	/**
+	 * Prepares random attribute filtering query and session for the next measured invocation.
+	 */
+	protected void prepareAttributeQuery(@Nonnull ClientMixedReadWriteState<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION, SESSION> sharedState) {
+		this.session = sharedState.getEvita().createReadOnlySession(sharedState.getWriteCatalogName());
+		this.query = generateRandomAttributeQuery(
+			random, sharedState.getProductSchema(), sharedState.getFilterableAttributes(), sharedState.getSortableAttributes()
+		);
+	}
+
+	/**
+	 * Prepares random price filtering query and session for the next measured invocation.
+	 */
+	protected void preparePriceQuery(@Nonnull ClientMixedReadWriteState<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION, SESSION> sharedState) {
+		this.session = sharedState.getEvita().createReadOnlySession(sharedState.getWriteCatalogName());
+		this.query = generateRandomPriceQuery(
+			random, sharedState.getProductSchema(), sharedState.getPriceStatistics()
+		);
+	}
+
+	/**
+	 * Closes the session used in the measured invocation.
+	 */
+	protected void finishCall() {
+		this.session.close();
+		this.session = null;
+	}
+
+}
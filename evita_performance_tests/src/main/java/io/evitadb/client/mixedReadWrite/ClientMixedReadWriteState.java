@@ -0,0 +1,186 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.client.mixedReadWrite;
+
+import io.evitadb.api.CatalogBase;
+import io.evitadb.api.EntityCollectionBase;
+import io.evitadb.api.EvitaSessionBase;
+import io.evitadb.api.TransactionBase;
+import io.evitadb.api.configuration.CatalogConfiguration;
+import io.evitadb.api.data.structure.CopyExistingEntityBuilder;
+import io.evitadb.api.data.structure.Entity;
+import io.evitadb.api.data.structure.EntityReference;
+import io.evitadb.api.io.EvitaRequestBase;
+import io.evitadb.api.schema.EntitySchema;
+import io.evitadb.api.serialization.MutableCatalogEntityHeader;
+import io.evitadb.client.ClientDataState;
+import io.evitadb.generators.RandomQueryGenerator;
+import io.evitadb.test.snapshot.EntityConsumer;
+import io.evitadb.test.snapshot.GenericSerializedCatalogReader;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Base state class for {@link io.evitadb.senesi.SenesiMixedReadWriteBenchmark}. The state is shared by all reader and
+ * writer threads of the benchmark group - it holds the Evita instance with fully loaded catalog and the statistics
+ * necessary for generating random queries. The catalog is a private copy of the source catalog, because the writers
+ * modify it and the reusable catalogs of the read only benchmarks must stay untouched.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public abstract class ClientMixedReadWriteState<REQUEST extends EvitaRequestBase, CONFIGURATION extends CatalogConfiguration, COLLECTION extends EntityCollectionBase<REQUEST>, CATALOG extends CatalogBase<REQUEST, CONFIGURATION, COLLECTION>, TRANSACTION extends TransactionBase, SESSION extends EvitaSessionBase<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION>>
+	extends ClientDataState<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION, SESSION>
+	implements RandomQueryGenerator {
+
+	/**
+	 * Senesi entity type of product.
+	 */
+	public static final String PRODUCT_ENTITY_TYPE = "Product";
+	/**
+	 * Pseudo-randomizer used for sampling the attribute and price statistics.
+	 */
+	private final Random random = new Random(SEED);
+	/**
+	 * This set contains names of all sortable attributes of the product.
+	 */
+	@Getter private final Set<String> sortableAttributes = new HashSet<>();
+	/**
+	 * Map contains set of all filterable attributes with statistics about them, that could be used to create random queries.
+	 */
+	@Getter private final Map<String, AttributeStatistics> filterableAttributes = new HashMap<>();
+	/**
+	 * Statistics about prices that could be used to create random queries.
+	 */
+	@Getter private final GlobalPriceStatistics priceStatistics = new GlobalPriceStatistics();
+	/**
+	 * Returns count of the transactions with product update that are committed per second by each writer thread.
+	 * Zero means that writers stay idle and the readers run alone - such run represents the baseline for measuring
+	 * read latency degradation caused by the writes. The value is a JMH parameter of the implementation specific
+	 * state, because JMH accepts parameters only in the classes annotated with `@State`.
+	 */
+	public abstract int getWritesPerSecond();
+
+	/**
+	 * Returns name of the catalog that is created for the benchmark and that is modified by writers.
+	 */
+	public String getWriteCatalogName() {
+		return getCatalogName() + "_mixedReadWrite";
+	}
+
+	/**
+	 * Returns the created product schema.
+	 */
+	public EntitySchema getProductSchema() {
+		return productSchema;
+	}
+
+	/**
+	 * Returns primary keys of all entities of particular type created during the set-up. The map must not be modified.
+	 */
+	public Map<Serializable, List<Integer>> getGeneratedEntities() {
+		return generatedEntities;
+	}
+
+	/**
+	 * Method is invoked before each benchmark.
+	 * Method creates private copy of the entire source catalog and collects statistics for the random queries.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.dataGenerator.clear();
+		this.generatedEntities.clear();
+		final String catalogName = getCatalogName();
+		final String writeCatalogName = getWriteCatalogName();
+		// prepare database
+		this.evita = createEmptyEvitaInstance(writeCatalogName);
+		// create reader instance
+		final GenericSerializedCatalogReader reader = new GenericSerializedCatalogReader();
+		this.evita.updateCatalog(
+			writeCatalogName,
+			session -> {
+				reader.read(
+					catalogName,
+					getDataDirectory().resolve(catalogName),
+					new EntityConsumer() {
+						@Override
+						public void setup(MutableCatalogEntityHeader header, EntitySchema schema) {
+							session.defineSchema(schema);
+							processSchema(schema);
+						}
+
+						@Override
+						public boolean accept(EntitySchema schema, Entity entity) {
+							final EntityReference createdEntity = createEntity(session, new CopyExistingEntityBuilder(entity));
+							generatedEntities
+								.computeIfAbsent(createdEntity.getType(), serializable -> new ArrayList<>())
+								.add(createdEntity.getPrimaryKey());
+							if (PRODUCT_ENTITY_TYPE.equals(schema.getName())) {
+								updateAttributeStatistics(entity, random, filterableAttributes);
+								updatePriceStatistics(entity, random, priceStatistics);
+							}
+							return true;
+						}
+
+						@Override
+						public void close() {
+
+						}
+					}
+				);
+
+				session.goLiveAndClose();
+			}
+		);
+	}
+
+	/**
+	 * Closes Evita database.
+	 */
+	@TearDown(Level.Trial)
+	public void closeEvita() {
+		this.evita.close();
+	}
+
+	private void processSchema(EntitySchema schema) {
+		if (PRODUCT_ENTITY_TYPE.equals(schema.getName())) {
+			this.productSchema = schema;
+			schema.getAttributes()
+				.values()
+				.forEach(it -> {
+					if (it.isSortable()) {
+						this.sortableAttributes.add(it.getName());
+					}
+					if (!it.getName().startsWith("validity::") && (it.isFilterable() || it.isUnique())) {
+						this.filterableAttributes.put(it.getName(), new AttributeStatistics(it));
+					}
+				});
+		}
+	}
+
+}
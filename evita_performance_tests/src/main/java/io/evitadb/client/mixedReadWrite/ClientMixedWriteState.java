@@ -0,0 +1,150 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.client.mixedReadWrite;
+
+import com.github.javafaker.Faker;
+import io.evitadb.api.CatalogBase;
+import io.evitadb.api.EntityCollectionBase;
+import io.evitadb.api.EvitaSessionBase;
+import io.evitadb.api.TransactionBase;
+import io.evitadb.api.configuration.CatalogConfiguration;
+import io.evitadb.api.data.EntityEditor.EntityBuilder;
+import io.evitadb.api.data.SealedEntity;
+import io.evitadb.api.io.EvitaRequestBase;
+import io.evitadb.api.utils.Assert;
+import io.evitadb.test.generator.DataGenerator;
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static io.evitadb.api.query.QueryConstraints.fullEntity;
+
+/**
+ * Base state class for writer threads of {@link io.evitadb.senesi.SenesiMixedReadWriteBenchmark}. Each writer thread
+ * has its own instance and its own read-write session. Writer updates random existing product in separate transaction
+ * at the pace defined by {@link ClientMixedReadWriteState#getWritesPerSecond()}.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public abstract class ClientMixedWriteState<REQUEST extends EvitaRequestBase, CONFIGURATION extends CatalogConfiguration, COLLECTION extends EntityCollectionBase<REQUEST>, CATALOG extends CatalogBase<REQUEST, CONFIGURATION, COLLECTION>, TRANSACTION extends TransactionBase, SESSION extends EvitaSessionBase<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION>> {
+	/**
+	 * Interval the writer waits for when the writes are disabled.
+	 */
+	private static final long IDLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+	/**
+	 * Seeded pseudo-randomizer.
+	 */
+	private final Random random = new Random(ClientMixedReadWriteState.SEED);
+	/**
+	 * Instance of the data generator that is used for randomizing product modifications.
+	 */
+	private final DataGenerator dataGenerator = new DataGenerator();
+	/**
+	 * Primary keys of all products in the catalog.
+	 */
+	private List<Integer> productIds;
+	/**
+	 * Functions allows to pseudo randomly modify existing product contents.
+	 */
+	private Function<SealedEntity, EntityBuilder> modificationFunction;
+	/**
+	 * Interval between two writes of this writer in nanoseconds or zero if the writes are disabled.
+	 */
+	private long writeIntervalNanos;
+	/**
+	 * Time in {@link System#nanoTime()} when the next write is scheduled.
+	 */
+	private long nextWriteAt;
+	/**
+	 * Open read-write session used for the writes.
+	 */
+	@Getter private EvitaSessionBase<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION> session;
+	/**
+	 * Modified product ready to be upserted to DB or NULL if the writes are disabled.
+	 */
+	@Getter private EntityBuilder product;
+
+	/**
+	 * Opens read-write session and prepares product modification function.
+	 */
+	protected void setUp(@Nonnull ClientMixedReadWriteState<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION, SESSION> sharedState) {
+		this.dataGenerator.clear();
+		this.productIds = sharedState.getGeneratedEntities().get(ClientMixedReadWriteState.PRODUCT_ENTITY_TYPE);
+		final BiFunction<Serializable, Faker, Integer> randomEntityPicker = (entityType, faker) -> {
+			final List<Integer> entityIndex = sharedState.getGeneratedEntities().get(entityType);
+			if (entityIndex == null || entityIndex.isEmpty()) {
+				return null;
+			} else {
+				return entityIndex.get(faker.random().nextInt(0, entityIndex.size() - 1));
+			}
+		};
+		this.modificationFunction = dataGenerator.createModificationFunction(randomEntityPicker, random);
+		this.writeIntervalNanos = sharedState.getWritesPerSecond() > 0 ? TimeUnit.SECONDS.toNanos(1) / sharedState.getWritesPerSecond() : 0L;
+		this.nextWriteAt = System.nanoTime();
+		this.session = sharedState.getEvita().createReadWriteSession(sharedState.getWriteCatalogName());
+	}
+
+	/**
+	 * Waits for the next scheduled write and prepares modified product for it. When writes are disabled, method
+	 * only waits for a while and leaves the product empty so that the measured invocation does nothing.
+	 */
+	protected void prepareCall() {
+		if (writeIntervalNanos == 0L) {
+			this.product = null;
+			LockSupport.parkNanos(IDLE_INTERVAL_NANOS);
+		} else {
+			// when writer lags behind the schedule it doesn't try to catch up - the write stream is just slower
+			final long now = System.nanoTime();
+			if (nextWriteAt > now) {
+				LockSupport.parkNanos(nextWriteAt - now);
+				nextWriteAt += writeIntervalNanos;
+			} else {
+				nextWriteAt = now + writeIntervalNanos;
+			}
+			final Integer primaryKey = productIds.get(random.nextInt(productIds.size()));
+			final SealedEntity existingEntity = session.getEntity(
+				ClientMixedReadWriteState.PRODUCT_ENTITY_TYPE,
+				primaryKey,
+				fullEntity()
+			);
+			Assert.notNull(existingEntity, "Entity with id " + primaryKey + " unexpectedly not found!");
+			this.product = this.modificationFunction.apply(existingEntity);
+		}
+	}
+
+	/**
+	 * Closes the read-write session.
+	 */
+	protected void closeSession() {
+		this.session.close();
+	}
+
+}
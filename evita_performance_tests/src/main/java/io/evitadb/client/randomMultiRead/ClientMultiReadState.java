@@ -0,0 +1,157 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.client.randomMultiRead;
+
+import io.evitadb.api.CatalogBase;
+import io.evitadb.api.EntityCollectionBase;
+import io.evitadb.api.EvitaSessionBase;
+import io.evitadb.api.TransactionBase;
+import io.evitadb.api.configuration.CatalogConfiguration;
+import io.evitadb.api.io.EvitaRequestBase;
+import io.evitadb.api.query.require.EntityContentRequire;
+import io.evitadb.client.ClientDataFullDatabaseState;
+import io.evitadb.senesi.randomMultiRead.InMemoryMultiReadSenesiState;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static io.evitadb.api.query.QueryConstraints.*;
+
+/**
+ * Base state class for {@link io.evitadb.senesi.SenesiBenchmark#multiEntityRead_InMemory(InMemoryMultiReadSenesiState, Blackhole)}.
+ * See benchmark description on the method.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public abstract class ClientMultiReadState<REQUEST extends EvitaRequestBase, CONFIGURATION extends CatalogConfiguration, COLLECTION extends EntityCollectionBase<REQUEST>, CATALOG extends CatalogBase<REQUEST, CONFIGURATION, COLLECTION>, TRANSACTION extends TransactionBase, SESSION extends EvitaSessionBase<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION>>
+	extends ClientDataFullDatabaseState<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION, SESSION> {
+
+	/**
+	 * Client entity type of product.
+	 */
+	public static final String PRODUCT_ENTITY_TYPE = "Product";
+	/**
+	 * Client entity type of brand.
+	 */
+	public static final String BRAND_ENTITY_TYPE = "Brand";
+	/**
+	 * Client entity type of category.
+	 */
+	public static final String CATEGORY_ENTITY_TYPE = "Category";
+	/**
+	 * Client entity type of group.
+	 */
+	public static final String GROUP_ENTITY_TYPE = "Group";
+	/**
+	 * Count of products fetched in single invocation (size of the cart, wishlist and so on).
+	 */
+	public static final int PRODUCTS_PER_READ = 20;
+	/**
+	 * Pseudo-randomizer for picking random entities to fetch.
+	 */
+	private final Random random = new Random(SEED);
+	/**
+	 * Primary keys of all products in the database.
+	 */
+	private int[] productIds;
+	/**
+	 * Primary keys of products prepared for the measured invocation.
+	 */
+	@Getter protected int[] primaryKeys;
+	/**
+	 * Requirements prepared for the measured invocation.
+	 */
+	@Getter protected EntityContentRequire[] requirements;
+
+	@Override
+	public void setUp() {
+		super.setUp();
+		try (final SESSION session = this.evita.createReadOnlySession(getCatalogName())) {
+			this.productSchema = session.getEntitySchema(PRODUCT_ENTITY_TYPE);
+		}
+		this.productIds = generatedEntities.get(PRODUCT_ENTITY_TYPE)
+			.stream()
+			.mapToInt(it -> it)
+			.toArray();
+	}
+
+	/**
+	 * Prepares random set of primary keys and requirements for the next operation that is measured in the benchmark.
+	 */
+	@Setup(Level.Invocation)
+	public void prepareCall() {
+		final Set<EntityContentRequire> requirements = new HashSet<>();
+		/* always fetch product body */
+		requirements.add(entityBody());
+		/* 75% times fetch attributes */
+		if (random.nextInt(4) != 0) {
+			requirements.add(attributes());
+		}
+		/* 75% times fetch associated data */
+		if (random.nextInt(4) != 0) {
+			requirements.add(
+				associatedData(
+					this.productSchema
+						.getAssociatedData()
+						.keySet()
+						.stream()
+						.filter(it -> random.nextInt(4) != 0)
+						.toArray(String[]::new)
+				)
+			);
+		}
+		/* 50% times fetch prices - there is no price filter, so that all prices are fetched */
+		if (random.nextBoolean()) {
+			requirements.add(allPrices());
+		}
+		/* 25% times load references */
+		if (random.nextInt(4) == 0) {
+			/* 50% times load all references */
+			if (random.nextBoolean()) {
+				requirements.add(references());
+			} else {
+				/* 50% select only some of them */
+				requirements.add(
+					references(
+						Stream.of(BRAND_ENTITY_TYPE, CATEGORY_ENTITY_TYPE, GROUP_ENTITY_TYPE)
+							.filter(it -> random.nextBoolean())
+							.toArray(Serializable[]::new)
+					)
+				);
+			}
+		}
+
+		this.primaryKeys = random.ints(PRODUCTS_PER_READ, 0, productIds.length)
+			.map(it -> productIds[it])
+			.toArray();
+		this.requirements = requirements.toArray(new EntityContentRequire[0]);
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.footprint;
+
+import io.evitadb.api.Evita;
+import io.evitadb.api.EvitaSession;
+import io.evitadb.api.utils.Assert;
+import io.evitadb.api.utils.StringUtils;
+import io.evitadb.index.footprint.IndexFootprint;
+import io.evitadb.index.footprint.IndexFootprintPart;
+import io.evitadb.setup.InMemoryCatalogReusableSetup;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This report compares {@link EvitaSession#getIndexFootprint() estimated memory footprint} of the indexes with the heap
+ * actually occupied by the catalog. The catalog must have been already created by any in-memory benchmark using
+ * the same data source - the report loads it from the disk and measures used heap before and after loading (after
+ * forcing garbage collection). Measured heap includes also the structures outside the indexes (MemTable file
+ * locations, schemas and so on), so it's expected to be slightly larger than the estimate. Execute the report with
+ * following parameters:
+ *
+ * 1. number of the largest index parts printed in the detail table (default 50)
+ *
+ * Run the JVM with the `-XX:+UseSerialGC` to get more stable measurements.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public abstract class IndexFootprintReport implements InMemoryCatalogReusableSetup {
+	private static final int GC_ROUNDS = 5;
+
+	public void execute(String[] args) throws InterruptedException {
+		final int detailRows = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+		final String catalogName = getCatalogName();
+		Assert.isTrue(
+			isCatalogAvailable(catalogName),
+			"Catalog `" + catalogName + "` is not available in " + getTestDirectory() + " - run any in-memory benchmark with the same data source first!"
+		);
+
+		final long heapBefore = measureUsedHeap();
+		final Evita evita = createEvitaInstanceFromExistingData(catalogName);
+		try {
+			final long heapAfter = measureUsedHeap();
+			final List<IndexFootprint> footprints = evita.queryCatalog(catalogName, EvitaSession::getIndexFootprint);
+			final long measured = heapAfter - heapBefore;
+			final long estimated = footprints.stream().mapToLong(IndexFootprint::getSizeInBytes).sum();
+
+			System.out.println("-".repeat(80));
+			System.out.println(" I N D E X   F O O T P R I N T :   " + catalogName);
+			System.out.println("-".repeat(80));
+			System.out.println("Measured heap of the loaded catalog : " + StringUtils.formatByteSize(measured));
+			System.out.println("Estimated size of the indexes       : " + StringUtils.formatByteSize(estimated));
+			System.out.println("Estimate to measured ratio          : " + (measured > 0 ? String.format("%.2f", (double) estimated / (double) measured) : "N/A"));
+
+			final Map<IndexFootprintPart, Long> sizeByPart = new EnumMap<>(IndexFootprintPart.class);
+			for (IndexFootprint footprint : footprints) {
+				sizeByPart.merge(footprint.getPart(), footprint.getSizeInBytes(), Long::sum);
+			}
+			System.out.println("\nEstimated size by index part:");
+			sizeByPart.forEach((part, size) -> System.out.println(String.format("\t%-20s %15s", part, StringUtils.formatByteSize(size))));
+
+			System.out.println("\nLargest index parts:");
+			System.out.println(String.format("\t%-20s %-25s %-20s %-30s %10s %15s", "entity type", "index type", "part", "attribute", "indexes", "size"));
+			footprints.stream()
+				.limit(detailRows)
+				.forEach(it -> System.out.println(
+					String.format(
+						"\t%-20s %-25s %-20s %-30s %10d %15s",
+						it.getEntityType(), it.getEntityIndexType(), it.getPart(),
+						it.getAttributeName() == null ? "" : it.getAttributeName(),
+						it.getIndexCount(), StringUtils.formatByteSize(it.getSizeInBytes())
+					)
+				));
+		} finally {
+			evita.close();
+		}
+	}
+
+	/**
+	 * Returns name of the catalog the report is computed for.
+	 */
+	public abstract String getCatalogName();
+
+	/**
+	 * Returns used heap size after several rounds of garbage collection.
+	 */
+	private static long measureUsedHeap() throws InterruptedException {
+		final Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < GC_ROUNDS; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
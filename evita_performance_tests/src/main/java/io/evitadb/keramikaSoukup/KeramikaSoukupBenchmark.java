@@ -24,6 +24,7 @@ package io.evitadb.keramikaSoukup;
 
 import io.evitadb.api.data.EntityContract;
 import io.evitadb.api.data.EntityReferenceContract;
+import io.evitadb.client.randomMultiRead.ClientMultiReadState;
 import io.evitadb.client.synthetic.ClientSyntheticTestState.QueryWithExpectedType;
 import io.evitadb.keramikaSoukup.attributeAndHierarchyFiltering.ElasticsearchAttributeAndHierarchyFilteringKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.attributeAndHierarchyFiltering.InMemoryAttributeAndHierarchyFilteringKeramikaSoukupState;
@@ -35,6 +36,7 @@ import io.evitadb.keramikaSoukup.attributeHistogram.ElasticsearchAttributeHistog
 import io.evitadb.keramikaSoukup.attributeHistogram.InMemoryAttributeHistogramKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.attributeHistogram.SqlAttributeHistogramKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.bulkWrite.ElasticsearchBulkWriteKeramikaSoukupState;
+import io.evitadb.keramikaSoukup.bulkWrite.InMemoryBulkBatchWriteKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.bulkWrite.InMemoryBulkWriteKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.bulkWrite.SqlBulkWriteKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.facetAndHierarchyFiltering.ElasticsearchFacetAndHierarchyFilteringKeramikaSoukupState;
@@ -67,6 +69,7 @@ import io.evitadb.keramikaSoukup.priceFiltering.SqlPriceFilteringKeramikaSoukupS
 import io.evitadb.keramikaSoukup.priceHistogram.ElasticsearchPriceHistogramKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.priceHistogram.InMemoryPriceHistogramKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.priceHistogram.SqlPriceHistogramKeramikaSoukupState;
+import io.evitadb.keramikaSoukup.randomMultiRead.InMemoryMultiReadKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.randomPageRead.ElasticsearchPageReadKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.randomPageRead.InMemoryPageReadKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.randomPageRead.SqlPageReadKeramikaSoukupState;
@@ -112,6 +115,21 @@ public abstract class KeramikaSoukupBenchmark {
 		state.getSession().upsertEntity(state.getProduct());
 	}
 
+	/**
+	 * This test spins an empty DB and starts inserting batches of new products into it using bulk upsert API. During
+	 * setup bunch of brands, categories, price lists and stores are created so that they could be referenced in products.
+	 *
+	 * Test measures bulk write speed on random data - single operation represents upsert of
+	 * {@link InMemoryBulkBatchWriteKeramikaSoukupState#PRODUCT_BATCH_SIZE} products.
+	 * Each iteration starts with empty data
+	 */
+	@Benchmark
+	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
+	@Threads(1)
+	public void bulkInsertBatchThroughput_InMemory(InMemoryBulkBatchWriteKeramikaSoukupState state) {
+		state.getSession().upsertEntities(state.getProductBatch());
+	}
+
 	@Benchmark
 	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
 	@Threads(1)
@@ -197,6 +215,26 @@ public abstract class KeramikaSoukupBenchmark {
 		);
 	}
 
+	/*
+		RANDOM MULTIPLE ENTITY READ
+	 */
+
+	/**
+	 * This test spins an empty DB inserts there full contents of the KeramikaSoukup database, switches it to the transactional mode
+	 * and starts to randomly read {@link InMemoryMultiReadKeramikaSoukupState#PRODUCTS_PER_READ} products by their primary keys at once with
+	 * different requirements. This simulates fetching contents of the cart, wishlist or recommendation results.
+	 *
+	 * Test measures random read on multiple entities data when their primary keys are known.
+	 */
+	@Benchmark
+	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
+	@Threads(Threads.MAX)
+	public void multiEntityRead_InMemory(InMemoryMultiReadKeramikaSoukupState state, Blackhole blackhole) {
+		blackhole.consume(
+			state.getSession().getEntities(ClientMultiReadState.PRODUCT_ENTITY_TYPE, state.getPrimaryKeys(), state.getRequirements())
+		);
+	}
+
 	/*
 		RANDOM PAGE ENTITY READ
 	 */
@@ -32,6 +32,7 @@ import io.evitadb.keramikaSoukup.attributeHistogram.ElasticsearchAttributeHistog
 import io.evitadb.keramikaSoukup.attributeHistogram.InMemoryAttributeHistogramKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.attributeHistogram.SqlAttributeHistogramKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.bulkWrite.ElasticsearchBulkWriteKeramikaSoukupState;
+import io.evitadb.keramikaSoukup.bulkWrite.InMemoryBulkBatchWriteKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.bulkWrite.InMemoryBulkWriteKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.bulkWrite.SqlBulkWriteKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.facetAndHierarchyFiltering.ElasticsearchFacetAndHierarchyFilteringKeramikaSoukupState;
@@ -64,6 +65,7 @@ import io.evitadb.keramikaSoukup.priceFiltering.SqlPriceFilteringKeramikaSoukupS
 import io.evitadb.keramikaSoukup.priceHistogram.ElasticsearchPriceHistogramKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.priceHistogram.InMemoryPriceHistogramKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.priceHistogram.SqlPriceHistogramKeramikaSoukupState;
+import io.evitadb.keramikaSoukup.randomMultiRead.InMemoryMultiReadKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.randomPageRead.ElasticsearchPageReadKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.randomPageRead.InMemoryPageReadKeramikaSoukupState;
 import io.evitadb.keramikaSoukup.randomPageRead.SqlPageReadKeramikaSoukupState;
@@ -93,6 +95,11 @@ public class KeramikaSoukupThroughputBenchmark extends KeramikaSoukupBenchmark {
 		super.bulkInsertThroughput_InMemory(state);
 	}
 
+	@Override
+	public void bulkInsertBatchThroughput_InMemory(InMemoryBulkBatchWriteKeramikaSoukupState state) {
+		super.bulkInsertBatchThroughput_InMemory(state);
+	}
+
 	@Override
 	public void bulkInsertThroughput_Elasticsearch(ElasticsearchBulkWriteKeramikaSoukupState state) {
 		super.bulkInsertThroughput_Elasticsearch(state);
@@ -123,6 +130,11 @@ public class KeramikaSoukupThroughputBenchmark extends KeramikaSoukupBenchmark {
 		super.singleEntityRead_InMemory(state, blackhole);
 	}
 
+	@Override
+	public void multiEntityRead_InMemory(InMemoryMultiReadKeramikaSoukupState state, Blackhole blackhole) {
+		super.multiEntityRead_InMemory(state, blackhole);
+	}
+
 	@Override
 	public void singleEntityRead_Elasticsearch(ElasticsearchSingleReadKeramikaSoukupState state, Blackhole blackhole) {
 		super.singleEntityRead_Elasticsearch(state, blackhole);
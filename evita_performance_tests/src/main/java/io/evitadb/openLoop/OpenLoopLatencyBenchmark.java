@@ -0,0 +1,196 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.openLoop;
+
+import io.evitadb.api.query.Query;
+import io.evitadb.api.utils.Assert;
+import io.evitadb.client.ClientDataFullDatabaseState;
+import io.evitadb.client.synthetic.ClientSyntheticTestState.QueryWithExpectedType;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import javax.annotation.Nonnull;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * This benchmark complements JMH `*LatencyBenchmark` and `*ThroughputBenchmark` classes that measure in closed loop -
+ * i.e. the next request is sent only when the previous one finishes. Such benchmarks don't tell anything about
+ * the latency at a fixed arrival rate, because when the database stalls, the benchmark stops sending the requests
+ * (so called coordinated omission).
+ *
+ * This benchmark sends the requests generated by the same {@link io.evitadb.generators.RandomQueryGenerator states}
+ * at the configured constant rate regardless of how fast the database responds. Latency of each request is measured
+ * from the moment it was scheduled to be sent and recorded to the HDR histogram. The results are printed as percentile
+ * table per query family and implementation and the full percentile distributions are written to `*.hgrm` files
+ * in the output directory. Execute the benchmark with following parameters:
+ *
+ * 1. requests per second (default 100)
+ * 2. measurement duration in seconds (default 60)
+ * 3. warm-up duration in seconds (default 10) - latencies of the warm-up requests are not recorded
+ * 4. number of worker threads which will execute the queries (default number of processors)
+ * 5. regular expression matched against `{family}_{implementation}` scenario name (default all scenarios)
+ * 6. output directory for `*.hgrm` files (default `open-loop-results`)
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public abstract class OpenLoopLatencyBenchmark {
+	public static final String IN_MEMORY = "InMemory";
+	public static final String SQL = "Sql";
+	public static final String ELASTICSEARCH = "Elasticsearch";
+	private static final int HISTOGRAM_SIGNIFICANT_DIGITS = 3;
+
+	public void execute(String[] args) throws FileNotFoundException {
+		final int requestsPerSecond = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		final int durationSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+		final int warmUpSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+		final int threadCount = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		final Pattern scenarioFilter = Pattern.compile(args.length > 4 ? args[4] : ".*");
+		final Path outputDirectory = Path.of(args.length > 5 ? args[5] : "open-loop-results");
+		Assert.isTrue(requestsPerSecond > 0, "Request rate must be positive!");
+
+		final List<OpenLoopResult> results = new LinkedList<>();
+		for (OpenLoopScenario<?> scenario : getScenarios()) {
+			if (scenarioFilter.matcher(scenario.getName()).matches()) {
+				System.out.println("Running scenario " + scenario.getName() + " at " + requestsPerSecond + " req/s ...");
+				final OpenLoopResult result = run(scenario, requestsPerSecond, durationSeconds, warmUpSeconds, threadCount);
+				writePercentileDistribution(result, outputDirectory);
+				results.add(result);
+				System.out.println(OpenLoopResult.toTable(List.of(result)));
+			}
+		}
+
+		System.out.println("-".repeat(80));
+		System.out.println(" O P E N   L O O P   R E S U L T S :");
+		System.out.println("-".repeat(80));
+		System.out.println(OpenLoopResult.toTable(results));
+		System.exit(0);
+	}
+
+	/**
+	 * Returns all scenarios the benchmark may run.
+	 */
+	@Nonnull
+	protected abstract List<OpenLoopScenario<?>> getScenarios();
+
+	/**
+	 * Runs single scenario - sets up the state, pre-generates all the queries, sends them at the constant rate
+	 * and waits for all of them to finish.
+	 */
+	@Nonnull
+	private static <S extends ClientDataFullDatabaseState<?, ?, ?, ?, ?, ?>> OpenLoopResult run(
+		@Nonnull OpenLoopScenario<S> scenario,
+		int requestsPerSecond,
+		int durationSeconds,
+		int warmUpSeconds,
+		int threadCount
+	) {
+		final S state = scenario.getStateFactory().get();
+		state.setUp();
+		state.openSession();
+		try {
+			scenario.getIterationSetUp().accept(state);
+
+			// queries are generated upfront, so that the generator doesn't delay sending the requests
+			final int warmUpRequests = warmUpSeconds * requestsPerSecond;
+			final QueryWithExpectedType[] queries = new QueryWithExpectedType[warmUpRequests + durationSeconds * requestsPerSecond];
+			for (int i = 0; i < queries.length; i++) {
+				final Query query = scenario.getQueryGenerator().apply(state);
+				queries[i] = new QueryWithExpectedType(query);
+			}
+
+			final Histogram responseTime = new ConcurrentHistogram(HISTOGRAM_SIGNIFICANT_DIGITS);
+			final Histogram serviceTime = new ConcurrentHistogram(HISTOGRAM_SIGNIFICANT_DIGITS);
+			final AtomicLong failedRequests = new AtomicLong();
+			final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+			final long intervalNanos = 1_000_000_000L / requestsPerSecond;
+			final long start = System.nanoTime();
+			for (int i = 0; i < queries.length; i++) {
+				final QueryWithExpectedType query = queries[i];
+				final boolean measured = i >= warmUpRequests;
+				final long intendedStart = start + i * intervalNanos;
+				waitUntil(intendedStart);
+				executor.execute(() -> {
+					final long realStart = System.nanoTime();
+					try {
+						state.getSession().query(query.getQuery(), query.getExpectedResult());
+						final long finish = System.nanoTime();
+						if (measured) {
+							responseTime.recordValue(finish - intendedStart);
+							serviceTime.recordValue(finish - realStart);
+						}
+					} catch (Exception ex) {
+						failedRequests.incrementAndGet();
+					}
+				});
+			}
+			executor.shutdown();
+			Assert.isTrue(executor.awaitTermination(1, TimeUnit.HOURS), "Scenario " + scenario.getName() + " didn't finish in time!");
+			return new OpenLoopResult(scenario, requestsPerSecond, responseTime, serviceTime, failedRequests.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Scenario " + scenario.getName() + " was interrupted!", e);
+		} finally {
+			state.closeSession();
+			state.closeEvita();
+		}
+	}
+
+	/**
+	 * Writes full percentile distribution of the response time in microseconds to the `*.hgrm` file, that can be
+	 * visualized by HdrHistogram plotter.
+	 */
+	private static void writePercentileDistribution(@Nonnull OpenLoopResult result, @Nonnull Path outputDirectory) throws FileNotFoundException {
+		try {
+			Files.createDirectories(outputDirectory);
+		} catch (Exception e) {
+			throw new IllegalStateException("Cannot create output directory " + outputDirectory + "!", e);
+		}
+		final Path outputFile = outputDirectory.resolve(result.getScenario().getName() + "_" + result.getRequestsPerSecond() + "rps.hgrm");
+		try (final PrintStream printStream = new PrintStream(outputFile.toFile())) {
+			result.getResponseTime().outputPercentileDistribution(printStream, 1000.0);
+		}
+	}
+
+	/**
+	 * Parks the dispatching thread until the `nanoTime` is reached.
+	 */
+	private static void waitUntil(long nanoTime) {
+		long remaining;
+		while ((remaining = nanoTime - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(remaining);
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.openLoop;
+
+import io.evitadb.api.utils.StringUtils;
+import lombok.Data;
+import org.HdrHistogram.Histogram;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Result of the single {@link OpenLoopScenario} run. Contains two latency histograms:
+ *
+ * - response time: measured from the moment the request was scheduled to be sent, this latency includes the time
+ *   the request waited for a free worker and thus is not affected by the coordinated omission
+ * - service time: measured from the moment the worker really started to process the request, this is the latency
+ *   closed-loop benchmarks report and it hides the queueing delays
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@Data
+public class OpenLoopResult {
+	private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+	private static final String ROW_FORMAT = "%-55s%-20s%10s%10s" + "%14s".repeat(PERCENTILES.length + 1) + "%n";
+
+	/**
+	 * Scenario the results were measured for.
+	 */
+	private final OpenLoopScenario<?> scenario;
+	/**
+	 * Requested rate of the requests per second.
+	 */
+	private final int requestsPerSecond;
+	/**
+	 * Latencies in nanoseconds measured from the intended send time (corrected for coordinated omission).
+	 */
+	private final Histogram responseTime;
+	/**
+	 * Latencies in nanoseconds measured from the real start of the request processing.
+	 */
+	private final Histogram serviceTime;
+	/**
+	 * Count of the requests that failed with an exception.
+	 */
+	private final long failedRequests;
+
+	/**
+	 * Prints the table with the percentiles of all passed results.
+	 */
+	@Nonnull
+	public static String toTable(@Nonnull List<OpenLoopResult> results) {
+		final StringBuilder sb = new StringBuilder();
+		final Object[] header = new Object[4 + PERCENTILES.length + 1];
+		header[0] = "scenario";
+		header[1] = "latency";
+		header[2] = "rate";
+		header[3] = "count";
+		for (int i = 0; i < PERCENTILES.length; i++) {
+			header[4 + i] = "p" + PERCENTILES[i];
+		}
+		header[header.length - 1] = "max";
+		sb.append(String.format(ROW_FORMAT, header));
+		for (OpenLoopResult result : results) {
+			sb.append(formatRow(result, "response time", result.getResponseTime()));
+			sb.append(formatRow(result, "service time", result.getServiceTime()));
+			if (result.getFailedRequests() > 0) {
+				sb.append("\t").append(result.getFailedRequests()).append(" requests failed!\n");
+			}
+		}
+		return sb.toString();
+	}
+
+	@Nonnull
+	private static String formatRow(@Nonnull OpenLoopResult result, @Nonnull String latencyType, @Nonnull Histogram histogram) {
+		final Object[] row = new Object[4 + PERCENTILES.length + 1];
+		row[0] = result.getScenario().getName();
+		row[1] = latencyType;
+		row[2] = result.getRequestsPerSecond();
+		row[3] = histogram.getTotalCount();
+		for (int i = 0; i < PERCENTILES.length; i++) {
+			row[4 + i] = StringUtils.formatNano(histogram.getValueAtPercentile(PERCENTILES[i]));
+		}
+		row[row.length - 1] = StringUtils.formatNano(histogram.getMaxValue());
+		return String.format(ROW_FORMAT, row);
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.openLoop;
+
+import io.evitadb.api.query.Query;
+import io.evitadb.client.ClientDataFullDatabaseState;
+import lombok.Data;
+
+import javax.annotation.Nonnull;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Scenario describes single query family executed against single implementation by {@link OpenLoopLatencyBenchmark}.
+ * It reuses the JMH state classes of the closed-loop benchmarks - the state is set up the same way the JMH would
+ * do it and its random query generator is used to produce the queries.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@Data
+public class OpenLoopScenario<S extends ClientDataFullDatabaseState<?, ?, ?, ?, ?, ?>> {
+	/**
+	 * Name of the query family (corresponds with the name of the JMH benchmark method without implementation suffix).
+	 */
+	private final String family;
+	/**
+	 * Name of the implementation the scenario targets.
+	 */
+	private final String implementation;
+	/**
+	 * Factory creating new instance of the state.
+	 */
+	private final Supplier<S> stateFactory;
+	/**
+	 * Logic executed once the state database is set up and the session is opened (corresponds with the JMH
+	 * {@link org.openjdk.jmh.annotations.Level#Iteration} setup methods).
+	 */
+	private final Consumer<S> iterationSetUp;
+	/**
+	 * Logic that prepares the state for the next call (corresponds with the JMH
+	 * {@link org.openjdk.jmh.annotations.Level#Invocation} setup methods) and returns the generated query.
+	 */
+	private final Function<S, Query> queryGenerator;
+
+	/**
+	 * Creates scenario for the state that doesn't need any additional iteration setup.
+	 */
+	@Nonnull
+	public static <S extends ClientDataFullDatabaseState<?, ?, ?, ?, ?, ?>> OpenLoopScenario<S> of(
+		@Nonnull String family,
+		@Nonnull String implementation,
+		@Nonnull Supplier<S> stateFactory,
+		@Nonnull Consumer<S> prepareCall,
+		@Nonnull Function<S, Query> queryAccessor
+	) {
+		return new OpenLoopScenario<>(
+			family, implementation, stateFactory,
+			state -> {},
+			state -> {
+				prepareCall.accept(state);
+				return queryAccessor.apply(state);
+			}
+		);
+	}
+
+	/**
+	 * Returns name of the scenario composed of the family and the implementation name.
+	 */
+	@Nonnull
+	public String getName() {
+		return family + "_" + implementation;
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.replay;
+
+import com.esotericsoftware.kryo.io.Input;
+import io.evitadb.api.*;
+import io.evitadb.api.configuration.CatalogConfiguration;
+import io.evitadb.api.data.SealedEntity;
+import io.evitadb.api.data.structure.EntityReference;
+import io.evitadb.api.io.EvitaRequestBase;
+import io.evitadb.api.query.Query;
+import io.evitadb.api.query.require.EntityContentRequire;
+import io.evitadb.api.query.require.ExtraResultRequireConstraint;
+import io.evitadb.api.query.visitor.FinderVisitor;
+import io.evitadb.api.utils.Assert;
+import io.evitadb.query.recording.FileQueryRecorder;
+import io.evitadb.query.recording.RecordedQuery;
+import io.evitadb.storage.serialization.RecordedQuerySerializationService;
+
+import javax.annotation.Nonnull;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This tool replays queries recorded by {@link FileQueryRecorder} in production against the target database and
+ * reports latency percentiles of the replayed traffic along with latencies observed when the queries were recorded.
+ * Execute the tool with following parameters:
+ *
+ * 1. catalog name
+ * 2. absolute path to directory with recorded query files
+ * 3. pace factor - 1.0 replays queries at their original pace, 2.0 twice as fast and so on, 0 replays queries
+ *    as fast as possible (default 1.0)
+ * 4. number of threads which will emit queries to the database
+ *
+ * When the queries are replayed at a pace, the latency is measured from the moment the query was supposed to be sent
+ * according to the recording and not from the moment it was really picked up by the worker thread. So the time
+ * the query waits for the busy database is part of the reported latency as it was in the production.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public abstract class QueryReplayer<REQUEST extends EvitaRequestBase, CONFIGURATION extends CatalogConfiguration, COLLECTION extends EntityCollectionBase<REQUEST>, CATALOG extends CatalogBase<REQUEST, CONFIGURATION, COLLECTION>, TRANSACTION extends TransactionBase, SESSION extends EvitaSessionBase<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION>> {
+	private static final int REPORT_EACH_QUERIES = 10_000;
+
+	public void execute(String[] args) throws FileNotFoundException {
+		Assert.isTrue(args.length >= 2, "Expected at least two arguments! First: catalog name, second: absolute path to recorded query directory");
+		final String catalogName = args[0];
+		final Path recordingDirectory = Path.of(args[1]);
+		final double paceFactor = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+		final int threadCount = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		final List<Path> recordingFiles = FileQueryRecorder.listRecordingFiles(recordingDirectory);
+		Assert.isTrue(!recordingFiles.isEmpty(), "The directory " + recordingDirectory + " contains no recorded queries!");
+
+		System.out.println("Loading evita database ...");
+		try (final EvitaBase<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION, SESSION> evitaInstance = createEvitaInstance(catalogName)) {
+			System.out.println("Evita database loaded. Replaying queries with pace factor " + paceFactor + " and parallelization " + threadCount + " ...");
+
+			final ReplayStatistics statistics = new ReplayStatistics();
+			final ThreadPoolExecutor executor = paceFactor > 0 ?
+				// paced replay must never block the dispatcher - waiting queries are accounted in the latency
+				new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) :
+				// unpaced replay is driven by the speed of the database
+				new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(threadCount * 16), new CallerRunsPolicy());
+
+			final RecordedQuerySerializationService serializationService = new RecordedQuerySerializationService();
+			final long replayStart = System.nanoTime();
+			long firstRecordedStart = -1;
+			int dispatchedQueries = 0;
+			for (Path recordingFile : recordingFiles) {
+				try (final Input input = new Input(new FileInputStream(recordingFile.toFile()), 65_536)) {
+					while (!input.end()) {
+						final RecordedQuery recordedQuery = serializationService.deserialize(input);
+						if (firstRecordedStart == -1) {
+							firstRecordedStart = recordedQuery.getStartedAt();
+						}
+						if (paceFactor > 0) {
+							final long intendedStart = replayStart + (long) ((recordedQuery.getStartedAt() - firstRecordedStart) * 1_000_000L / paceFactor);
+							waitUntil(intendedStart);
+							executor.execute(() -> replay(evitaInstance, catalogName, recordedQuery, intendedStart, statistics));
+						} else {
+							executor.execute(() -> replay(evitaInstance, catalogName, recordedQuery, System.nanoTime(), statistics));
+						}
+						if (++dispatchedQueries % REPORT_EACH_QUERIES == 0) {
+							System.out.println("Dispatched " + dispatchedQueries + " queries, waiting " + executor.getQueue().size() + " ...");
+						}
+					}
+				}
+			}
+
+			executor.shutdown();
+			Assert.isTrue(executor.awaitTermination(1, TimeUnit.HOURS), "Replay didn't finish in time!");
+
+			System.out.println("-".repeat(80));
+			System.out.println(" R E P L A Y   R E S U L T S :");
+			System.out.println("-".repeat(80));
+			System.out.println(statistics);
+			System.exit(0);
+		} catch (Exception ex) {
+			ex.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Creates new Evita instance for specific implementation based on existing data from previous run.
+	 */
+	protected abstract EvitaBase<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION, SESSION> createEvitaInstance(@Nonnull String catalogName);
+
+	/**
+	 * Executes single recorded query and records its latency measured from `startNanos`.
+	 */
+	private void replay(@Nonnull EvitaBase<REQUEST, CONFIGURATION, COLLECTION, CATALOG, TRANSACTION, SESSION> evitaInstance, @Nonnull String catalogName, @Nonnull RecordedQuery recordedQuery, long startNanos, @Nonnull ReplayStatistics statistics) {
+		try {
+			final Query theQuery = recordedQuery.getQuery();
+			final boolean pkOnly = FinderVisitor.findConstraints(theQuery.getRequire(), EntityContentRequire.class::isInstance, ExtraResultRequireConstraint.class::isInstance).isEmpty();
+			evitaInstance.queryCatalog(
+				catalogName, session -> {
+					if (pkOnly) {
+						session.query(theQuery, EntityReference.class);
+					} else {
+						session.query(theQuery, SealedEntity.class);
+					}
+					return null;
+				}
+			);
+			statistics.recordLatency(System.nanoTime() - startNanos, recordedQuery.getDurationInNanos());
+			if (statistics.getQueryCount() % REPORT_EACH_QUERIES == 0) {
+				System.out.println(statistics);
+			}
+		} catch (Exception ex) {
+			statistics.recordFailure();
+			ex.printStackTrace();
+		}
+	}
+
+	/**
+	 * Parks the dispatching thread until the `nanoTime` is reached.
+	 */
+	private static void waitUntil(long nanoTime) {
+		long remaining;
+		while ((remaining = nanoTime - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(remaining);
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.replay;
+
+import io.evitadb.api.utils.StringUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contains latencies gathered by {@link QueryReplayer}. Replayed latencies are compared with the latencies recorded
+ * in the production run.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public class ReplayStatistics {
+	private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 100.0};
+	private final AtomicInteger failedQueryCount = new AtomicInteger();
+	private long[] replayedLatencies = new long[65_536];
+	private long[] recordedLatencies = new long[65_536];
+	private int queryCount;
+
+	/**
+	 * Records single replayed query with its latency in replay and its latency when it was recorded.
+	 */
+	public synchronized void recordLatency(long replayedLatencyInNanos, long recordedLatencyInNanos) {
+		if (queryCount == replayedLatencies.length) {
+			replayedLatencies = Arrays.copyOf(replayedLatencies, queryCount * 2);
+			recordedLatencies = Arrays.copyOf(recordedLatencies, queryCount * 2);
+		}
+		replayedLatencies[queryCount] = replayedLatencyInNanos;
+		recordedLatencies[queryCount] = recordedLatencyInNanos;
+		queryCount++;
+	}
+
+	/**
+	 * Records query that failed with an exception.
+	 */
+	public void recordFailure() {
+		failedQueryCount.incrementAndGet();
+	}
+
+	/**
+	 * Returns count of the successfully replayed queries.
+	 */
+	public synchronized int getQueryCount() {
+		return queryCount;
+	}
+
+	@Override
+	public synchronized String toString() {
+		final long[] replayed = Arrays.copyOf(replayedLatencies, queryCount);
+		final long[] recorded = Arrays.copyOf(recordedLatencies, queryCount);
+		Arrays.sort(replayed);
+		Arrays.sort(recorded);
+		final StringBuilder sb = new StringBuilder(
+			"Queries replayed: " + queryCount + ", failed: " + failedQueryCount.get() + "\n"
+		);
+		sb.append(String.format("%-12s%20s%20s%n", "percentile", "replayed", "recorded"));
+		for (double percentile : PERCENTILES) {
+			sb.append(
+				String.format(
+					"%-12s%20s%20s%n",
+					"p" + percentile,
+					StringUtils.formatNano(getPercentile(replayed, percentile)),
+					StringUtils.formatNano(getPercentile(recorded, percentile))
+				)
+			);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Returns value at the `percentile` of the sorted array.
+	 */
+	private static long getPercentile(long[] sortedValues, double percentile) {
+		if (sortedValues.length == 0) {
+			return 0L;
+		}
+		final int index = (int) Math.ceil(percentile / 100.0 * sortedValues.length) - 1;
+		return sortedValues[Math.max(0, Math.min(index, sortedValues.length - 1))];
+	}
+
+}
@@ -24,6 +24,7 @@ package io.evitadb.senesi;
 
 import io.evitadb.api.data.EntityContract;
 import io.evitadb.api.data.EntityReferenceContract;
+import io.evitadb.client.randomMultiRead.ClientMultiReadState;
 import io.evitadb.client.synthetic.ClientSyntheticTestState.QueryWithExpectedType;
 import io.evitadb.senesi.attributeAndHierarchyFiltering.ElasticsearchAttributeAndHierarchyFilteringSenesiState;
 import io.evitadb.senesi.attributeAndHierarchyFiltering.InMemoryAttributeAndHierarchyFilteringSenesiState;
@@ -35,6 +36,7 @@ import io.evitadb.senesi.attributeHistogram.ElasticsearchAttributeHistogramSenes
 import io.evitadb.senesi.attributeHistogram.InMemoryAttributeHistogramSenesiState;
 import io.evitadb.senesi.attributeHistogram.SqlAttributeHistogramSenesiState;
 import io.evitadb.senesi.bulkWrite.ElasticsearchBulkWriteSenesiState;
+import io.evitadb.senesi.bulkWrite.InMemoryBulkBatchWriteSenesiState;
 import io.evitadb.senesi.bulkWrite.InMemoryBulkWriteSenesiState;
 import io.evitadb.senesi.bulkWrite.SqlBulkWriteSenesiState;
 import io.evitadb.senesi.facetAndHierarchyFiltering.ElasticsearchFacetAndHierarchyFilteringSenesiState;
@@ -67,6 +69,7 @@ import io.evitadb.senesi.priceFiltering.SqlPriceFilteringSenesiState;
 import io.evitadb.senesi.priceHistogram.ElasticsearchPriceHistogramSenesiState;
 import io.evitadb.senesi.priceHistogram.InMemoryPriceHistogramSenesiState;
 import io.evitadb.senesi.priceHistogram.SqlPriceHistogramSenesiState;
+import io.evitadb.senesi.randomMultiRead.InMemoryMultiReadSenesiState;
 import io.evitadb.senesi.randomPageRead.ElasticsearchPageReadSenesiState;
 import io.evitadb.senesi.randomPageRead.InMemoryPageReadSenesiState;
 import io.evitadb.senesi.randomPageRead.SqlPageReadSenesiState;
@@ -113,6 +116,21 @@ public abstract class SenesiBenchmark {
 		state.getSession().upsertEntity(state.getProduct());
 	}
 
+	/**
+	 * This test spins an empty DB and starts inserting batches of new products into it using bulk upsert API. During
+	 * setup bunch of brands, categories, price lists and stores are created so that they could be referenced in products.
+	 *
+	 * Test measures bulk write speed on random data - single operation represents upsert of
+	 * {@link InMemoryBulkBatchWriteSenesiState#PRODUCT_BATCH_SIZE} products.
+	 * Each iteration starts with empty data
+	 */
+	@Benchmark
+	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
+	@Threads(1)
+	public void bulkInsertBatchThroughput_InMemory(InMemoryBulkBatchWriteSenesiState state) {
+		state.getSession().upsertEntities(state.getProductBatch());
+	}
+
 	@Benchmark
 	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
 	@Threads(1)
@@ -198,6 +216,26 @@ public abstract class SenesiBenchmark {
 		);
 	}
 
+	/*
+		RANDOM MULTIPLE ENTITY READ
+	 */
+
+	/**
+	 * This test spins an empty DB inserts there full contents of the Senesi database, switches it to the transactional mode
+	 * and starts to randomly read {@link InMemoryMultiReadSenesiState#PRODUCTS_PER_READ} products by their primary keys at once with
+	 * different requirements. This simulates fetching contents of the cart, wishlist or recommendation results.
+	 *
+	 * Test measures random read on multiple entities data when their primary keys are known.
+	 */
+	@Benchmark
+	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
+	@Threads(Threads.MAX)
+	public void multiEntityRead_InMemory(InMemoryMultiReadSenesiState state, Blackhole blackhole) {
+		blackhole.consume(
+			state.getSession().getEntities(ClientMultiReadState.PRODUCT_ENTITY_TYPE, state.getPrimaryKeys(), state.getRequirements())
+		);
+	}
+
 	/*
 		RANDOM PAGE ENTITY READ
 	 */
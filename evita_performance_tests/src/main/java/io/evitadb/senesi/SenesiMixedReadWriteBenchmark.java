@@ -0,0 +1,116 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.senesi;
+
+import io.evitadb.api.data.EntityReferenceContract;
+import io.evitadb.api.exception.RollbackException;
+import io.evitadb.senesi.mixedReadWrite.InMemoryMixedAttributeReadSenesiState;
+import io.evitadb.senesi.mixedReadWrite.InMemoryMixedPriceReadSenesiState;
+import io.evitadb.senesi.mixedReadWrite.InMemoryMixedReadWriteSenesiState;
+import io.evitadb.senesi.mixedReadWrite.InMemoryMixedWriteSenesiState;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class contains benchmarks that run random queries concurrently with the stream of transactional product
+ * updates in the same catalog. Each benchmark is a group of asymmetric threads - readers execute the same random
+ * queries as {@link SenesiBenchmark#attributeFiltering_InMemory} or {@link SenesiBenchmark#priceFiltering_InMemory},
+ * the writer updates random existing products, each in separate transaction, at the rate specified by
+ * {@link InMemoryMixedReadWriteSenesiState#getWritesPerSecond()}.
+ *
+ * Read latency degradation caused by the writes is observed by comparing the read results for different write rates
+ * against the run with zero write rate. Commit throughput and cache hit ratio of each iteration are printed by
+ * {@link InMemoryMixedReadWriteSenesiState#printStatistics()}. Thread counts of the groups may be changed by JMH
+ * `-tg` option (e.g. `-tg 15,1`), write rates by `-p writesPerSecond=50,500` option.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@BenchmarkMode({Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
+public class SenesiMixedReadWriteBenchmark {
+
+	/*
+		ATTRIBUTE FILTERING / SORTING WITH WRITES
+	 */
+
+	@Benchmark
+	@Group("attributeFilteringWithWrites_InMemory")
+	@GroupThreads(7)
+	public void attributeFilteringWithWrites_InMemory_read(InMemoryMixedAttributeReadSenesiState state, Blackhole blackhole) {
+		blackhole.consume(
+			state.getSession().query(state.getQuery(), EntityReferenceContract.class)
+		);
+	}
+
+	@Benchmark
+	@Group("attributeFilteringWithWrites_InMemory")
+	@GroupThreads(1)
+	public void attributeFilteringWithWrites_InMemory_write(InMemoryMixedWriteSenesiState state) {
+		write(state);
+	}
+
+	/*
+		PRICE FILTERING / SORTING WITH WRITES
+	 */
+
+	@Benchmark
+	@Group("priceFilteringWithWrites_InMemory")
+	@GroupThreads(7)
+	public void priceFilteringWithWrites_InMemory_read(InMemoryMixedPriceReadSenesiState state, Blackhole blackhole) {
+		blackhole.consume(
+			state.getSession().query(state.getQuery(), EntityReferenceContract.class)
+		);
+	}
+
+	@Benchmark
+	@Group("priceFilteringWithWrites_InMemory")
+	@GroupThreads(1)
+	public void priceFilteringWithWrites_InMemory_write(InMemoryMixedWriteSenesiState state) {
+		write(state);
+	}
+
+	/**
+	 * Upserts prepared product in separate transaction so that the commit is part of the measured time. Does nothing
+	 * when the writes are disabled. Transactions rolled back due to the conflict with other writer are only counted
+	 * in the commit statistics.
+	 */
+	private static void write(InMemoryMixedWriteSenesiState state) {
+		if (state.getProduct() != null) {
+			state.getSession().openTransaction();
+			try {
+				state.getSession().upsertEntity(state.getProduct());
+			} finally {
+				try {
+					state.getSession().closeTransaction();
+				} catch (RollbackException ignored) {
+					// conflict with other writer - it's part of the statistics
+				}
+			}
+		}
+	}
+
+}
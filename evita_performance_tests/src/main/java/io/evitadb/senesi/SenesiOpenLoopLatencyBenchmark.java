@@ -0,0 +1,157 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.senesi;
+
+import io.evitadb.openLoop.OpenLoopLatencyBenchmark;
+import io.evitadb.openLoop.OpenLoopScenario;
+import io.evitadb.senesi.attributeAndHierarchyFiltering.ElasticsearchAttributeAndHierarchyFilteringSenesiState;
+import io.evitadb.senesi.attributeAndHierarchyFiltering.InMemoryAttributeAndHierarchyFilteringSenesiState;
+import io.evitadb.senesi.attributeAndHierarchyFiltering.SqlAttributeAndHierarchyFilteringSenesiState;
+import io.evitadb.senesi.attributeFiltering.ElasticsearchAttributeFilteringSenesiState;
+import io.evitadb.senesi.attributeFiltering.InMemoryAttributeFilteringSenesiState;
+import io.evitadb.senesi.attributeFiltering.SqlAttributeFilteringSenesiState;
+import io.evitadb.senesi.attributeHistogram.ElasticsearchAttributeHistogramSenesiState;
+import io.evitadb.senesi.attributeHistogram.InMemoryAttributeHistogramSenesiState;
+import io.evitadb.senesi.attributeHistogram.SqlAttributeHistogramSenesiState;
+import io.evitadb.senesi.facetAndHierarchyFiltering.ElasticsearchFacetAndHierarchyFilteringSenesiState;
+import io.evitadb.senesi.facetAndHierarchyFiltering.InMemoryFacetAndHierarchyFilteringSenesiState;
+import io.evitadb.senesi.facetAndHierarchyFiltering.SqlFacetAndHierarchyFilteringSenesiState;
+import io.evitadb.senesi.facetAndHierarchyFilteringAndSummarizingCount.ElasticsearchFacetAndHierarchyFilteringAndSummarizingCountSenesiState;
+import io.evitadb.senesi.facetAndHierarchyFilteringAndSummarizingCount.InMemoryFacetAndHierarchyFilteringAndSummarizingCountSenesiState;
+import io.evitadb.senesi.facetAndHierarchyFilteringAndSummarizingCount.SqlFacetAndHierarchyFilteringAndSummarizingCountSenesiState;
+import io.evitadb.senesi.facetAndHierarchyFilteringAndSummarizingImpact.ElasticsearchFacetAndHierarchyFilteringAndSummarizingImpactSenesiState;
+import io.evitadb.senesi.facetAndHierarchyFilteringAndSummarizingImpact.InMemoryFacetAndHierarchyFilteringAndSummarizingImpactSenesiState;
+import io.evitadb.senesi.facetAndHierarchyFilteringAndSummarizingImpact.SqlFacetAndHierarchyFilteringAndSummarizingImpactSenesiState;
+import io.evitadb.senesi.facetFiltering.ElasticsearchFacetFilteringSenesiState;
+import io.evitadb.senesi.facetFiltering.InMemoryFacetFilteringSenesiState;
+import io.evitadb.senesi.facetFiltering.SqlFacetFilteringSenesiState;
+import io.evitadb.senesi.facetFilteringAndSummarizingCount.ElasticsearchFacetFilteringAndSummarizingCountSenesiState;
+import io.evitadb.senesi.facetFilteringAndSummarizingCount.InMemoryFacetFilteringAndSummarizingCountSenesiState;
+import io.evitadb.senesi.facetFilteringAndSummarizingCount.SqlFacetFilteringAndSummarizingCountSenesiState;
+import io.evitadb.senesi.hierarchyStatistics.ElasticsearchHierarchyStatisticsComputationSenesiState;
+import io.evitadb.senesi.hierarchyStatistics.InMemoryHierarchyStatisticsComputationSenesiState;
+import io.evitadb.senesi.hierarchyStatistics.SqlHierarchyStatisticsComputationSenesiState;
+import io.evitadb.senesi.parentsComputation.ElasticsearchParentsComputationSenesiState;
+import io.evitadb.senesi.parentsComputation.InMemoryParentsComputationSenesiState;
+import io.evitadb.senesi.parentsComputation.SqlParentsComputationSenesiState;
+import io.evitadb.senesi.priceAndHierarchyFiltering.ElasticsearchPriceAndHierarchyFilteringSenesiState;
+import io.evitadb.senesi.priceAndHierarchyFiltering.InMemoryPriceAndHierarchyFilteringSenesiState;
+import io.evitadb.senesi.priceAndHierarchyFiltering.SqlPriceAndHierarchyFilteringSenesiState;
+import io.evitadb.senesi.priceFiltering.ElasticsearchPriceFilteringSenesiState;
+import io.evitadb.senesi.priceFiltering.InMemoryPriceFilteringSenesiState;
+import io.evitadb.senesi.priceFiltering.SqlPriceFilteringSenesiState;
+import io.evitadb.senesi.priceHistogram.ElasticsearchPriceHistogramSenesiState;
+import io.evitadb.senesi.priceHistogram.InMemoryPriceHistogramSenesiState;
+import io.evitadb.senesi.priceHistogram.SqlPriceHistogramSenesiState;
+import io.evitadb.senesi.randomPageRead.ElasticsearchPageReadSenesiState;
+import io.evitadb.senesi.randomPageRead.InMemoryPageReadSenesiState;
+import io.evitadb.senesi.randomPageRead.SqlPageReadSenesiState;
+import io.evitadb.senesi.randomSingleRead.ElasticsearchSingleReadSenesiState;
+import io.evitadb.senesi.randomSingleRead.InMemorySingleReadSenesiState;
+import io.evitadb.senesi.randomSingleRead.SqlSingleReadSenesiState;
+import io.evitadb.senesi.synthetic.ElasticsearchSyntheticTestSenesiState;
+import io.evitadb.senesi.synthetic.InMemorySyntheticTestSenesiState;
+import io.evitadb.senesi.synthetic.SqlSyntheticTestSenesiState;
+
+import javax.annotation.Nonnull;
+import java.io.FileNotFoundException;
+import java.util.List;
+
+/**
+ * This class runs query families of {@link SenesiBenchmark} in open-loop mode at fixed request rate.
+ * See {@link OpenLoopLatencyBenchmark} for the parameters.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public class SenesiOpenLoopLatencyBenchmark extends OpenLoopLatencyBenchmark {
+
+	public static void main(String[] args) throws FileNotFoundException {
+		new SenesiOpenLoopLatencyBenchmark().execute(args);
+	}
+
+	@Nonnull
+	@Override
+	protected List<OpenLoopScenario<?>> getScenarios() {
+		return List.of(
+			OpenLoopScenario.of("singleEntityRead", IN_MEMORY, InMemorySingleReadSenesiState::new, InMemorySingleReadSenesiState::prepareCall, InMemorySingleReadSenesiState::getQuery),
+			OpenLoopScenario.of("singleEntityRead", SQL, SqlSingleReadSenesiState::new, SqlSingleReadSenesiState::prepareCall, SqlSingleReadSenesiState::getQuery),
+			OpenLoopScenario.of("singleEntityRead", ELASTICSEARCH, ElasticsearchSingleReadSenesiState::new, ElasticsearchSingleReadSenesiState::prepareCall, ElasticsearchSingleReadSenesiState::getQuery),
+			OpenLoopScenario.of("paginatedEntityRead", IN_MEMORY, InMemoryPageReadSenesiState::new, InMemoryPageReadSenesiState::prepareCall, InMemoryPageReadSenesiState::getQuery),
+			OpenLoopScenario.of("paginatedEntityRead", SQL, SqlPageReadSenesiState::new, SqlPageReadSenesiState::prepareCall, SqlPageReadSenesiState::getQuery),
+			OpenLoopScenario.of("paginatedEntityRead", ELASTICSEARCH, ElasticsearchPageReadSenesiState::new, ElasticsearchPageReadSenesiState::prepareCall, ElasticsearchPageReadSenesiState::getQuery),
+			OpenLoopScenario.of("attributeFiltering", IN_MEMORY, InMemoryAttributeFilteringSenesiState::new, InMemoryAttributeFilteringSenesiState::prepareCall, InMemoryAttributeFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("attributeFiltering", SQL, SqlAttributeFilteringSenesiState::new, SqlAttributeFilteringSenesiState::prepareCall, SqlAttributeFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("attributeFiltering", ELASTICSEARCH, ElasticsearchAttributeFilteringSenesiState::new, ElasticsearchAttributeFilteringSenesiState::prepareCall, ElasticsearchAttributeFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("attributeAndHierarchyFiltering", IN_MEMORY, InMemoryAttributeAndHierarchyFilteringSenesiState::new, InMemoryAttributeAndHierarchyFilteringSenesiState::prepareCall, InMemoryAttributeAndHierarchyFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("attributeAndHierarchyFiltering", SQL, SqlAttributeAndHierarchyFilteringSenesiState::new, SqlAttributeAndHierarchyFilteringSenesiState::prepareCall, SqlAttributeAndHierarchyFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("attributeAndHierarchyFiltering", ELASTICSEARCH, ElasticsearchAttributeAndHierarchyFilteringSenesiState::new, ElasticsearchAttributeAndHierarchyFilteringSenesiState::prepareCall, ElasticsearchAttributeAndHierarchyFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("attributeHistogramComputation", IN_MEMORY, InMemoryAttributeHistogramSenesiState::new, InMemoryAttributeHistogramSenesiState::prepareCall, InMemoryAttributeHistogramSenesiState::getQuery),
+			OpenLoopScenario.of("attributeHistogramComputation", SQL, SqlAttributeHistogramSenesiState::new, SqlAttributeHistogramSenesiState::prepareCall, SqlAttributeHistogramSenesiState::getQuery),
+			OpenLoopScenario.of("attributeHistogramComputation", ELASTICSEARCH, ElasticsearchAttributeHistogramSenesiState::new, ElasticsearchAttributeHistogramSenesiState::prepareCall, ElasticsearchAttributeHistogramSenesiState::getQuery),
+			OpenLoopScenario.of("priceFiltering", IN_MEMORY, InMemoryPriceFilteringSenesiState::new, InMemoryPriceFilteringSenesiState::prepareCall, InMemoryPriceFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("priceFiltering", SQL, SqlPriceFilteringSenesiState::new, SqlPriceFilteringSenesiState::prepareCall, SqlPriceFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("priceFiltering", ELASTICSEARCH, ElasticsearchPriceFilteringSenesiState::new, ElasticsearchPriceFilteringSenesiState::prepareCall, ElasticsearchPriceFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("priceAndHierarchyFiltering", IN_MEMORY, InMemoryPriceAndHierarchyFilteringSenesiState::new, InMemoryPriceAndHierarchyFilteringSenesiState::prepareCall, InMemoryPriceAndHierarchyFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("priceAndHierarchyFiltering", SQL, SqlPriceAndHierarchyFilteringSenesiState::new, SqlPriceAndHierarchyFilteringSenesiState::prepareCall, SqlPriceAndHierarchyFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("priceAndHierarchyFiltering", ELASTICSEARCH, ElasticsearchPriceAndHierarchyFilteringSenesiState::new, ElasticsearchPriceAndHierarchyFilteringSenesiState::prepareCall, ElasticsearchPriceAndHierarchyFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("priceHistogramComputation", IN_MEMORY, InMemoryPriceHistogramSenesiState::new, InMemoryPriceHistogramSenesiState::prepareCall, InMemoryPriceHistogramSenesiState::getQuery),
+			OpenLoopScenario.of("priceHistogramComputation", SQL, SqlPriceHistogramSenesiState::new, SqlPriceHistogramSenesiState::prepareCall, SqlPriceHistogramSenesiState::getQuery),
+			OpenLoopScenario.of("priceHistogramComputation", ELASTICSEARCH, ElasticsearchPriceHistogramSenesiState::new, ElasticsearchPriceHistogramSenesiState::prepareCall, ElasticsearchPriceHistogramSenesiState::getQuery),
+			OpenLoopScenario.of("facetFiltering", IN_MEMORY, InMemoryFacetFilteringSenesiState::new, InMemoryFacetFilteringSenesiState::prepareCall, InMemoryFacetFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("facetFiltering", SQL, SqlFacetFilteringSenesiState::new, SqlFacetFilteringSenesiState::prepareCall, SqlFacetFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("facetFiltering", ELASTICSEARCH, ElasticsearchFacetFilteringSenesiState::new, ElasticsearchFacetFilteringSenesiState::prepareCall, ElasticsearchFacetFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("facetAndHierarchyFiltering", IN_MEMORY, InMemoryFacetAndHierarchyFilteringSenesiState::new, InMemoryFacetAndHierarchyFilteringSenesiState::prepareCall, InMemoryFacetAndHierarchyFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("facetAndHierarchyFiltering", SQL, SqlFacetAndHierarchyFilteringSenesiState::new, SqlFacetAndHierarchyFilteringSenesiState::prepareCall, SqlFacetAndHierarchyFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("facetAndHierarchyFiltering", ELASTICSEARCH, ElasticsearchFacetAndHierarchyFilteringSenesiState::new, ElasticsearchFacetAndHierarchyFilteringSenesiState::prepareCall, ElasticsearchFacetAndHierarchyFilteringSenesiState::getQuery),
+			OpenLoopScenario.of("facetFilteringAndSummarizingCount", IN_MEMORY, InMemoryFacetFilteringAndSummarizingCountSenesiState::new, InMemoryFacetFilteringAndSummarizingCountSenesiState::prepareCall, InMemoryFacetFilteringAndSummarizingCountSenesiState::getQuery),
+			OpenLoopScenario.of("facetFilteringAndSummarizingCount", SQL, SqlFacetFilteringAndSummarizingCountSenesiState::new, SqlFacetFilteringAndSummarizingCountSenesiState::prepareCall, SqlFacetFilteringAndSummarizingCountSenesiState::getQuery),
+			OpenLoopScenario.of("facetFilteringAndSummarizingCount", ELASTICSEARCH, ElasticsearchFacetFilteringAndSummarizingCountSenesiState::new, ElasticsearchFacetFilteringAndSummarizingCountSenesiState::prepareCall, ElasticsearchFacetFilteringAndSummarizingCountSenesiState::getQuery),
+			OpenLoopScenario.of("facetAndHierarchyFilteringAndSummarizingCount", IN_MEMORY, InMemoryFacetAndHierarchyFilteringAndSummarizingCountSenesiState::new, InMemoryFacetAndHierarchyFilteringAndSummarizingCountSenesiState::prepareCall, InMemoryFacetAndHierarchyFilteringAndSummarizingCountSenesiState::getQuery),
+			OpenLoopScenario.of("facetAndHierarchyFilteringAndSummarizingCount", SQL, SqlFacetAndHierarchyFilteringAndSummarizingCountSenesiState::new, SqlFacetAndHierarchyFilteringAndSummarizingCountSenesiState::prepareCall, SqlFacetAndHierarchyFilteringAndSummarizingCountSenesiState::getQuery),
+			OpenLoopScenario.of("facetAndHierarchyFilteringAndSummarizingCount", ELASTICSEARCH, ElasticsearchFacetAndHierarchyFilteringAndSummarizingCountSenesiState::new, ElasticsearchFacetAndHierarchyFilteringAndSummarizingCountSenesiState::prepareCall, ElasticsearchFacetAndHierarchyFilteringAndSummarizingCountSenesiState::getQuery),
+			OpenLoopScenario.of("facetAndHierarchyFilteringAndSummarizingImpact", IN_MEMORY, InMemoryFacetAndHierarchyFilteringAndSummarizingImpactSenesiState::new, InMemoryFacetAndHierarchyFilteringAndSummarizingImpactSenesiState::prepareCall, InMemoryFacetAndHierarchyFilteringAndSummarizingImpactSenesiState::getQuery),
+			OpenLoopScenario.of("facetAndHierarchyFilteringAndSummarizingImpact", SQL, SqlFacetAndHierarchyFilteringAndSummarizingImpactSenesiState::new, SqlFacetAndHierarchyFilteringAndSummarizingImpactSenesiState::prepareCall, SqlFacetAndHierarchyFilteringAndSummarizingImpactSenesiState::getQuery),
+			OpenLoopScenario.of("facetAndHierarchyFilteringAndSummarizingImpact", ELASTICSEARCH, ElasticsearchFacetAndHierarchyFilteringAndSummarizingImpactSenesiState::new, ElasticsearchFacetAndHierarchyFilteringAndSummarizingImpactSenesiState::prepareCall, ElasticsearchFacetAndHierarchyFilteringAndSummarizingImpactSenesiState::getQuery),
+			OpenLoopScenario.of("parentsComputation", IN_MEMORY, InMemoryParentsComputationSenesiState::new, InMemoryParentsComputationSenesiState::prepareCall, InMemoryParentsComputationSenesiState::getQuery),
+			OpenLoopScenario.of("parentsComputation", SQL, SqlParentsComputationSenesiState::new, SqlParentsComputationSenesiState::prepareCall, SqlParentsComputationSenesiState::getQuery),
+			OpenLoopScenario.of("parentsComputation", ELASTICSEARCH, ElasticsearchParentsComputationSenesiState::new, ElasticsearchParentsComputationSenesiState::prepareCall, ElasticsearchParentsComputationSenesiState::getQuery),
+			OpenLoopScenario.of("hierarchyStatisticsComputation", IN_MEMORY, InMemoryHierarchyStatisticsComputationSenesiState::new, InMemoryHierarchyStatisticsComputationSenesiState::prepareCall, InMemoryHierarchyStatisticsComputationSenesiState::getQuery),
+			OpenLoopScenario.of("hierarchyStatisticsComputation", SQL, SqlHierarchyStatisticsComputationSenesiState::new, SqlHierarchyStatisticsComputationSenesiState::prepareCall, SqlHierarchyStatisticsComputationSenesiState::getQuery),
+			OpenLoopScenario.of("hierarchyStatisticsComputation", ELASTICSEARCH, ElasticsearchHierarchyStatisticsComputationSenesiState::new, ElasticsearchHierarchyStatisticsComputationSenesiState::prepareCall, ElasticsearchHierarchyStatisticsComputationSenesiState::getQuery),
+			new OpenLoopScenario<>("syntheticTest", IN_MEMORY, InMemorySyntheticTestSenesiState::new, InMemorySyntheticTestSenesiState::prepareQueries, state -> {
+				state.prepareCall();
+				return state.getQueryWithExpectedType().getQuery();
+			}),
+			new OpenLoopScenario<>("syntheticTest", SQL, SqlSyntheticTestSenesiState::new, SqlSyntheticTestSenesiState::prepareQueries, state -> {
+				state.prepareCall();
+				return state.getQueryWithExpectedType().getQuery();
+			}),
+			new OpenLoopScenario<>("syntheticTest", ELASTICSEARCH, ElasticsearchSyntheticTestSenesiState::new, ElasticsearchSyntheticTestSenesiState::prepareQueries, state -> {
+				state.prepareCall();
+				return state.getQueryWithExpectedType().getQuery();
+			})
+		);
+	}
+
+}
@@ -35,6 +35,7 @@ import io.evitadb.senesi.attributeHistogram.ElasticsearchAttributeHistogramSenes
 import io.evitadb.senesi.attributeHistogram.InMemoryAttributeHistogramSenesiState;
 import io.evitadb.senesi.attributeHistogram.SqlAttributeHistogramSenesiState;
 import io.evitadb.senesi.bulkWrite.ElasticsearchBulkWriteSenesiState;
+import io.evitadb.senesi.bulkWrite.InMemoryBulkBatchWriteSenesiState;
 import io.evitadb.senesi.bulkWrite.InMemoryBulkWriteSenesiState;
 import io.evitadb.senesi.bulkWrite.SqlBulkWriteSenesiState;
 import io.evitadb.senesi.facetAndHierarchyFiltering.ElasticsearchFacetAndHierarchyFilteringSenesiState;
@@ -67,6 +68,7 @@ import io.evitadb.senesi.priceFiltering.SqlPriceFilteringSenesiState;
 import io.evitadb.senesi.priceHistogram.ElasticsearchPriceHistogramSenesiState;
 import io.evitadb.senesi.priceHistogram.InMemoryPriceHistogramSenesiState;
 import io.evitadb.senesi.priceHistogram.SqlPriceHistogramSenesiState;
+import io.evitadb.senesi.randomMultiRead.InMemoryMultiReadSenesiState;
 import io.evitadb.senesi.randomPageRead.ElasticsearchPageReadSenesiState;
 import io.evitadb.senesi.randomPageRead.InMemoryPageReadSenesiState;
 import io.evitadb.senesi.randomPageRead.SqlPageReadSenesiState;
@@ -113,6 +115,11 @@ public class SenesiThroughputBenchmark extends SenesiBenchmark {
 		super.bulkInsertThroughput_InMemory(state);
 	}
 
+	@Override
+	public void bulkInsertBatchThroughput_InMemory(InMemoryBulkBatchWriteSenesiState state) {
+		super.bulkInsertBatchThroughput_InMemory(state);
+	}
+
 	@Override
 	public void bulkInsertThroughput_Elasticsearch(ElasticsearchBulkWriteSenesiState state) {
 		super.bulkInsertThroughput_Elasticsearch(state);
@@ -143,6 +150,11 @@ public class SenesiThroughputBenchmark extends SenesiBenchmark {
 		super.singleEntityRead_InMemory(state, blackhole);
 	}
 
+	@Override
+	public void multiEntityRead_InMemory(InMemoryMultiReadSenesiState state, Blackhole blackhole) {
+		super.multiEntityRead_InMemory(state, blackhole);
+	}
+
 	@Override
 	public void singleEntityRead_Elasticsearch(ElasticsearchSingleReadSenesiState state, Blackhole blackhole) {
 		super.singleEntityRead_Elasticsearch(state, blackhole);
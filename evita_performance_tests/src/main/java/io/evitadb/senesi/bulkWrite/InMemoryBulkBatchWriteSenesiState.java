@@ -0,0 +1,45 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.senesi.bulkWrite;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Variant of {@link InMemoryBulkWriteSenesiState} that prepares batch of products for bulk upsert in each invocation.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@State(Scope.Benchmark)
+public class InMemoryBulkBatchWriteSenesiState extends InMemoryBulkWriteSenesiState {
+	/**
+	 * Count of products upserted in single invocation.
+	 */
+	public static final int PRODUCT_BATCH_SIZE = 100;
+
+	@Override
+	protected int getProductBatchSize() {
+		return PRODUCT_BATCH_SIZE;
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package io.evitadb.senesi.mixedReadWrite;
+
+import io.evitadb.api.Catalog;
+import io.evitadb.api.CatalogCommitPipeline.CommitStatistics;
+import io.evitadb.api.EntityCollection;
+import io.evitadb.api.EvitaSession;
+import io.evitadb.api.Transaction;
+import io.evitadb.api.configuration.EvitaCatalogConfiguration;
+import io.evitadb.api.io.EvitaRequest;
+import io.evitadb.api.utils.StringUtils;
+import io.evitadb.cache.dto.CacheStatistics;
+import io.evitadb.client.mixedReadWrite.ClientMixedReadWriteState;
+import io.evitadb.senesi.SenesiDataSource;
+import io.evitadb.setup.InMemoryCatalogSetup;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Evita DB in memory implementation specific implementation of {@link ClientMixedReadWriteState}. Besides the shared
+ * data the state prints commit pipeline and cache statistics observed during each iteration.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+@State(Scope.Benchmark)
+public class InMemoryMixedReadWriteSenesiState
+	extends ClientMixedReadWriteState<EvitaRequest, EvitaCatalogConfiguration, EntityCollection, Catalog, Transaction, EvitaSession>
+	implements InMemoryCatalogSetup, SenesiDataSource {
+	/**
+	 * Count of the transactions with product update that are committed per second by each writer thread.
+	 * See {@link ClientMixedReadWriteState#getWritesPerSecond()}.
+	 */
+	@Param({"0", "10", "100", "1000"})
+	@Getter public int writesPerSecond;
+	/**
+	 * Commit statistics at the start of the iteration.
+	 */
+	private CommitStatistics commitStatisticsAtStart;
+	/**
+	 * Cache statistics at the start of the iteration.
+	 */
+	private CacheStatistics cacheStatisticsAtStart;
+	/**
+	 * Time in {@link System#nanoTime()} when the iteration started.
+	 */
+	private long iterationStart;
+
+	@Override
+	public String getCatalogName() {
+		return SenesiDataSource.super.getCatalogName();
+	}
+
+	/**
+	 * Method is called before benchmark iteration is started, remembers statistics at the start of the iteration.
+	 */
+	@Setup(Level.Iteration)
+	public void snapshotStatistics() {
+		this.commitStatisticsAtStart = this.evita.queryCatalog(getWriteCatalogName(), EvitaSession::getCommitStatistics);
+		this.cacheStatisticsAtStart = this.evita.queryCatalog(getWriteCatalogName(), EvitaSession::getCacheStatistics);
+		this.iterationStart = System.nanoTime();
+	}
+
+	/**
+	 * Method is called when benchmark iteration is finished, prints commit throughput and cache efficiency
+	 * in the iteration.
+	 */
+	@TearDown(Level.Iteration)
+	public void printStatistics() {
+		final long iterationDuration = System.nanoTime() - this.iterationStart;
+		final CommitStatistics commitStatistics = this.evita.queryCatalog(getWriteCatalogName(), EvitaSession::getCommitStatistics);
+		final CacheStatistics cacheStatistics = this.evita.queryCatalog(getWriteCatalogName(), EvitaSession::getCacheStatistics)
+			.minus(this.cacheStatisticsAtStart);
+		final long committed = commitStatistics.getCommitted() - commitStatisticsAtStart.getCommitted();
+		final long conflicts = commitStatistics.getConflicts() - commitStatisticsAtStart.getConflicts();
+		final long failed = commitStatistics.getFailed() - commitStatisticsAtStart.getFailed();
+		final long waitNanos = commitStatistics.getTotalWaitNanos() - commitStatisticsAtStart.getTotalWaitNanos();
+		final long commitNanos = commitStatistics.getTotalCommitNanos() - commitStatisticsAtStart.getTotalCommitNanos();
+		System.out.println("\nWrites per second requested: " + writesPerSecond);
+		System.out.println(
+			"Committed " + committed + " transactions in iteration (" +
+				String.format("%.2f", committed / (iterationDuration / 1_000_000_000d)) + " commits/s), " +
+				"conflicts: " + conflicts + ", failed: " + failed
+		);
+		if (committed > 0) {
+			System.out.println(
+				"Average commit queue wait " + StringUtils.formatPreciseNano(waitNanos / committed) +
+					", average commit " + StringUtils.formatPreciseNano(commitNanos / committed)
+			);
+		}
+		System.out.println(
+			"Cache hit ratio " + String.format("%.2f", cacheStatistics.getHitRatio() * 100d) + "% " +
+				"(hits: " + cacheStatistics.getHits() + ", misses: " + cacheStatistics.getMisses() +
+				", invalidated by writes: " + cacheStatistics.getInvalidations() + ")"
+		);
+	}
+
+}
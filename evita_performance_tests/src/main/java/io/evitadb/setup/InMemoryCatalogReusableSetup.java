@@ -58,7 +58,8 @@ public interface InMemoryCatalogReusableSetup
 					100_000,
 					2,
 					0,
-					0.75f
+					0.75f,
+					0L
 				)
 			)
 		);
@@ -60,7 +60,8 @@ public interface InMemoryCatalogSetup
 					50_000,
 					5,
 					0,
-					0.75f
+					0.75f,
+					0L
 				)
 			)
 		);
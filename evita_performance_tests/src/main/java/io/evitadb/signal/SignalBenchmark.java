@@ -24,6 +24,7 @@ package io.evitadb.signal;
 
 import io.evitadb.api.data.EntityContract;
 import io.evitadb.api.data.EntityReferenceContract;
+import io.evitadb.client.randomMultiRead.ClientMultiReadState;
 import io.evitadb.client.synthetic.ClientSyntheticTestState.QueryWithExpectedType;
 import io.evitadb.signal.attributeAndHierarchyFiltering.ElasticsearchAttributeAndHierarchyFilteringSignalState;
 import io.evitadb.signal.attributeAndHierarchyFiltering.InMemoryAttributeAndHierarchyFilteringSignalState;
@@ -35,6 +36,7 @@ import io.evitadb.signal.attributeHistogram.ElasticsearchAttributeHistogramSigna
 import io.evitadb.signal.attributeHistogram.InMemoryAttributeHistogramSignalState;
 import io.evitadb.signal.attributeHistogram.SqlAttributeHistogramSignalState;
 import io.evitadb.signal.bulkWrite.ElasticsearchBulkWriteSignalState;
+import io.evitadb.signal.bulkWrite.InMemoryBulkBatchWriteSignalState;
 import io.evitadb.signal.bulkWrite.InMemoryBulkWriteSignalState;
 import io.evitadb.signal.bulkWrite.SqlBulkWriteSignalState;
 import io.evitadb.signal.facetAndHierarchyFiltering.ElasticsearchFacetAndHierarchyFilteringSignalState;
@@ -67,6 +69,7 @@ import io.evitadb.signal.priceFiltering.SqlPriceFilteringSignalState;
 import io.evitadb.signal.priceHistogram.ElasticsearchPriceHistogramSignalState;
 import io.evitadb.signal.priceHistogram.InMemoryPriceHistogramSignalState;
 import io.evitadb.signal.priceHistogram.SqlPriceHistogramSignalState;
+import io.evitadb.signal.randomMultiRead.InMemoryMultiReadSignalState;
 import io.evitadb.signal.randomPageRead.ElasticsearchPageReadSignalState;
 import io.evitadb.signal.randomPageRead.InMemoryPageReadSignalState;
 import io.evitadb.signal.randomPageRead.SqlPageReadSignalState;
@@ -111,6 +114,21 @@ public abstract class SignalBenchmark {
 		state.getSession().upsertEntity(state.getProduct());
 	}
 
+	/**
+	 * This test spins an empty DB and starts inserting batches of new products into it using bulk upsert API. During
+	 * setup bunch of brands, categories, price lists and stores are created so that they could be referenced in products.
+	 *
+	 * Test measures bulk write speed on random data - single operation represents upsert of
+	 * {@link InMemoryBulkBatchWriteSignalState#PRODUCT_BATCH_SIZE} products.
+	 * Each iteration starts with empty data
+	 */
+	@Benchmark
+	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
+	@Threads(1)
+	public void bulkInsertBatchThroughput_InMemory(InMemoryBulkBatchWriteSignalState state) {
+		state.getSession().upsertEntities(state.getProductBatch());
+	}
+
 	@Benchmark
 	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
 	@Threads(1)
@@ -196,6 +214,26 @@ public abstract class SignalBenchmark {
 		);
 	}
 
+	/*
+		RANDOM MULTIPLE ENTITY READ
+	 */
+
+	/**
+	 * This test spins an empty DB inserts there full contents of the Signal database, switches it to the transactional mode
+	 * and starts to randomly read {@link InMemoryMultiReadSignalState#PRODUCTS_PER_READ} products by their primary keys at once with
+	 * different requirements. This simulates fetching contents of the cart, wishlist or recommendation results.
+	 *
+	 * Test measures random read on multiple entities data when their primary keys are known.
+	 */
+	@Benchmark
+	@Measurement(time = 1, timeUnit = TimeUnit.MINUTES)
+	@Threads(Threads.MAX)
+	public void multiEntityRead_InMemory(InMemoryMultiReadSignalState state, Blackhole blackhole) {
+		blackhole.consume(
+			state.getSession().getEntities(ClientMultiReadState.PRODUCT_ENTITY_TYPE, state.getPrimaryKeys(), state.getRequirements())
+		);
+	}
+
 	/*
 		RANDOM PAGE ENTITY READ
 	 */
@@ -32,6 +32,7 @@ import io.evitadb.signal.attributeHistogram.ElasticsearchAttributeHistogramSigna
 import io.evitadb.signal.attributeHistogram.InMemoryAttributeHistogramSignalState;
 import io.evitadb.signal.attributeHistogram.SqlAttributeHistogramSignalState;
 import io.evitadb.signal.bulkWrite.ElasticsearchBulkWriteSignalState;
+import io.evitadb.signal.bulkWrite.InMemoryBulkBatchWriteSignalState;
 import io.evitadb.signal.bulkWrite.InMemoryBulkWriteSignalState;
 import io.evitadb.signal.bulkWrite.SqlBulkWriteSignalState;
 import io.evitadb.signal.facetAndHierarchyFiltering.ElasticsearchFacetAndHierarchyFilteringSignalState;
@@ -64,6 +65,7 @@ import io.evitadb.signal.priceFiltering.SqlPriceFilteringSignalState;
 import io.evitadb.signal.priceHistogram.ElasticsearchPriceHistogramSignalState;
 import io.evitadb.signal.priceHistogram.InMemoryPriceHistogramSignalState;
 import io.evitadb.signal.priceHistogram.SqlPriceHistogramSignalState;
+import io.evitadb.signal.randomMultiRead.InMemoryMultiReadSignalState;
 import io.evitadb.signal.randomPageRead.ElasticsearchPageReadSignalState;
 import io.evitadb.signal.randomPageRead.InMemoryPageReadSignalState;
 import io.evitadb.signal.randomPageRead.SqlPageReadSignalState;
@@ -93,6 +95,11 @@ public class SignalLatencyBenchmark extends SignalBenchmark {
 		super.bulkInsertThroughput_InMemory(state);
 	}
 
+	@Override
+	public void bulkInsertBatchThroughput_InMemory(InMemoryBulkBatchWriteSignalState state) {
+		super.bulkInsertBatchThroughput_InMemory(state);
+	}
+
 	@Override
 	public void bulkInsertThroughput_Elasticsearch(ElasticsearchBulkWriteSignalState state) {
 		super.bulkInsertThroughput_Elasticsearch(state);
@@ -123,6 +130,11 @@ public class SignalLatencyBenchmark extends SignalBenchmark {
 		super.singleEntityRead_InMemory(state, blackhole);
 	}
 
+	@Override
+	public void multiEntityRead_InMemory(InMemoryMultiReadSignalState state, Blackhole blackhole) {
+		super.multiEntityRead_InMemory(state, blackhole);
+	}
+
 	@Override
 	public void singleEntityRead_Elasticsearch(ElasticsearchSingleReadSignalState state, Blackhole blackhole) {
 		super.singleEntityRead_Elasticsearch(state, blackhole);
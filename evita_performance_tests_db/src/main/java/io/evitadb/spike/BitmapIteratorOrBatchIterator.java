@@ -0,0 +1,70 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.spike;
+
+import io.evitadb.index.bitmap.Bitmap;
+import io.evitadb.index.iterator.BatchArrayIterator;
+import io.evitadb.spike.mock.IntegerBitmapState;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.PrimitiveIterator.OfInt;
+
+/**
+ * This spike test compares the per-element traversal of the {@link Bitmap} via {@link Bitmap#iterator()} with the batch
+ * traversal via {@link Bitmap#batchIterator()} that reads the record ids into a reusable array and processes them in
+ * tight loop.
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public class BitmapIteratorOrBatchIterator {
+
+	@Benchmark
+	@Threads(1)
+	@BenchmarkMode({Mode.Throughput})
+	public void perElementIterator(IntegerBitmapState bitmapDataSet, Blackhole blackhole) {
+		final OfInt it = bitmapDataSet.getBitmapA().iterator();
+		long sum = 0;
+		while (it.hasNext()) {
+			sum += it.nextInt();
+		}
+		blackhole.consume(sum);
+	}
+
+	@Benchmark
+	@Threads(1)
+	@BenchmarkMode({Mode.Throughput})
+	public void batchIterator(IntegerBitmapState bitmapDataSet, Blackhole blackhole) {
+		final BatchArrayIterator it = bitmapDataSet.getBitmapA().batchIterator();
+		long sum = 0;
+		while (it.hasNext()) {
+			final int[] batch = it.nextBatch();
+			final int peek = it.getPeek();
+			for (int i = 0; i < peek; i++) {
+				sum += batch[i];
+			}
+		}
+		blackhole.consume(sum);
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ *                         _ _        ____  ____
+ *               _____   _(_) |_ __ _|  _ \| __ )
+ *              / _ \ \ / / | __/ _` | | | |  _ \
+ *             |  __/\ V /| | || (_| | |_| | |_) |
+ *              \___| \_/ |_|\__\__,_|____/|____/
+ *
+ *   Copyright (c) 2023
+ *
+ *   Licensed under the Business Source License, Version 1.1 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *   https://github.com/FgForrest/evitaDB/blob/main/LICENSE
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package io.evitadb.spike;
+
+import io.evitadb.api.data.DataObjectConverter;
+import io.evitadb.api.data.ReflectionCachingBehaviour;
+import io.evitadb.api.utils.ReflectionLookup;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * This microbenchmark measures the speed of conversion of associated data POJOs with nested objects and collections
+ * to {@link io.evitadb.api.dataType.ComplexDataObject} and back again via {@link DataObjectConverter}. Benchmark is
+ * executed both in single thread and with maximal thread count so that the contention on shared caches is revealed.
+ *
+ * Results (reflective access via {@link java.lang.reflect.Method#invoke(Object, Object...)}):
+ *
+ * Benchmark                                     (parameterCount)   Mode  Cnt     Score      Error  Units
+ * DataObjectConversion.deserializeConcurrently                 5  thrpt    3  3859.061 ± 1932.639  ops/s
+ * DataObjectConversion.deserializeConcurrently                50  thrpt    3   331.309 ±  524.655  ops/s
+ * DataObjectConversion.deserializeSingleThread                 5  thrpt    3  4700.687 ±  881.137  ops/s
+ * DataObjectConversion.deserializeSingleThread                50  thrpt    3   283.476 ±  622.776  ops/s
+ * DataObjectConversion.serializeConcurrently                   5  thrpt    3   746.462 ± 1085.056  ops/s
+ * DataObjectConversion.serializeConcurrently                  50  thrpt    3    77.360 ±   85.754  ops/s
+ * DataObjectConversion.serializeSingleThread                   5  thrpt    3   620.510 ± 1910.472  ops/s
+ * DataObjectConversion.serializeSingleThread                  50  thrpt    3    69.154 ±  345.382  ops/s
+ *
+ * Results (conversion plan cached in ClassValue with generated accessors):
+ *
+ * Benchmark                                     (parameterCount)   Mode  Cnt      Score       Error  Units
+ * DataObjectConversion.deserializeConcurrently                 5  thrpt    3   5552.931 ± 16112.922  ops/s
+ * DataObjectConversion.deserializeConcurrently                50  thrpt    3    414.881 ±  1739.608  ops/s
+ * DataObjectConversion.deserializeSingleThread                 5  thrpt    3   6396.254 ±  5068.386  ops/s
+ * DataObjectConversion.deserializeSingleThread                50  thrpt    3    441.327 ±  1808.362  ops/s
+ * DataObjectConversion.serializeConcurrently                   5  thrpt    3  16970.463 ± 14277.859  ops/s
+ * DataObjectConversion.serializeConcurrently                  50  thrpt    3   1559.864 ±   772.806  ops/s
+ * DataObjectConversion.serializeSingleThread                   5  thrpt    3  20708.765 ± 40917.555  ops/s
+ * DataObjectConversion.serializeSingleThread                  50  thrpt    3   1728.857 ±  2289.999  ops/s
+ *
+ * @author Jan Novotný (novotny@fg.cz), FG Forrest a.s. (c) 2022
+ */
+public class DataObjectConversion {
+	private static final Random random = new Random();
+
+	@State(Scope.Benchmark)
+	public static class ProductSpecificationState {
+		/**
+		 * Number of parameters in the nested collections.
+		 */
+		@Param({"5", "50"})
+		private int parameterCount;
+		/**
+		 * Reflection lookup shared among all threads as it is in Evita.
+		 */
+		private final ReflectionLookup reflectionLookup = new ReflectionLookup(ReflectionCachingBehaviour.CACHE);
+		/**
+		 * Original POJO.
+		 */
+		private ProductSpecification specification;
+		/**
+		 * Serialized form of the {@link #specification}.
+		 */
+		private Serializable serializedForm;
+
+		/**
+		 * This setup is called once for each `parameterCount`.
+		 */
+		@Setup(Level.Trial)
+		public void setUp() {
+			this.specification = createSpecification(parameterCount);
+			this.serializedForm = DataObjectConverter.getSerializableForm(this.specification);
+		}
+
+	}
+
+	/**
+	 * Serialization benchmark in single thread.
+	 */
+	@Benchmark
+	@Threads(1)
+	@BenchmarkMode({Mode.Throughput})
+	public void serializeSingleThread(ProductSpecificationState state, Blackhole blackhole) {
+		blackhole.consume(
+			DataObjectConverter.getSerializableForm(state.specification)
+		);
+	}
+
+	/**
+	 * Serialization benchmark in all available threads.
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	@BenchmarkMode({Mode.Throughput})
+	public void serializeConcurrently(ProductSpecificationState state, Blackhole blackhole) {
+		blackhole.consume(
+			DataObjectConverter.getSerializableForm(state.specification)
+		);
+	}
+
+	/**
+	 * Deserialization benchmark in single thread.
+	 */
+	@Benchmark
+	@Threads(1)
+	@BenchmarkMode({Mode.Throughput})
+	public void deserializeSingleThread(ProductSpecificationState state, Blackhole blackhole) {
+		blackhole.consume(
+			DataObjectConverter.getOriginalForm(state.serializedForm, ProductSpecification.class, state.reflectionLookup)
+		);
+	}
+
+	/**
+	 * Deserialization benchmark in all available threads.
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	@BenchmarkMode({Mode.Throughput})
+	public void deserializeConcurrently(ProductSpecificationState state, Blackhole blackhole) {
+		blackhole.consume(
+			DataObjectConverter.getOriginalForm(state.serializedForm, ProductSpecification.class, state.reflectionLookup)
+		);
+	}
+
+	public static void main(String[] args) throws Exception {
+		org.openjdk.jmh.Main.main(args);
+	}
+
+	private static ProductSpecification createSpecification(int parameterCount) {
+		final List<Parameter> parameters = new ArrayList<>(parameterCount);
+		final Map<String, Parameter> parametersByCode = new LinkedHashMap<>(parameterCount);
+		final Dimension[] dimensions = new Dimension[parameterCount];
+		for (int i = 0; i < parameterCount; i++) {
+			final Parameter parameter = new Parameter(
+				"param" + i, "Parameter " + i, random.nextBoolean(),
+				new BigDecimal(random.nextInt(10_000)).movePointLeft(2),
+				new Dimension(random.nextInt(100), random.nextInt(100), random.nextInt(100))
+			);
+			parameters.add(parameter);
+			parametersByCode.put(parameter.getCode(), parameter);
+			dimensions[i] = new Dimension(i, i * 2, i * 3);
+		}
+		return new ProductSpecification(
+			"Product " + random.nextInt(), random.nextInt(1000), parameters, parametersByCode, dimensions
+		);
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class ProductSpecification implements Serializable {
+		private static final long serialVersionUID = -2006584451342545047L;
+		private String name;
+		private int stockQuantity;
+		private List<Parameter> parameters;
+		private Map<String, Parameter> parametersByCode;
+		private Dimension[] dimensions;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Parameter implements Serializable {
+		private static final long serialVersionUID = 7658512618254128218L;
+		private String code;
+		private String name;
+		private boolean filterable;
+		private BigDecimal value;
+		private Dimension dimension;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Dimension implements Serializable {
+		private static final long serialVersionUID = -5113214566307781042L;
+		private int width;
+		private int height;
+		private int depth;
+	}
+
+}
@@ -123,7 +123,7 @@ public class EvitaStorageReadWrite implements TestConstants {
 	@Nonnull
 	private StorageOptions createStorageOptions() {
 		return new StorageOptions(
-			1, 5, 262_144, 1, false, false, false
+			1, 5, 262_144, 1, false, false, false, false, false
 		);
 	}
 
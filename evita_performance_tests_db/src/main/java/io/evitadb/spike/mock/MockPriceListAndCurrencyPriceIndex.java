@@ -143,4 +143,9 @@ public class MockPriceListAndCurrencyPriceIndex implements PriceListAndCurrencyP
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public long estimateSize() {
+		throw new UnsupportedOperationException();
+	}
+
 }
@@ -81,6 +81,25 @@ public class EntitySerializationContext {
 		}
 	}
 
+	/**
+	 * This method allows switching the context to the schema of another entity for the duration of the `lambda`
+	 * execution - for example when the change in one entity collection propagates to the indexes of another one.
+	 * The previously set schema is restored afterwards.
+	 */
+	public static void executeWithOtherSchema(EntitySchema entitySchema, Runnable lambda) {
+		final EntitySchema existingSchemaSet = ENTITY_SCHEMA_SUPPLIER.get();
+		try {
+			ENTITY_SCHEMA_SUPPLIER.set(entitySchema);
+			lambda.run();
+		} finally {
+			if (existingSchemaSet == null) {
+				ENTITY_SCHEMA_SUPPLIER.remove();
+			} else {
+				ENTITY_SCHEMA_SUPPLIER.set(existingSchemaSet);
+			}
+		}
+	}
+
 	/**
 	 * Returns currently initialized {@link EntitySchema} for this entity. Returns non null value only when called
 	 * inside {@link #executeWithSupplier(EntitySchema, Supplier)} context.
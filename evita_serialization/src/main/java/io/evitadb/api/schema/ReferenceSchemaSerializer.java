@@ -30,7 +30,9 @@ import io.evitadb.api.serialization.utils.KryoSerializationHelper;
 import lombok.RequiredArgsConstructor;
 
 import java.io.Serializable;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static io.evitadb.api.serialization.utils.UnmodifiableCollectionsUnwrapper.unwrap;
 
@@ -52,6 +54,19 @@ public class ReferenceSchemaSerializer extends Serializer<ReferenceSchema> {
 		output.writeBoolean(referenceSchema.isIndexed());
 		output.writeBoolean(referenceSchema.isFaceted());
 		kryo.writeObject(output, unwrap(referenceSchema.getAttributes()));
+		final int[] hierarchyRollUpLevels = referenceSchema.getHierarchyRollUpLevels();
+		output.writeVarInt(hierarchyRollUpLevels.length, true);
+		output.writeInts(hierarchyRollUpLevels, 0, hierarchyRollUpLevels.length, true);
+		final Set<String> reducedIndexAttributes = referenceSchema.getReducedIndexAttributes();
+		output.writeBoolean(reducedIndexAttributes != null);
+		if (reducedIndexAttributes != null) {
+			output.writeVarInt(reducedIndexAttributes.size(), true);
+			for (String attributeName : reducedIndexAttributes) {
+				output.writeString(attributeName);
+			}
+		}
+		output.writeBoolean(referenceSchema.isReducedIndexPrices());
+		output.writeBoolean(referenceSchema.isReducedIndexFacets());
 	}
 
 	@Override
@@ -63,11 +78,100 @@ public class ReferenceSchemaSerializer extends Serializer<ReferenceSchema> {
 		final boolean indexed = input.readBoolean();
 		final boolean faceted = input.readBoolean();
 		@SuppressWarnings("unchecked") final Map<String, AttributeSchema> attributes = kryo.readObject(input, Map.class);
+		final int hierarchyRollUpLevelCount = input.readVarInt(true);
+		final int[] hierarchyRollUpLevels = input.readInts(hierarchyRollUpLevelCount, true);
+		final Set<String> reducedIndexAttributes;
+		if (input.readBoolean()) {
+			final int reducedIndexAttributeCount = input.readVarInt(true);
+			reducedIndexAttributes = new LinkedHashSet<>(reducedIndexAttributeCount);
+			for (int i = 0; i < reducedIndexAttributeCount; i++) {
+				reducedIndexAttributes.add(input.readString());
+			}
+		} else {
+			reducedIndexAttributes = null;
+		}
+		final boolean reducedIndexPrices = input.readBoolean();
+		final boolean reducedIndexFacets = input.readBoolean();
 		return new ReferenceSchema(
 			entityType, entityTypeRelatesToEntity,
 			groupType, groupTypeRelatesToEntity,
-			indexed, faceted, attributes
+			indexed, faceted, attributes,
+			hierarchyRollUpLevels,
+			reducedIndexAttributes, reducedIndexPrices, reducedIndexFacets
 		);
 	}
 
+	/**
+	 * This {@link Serializer} implementation reads {@link ReferenceSchema} stored in the format used before
+	 * the reduced index scope was introduced.
+	 */
+	@RequiredArgsConstructor
+	public static class ReferenceSchemaWithoutReducedIndexScopeDeserializer extends Serializer<ReferenceSchema> {
+		/**
+		 * The `serialVersionUID` of the {@link ReferenceSchema} stored in this format.
+		 */
+		public static final long SERIAL_VERSION_UID = -4372951066734226519L;
+		private final KryoSerializationHelper kryoSerializationHelper;
+
+		@Override
+		public void write(Kryo kryo, Output output, ReferenceSchema object) {
+			throw new UnsupportedOperationException("Old format is not supported for writing!");
+		}
+
+		@Override
+		public ReferenceSchema read(Kryo kryo, Input input, Class<? extends ReferenceSchema> aClass) {
+			final Serializable entityType = kryoSerializationHelper.readSerializable(kryo, input);
+			final boolean entityTypeRelatesToEntity = input.readBoolean();
+			final Serializable groupType = kryoSerializationHelper.readOptionalSerializable(kryo, input);
+			final boolean groupTypeRelatesToEntity = input.readBoolean();
+			final boolean indexed = input.readBoolean();
+			final boolean faceted = input.readBoolean();
+			@SuppressWarnings("unchecked") final Map<String, AttributeSchema> attributes = kryo.readObject(input, Map.class);
+			final int hierarchyRollUpLevelCount = input.readVarInt(true);
+			final int[] hierarchyRollUpLevels = input.readInts(hierarchyRollUpLevelCount, true);
+			return new ReferenceSchema(
+				entityType, entityTypeRelatesToEntity,
+				groupType, groupTypeRelatesToEntity,
+				indexed, faceted, attributes,
+				hierarchyRollUpLevels
+			);
+		}
+
+	}
+
+	/**
+	 * This {@link Serializer} implementation reads {@link ReferenceSchema} stored in the format used before
+	 * the hierarchy roll-up levels were introduced.
+	 */
+	@RequiredArgsConstructor
+	public static class ReferenceSchemaWithoutRollUpLevelsDeserializer extends Serializer<ReferenceSchema> {
+		/**
+		 * The `serialVersionUID` of the {@link ReferenceSchema} stored in this format.
+		 */
+		public static final long SERIAL_VERSION_UID = 2018566260261489037L;
+		private final KryoSerializationHelper kryoSerializationHelper;
+
+		@Override
+		public void write(Kryo kryo, Output output, ReferenceSchema object) {
+			throw new UnsupportedOperationException("Old format is not supported for writing!");
+		}
+
+		@Override
+		public ReferenceSchema read(Kryo kryo, Input input, Class<? extends ReferenceSchema> aClass) {
+			final Serializable entityType = kryoSerializationHelper.readSerializable(kryo, input);
+			final boolean entityTypeRelatesToEntity = input.readBoolean();
+			final Serializable groupType = kryoSerializationHelper.readOptionalSerializable(kryo, input);
+			final boolean groupTypeRelatesToEntity = input.readBoolean();
+			final boolean indexed = input.readBoolean();
+			final boolean faceted = input.readBoolean();
+			@SuppressWarnings("unchecked") final Map<String, AttributeSchema> attributes = kryo.readObject(input, Map.class);
+			return new ReferenceSchema(
+				entityType, entityTypeRelatesToEntity,
+				groupType, groupTypeRelatesToEntity,
+				indexed, faceted, attributes
+			);
+		}
+
+	}
+
 }
@@ -66,6 +66,8 @@ import io.evitadb.api.query.orderBy.*;
 import io.evitadb.api.query.require.PricesSerializer;
 import io.evitadb.api.query.require.*;
 import io.evitadb.api.schema.*;
+import io.evitadb.api.schema.ReferenceSchemaSerializer.ReferenceSchemaWithoutReducedIndexScopeDeserializer;
+import io.evitadb.api.schema.ReferenceSchemaSerializer.ReferenceSchemaWithoutRollUpLevelsDeserializer;
 import io.evitadb.api.serialization.common.EnumSetSerializer;
 import io.evitadb.api.serialization.common.*;
 import io.evitadb.api.serialization.utils.DefaultKryoSerializationHelper;
@@ -258,7 +260,18 @@ public class KryoFactory {
 			kryo.register(EntitySchema.class, new SerialVersionBasedSerializer<>(new EntitySchemaSerializer(kryoSerializationHelper), EntitySchema.class), 200);
 			kryo.register(AttributeSchema.class, new SerialVersionBasedSerializer<>(new AttributeSchemaSerializer(kryoSerializationHelper), AttributeSchema.class), 201);
 			kryo.register(AssociatedDataSchema.class, new SerialVersionBasedSerializer<>(new AssociatedDataSchemaSerializer(kryoSerializationHelper), AssociatedDataSchema.class), 202);
-			kryo.register(ReferenceSchema.class, new SerialVersionBasedSerializer<>(new ReferenceSchemaSerializer(kryoSerializationHelper), ReferenceSchema.class), 203);
+			final SerialVersionBasedSerializer<ReferenceSchema> referenceSchemaSerializer = new SerialVersionBasedSerializer<>(
+				new ReferenceSchemaSerializer(kryoSerializationHelper), ReferenceSchema.class
+			);
+			referenceSchemaSerializer.addBackwardCompatibleSerializer(
+				ReferenceSchemaWithoutRollUpLevelsDeserializer.SERIAL_VERSION_UID,
+				new ReferenceSchemaWithoutRollUpLevelsDeserializer(kryoSerializationHelper)
+			);
+			referenceSchemaSerializer.addBackwardCompatibleSerializer(
+				ReferenceSchemaWithoutReducedIndexScopeDeserializer.SERIAL_VERSION_UID,
+				new ReferenceSchemaWithoutReducedIndexScopeDeserializer(kryoSerializationHelper)
+			);
+			kryo.register(ReferenceSchema.class, referenceSchemaSerializer, 203);
 			kryo.register(EvolutionMode.class, new EnumNameSerializer<>(kryoSerializationHelper), 204);
 		}
 